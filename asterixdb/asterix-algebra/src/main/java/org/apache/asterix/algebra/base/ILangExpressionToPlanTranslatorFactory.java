@@ -32,7 +32,9 @@ public interface ILangExpressionToPlanTranslatorFactory {
      *            providing the definition of created (i.e., stored) user-defined functions.
      * @param currentVarCounter,
      *            the current minimum available variable id.
-     * @param externalVars
+     * @param externalVars,
+     *            the values of the statement parameters. A parameter without a value is read from the job
+     *            parameters when the job runs.
      * @return a logical query plan.
      * @throws AlgebricksException
      */
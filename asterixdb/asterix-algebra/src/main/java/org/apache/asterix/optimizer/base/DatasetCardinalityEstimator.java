@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.optimizer.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.asterix.common.config.DatasetConfig.DatasetType;
+import org.apache.asterix.common.config.DatasetConfig.IndexType;
+import org.apache.asterix.common.dataflow.ICcApplicationContext;
+import org.apache.asterix.common.messaging.api.ICCMessageBroker;
+import org.apache.asterix.metadata.declared.DataSource;
+import org.apache.asterix.metadata.declared.DatasetDataSource;
+import org.apache.asterix.metadata.declared.MetadataProvider;
+import org.apache.asterix.metadata.entities.Dataset;
+import org.apache.asterix.metadata.entities.Index;
+import org.apache.asterix.om.functions.BuiltinFunctions;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.om.utils.ConstantExpressionUtil;
+import org.apache.asterix.runtime.message.DatasetStatisticsRequestMessage;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.hyracks.algebricks.core.algebra.metadata.ICardinalityEstimator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Estimates cardinalities from the statistics that are collected while the disk components of the B-tree indexes of a
+ * dataset are written. The statistics of a dataset are fetched from all nodes once per compilation. The cardinality
+ * of a dataset is the number of tuples minus the number of antimatter tuples of its primary index; the number of
+ * distinct values of a field is known if it is a primary key field or the first key field of a B-tree index.
+ */
+public class DatasetCardinalityEstimator implements ICardinalityEstimator {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private final ICcApplicationContext appCtx;
+    private final Map<Integer, Map<String, ComponentStatistics>> statistics = new HashMap<>();
+
+    public DatasetCardinalityEstimator(ICcApplicationContext appCtx) {
+        this.appCtx = appCtx;
+    }
+
+    @Override
+    public double getCardinality(DataSourceScanOperator scan, IOptimizationContext context) throws AlgebricksException {
+        Dataset dataset = getDataset(scan);
+        if (dataset == null) {
+            return UNKNOWN;
+        }
+        ComponentStatistics primary = getStatistics(dataset).get(dataset.getDatasetName());
+        return primary == null ? UNKNOWN : Math.max(0, primary.getTupleCount() - primary.getAntimatterCount());
+    }
+
+    @Override
+    public double getDistinctValues(DataSourceScanOperator scan, ILogicalExpression expr, IOptimizationContext context)
+            throws AlgebricksException {
+        Dataset dataset = getDataset(scan);
+        if (dataset == null) {
+            return UNKNOWN;
+        }
+        List<String> field = getField(scan, expr, dataset, (MetadataProvider) context.getMetadataProvider());
+        if (field == null) {
+            return UNKNOWN;
+        }
+        Map<String, ComponentStatistics> datasetStatistics = getStatistics(dataset);
+        int primaryKey = dataset.getPrimaryKeys().indexOf(field);
+        if (primaryKey >= 0) {
+            return getDistinctValues(datasetStatistics.get(dataset.getDatasetName()), primaryKey);
+        }
+        MetadataProvider metadataProvider = (MetadataProvider) context.getMetadataProvider();
+        for (Index index : metadataProvider.getDatasetIndexes(dataset.getDataverseName(), dataset.getDatasetName())) {
+            if (index.isPrimaryIndex() || index.getIndexType() != IndexType.BTREE
+                    || !field.equals(index.getKeyFieldNames().get(0))) {
+                continue;
+            }
+            List<Integer> indicators = index.getKeyFieldSourceIndicators();
+            if (indicators != null && indicators.get(0) != 0) {
+                continue;
+            }
+            double distinctValues = getDistinctValues(datasetStatistics.get(index.getIndexName()), 0);
+            if (distinctValues >= 0) {
+                return distinctValues;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static double getDistinctValues(ComponentStatistics indexStatistics, int field) {
+        if (indexStatistics == null || indexStatistics.getDistinctCount(field) < 0) {
+            return UNKNOWN;
+        }
+        return indexStatistics.getDistinctCount(field);
+    }
+
+    private static Dataset getDataset(DataSourceScanOperator scan) {
+        DataSource dataSource = (DataSource) scan.getDataSource();
+        if (dataSource.getDatasourceType() != DataSource.Type.INTERNAL_DATASET) {
+            return null;
+        }
+        Dataset dataset = ((DatasetDataSource) dataSource).getDataset();
+        return dataset.getDatasetType() == DatasetType.INTERNAL ? dataset : null;
+    }
+
+    /**
+     * @return the name of the field of the records of the dataset that the expression returns, null if it returns
+     *         something else
+     */
+    private static List<String> getField(DataSourceScanOperator scan, ILogicalExpression expr, Dataset dataset,
+            MetadataProvider metadataProvider) throws AlgebricksException {
+        List<LogicalVariable> variables = scan.getVariables();
+        int numPrimaryKeys = dataset.getPrimaryKeys().size();
+        if (expr.getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+            int i = variables.indexOf(((VariableReferenceExpression) expr).getVariableReference());
+            return i >= 0 && i < numPrimaryKeys ? dataset.getPrimaryKeys().get(i) : null;
+        }
+        if (expr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+            return null;
+        }
+        AbstractFunctionCallExpression f = (AbstractFunctionCallExpression) expr;
+        ILogicalExpression record = f.getArguments().get(0).getValue();
+        if (record.getExpressionTag() != LogicalExpressionTag.VARIABLE || !((VariableReferenceExpression) record)
+                .getVariableReference().equals(variables.get(numPrimaryKeys))) {
+            return null;
+        }
+        FunctionIdentifier fi = f.getFunctionIdentifier();
+        String fieldName = null;
+        if (fi.equals(BuiltinFunctions.FIELD_ACCESS_BY_NAME)) {
+            fieldName = ConstantExpressionUtil.getStringArgument(f, 1);
+        } else if (fi.equals(BuiltinFunctions.FIELD_ACCESS_BY_INDEX)) {
+            Integer fieldIndex = ConstantExpressionUtil.getIntArgument(f, 1);
+            IAType recordType = metadataProvider.findType(dataset);
+            if (fieldIndex != null && recordType instanceof ARecordType
+                    && fieldIndex < ((ARecordType) recordType).getFieldNames().length) {
+                fieldName = ((ARecordType) recordType).getFieldNames()[fieldIndex];
+            }
+        }
+        return fieldName == null ? null : Collections.singletonList(fieldName);
+    }
+
+    /**
+     * @return the statistics of the indexes of the dataset keyed by their name, empty if they could not be fetched
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, ComponentStatistics> getStatistics(Dataset dataset) {
+        return statistics.computeIfAbsent(dataset.getDatasetId(), datasetId -> {
+            ICCMessageBroker messageBroker = (ICCMessageBroker) appCtx.getServiceContext().getMessageBroker();
+            long reqId = messageBroker.newRequestId();
+            List<String> ncs = new ArrayList<>(appCtx.getClusterStateManager().getParticipantNodes());
+            List<DatasetStatisticsRequestMessage> requests = new ArrayList<>();
+            for (int i = 0; i < ncs.size(); i++) {
+                requests.add(new DatasetStatisticsRequestMessage(reqId, datasetId));
+            }
+            try {
+                return (Map<String, ComponentStatistics>) messageBroker.sendSyncRequestToNCs(reqId, ncs, requests,
+                        TIMEOUT_MILLIS);
+            } catch (Exception e) {
+                LOGGER.warn("Failed to fetch the statistics of dataset " + dataset.getDatasetName(), e);
+                return Collections.emptyMap();
+            }
+        });
+    }
+}
@@ -48,6 +48,7 @@ import org.apache.asterix.optimizer.rules.InjectTypeCastForFunctionArgumentsRule
 import org.apache.asterix.optimizer.rules.InjectTypeCastForUnionRule;
 import org.apache.asterix.optimizer.rules.InlineUnnestFunctionRule;
 import org.apache.asterix.optimizer.rules.IntroduceAutogenerateIDRule;
+import org.apache.asterix.optimizer.rules.IntroduceColumnProjectionRule;
 import org.apache.asterix.optimizer.rules.IntroduceDynamicTypeCastForExternalFunctionRule;
 import org.apache.asterix.optimizer.rules.IntroduceDynamicTypeCastRule;
 import org.apache.asterix.optimizer.rules.IntroduceEnforcedListTypeRule;
@@ -100,6 +101,7 @@ import org.apache.hyracks.algebricks.rewriter.rules.CopyLimitDownRule;
 import org.apache.hyracks.algebricks.rewriter.rules.EliminateGroupByEmptyKeyRule;
 import org.apache.hyracks.algebricks.rewriter.rules.EnforceOrderByAfterSubplan;
 import org.apache.hyracks.algebricks.rewriter.rules.EnforceStructuralPropertiesRule;
+import org.apache.hyracks.algebricks.rewriter.rules.EnumerateJoinsRule;
 import org.apache.hyracks.algebricks.rewriter.rules.ExtractCommonExpressionsRule;
 import org.apache.hyracks.algebricks.rewriter.rules.ExtractCommonOperatorsRule;
 import org.apache.hyracks.algebricks.rewriter.rules.ExtractGbyExpressionsRule;
@@ -336,6 +338,12 @@ public final class RuleCollections {
         return planCleanupRules;
     }
 
+    public static final List<IAlgebraicRewriteRule> buildJoinEnumerationRuleCollection(ICcApplicationContext appCtx) {
+        List<IAlgebraicRewriteRule> joinEnumeration = new LinkedList<>();
+        joinEnumeration.add(new EnumerateJoinsRule(new DatasetCardinalityEstimator(appCtx)));
+        return joinEnumeration;
+    }
+
     public static final List<IAlgebraicRewriteRule> buildDataExchangeRuleCollection() {
         List<IAlgebraicRewriteRule> dataExchange = new LinkedList<>();
         dataExchange.add(new SetExecutionModeRule());
@@ -377,6 +385,8 @@ public final class RuleCollections {
         physicalRewritesTopLevel.add(new PushLimitIntoPrimarySearchRule());
         // remove assigns that could become unused after PushLimitIntoPrimarySearchRule
         physicalRewritesTopLevel.add(new RemoveUnusedAssignAndAggregateRule());
+        // the field accesses are final once the select conditions are pushed into the scans
+        physicalRewritesTopLevel.add(new IntroduceColumnProjectionRule());
         physicalRewritesTopLevel.add(new IntroduceProjectsRule());
         physicalRewritesTopLevel.add(new SetAlgebricksPhysicalOperatorsRule());
         physicalRewritesTopLevel.add(new IntroduceRapidFrameFlushProjectAssignRule());
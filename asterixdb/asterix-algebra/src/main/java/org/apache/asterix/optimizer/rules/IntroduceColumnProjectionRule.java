@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.optimizer.rules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.asterix.common.config.DatasetConfig.DatasetType;
+import org.apache.asterix.metadata.dataset.hints.DatasetHints.DatasetStorageFormatHint;
+import org.apache.asterix.metadata.declared.DatasetDataSource;
+import org.apache.asterix.om.base.AOrderedList;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.functions.BuiltinFunctions;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.utils.ConstantExpressionUtil;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalPlan;
+import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalOperatorTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractOperatorWithNestedPlans;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.visitors.VariableUtilities;
+import org.apache.hyracks.algebricks.core.rewriter.base.IAlgebraicRewriteRule;
+
+/**
+ * Lets the scans of datasets whose primary index is stored column by column (see {@link DatasetStorageFormatHint})
+ * read only the record fields that the plan accesses. A scan is restricted only if its record variable is used
+ * solely as the record of field accesses with constant names or indexes. As all the scans of a dataset may end up
+ * as one shared scan, they all read the fields that any of them accesses, or whole records if one of them needs them.
+ */
+public class IntroduceColumnProjectionRule implements IAlgebraicRewriteRule {
+
+    // the dataset of each record variable of a columnar scan
+    private final Map<LogicalVariable, String> recordVar2Dataset = new HashMap<>();
+    // the accessed fields of each dataset, null if whole records are needed
+    private final Map<String, Set<String>> dataset2Fields = new HashMap<>();
+    private final List<DatasetDataSource> dataSources = new ArrayList<>();
+    private final Set<LogicalVariable> usedVars = new HashSet<>();
+    private final Set<LogicalVariable> referencedVars = new HashSet<>();
+    private boolean hasRun = false;
+
+    @Override
+    public boolean rewritePre(Mutable<ILogicalOperator> opRef, IOptimizationContext context)
+            throws AlgebricksException {
+        if (hasRun) {
+            return false;
+        }
+        hasRun = true;
+        collectColumnarScans(opRef.getValue());
+        if (dataSources.isEmpty()) {
+            return false;
+        }
+        collectAccessedFields(opRef.getValue());
+        for (DatasetDataSource dataSource : dataSources) {
+            Set<String> fields = dataset2Fields.get(dataSource.getId().toString());
+            dataSource.setAccessedFields(fields == null ? null : fields.toArray(new String[fields.size()]));
+        }
+        // the plan itself does not change
+        return false;
+    }
+
+    @Override
+    public boolean rewritePost(Mutable<ILogicalOperator> opRef, IOptimizationContext context)
+            throws AlgebricksException {
+        return false;
+    }
+
+    private void collectColumnarScans(ILogicalOperator op) {
+        if (op.getOperatorTag() == LogicalOperatorTag.DATASOURCESCAN) {
+            DataSourceScanOperator scan = (DataSourceScanOperator) op;
+            if (scan.getDataSource() instanceof DatasetDataSource) {
+                DatasetDataSource dataSource = (DatasetDataSource) scan.getDataSource();
+                if (dataSource.getDataset().getDatasetType() == DatasetType.INTERNAL
+                        && DatasetStorageFormatHint.isColumnFormat(dataSource.getDataset().getHints())) {
+                    String dataset = dataSource.getId().toString();
+                    recordVar2Dataset.put(dataSource.getDataRecordVariable(scan.getVariables()), dataset);
+                    dataset2Fields.computeIfAbsent(dataset, d -> new HashSet<>());
+                    dataSources.add(dataSource);
+                }
+            }
+        }
+        if (op instanceof AbstractOperatorWithNestedPlans) {
+            for (ILogicalPlan plan : ((AbstractOperatorWithNestedPlans) op).getNestedPlans()) {
+                for (Mutable<ILogicalOperator> root : plan.getRoots()) {
+                    collectColumnarScans(root.getValue());
+                }
+            }
+        }
+        for (Mutable<ILogicalOperator> input : op.getInputs()) {
+            collectColumnarScans(input.getValue());
+        }
+    }
+
+    private void collectAccessedFields(ILogicalOperator op) throws AlgebricksException {
+        if (op.getOperatorTag() == LogicalOperatorTag.DATASOURCESCAN) {
+            Mutable<ILogicalExpression> selectCondition = ((DataSourceScanOperator) op).getSelectCondition();
+            if (selectCondition != null) {
+                visitExpression(selectCondition.getValue());
+            }
+        } else if (op.getOperatorTag() != LogicalOperatorTag.PROJECT) {
+            referencedVars.clear();
+            op.acceptExpressionTransform(exprRef -> {
+                visitExpression(exprRef.getValue());
+                return false;
+            });
+            if (op instanceof AbstractOperatorWithNestedPlans) {
+                for (ILogicalPlan plan : ((AbstractOperatorWithNestedPlans) op).getNestedPlans()) {
+                    for (Mutable<ILogicalOperator> root : plan.getRoots()) {
+                        collectAccessedFields(root.getValue());
+                    }
+                }
+            } else {
+                // e.g. union-all and intersect use variables outside of expressions
+                usedVars.clear();
+                VariableUtilities.getUsedVariables(op, usedVars);
+                for (LogicalVariable var : usedVars) {
+                    if (!referencedVars.contains(var)) {
+                        needsWholeRecord(var);
+                    }
+                }
+            }
+        }
+        for (Mutable<ILogicalOperator> input : op.getInputs()) {
+            collectAccessedFields(input.getValue());
+        }
+    }
+
+    private void visitExpression(ILogicalExpression expr) {
+        switch (expr.getExpressionTag()) {
+            case VARIABLE:
+                LogicalVariable var = ((VariableReferenceExpression) expr).getVariableReference();
+                referencedVars.add(var);
+                needsWholeRecord(var);
+                break;
+            case FUNCTION_CALL:
+                AbstractFunctionCallExpression funcExpr = (AbstractFunctionCallExpression) expr;
+                List<Mutable<ILogicalExpression>> args = funcExpr.getArguments();
+                int firstArg = 0;
+                if (!args.isEmpty() && args.get(0).getValue().getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+                    LogicalVariable recordVar =
+                            ((VariableReferenceExpression) args.get(0).getValue()).getVariableReference();
+                    if (recordVar2Dataset.containsKey(recordVar) && accessField(recordVar, funcExpr)) {
+                        referencedVars.add(recordVar);
+                        firstArg = 1;
+                    }
+                }
+                for (int i = firstArg; i < args.size(); i++) {
+                    visitExpression(args.get(i).getValue());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return true if the function is a field access of the record variable that was added to its accessed fields
+     */
+    private boolean accessField(LogicalVariable recordVar, AbstractFunctionCallExpression funcExpr) {
+        FunctionIdentifier fid = funcExpr.getFunctionIdentifier();
+        String fieldName;
+        if (BuiltinFunctions.FIELD_ACCESS_BY_INDEX.equals(fid)) {
+            // closed fields are always read
+            return true;
+        } else if (BuiltinFunctions.FIELD_ACCESS_BY_NAME.equals(fid)) {
+            fieldName = ConstantExpressionUtil.getStringArgument(funcExpr, 1);
+        } else if (BuiltinFunctions.FIELD_ACCESS_NESTED.equals(fid)) {
+            IAObject path = ConstantExpressionUtil.getConstantIaObject(funcExpr.getArguments().get(1).getValue(),
+                    ATypeTag.ARRAY);
+            AOrderedList pathList = ConstantExpressionUtil.getOrderedListConstant(path);
+            fieldName = pathList != null && pathList.size() > 0
+                    ? ConstantExpressionUtil.getStringConstant(pathList.getItem(0)) : null;
+        } else {
+            return false;
+        }
+        if (fieldName == null) {
+            return false;
+        }
+        Set<String> fields = dataset2Fields.get(recordVar2Dataset.get(recordVar));
+        if (fields != null) {
+            fields.add(fieldName);
+        }
+        return true;
+    }
+
+    private void needsWholeRecord(LogicalVariable var) {
+        String dataset = recordVar2Dataset.get(var);
+        if (dataset != null) {
+            dataset2Fields.put(dataset, null);
+        }
+    }
+}
@@ -25,14 +25,27 @@ public class ResultProperties implements Serializable {
     public static final long DEFAULT_MAX_READS = 1;
     private final IStatementExecutor.ResultDelivery delivery;
     private final long maxReads;
+    private final boolean resultCache;
+    private final boolean prepared;
 
     public ResultProperties(IStatementExecutor.ResultDelivery delivery) {
         this(delivery, DEFAULT_MAX_READS);
     }
 
     public ResultProperties(IStatementExecutor.ResultDelivery delivery, long maxReads) {
+        this(delivery, maxReads, false);
+    }
+
+    public ResultProperties(IStatementExecutor.ResultDelivery delivery, long maxReads, boolean resultCache) {
+        this(delivery, maxReads, resultCache, false);
+    }
+
+    public ResultProperties(IStatementExecutor.ResultDelivery delivery, long maxReads, boolean resultCache,
+            boolean prepared) {
         this.delivery = delivery;
         this.maxReads = maxReads;
+        this.resultCache = resultCache;
+        this.prepared = prepared;
     }
 
     public IStatementExecutor.ResultDelivery getDelivery() {
@@ -43,11 +56,27 @@ public class ResultProperties implements Serializable {
         return maxReads;
     }
 
+    /**
+     * @return true if the result of an immediately delivered query may be served from and put into the query result
+     *         cache
+     */
+    public boolean isResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @return true if the job of an immediately delivered query may be taken from and kept in the prepared statement
+     *         cache
+     */
+    public boolean isPrepared() {
+        return prepared;
+    }
+
     public ResultProperties getNcToCcResultProperties() {
         if (delivery != IStatementExecutor.ResultDelivery.IMMEDIATE) {
             return this;
         }
         // switch IMMEDIATE to DEFERRED since the result will be severed by the NC
-        return new ResultProperties(IStatementExecutor.ResultDelivery.DEFERRED, maxReads);
+        return new ResultProperties(IStatementExecutor.ResultDelivery.DEFERRED, maxReads, resultCache, prepared);
     }
 }
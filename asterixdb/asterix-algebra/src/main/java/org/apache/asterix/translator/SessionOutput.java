@@ -19,6 +19,7 @@
 
 package org.apache.asterix.translator;
 
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
@@ -30,6 +31,8 @@ public class SessionOutput {
 
     // Output path for primary execution.
     private final PrintWriter out;
+    // The byte stream that out writes to, if any.
+    private final OutputStream outStream;
     private StringWriter buffer;
     private PrintWriter bufferedOut;
 
@@ -44,8 +47,15 @@ public class SessionOutput {
 
     public SessionOutput(SessionConfig config, PrintWriter out, ResultDecorator preResultDecorator,
             ResultDecorator postResultDecorator, ResultAppender handleAppender, ResultAppender statusAppender) {
+        this(config, out, null, preResultDecorator, postResultDecorator, handleAppender, statusAppender);
+    }
+
+    public SessionOutput(SessionConfig config, PrintWriter out, OutputStream outStream,
+            ResultDecorator preResultDecorator, ResultDecorator postResultDecorator, ResultAppender handleAppender,
+            ResultAppender statusAppender) {
         this.config = config;
         this.out = out;
+        this.outStream = outStream;
         this.preResultDecorator = preResultDecorator;
         this.postResultDecorator = postResultDecorator;
         this.handleAppender = handleAppender;
@@ -59,6 +69,16 @@ public class SessionOutput {
         return this.bufferedOut != null ? this.bufferedOut : this.out;
     }
 
+    /**
+     * Retrieve the byte stream that the PrintWriter returned by out() writes to, to produce output without encoding
+     * it. The PrintWriter needs to be flushed before writing to the stream.
+     *
+     * @return the stream or null, if the output is buffered or there is no such stream
+     */
+    public OutputStream outputStream() {
+        return this.bufferedOut != null ? null : this.outStream;
+    }
+
     public void setHandleAppender(SessionOutput.ResultAppender handleAppender) {
         this.handleAppender = handleAppender;
     }
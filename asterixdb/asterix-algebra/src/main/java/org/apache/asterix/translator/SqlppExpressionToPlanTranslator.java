@@ -663,6 +663,9 @@ public class SqlppExpressionToPlanTranslator extends LangExpressionToPlanTransla
         VarIdentifier varId = varExpr.getVar();
         if (SqlppVariableUtil.isExternalVariableIdentifier(varId)) {
             SourceLocation sourceLoc = varExpr.getSourceLocation();
+            if (isJobParameter(varId)) {
+                return translateJobParameter(varId, sourceLoc);
+            }
             IAObject value = getExternalVariableValue(varId, sourceLoc);
             return translateConstantValue(value, sourceLoc);
         }
@@ -679,6 +682,23 @@ public class SqlppExpressionToPlanTranslator extends LangExpressionToPlanTransla
         return value;
     }
 
+    private boolean isJobParameter(VarIdentifier varId) {
+        return externalVars.containsKey(varId) && externalVars.get(varId) == null;
+    }
+
+    /**
+     * Parameters without a value are bound when the job starts, so the compiled job can be run again with other
+     * values. The parameter is read by its variable name.
+     */
+    private ILogicalExpression translateJobParameter(VarIdentifier varId, SourceLocation sourceLoc) {
+        ConstantExpression nameExpr = new ConstantExpression(new AsterixConstantValue(new AString(varId.getValue())));
+        nameExpr.setSourceLocation(sourceLoc);
+        ScalarFunctionCallExpression paramExpr = new ScalarFunctionCallExpression(
+                FunctionUtil.getFunctionInfo(BuiltinFunctions.GET_JOB_PARAMETER), new MutableObject<>(nameExpr));
+        paramExpr.setSourceLocation(sourceLoc);
+        return paramExpr;
+    }
+
     private ILogicalExpression translateConstantValue(IAObject value, SourceLocation sourceLoc)
             throws CompilationException {
         ConstantExpression constExpr = new ConstantExpression(new AsterixConstantValue(value));
@@ -923,7 +943,8 @@ public class SqlppExpressionToPlanTranslator extends LangExpressionToPlanTransla
                 for (Expression itemExpr : itemExprs) {
                     boolean isConst = itemExpr.getKind() == Kind.LITERAL_EXPRESSION
                             || (itemExpr.getKind() == Kind.VARIABLE_EXPRESSION
-                                    && SqlppVariableUtil.isExternalVariableReference((VariableExpr) itemExpr));
+                                    && SqlppVariableUtil.isExternalVariableReference((VariableExpr) itemExpr)
+                                    && !isJobParameter(((VariableExpr) itemExpr).getVar()));
                     if (!isConst) {
                         return false;
                     }
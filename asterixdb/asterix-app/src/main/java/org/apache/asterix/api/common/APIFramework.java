@@ -25,17 +25,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.asterix.algebra.base.ILangExpressionToPlanTranslator;
 import org.apache.asterix.algebra.base.ILangExpressionToPlanTranslatorFactory;
 import org.apache.asterix.api.http.server.ResultUtil;
 import org.apache.asterix.common.api.INodeJobTracker;
 import org.apache.asterix.common.config.CompilerProperties;
+import org.apache.asterix.common.config.DatasetConfig.DatasetType;
 import org.apache.asterix.common.config.OptimizationConfUtil;
 import org.apache.asterix.common.exceptions.ACIDException;
 import org.apache.asterix.common.exceptions.AsterixException;
@@ -66,10 +70,16 @@ import org.apache.asterix.lang.common.statement.StartFeedStatement;
 import org.apache.asterix.lang.common.struct.VarIdentifier;
 import org.apache.asterix.lang.common.util.FunctionUtil;
 import org.apache.asterix.lang.sqlpp.rewrites.SqlppQueryRewriter;
+import org.apache.asterix.metadata.declared.DataSource;
+import org.apache.asterix.metadata.declared.DatasetDataSource;
 import org.apache.asterix.metadata.declared.MetadataProvider;
+import org.apache.asterix.metadata.entities.Dataset;
+import org.apache.asterix.metadata.utils.MetadataConstants;
 import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.functions.BuiltinFunctions;
 import org.apache.asterix.optimizer.base.FuzzyUtils;
 import org.apache.asterix.optimizer.rules.am.AbstractIntroduceAccessMethodRule;
+import org.apache.asterix.optimizer.rules.am.AccessMethodJobGenParams;
 import org.apache.asterix.runtime.job.listener.JobEventListenerFactory;
 import org.apache.asterix.translator.CompiledStatements.ICompiledDmlStatement;
 import org.apache.asterix.translator.ExecutionPlans;
@@ -78,6 +88,8 @@ import org.apache.asterix.translator.SessionConfig;
 import org.apache.asterix.translator.SessionOutput;
 import org.apache.asterix.translator.SqlppExpressionToPlanTranslator;
 import org.apache.asterix.utils.ResourceUtils;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.hyracks.algebricks.common.constraints.AlgebricksAbsolutePartitionConstraint;
 import org.apache.hyracks.algebricks.common.constraints.AlgebricksPartitionConstraint;
 import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
@@ -85,14 +97,22 @@ import org.apache.hyracks.algebricks.common.utils.Pair;
 import org.apache.hyracks.algebricks.compiler.api.HeuristicCompilerFactoryBuilder;
 import org.apache.hyracks.algebricks.compiler.api.ICompiler;
 import org.apache.hyracks.algebricks.compiler.api.ICompilerFactory;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.base.ILogicalPlan;
 import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.base.OperatorAnnotations;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
 import org.apache.hyracks.algebricks.core.algebra.expressions.ExpressionRuntimeProvider;
 import org.apache.hyracks.algebricks.core.algebra.expressions.IConflictingTypeResolver;
 import org.apache.hyracks.algebricks.core.algebra.expressions.IExpressionEvalSizeComputer;
 import org.apache.hyracks.algebricks.core.algebra.expressions.IExpressionTypeComputer;
 import org.apache.hyracks.algebricks.core.algebra.expressions.IMergeAggregationExpressionFactory;
 import org.apache.hyracks.algebricks.core.algebra.expressions.IMissableTypeComputer;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractOperatorWithNestedPlans;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractUnnestMapOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
 import org.apache.hyracks.algebricks.core.algebra.prettyprint.AbstractLogicalOperatorPrettyPrintVisitor;
 import org.apache.hyracks.algebricks.core.algebra.prettyprint.AlgebricksAppendable;
 import org.apache.hyracks.algebricks.core.algebra.prettyprint.LogicalOperatorPrettyPrintVisitor;
@@ -106,6 +126,8 @@ import org.apache.hyracks.api.client.IClusterInfoCollector;
 import org.apache.hyracks.api.client.IHyracksClientConnection;
 import org.apache.hyracks.api.client.NodeControllerInfo;
 import org.apache.hyracks.api.config.IOptionType;
+import org.apache.hyracks.api.dataflow.OperatorDescriptorId;
+import org.apache.hyracks.api.dataflow.ProfiledFrameWriter;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.HyracksException;
 import org.apache.hyracks.api.exceptions.SourceLocation;
@@ -132,18 +154,27 @@ public class APIFramework {
             ImmutableSet.of(CompilerProperties.COMPILER_JOINMEMORY_KEY, CompilerProperties.COMPILER_GROUPMEMORY_KEY,
                     CompilerProperties.COMPILER_SORTMEMORY_KEY, CompilerProperties.COMPILER_TEXTSEARCHMEMORY_KEY,
                     CompilerProperties.COMPILER_PARALLELISM_KEY, CompilerProperties.COMPILER_SORT_PARALLEL_KEY,
-                    CompilerProperties.COMPILER_SORT_SAMPLES_KEY, FunctionUtil.IMPORT_PRIVATE_FUNCTIONS,
-                    FuzzyUtils.SIM_FUNCTION_PROP_NAME, FuzzyUtils.SIM_THRESHOLD_PROP_NAME,
-                    StartFeedStatement.WAIT_FOR_COMPLETION, FeedActivityDetails.FEED_POLICY_NAME,
-                    FeedActivityDetails.COLLECT_LOCATIONS, SqlppQueryRewriter.INLINE_WITH_OPTION,
-                    SqlppExpressionToPlanTranslator.REWRITE_IN_AS_OR_OPTION, "hash_merge", "output-record-type",
-                    AbstractIntroduceAccessMethodRule.NO_INDEX_ONLY_PLAN_OPTION);
+                    CompilerProperties.COMPILER_SORT_SAMPLES_KEY, CompilerProperties.COMPILER_SORT_BINARYKEYS_KEY,
+                    CompilerProperties.COMPILER_SORT_SPLITKEYS_KEY, CompilerProperties.COMPILER_CBO_KEY,
+                    FunctionUtil.IMPORT_PRIVATE_FUNCTIONS, FuzzyUtils.SIM_FUNCTION_PROP_NAME,
+                    FuzzyUtils.SIM_THRESHOLD_PROP_NAME, StartFeedStatement.WAIT_FOR_COMPLETION,
+                    FeedActivityDetails.FEED_POLICY_NAME, FeedActivityDetails.COLLECT_LOCATIONS,
+                    SqlppQueryRewriter.INLINE_WITH_OPTION, SqlppExpressionToPlanTranslator.REWRITE_IN_AS_OR_OPTION,
+                    "hash_merge", "output-record-type", AbstractIntroduceAccessMethodRule.NO_INDEX_ONLY_PLAN_OPTION);
 
     private final IRewriterFactory rewriterFactory;
     private final IAstPrintVisitorFactory astPrintVisitorFactory;
     private final ILangExpressionToPlanTranslatorFactory translatorFactory;
     private final IRuleSetFactory ruleSetFactory;
     private final ExecutionPlans executionPlans;
+    // the plan of the last compiled query whose joins get their actual cardinalities once its job is done
+    private ILogicalPlan profiledPlan;
+    private SessionConfig.PlanFormat profiledPlanFormat;
+    private boolean resultCacheKeyRequired;
+    private String resultCacheKey;
+    private Map<String, Set<Integer>> resultCacheDatasetIds;
+    private boolean preparedQuery;
+    private List<Dataset> preparedQueryDatasets;
 
     public APIFramework(ILangCompilationProvider compilationProvider) {
         this.rewriterFactory = compilationProvider.getRewriterFactory();
@@ -200,6 +231,10 @@ public class APIFramework {
         final SourceLocation sourceLoc =
                 query != null ? query.getSourceLocation() : statement != null ? statement.getSourceLocation() : null;
         final boolean isExplainOnly = isQuery && query.isExplain();
+        profiledPlan = null;
+        resultCacheKey = null;
+        resultCacheDatasetIds = null;
+        preparedQueryDatasets = null;
 
         SessionConfig conf = output.config();
         if (isQuery && !conf.is(SessionConfig.FORMAT_ONLY_PHYSICAL_OPS)
@@ -270,6 +305,13 @@ public class APIFramework {
             return null;
         }
 
+        if (isQuery && resultCacheKeyRequired && conf.isOptimize()) {
+            computeResultCacheKey(plan, metadataProvider, conf);
+        }
+        if (isQuery && preparedQuery) {
+            computePreparedQueryDatasets(plan, metadataProvider);
+        }
+
         builder.setBinaryBooleanInspectorFactory(format.getBinaryBooleanInspectorFactory());
         builder.setBinaryIntegerInspectorFactory(format.getBinaryIntegerInspectorFactory());
         builder.setComparatorFactoryProvider(format.getBinaryComparatorFactoryProvider());
@@ -302,9 +344,237 @@ public class APIFramework {
         if (isQuery && conf.is(SessionConfig.OOB_HYRACKS_JOB)) {
             generateJob(spec);
         }
+        if (isQuery && physOptConf.getCBOMode() && conf.isOptimize()
+                && conf.is(SessionConfig.OOB_OPTIMIZED_LOGICAL_PLAN)
+                && !conf.is(SessionConfig.FORMAT_ONLY_PHYSICAL_OPS)) {
+            profiledPlan = plan;
+            profiledPlanFormat = conf.getPlanFormat();
+        }
         return spec;
     }
 
+    /**
+     * Makes the compilation of queries compute the key under which their results can be cached.
+     *
+     * @param resultCacheKeyRequired
+     *            whether the key is computed
+     */
+    public void setResultCacheKeyRequired(boolean resultCacheKeyRequired) {
+        this.resultCacheKeyRequired = resultCacheKeyRequired;
+    }
+
+    /**
+     * @return the key under which the result of the last compiled query can be cached, null if it cannot be cached
+     */
+    public String getResultCacheKey() {
+        return resultCacheKey;
+    }
+
+    /**
+     * @return the ids of the datasets that the last compiled query reads keyed by the nodes that store them, if its
+     *         result can be cached
+     */
+    public Map<String, Set<Integer>> getResultCacheDatasetIds() {
+        return resultCacheDatasetIds;
+    }
+
+    /**
+     * Makes the compilation of queries collect the datasets that their jobs read, so that the jobs can be kept and
+     * run again.
+     *
+     * @param preparedQuery
+     *            whether the datasets are collected
+     */
+    public void setPreparedQuery(boolean preparedQuery) {
+        this.preparedQuery = preparedQuery;
+    }
+
+    /**
+     * @return the datasets that the job of the last compiled query reads, null if the job cannot be kept
+     */
+    public List<Dataset> getPreparedQueryDatasets() {
+        return preparedQueryDatasets;
+    }
+
+    /**
+     * A prepared query is identified by its statement, the names of its parameters and everything else that its
+     * compilation depends on: the active dataverse, the compiler settings and the format of the result.
+     *
+     * @return the key under which the job of a prepared query is kept
+     */
+    public String getPreparedQueryKey(Query query, MetadataProvider metadataProvider, SessionConfig conf,
+            Collection<String> parameterNames) throws CompilationException {
+        final StringWriter stringWriter = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(stringWriter)) {
+            writer.println(metadataProvider.getDefaultDataverseName());
+            writer.println(new TreeMap<>(metadataProvider.getConfig()));
+            writer.println(metadataProvider.getMaxResultReads());
+            writer.println(conf.fmt());
+            writer.println(new TreeSet<>(parameterNames));
+            query.accept(astPrintVisitorFactory.createLangVisitor(writer), 0);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * The result of a query is identified by its optimized plan and by the format that its job prints the result in.
+     * It can only be cached if the plan reads internal datasets outside of the metadata dataverse and only calls
+     * deterministic functions.
+     */
+    private void computeResultCacheKey(ILogicalPlan plan, MetadataProvider metadataProvider, SessionConfig conf)
+            throws AlgebricksException {
+        Map<String, Dataset> datasets = new HashMap<>();
+        if (!collectReadDatasets(plan, metadataProvider, true, datasets)) {
+            return;
+        }
+        Map<String, Set<Integer>> datasetIds = new HashMap<>();
+        for (Dataset dataset : datasets.values()) {
+            if (dataset.getDatasetType() != DatasetType.INTERNAL
+                    || MetadataConstants.METADATA_DATAVERSE_NAME.equals(dataset.getDataverseName())) {
+                return;
+            }
+            for (String node : metadataProvider.findNodes(dataset.getNodeGroupName())) {
+                datasetIds.computeIfAbsent(node, n -> new HashSet<>()).add(dataset.getDatasetId());
+            }
+        }
+        final StringWriter stringWriter = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(stringWriter)) {
+            writer.println(conf.fmt());
+            PlanPrettyPrinter.printPlan(plan, new LogicalOperatorPrettyPrintVisitor(writer), 0);
+        }
+        resultCacheKey = stringWriter.toString();
+        resultCacheDatasetIds = datasetIds;
+    }
+
+    /**
+     * The job of a prepared query can only be kept if the plan reads internal datasets, which are locked again when
+     * the job is run.
+     */
+    private void computePreparedQueryDatasets(ILogicalPlan plan, MetadataProvider metadataProvider)
+            throws AlgebricksException {
+        Map<String, Dataset> datasets = new HashMap<>();
+        if (!collectReadDatasets(plan, metadataProvider, false, datasets)) {
+            return;
+        }
+        for (Dataset dataset : datasets.values()) {
+            if (dataset.getDatasetType() != DatasetType.INTERNAL) {
+                return;
+            }
+        }
+        preparedQueryDatasets = new ArrayList<>(datasets.values());
+    }
+
+    private static boolean collectReadDatasets(ILogicalPlan plan, MetadataProvider metadataProvider,
+            boolean functionalOnly, Map<String, Dataset> datasets) throws AlgebricksException {
+        for (Mutable<ILogicalOperator> root : plan.getRoots()) {
+            if (!collectReadDatasets(root.getValue(), metadataProvider, functionalOnly, datasets)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the operator reads from anything but datasets or, if only functional expressions are allowed,
+     *         calls a function that is not deterministic
+     */
+    private static boolean collectReadDatasets(ILogicalOperator op, MetadataProvider metadataProvider,
+            boolean functionalOnly, Map<String, Dataset> datasets) throws AlgebricksException {
+        switch (op.getOperatorTag()) {
+            case DATASOURCESCAN:
+                DataSource dataSource = (DataSource) ((DataSourceScanOperator) op).getDataSource();
+                if (dataSource.getDatasourceType() != DataSource.Type.INTERNAL_DATASET) {
+                    return false;
+                }
+                Dataset scannedDataset = ((DatasetDataSource) dataSource).getDataset();
+                datasets.put(scannedDataset.getFullyQualifiedName(), scannedDataset);
+                break;
+            case UNNEST_MAP:
+            case LEFT_OUTER_UNNEST_MAP:
+                ILogicalExpression unnestExpr = ((AbstractUnnestMapOperator) op).getExpressionRef().getValue();
+                if (unnestExpr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL
+                        || !BuiltinFunctions.INDEX_SEARCH
+                                .equals(((AbstractFunctionCallExpression) unnestExpr).getFunctionIdentifier())) {
+                    return false;
+                }
+                AccessMethodJobGenParams jobGenParams = new AccessMethodJobGenParams();
+                jobGenParams.readFromFuncArgs(((AbstractFunctionCallExpression) unnestExpr).getArguments());
+                Dataset searchedDataset =
+                        metadataProvider.findDataset(jobGenParams.getDataverseName(), jobGenParams.getDatasetName());
+                if (searchedDataset == null) {
+                    return false;
+                }
+                datasets.put(searchedDataset.getFullyQualifiedName(), searchedDataset);
+                break;
+            default:
+                break;
+        }
+        if (functionalOnly) {
+            MutableBoolean functional = new MutableBoolean(true);
+            op.acceptExpressionTransform(exprRef -> {
+                if (!exprRef.getValue().isFunctional()) {
+                    functional.setFalse();
+                }
+                return false;
+            });
+            if (functional.isFalse()) {
+                return false;
+            }
+        }
+        if (op instanceof AbstractOperatorWithNestedPlans) {
+            for (ILogicalPlan nestedPlan : ((AbstractOperatorWithNestedPlans) op).getNestedPlans()) {
+                if (!collectReadDatasets(nestedPlan, metadataProvider, functionalOnly, datasets)) {
+                    return false;
+                }
+            }
+        }
+        for (Mutable<ILogicalOperator> input : op.getInputs()) {
+            if (!collectReadDatasets(input.getValue(), metadataProvider, functionalOnly, datasets)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the job of the last compiled query needs to be profiled to report the actual cardinalities of
+     *         its joins in the optimized logical plan
+     */
+    public boolean isProfilingRequired() {
+        return profiledPlan != null;
+    }
+
+    /**
+     * Puts the numbers of tuples that the joins of the last compiled query produced next to their estimated
+     * cardinalities in its optimized logical plan.
+     *
+     * @param counters
+     *            the counters of the tasks of the job of the query, summed up by name
+     */
+    public void setActualCardinalities(Map<String, Long> counters) throws AlgebricksException {
+        if (profiledPlan == null) {
+            return;
+        }
+        for (Mutable<ILogicalOperator> root : profiledPlan.getRoots()) {
+            setActualCardinalities(root.getValue(), counters);
+        }
+        generateOptimizedLogicalPlan(profiledPlan, profiledPlanFormat);
+        profiledPlan = null;
+    }
+
+    private static void setActualCardinalities(ILogicalOperator op, Map<String, Long> counters) {
+        Object odId = op.getAnnotations().get(OperatorAnnotations.OPERATOR_DESCRIPTOR_ID);
+        if (odId != null) {
+            Long actual = counters.get(ProfiledFrameWriter.getOutputTupleCounterName((OperatorDescriptorId) odId));
+            if (actual != null) {
+                op.getAnnotations().put(OperatorAnnotations.ACTUAL_CARDINALITY, actual);
+            }
+        }
+        for (Mutable<ILogicalOperator> input : op.getInputs()) {
+            setActualCardinalities(input.getValue(), counters);
+        }
+    }
+
     private void printPlanAsResult(MetadataProvider metadataProvider, SessionOutput output) throws AlgebricksException {
         final SessionConfig conf = output.config();
         boolean quoteResult = output.config().getPlanFormat() == SessionConfig.PlanFormat.STRING;
@@ -51,6 +51,8 @@ public class QueryServiceRequestParameters {
     private boolean job;
     private boolean signature;
     private boolean multiStatement;
+    private boolean resultCache;
+    private boolean prepared;
 
     public String getHost() {
         return host;
@@ -204,6 +206,22 @@ public class QueryServiceRequestParameters {
         this.multiStatement = multiStatement;
     }
 
+    public boolean isResultCache() {
+        return resultCache;
+    }
+
+    public void setResultCache(boolean resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    public void setPrepared(boolean prepared) {
+        this.prepared = prepared;
+    }
+
     @Override
     public String toString() {
         try {
@@ -225,6 +243,8 @@ public class QueryServiceRequestParameters {
             on.put("job", job);
             on.put("signature", signature);
             on.put("multiStatement", multiStatement);
+            on.put("resultCache", resultCache);
+            on.put("prepared", prepared);
             if (statementParams != null) {
                 for (Map.Entry<String, JsonNode> statementParam : statementParams.entrySet()) {
                     on.set('$' + statementParam.getKey(), statementParam.getValue());
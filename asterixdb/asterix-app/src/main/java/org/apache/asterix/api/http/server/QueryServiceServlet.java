@@ -25,6 +25,7 @@ import static org.apache.asterix.common.exceptions.ErrorCode.REJECT_NODE_UNREGIS
 import static org.apache.asterix.common.exceptions.ErrorCode.REQUEST_TIMEOUT;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -150,7 +151,9 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
         PARSE_ONLY("parse-only"),
         JOB("job"),
         SIGNATURE("signature"),
-        MULTI_STATEMENT("multi-statement");
+        MULTI_STATEMENT("multi-statement"),
+        RESULT_CACHE("result-cache"),
+        PREPARED("prepared");
 
         private final String str;
 
@@ -276,12 +279,13 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
         return SessionConfig.OutputFormat.CLEAN_JSON;
     }
 
-    private static SessionOutput createSessionOutput(PrintWriter resultWriter) {
+    private static SessionOutput createSessionOutput(PrintWriter resultWriter, OutputStream resultStream) {
         SessionOutput.ResultDecorator resultPrefix = ResultUtil.createPreResultDecorator();
         SessionOutput.ResultDecorator resultPostfix = ResultUtil.createPostResultDecorator();
         SessionOutput.ResultAppender appendStatus = ResultUtil.createResultStatusAppender();
         SessionConfig sessionConfig = new SessionConfig(SessionConfig.OutputFormat.CLEAN_JSON);
-        return new SessionOutput(sessionConfig, resultWriter, resultPrefix, resultPostfix, null, appendStatus);
+        return new SessionOutput(sessionConfig, resultWriter, resultStream, resultPrefix, resultPostfix, null,
+                appendStatus);
     }
 
     private static void printClientContextID(PrintWriter pw, QueryServiceRequestParameters params) {
@@ -425,6 +429,8 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
         param.setStatementParams(
                 getOptStatementParameters(jsonRequest, jsonRequest.fieldNames(), JsonNode::get, v -> v));
         param.setMultiStatement(getOptBoolean(jsonRequest, Parameter.MULTI_STATEMENT.str(), true));
+        param.setResultCache(getOptBoolean(jsonRequest, Parameter.RESULT_CACHE.str(), false));
+        param.setPrepared(getOptBoolean(jsonRequest, Parameter.PREPARED.str(), false));
         String statementParam = Parameter.STATEMENT.str();
         if (jsonRequest.has(statementParam)) {
             param.setStatement(jsonRequest.get(statementParam).asText());
@@ -446,6 +452,8 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
         param.setParseOnly(Boolean.parseBoolean(request.getParameter(Parameter.PARSE_ONLY.str())));
         final String multiStatementParam = request.getParameter(Parameter.MULTI_STATEMENT.str());
         param.setMultiStatement(multiStatementParam == null || Boolean.parseBoolean(multiStatementParam));
+        param.setResultCache(Boolean.parseBoolean(request.getParameter(Parameter.RESULT_CACHE.str())));
+        param.setPrepared(Boolean.parseBoolean(request.getParameter(Parameter.PREPARED.str())));
         try {
             param.setStatementParams(getOptStatementParameters(request, request.getParameterNames().iterator(),
                     IServletRequest::getParameter, OBJECT_MAPPER::readTree));
@@ -508,7 +516,7 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
         RequestExecutionState execution = new RequestExecutionState();
         List<ExecutionWarning> warnings = Collections.emptyList();
         PrintWriter httpWriter = response.writer();
-        SessionOutput sessionOutput = createSessionOutput(httpWriter);
+        SessionOutput sessionOutput = createSessionOutput(httpWriter, response.outputStream());
         QueryServiceRequestParameters param = new QueryServiceRequestParameters();
         try {
             // buffer the output until we are ready to set the status of the response message correctly
@@ -523,8 +531,10 @@ public class QueryServiceServlet extends AbstractQueryApiServlet {
             LOGGER.info("handleRequest: {}", param);
             ResultDelivery delivery = parseResultDelivery(param.getMode());
             setSessionConfig(sessionOutput, param, delivery);
-            final ResultProperties resultProperties = param.getMaxResultReads() == null ? new ResultProperties(delivery)
-                    : new ResultProperties(delivery, Long.parseLong(param.getMaxResultReads()));
+            final ResultProperties resultProperties = new ResultProperties(delivery,
+                    param.getMaxResultReads() == null ? ResultProperties.DEFAULT_MAX_READS
+                            : Long.parseLong(param.getMaxResultReads()),
+                    param.isResultCache(), param.isPrepared());
             printAdditionalResultFields(sessionOutput.out());
             printRequestId(sessionOutput.out());
             printClientContextID(sessionOutput.out(), param);
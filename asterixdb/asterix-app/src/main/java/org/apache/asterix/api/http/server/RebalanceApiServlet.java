@@ -245,6 +245,8 @@ public class RebalanceApiServlet extends AbstractServlet {
     private void rebalanceDataset(String dataverseName, String datasetName, String[] targetNodes) throws Exception {
         IHyracksClientConnection hcc = (IHyracksClientConnection) ctx.get(HYRACKS_CONNECTION_ATTR);
         MetadataProvider metadataProvider = new MetadataProvider(appCtx, null);
+        // the kept jobs of prepared queries read the partitions of the dataset before the rebalance
+        appCtx.getPreparedStatementCache().beginMetadataChange();
         try {
             ActiveNotificationHandler activeNotificationHandler =
                     (ActiveNotificationHandler) appCtx.getActiveNotificationHandler();
@@ -260,6 +262,7 @@ public class RebalanceApiServlet extends AbstractServlet {
             }
         } finally {
             metadataProvider.getLocks().unlock();
+            appCtx.getPreparedStatementCache().endMetadataChange();
         }
     }
 
@@ -27,6 +27,8 @@ import org.apache.asterix.common.api.IApplicationContext;
 import org.apache.hyracks.api.client.IHyracksClientConnection;
 import org.apache.hyracks.api.result.IResultSet;
 import org.apache.hyracks.client.result.ResultSet;
+import org.apache.hyracks.control.common.controllers.ControllerConfig;
+import org.apache.hyracks.net.protocols.muxdemux.NetworkCompression;
 
 public class ServletUtil {
     static IResultSet getResultSet(IHyracksClientConnection hcc, IApplicationContext appCtx,
@@ -39,7 +41,9 @@ public class ServletUtil {
                     resultSet = new ResultSet(hcc,
                             appCtx.getServiceContext().getControllerService().getNetworkSecurityManager()
                                     .getSocketChannelFactory(),
-                            appCtx.getCompilerProperties().getFrameSize(), ResultReader.NUM_READERS);
+                            appCtx.getCompilerProperties().getFrameSize(), ResultReader.NUM_READERS,
+                            NetworkCompression.getCompressorDecompressor(appCtx.getServiceContext().getAppConfig()
+                                    .getString(ControllerConfig.Option.NET_COMPRESSION)));
                     ctx.put(RESULTSET_ATTR, resultSet);
                 }
             }
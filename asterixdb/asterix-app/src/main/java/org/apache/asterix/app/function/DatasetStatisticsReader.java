@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.function;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.asterix.common.context.DatasetResource;
+import org.apache.asterix.common.context.IndexInfo;
+import org.apache.asterix.common.storage.ResourceReference;
+import org.apache.asterix.dataflow.data.nontagged.printers.adm.AObjectPrinterFactory;
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.input.record.CharArrayRecord;
+import org.apache.hyracks.algebricks.data.IPrinter;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.common.api.ITreeIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics;
+
+/**
+ * Reads the statistics of the disk components of the indexes of a dataset on a node and merges them per index over
+ * all components and partitions of the node. Tuples of memory components are not included.
+ */
+public class DatasetStatisticsReader extends FunctionReader {
+
+    private final List<String> indexes;
+    private final Iterator<String> it;
+    private final CharArrayRecord record;
+
+    public DatasetStatisticsReader(String nodeId, DatasetResource dsr) throws HyracksDataException {
+        indexes = new ArrayList<>();
+        if (dsr != null && dsr.isOpen()) {
+            Map<String, IndexStatistics> statistics = new LinkedHashMap<>();
+            for (IndexInfo value : dsr.getIndexes().values()) {
+                ILSMIndex index = value.getIndex();
+                if (!(index instanceof ITreeIndex)) {
+                    continue;
+                }
+                String indexName = ResourceReference.ofIndex(value.getLocalResource().getPath()).getIndex();
+                IndexStatistics indexStatistics = statistics.computeIfAbsent(indexName,
+                        name -> new IndexStatistics(((ITreeIndex) index).getComparatorFactories()));
+                indexStatistics.add(index);
+            }
+            ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+            PrintStream valueStream = new PrintStream(valueBytes, true);
+            IPrinter printer = AObjectPrinterFactory.INSTANCE.createPrinter();
+            StringBuilder strBuilder = new StringBuilder();
+            for (Map.Entry<String, IndexStatistics> entry : statistics.entrySet()) {
+                strBuilder.setLength(0);
+                IndexStatistics indexStatistics = entry.getValue();
+                ComponentStatistics merged = indexStatistics.statistics;
+                strBuilder.append('{');
+                strBuilder.append("\"node\":\"");
+                strBuilder.append(nodeId);
+                strBuilder.append("\", \"index\":\"");
+                strBuilder.append(entry.getKey());
+                strBuilder.append("\", \"partitions\":");
+                strBuilder.append(indexStatistics.partitions);
+                strBuilder.append(", \"components\":");
+                strBuilder.append(indexStatistics.components);
+                strBuilder.append(", \"componentsWithoutStatistics\":");
+                strBuilder.append(indexStatistics.componentsWithoutStatistics);
+                strBuilder.append(", \"tuples\":");
+                strBuilder.append(merged.getTupleCount());
+                strBuilder.append(", \"antimatterTuples\":");
+                strBuilder.append(merged.getAntimatterCount());
+                strBuilder.append(", \"fields\":[");
+                for (int i = 0; i < merged.getNumFields(); i++) {
+                    if (i > 0) {
+                        strBuilder.append(',');
+                    }
+                    strBuilder.append('{');
+                    strBuilder.append("\"distinctValues\":");
+                    strBuilder.append(merged.getDistinctCount(i));
+                    appendValue(strBuilder, "min", merged.getMin(i), printer, valueBytes, valueStream);
+                    appendValue(strBuilder, "max", merged.getMax(i), printer, valueBytes, valueStream);
+                    strBuilder.append('}');
+                }
+                strBuilder.append(']');
+                if (merged.hasHistogram()) {
+                    strBuilder.append(", \"histogram\":[");
+                    for (int i = 0; i < merged.getNumBuckets(); i++) {
+                        if (i > 0) {
+                            strBuilder.append(',');
+                        }
+                        strBuilder.append("{\"count\":");
+                        strBuilder.append(merged.getBucketCount(i));
+                        appendValue(strBuilder, "upper", merged.getBucketUpperBound(i), printer, valueBytes,
+                                valueStream);
+                        strBuilder.append('}');
+                    }
+                    strBuilder.append(']');
+                }
+                strBuilder.append('}');
+                indexes.add(strBuilder.toString());
+            }
+            record = new CharArrayRecord();
+        } else {
+            record = null;
+        }
+        it = indexes.iterator();
+    }
+
+    private static void appendValue(StringBuilder strBuilder, String name, byte[] value, IPrinter printer,
+            ByteArrayOutputStream valueBytes, PrintStream valueStream) throws HyracksDataException {
+        if (value == null) {
+            return;
+        }
+        valueBytes.reset();
+        printer.print(value, 0, value.length, valueStream);
+        strBuilder.append(", \"");
+        strBuilder.append(name);
+        strBuilder.append("\":");
+        strBuilder.append(new String(valueBytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+        return it.hasNext();
+    }
+
+    @Override
+    public IRawRecord<char[]> next() throws IOException, InterruptedException {
+        record.reset();
+        record.append(it.next().toCharArray());
+        record.endRecord();
+        return record;
+    }
+
+    private static class IndexStatistics {
+        private final IBinaryComparator[] comparators;
+        private final ComponentStatistics statistics;
+        private int partitions;
+        private int components;
+        private int componentsWithoutStatistics;
+
+        private IndexStatistics(IBinaryComparatorFactory[] comparatorFactories) {
+            comparators = new IBinaryComparator[comparatorFactories.length];
+            for (int i = 0; i < comparators.length; i++) {
+                comparators[i] = comparatorFactories[i].createBinaryComparator();
+            }
+            statistics = new ComponentStatistics(comparators.length);
+        }
+
+        private void add(ILSMIndex index) throws HyracksDataException {
+            partitions++;
+            // syncronize over the opTracker
+            synchronized (index.getOperationTracker()) {
+                for (ILSMDiskComponent c : index.getDiskComponents()) {
+                    components++;
+                    ComponentStatistics componentStatistics = ComponentStatistics.read(c.getMetadata());
+                    if (componentStatistics == null || componentStatistics.getNumFields() != comparators.length) {
+                        componentsWithoutStatistics++;
+                    } else {
+                        statistics.merge(componentStatistics, comparators);
+                    }
+                }
+            }
+        }
+    }
+}
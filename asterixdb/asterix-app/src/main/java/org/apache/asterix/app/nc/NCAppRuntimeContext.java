@@ -183,7 +183,8 @@ public class NCAppRuntimeContext implements INcApplicationContext {
         IPageCleanerPolicy pcp = new DelayPageCleanerPolicy(600000);
         IPageReplacementStrategy prs = new ClockPageReplacementStrategy(allocator,
                 storageProperties.getBufferCachePageSize(), storageProperties.getBufferCacheNumPages());
-        lsmIOScheduler = new AsynchronousScheduler(getServiceContext().getThreadFactory(), HaltCallback.INSTANCE);
+        lsmIOScheduler = new AsynchronousScheduler(getServiceContext().getThreadFactory(), HaltCallback.INSTANCE,
+                storageProperties.getMergeRanges());
         metadataMergePolicyFactory = new PrefixMergePolicyFactory();
         indexCheckpointManagerProvider = new IndexCheckpointManagerProvider(ioManager);
         ILocalResourceRepositoryFactory persistentLocalResourceRepositoryFactory =
@@ -231,10 +232,11 @@ public class NCAppRuntimeContext implements INcApplicationContext {
 
             bufferCache = new BufferCache(ioManager, prs, pcp, new FileMapManager(),
                     storageProperties.getBufferCacheMaxOpenFiles(), getServiceContext().getThreadFactory(),
-                    replicationManager);
+                    replicationManager, storageProperties.getBufferCacheReadAheadPages());
         } else {
             bufferCache = new BufferCache(ioManager, prs, pcp, new FileMapManager(),
-                    storageProperties.getBufferCacheMaxOpenFiles(), getServiceContext().getThreadFactory());
+                    storageProperties.getBufferCacheMaxOpenFiles(), getServiceContext().getThreadFactory(), null,
+                    storageProperties.getBufferCacheReadAheadPages());
         }
 
         /*
@@ -72,6 +72,7 @@ import org.apache.hyracks.api.application.INCServiceContext;
 import org.apache.hyracks.api.exceptions.ErrorCode;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.lifecycle.ILifeCycleComponent;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentId;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentId.IdCompareResult;
@@ -101,6 +102,8 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
     private final LogManager logMgr;
     private final boolean replicationEnabled;
     private static final String RECOVERY_FILES_DIR_NAME = "recovery_temp";
+    private static final long PROGRESS_REPORT_INTERVAL_MS = 30000;
+    private static final int PROGRESS_UPDATE_RECORDS = 1024;
     private Map<Long, JobEntityCommits> jobId2WinnerEntitiesMap = null;
     private final long cachedEntityCommitsPerJobSize;
     protected final PersistentLocalResourceRepository localResourceRepository;
@@ -109,6 +112,8 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
     protected final INCServiceContext serviceCtx;
     protected final INcApplicationContext appCtx;
     private static final TxnId recoveryTxnId = new TxnId(-1);
+    private final int redoThreads;
+    private final RecoveryProgress progress = new RecoveryProgress();
 
     public RecoveryManager(INCServiceContext serviceCtx, ITransactionSubsystem txnSubsystem) {
         this.serviceCtx = serviceCtx;
@@ -119,6 +124,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         replicationEnabled = repProperties.isReplicationEnabled();
         localResourceRepository = (PersistentLocalResourceRepository) appCtx.getLocalResourceRepository();
         cachedEntityCommitsPerJobSize = txnSubsystem.getTransactionProperties().getJobRecoveryMemorySize();
+        redoThreads = txnSubsystem.getTransactionProperties().getJobRecoveryRedoThreads();
         checkpointManager = txnSubsystem.getCheckpointManager();
     }
 
@@ -179,10 +185,12 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
     @Override
     public synchronized void replayPartitionsLogs(Set<Integer> partitions, ILogReader logReader, long lowWaterMarkLSN)
             throws IOException, ACIDException {
+        progress.start(lowWaterMarkLSN, logMgr.getAppendLSN());
         try {
             Set<Long> winnerJobSet = startRecoverysAnalysisPhase(partitions, logReader, lowWaterMarkLSN);
             startRecoveryRedoPhase(partitions, logReader, lowWaterMarkLSN, winnerJobSet);
         } finally {
+            progress.end();
             logReader.close();
             deleteRecoveryTemporaryFiles();
         }
@@ -194,8 +202,10 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         int entityCommitLogCount = 0;
         int jobCommitLogCount = 0;
         int abortLogCount = 0;
+        long readCount = 0;
         Set<Long> winnerJobSet = new HashSet<>();
         jobId2WinnerEntitiesMap = new HashMap<>();
+        progress.startPhase("ANALYSIS");
         //set log reader to the lowWaterMarkLsn
         ILogRecord logRecord;
         logReader.setPosition(lowWaterMarkLSN);
@@ -204,6 +214,9 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
             if (IS_DEBUG_MODE) {
                 LOGGER.info(logRecord.getLogRecordForDisplay());
             }
+            if (++readCount % PROGRESS_UPDATE_RECORDS == 0) {
+                progress.update(logRecord.getLSN(), readCount, 0);
+            }
             switch (logRecord.getLogType()) {
                 case LogType.UPDATE:
                     if (partitions.contains(logRecord.getResourcePartition())) {
@@ -241,7 +254,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
             winners.prepareForSearch();
         }
 
-        LOGGER.info("Logs analysis phase completed.");
+        LOGGER.info("Logs analysis phase completed in " + progress.getPhaseTime() + " ms.");
         LOGGER.info("Analysis log count update/entityCommit/jobCommit/abort = " + updateLogCount + "/"
                 + entityCommitLogCount + "/" + jobCommitLogCount + "/" + abortLogCount);
 
@@ -278,7 +291,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
 
     private synchronized void startRecoveryRedoPhase(Set<Integer> partitions, ILogReader logReader,
             long lowWaterMarkLSN, Set<Long> winnerTxnSet) throws IOException, ACIDException {
-        int redoCount = 0;
+        long readCount = 0;
         long txnId = 0;
 
         long resourceId;
@@ -297,6 +310,8 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         Map<Long, LocalResource> resourcesMap = localResourceRepository.loadAndGetAllResources();
         final Map<Long, Long> resourceId2MaxLSNMap = new HashMap<>();
         TxnEntityId tempKeyTxnEntityId = new TxnEntityId(-1, -1, -1, null, -1, false);
+        final RedoExecutor redoExecutor = new RedoExecutor(redoThreads, serviceCtx.getThreadFactory());
+        progress.startPhase("REDO");
 
         ILogRecord logRecord = null;
         try {
@@ -307,6 +322,9 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                     LOGGER.info(logRecord.getLogRecordForDisplay());
                 }
                 lsn = logRecord.getLSN();
+                if (++readCount % PROGRESS_UPDATE_RECORDS == 0) {
+                    progress.update(lsn, readCount, redoExecutor.getCompletedCount());
+                }
                 txnId = logRecord.getTxnId();
                 foundWinner = false;
                 switch (logRecord.getLogType()) {
@@ -378,8 +396,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                             }
                             // lsn @ maxDiskLastLsn is either a flush log or a master replica log
                             if (lsn >= maxDiskLastLsn) {
-                                redo(logRecord, datasetLifecycleManager);
-                                redoCount++;
+                                submitRedo(redoExecutor, logRecord, datasetLifecycleManager);
                             }
                         }
                         break;
@@ -404,12 +421,9 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                                         // IMPORTANT: Don't remove the check above
                                         // This check is to support indexes without transaction logs
                                         maxDiskLastLsn = maxLsnBeforeFlush;
-                                        index = iInfo.getIndex();
-                                        if (logRecord.getLSN() > maxDiskLastLsn
-                                                && !index.isCurrentMutableComponentEmpty()) {
-                                            // schedule flush
-                                            redoFlush(index, logRecord);
-                                            redoCount++;
+                                        if (logRecord.getLSN() > maxDiskLastLsn) {
+                                            // schedule flush once the preceding updates of the index are redone
+                                            submitRedoFlush(redoExecutor, iInfo, logRecord);
                                         } else {
                                             // TODO: update checkpoint file?
                                         }
@@ -433,8 +447,14 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                 }
                 logRecord = logReader.next();
             }
-            LOGGER.info("Logs REDO phase completed. Redo logs count: " + redoCount);
+            redoExecutor.sync();
+            LOGGER.info("Logs REDO phase completed in " + progress.getPhaseTime() + " ms using "
+                    + redoExecutor.getWorkerCount() + " workers. Redo logs count: "
+                    + redoExecutor.getCompletedCount());
         } finally {
+            // the workers must be done before the indexes they write to are closed
+            redoExecutor.close();
+            progress.update(lsn, readCount, redoExecutor.getCompletedCount());
             txnSubsystem.getTransactionManager().ensureMaxTxnId(txnId);
             //close all indexes
             Set<Long> resourceIdList = resourceId2MaxLSNMap.keySet();
@@ -444,6 +464,30 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         }
     }
 
+    private static void submitRedo(RedoExecutor redoExecutor, ILogRecord logRecord,
+            IDatasetLifecycleManager datasetLifecycleManager) throws HyracksDataException {
+        final int datasetId = logRecord.getDatasetId();
+        final long resourceId = logRecord.getResourceId();
+        final byte newOp = logRecord.getNewOp();
+        // the log record is reused by the reader, so workers get their own copy of the value
+        final ITupleReference newValue = redoExecutor.getWorkerCount() > 1
+                ? RedoExecutor.copy(logRecord.getNewValue()) : logRecord.getNewValue();
+        redoExecutor.submit(resourceId, () -> redo(datasetId, resourceId, newOp, newValue, datasetLifecycleManager));
+    }
+
+    private static void submitRedoFlush(RedoExecutor redoExecutor, IndexInfo iInfo, ILogRecord logRecord)
+            throws HyracksDataException {
+        final ILSMIndex index = iInfo.getIndex();
+        final long flushLsn = logRecord.getLSN();
+        final ILSMComponentId id =
+                new LSMComponentId(logRecord.getFlushingComponentMinId(), logRecord.getFlushingComponentMaxId());
+        redoExecutor.submit(iInfo.getResourceId(), () -> {
+            if (!index.isCurrentMutableComponentEmpty()) {
+                redoFlush(index, flushLsn, id);
+            }
+        });
+    }
+
     private boolean needToFreeMemory() {
         return Runtime.getRuntime().freeMemory() < cachedEntityCommitsPerJobSize;
     }
@@ -743,7 +787,11 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
 
     @Override
     public void dumpState(OutputStream os) throws IOException {
-        // do nothing
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n>>dump_begin\t>>----- [Recovery] -----\n");
+        sb.append(progress.toString());
+        sb.append("\n>>dump_end\t>>----- [Recovery] -----\n");
+        os.write(sb.toString().getBytes());
     }
 
     private static void undo(ILogRecord logRecord, IDatasetLifecycleManager datasetLifecycleManager) {
@@ -796,42 +844,37 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         }
     }
 
-    private static void redo(ILogRecord logRecord, IDatasetLifecycleManager datasetLifecycleManager) {
+    private static void redo(int datasetId, long resourceId, byte newOp, ITupleReference newValue,
+            IDatasetLifecycleManager datasetLifecycleManager) {
         try {
-            int datasetId = logRecord.getDatasetId();
-            long resourceId = logRecord.getResourceId();
             ILSMIndex index = (ILSMIndex) datasetLifecycleManager.getIndex(datasetId, resourceId);
             ILSMIndexAccessor indexAccessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
             ILSMIndexOperationContext opCtx = indexAccessor.getOpContext();
             opCtx.setFilterSkip(true);
             opCtx.setRecovery(true);
-            if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.INSERT_BYTE) {
-                indexAccessor.forceInsert(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.DELETE_BYTE) {
-                indexAccessor.forceDelete(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.UPSERT_BYTE) {
+            if (newOp == AbstractIndexModificationOperationCallback.INSERT_BYTE) {
+                indexAccessor.forceInsert(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.DELETE_BYTE) {
+                indexAccessor.forceDelete(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.UPSERT_BYTE) {
                 // redo, upsert the new value
-                indexAccessor.forceUpsert(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.FILTER_BYTE) {
+                indexAccessor.forceUpsert(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.FILTER_BYTE) {
                 opCtx.setFilterSkip(false);
-                indexAccessor.updateFilter(logRecord.getNewValue());
+                indexAccessor.updateFilter(newValue);
             } else {
-                throw new IllegalStateException("Unsupported OperationType: " + logRecord.getNewOp());
+                throw new IllegalStateException("Unsupported OperationType: " + newOp);
             }
         } catch (Exception e) {
             throw new IllegalStateException("Failed to redo", e);
         }
     }
 
-    private static void redoFlush(ILSMIndex index, ILogRecord logRecord) throws HyracksDataException {
-        long flushLsn = logRecord.getLSN();
+    private static void redoFlush(ILSMIndex index, long flushLsn, ILSMComponentId id) throws HyracksDataException {
         Map<String, Object> flushMap = new HashMap<>();
         flushMap.put(LSMIOOperationCallback.KEY_FLUSH_LOG_LSN, flushLsn);
         ILSMIndexAccessor accessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
         accessor.getOpContext().setParameters(flushMap);
-        long minId = logRecord.getFlushingComponentMinId();
-        long maxId = logRecord.getFlushingComponentMaxId();
-        ILSMComponentId id = new LSMComponentId(minId, maxId);
         flushMap.put(LSMIOOperationCallback.KEY_NEXT_COMPONENT_ID, index.getCurrentMemoryComponent().getId());
         if (!index.getDiskComponents().isEmpty()) {
             ILSMDiskComponent diskComponent = index.getDiskComponents().get(0);
@@ -855,6 +898,80 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         index.resetCurrentComponentIndex();
     }
 
+    /**
+     * The progress of the latest log replay. It is published by the replaying thread every
+     * {@link #PROGRESS_UPDATE_RECORDS} log records, logged every {@link #PROGRESS_REPORT_INTERVAL_MS} and included in
+     * the state dump.
+     */
+    private static class RecoveryProgress {
+        private volatile String phase = "NONE";
+        private volatile long startLsn;
+        private volatile long endLsn;
+        private volatile long currentLsn;
+        private volatile long readCount;
+        private volatile long redoCount;
+        private volatile long startTime;
+        private volatile long phaseStartTime;
+        private volatile long endTime;
+        private long lastReportTime;
+
+        private void start(long startLsn, long endLsn) {
+            this.startLsn = startLsn;
+            this.endLsn = endLsn;
+            startTime = System.currentTimeMillis();
+            endTime = 0;
+        }
+
+        private void startPhase(String phase) {
+            this.phase = phase;
+            currentLsn = startLsn;
+            readCount = 0;
+            redoCount = 0;
+            phaseStartTime = System.currentTimeMillis();
+            lastReportTime = phaseStartTime;
+        }
+
+        private void update(long lsn, long readCount, long redoCount) {
+            this.currentLsn = lsn;
+            this.readCount = readCount;
+            this.redoCount = redoCount;
+            long now = System.currentTimeMillis();
+            if (now - lastReportTime >= PROGRESS_REPORT_INTERVAL_MS) {
+                lastReportTime = now;
+                LOGGER.info("Recovery progress: " + this);
+            }
+        }
+
+        private void end() {
+            endTime = System.currentTimeMillis();
+            phase = "DONE";
+        }
+
+        private long getPhaseTime() {
+            return System.currentTimeMillis() - phaseStartTime;
+        }
+
+        @Override
+        public String toString() {
+            long lsnRange = endLsn - startLsn;
+            long percent = lsnRange > 0 ? Math.min(100, (currentLsn - startLsn) * 100 / lsnRange) : 100;
+            long elapsed = Math.max(1, (endTime > 0 ? endTime : System.currentTimeMillis()) - phaseStartTime);
+            StringBuilder sb = new StringBuilder();
+            sb.append("phase: ").append(phase);
+            sb.append(", lsn: ").append(currentLsn).append(" in [").append(startLsn).append(", ").append(endLsn)
+                    .append("] (").append(percent).append("%)");
+            sb.append(", read logs: ").append(readCount).append(" (").append(readCount * 1000 / elapsed)
+                    .append("/s)");
+            sb.append(", redone logs: ").append(redoCount).append(" (").append(redoCount * 1000 / elapsed)
+                    .append("/s)");
+            if (startTime > 0) {
+                sb.append(", total time: ").append((endTime > 0 ? endTime : System.currentTimeMillis()) - startTime)
+                        .append(" ms");
+            }
+            return sb.toString();
+        }
+    }
+
     private class JobEntityCommits {
         private static final String PARTITION_FILE_NAME_SEPARATOR = "_";
         private final long txnId;
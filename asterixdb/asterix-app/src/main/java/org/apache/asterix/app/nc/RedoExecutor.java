@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.nc;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.tuples.SimpleTupleReference;
+import org.apache.hyracks.storage.am.common.tuples.SimpleTupleWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Applies the redo work of a recovery on a fixed number of workers. All the work of a resource (index partition) goes
+ * to the same worker and is applied in the order it was submitted, while the work of different resources is applied
+ * in parallel. With a single worker, the work is applied on the submitting thread.
+ */
+class RedoExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final RedoTask STOP = () -> {
+    };
+
+    @FunctionalInterface
+    interface RedoTask {
+        void run() throws HyracksDataException;
+    }
+
+    private final Worker[] workers;
+    private final Thread[] threads;
+    private final AtomicLong completedCount = new AtomicLong();
+    private volatile Throwable failure;
+
+    RedoExecutor(int numWorkers, ThreadFactory threadFactory) {
+        workers = new Worker[numWorkers > 1 ? numWorkers : 0];
+        threads = new Thread[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+            threads[i] = threadFactory.newThread(workers[i]);
+            threads[i].setName("Recovery Redo Worker " + i);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Queues {@code task} behind all the work previously submitted for {@code resourceId}.
+     */
+    void submit(long resourceId, RedoTask task) throws HyracksDataException {
+        checkFailure();
+        if (workers.length == 0) {
+            task.run();
+            completedCount.incrementAndGet();
+            return;
+        }
+        workers[(int) Math.floorMod(resourceId, (long) workers.length)].put(task);
+    }
+
+    /**
+     * Waits until all the submitted work has been applied.
+     */
+    void sync() throws HyracksDataException {
+        CountDownLatch latch = new CountDownLatch(workers.length);
+        Barrier barrier = new Barrier(latch);
+        for (Worker worker : workers) {
+            worker.put(barrier);
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return the number of submitted tasks that have been applied
+     */
+    long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    int getWorkerCount() {
+        return Math.max(workers.length, 1);
+    }
+
+    /**
+     * Stops the workers once they are done with the work queued so far. Work queued after a failure is skipped.
+     */
+    @Override
+    public void close() throws HyracksDataException {
+        for (Worker worker : workers) {
+            worker.put(STOP);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    /**
+     * Copies a tuple read from the log so that it stays valid after the log reader moves on.
+     */
+    static ITupleReference copy(ITupleReference tuple) {
+        byte[] bytes = new byte[SimpleTupleWriter.INSTANCE.bytesRequired(tuple)];
+        SimpleTupleWriter.INSTANCE.writeTuple(tuple, bytes, 0);
+        SimpleTupleReference copy = SimpleTupleWriter.INSTANCE.createTupleReference();
+        copy.setFieldCount(tuple.getFieldCount());
+        copy.resetByTupleOffset(bytes, 0);
+        return copy;
+    }
+
+    private void checkFailure() throws HyracksDataException {
+        if (failure != null) {
+            throw HyracksDataException.create(failure);
+        }
+    }
+
+    private static class Barrier implements RedoTask {
+        private final CountDownLatch latch;
+
+        private Barrier(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final BlockingQueue<RedoTask> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        private void put(RedoTask task) throws HyracksDataException {
+            try {
+                queue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw HyracksDataException.create(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    RedoTask task = queue.take();
+                    if (task == STOP) {
+                        return;
+                    }
+                    if (task instanceof Barrier) {
+                        ((Barrier) task).latch.countDown();
+                        continue;
+                    }
+                    if (failure != null) {
+                        // keep draining the queue so that the submitter does not block after a failure
+                        continue;
+                    }
+                    try {
+                        task.run();
+                        completedCount.incrementAndGet();
+                    } catch (Throwable th) {
+                        LOGGER.error("Failed to redo", th);
+                        failure = th;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.result;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.hyracks.api.comm.FrameHelper;
+import org.apache.hyracks.api.comm.IFrame;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.result.IResultSetReader;
+import org.apache.hyracks.api.result.ResultJobRecord;
+import org.apache.hyracks.api.result.ResultJobRecord.Status;
+
+/**
+ * Reads a result from the query result cache.
+ */
+public class CachedResultSetReader implements IResultSetReader {
+    private static final Status SUCCESS;
+
+    static {
+        ResultJobRecord record = new ResultJobRecord();
+        record.success();
+        SUCCESS = record.getStatus();
+    }
+
+    private final Iterator<byte[]> frames;
+
+    public CachedResultSetReader(List<byte[]> frames) {
+        this.frames = frames.iterator();
+    }
+
+    @Override
+    public Status getResultStatus() {
+        return SUCCESS;
+    }
+
+    @Override
+    public int read(IFrame frame) throws HyracksDataException {
+        frame.reset();
+        if (!frames.hasNext()) {
+            return 0;
+        }
+        byte[] bytes = frames.next();
+        frame.ensureFrameSize(frame.getMinSize() * FrameHelper.deserializeNumOfMinFrame(ByteBuffer.wrap(bytes)));
+        ByteBuffer buffer = frame.getBuffer();
+        buffer.clear();
+        buffer.put(bytes);
+        buffer.flip();
+        return bytes.length;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.result;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.comm.IFrame;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.result.IResultSetReader;
+import org.apache.hyracks.api.result.ResultJobRecord.Status;
+
+/**
+ * Keeps a copy of the frames that are read from a result, so that the result can be put into the query result cache.
+ * Stops copying once the result gets larger than the given size.
+ */
+public class CachingResultSetReader implements IResultSetReader {
+    private final IResultSetReader reader;
+    private final long maxSize;
+    private List<byte[]> frames = new ArrayList<>();
+    private long size;
+
+    public CachingResultSetReader(IResultSetReader reader, long maxSize) {
+        this.reader = reader;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Status getResultStatus() {
+        return reader.getResultStatus();
+    }
+
+    @Override
+    public int read(IFrame frame) throws HyracksDataException {
+        int readSize = reader.read(frame);
+        if (readSize > 0 && frames != null) {
+            size += readSize;
+            if (size > maxSize) {
+                frames = null;
+            } else {
+                ByteBuffer buffer = frame.getBuffer();
+                byte[] copy = new byte[readSize];
+                System.arraycopy(buffer.array(), buffer.position(), copy, 0, readSize);
+                frames.add(copy);
+            }
+        }
+        return readSize;
+    }
+
+    /**
+     * @return the frames that were read, null if the result was larger than the maximum size
+     */
+    public List<byte[]> getFrames() {
+        return frames;
+    }
+}
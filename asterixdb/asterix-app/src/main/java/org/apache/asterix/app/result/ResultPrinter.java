@@ -21,11 +21,13 @@ package org.apache.asterix.app.result;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
 
 import org.apache.asterix.api.http.server.ResultUtil;
 import org.apache.asterix.common.api.IApplicationContext;
+import org.apache.asterix.dataflow.data.nontagged.printers.PrintTools;
 import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.translator.IStatementExecutor.Stats;
 import org.apache.asterix.translator.SessionConfig;
@@ -47,6 +49,9 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 
 public class ResultPrinter {
 
+    private static final byte[] RECORD_SEPARATOR = ", ".getBytes(UTF_8);
+    private static final byte[] CSV_LINE_END = "\r\n".getBytes(UTF_8);
+
     private final FrameManager resultDisplayFrameMgr;
 
     private final SessionOutput output;
@@ -196,11 +201,52 @@ public class ResultPrinter {
         printPostfix();
     }
 
+    private boolean isJSON() {
+        return conf.fmt() == SessionConfig.OutputFormat.CLEAN_JSON
+                || conf.fmt() == SessionConfig.OutputFormat.LOSSLESS_JSON;
+    }
+
+    /**
+     * Writes a printed record to the output stream without decoding it. Indentation, CSV line endings and quoting are
+     * applied to the bytes while writing them.
+     */
+    private void displayRecord(byte[] bytes, int start, int length, OutputStream os) throws IOException {
+        final boolean csv = conf.fmt() == SessionConfig.OutputFormat.CSV;
+        if (quoteRecord) {
+            os.write('"');
+            PrintTools.writeEscapedJSON(bytes, start, length, os);
+            if (csv) {
+                PrintTools.writeEscapedJSON(CSV_LINE_END, 0, CSV_LINE_END.length, os);
+            }
+            os.write('"');
+        } else {
+            if (indentJSON && isJSON()) {
+                PrintTools.writeIndentedJSON(bytes, start, length, os);
+            } else {
+                os.write(bytes, start, length);
+            }
+            if (csv) {
+                os.write(CSV_LINE_END);
+            }
+        }
+        stats.setCount(stats.getCount() + 1);
+        // TODO(tillw) fix this approximation
+        stats.setSize(stats.getSize() + length);
+    }
+
     public void print(ResultReader resultReader) throws HyracksDataException {
         printPrefix();
         try {
             final IFrameTupleAccessor fta = resultReader.getFrameTupleAccessor();
             final IFrame frame = new VSizeFrame(resultDisplayFrameMgr);
+            // records are printed as strings when HTML is escaped after formatting them, or when they are indented
+            // other than as unquoted JSON, which is the only indentation done on the bytes
+            final boolean printBytes =
+                    !conf.is(SessionConfig.FORMAT_HTML) && (!indentJSON || (isJSON() && !quoteRecord));
+            final OutputStream os = printBytes ? output.outputStream() : null;
+            if (os != null) {
+                output.out().flush();
+            }
 
             while (resultReader.read(frame) > 0) {
                 final ByteBuffer frameBuffer = frame.getBuffer();
@@ -214,15 +260,25 @@ public class ResultPrinter {
                             && ((length > 0) && (frameBytes[start + length - 1] == '\n'))) {
                         length--;
                     }
-                    String result = new String(frameBytes, start, length, UTF_8);
-                    if (wrapArray && notFirst) {
-                        output.out().print(", ");
+                    if (os != null) {
+                        if (wrapArray && notFirst) {
+                            os.write(RECORD_SEPARATOR);
+                        }
+                        notFirst = true;
+                        displayRecord(frameBytes, start, length, os);
+                    } else {
+                        String result = new String(frameBytes, start, length, UTF_8);
+                        if (wrapArray && notFirst) {
+                            output.out().print(", ");
+                        }
+                        notFirst = true;
+                        displayRecord(result);
                     }
-                    notFirst = true;
-                    displayRecord(result);
                 }
                 frameBuffer.clear();
             }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
         } finally {
             printPostfix();
         }
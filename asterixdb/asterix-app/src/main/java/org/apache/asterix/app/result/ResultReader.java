@@ -37,7 +37,11 @@ public class ResultReader {
     public static final int NUM_READERS = 1;
 
     public ResultReader(IResultSet resultSet, JobId jobId, ResultSetId resultSetId) throws HyracksDataException {
-        reader = resultSet.createReader(jobId, resultSetId);
+        this(resultSet.createReader(jobId, resultSetId));
+    }
+
+    public ResultReader(IResultSetReader reader) {
+        this.reader = reader;
         frameTupleAccessor = new ResultFrameTupleAccessor();
     }
 
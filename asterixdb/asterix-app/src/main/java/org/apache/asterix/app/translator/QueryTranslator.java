@@ -18,8 +18,11 @@
  */
 package org.apache.asterix.app.translator;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
@@ -37,6 +40,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.asterix.active.ActivityState;
 import org.apache.asterix.active.EntityId;
@@ -50,9 +54,13 @@ import org.apache.asterix.api.http.server.ResultUtil;
 import org.apache.asterix.app.active.ActiveEntityEventsListener;
 import org.apache.asterix.app.active.ActiveNotificationHandler;
 import org.apache.asterix.app.active.FeedEventsListener;
+import org.apache.asterix.app.result.CachedResultSetReader;
+import org.apache.asterix.app.result.CachingResultSetReader;
 import org.apache.asterix.app.result.ResultHandle;
 import org.apache.asterix.app.result.ResultReader;
 import org.apache.asterix.common.api.IMetadataLockManager;
+import org.apache.asterix.common.api.IPreparedStatementCache;
+import org.apache.asterix.common.api.IQueryResultCache;
 import org.apache.asterix.common.cluster.IClusterStateManager;
 import org.apache.asterix.common.config.DatasetConfig.DatasetType;
 import org.apache.asterix.common.config.DatasetConfig.ExternalFilePendingOp;
@@ -66,6 +74,7 @@ import org.apache.asterix.common.exceptions.CompilationException;
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.MetadataException;
 import org.apache.asterix.common.functions.FunctionSignature;
+import org.apache.asterix.common.messaging.api.ICCMessageBroker;
 import org.apache.asterix.common.utils.JobUtils;
 import org.apache.asterix.common.utils.JobUtils.ProgressState;
 import org.apache.asterix.compiler.provider.ILangCompilationProvider;
@@ -73,6 +82,7 @@ import org.apache.asterix.external.indexing.ExternalFile;
 import org.apache.asterix.external.indexing.IndexingConstants;
 import org.apache.asterix.external.operators.FeedIntakeOperatorNodePushable;
 import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.formats.nontagged.SerializerDeserializerProvider;
 import org.apache.asterix.formats.nontagged.TypeTraitProvider;
 import org.apache.asterix.lang.common.base.IReturningStatement;
 import org.apache.asterix.lang.common.base.IRewriterFactory;
@@ -146,8 +156,11 @@ import org.apache.asterix.metadata.utils.MetadataUtil;
 import org.apache.asterix.om.base.IAObject;
 import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.BuiltinType;
 import org.apache.asterix.om.types.IAType;
 import org.apache.asterix.om.types.TypeSignature;
+import org.apache.asterix.runtime.job.listener.JobEventListenerFactory;
+import org.apache.asterix.runtime.message.DatasetComponentIdsRequestMessage;
 import org.apache.asterix.transaction.management.service.transaction.DatasetIdFactory;
 import org.apache.asterix.translator.AbstractLangTranslator;
 import org.apache.asterix.translator.ClientJobRequest;
@@ -183,16 +196,19 @@ import org.apache.hyracks.algebricks.runtime.serializer.ResultSerializerFactoryP
 import org.apache.hyracks.algebricks.runtime.writers.PrinterBasedWriterFactory;
 import org.apache.hyracks.api.client.IClusterInfoCollector;
 import org.apache.hyracks.api.client.IHyracksClientConnection;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
 import org.apache.hyracks.api.dataflow.value.ITypeTraits;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.SourceLocation;
 import org.apache.hyracks.api.io.FileSplit;
 import org.apache.hyracks.api.io.UnmanagedFileSplit;
+import org.apache.hyracks.api.job.DeployedJobSpecId;
 import org.apache.hyracks.api.job.JobFlag;
 import org.apache.hyracks.api.job.JobId;
 import org.apache.hyracks.api.job.JobSpecification;
 import org.apache.hyracks.api.job.JobStatus;
 import org.apache.hyracks.api.result.IResultSet;
+import org.apache.hyracks.api.result.IResultSetReader;
 import org.apache.hyracks.api.result.ResultSetId;
 import org.apache.hyracks.control.cc.ClusterControllerService;
 import org.apache.hyracks.control.cc.job.IJobManager;
@@ -201,7 +217,10 @@ import org.apache.hyracks.control.common.controllers.CCConfig;
 import org.apache.hyracks.control.common.job.profiling.om.JobProfile;
 import org.apache.hyracks.control.common.job.profiling.om.JobletProfile;
 import org.apache.hyracks.control.common.job.profiling.om.TaskProfile;
+import org.apache.hyracks.storage.am.common.dataflow.IndexDropOperatorDescriptor.DropOption;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicyFactory;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+import org.apache.hyracks.util.string.UTF8StringWriter;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -213,6 +232,7 @@ import org.apache.logging.log4j.Logger;
 public class QueryTranslator extends AbstractLangTranslator implements IStatementExecutor {
 
     private static final Logger LOGGER = LogManager.getLogger();
+    private static final long RESULT_CACHE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
 
     public static final boolean IS_DEBUG_MODE = false;// true
     protected final List<Statement> statements;
@@ -286,8 +306,11 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         final ResultMetadata outMetadata = requestParameters.getOutMetadata();
         final String clientContextId = requestParameters.getClientContextId();
         final Map<String, IAObject> stmtParams = requestParameters.getStatementParameters();
+        final IPreparedStatementCache preparedStatementCache = appCtx.getPreparedStatementCache();
+        boolean metadataChange = false;
         try {
-            for (Statement stmt : statements) {
+            for (int stmtIndex = 0; stmtIndex < statements.size(); stmtIndex++) {
+                Statement stmt = statements.get(stmtIndex);
                 if (sessionConfig.is(SessionConfig.FORMAT_HTML)) {
                     sessionOutput.out().println(ApiServlet.HTML_STATEMENT_SEPARATOR);
                 }
@@ -299,6 +322,11 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                 metadataProvider.setWriterFactory(writerFactory);
                 metadataProvider.setResultSerializerFactoryProvider(resultSerializerFactoryProvider);
                 metadataProvider.setOutputFile(outputFile);
+                // the jobs of prepared queries may depend on anything that DDL statements change
+                metadataChange = (stmt.getCategory() & (Statement.Category.DDL | Statement.Category.PROCEDURE)) != 0;
+                if (metadataChange) {
+                    preparedStatementCache.beginMetadataChange();
+                }
                 switch (stmt.getKind()) {
                     case SET:
                         handleSetStatement(stmt, config);
@@ -313,7 +341,17 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                         handleCreateDatasetStatement(metadataProvider, stmt, hcc, requestParameters);
                         break;
                     case CREATE_INDEX:
-                        handleCreateIndexStatement(metadataProvider, stmt, hcc, requestParameters);
+                        List<CreateIndexStatement> indexBatch = getCreateIndexBatch(stmtIndex);
+                        if (indexBatch.size() > 1) {
+                            for (int i = 1; i < indexBatch.size(); i++) {
+                                validateOperation(appCtx, activeDataverse, indexBatch.get(i));
+                                rewriteStatement(indexBatch.get(i), stmtRewriter);
+                            }
+                            handleCreateIndexStatements(metadataProvider, indexBatch, hcc, requestParameters);
+                            stmtIndex += indexBatch.size() - 1;
+                        } else {
+                            handleCreateIndexStatement(metadataProvider, stmt, hcc, requestParameters);
+                        }
                         break;
                     case TYPE_DECL:
                         handleCreateTypeStatement(metadataProvider, stmt);
@@ -389,7 +427,9 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                                 resultDelivery == ResultDelivery.ASYNC || resultDelivery == ResultDelivery.DEFERRED);
                         metadataProvider.setMaxResultReads(maxResultReads);
                         handleQuery(metadataProvider, (Query) stmt, hcc, resultSet, resultDelivery, outMetadata, stats,
-                                clientContextId, ctx, stmtParams, stmtRewriter);
+                                clientContextId, ctx, stmtParams, stmtRewriter,
+                                requestParameters.getResultProperties().isResultCache(),
+                                requestParameters.getResultProperties().isPrepared());
                         break;
                     case COMPACT:
                         handleCompactStatement(metadataProvider, stmt, hcc);
@@ -413,8 +453,15 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                         throw new CompilationException(ErrorCode.COMPILATION_ILLEGAL_STATE, stmt.getSourceLocation(),
                                 "Unexpected statement: " + stmt.getKind());
                 }
+                if (metadataChange) {
+                    metadataChange = false;
+                    preparedStatementCache.endMetadataChange();
+                }
             }
         } finally {
+            if (metadataChange) {
+                preparedStatementCache.endMetadataChange();
+            }
             Thread.currentThread().setName(threadName);
         }
     }
@@ -774,158 +821,267 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         SourceLocation sourceLoc = stmtCreateIndex.getSourceLocation();
         String dataverseName = getActiveDataverse(stmtCreateIndex.getDataverseName());
         String datasetName = stmtCreateIndex.getDatasetName().getValue();
-        String indexName = stmtCreateIndex.getIndexName().getValue();
-        List<Integer> keySourceIndicators = stmtCreateIndex.getFieldSourceIndicators();
         MetadataTransactionContext mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
         metadataProvider.setMetadataTxnContext(mdTxnCtx);
         String datasetFullyQualifiedName = dataverseName + "." + datasetName;
-        Dataset ds = null;
-        Index index = null;
         MetadataLockUtil.createIndexBegin(lockManager, metadataProvider.getLocks(), dataverseName,
                 datasetFullyQualifiedName);
         try {
-            ds = metadataProvider.findDataset(dataverseName, datasetName);
+            Dataset ds = metadataProvider.findDataset(dataverseName, datasetName);
             if (ds == null) {
                 throw new CompilationException(ErrorCode.UNKNOWN_DATASET_IN_DATAVERSE, sourceLoc, datasetName,
                         dataverseName);
             }
+            Index newIndex = createIndexEntity(metadataProvider, ds, stmtCreateIndex);
+            if (newIndex == null) {
+                MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+                return;
+            }
+            doCreateIndex(hcc, metadataProvider, ds, newIndex, jobFlags, sourceLoc);
+        } finally {
+            metadataProvider.getLocks().unlock();
+        }
+    }
 
-            index = MetadataManager.INSTANCE.getIndex(metadataProvider.getMetadataTxnContext(), dataverseName,
-                    datasetName, indexName);
-            if (index != null) {
-                if (stmtCreateIndex.getIfNotExists()) {
-                    MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
-                    return;
-                } else {
-                    throw new CompilationException(ErrorCode.INDEX_EXISTS, sourceLoc, indexName);
+    /**
+     * Creates the indexes of consecutive CREATE INDEX statements on the same dataset, see
+     * {@link #getCreateIndexBatch(int)}. The indexes of an internal dataset are all loaded from a single scan of its
+     * primary index. The statements are validated in order and, as if they ran one by one, the indexes of the
+     * statements preceding an invalid one are still created before its error is reported.
+     */
+    protected void handleCreateIndexStatements(MetadataProvider metadataProvider, List<CreateIndexStatement> stmts,
+            IHyracksClientConnection hcc, IRequestParameters requestParameters) throws Exception {
+        CreateIndexStatement firstStmt = stmts.get(0);
+        SourceLocation sourceLoc = firstStmt.getSourceLocation();
+        String dataverseName = getActiveDataverse(firstStmt.getDataverseName());
+        String datasetName = firstStmt.getDatasetName().getValue();
+        MetadataTransactionContext mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+        metadataProvider.setMetadataTxnContext(mdTxnCtx);
+        String datasetFullyQualifiedName = dataverseName + "." + datasetName;
+        MetadataLockUtil.createIndexBegin(lockManager, metadataProvider.getLocks(), dataverseName,
+                datasetFullyQualifiedName);
+        try {
+            Dataset ds = metadataProvider.findDataset(dataverseName, datasetName);
+            if (ds == null) {
+                throw new CompilationException(ErrorCode.UNKNOWN_DATASET_IN_DATAVERSE, sourceLoc, datasetName,
+                        dataverseName);
+            }
+            List<Index> newIndexes = new ArrayList<>();
+            Exception stmtFailure = null;
+            for (CreateIndexStatement stmtCreateIndex : stmts) {
+                try {
+                    Index newIndex = createIndexEntity(metadataProvider, ds, stmtCreateIndex);
+                    if (newIndex != null) {
+                        newIndexes.add(newIndex);
+                    }
+                } catch (Exception e) {
+                    stmtFailure = e;
+                    break;
                 }
             }
-            // can't create secondary primary index on an external dataset
-            if (ds.getDatasetType() == DatasetType.EXTERNAL && stmtCreateIndex.getFieldExprs().isEmpty()) {
-                throw new AsterixException(ErrorCode.CANNOT_CREATE_SEC_PRIMARY_IDX_ON_EXT_DATASET);
+            if (newIndexes.isEmpty()) {
+                if (stmtFailure != null) {
+                    throw stmtFailure;
+                }
+                MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+                return;
             }
-            Datatype dt = MetadataManager.INSTANCE.getDatatype(metadataProvider.getMetadataTxnContext(),
-                    ds.getItemTypeDataverseName(), ds.getItemTypeName());
-            ARecordType aRecordType = (ARecordType) dt.getDatatype();
-            ARecordType metaRecordType = null;
-            if (ds.hasMetaPart()) {
-                Datatype metaDt = MetadataManager.INSTANCE.getDatatype(metadataProvider.getMetadataTxnContext(),
-                        ds.getMetaItemTypeDataverseName(), ds.getMetaItemTypeName());
-                metaRecordType = (ARecordType) metaDt.getDatatype();
-            }
-
-            List<List<String>> indexFields = new ArrayList<>();
-            List<IAType> indexFieldTypes = new ArrayList<>();
-            int keyIndex = 0;
-            boolean overridesFieldTypes = false;
-
-            // this set is used to detect duplicates in the specified keys in the create
-            // index statement
-            // e.g. CREATE INDEX someIdx on dataset(id,id).
-            // checking only the names is not enough. Need also to check the source
-            // indicators for cases like:
-            // CREATE INDEX someIdx on dataset(meta().id, id)
-            Set<Pair<List<String>, Integer>> indexKeysSet = new HashSet<>();
-
-            for (Pair<List<String>, IndexedTypeExpression> fieldExpr : stmtCreateIndex.getFieldExprs()) {
-                IAType fieldType = null;
-                ARecordType subType =
-                        KeyFieldTypeUtil.chooseSource(keySourceIndicators, keyIndex, aRecordType, metaRecordType);
-                boolean isOpen = subType.isOpen();
-                int i = 0;
-                if (fieldExpr.first.size() > 1 && !isOpen) {
-                    while (i < fieldExpr.first.size() - 1 && !isOpen) {
-                        subType = (ARecordType) subType.getFieldType(fieldExpr.first.get(i));
-                        i++;
-                        isOpen = subType.isOpen();
+            if (newIndexes.size() > 1 && IndexUtil.canShareLoadingScan(ds)) {
+                doCreateIndexes(hcc, metadataProvider, ds, newIndexes, jobFlags, sourceLoc);
+            } else {
+                for (int i = 0; i < newIndexes.size(); i++) {
+                    if (i > 0) {
+                        mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+                        metadataProvider.setMetadataTxnContext(mdTxnCtx);
                     }
+                    doCreateIndex(hcc, metadataProvider, ds, newIndexes.get(i), jobFlags, sourceLoc);
                 }
-                if (fieldExpr.second == null) {
-                    fieldType = subType.getSubFieldType(fieldExpr.first.subList(i, fieldExpr.first.size()));
-                } else {
-                    if (!stmtCreateIndex.isEnforced() && stmtCreateIndex.getIndexType() != IndexType.BTREE) {
-                        throw new AsterixException(ErrorCode.INDEX_ILLEGAL_NON_ENFORCED_TYPED, sourceLoc,
-                                stmtCreateIndex.getIndexType());
-                    }
-                    if (stmtCreateIndex.isEnforced() && !fieldExpr.second.isUnknownable()) {
-                        throw new AsterixException(ErrorCode.INDEX_ILLEGAL_ENFORCED_NON_OPTIONAL, sourceLoc,
-                                String.valueOf(fieldExpr.first));
-                    }
-                    // don't allow creating an enforced index on a closed-type field, fields that
-                    // are part of schema.
-                    // get the field type, if it's not null, then the field is closed-type
-                    if (stmtCreateIndex.isEnforced()
-                            && subType.getSubFieldType(fieldExpr.first.subList(i, fieldExpr.first.size())) != null) {
-                        throw new AsterixException(ErrorCode.INDEX_ILLEGAL_ENFORCED_ON_CLOSED_FIELD, sourceLoc,
-                                String.valueOf(fieldExpr.first));
-                    }
-                    if (!isOpen) {
-                        throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc, "Typed index on \""
-                                + fieldExpr.first + "\" field could be created only for open datatype");
-                    }
-                    if (stmtCreateIndex.hasMetaField()) {
-                        throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
-                                "Typed open index can only be created on the record part");
-                    }
-                    Map<TypeSignature, IAType> typeMap =
-                            TypeTranslator.computeTypes(mdTxnCtx, fieldExpr.second.getType(), indexName, dataverseName);
-                    TypeSignature typeSignature = new TypeSignature(dataverseName, indexName);
-                    fieldType = typeMap.get(typeSignature);
-                    overridesFieldTypes = true;
-                }
-                if (fieldType == null) {
-                    throw new CompilationException(ErrorCode.UNKNOWN_TYPE, sourceLoc, fieldExpr.second == null
-                            ? String.valueOf(fieldExpr.first) : String.valueOf(fieldExpr.second));
-                }
-
-                // try to add the key & its source to the set of keys, if key couldn't be added,
-                // there is a duplicate
-                if (!indexKeysSet
-                        .add(new Pair<>(fieldExpr.first, stmtCreateIndex.getFieldSourceIndicators().get(keyIndex)))) {
-                    throw new AsterixException(ErrorCode.INDEX_ILLEGAL_REPETITIVE_FIELD, sourceLoc,
+            }
+            if (stmtFailure != null) {
+                throw stmtFailure;
+            }
+        } finally {
+            metadataProvider.getLocks().unlock();
+        }
+    }
+
+    /**
+     * Returns the CREATE INDEX statement at the given position together with the CREATE INDEX statements that
+     * directly follow it and can be created in the same batch: they are on the same dataset, have distinct names and
+     * none of them is enforced.
+     */
+    protected List<CreateIndexStatement> getCreateIndexBatch(int start) {
+        CreateIndexStatement firstStmt = (CreateIndexStatement) statements.get(start);
+        List<CreateIndexStatement> batch = new ArrayList<>();
+        batch.add(firstStmt);
+        if (firstStmt.isEnforced()) {
+            return batch;
+        }
+        String dataverseName = getActiveDataverse(firstStmt.getDataverseName());
+        String datasetName = firstStmt.getDatasetName().getValue();
+        Set<String> indexNames = new HashSet<>();
+        indexNames.add(firstStmt.getIndexName().getValue());
+        for (int i = start + 1; i < statements.size(); i++) {
+            Statement stmt = statements.get(i);
+            if (stmt.getKind() != Statement.Kind.CREATE_INDEX) {
+                break;
+            }
+            CreateIndexStatement stmtCreateIndex = (CreateIndexStatement) stmt;
+            if (stmtCreateIndex.isEnforced()
+                    || !dataverseName.equals(getActiveDataverse(stmtCreateIndex.getDataverseName()))
+                    || !datasetName.equals(stmtCreateIndex.getDatasetName().getValue())
+                    || !indexNames.add(stmtCreateIndex.getIndexName().getValue())) {
+                break;
+            }
+            batch.add(stmtCreateIndex);
+        }
+        return batch;
+    }
+
+    /**
+     * Validates a CREATE INDEX statement against its dataset and builds the new index.
+     *
+     * @return the index to create or {@code null} if it exists and the statement has IF NOT EXISTS
+     */
+    protected Index createIndexEntity(MetadataProvider metadataProvider, Dataset ds,
+            CreateIndexStatement stmtCreateIndex) throws Exception {
+        SourceLocation sourceLoc = stmtCreateIndex.getSourceLocation();
+        String dataverseName = ds.getDataverseName();
+        String datasetName = ds.getDatasetName();
+        String indexName = stmtCreateIndex.getIndexName().getValue();
+        List<Integer> keySourceIndicators = stmtCreateIndex.getFieldSourceIndicators();
+        MetadataTransactionContext mdTxnCtx = metadataProvider.getMetadataTxnContext();
+        Index index = MetadataManager.INSTANCE.getIndex(metadataProvider.getMetadataTxnContext(), dataverseName,
+                datasetName, indexName);
+        if (index != null) {
+            if (stmtCreateIndex.getIfNotExists()) {
+                return null;
+            } else {
+                throw new CompilationException(ErrorCode.INDEX_EXISTS, sourceLoc, indexName);
+            }
+        }
+        // can't create secondary primary index on an external dataset
+        if (ds.getDatasetType() == DatasetType.EXTERNAL && stmtCreateIndex.getFieldExprs().isEmpty()) {
+            throw new AsterixException(ErrorCode.CANNOT_CREATE_SEC_PRIMARY_IDX_ON_EXT_DATASET);
+        }
+        Datatype dt = MetadataManager.INSTANCE.getDatatype(metadataProvider.getMetadataTxnContext(),
+                ds.getItemTypeDataverseName(), ds.getItemTypeName());
+        ARecordType aRecordType = (ARecordType) dt.getDatatype();
+        ARecordType metaRecordType = null;
+        if (ds.hasMetaPart()) {
+            Datatype metaDt = MetadataManager.INSTANCE.getDatatype(metadataProvider.getMetadataTxnContext(),
+                    ds.getMetaItemTypeDataverseName(), ds.getMetaItemTypeName());
+            metaRecordType = (ARecordType) metaDt.getDatatype();
+        }
+
+        List<List<String>> indexFields = new ArrayList<>();
+        List<IAType> indexFieldTypes = new ArrayList<>();
+        int keyIndex = 0;
+        boolean overridesFieldTypes = false;
+
+        // this set is used to detect duplicates in the specified keys in the create
+        // index statement
+        // e.g. CREATE INDEX someIdx on dataset(id,id).
+        // checking only the names is not enough. Need also to check the source
+        // indicators for cases like:
+        // CREATE INDEX someIdx on dataset(meta().id, id)
+        Set<Pair<List<String>, Integer>> indexKeysSet = new HashSet<>();
+
+        for (Pair<List<String>, IndexedTypeExpression> fieldExpr : stmtCreateIndex.getFieldExprs()) {
+            IAType fieldType = null;
+            ARecordType subType =
+                    KeyFieldTypeUtil.chooseSource(keySourceIndicators, keyIndex, aRecordType, metaRecordType);
+            boolean isOpen = subType.isOpen();
+            int i = 0;
+            if (fieldExpr.first.size() > 1 && !isOpen) {
+                while (i < fieldExpr.first.size() - 1 && !isOpen) {
+                    subType = (ARecordType) subType.getFieldType(fieldExpr.first.get(i));
+                    i++;
+                    isOpen = subType.isOpen();
+                }
+            }
+            if (fieldExpr.second == null) {
+                fieldType = subType.getSubFieldType(fieldExpr.first.subList(i, fieldExpr.first.size()));
+            } else {
+                if (!stmtCreateIndex.isEnforced() && stmtCreateIndex.getIndexType() != IndexType.BTREE) {
+                    throw new AsterixException(ErrorCode.INDEX_ILLEGAL_NON_ENFORCED_TYPED, sourceLoc,
+                            stmtCreateIndex.getIndexType());
+                }
+                if (stmtCreateIndex.isEnforced() && !fieldExpr.second.isUnknownable()) {
+                    throw new AsterixException(ErrorCode.INDEX_ILLEGAL_ENFORCED_NON_OPTIONAL, sourceLoc,
                             String.valueOf(fieldExpr.first));
                 }
+                // don't allow creating an enforced index on a closed-type field, fields that
+                // are part of schema.
+                // get the field type, if it's not null, then the field is closed-type
+                if (stmtCreateIndex.isEnforced()
+                        && subType.getSubFieldType(fieldExpr.first.subList(i, fieldExpr.first.size())) != null) {
+                    throw new AsterixException(ErrorCode.INDEX_ILLEGAL_ENFORCED_ON_CLOSED_FIELD, sourceLoc,
+                            String.valueOf(fieldExpr.first));
+                }
+                if (!isOpen) {
+                    throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc, "Typed index on \""
+                            + fieldExpr.first + "\" field could be created only for open datatype");
+                }
+                if (stmtCreateIndex.hasMetaField()) {
+                    throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
+                            "Typed open index can only be created on the record part");
+                }
+                Map<TypeSignature, IAType> typeMap =
+                        TypeTranslator.computeTypes(mdTxnCtx, fieldExpr.second.getType(), indexName, dataverseName);
+                TypeSignature typeSignature = new TypeSignature(dataverseName, indexName);
+                fieldType = typeMap.get(typeSignature);
+                overridesFieldTypes = true;
+            }
+            if (fieldType == null) {
+                throw new CompilationException(ErrorCode.UNKNOWN_TYPE, sourceLoc, fieldExpr.second == null
+                        ? String.valueOf(fieldExpr.first) : String.valueOf(fieldExpr.second));
+            }
 
-                indexFields.add(fieldExpr.first);
-                indexFieldTypes.add(fieldType);
-                ++keyIndex;
-            }
-
-            validateIndexKeyFields(stmtCreateIndex, keySourceIndicators, aRecordType, metaRecordType, indexFields,
-                    indexFieldTypes);
-            // Checks whether a user is trying to create an inverted secondary index on a
-            // dataset
-            // with a variable-length primary key.
-            // Currently, we do not support this. Therefore, as a temporary solution, we
-            // print an
-            // error message and stop.
-            if (stmtCreateIndex.getIndexType() == IndexType.SINGLE_PARTITION_WORD_INVIX
-                    || stmtCreateIndex.getIndexType() == IndexType.SINGLE_PARTITION_NGRAM_INVIX
-                    || stmtCreateIndex.getIndexType() == IndexType.LENGTH_PARTITIONED_WORD_INVIX
-                    || stmtCreateIndex.getIndexType() == IndexType.LENGTH_PARTITIONED_NGRAM_INVIX) {
-                List<List<String>> partitioningKeys = ds.getPrimaryKeys();
-                for (List<String> partitioningKey : partitioningKeys) {
-                    IAType keyType = aRecordType.getSubFieldType(partitioningKey);
-                    ITypeTraits typeTrait = TypeTraitProvider.INSTANCE.getTypeTrait(keyType);
-
-                    // If it is not a fixed length
-                    if (typeTrait.getFixedLength() < 0) {
-                        throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
-                                "The keyword or ngram index -" + indexName + " cannot be created on the dataset -"
-                                        + datasetName + " due to its variable-length primary key field - "
-                                        + partitioningKey);
-                    }
+            // try to add the key & its source to the set of keys, if key couldn't be added,
+            // there is a duplicate
+            if (!indexKeysSet
+                    .add(new Pair<>(fieldExpr.first, stmtCreateIndex.getFieldSourceIndicators().get(keyIndex)))) {
+                throw new AsterixException(ErrorCode.INDEX_ILLEGAL_REPETITIVE_FIELD, sourceLoc,
+                        String.valueOf(fieldExpr.first));
+            }
+
+            indexFields.add(fieldExpr.first);
+            indexFieldTypes.add(fieldType);
+            ++keyIndex;
+        }
 
+        validateIndexKeyFields(stmtCreateIndex, keySourceIndicators, aRecordType, metaRecordType, indexFields,
+                indexFieldTypes);
+        // Checks whether a user is trying to create an inverted secondary index on a
+        // dataset
+        // with a variable-length primary key.
+        // Currently, we do not support this. Therefore, as a temporary solution, we
+        // print an
+        // error message and stop.
+        if (stmtCreateIndex.getIndexType() == IndexType.SINGLE_PARTITION_WORD_INVIX
+                || stmtCreateIndex.getIndexType() == IndexType.SINGLE_PARTITION_NGRAM_INVIX
+                || stmtCreateIndex.getIndexType() == IndexType.LENGTH_PARTITIONED_WORD_INVIX
+                || stmtCreateIndex.getIndexType() == IndexType.LENGTH_PARTITIONED_NGRAM_INVIX) {
+            List<List<String>> partitioningKeys = ds.getPrimaryKeys();
+            for (List<String> partitioningKey : partitioningKeys) {
+                IAType keyType = aRecordType.getSubFieldType(partitioningKey);
+                ITypeTraits typeTrait = TypeTraitProvider.INSTANCE.getTypeTrait(keyType);
+
+                // If it is not a fixed length
+                if (typeTrait.getFixedLength() < 0) {
+                    throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
+                            "The keyword or ngram index -" + indexName + " cannot be created on the dataset -"
+                                    + datasetName + " due to its variable-length primary key field - "
+                                    + partitioningKey);
                 }
-            }
 
-            Index newIndex = new Index(dataverseName, datasetName, indexName, stmtCreateIndex.getIndexType(),
-                    indexFields, keySourceIndicators, indexFieldTypes, stmtCreateIndex.getGramLength(),
-                    overridesFieldTypes, stmtCreateIndex.isEnforced(), false, MetadataUtil.PENDING_ADD_OP);
-            doCreateIndex(hcc, metadataProvider, ds, newIndex, jobFlags, sourceLoc);
-        } finally {
-            metadataProvider.getLocks().unlock();
+            }
         }
+
+        return new Index(dataverseName, datasetName, indexName, stmtCreateIndex.getIndexType(), indexFields,
+                keySourceIndicators, indexFieldTypes, stmtCreateIndex.getGramLength(), overridesFieldTypes,
+                stmtCreateIndex.isEnforced(), false, MetadataUtil.PENDING_ADD_OP);
     }
 
     protected void doCreateIndex(IHyracksClientConnection hcc, MetadataProvider metadataProvider, Dataset ds,
@@ -1003,20 +1159,7 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
             }
 
             // check whether there exists another enforced index on the same field
-            if (index.isEnforced()) {
-                List<Index> indexes = MetadataManager.INSTANCE.getDatasetIndexes(
-                        metadataProvider.getMetadataTxnContext(), index.getDataverseName(), index.getDatasetName());
-                for (Index existingIndex : indexes) {
-                    if (existingIndex.getKeyFieldNames().equals(index.getKeyFieldNames())
-                            && !existingIndex.getKeyFieldTypes().equals(index.getKeyFieldTypes())
-                            && existingIndex.isEnforced()) {
-                        throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc, "Cannot create index "
-                                + index.getIndexName() + " , enforced index " + existingIndex.getIndexName()
-                                + " on field \"" + StringUtils.join(index.getKeyFieldNames(), ',')
-                                + "\" is already defined with type \"" + existingIndex.getKeyFieldTypes() + "\"");
-                    }
-                }
-            }
+            validateEnforcedIndex(metadataProvider, index, sourceLoc);
             // #. add a new index with PendingAddOp
             MetadataManager.INSTANCE.addIndex(metadataProvider.getMetadataTxnContext(), index);
             // #. prepare to create the index artifact in NC.
@@ -1172,6 +1315,130 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         }
     }
 
+    /**
+     * Creates several secondary indexes of an internal dataset. The indexes are created and flushed like in
+     * {@link #doCreateIndex}, but they are loaded by a single job that scans the primary index once.
+     */
+    protected void doCreateIndexes(IHyracksClientConnection hcc, MetadataProvider metadataProvider, Dataset ds,
+            List<Index> indexes, EnumSet<JobFlag> jobFlags, SourceLocation sourceLoc) throws Exception {
+        ProgressState progress = ProgressState.NO_PROGRESS;
+        boolean bActiveTxn = true;
+        MetadataTransactionContext mdTxnCtx = metadataProvider.getMetadataTxnContext();
+        List<JobSpecification> creationSpecs = new ArrayList<>(indexes.size());
+        JobSpecification spec;
+        try {
+            validateDatasetState(metadataProvider, ds, sourceLoc);
+            for (Index index : indexes) {
+                index.setPendingOp(MetadataUtil.PENDING_ADD_OP);
+                validateEnforcedIndex(metadataProvider, index, sourceLoc);
+                // #. add a new index with PendingAddOp
+                MetadataManager.INSTANCE.addIndex(metadataProvider.getMetadataTxnContext(), index);
+                // #. prepare to create the index artifact in NC.
+                spec = IndexUtil.buildSecondaryIndexCreationJobSpec(ds, index, metadataProvider, sourceLoc);
+                if (spec == null) {
+                    throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
+                            "Failed to create job spec for creating index '" + ds.getDatasetName() + "."
+                                    + index.getIndexName() + "'");
+                }
+                creationSpecs.add(spec);
+            }
+            MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+            bActiveTxn = false;
+            progress = ProgressState.ADDED_PENDINGOP_RECORD_TO_METADATA;
+            // #. create the index artifacts in NC.
+            for (JobSpecification creationSpec : creationSpecs) {
+                runJob(hcc, creationSpec, jobFlags);
+            }
+
+            // #. flush the dataset once for all the new indexes
+            FlushDatasetUtil.flushDataset(hcc, metadataProvider, ds.getDataverseName(), ds.getDatasetName());
+
+            mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+            bActiveTxn = true;
+            metadataProvider.setMetadataTxnContext(mdTxnCtx);
+
+            // #. load data into all the indexes from a single scan of the primary index in NC.
+            spec = IndexUtil.buildSecondaryIndexesLoadingJobSpec(ds, indexes, metadataProvider, sourceLoc);
+            MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+            bActiveTxn = false;
+
+            runJob(hcc, spec, jobFlags);
+
+            // #. begin new metadataTxn
+            mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+            bActiveTxn = true;
+            metadataProvider.setMetadataTxnContext(mdTxnCtx);
+
+            // #. add the indexes again with PendingNoOp after deleting them with PendingAddOp
+            for (Index index : indexes) {
+                MetadataManager.INSTANCE.dropIndex(metadataProvider.getMetadataTxnContext(),
+                        index.getDataverseName(), index.getDatasetName(), index.getIndexName());
+                index.setPendingOp(MetadataUtil.PENDING_NO_OP);
+                MetadataManager.INSTANCE.addIndex(metadataProvider.getMetadataTxnContext(), index);
+            }
+            MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+        } catch (Exception e) {
+            if (bActiveTxn) {
+                abort(e, e, mdTxnCtx);
+            }
+            if (progress == ProgressState.ADDED_PENDINGOP_RECORD_TO_METADATA) {
+                // #. execute compensation operations for every index
+                for (Index index : indexes) {
+                    // remove the index in NC
+                    mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+                    bActiveTxn = true;
+                    metadataProvider.setMetadataTxnContext(mdTxnCtx);
+                    try {
+                        JobSpecification jobSpec = IndexUtil.buildDropIndexJobSpec(index, metadataProvider, ds,
+                                EnumSet.of(DropOption.IF_EXISTS), sourceLoc);
+                        MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+                        bActiveTxn = false;
+                        runJob(hcc, jobSpec, jobFlags);
+                    } catch (Exception e2) {
+                        e.addSuppressed(e2);
+                        if (bActiveTxn) {
+                            abort(e, e2, mdTxnCtx);
+                        }
+                    }
+                    // remove the record from the metadata.
+                    mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+                    metadataProvider.setMetadataTxnContext(mdTxnCtx);
+                    try {
+                        MetadataManager.INSTANCE.dropIndex(metadataProvider.getMetadataTxnContext(),
+                                index.getDataverseName(), index.getDatasetName(), index.getIndexName());
+                        MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+                    } catch (Exception e2) {
+                        e.addSuppressed(e2);
+                        abort(e, e2, mdTxnCtx);
+                        throw new IllegalStateException("System is in inconsistent state: pending index("
+                                + index.getDataverseName() + "." + index.getDatasetName() + "."
+                                + index.getIndexName() + ") couldn't be removed from the metadata", e);
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    protected void validateEnforcedIndex(MetadataProvider metadataProvider, Index index, SourceLocation sourceLoc)
+            throws AlgebricksException {
+        if (!index.isEnforced()) {
+            return;
+        }
+        List<Index> indexes = MetadataManager.INSTANCE.getDatasetIndexes(metadataProvider.getMetadataTxnContext(),
+                index.getDataverseName(), index.getDatasetName());
+        for (Index existingIndex : indexes) {
+            if (existingIndex.getKeyFieldNames().equals(index.getKeyFieldNames())
+                    && !existingIndex.getKeyFieldTypes().equals(index.getKeyFieldTypes())
+                    && existingIndex.isEnforced()) {
+                throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc, "Cannot create index "
+                        + index.getIndexName() + " , enforced index " + existingIndex.getIndexName() + " on field \""
+                        + StringUtils.join(index.getKeyFieldNames(), ',') + "\" is already defined with type \""
+                        + existingIndex.getKeyFieldTypes() + "\"");
+            }
+        }
+    }
+
     protected void validateIndexKeyFields(CreateIndexStatement stmtCreateIndex, List<Integer> keySourceIndicators,
             ARecordType aRecordType, ARecordType metaRecordType, List<List<String>> indexFields,
             List<IAType> indexFieldTypes) throws AlgebricksException {
@@ -2445,7 +2712,13 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
     protected void handleQuery(MetadataProvider metadataProvider, Query query, IHyracksClientConnection hcc,
             IResultSet resultSet, ResultDelivery resultDelivery, ResultMetadata outMetadata, Stats stats,
             String clientContextId, IStatementExecutorContext ctx, Map<String, IAObject> stmtParams,
-            IStatementRewriter stmtRewriter) throws Exception {
+            IStatementRewriter stmtRewriter, boolean resultCache, boolean prepared) throws Exception {
+        final boolean useResultCache = resultCache && resultDelivery == ResultDelivery.IMMEDIATE
+                && appCtx.getQueryResultCache().getMaxResultSize() > 0;
+        final boolean usePreparedStatement = prepared && !useResultCache && resultDelivery == ResultDelivery.IMMEDIATE
+                && appCtx.getPreparedStatementCache().isEnabled() && !query.isExplain()
+                && sessionConfig.isExecuteQuery() && sessionConfig.isGenerateJobSpec() && !isPlanOutputRequested();
+        apiFramework.setResultCacheKeyRequired(useResultCache);
         final IMetadataLocker locker = new IMetadataLocker() {
             @Override
             public void lock() {
@@ -2477,8 +2750,247 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                 throw e;
             }
         };
-        deliverResult(hcc, resultSet, compiler, metadataProvider, locker, resultDelivery, outMetadata, stats,
-                clientContextId, ctx);
+        if (usePreparedStatement) {
+            deliverPreparedResult(hcc, resultSet, query, metadataProvider, locker, stats, clientContextId, ctx,
+                    stmtParams, stmtRewriter);
+        } else if (useResultCache) {
+            deliverCachedResult(hcc, resultSet, compiler, metadataProvider, locker, stats, clientContextId, ctx);
+        } else {
+            deliverResult(hcc, resultSet, compiler, metadataProvider, locker, resultDelivery, outMetadata, stats,
+                    clientContextId, ctx);
+        }
+    }
+
+    /**
+     * Delivers the result of a query immediately, from the query result cache if the components of the indexes that
+     * the query reads did not change since its result was cached. Otherwise the query is run and its result is cached
+     * if the components did not change while it ran.
+     */
+    private void deliverCachedResult(IHyracksClientConnection hcc, IResultSet resultSet, IStatementCompiler compiler,
+            MetadataProvider metadataProvider, IMetadataLocker locker, Stats stats, String clientContextId,
+            IStatementExecutorContext ctx) throws Exception {
+        final ResultSetId resultSetId = metadataProvider.getResultSetId();
+        final IQueryResultCache resultCache = appCtx.getQueryResultCache();
+        final MutableObject<Map<String, List<Long>>> componentIds = new MutableObject<>();
+        final IStatementCompiler cachingCompiler = () -> {
+            final JobSpecification jobSpec = compiler.compile();
+            if (jobSpec == null) {
+                return null;
+            }
+            componentIds.setValue(getResultCacheComponentIds());
+            final List<byte[]> frames = componentIds.getValue() == null ? null
+                    : resultCache.get(apiFramework.getResultCacheKey(), componentIds.getValue());
+            if (frames == null) {
+                return jobSpec;
+            }
+            sessionOutput.release();
+            try {
+                ResultUtil.printResults(appCtx, new ResultReader(new CachedResultSetReader(frames)), sessionOutput,
+                        stats, metadataProvider.findOutputRecordType());
+            } catch (HyracksDataException e) {
+                throw new AlgebricksException(e);
+            }
+            return null;
+        };
+        createAndRunJob(hcc, jobFlags, null, cachingCompiler, locker, ResultDelivery.IMMEDIATE, id -> {
+            IResultSetReader reader = resultSet.createReader(id, resultSetId);
+            CachingResultSetReader cachingReader = null;
+            if (componentIds.getValue() != null && componentIds.getValue().equals(getResultCacheComponentIds())) {
+                reader = cachingReader = new CachingResultSetReader(reader, resultCache.getMaxResultSize());
+            }
+            final ResultReader resultReader = new ResultReader(reader);
+            updateJobStats(id, stats);
+            // stop buffering and allow for streaming result delivery
+            sessionOutput.release();
+            ResultUtil.printResults(appCtx, resultReader, sessionOutput, stats,
+                    metadataProvider.findOutputRecordType());
+            if (cachingReader != null && cachingReader.getFrames() != null) {
+                resultCache.put(apiFramework.getResultCacheKey(), componentIds.getValue(), cachingReader.getFrames());
+            }
+        }, clientContextId, ctx);
+    }
+
+    /**
+     * @return the ids of the disk components of the indexes that the last compiled query reads, null if its result
+     *         cannot be cached
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Long>> getResultCacheComponentIds() {
+        if (apiFramework.getResultCacheKey() == null) {
+            return null;
+        }
+        final Map<String, Set<Integer>> datasetIds = apiFramework.getResultCacheDatasetIds();
+        if (datasetIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ICCMessageBroker messageBroker = (ICCMessageBroker) appCtx.getServiceContext().getMessageBroker();
+        long reqId = messageBroker.newRequestId();
+        List<String> ncs = new ArrayList<>(datasetIds.keySet());
+        List<DatasetComponentIdsRequestMessage> requests = new ArrayList<>();
+        for (String nc : ncs) {
+            requests.add(new DatasetComponentIdsRequestMessage(reqId, datasetIds.get(nc)));
+        }
+        try {
+            return (Map<String, List<Long>>) messageBroker.sendSyncRequestToNCs(reqId, ncs, requests,
+                    RESULT_CACHE_TIMEOUT_MILLIS);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARN, "Failed to fetch the component ids of the datasets read by the query", e);
+            return null;
+        }
+    }
+
+    private boolean isPlanOutputRequested() {
+        return sessionConfig.is(SessionConfig.OOB_EXPR_TREE) || sessionConfig.is(SessionConfig.OOB_REWRITTEN_EXPR_TREE)
+                || sessionConfig.is(SessionConfig.OOB_LOGICAL_PLAN)
+                || sessionConfig.is(SessionConfig.OOB_OPTIMIZED_LOGICAL_PLAN)
+                || sessionConfig.is(SessionConfig.OOB_HYRACKS_JOB)
+                || sessionConfig.is(SessionConfig.FORMAT_ONLY_PHYSICAL_OPS);
+    }
+
+    /**
+     * Delivers the result of a query immediately by running the deployed job that was kept for the same statement,
+     * with the statement parameters bound as job parameters. If no job was kept or the metadata changed since, the
+     * query is compiled with its parameters left unbound and the job is deployed and kept.
+     */
+    private void deliverPreparedResult(IHyracksClientConnection hcc, IResultSet resultSet, Query query,
+            MetadataProvider metadataProvider, IMetadataLocker locker, Stats stats, String clientContextId,
+            IStatementExecutorContext ctx, Map<String, IAObject> stmtParams, IStatementRewriter stmtRewriter)
+            throws Exception {
+        final IPreparedStatementCache preparedStatementCache = appCtx.getPreparedStatementCache();
+        final Map<String, IAObject> params = stmtParams == null ? Collections.emptyMap() : stmtParams;
+        final String key = apiFramework.getPreparedQueryKey(query, metadataProvider, sessionConfig, params.keySet());
+        ClientJobRequest req = null;
+        PreparedQuery prepared = null;
+        boolean acquired = false;
+        locker.lock();
+        try {
+            prepared = (PreparedQuery) preparedStatementCache.acquire(key);
+            acquired = prepared != null;
+            if (acquired) {
+                for (Dataset dataset : prepared.datasets) {
+                    lockManager.acquireDataverseReadLock(metadataProvider.getLocks(), dataset.getDataverseName());
+                    lockManager.acquireDatasetReadLock(metadataProvider.getLocks(), dataset.getFullyQualifiedName());
+                }
+                if (!preparedStatementCache.isCurrent(prepared)) {
+                    // the metadata changed before the datasets were locked
+                    preparedStatementCache.release(prepared);
+                    prepared = null;
+                    acquired = false;
+                }
+            }
+            if (prepared == null) {
+                prepared = prepareQuery(hcc, query, metadataProvider, params, stmtRewriter,
+                        preparedStatementCache.getVersion());
+                acquired = prepared.datasets != null;
+                if (acquired) {
+                    preparedStatementCache.put(key, prepared);
+                }
+            }
+            final JobId jobId = hcc.startJob(prepared.deployedJobSpecId, createJobParameters(params, stmtRewriter));
+            if (ctx != null && clientContextId != null) {
+                req = new ClientJobRequest(ctx, clientContextId, jobId);
+                ctx.put(clientContextId, req); // Adds the running job into the context.
+            }
+            hcc.waitForCompletion(jobId);
+            final ResultReader resultReader = new ResultReader(resultSet, jobId, prepared.resultSetId);
+            updateJobStats(jobId, stats);
+            // stop buffering and allow for streaming result delivery
+            sessionOutput.release();
+            ResultUtil.printResults(appCtx, resultReader, sessionOutput, stats, prepared.outputRecordType);
+        } finally {
+            if (acquired) {
+                preparedStatementCache.release(prepared);
+            } else if (prepared != null) {
+                // the job reads from something that is not locked when it is run again, so it is not kept
+                hcc.undeployJobSpec(prepared.deployedJobSpecId);
+            }
+            locker.unlock();
+            // No matter the job succeeds or fails, removes it into the context.
+            if (req != null) {
+                req.complete();
+            }
+        }
+    }
+
+    private PreparedQuery prepareQuery(IHyracksClientConnection hcc, Query query, MetadataProvider metadataProvider,
+            Map<String, IAObject> stmtParams, IStatementRewriter stmtRewriter, long version) throws Exception {
+        // parameters without values are compiled into reads of job parameters
+        final Map<String, IAObject> unboundParams = new HashMap<>();
+        for (String paramName : stmtParams.keySet()) {
+            unboundParams.put(paramName, null);
+        }
+        MetadataTransactionContext mdTxnCtx = MetadataManager.INSTANCE.beginTransaction();
+        boolean bActiveTxn = true;
+        metadataProvider.setMetadataTxnContext(mdTxnCtx);
+        apiFramework.setPreparedQuery(true);
+        try {
+            final JobSpecification jobSpec =
+                    rewriteCompileQuery(hcc, metadataProvider, query, null, unboundParams, stmtRewriter);
+            afterCompile();
+            final ARecordType outputRecordType = metadataProvider.findOutputRecordType();
+            MetadataManager.INSTANCE.commitTransaction(mdTxnCtx);
+            bActiveTxn = false;
+            jobSpec.setMaxReattempts(0);
+            return new PreparedQuery(hcc.deployJobSpec(jobSpec), version, metadataProvider.getResultSetId(),
+                    outputRecordType, apiFramework.getPreparedQueryDatasets());
+        } catch (Exception e) {
+            LOGGER.log(Level.INFO, e.getMessage(), e);
+            if (bActiveTxn) {
+                abort(e, e, mdTxnCtx);
+            }
+            throw e;
+        } finally {
+            apiFramework.setPreparedQuery(false);
+        }
+    }
+
+    private Map<byte[], byte[]> createJobParameters(Map<String, IAObject> stmtParams, IStatementRewriter stmtRewriter)
+            throws AlgebricksException, IOException {
+        final Map<byte[], byte[]> jobParameters = new HashMap<>();
+        final UTF8StringWriter utf8Writer = new UTF8StringWriter();
+        @SuppressWarnings("unchecked")
+        final ISerializerDeserializer<IAObject> serde =
+                SerializerDeserializerProvider.INSTANCE.getSerializerDeserializer(BuiltinType.ANY);
+        for (Map.Entry<VarIdentifier, IAObject> param : createExternalVariables(stmtParams, stmtRewriter).entrySet()) {
+            // get-job-parameter looks parameters up by their serialized name
+            final ByteArrayOutputStream name = new ByteArrayOutputStream();
+            UTF8StringUtil.writeUTF8(param.getKey().getValue(), new DataOutputStream(name), utf8Writer);
+            final ByteArrayOutputStream value = new ByteArrayOutputStream();
+            serde.serialize(param.getValue(), new DataOutputStream(value));
+            jobParameters.put(name.toByteArray(), value.toByteArray());
+        }
+        // every run of the job gets a transaction of its own
+        jobParameters.put(JobEventListenerFactory.TRANSACTION_ID_PARAMETER_NAME,
+                String.valueOf(appCtx.getTxnIdFactory().create().getId()).getBytes());
+        return jobParameters;
+    }
+
+    private static class PreparedQuery implements IPreparedStatementCache.IPreparedStatement {
+        private final DeployedJobSpecId deployedJobSpecId;
+        private final long version;
+        private final ResultSetId resultSetId;
+        private final ARecordType outputRecordType;
+        // the datasets that are locked when the job is run again, null if the job cannot be kept
+        private final List<Dataset> datasets;
+
+        private PreparedQuery(DeployedJobSpecId deployedJobSpecId, long version, ResultSetId resultSetId,
+                ARecordType outputRecordType, List<Dataset> datasets) {
+            this.deployedJobSpecId = deployedJobSpecId;
+            this.version = version;
+            this.resultSetId = resultSetId;
+            this.outputRecordType = outputRecordType;
+            this.datasets = datasets;
+        }
+
+        @Override
+        public DeployedJobSpecId getDeployedJobSpecId() {
+            return deployedJobSpecId;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
     }
 
     private void deliverResult(IHyracksClientConnection hcc, IResultSet resultSet, IStatementCompiler compiler,
@@ -2522,7 +3034,7 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         }
     }
 
-    private void updateJobStats(JobId jobId, Stats stats) {
+    private void updateJobStats(JobId jobId, Stats stats) throws AlgebricksException {
         final IJobManager jobManager =
                 ((ClusterControllerService) appCtx.getServiceContext().getControllerService()).getJobManager();
         final JobRun run = jobManager.get(jobId);
@@ -2531,14 +3043,22 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         }
         final JobProfile jobProfile = run.getJobProfile();
         final Collection<JobletProfile> jobletProfiles = jobProfile.getJobletProfiles().values();
+        final boolean profiled = apiFramework.isProfilingRequired();
+        final Map<String, Long> counters = new HashMap<>();
         long processedObjects = 0;
         for (JobletProfile jp : jobletProfiles) {
             final Collection<TaskProfile> jobletTasksProfile = jp.getTaskProfiles().values();
             for (TaskProfile tp : jobletTasksProfile) {
                 processedObjects += tp.getStatsCollector().getAggregatedStats().getTupleCounter().get();
+                if (profiled) {
+                    tp.getCounters().forEach((name, value) -> counters.merge(name, value, Long::sum));
+                }
             }
         }
         stats.setProcessedObjects(processedObjects);
+        if (profiled) {
+            apiFramework.setActualCardinalities(counters);
+        }
     }
 
     private void asyncCreateAndRunJob(IHyracksClientConnection hcc, IStatementCompiler compiler, IMetadataLocker locker,
@@ -2583,7 +3103,7 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
         JobUtils.runJob(hcc, jobSpec, jobFlags, true);
     }
 
-    private static void createAndRunJob(IHyracksClientConnection hcc, EnumSet<JobFlag> jobFlags, Mutable<JobId> jId,
+    private void createAndRunJob(IHyracksClientConnection hcc, EnumSet<JobFlag> jobFlags, Mutable<JobId> jId,
             IStatementCompiler compiler, IMetadataLocker locker, ResultDelivery resultDelivery, IResultPrinter printer,
             String clientContextId, IStatementExecutorContext ctx) throws Exception {
         ClientJobRequest req = null;
@@ -2593,7 +3113,13 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
             if (jobSpec == null) {
                 return;
             }
-            final JobId jobId = JobUtils.runJob(hcc, jobSpec, jobFlags, false);
+            EnumSet<JobFlag> runFlags = jobFlags;
+            if (resultDelivery != ResultDelivery.ASYNC && apiFramework.isProfilingRequired()) {
+                // the joins of the optimized logical plan get the numbers of tuples they produced
+                runFlags = EnumSet.copyOf(jobFlags);
+                runFlags.add(JobFlag.PROFILE_RUNTIME);
+            }
+            final JobId jobId = JobUtils.runJob(hcc, jobSpec, runFlags, false);
             if (ctx != null && clientContextId != null) {
                 req = new ClientJobRequest(ctx, clientContextId, jobId);
                 ctx.put(clientContextId, req); // Adds the running job into the context.
@@ -20,6 +20,7 @@ package org.apache.asterix.util;
 
 import org.apache.asterix.app.function.DatasetResourcesRewriter;
 import org.apache.asterix.app.function.DatasetRewriter;
+import org.apache.asterix.app.function.DatasetStatisticsRewriter;
 import org.apache.asterix.app.function.FeedRewriter;
 import org.apache.asterix.app.function.PingRewriter;
 import org.apache.asterix.app.function.StorageComponentsRewriter;
@@ -49,6 +50,12 @@ public class MetadataBuiltinFunctions {
         BuiltinFunctions.addUnnestFun(StorageComponentsRewriter.STORAGE_COMPONENTS, false);
         BuiltinFunctions.addDatasourceFunction(StorageComponentsRewriter.STORAGE_COMPONENTS,
                 StorageComponentsRewriter.INSTANCE);
+        // Dataset statistics function
+        BuiltinFunctions.addPrivateFunction(DatasetStatisticsRewriter.DATASET_STATISTICS,
+                (expression, env, mp) -> RecordUtil.FULLY_OPEN_RECORD_TYPE, true);
+        BuiltinFunctions.addUnnestFun(DatasetStatisticsRewriter.DATASET_STATISTICS, false);
+        BuiltinFunctions.addDatasourceFunction(DatasetStatisticsRewriter.DATASET_STATISTICS,
+                DatasetStatisticsRewriter.INSTANCE);
         // Ping function
         BuiltinFunctions.addPrivateFunction(PingRewriter.PING,
                 (expression, env, mp) -> RecordUtil.FULLY_OPEN_RECORD_TYPE, true);
@@ -329,12 +329,15 @@ public class AsterixHyracksIntegrationUtil {
     }
 
     private void deleteTransactionLogs() throws IOException, AsterixException {
+        final PropertiesAccessor accessor = PropertiesAccessor.getInstance(configManager.getAppConfig());
         for (String ncId : nodeNames) {
-            File log = new File(
-                    PropertiesAccessor.getInstance(configManager.getAppConfig()).getTransactionLogDirs().get(ncId));
+            File log = new File(accessor.getTransactionLogDirs().get(ncId));
             if (log.exists()) {
                 FileUtils.deleteDirectory(log);
             }
+            for (String stripeDir : accessor.getTransactionLogStripeDirs().get(ncId)) {
+                FileUtils.deleteDirectory(new File(stripeDir));
+            }
         }
     }
 
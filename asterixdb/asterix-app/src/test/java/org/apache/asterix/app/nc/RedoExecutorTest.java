@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.nc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RedoExecutorTest {
+
+    private static final int NUM_WORKERS = 4;
+    private static final int NUM_RESOURCES = 16;
+    private static final int LOGS_PER_RESOURCE = 2000;
+
+    @Test
+    public void keepsTheLogOrderOfEachResource() throws Exception {
+        List<List<Integer>> applied = new ArrayList<>();
+        for (int r = 0; r < NUM_RESOURCES; r++) {
+            applied.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        try (RedoExecutor executor = new RedoExecutor(NUM_WORKERS, Executors.defaultThreadFactory())) {
+            Assert.assertEquals(NUM_WORKERS, executor.getWorkerCount());
+            // the logs of the resources are interleaved as in the log file
+            for (int lsn = 0; lsn < LOGS_PER_RESOURCE; lsn++) {
+                for (int r = 0; r < NUM_RESOURCES; r++) {
+                    final List<Integer> resourceLogs = applied.get(r);
+                    final int logLsn = lsn;
+                    executor.submit(r, () -> {
+                        if (logLsn % 100 == 0) {
+                            Thread.yield();
+                        }
+                        resourceLogs.add(logLsn);
+                    });
+                }
+            }
+            executor.sync();
+            Assert.assertEquals((long) NUM_RESOURCES * LOGS_PER_RESOURCE, executor.getCompletedCount());
+        }
+        for (int r = 0; r < NUM_RESOURCES; r++) {
+            List<Integer> resourceLogs = applied.get(r);
+            Assert.assertEquals(LOGS_PER_RESOURCE, resourceLogs.size());
+            for (int i = 0; i < LOGS_PER_RESOURCE; i++) {
+                Assert.assertEquals("resource " + r, i, resourceLogs.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void syncWaitsForAllWorkers() throws Exception {
+        AtomicInteger flushed = new AtomicInteger();
+        AtomicInteger applied = new AtomicInteger();
+        try (RedoExecutor executor = new RedoExecutor(NUM_WORKERS, Executors.defaultThreadFactory())) {
+            for (int r = 0; r < NUM_RESOURCES; r++) {
+                executor.submit(r, applied::incrementAndGet);
+                // a slow flush behind the updates of the resource
+                executor.submit(r, () -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw HyracksDataException.create(e);
+                    }
+                    flushed.incrementAndGet();
+                });
+                executor.submit(r, applied::incrementAndGet);
+            }
+            executor.sync();
+            // what recovery checkpoints after the sync must include all the redo work
+            Assert.assertEquals(NUM_RESOURCES, flushed.get());
+            Assert.assertEquals(2 * NUM_RESOURCES, applied.get());
+            Assert.assertEquals(3L * NUM_RESOURCES, executor.getCompletedCount());
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void workerFailureReachesRecovery() throws Exception {
+        HyracksDataException redoFailure = HyracksDataException.create(new IllegalStateException("Failed to redo"));
+        AtomicBoolean appliedAfterFailure = new AtomicBoolean();
+        RedoExecutor executor = new RedoExecutor(NUM_WORKERS, Executors.defaultThreadFactory());
+        try {
+            executor.submit(1, () -> {
+                throw redoFailure;
+            });
+            executor.submit(1, () -> appliedAfterFailure.set(true));
+            try {
+                executor.sync();
+                Assert.fail("sync did not report the failure of a worker");
+            } catch (HyracksDataException e) {
+                Assert.assertSame(redoFailure, e);
+            }
+            Assert.assertFalse(appliedAfterFailure.get());
+            try {
+                executor.submit(2, () -> appliedAfterFailure.set(true));
+                Assert.fail("submit did not report the failure of a worker");
+            } catch (HyracksDataException e) {
+                Assert.assertSame(redoFailure, e);
+            }
+            Assert.assertFalse(appliedAfterFailure.get());
+        } finally {
+            // must not hang on the failed worker
+            executor.close();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void failedWorkerDoesNotBlockTheSubmitter() throws Exception {
+        AtomicBoolean failed = new AtomicBoolean();
+        try (RedoExecutor executor = new RedoExecutor(NUM_WORKERS, Executors.defaultThreadFactory())) {
+            executor.submit(0, () -> {
+                failed.set(true);
+                throw HyracksDataException.create(new IllegalStateException("Failed to redo"));
+            });
+            // keep submitting to the failed worker, far beyond the capacity of its queue, until the failure shows up
+            try {
+                while (true) {
+                    executor.submit(0, () -> {
+                    });
+                }
+            } catch (HyracksDataException e) {
+                Assert.assertTrue(failed.get());
+            }
+        }
+    }
+
+    @Test
+    public void singleWorkerRedoesInline() throws Exception {
+        Thread submitter = Thread.currentThread();
+        List<Thread> redoThreads = new ArrayList<>();
+        try (RedoExecutor executor = new RedoExecutor(1, Executors.defaultThreadFactory())) {
+            Assert.assertEquals(1, executor.getWorkerCount());
+            for (int r = 0; r < NUM_RESOURCES; r++) {
+                executor.submit(r, () -> redoThreads.add(Thread.currentThread()));
+                Assert.assertEquals(r + 1L, executor.getCompletedCount());
+            }
+            executor.sync();
+        }
+        Assert.assertEquals(NUM_RESOURCES, redoThreads.size());
+        for (Thread thread : redoThreads) {
+            Assert.assertSame(submitter, thread);
+        }
+    }
+
+    @Test
+    public void singleWorkerFailureReachesRecovery() throws Exception {
+        HyracksDataException redoFailure = HyracksDataException.create(new IllegalStateException("Failed to redo"));
+        try (RedoExecutor executor = new RedoExecutor(1, Executors.defaultThreadFactory())) {
+            try {
+                executor.submit(1, () -> {
+                    throw redoFailure;
+                });
+                Assert.fail("submit did not report the failure of the redo");
+            } catch (HyracksDataException e) {
+                Assert.assertSame(redoFailure, e);
+            }
+            Assert.assertEquals(0L, executor.getCompletedCount());
+        }
+    }
+}
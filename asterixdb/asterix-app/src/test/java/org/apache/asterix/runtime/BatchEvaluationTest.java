@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.asterix.formats.nontagged.SerializerDeserializerProvider;
+import org.apache.asterix.om.base.ADouble;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.functions.IFunctionDescriptor;
+import org.apache.asterix.om.functions.IFunctionDescriptorFactory;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.evaluators.base.AbstractScalarFunctionDynamicDescriptor;
+import org.apache.asterix.runtime.functions.FunctionCollection;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators;
+import org.apache.hyracks.algebricks.runtime.evaluators.ConstantEvalFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.exceptions.ErrorCode;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that functions with a batch evaluator produce the same results as their tuple-at-a-time evaluator.
+ */
+public class BatchEvaluationTest {
+
+    private static final int NUM_TUPLES = 5;
+
+    @Test
+    public void test() throws Exception {
+        List<byte[]> values = new ArrayList<>();
+        values.add(new byte[] { ATypeTag.SERIALIZED_MISSING_TYPE_TAG });
+        values.add(new byte[] { ATypeTag.SERIALIZED_NULL_TYPE_TAG });
+        values.add(serialize(new AInt64(1L), BuiltinType.AINT64));
+        values.add(serialize(new AInt64(2L), BuiltinType.AINT64));
+        values.add(serialize(new ADouble(1.5), BuiltinType.ADOUBLE));
+        values.add(serialize(new AString("a"), BuiltinType.ASTRING));
+
+        List<IFunctionDescriptorFactory> functions =
+                FunctionCollection.createDefaultFunctionCollection().getFunctionDescriptorFactories();
+        int testedFunctions = 0;
+        for (IFunctionDescriptorFactory func : functions) {
+            String className = func.getClass().getName();
+            // record and cast functions require type settings, see NullMissingTest
+            if (!className.contains("Gen") || className.contains("record") || className.contains("Cast")) {
+                continue;
+            }
+            IFunctionDescriptor functionDescriptor = func.createFunctionDescriptor();
+            if (!(functionDescriptor instanceof AbstractScalarFunctionDynamicDescriptor)
+                    || functionDescriptor.getIdentifier().getArity() != 2) {
+                continue;
+            }
+            AbstractScalarFunctionDynamicDescriptor funcDesc =
+                    (AbstractScalarFunctionDynamicDescriptor) functionDescriptor;
+            IScalarEvaluatorFactory probe = funcDesc.createEvaluatorFactory(new IScalarEvaluatorFactory[] {
+                    new ConstantEvalFactory(values.get(2)), new ConstantEvalFactory(values.get(2)) });
+            if (!BatchScalarEvaluators.isBatchable(probe)) {
+                continue;
+            }
+            for (byte[] left : values) {
+                for (byte[] right : values) {
+                    testFunction(funcDesc, left, right);
+                }
+            }
+            ++testedFunctions;
+        }
+        // comparisons and arithmetic functions
+        Assert.assertTrue("expected >= 13 batch functions to be tested, but was " + testedFunctions,
+                testedFunctions >= 13);
+    }
+
+    private void testFunction(AbstractScalarFunctionDynamicDescriptor funcDesc, byte[] left, byte[] right)
+            throws Exception {
+        IScalarEvaluatorFactory evalFactory = funcDesc.createEvaluatorFactory(
+                new IScalarEvaluatorFactory[] { new ConstantEvalFactory(left), new ConstantEvalFactory(right) });
+        IHyracksTaskContext ctx = mock(IHyracksTaskContext.class);
+        IScalarEvaluator evaluator = evalFactory.createScalarEvaluator(ctx);
+        IBatchScalarEvaluator batchEvaluator = BatchScalarEvaluators.create(evalFactory, ctx);
+        IPointable resultPointable = new VoidPointable();
+        byte[] expected;
+        try {
+            evaluator.evaluate(null, resultPointable);
+            expected = Arrays.copyOfRange(resultPointable.getByteArray(), resultPointable.getStartOffset(),
+                    resultPointable.getStartOffset() + resultPointable.getLength());
+        } catch (HyracksDataException e) {
+            expected = null;
+        }
+        ScalarColumn column = new ScalarColumn();
+        try {
+            batchEvaluator.evaluate(null, null, NUM_TUPLES, column);
+        } catch (HyracksDataException e) {
+            Assert.assertNull(funcDesc.getIdentifier() + " failed only in batch mode", expected);
+            // all tuples have the same arguments, so the batch fails on the first one
+            Assert.assertTrue(e.matches(ErrorCode.HYRACKS, ErrorCode.ERROR_PROCESSING_TUPLE));
+            Assert.assertEquals(0, e.getParams()[0]);
+            return;
+        }
+        Assert.assertNotNull(funcDesc.getIdentifier() + " failed only in tuple-at-a-time mode", expected);
+        Assert.assertEquals(NUM_TUPLES, column.size());
+        for (int i = 0; i < NUM_TUPLES; i++) {
+            column.getValue(i, resultPointable);
+            byte[] actual = Arrays.copyOfRange(resultPointable.getByteArray(), resultPointable.getStartOffset(),
+                    resultPointable.getStartOffset() + resultPointable.getLength());
+            Assert.assertArrayEquals(funcDesc.getIdentifier().toString(), expected, actual);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] serialize(IAObject value, IAType type) throws HyracksDataException {
+        ISerializerDeserializer<IAObject> serde =
+                SerializerDeserializerProvider.INSTANCE.getSerializerDeserializer(type);
+        ArrayBackedValueStorage storage = new ArrayBackedValueStorage();
+        serde.serialize(value, storage.getDataOutput());
+        return Arrays.copyOf(storage.getByteArray(), storage.getLength());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.test.txn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.asterix.api.common.AsterixHyracksIntegrationUtil;
+import org.apache.asterix.common.TestDataUtil;
+import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.config.TransactionProperties;
+import org.apache.asterix.transaction.management.service.logging.GroupCommitPolicy;
+import org.apache.asterix.transaction.management.service.logging.LogManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedLogGroupCommitTest {
+
+    private static final String TEST_CONFIG_FILE_NAME = "src/test/resources/cc-striped-txnlog.conf";
+    private static final AsterixHyracksIntegrationUtil integrationUtil = new AsterixHyracksIntegrationUtil();
+    private static final int WRITERS = 4;
+    private static final int ROUNDS = 10;
+
+    @Before
+    public void setUp() throws Exception {
+        integrationUtil.addOption(TransactionProperties.Option.TXN_LOG_GROUPCOMMIT_MAXDELAY, 2000);
+        integrationUtil.init(true, TEST_CONFIG_FILE_NAME);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        integrationUtil.deinit(true);
+    }
+
+    @Test
+    public void concurrentCommitsShareForces() throws Exception {
+        final String datasetName = "ds";
+        TestDataUtil.createIdOnlyDataset(datasetName);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        TestDataUtil.upsertData(datasetName, 100);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(100, TestDataUtil.getDatasetCount(datasetName));
+
+        final INcApplicationContext ncAppCtx = (INcApplicationContext) integrationUtil.ncs[0].getApplicationContext();
+        final LogManager logManager = (LogManager) ncAppCtx.getTransactionSubsystem().getLogManager();
+        Assert.assertTrue(logManager.getLogManagerProperties().isStriped());
+        final GroupCommitPolicy policy = logManager.getGroupCommitPolicy();
+        // the striped flushers only wait once they saw records arrive while they were forcing
+        Assert.assertTrue("striped flushers never waited for a group commit: " + policy, policy.getWaits() > 0);
+        Assert.assertTrue(policy.getForces() > 0);
+        Assert.assertTrue("no force held more than one commit: " + policy,
+                policy.getForcedCommits() > policy.getForces());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.test.txn;
+
+import java.io.File;
+
+import org.apache.asterix.api.common.AsterixHyracksIntegrationUtil;
+import org.apache.asterix.common.TestDataUtil;
+import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.config.TransactionProperties;
+import org.apache.asterix.common.transactions.LogManagerProperties;
+import org.apache.asterix.transaction.management.service.logging.LogManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedLogRecoveryTest {
+
+    private static final String TEST_CONFIG_FILE_NAME = "src/test/resources/cc-striped-txnlog.conf";
+    private static final AsterixHyracksIntegrationUtil integrationUtil = new AsterixHyracksIntegrationUtil();
+
+    @Before
+    public void setUp() throws Exception {
+        // use a small page size for test purpose to spread the log over many pages
+        integrationUtil.addOption(TransactionProperties.Option.TXN_LOG_BUFFER_PAGESIZE, 16 * 1024);
+        integrationUtil.setGracefulShutdown(false);
+        integrationUtil.init(true, TEST_CONFIG_FILE_NAME);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        integrationUtil.deinit(true);
+    }
+
+    @Test
+    public void stripedLogRecovery() throws Exception {
+        final String datasetName = "ds";
+        TestDataUtil.createIdOnlyDataset(datasetName);
+        TestDataUtil.upsertData(datasetName, 100);
+        final long countBeforeFirstRecovery = TestDataUtil.getDatasetCount(datasetName);
+        Assert.assertEquals(100, countBeforeFirstRecovery);
+
+        final INcApplicationContext ncAppCtx = (INcApplicationContext) integrationUtil.ncs[0].getApplicationContext();
+        final LogManager logManager = (LogManager) ncAppCtx.getTransactionSubsystem().getLogManager();
+        final LogManagerProperties logManagerProperties = logManager.getLogManagerProperties();
+        Assert.assertTrue(logManagerProperties.isStriped());
+        final long logFileId = logManager.getLogFileId(logManager.getAppendLSN());
+        int stripesWithData = 0;
+        for (String logDir : logManagerProperties.getLogDirs()) {
+            File stripeFile = new File(logDir, logManagerProperties.getLogFilePrefix() + "_" + logFileId);
+            if (stripeFile.length() > 0) {
+                stripesWithData++;
+            }
+        }
+        Assert.assertTrue("log was written to " + stripesWithData + " stripe(s)", stripesWithData > 1);
+
+        // do ungraceful shutdown to enforce recovery from the striped log
+        integrationUtil.deinit(false);
+        integrationUtil.init(false, TEST_CONFIG_FILE_NAME);
+        Assert.assertEquals(countBeforeFirstRecovery, TestDataUtil.getDatasetCount(datasetName));
+
+        // continue logging after recovery and recover again
+        TestDataUtil.upsertData(datasetName, 200);
+        final long countBeforeSecondRecovery = TestDataUtil.getDatasetCount(datasetName);
+        Assert.assertEquals(200, countBeforeSecondRecovery);
+        integrationUtil.deinit(false);
+        integrationUtil.init(false, TEST_CONFIG_FILE_NAME);
+        Assert.assertEquals(countBeforeSecondRecovery, TestDataUtil.getDatasetCount(datasetName));
+    }
+}
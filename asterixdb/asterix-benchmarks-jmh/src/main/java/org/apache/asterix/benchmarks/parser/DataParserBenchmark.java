@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.benchmarks.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.asterix.external.api.IRecordDataParser;
+import org.apache.asterix.external.input.record.ByteArrayRecord;
+import org.apache.asterix.external.input.record.CharArrayRecord;
+import org.apache.asterix.external.parser.ADMDataParser;
+import org.apache.asterix.external.parser.JSONDataParser;
+import org.apache.asterix.om.pointables.base.DefaultOpenFieldType;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Measures record parse throughput of {@link ADMDataParser} and {@link JSONDataParser} into the ADM binary format
+ * for an open record type, i.e. the per-record work done by LOAD and by feeds once a record has been read.
+ * JSON_BYTES parses the UTF-8 bytes of the record, as LOAD does when it reads records as bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataParserBenchmark {
+
+    private static final String FLAT_RECORD = "{\"id\": 1234567, \"name\": \"Margarita Stoddard\", "
+            + "\"alias\": \"Margarita\", \"userSince\": \"2012-08-20T10:10:00\", \"age\": 41, "
+            + "\"score\": 7.125, \"verified\": true, \"country\": \"US\", \"zip\": \"92617\", "
+            + "\"bio\": \"Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor\"}";
+
+    private static final String NESTED_RECORD = "{\"id\": 1234567, \"name\": \"Margarita Stoddard\", "
+            + "\"address\": {\"street\": \"234 Thomas Ave\", \"city\": \"San Hugo\", \"zip\": \"98765\", "
+            + "\"geo\": {\"lat\": 33.6405, \"lon\": -117.8443}}, \"friendIds\": [2, 3, 6, 10, 12, 44, 57, 91], "
+            + "\"employment\": [{\"organizationName\": \"Codetechno\", \"startDate\": \"2006-08-06\"}, "
+            + "{\"organizationName\": \"geomedia\", \"startDate\": \"2010-06-17\", \"endDate\": \"2010-01-26\"}], "
+            + "\"tags\": [\"a\", \"bb\", \"ccc\", \"dddd\"], \"active\": true, \"rating\": null}";
+
+    public enum Format {
+        ADM,
+        JSON,
+        JSON_BYTES
+    }
+
+    @Param({ "ADM", "JSON", "JSON_BYTES" })
+    public Format format;
+
+    @Param({ "FLAT", "NESTED" })
+    public String shape;
+
+    private IRecordDataParser<char[]> parser;
+    private JSONDataParser byteParser;
+    private CharArrayRecord record;
+    private ByteArrayRecord byteRecord;
+    private ArrayBackedValueStorage output;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (format == Format.ADM) {
+            parser = new ADMDataParser(DefaultOpenFieldType.NESTED_OPEN_RECORD_TYPE, false);
+        } else if (format == Format.JSON) {
+            parser = new JSONDataParser(DefaultOpenFieldType.NESTED_OPEN_RECORD_TYPE, new JsonFactory());
+        } else {
+            byteParser = new JSONDataParser(DefaultOpenFieldType.NESTED_OPEN_RECORD_TYPE, new JsonFactory());
+        }
+        String text = "FLAT".equals(shape) ? FLAT_RECORD : NESTED_RECORD;
+        char[] chars = text.toCharArray();
+        record = new CharArrayRecord();
+        record.append(chars, 0, chars.length);
+        record.endRecord();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        byteRecord = new ByteArrayRecord();
+        byteRecord.append(bytes, 0, bytes.length);
+        byteRecord.endRecord();
+        output = new ArrayBackedValueStorage();
+    }
+
+    @Benchmark
+    public int parse() throws HyracksDataException {
+        output.reset();
+        if (byteParser != null) {
+            byteParser.parse(byteRecord.get(), byteRecord.size(), output.getDataOutput());
+        } else {
+            parser.parse(record, output.getDataOutput());
+        }
+        return output.getLength();
+    }
+}
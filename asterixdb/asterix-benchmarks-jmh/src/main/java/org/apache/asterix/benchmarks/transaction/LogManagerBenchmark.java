@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.benchmarks.transaction;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.config.TransactionProperties;
+import org.apache.asterix.common.transactions.ICheckpointManager;
+import org.apache.asterix.common.transactions.ILockManager;
+import org.apache.asterix.common.transactions.ILogManager;
+import org.apache.asterix.common.transactions.IRecoveryManager;
+import org.apache.asterix.common.transactions.ITransactionContext;
+import org.apache.asterix.common.transactions.ITransactionManager;
+import org.apache.asterix.common.transactions.ITransactionSubsystem;
+import org.apache.asterix.common.transactions.LogRecord;
+import org.apache.asterix.common.transactions.LogType;
+import org.apache.asterix.common.transactions.TxnId;
+import org.apache.asterix.common.utils.TransactionUtil;
+import org.apache.asterix.transaction.management.service.logging.LogManager;
+import org.apache.asterix.transaction.management.service.transaction.AtomicTransactionContext;
+import org.apache.commons.io.FileUtils;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.storage.am.common.tuples.SimpleTupleWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link LogManager} append throughput for update log records and the latency of a small transaction
+ * (a few updates followed by a job commit that waits for the log flusher to force the log). The log manager runs
+ * against a stand-in transaction subsystem and writes its log files to a temporary directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogManagerBenchmark {
+
+    private static final String NODE_ID = "benchmark_nc";
+
+    @State(Scope.Benchmark)
+    public static class LogManagerState {
+
+        @Param({ "4194304" })
+        public int logPageSize;
+
+        @Param({ "8" })
+        public int numLogPages;
+
+        private final AtomicLong txnIdGenerator = new AtomicLong();
+        private File logDir;
+        private ExecutorService executor;
+        private LogManager logManager;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            logDir = Files.createTempDirectory("log-manager-benchmark").toFile();
+            executor = Executors.newCachedThreadPool();
+            TransactionProperties txnProperties =
+                    new BenchmarkTransactionProperties(logPageSize, numLogPages, logDir.getAbsolutePath());
+            logManager = new LogManager(
+                    new BenchmarkTransactionSubsystem(txnProperties, createApplicationContext(executor)));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            logManager.stop(false, null);
+            executor.shutdownNow();
+            FileUtils.deleteDirectory(logDir);
+        }
+    }
+
+    /**
+     * @return an application context that only provides the thread executor, which is all the log manager uses
+     */
+    private static INcApplicationContext createApplicationContext(ExecutorService executor) {
+        return (INcApplicationContext) Proxy.newProxyInstance(INcApplicationContext.class.getClassLoader(),
+                new Class<?>[] { INcApplicationContext.class }, (proxy, method, args) -> {
+                    if ("getThreadExecutor".equals(method.getName())) {
+                        return executor;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * The transaction log settings of the benchmark, with the defaults for group commit.
+     */
+    private static class BenchmarkTransactionProperties extends TransactionProperties {
+
+        private final int logPageSize;
+        private final int numLogPages;
+        private final String logDir;
+
+        BenchmarkTransactionProperties(int logPageSize, int numLogPages, String logDir) {
+            super(null);
+            this.logPageSize = logPageSize;
+            this.numLogPages = numLogPages;
+            this.logDir = logDir;
+        }
+
+        @Override
+        public String getLogDirectory(String nodeId) {
+            return logDir;
+        }
+
+        @Override
+        public String[] getLogStripeDirectories(String nodeId) {
+            return null;
+        }
+
+        @Override
+        public int getLogBufferNumPages() {
+            return numLogPages;
+        }
+
+        @Override
+        public int getLogBufferPageSize() {
+            return logPageSize;
+        }
+
+        @Override
+        public long getLogPartitionSize() {
+            return 256L * 1024 * 1024;
+        }
+
+        @Override
+        public int getLogGroupCommitMaxDelay() {
+            return (int) Option.TXN_LOG_GROUPCOMMIT_MAXDELAY.defaultValue();
+        }
+
+        @Override
+        public int getLogGroupCommitBytes() {
+            return (int) Option.TXN_LOG_GROUPCOMMIT_BYTES.defaultValue();
+        }
+
+        @Override
+        public int getLogGroupCommitCommits() {
+            return (int) Option.TXN_LOG_GROUPCOMMIT_COMMITS.defaultValue();
+        }
+
+        @Override
+        public boolean isCommitProfilerEnabled() {
+            return false;
+        }
+    }
+
+    /**
+     * A transaction subsystem that only has what the log manager needs to append and flush log records.
+     */
+    private static class BenchmarkTransactionSubsystem implements ITransactionSubsystem {
+
+        private final TransactionProperties txnProperties;
+        private final INcApplicationContext appCtx;
+
+        BenchmarkTransactionSubsystem(TransactionProperties txnProperties, INcApplicationContext appCtx) {
+            this.txnProperties = txnProperties;
+            this.appCtx = appCtx;
+        }
+
+        @Override
+        public String getId() {
+            return NODE_ID;
+        }
+
+        @Override
+        public TransactionProperties getTransactionProperties() {
+            return txnProperties;
+        }
+
+        @Override
+        public INcApplicationContext getApplicationContext() {
+            return appCtx;
+        }
+
+        @Override
+        public ILogManager getLogManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ILockManager getLockManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ITransactionManager getTransactionManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IRecoveryManager getRecoveryManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ICheckpointManager getCheckpointManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void incrementEntityCommitCount() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TransactionState {
+
+        @Param({ "64", "1024" })
+        public int valueSize;
+
+        @Param({ "4" })
+        public int updatesPerCommit;
+
+        private ITransactionContext txnCtx;
+        private final LogRecord updateRecord = new LogRecord();
+        private final LogRecord commitRecord = new LogRecord();
+
+        @Setup(Level.Iteration)
+        public void setUp(LogManagerState state) throws HyracksDataException {
+            txnCtx = new AtomicTransactionContext(new TxnId(state.txnIdGenerator.incrementAndGet()));
+            ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+            ArrayTupleReference tuple = new ArrayTupleReference();
+            tb.reset();
+            tb.addField(new byte[Integer.BYTES], 0, Integer.BYTES);
+            tb.addField(new byte[valueSize], 0, valueSize);
+            tuple.reset(tb.getFieldEndOffsets(), tb.getByteArray());
+            int[] pkFields = { 0 };
+            updateRecord.setTxnCtx(txnCtx);
+            updateRecord.setLogType(LogType.UPDATE);
+            updateRecord.setTxnId(txnCtx.getTxnId().getId());
+            updateRecord.setDatasetId(1);
+            updateRecord.setResourceId(1L);
+            updateRecord.setResourcePartition(0);
+            updateRecord.setNewOp((byte) 0x01);
+            updateRecord.setPKHashValue(0);
+            updateRecord.setPKFields(pkFields);
+            updateRecord.setPKValue(tuple);
+            updateRecord.computeAndSetPKValueSize();
+            updateRecord.setNewValueSize(SimpleTupleWriter.INSTANCE.bytesRequired(tuple));
+            updateRecord.setNewValue(tuple);
+            updateRecord.setOldValueSize(0);
+            updateRecord.computeAndSetLogSize();
+            TransactionUtil.formJobTerminateLogRecord(txnCtx, commitRecord, true);
+        }
+    }
+
+    @Benchmark
+    public long appendUpdate(LogManagerState state, TransactionState txn) {
+        state.logManager.log(txn.updateRecord);
+        return state.logManager.getAppendLSN();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long commitTransaction(LogManagerState state, TransactionState txn) {
+        for (int i = 0; i < txn.updatesPerCommit; i++) {
+            state.logManager.log(txn.updateRecord);
+        }
+        txn.commitRecord.isFlushed(false);
+        state.logManager.log(txn.commitRecord);
+        return state.logManager.getAppendLSN();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.common.api;
+
+import org.apache.hyracks.api.job.DeployedJobSpecId;
+
+/**
+ * Keeps the deployed jobs of prepared queries on the cluster controller, so that a query that is asked again with
+ * other parameters is run without compiling it. The jobs are dropped whenever the metadata changes. A dropped job is
+ * undeployed once no request uses it anymore.
+ */
+public interface IPreparedStatementCache {
+
+    /**
+     * A deployed job that is kept in the cache
+     */
+    interface IPreparedStatement {
+
+        /**
+         * @return the id of the deployed job
+         */
+        DeployedJobSpecId getDeployedJobSpecId();
+
+        /**
+         * @return the version of the metadata that the job was compiled against
+         */
+        long getVersion();
+    }
+
+    /**
+     * @return true if jobs are kept
+     */
+    boolean isEnabled();
+
+    /**
+     * @return the current version of the metadata
+     */
+    long getVersion();
+
+    /**
+     * Gets the job of a query. The caller uses the job until it calls {@link #release(IPreparedStatement)}.
+     *
+     * @param key
+     *            the key of the query
+     * @return the job if it was compiled against the current metadata and the metadata is not being changed, null
+     *         otherwise
+     */
+    IPreparedStatement acquire(String key);
+
+    /**
+     * Keeps the job of a query unless the metadata changed since it was compiled. The caller uses the job until it
+     * calls {@link #release(IPreparedStatement)}, whether the job is kept or not.
+     *
+     * @param key
+     *            the key of the query
+     * @param statement
+     *            the job
+     * @return true if the job is kept
+     */
+    boolean put(String key, IPreparedStatement statement);
+
+    /**
+     * @param statement
+     *            a job
+     * @return true if the job was compiled against the current metadata and the metadata is not being changed
+     */
+    boolean isCurrent(IPreparedStatement statement);
+
+    /**
+     * Ends the use of a job that was acquired or put. The job is undeployed if it was dropped and is not used by any
+     * other request.
+     *
+     * @param statement
+     *            the job
+     */
+    void release(IPreparedStatement statement);
+
+    /**
+     * Drops all jobs before the metadata is changed. No job is returned or kept until {@link #endMetadataChange()}
+     * is called.
+     */
+    void beginMetadataChange();
+
+    /**
+     * Drops all jobs once the metadata was changed
+     */
+    void endMetadataChange();
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.common.api;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the results of read-only queries on the cluster controller, so that a query that is asked again is answered
+ * without running it as long as the components of the indexes that it reads did not change.
+ */
+public interface IQueryResultCache {
+
+    /**
+     * @return the size in bytes of the largest result that can be cached, 0 if results are not cached
+     */
+    long getMaxResultSize();
+
+    /**
+     * Gets the result of a query
+     *
+     * @param key
+     *            the key of the query
+     * @param componentIds
+     *            the ids of the disk components of the indexes that the query reads, keyed by index
+     * @return the frames of the result if it was cached while the indexes had the same components, null otherwise
+     */
+    List<byte[]> get(String key, Map<String, List<Long>> componentIds);
+
+    /**
+     * Caches the result of a query
+     *
+     * @param key
+     *            the key of the query
+     * @param componentIds
+     *            the ids of the disk components of the indexes that the query read, keyed by index
+     * @param frames
+     *            the frames of the result
+     */
+    void put(String key, Map<String, List<Long>> componentIds, List<byte[]> frames);
+}
@@ -64,7 +64,19 @@ public class CompilerProperties extends AbstractProperties {
         COMPILER_SORT_SAMPLES(
                 POSITIVE_INTEGER,
                 AlgebricksConfig.SORT_SAMPLES,
-                "The number of samples which parallel sorting should take from each partition");
+                "The number of samples which parallel sorting should take from each partition"),
+        COMPILER_SORT_BINARYKEYS(
+                BOOLEAN,
+                AlgebricksConfig.SORT_BINARY_KEYS,
+                "Enabling/Disabling sorting on binary-comparable normalized keys of all sort fields"),
+        COMPILER_SORT_SPLITKEYS(
+                BOOLEAN,
+                AlgebricksConfig.SORT_SPLIT_KEYS,
+                "Enabling/Disabling spreading frequent sort keys over several partitions in full parallel sort"),
+        COMPILER_CBO(
+                BOOLEAN,
+                AlgebricksConfig.CBO,
+                "Enabling/Disabling cost-based join ordering based on the statistics of the joined datasets");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -116,6 +128,12 @@ public class CompilerProperties extends AbstractProperties {
 
     public static final String COMPILER_SORT_SAMPLES_KEY = Option.COMPILER_SORT_SAMPLES.ini();
 
+    public static final String COMPILER_SORT_BINARYKEYS_KEY = Option.COMPILER_SORT_BINARYKEYS.ini();
+
+    public static final String COMPILER_SORT_SPLITKEYS_KEY = Option.COMPILER_SORT_SPLITKEYS.ini();
+
+    public static final String COMPILER_CBO_KEY = Option.COMPILER_CBO.ini();
+
     public static final int COMPILER_PARALLELISM_AS_STORAGE = 0;
 
     public CompilerProperties(PropertiesAccessor accessor) {
@@ -155,6 +173,18 @@ public class CompilerProperties extends AbstractProperties {
         return accessor.getBoolean(Option.COMPILER_SORT_PARALLEL);
     }
 
+    public boolean getSortBinaryKeys() {
+        return accessor.getBoolean(Option.COMPILER_SORT_BINARYKEYS);
+    }
+
+    public boolean getSortSplitKeys() {
+        return accessor.getBoolean(Option.COMPILER_SORT_SPLITKEYS);
+    }
+
+    public boolean getCBOMode() {
+        return accessor.getBoolean(Option.COMPILER_CBO);
+    }
+
     public int getSortSamples() {
         int numSamples = accessor.getInt(Option.COMPILER_SORT_SAMPLES);
         return numSamples > 0 ? numSamples : AlgebricksConfig.SORT_SAMPLES;
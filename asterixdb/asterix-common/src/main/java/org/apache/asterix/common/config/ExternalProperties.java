@@ -19,6 +19,7 @@
 package org.apache.asterix.common.config;
 
 import static org.apache.hyracks.control.common.config.OptionTypes.LEVEL;
+import static org.apache.hyracks.control.common.config.OptionTypes.LONG_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.STRING;
 import static org.apache.hyracks.control.common.config.OptionTypes.UNSIGNED_INTEGER;
@@ -48,7 +49,19 @@ public class ExternalProperties extends AbstractProperties {
         MAX_WEB_REQUEST_SIZE(
                 UNSIGNED_INTEGER,
                 StorageUtil.getIntSizeInBytes(50, StorageUtil.StorageUnit.MEGABYTE),
-                "The maximum accepted web request size in bytes");
+                "The maximum accepted web request size in bytes"),
+        QUERY_RESULT_CACHE_SIZE(
+                LONG_BYTE_UNIT,
+                StorageUtil.getLongSizeInBytes(32L, StorageUtil.StorageUnit.MEGABYTE),
+                "The memory budget (in bytes) for the results of queries that ask to be cached; 0 to disable"),
+        QUERY_RESULT_CACHE_TTL(
+                POSITIVE_INTEGER,
+                60,
+                "The maximum time (in seconds) a cached query result is served before the query is run again"),
+        PREPARED_STATEMENT_CACHE_SIZE(
+                UNSIGNED_INTEGER,
+                128,
+                "The maximum number of compiled prepared queries kept on the cluster controller; 0 to disable");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -67,6 +80,9 @@ public class ExternalProperties extends AbstractProperties {
                 case WEB_QUERYINTERFACE_PORT:
                 case API_PORT:
                 case ACTIVE_PORT:
+                case QUERY_RESULT_CACHE_SIZE:
+                case QUERY_RESULT_CACHE_TTL:
+                case PREPARED_STATEMENT_CACHE_SIZE:
                     return Section.CC;
                 case NC_API_PORT:
                     return Section.NC;
@@ -141,4 +157,16 @@ public class ExternalProperties extends AbstractProperties {
     public int getMaxWebRequestSize() {
         return accessor.getInt(Option.MAX_WEB_REQUEST_SIZE);
     }
+
+    public long getQueryResultCacheSize() {
+        return accessor.getLong(Option.QUERY_RESULT_CACHE_SIZE);
+    }
+
+    public int getQueryResultCacheTtl() {
+        return accessor.getInt(Option.QUERY_RESULT_CACHE_TTL);
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return accessor.getInt(Option.PREPARED_STATEMENT_CACHE_SIZE);
+    }
 }
@@ -52,6 +52,9 @@ public class OptimizationConfUtil {
         int textSearchFrameLimit = getTextSearchNumFrames(compilerProperties, querySpecificConfig, sourceLoc);
         int sortNumSamples = getSortSamples(compilerProperties, querySpecificConfig, sourceLoc);
         boolean fullParallelSort = getSortParallel(compilerProperties, querySpecificConfig);
+        boolean sortBinaryKeys = getSortBinaryKeys(compilerProperties, querySpecificConfig);
+        boolean sortSplitKeys = getSortSplitKeys(compilerProperties, querySpecificConfig);
+        boolean cbo = getCBOMode(compilerProperties, querySpecificConfig);
 
         PhysicalOptimizationConfig physOptConf = new PhysicalOptimizationConfig();
         physOptConf.setFrameSize(frameSize);
@@ -61,6 +64,9 @@ public class OptimizationConfUtil {
         physOptConf.setMaxFramesForTextSearch(textSearchFrameLimit);
         physOptConf.setSortParallel(fullParallelSort);
         physOptConf.setSortSamples(sortNumSamples);
+        physOptConf.setSortBinaryKeys(sortBinaryKeys);
+        physOptConf.setSortSplitKeys(sortSplitKeys);
+        physOptConf.setCBOMode(cbo);
 
         return physOptConf;
     }
@@ -109,6 +115,32 @@ public class OptimizationConfUtil {
         return compilerProperties.getSortParallel();
     }
 
+    private static boolean getSortBinaryKeys(CompilerProperties compilerProperties,
+            Map<String, Object> querySpecificConfig) {
+        String valueInQuery = (String) querySpecificConfig.get(CompilerProperties.COMPILER_SORT_BINARYKEYS_KEY);
+        if (valueInQuery != null) {
+            return OptionTypes.BOOLEAN.parse(valueInQuery);
+        }
+        return compilerProperties.getSortBinaryKeys();
+    }
+
+    private static boolean getSortSplitKeys(CompilerProperties compilerProperties,
+            Map<String, Object> querySpecificConfig) {
+        String valueInQuery = (String) querySpecificConfig.get(CompilerProperties.COMPILER_SORT_SPLITKEYS_KEY);
+        if (valueInQuery != null) {
+            return OptionTypes.BOOLEAN.parse(valueInQuery);
+        }
+        return compilerProperties.getSortSplitKeys();
+    }
+
+    private static boolean getCBOMode(CompilerProperties compilerProperties, Map<String, Object> querySpecificConfig) {
+        String valueInQuery = (String) querySpecificConfig.get(CompilerProperties.COMPILER_CBO_KEY);
+        if (valueInQuery != null) {
+            return OptionTypes.BOOLEAN.parse(valueInQuery);
+        }
+        return compilerProperties.getCBOMode();
+    }
+
     @SuppressWarnings("squid:S1166") // Either log or rethrow this exception
     private static int getSortSamples(CompilerProperties compilerProperties, Map<String, Object> querySpecificConfig,
             SourceLocation sourceLoc) throws AsterixException {
@@ -22,6 +22,7 @@ import static org.apache.hyracks.control.common.config.OptionTypes.BOOLEAN;
 import static org.apache.hyracks.control.common.config.OptionTypes.INTEGER_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.LONG;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
+import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.STRING;
 import static org.apache.hyracks.control.common.config.OptionTypes.UNSIGNED_INTEGER;
 
@@ -52,7 +53,15 @@ public class ReplicationProperties extends AbstractProperties {
                 "The time in seconds to timeout waiting for master or replica to ack"),
         REPLICATION_ENABLED(BOOLEAN, false, "Whether or not data replication is enabled"),
         REPLICATION_FACTOR(UNSIGNED_INTEGER, 2, "Number of replicas (backups) to maintain per master replica"),
-        REPLICATION_STRATEGY(STRING, "none", "Replication strategy to choose");
+        REPLICATION_STRATEGY(STRING, "none", "Replication strategy to choose"),
+        REPLICATION_CONCURRENCY(
+                POSITIVE_INTEGER,
+                4,
+                "The number of connections used in parallel to replicate index files to each replica"),
+        REPLICATION_FILE_CHUNKSIZE(
+                POSITIVE_INTEGER_BYTE_UNIT,
+                StorageUtil.getIntSizeInBytes(1, StorageUnit.MEGABYTE),
+                "The size in bytes of the chunks, each sent with a checksum, that index files are replicated in");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -124,4 +133,12 @@ public class ReplicationProperties extends AbstractProperties {
     public int getReplicationFactor() {
         return accessor.getInt(Option.REPLICATION_FACTOR);
     }
+
+    public int getReplicationConcurrency() {
+        return accessor.getInt(Option.REPLICATION_CONCURRENCY);
+    }
+
+    public int getReplicationFileChunkSize() {
+        return accessor.getInt(Option.REPLICATION_FILE_CHUNKSIZE);
+    }
 }
\ No newline at end of file
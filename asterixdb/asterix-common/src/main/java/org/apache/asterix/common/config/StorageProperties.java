@@ -43,11 +43,13 @@ public class StorageProperties extends AbstractProperties {
         // By default, uses 1/4 of the maximum heap size for read cache, i.e., disk buffer cache.
         STORAGE_BUFFERCACHE_SIZE(LONG_BYTE_UNIT, Runtime.getRuntime().maxMemory() / 4),
         STORAGE_BUFFERCACHE_MAXOPENFILES(UNSIGNED_INTEGER, Integer.MAX_VALUE),
+        STORAGE_BUFFERCACHE_READAHEADPAGES(UNSIGNED_INTEGER, 8),
         STORAGE_MEMORYCOMPONENT_GLOBALBUDGET(LONG_BYTE_UNIT, Runtime.getRuntime().maxMemory() / 4),
         STORAGE_MEMORYCOMPONENT_PAGESIZE(INTEGER_BYTE_UNIT, StorageUtil.getIntSizeInBytes(128, KILOBYTE)),
         STORAGE_MEMORYCOMPONENT_NUMCOMPONENTS(POSITIVE_INTEGER, 2),
         STORAGE_METADATA_MEMORYCOMPONENT_NUMPAGES(POSITIVE_INTEGER, 8),
         STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE(DOUBLE, 0.01d),
+        STORAGE_LSM_MERGE_RANGES(POSITIVE_INTEGER, 1),
         STORAGE_MAX_ACTIVE_WRITABLE_DATASETS(UNSIGNED_INTEGER, 8),
         STORAGE_COMPRESSION_BLOCK(STRING, "none");
 
@@ -77,6 +79,9 @@ public class StorageProperties extends AbstractProperties {
                             + " of the buffer cache page size.";
                 case STORAGE_BUFFERCACHE_MAXOPENFILES:
                     return "The maximum number of open files in the buffer cache";
+                case STORAGE_BUFFERCACHE_READAHEADPAGES:
+                    return "The maximum number of pages the buffer cache reads ahead in a single IO for sequential"
+                            + " scans (0 disables read-ahead)";
                 case STORAGE_MEMORYCOMPONENT_GLOBALBUDGET:
                     return "The size of memory allocated to the memory components.  The value should be a multiple "
                             + "of the memory component page size";
@@ -88,6 +93,9 @@ public class StorageProperties extends AbstractProperties {
                     return "The number of pages to allocate for a metadata memory component";
                 case STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE:
                     return "The maximum acceptable false positive rate for bloom filters associated with LSM indexes";
+                case STORAGE_LSM_MERGE_RANGES:
+                    return "The maximum number of disjoint key ranges of an LSM merge that are merged concurrently, "
+                            + "which is also the maximum number of threads merging key ranges at a time";
                 case STORAGE_MAX_ACTIVE_WRITABLE_DATASETS:
                     return "The maximum number of datasets that can be concurrently modified";
                 case STORAGE_COMPRESSION_BLOCK:
@@ -134,6 +142,10 @@ public class StorageProperties extends AbstractProperties {
         return accessor.getInt(Option.STORAGE_BUFFERCACHE_MAXOPENFILES);
     }
 
+    public int getBufferCacheReadAheadPages() {
+        return accessor.getInt(Option.STORAGE_BUFFERCACHE_READAHEADPAGES);
+    }
+
     public int getMemoryComponentPageSize() {
         return accessor.getInt(Option.STORAGE_MEMORYCOMPONENT_PAGESIZE);
     }
@@ -162,6 +174,10 @@ public class StorageProperties extends AbstractProperties {
         return accessor.getDouble(Option.STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE);
     }
 
+    public int getMergeRanges() {
+        return accessor.getInt(Option.STORAGE_LSM_MERGE_RANGES);
+    }
+
     public int getBufferCacheNumPages() {
         return (int) (getBufferCacheSize() / (getBufferCachePageSize() + IBufferCache.RESERVED_HEADER_BYTES));
     }
@@ -23,6 +23,7 @@ import static org.apache.hyracks.control.common.config.OptionTypes.INTEGER_BYTE_
 import static org.apache.hyracks.control.common.config.OptionTypes.LONG_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.UNSIGNED_INTEGER;
+import static org.apache.hyracks.util.StorageUtil.StorageUnit.KILOBYTE;
 import static org.apache.hyracks.util.StorageUtil.StorageUnit.MEGABYTE;
 
 import java.util.Map;
@@ -60,6 +61,19 @@ public class TransactionProperties extends AbstractProperties {
                 "The frequency (in seconds) the checkpoint thread should check to see if a checkpoint should be "
                         + "written"),
         TXN_LOG_CHECKPOINT_HISTORY(UNSIGNED_INTEGER, 0, "The number of checkpoints to keep in the transaction log"),
+        TXN_LOG_GROUPCOMMIT_MAXDELAY(
+                UNSIGNED_INTEGER,
+                0,
+                "The maximum time (in microseconds) a log flusher waits for more log records before it forces the "
+                        + "pending ones to disk. The actual wait adapts to the load. 0 disables waiting"),
+        TXN_LOG_GROUPCOMMIT_BYTES(
+                INTEGER_BYTE_UNIT,
+                StorageUtil.getIntSizeInBytes(64, KILOBYTE),
+                "The number of pending log bytes (in bytes) that ends the wait of a log flusher"),
+        TXN_LOG_GROUPCOMMIT_COMMITS(
+                POSITIVE_INTEGER,
+                64,
+                "The number of pending commit log records that ends the wait of a log flusher"),
         TXN_LOCK_ESCALATIONTHRESHOLD(
                 UNSIGNED_INTEGER,
                 1000,
@@ -78,7 +92,12 @@ public class TransactionProperties extends AbstractProperties {
         TXN_JOB_RECOVERY_MEMORYSIZE(
                 LONG_BYTE_UNIT,
                 StorageUtil.getLongSizeInBytes(64L, MEGABYTE),
-                "The memory budget (in bytes) used for recovery");
+                "The memory budget (in bytes) used for recovery"),
+        TXN_JOB_RECOVERY_REDOTHREADS(
+                POSITIVE_INTEGER,
+                4,
+                "The number of threads replaying the redo log records of different indexes in parallel during "
+                        + "recovery. 1 replays all the log records on the recovery thread");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -127,6 +146,10 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getTransactionLogDirs();
     }
 
+    public String[] getLogStripeDirectories(String nodeId) {
+        return accessor.getTransactionLogStripeDirs().get(nodeId);
+    }
+
     public int getLogBufferNumPages() {
         return accessor.getInt(Option.TXN_LOG_BUFFER_NUMPAGES);
     }
@@ -151,6 +174,18 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getInt(Option.TXN_LOG_CHECKPOINT_HISTORY);
     }
 
+    public int getLogGroupCommitMaxDelay() {
+        return accessor.getInt(Option.TXN_LOG_GROUPCOMMIT_MAXDELAY);
+    }
+
+    public int getLogGroupCommitBytes() {
+        return accessor.getInt(Option.TXN_LOG_GROUPCOMMIT_BYTES);
+    }
+
+    public int getLogGroupCommitCommits() {
+        return accessor.getInt(Option.TXN_LOG_GROUPCOMMIT_COMMITS);
+    }
+
     public int getEntityToDatasetLockEscalationThreshold() {
         return accessor.getInt(Option.TXN_LOCK_ESCALATIONTHRESHOLD);
     }
@@ -179,6 +214,10 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getLong(Option.TXN_JOB_RECOVERY_MEMORYSIZE);
     }
 
+    public int getJobRecoveryRedoThreads() {
+        return accessor.getInt(Option.TXN_JOB_RECOVERY_REDOTHREADS);
+    }
+
     public int getDatasetCheckpointInterval() {
         return accessor.getInt(Option.TXN_DATASET_CHECKPOINT_INTERVAL);
     }
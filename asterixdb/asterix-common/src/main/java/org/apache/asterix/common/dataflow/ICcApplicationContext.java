@@ -21,6 +21,8 @@ package org.apache.asterix.common.dataflow;
 import org.apache.asterix.common.api.IApplicationContext;
 import org.apache.asterix.common.api.IMetadataLockManager;
 import org.apache.asterix.common.api.INodeJobTracker;
+import org.apache.asterix.common.api.IPreparedStatementCache;
+import org.apache.asterix.common.api.IQueryResultCache;
 import org.apache.asterix.common.cluster.IClusterStateManager;
 import org.apache.asterix.common.cluster.IGlobalRecoveryManager;
 import org.apache.asterix.common.config.ExtensionProperties;
@@ -133,4 +135,14 @@ public interface ICcApplicationContext extends IApplicationContext {
      * @return the compression manager
      */
     ICompressionManager getCompressionManager();
+
+    /**
+     * @return the query result cache
+     */
+    IQueryResultCache getQueryResultCache();
+
+    /**
+     * @return the cache of the jobs of prepared queries
+     */
+    IPreparedStatementCache getPreparedStatementCache();
 }
@@ -19,6 +19,7 @@
 package org.apache.asterix.common.transactions;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import org.apache.asterix.common.config.TransactionProperties;
 
@@ -27,11 +28,15 @@ public class LogManagerProperties implements Serializable {
     private static final long serialVersionUID = 2084227360840799662L;
 
     public static final String lineSeparator = System.getProperty("line.separator");
-    private static final String DEFAULT_LOG_FILE_PREFIX = "transaction_log";
+    public static final String DEFAULT_LOG_FILE_PREFIX = "transaction_log";
+    // striped log files are never picked up as regular log files and vice versa
+    public static final String STRIPED_LOG_FILE_PREFIX = "striped_transaction_log";
 
     // follow the naming convention <logFilePrefix>_<number> where number starts from 0
     private final String logFilePrefix;
     private final String logDir;
+    // the log directory followed by the additional stripe directories, if any
+    private final String[] logDirs;
 
     // number of log pages in the log buffer
     private final int logPageSize;
@@ -45,7 +50,16 @@ public class LogManagerProperties implements Serializable {
         this.numLogPages = txnProperties.getLogBufferNumPages();
         long logPartitionSize = txnProperties.getLogPartitionSize();
         this.logDir = txnProperties.getLogDirectory(nodeId);
-        this.logFilePrefix = DEFAULT_LOG_FILE_PREFIX;
+        String[] stripeDirs = txnProperties.getLogStripeDirectories(nodeId);
+        if (stripeDirs == null || stripeDirs.length == 0) {
+            this.logDirs = new String[] { logDir };
+            this.logFilePrefix = DEFAULT_LOG_FILE_PREFIX;
+        } else {
+            this.logDirs = new String[stripeDirs.length + 1];
+            this.logDirs[0] = logDir;
+            System.arraycopy(stripeDirs, 0, this.logDirs, 1, stripeDirs.length);
+            this.logFilePrefix = STRIPED_LOG_FILE_PREFIX;
+        }
         int logBufferSize = logPageSize * numLogPages;
         //make sure that the log partition size is the multiple of log buffer size.
         this.logPartitionSize = (logPartitionSize / logBufferSize) * logBufferSize;
@@ -63,6 +77,18 @@ public class LogManagerProperties implements Serializable {
         return logDir;
     }
 
+    /**
+     * @return the directories the transaction log is striped across, starting with {@link #getLogDir()}. A single
+     *         directory means that the log is not striped.
+     */
+    public String[] getLogDirs() {
+        return logDirs;
+    }
+
+    public boolean isStriped() {
+        return logDirs.length > 1;
+    }
+
     public int getLogPageSize() {
         return logPageSize;
     }
@@ -75,6 +101,7 @@ public class LogManagerProperties implements Serializable {
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("log_dir_ : " + logDir + lineSeparator);
+        builder.append("log_dirs : " + Arrays.toString(logDirs) + lineSeparator);
         builder.append("log_file_prefix" + logFilePrefix + lineSeparator);
         builder.append("log_page_size : " + logPageSize + lineSeparator);
         builder.append("num_log_pages : " + numLogPages + lineSeparator);
@@ -27,6 +27,23 @@ public interface IRecordDataParserFactory<T> extends IDataParserFactory {
 
     public Class<?> getRecordClass();
 
+    /**
+     * @return whether the parser can also parse records given as UTF-8 bytes, which spares decoding the input into
+     *         characters when the records are read from a stream
+     */
+    public default boolean supportsByteRecords() {
+        return false;
+    }
+
+    /**
+     * @return a parser for records given as UTF-8 bytes
+     * @see #supportsByteRecords()
+     */
+    public default IRecordDataParser<byte[]> createByteRecordParser(IHyracksTaskContext ctx)
+            throws HyracksDataException {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public default DataSourceType getDataSourceType() {
         return DataSourceType.RECORDS;
@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.feed.dataflow;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.std.base.AbstractUnaryInputUnaryOutputOperatorNodePushable;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs the computation of a feed partition on a number of threads that follows the load. The calling thread runs the
+ * primary compute runtime. When frames back up in front of the computation, in memory or spilled to disk, workers
+ * with their own compute runtimes are added, up to a maximum, and they are removed one by one once the backlog is
+ * gone. All the runtimes write to the same output, so the output frames are not in the order of the input frames.
+ * Each extra runtime has its own task context (see {@link ElasticFeedWorkerTaskContext}), so feed messages only leave
+ * with the output of the primary runtime.
+ */
+public class ElasticFeedComputeWriter implements IFrameWriter {
+
+    @FunctionalInterface
+    public interface IComputeRuntimeFactory {
+        AbstractUnaryInputUnaryOutputOperatorNodePushable create(IHyracksTaskContext ctx) throws HyracksDataException;
+    }
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long DEFAULT_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // how long to wait for room in the work queue before checking whether any worker is left to take a retire
+    private static final long RETIRE_WAIT_MILLIS = 100;
+    // the number of consecutive checks without backlog after which a worker is removed
+    private static final int IDLE_CHECKS_BEFORE_SCALE_DOWN = 10;
+    private static final ByteBuffer RETIRE = ByteBuffer.allocate(0);
+
+    private final IHyracksTaskContext ctx;
+    private final String name;
+    private final IFrameWriter output;
+    private final RecordDescriptor inputRecordDesc;
+    private final RecordDescriptor outputRecordDesc;
+    private final IComputeRuntimeFactory runtimeFactory;
+    private final AbstractUnaryInputUnaryOutputOperatorNodePushable primary;
+    private final int maxParallelism;
+    private final BlockingQueue<ByteBuffer> workQueue;
+    private final Queue<ByteBuffer> freeFrames = new ConcurrentLinkedQueue<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private IntSupplier backlog = () -> 0;
+    private long checkInterval = DEFAULT_CHECK_INTERVAL_NANOS;
+    private int parallelism = 1;
+    private long lastCheck;
+    private int idleChecks = 0;
+    private volatile boolean failed = false;
+    private volatile Throwable cause;
+    private boolean primaryFailed = false;
+
+    public ElasticFeedComputeWriter(IHyracksTaskContext ctx, String name, IFrameWriter output,
+            RecordDescriptor inputRecordDesc, RecordDescriptor outputRecordDesc,
+            AbstractUnaryInputUnaryOutputOperatorNodePushable primary, IComputeRuntimeFactory runtimeFactory,
+            int maxParallelism) {
+        this.ctx = ctx;
+        this.name = name;
+        this.output = output;
+        this.inputRecordDesc = inputRecordDesc;
+        this.outputRecordDesc = outputRecordDesc;
+        this.primary = primary;
+        this.runtimeFactory = runtimeFactory;
+        this.maxParallelism = Math.max(maxParallelism, 1);
+        this.workQueue = new ArrayBlockingQueue<>(2 * this.maxParallelism);
+        primary.setOutputFrameWriter(0, new SharedOutput(true), outputRecordDesc);
+    }
+
+    /**
+     * @param backlog
+     *            supplies the number of frames waiting to be computed
+     */
+    public void setBacklog(IntSupplier backlog) {
+        this.backlog = backlog;
+    }
+
+    /**
+     * @param interval
+     *            the time between two checks of the backlog, each of which may add or remove a worker
+     */
+    public void setCheckInterval(long interval, TimeUnit unit) {
+        this.checkInterval = unit.toNanos(interval);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void open() throws HyracksDataException {
+        lastCheck = System.nanoTime();
+        primary.open();
+    }
+
+    @Override
+    public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+        if (cause != null) {
+            throw HyracksDataException.create(cause);
+        }
+        adjustParallelism();
+        if (parallelism > 1) {
+            ByteBuffer frame = copy(buffer);
+            if (workQueue.offer(frame)) {
+                return;
+            }
+            // all the workers are busy, compute the frame on this thread
+            freeFrames.offer(frame);
+        }
+        primary.nextFrame(buffer);
+    }
+
+    private void adjustParallelism() throws HyracksDataException {
+        final long now = System.nanoTime();
+        if (now - lastCheck < checkInterval) {
+            return;
+        }
+        lastCheck = now;
+        final int waiting = backlog.getAsInt();
+        if (waiting > parallelism) {
+            idleChecks = 0;
+            if (parallelism < maxParallelism) {
+                addWorker();
+            }
+        } else if (waiting > 0) {
+            idleChecks = 0;
+        } else if (parallelism > 1 && ++idleChecks >= IDLE_CHECKS_BEFORE_SCALE_DOWN) {
+            idleChecks = 0;
+            retireWorker();
+        }
+    }
+
+    private void addWorker() throws HyracksDataException {
+        workers.removeIf(worker -> !worker.thread.isAlive());
+        final AbstractUnaryInputUnaryOutputOperatorNodePushable runtime =
+                runtimeFactory.create(new ElasticFeedWorkerTaskContext(ctx));
+        runtime.setOutputFrameWriter(0, new SharedOutput(false), outputRecordDesc);
+        runtime.open();
+        final Worker worker = new Worker(runtime);
+        workers.add(worker);
+        parallelism++;
+        worker.thread.start();
+        LOGGER.log(Level.INFO, "{} backlog grew, computing on {} threads", name, parallelism);
+    }
+
+    private void retireWorker() throws HyracksDataException {
+        if (!putRetire()) {
+            // all the workers failed, the next frame reports the cause
+            parallelism = 1;
+            return;
+        }
+        parallelism--;
+        LOGGER.log(Level.INFO, "{} has no backlog, computing on {} threads", name, parallelism);
+    }
+
+    /**
+     * Queues a retire behind the pending frames. Does not block once no worker is left to take it.
+     *
+     * @return false if no worker is alive
+     */
+    private boolean putRetire() throws HyracksDataException {
+        try {
+            while (!workQueue.offer(RETIRE, RETIRE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (workers.stream().noneMatch(worker -> worker.thread.isAlive())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private void dropPendingFrames() {
+        ByteBuffer frame = workQueue.poll();
+        while (frame != null) {
+            if (frame == RETIRE) {
+                // keep the retire for the worker that is waiting for it
+                parallelism++;
+            }
+            frame = workQueue.poll();
+        }
+    }
+
+    private ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer frame = freeFrames.poll();
+        if (frame == null || frame.capacity() != buffer.capacity()) {
+            frame = ByteBuffer.allocate(buffer.capacity());
+        }
+        System.arraycopy(buffer.array(), 0, frame.array(), 0, buffer.capacity());
+        frame.clear();
+        return frame;
+    }
+
+    @Override
+    public void fail() throws HyracksDataException {
+        failed = true;
+        // drop the frames that were not computed yet and stop the workers before the output fails, so that no worker
+        // pushes a frame into the failed output
+        dropPendingFrames();
+        try {
+            stopWorkers();
+        } finally {
+            primaryFailed = true;
+            primary.fail();
+        }
+    }
+
+    @Override
+    public void close() throws HyracksDataException {
+        try {
+            if (cause != null) {
+                // a worker failed, so the output fails and the frames that were not computed yet are not needed
+                dropPendingFrames();
+            }
+            stopWorkers();
+        } finally {
+            closePrimary();
+        }
+        if (cause != null) {
+            throw HyracksDataException.create(cause);
+        }
+    }
+
+    private void stopWorkers() throws HyracksDataException {
+        try {
+            // each worker that is still alive takes one retire, after the frames queued before it
+            for (int i = 1; i < parallelism; i++) {
+                if (!putRetire()) {
+                    break;
+                }
+            }
+            for (Worker worker : workers) {
+                worker.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        } finally {
+            parallelism = 1;
+        }
+    }
+
+    private void closePrimary() throws HyracksDataException {
+        try {
+            if (cause != null && !primaryFailed) {
+                primaryFailed = true;
+                primary.fail();
+            }
+        } finally {
+            primary.close();
+        }
+    }
+
+    @Override
+    public void flush() throws HyracksDataException {
+        primary.flush();
+    }
+
+    /**
+     * The output of a compute runtime. Only the output of the primary runtime opens and closes the shared output
+     */
+    private class SharedOutput implements IFrameWriter {
+
+        private final boolean isPrimary;
+
+        SharedOutput(boolean isPrimary) {
+            this.isPrimary = isPrimary;
+        }
+
+        @Override
+        public void open() throws HyracksDataException {
+            if (isPrimary) {
+                output.open();
+            }
+        }
+
+        @Override
+        public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+            synchronized (output) {
+                output.nextFrame(buffer);
+            }
+        }
+
+        @Override
+        public void flush() throws HyracksDataException {
+            synchronized (output) {
+                output.flush();
+            }
+        }
+
+        @Override
+        public void fail() throws HyracksDataException {
+            if (isPrimary) {
+                synchronized (output) {
+                    output.fail();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws HyracksDataException {
+            if (isPrimary) {
+                synchronized (output) {
+                    output.close();
+                }
+            }
+        }
+    }
+
+    private class Worker implements Runnable {
+
+        private final AbstractUnaryInputUnaryOutputOperatorNodePushable runtime;
+        private final FeedExceptionHandler exceptionHandler;
+        private final Thread thread;
+
+        Worker(AbstractUnaryInputUnaryOutputOperatorNodePushable runtime) {
+            this.runtime = runtime;
+            this.exceptionHandler = new FeedExceptionHandler(ctx, new FrameTupleAccessor(inputRecordDesc));
+            this.thread = new Thread(this, "ElasticFeedComputeWriter-" + name);
+        }
+
+        @Override
+        public void run() {
+            try {
+                ByteBuffer frame = workQueue.poll();
+                while (frame != RETIRE) {
+                    if (frame == null) {
+                        // push the partially filled output frame before waiting
+                        runtime.flush();
+                        frame = workQueue.take();
+                        continue;
+                    }
+                    try {
+                        compute(frame);
+                    } finally {
+                        freeFrames.offer(frame);
+                    }
+                    frame = workQueue.poll();
+                }
+            } catch (Throwable th) {
+                cause = th;
+                failed = true;
+            } finally {
+                closeRuntime();
+            }
+        }
+
+        private void compute(ByteBuffer frame) throws HyracksDataException {
+            ByteBuffer next = frame;
+            while (next != null) {
+                try {
+                    runtime.nextFrame(next);
+                    return;
+                } catch (HyracksDataException e) {
+                    next = exceptionHandler.handle(e, next);
+                    if (next == null) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private void closeRuntime() {
+            try {
+                if (failed) {
+                    runtime.fail();
+                }
+            } catch (Throwable th) {
+                LOGGER.log(Level.WARN, "Failure failing compute runtime", th);
+            } finally {
+                try {
+                    runtime.close();
+                } catch (Throwable th) {
+                    if (cause == null) {
+                        cause = th;
+                    }
+                }
+            }
+        }
+    }
+}
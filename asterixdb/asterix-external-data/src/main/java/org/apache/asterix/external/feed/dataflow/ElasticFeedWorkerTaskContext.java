@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.feed.dataflow;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.hyracks.api.context.IHyracksJobletContext;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.TaskAttemptId;
+import org.apache.hyracks.api.dataflow.state.IStateObject;
+import org.apache.hyracks.api.deployment.DeploymentId;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.exceptions.HyracksException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.api.job.JobFlag;
+import org.apache.hyracks.api.job.profiling.IStatsCollector;
+import org.apache.hyracks.api.job.profiling.counters.ICounterContext;
+import org.apache.hyracks.api.resources.IDeallocatable;
+import org.apache.hyracks.api.result.IResultPartitionManager;
+
+/**
+ * The task context of an extra compute runtime of an {@link ElasticFeedComputeWriter}. It has its own shared object,
+ * which operators use to keep per-task state (see TaskUtil), e.g. the frame of the current feed message that the
+ * feed's input thread overwrites. Everything else is the task's: frames are allocated from the joblet, and workspace
+ * files and deallocatables are registered with the task, which are thread safe. Counters are looked up when the
+ * runtime is created and opened, which happens on the thread of the primary runtime.
+ */
+class ElasticFeedWorkerTaskContext implements IHyracksTaskContext {
+
+    private final IHyracksTaskContext ctx;
+    private Object sharedObject;
+
+    ElasticFeedWorkerTaskContext(IHyracksTaskContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void setSharedObject(Object object) {
+        this.sharedObject = object;
+    }
+
+    @Override
+    public Object getSharedObject() {
+        return sharedObject;
+    }
+
+    @Override
+    public int getInitialFrameSize() {
+        return ctx.getInitialFrameSize();
+    }
+
+    @Override
+    public ByteBuffer allocateFrame() throws HyracksDataException {
+        return ctx.allocateFrame();
+    }
+
+    @Override
+    public ByteBuffer allocateFrame(int bytes) throws HyracksDataException {
+        return ctx.allocateFrame(bytes);
+    }
+
+    @Override
+    public ByteBuffer reallocateFrame(ByteBuffer tobeDeallocate, int newSizeInBytes, boolean copyOldData)
+            throws HyracksDataException {
+        return ctx.reallocateFrame(tobeDeallocate, newSizeInBytes, copyOldData);
+    }
+
+    @Override
+    public void deallocateFrames(int bytes) {
+        ctx.deallocateFrames(bytes);
+    }
+
+    @Override
+    public IIOManager getIoManager() {
+        return ctx.getIoManager();
+    }
+
+    @Override
+    public FileReference createUnmanagedWorkspaceFile(String prefix) throws HyracksDataException {
+        return ctx.createUnmanagedWorkspaceFile(prefix);
+    }
+
+    @Override
+    public FileReference createManagedWorkspaceFile(String prefix) throws HyracksDataException {
+        return ctx.createManagedWorkspaceFile(prefix);
+    }
+
+    @Override
+    public void registerDeallocatable(IDeallocatable deallocatable) {
+        ctx.registerDeallocatable(deallocatable);
+    }
+
+    @Override
+    public void setStateObject(IStateObject taskState) {
+        ctx.setStateObject(taskState);
+    }
+
+    @Override
+    public IStateObject getStateObject(Object id) {
+        return ctx.getStateObject(id);
+    }
+
+    @Override
+    public IHyracksJobletContext getJobletContext() {
+        return ctx.getJobletContext();
+    }
+
+    @Override
+    public TaskAttemptId getTaskAttemptId() {
+        return ctx.getTaskAttemptId();
+    }
+
+    @Override
+    public ICounterContext getCounterContext() {
+        return ctx.getCounterContext();
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return ctx.getExecutorService();
+    }
+
+    @Override
+    public IResultPartitionManager getResultPartitionManager() {
+        return ctx.getResultPartitionManager();
+    }
+
+    @Override
+    public void sendApplicationMessageToCC(Serializable message, DeploymentId deploymentId) throws Exception {
+        ctx.sendApplicationMessageToCC(message, deploymentId);
+    }
+
+    @Override
+    public void sendApplicationMessageToCC(byte[] message, DeploymentId deploymentId) throws Exception {
+        ctx.sendApplicationMessageToCC(message, deploymentId);
+    }
+
+    @Override
+    public byte[] getJobParameter(byte[] name, int start, int length) throws HyracksException {
+        return ctx.getJobParameter(name, start, length);
+    }
+
+    @Override
+    public Set<JobFlag> getJobFlags() {
+        return ctx.getJobFlags();
+    }
+
+    @Override
+    public IStatsCollector getStatsCollector() {
+        return ctx.getStatsCollector();
+    }
+}
@@ -448,6 +448,13 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
         return total;
     }
 
+    /**
+     * @return the number of frames waiting to be processed, in memory or spilled to disk
+     */
+    public int getBacklog() {
+        return inbox.size();
+    }
+
     public BlockingQueue<ByteBuffer> getInternalBuffer() {
         return inbox;
     }
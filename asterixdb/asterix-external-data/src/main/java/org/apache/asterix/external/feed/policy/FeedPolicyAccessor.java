@@ -52,11 +52,16 @@ public class FeedPolicyAccessor implements Serializable {
     /** elasticity **/
     public static final String ELASTIC = "elastic";
 
+    /** the maximum number of threads that run the computation of a partition of an elastic feed **/
+    public static final String ELASTIC_MAX_PARALLELISM = "elastic.max.parallelism";
+
     /** logging of statistics **/
     public static final String LOGGING_STATISTICS = "logging.statistics";
 
     public static final long NO_LIMIT = -1;
 
+    private static final int DEFAULT_ELASTIC_MAX_PARALLELISM = 4;
+
     private Map<String, String> feedPolicy;
 
     public Map<String, String> getFeedPolicy() {
@@ -92,6 +97,15 @@ public class FeedPolicyAccessor implements Serializable {
         return getFloatPropertyValue(MAX_FRACTION_DISCARD, 0);
     }
 
+    /** elasticity **/
+    public boolean isElastic() {
+        return getBooleanPropertyValue(ELASTIC, false);
+    }
+
+    public int getElasticMaxParallelism() {
+        return (int) getLongPropertyValue(ELASTIC_MAX_PARALLELISM, DEFAULT_ELASTIC_MAX_PARALLELISM);
+    }
+
     private boolean getBooleanPropertyValue(String key, boolean defValue) {
         String v = feedPolicy.get(key);
         return v == null ? defValue : Boolean.valueOf(v);
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.stream;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.asterix.common.exceptions.ErrorCode;
+import org.apache.asterix.common.exceptions.ExceptionUtils;
+import org.apache.asterix.common.exceptions.RuntimeDataException;
+import org.apache.asterix.external.api.AsterixInputStream;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * The byte counterpart of {@link SemiStructuredRecordReader}. The record start and end must be ASCII characters.
+ */
+public class ByteSemiStructuredRecordReader extends ByteStreamRecordReader {
+
+    private int depth;
+    private boolean prevCharEscape;
+    private boolean inString;
+    private byte recordStart;
+    private byte recordEnd;
+    private int recordNumber = 0;
+
+    @Override
+    public void configure(AsterixInputStream stream, Map<String, String> config) throws HyracksDataException {
+        super.configure(stream);
+        recordStart = getAsciiConfig(config, ExternalDataConstants.KEY_RECORD_START,
+                ExternalDataConstants.DEFAULT_RECORD_START);
+        recordEnd =
+                getAsciiConfig(config, ExternalDataConstants.KEY_RECORD_END, ExternalDataConstants.DEFAULT_RECORD_END);
+    }
+
+    private static byte getAsciiConfig(Map<String, String> config, String key, char defaultValue)
+            throws HyracksDataException {
+        String value = config.get(key);
+        if (value == null) {
+            return (byte) defaultValue;
+        }
+        if (value.length() != 1 || value.charAt(0) > 0x7F) {
+            throw new HyracksDataException(
+                    ExceptionUtils.incorrectParameterMessage(key, ExternalDataConstants.PARAMETER_OF_SIZE_ONE, value));
+        }
+        return (byte) value.charAt(0);
+    }
+
+    public int getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (done) {
+            return false;
+        }
+        record.reset();
+        boolean hasStarted = false;
+        boolean hasFinished = false;
+        prevCharEscape = false;
+        inString = false;
+        depth = 0;
+        do {
+            int startPosn = bufferPosn; // starting from where we left off the last time
+            if (bufferPosn >= bufferLength) {
+                startPosn = bufferPosn = 0;
+                bufferLength = readBuffer();
+                if (bufferLength < 0) {
+                    close();
+                    return false; // EOF
+                }
+            }
+            if (!hasStarted) {
+                for (; bufferPosn < bufferLength; ++bufferPosn) { // search for record begin
+                    byte b = inputBuffer[bufferPosn];
+                    if (b == recordStart) {
+                        startPosn = bufferPosn;
+                        hasStarted = true;
+                        depth = 1;
+                        ++bufferPosn; // at next invocation proceed from following byte
+                        break;
+                    } else if (b != ExternalDataConstants.SPACE && b != ExternalDataConstants.TAB
+                            && b != ExternalDataConstants.BYTE_LF && b != ExternalDataConstants.BYTE_CR) {
+                        // corrupted file. clear the buffer and stop reading
+                        bufferPosn = bufferLength = 0;
+                        throw new RuntimeDataException(ErrorCode.RECORD_READER_MALFORMED_INPUT_STREAM);
+                    }
+                }
+            }
+            if (hasStarted) {
+                for (; bufferPosn < bufferLength; ++bufferPosn) { // search for record end
+                    byte b = inputBuffer[bufferPosn];
+                    if (inString) {
+                        // we are in a string, we only care about the string end
+                        if (b == ExternalDataConstants.QUOTE && !prevCharEscape) {
+                            inString = false;
+                        }
+                        if (prevCharEscape) {
+                            prevCharEscape = false;
+                        } else {
+                            prevCharEscape = b == ExternalDataConstants.ESCAPE;
+                        }
+                    } else if (b == ExternalDataConstants.QUOTE) {
+                        inString = true;
+                    } else if (b == recordStart) {
+                        depth += 1;
+                    } else if (b == recordEnd) {
+                        depth -= 1;
+                        if (depth == 0) {
+                            hasFinished = true;
+                            ++bufferPosn; // at next invocation proceed from following byte
+                            break;
+                        }
+                    }
+                }
+            }
+
+            int appendLength = bufferPosn - startPosn;
+            if (appendLength > 0) {
+                try {
+                    record.append(inputBuffer, startPosn, appendLength);
+                } catch (IOException e) {
+                    bufferPosn = bufferLength = 0;
+                    throw new RuntimeDataException(ErrorCode.RECORD_READER_MALFORMED_INPUT_STREAM);
+                }
+            }
+        } while (!hasFinished);
+        record.endRecord();
+        recordNumber++;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.stream;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.asterix.external.api.AsterixInputStream;
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.api.IRecordReader;
+import org.apache.asterix.external.api.IStreamNotificationHandler;
+import org.apache.asterix.external.dataflow.AbstractFeedDataFlowController;
+import org.apache.asterix.external.input.record.ByteArrayRecord;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.external.util.FeedLogManager;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * The byte counterpart of {@link StreamRecordReader}. Records are cut from the UTF-8 bytes of the stream without
+ * decoding them, which is possible because the characters that separate records are ASCII and the bytes of ASCII
+ * characters never occur inside the encoding of another character.
+ */
+public abstract class ByteStreamRecordReader implements IRecordReader<byte[]>, IStreamNotificationHandler {
+    protected AsterixInputStream stream;
+    protected ByteArrayRecord record;
+    protected byte[] inputBuffer;
+    protected int bufferLength = 0;
+    protected int bufferPosn = 0;
+    protected boolean done = false;
+    protected FeedLogManager feedLogManager;
+
+    public void configure(AsterixInputStream inputStream) {
+        this.stream = inputStream;
+        record = new ByteArrayRecord();
+        inputBuffer = new byte[ExternalDataConstants.DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Fills the input buffer from the stream.
+     *
+     * @return the number of bytes read, or -1 at the end of the stream
+     */
+    protected int readBuffer() throws IOException {
+        int len;
+        do {
+            len = stream.read(inputBuffer, 0, inputBuffer.length);
+        } while (len == 0);
+        return len;
+    }
+
+    @Override
+    public IRawRecord<byte[]> next() throws IOException {
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!done) {
+            stream.close();
+        }
+        done = true;
+    }
+
+    @Override
+    public boolean stop() {
+        try {
+            stream.stop();
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public void setFeedLogManager(FeedLogManager feedLogManager) throws HyracksDataException {
+        this.feedLogManager = feedLogManager;
+        stream.setFeedLogManager(feedLogManager);
+    }
+
+    @Override
+    public void setController(AbstractFeedDataFlowController controller) {
+        stream.setController(controller);
+    }
+
+    @Override
+    public boolean handleException(Throwable th) {
+        return stream.handleException(th);
+    }
+
+    @Override
+    public void notifyNewSource() {
+        throw new UnsupportedOperationException();
+    }
+
+    public abstract void configure(AsterixInputStream inputStream, Map<String, String> config)
+            throws HyracksDataException;
+}
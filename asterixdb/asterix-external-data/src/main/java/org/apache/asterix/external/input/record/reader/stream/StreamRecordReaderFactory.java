@@ -21,6 +21,7 @@ package org.apache.asterix.external.input.record.reader.stream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +51,13 @@ public class StreamRecordReaderFactory implements IRecordReaderFactory<char[]> {
             Collections.unmodifiableList(Arrays.asList(ExternalDataConstants.ALIAS_LOCALFS_ADAPTER,
                     ExternalDataConstants.KEY_ALIAS_ADAPTER_NAME_SOCKET, ExternalDataConstants.KEY_ADAPTER_NAME_SOCKET,
                     ExternalDataConstants.STREAM_SOCKET_CLIENT));
+    private static final Map<Class<?>, Class<? extends ByteStreamRecordReader>> byteRecordReaders = new HashMap<>();
+
+    static {
+        byteRecordReaders.put(LineRecordReader.class, ByteLineRecordReader.class);
+        byteRecordReaders.put(QuotedLineRecordReader.class, ByteQuotedLineRecordReader.class);
+        byteRecordReaders.put(SemiStructuredRecordReader.class, ByteSemiStructuredRecordReader.class);
+    }
 
     @Override
     public DataSourceType getDataSourceType() {
@@ -85,8 +93,29 @@ public class StreamRecordReaderFactory implements IRecordReaderFactory<char[]> {
             throws HyracksDataException, AlgebricksException {
         this.configuration = configuration;
         configureInputStreamFactory(configuration);
-        streamFactory.configure(serviceCtx, configuration);
         recordReaderClazz = StreamRecordReaderProvider.getRecordReaderClazz(configuration);
+        if (streamFactory instanceof LocalFSInputStreamFactory) {
+            configureSplits((LocalFSInputStreamFactory) streamFactory);
+        }
+        streamFactory.configure(serviceCtx, configuration);
+    }
+
+    /**
+     * Local files can be split at the starts of lines for the readers whose records start there: every line is a
+     * record for {@link LineRecordReader}, and a {@link SemiStructuredRecordReader} record starts with the record
+     * start character. Quoted fields may span lines, so {@link QuotedLineRecordReader} input is not split.
+     */
+    private void configureSplits(LocalFSInputStreamFactory localFSFactory) {
+        if (recordReaderClazz == LineRecordReader.class) {
+            localFSFactory.setSplittable(-1);
+        } else if (recordReaderClazz == SemiStructuredRecordReader.class) {
+            String recordStart = configuration.get(ExternalDataConstants.KEY_RECORD_START);
+            char start = recordStart == null || recordStart.isEmpty() ? ExternalDataConstants.DEFAULT_RECORD_START
+                    : recordStart.charAt(0);
+            if (start <= 0x7F) {
+                localFSFactory.setSplittable(start);
+            }
+        }
     }
 
     @Override
@@ -103,6 +132,33 @@ public class StreamRecordReaderFactory implements IRecordReaderFactory<char[]> {
         }
     }
 
+    /**
+     * @return whether the records can be read as UTF-8 bytes by {@link #createByteRecordReader}, which is the case
+     *         when the record reader has a byte counterpart and all the characters it looks for are ASCII
+     */
+    public boolean supportsByteRecords() {
+        return byteRecordReaders.containsKey(recordReaderClazz) && isAscii(ExternalDataConstants.KEY_QUOTE)
+                && isAscii(ExternalDataConstants.KEY_RECORD_START) && isAscii(ExternalDataConstants.KEY_RECORD_END);
+    }
+
+    private boolean isAscii(String key) {
+        String value = configuration.get(key);
+        return value == null || (value.length() == 1 && value.charAt(0) <= 0x7F);
+    }
+
+    public IRecordReader<byte[]> createByteRecordReader(IHyracksTaskContext ctx, int partition)
+            throws HyracksDataException {
+        try {
+            ByteStreamRecordReader byteRecordReader =
+                    byteRecordReaders.get(recordReaderClazz).getConstructor().newInstance();
+            byteRecordReader.configure(streamFactory.createInputStream(ctx, partition), configuration);
+            return byteRecordReader;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException
+                | NoSuchMethodException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
     @Override
     public List<String> getRecordReaderNames() {
         return recordReaderNames;
@@ -21,6 +21,8 @@ package org.apache.asterix.external.input.stream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.ExceptionUtils;
@@ -29,6 +31,7 @@ import org.apache.asterix.external.dataflow.AbstractFeedDataFlowController;
 import org.apache.asterix.external.util.ExternalDataConstants;
 import org.apache.asterix.external.util.FeedLogManager;
 import org.apache.asterix.external.util.FileSystemWatcher;
+import org.apache.asterix.external.util.FileSystemWatcher.FileRange;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -37,13 +40,35 @@ import org.apache.logging.log4j.Logger;
 public class LocalFSInputStream extends AsterixInputStream {
 
     private static final Logger LOGGER = LogManager.getLogger();
+    private static final int BOUNDARY_BUFFER_SIZE = 4096;
     private final FileSystemWatcher watcher;
+    // the size of the ranges the files are split into, or 0 if whole files are read
+    private final long splitSize;
+    // the byte that starts a record at the beginning of a line, or -1 if every line starts a record
+    private final int recordStart;
     private FileInputStream in;
     private byte lastByte;
     private File currentFile;
+    // the number of bytes left in the current range
+    private long remaining;
+    private ByteBuffer boundaryBuffer;
 
     public LocalFSInputStream(FileSystemWatcher watcher) {
+        this(watcher, 0, -1);
+    }
+
+    /**
+     * @param watcher
+     *            the watcher, which may be shared with other streams that read ranges of the same files
+     * @param splitSize
+     *            the size of the ranges the files are split into, or 0 if whole files are read
+     * @param recordStart
+     *            the byte that starts a record at the beginning of a line, or -1 if every line starts a record
+     */
+    public LocalFSInputStream(FileSystemWatcher watcher, long splitSize, int recordStart) {
         this.watcher = watcher;
+        this.splitSize = splitSize;
+        this.recordStart = recordStart;
     }
 
     @Override
@@ -97,6 +122,10 @@ public class LocalFSInputStream extends AsterixInputStream {
      */
     private boolean advance() throws IOException {
         closeFile();
+        if (splitSize > 0) {
+            return openRange(watcher.pollRange(splitSize));
+        }
+        remaining = Long.MAX_VALUE;
         currentFile = watcher.poll();
         if (currentFile == null) {
             if (controller != null) {
@@ -114,6 +143,72 @@ public class LocalFSInputStream extends AsterixInputStream {
         return false;
     }
 
+    /**
+     * Opens a range of a file. The range is moved to the first record boundaries at or after its start and its end,
+     * so that every record is read by the range that it starts in.
+     */
+    private boolean openRange(FileRange range) throws IOException {
+        if (range == null) {
+            return false;
+        }
+        currentFile = range.getFile();
+        in = new FileInputStream(currentFile);
+        FileChannel channel = in.getChannel();
+        long start = findRecordBoundary(channel, range.getStart());
+        long end = range.getEnd() == Long.MAX_VALUE ? Long.MAX_VALUE : findRecordBoundary(channel, range.getEnd());
+        if (start == Long.MAX_VALUE) {
+            remaining = 0;
+        } else {
+            channel.position(start);
+            remaining = end == Long.MAX_VALUE ? Long.MAX_VALUE : end - start;
+        }
+        if (notificationHandler != null && range.getStart() == 0) {
+            notificationHandler.notifyNewSource();
+        }
+        return true;
+    }
+
+    /**
+     * @return the first position at or after {@code position} that follows a line feed (and holds the record start
+     *         byte, if any), or {@link Long#MAX_VALUE} if there is none before the end of the file
+     */
+    private long findRecordBoundary(FileChannel channel, long position) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        if (boundaryBuffer == null) {
+            boundaryBuffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        }
+        long pos = position - 1;
+        boolean afterLF = false;
+        while (true) {
+            boundaryBuffer.clear();
+            int n = channel.read(boundaryBuffer, pos);
+            if (n < 0) {
+                return Long.MAX_VALUE;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = boundaryBuffer.get(i);
+                if (afterLF && (recordStart < 0 || b == recordStart)) {
+                    return pos + i;
+                }
+                afterLF = b == ExternalDataConstants.BYTE_LF;
+            }
+            pos += n;
+        }
+    }
+
+    private int readRange(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int result = in.read(b, off, (int) Math.min(len, remaining));
+        if (result > 0 && remaining != Long.MAX_VALUE) {
+            remaining -= result;
+        }
+        return result;
+    }
+
     @Override
     public int read() throws IOException {
         throw new HyracksDataException(
@@ -127,7 +222,7 @@ public class LocalFSInputStream extends AsterixInputStream {
                 return -1;
             }
         }
-        int result = in.read(b, off, len);
+        int result = readRange(b, off, len);
         while ((result < 0) && advance()) {
             // return a new line at the end of every file <--Might create problems for some cases
             // depending on the parser implementation-->
@@ -137,7 +232,7 @@ public class LocalFSInputStream extends AsterixInputStream {
                 return 1;
             }
             // recursive call
-            result = in.read(b, off, len);
+            result = readRange(b, off, len);
         }
         if (result > 0) {
             lastByte = b[(off + result) - 1];
@@ -22,6 +22,7 @@ import java.net.InetAddress;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -44,6 +45,7 @@ import org.apache.hyracks.api.application.IServiceContext;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.UnmanagedFileSplit;
+import org.apache.hyracks.util.StorageUtil;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -59,6 +61,10 @@ public class LocalFSInputStreamFactory implements IInputStreamFactory {
     protected UnmanagedFileSplit[] inputFileSplits;
     protected boolean isFeed;
     protected String expression;
+    // the byte that starts a record at the beginning of a line (-1 if every line starts a record), if the files can
+    // be split at record boundaries
+    protected Integer splitRecordStart;
+    protected long splitSize;
     // transient fields (They don't need to be serialized and transferred)
     private transient AlgebricksAbsolutePartitionConstraint constraints;
     private transient FileSystemWatcher watcher;
@@ -76,7 +82,7 @@ public class LocalFSInputStreamFactory implements IInputStreamFactory {
             }
             watcher = new FileSystemWatcher(inputResources, expression, isFeed);
         }
-        return new LocalFSInputStream(watcher);
+        return new LocalFSInputStream(watcher, splitSize, splitRecordStart == null ? -1 : splitRecordStart);
     }
 
     @Override
@@ -93,12 +99,35 @@ public class LocalFSInputStreamFactory implements IInputStreamFactory {
     public void configure(IServiceContext serviceCtx, Map<String, String> configuration) throws AsterixException {
         this.configuration = configuration;
         String[] splits = configuration.get(ExternalDataConstants.KEY_PATH).split(",");
+        ICcApplicationContext appCtx = (ICcApplicationContext) serviceCtx.getApplicationContext();
         if (inputFileSplits == null) {
-            configureFileSplits((ICcApplicationContext) serviceCtx.getApplicationContext(), splits);
+            configureFileSplits(appCtx, splits);
         }
-        configurePartitionConstraint();
         this.isFeed = ExternalDataUtils.isFeed(configuration) && ExternalDataUtils.keepDataSourceOpen(configuration);
         this.expression = configuration.get(ExternalDataConstants.KEY_EXPRESSION);
+        String splitSizeValue = configuration.get(ExternalDataConstants.KEY_SPLIT_SIZE);
+        splitSize = 0;
+        if (splitSizeValue != null && splitRecordStart != null && !ExternalDataUtils.isFeed(configuration)) {
+            try {
+                splitSize = StorageUtil.getByteValue(splitSizeValue);
+            } catch (IllegalArgumentException e) {
+                throw new AsterixException("Invalid " + ExternalDataConstants.KEY_SPLIT_SIZE + ": " + splitSizeValue,
+                        e);
+            }
+        }
+        configurePartitionConstraint(appCtx);
+    }
+
+    /**
+     * Lets the files be split into byte ranges when the {@value ExternalDataConstants#KEY_SPLIT_SIZE} parameter is
+     * given. The ranges are aligned to the starts of lines, which must also be the starts of records. Must be called
+     * before {@link #configure}.
+     *
+     * @param recordStart
+     *            the byte that starts a record at the beginning of a line, or -1 if every line starts a record
+     */
+    public void setSplittable(int recordStart) {
+        this.splitRecordStart = recordStart;
     }
 
     @Override
@@ -128,12 +157,24 @@ public class LocalFSInputStreamFactory implements IInputStreamFactory {
 
     }
 
-    private void configurePartitionConstraint() throws AsterixException {
+    private void configurePartitionConstraint(ICcApplicationContext appCtx) throws AsterixException {
         Set<String> locs = new TreeSet<>();
         for (int i = 0; i < inputFileSplits.length; i++) {
             locs.add(inputFileSplits[i].getNodeName());
         }
-        constraints = new AlgebricksAbsolutePartitionConstraint(locs.toArray(new String[locs.size()]));
+        if (splitSize <= 0) {
+            constraints = new AlgebricksAbsolutePartitionConstraint(locs.toArray(new String[locs.size()]));
+            return;
+        }
+        // the ranges of the files of a node are shared by as many readers as the node has partitions
+        List<String> partitions = new ArrayList<>();
+        for (String loc : locs) {
+            int numPartitions = Math.max(appCtx.getClusterStateManager().getNodePartitionsCount(loc), 1);
+            for (int i = 0; i < numPartitions; i++) {
+                partitions.add(loc);
+            }
+        }
+        constraints = new AlgebricksAbsolutePartitionConstraint(partitions.toArray(new String[partitions.size()]));
     }
 
     protected INodeResolver getNodeResolver() {
@@ -24,6 +24,7 @@ import java.util.Map;
 import org.apache.asterix.active.ActiveManager;
 import org.apache.asterix.active.ActiveRuntimeId;
 import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.external.feed.dataflow.ElasticFeedComputeWriter;
 import org.apache.asterix.external.feed.dataflow.FeedRuntimeInputHandler;
 import org.apache.asterix.external.feed.dataflow.SyncFeedRuntimeInputHandler;
 import org.apache.asterix.external.feed.management.FeedConnectionId;
@@ -35,6 +36,7 @@ import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.IActivity;
 import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
 import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
@@ -54,6 +56,11 @@ public class FeedMetaComputeNodePushable extends AbstractUnaryInputUnaryOutputOp
     /** Runtime node pushable corresponding to the core feed operator **/
     private AbstractUnaryInputUnaryOutputOperatorNodePushable coreOperator;
 
+    /** The core feed operator, used to create more runtimes when the feed is elastic **/
+    private final IOperatorDescriptor coreOperatorDesc;
+
+    private final int nPartitions;
+
     /**
      * A policy accessor that ensures dynamic decisions for a feed are taken
      * in accordance with the associated ingestion policy
@@ -99,17 +106,18 @@ public class FeedMetaComputeNodePushable extends AbstractUnaryInputUnaryOutputOp
             Map<String, String> feedPolicyProperties, FeedMetaOperatorDescriptor feedMetaOperatorDescriptor)
             throws HyracksDataException {
         this.ctx = ctx;
-        this.coreOperator = (AbstractUnaryInputUnaryOutputOperatorNodePushable) ((IActivity) coreOperator)
-                .createPushRuntime(ctx, recordDescProvider, partition, nPartitions);
+        this.coreOperatorDesc = coreOperator;
         this.policyAccessor = new FeedPolicyAccessor(feedPolicyProperties);
         this.partition = partition;
+        this.nPartitions = nPartitions;
+        this.recordDescProvider = recordDescProvider;
+        this.coreOperator = createCoreRuntime(ctx);
         this.connectionId = feedConnectionId;
         this.feedManager = (ActiveManager) ((INcApplicationContext) ctx.getJobletContext().getServiceContext()
                 .getApplicationContext()).getActiveManager();
         this.message = new VSizeFrame(ctx);
         TaskUtil.put(HyracksConstants.KEY_MESSAGE, message, ctx);
         this.opDesc = feedMetaOperatorDescriptor;
-        this.recordDescProvider = recordDescProvider;
     }
 
     @Override
@@ -126,8 +134,20 @@ public class FeedMetaComputeNodePushable extends AbstractUnaryInputUnaryOutputOp
     }
 
     private void initializeNewFeedRuntime(ActiveRuntimeId runtimeId) throws Exception {
-        fta = new FrameTupleAccessor(recordDescProvider.getInputRecordDescriptor(opDesc.getActivityId(), 0));
+        RecordDescriptor inputRecordDesc = recordDescProvider.getInputRecordDescriptor(opDesc.getActivityId(), 0);
+        fta = new FrameTupleAccessor(inputRecordDesc);
         FeedPolicyAccessor fpa = policyAccessor;
+        if (fpa.flowControlEnabled() && fpa.isElastic()) {
+            // the number of partitions of a running job is fixed, so an elastic feed adds compute threads instead
+            ElasticFeedComputeWriter elasticWriter = new ElasticFeedComputeWriter(ctx, runtimeId.toString(), writer,
+                    inputRecordDesc, recordDesc, coreOperator, this::createCoreRuntime,
+                    fpa.getElasticMaxParallelism());
+            FeedRuntimeInputHandler inputHandler = new FeedRuntimeInputHandler(ctx, connectionId, runtimeId,
+                    elasticWriter, fpa, fta, feedManager.getFramePool());
+            elasticWriter.setBacklog(inputHandler::getBacklog);
+            writer = inputHandler;
+            return;
+        }
         coreOperator.setOutputFrameWriter(0, writer, recordDesc);
         if (fpa.flowControlEnabled()) {
             writer = new FeedRuntimeInputHandler(ctx, connectionId, runtimeId, coreOperator, fpa, fta,
@@ -137,6 +157,12 @@ public class FeedMetaComputeNodePushable extends AbstractUnaryInputUnaryOutputOp
         }
     }
 
+    private AbstractUnaryInputUnaryOutputOperatorNodePushable createCoreRuntime(IHyracksTaskContext runtimeCtx)
+            throws HyracksDataException {
+        return (AbstractUnaryInputUnaryOutputOperatorNodePushable) ((IActivity) coreOperatorDesc)
+                .createPushRuntime(runtimeCtx, recordDescProvider, partition, nPartitions);
+    }
+
     @Override
     public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
         try {
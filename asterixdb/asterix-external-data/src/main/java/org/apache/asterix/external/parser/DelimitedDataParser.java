@@ -39,6 +39,8 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.dataflow.common.data.parsers.IValueParser;
 import org.apache.hyracks.dataflow.common.data.parsers.IValueParserFactory;
+import org.apache.hyracks.dataflow.common.data.parsers.UTF8StringParserFactory;
+import org.apache.hyracks.dataflow.std.file.ByteFieldCursorForDelimitedDataParser;
 import org.apache.hyracks.dataflow.std.file.FieldCursorForDelimitedDataParser;
 
 public class DelimitedDataParser extends AbstractDataParser implements IStreamDataParser, IRecordDataParser<char[]> {
@@ -52,6 +54,10 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
     private DataOutput fieldValueBufferOutput;
     private IValueParser[] valueParsers;
     private FieldCursorForDelimitedDataParser cursor;
+    private ByteFieldCursorForDelimitedDataParser byteCursor;
+    // whether the value parser takes the UTF-8 bytes of a field as they are
+    private boolean[] isUTF8ValueParser;
+    private char[] fieldChars = new char[64];
     private byte[] fieldTypeTags;
     private int[] fldIds;
     private ArrayBackedValueStorage[] nameBuffers;
@@ -64,8 +70,10 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
         this.hasHeader = hasHeader;
         this.recordType = recordType;
         valueParsers = new IValueParser[valueParserFactories.length];
+        isUTF8ValueParser = new boolean[valueParserFactories.length];
         for (int i = 0; i < valueParserFactories.length; ++i) {
             valueParsers[i] = valueParserFactories[i].createValueParser();
+            isUTF8ValueParser[i] = valueParserFactories[i] == UTF8StringParserFactory.INSTANCE;
         }
 
         fieldValueBuffer = new ArrayBackedValueStorage();
@@ -134,17 +142,7 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
             fieldValueBuffer.reset();
 
             try {
-                if (cursor.fStart == cursor.fEnd && recordType.getFieldTypes()[i].getTypeTag() != ATypeTag.STRING
-                        && recordType.getFieldTypes()[i].getTypeTag() != ATypeTag.NULL) {
-                    // if the field is empty and the type is optional, insert
-                    // NULL. Note that string type can also process empty field as an
-                    // empty string
-                    if (!NonTaggedFormatUtil.isOptional(recordType.getFieldTypes()[i])) {
-                        throw new RuntimeDataException(ErrorCode.PARSER_DELIMITED_NONOPTIONAL_NULL, cursor.recordCount,
-                                cursor.fieldCount);
-                    }
-                    fieldValueBufferOutput.writeByte(ATypeTag.SERIALIZED_NULL_TYPE_TAG);
-                } else {
+                if (!writeNullIfEmpty(i, cursor.fStart == cursor.fEnd, cursor.recordCount, cursor.fieldCount)) {
                     fieldValueBufferOutput.writeByte(fieldTypeTags[i]);
                     // Eliminate doule quotes in the field that we are going to parse
                     if (cursor.isDoubleQuoteIncludedInThisField) {
@@ -156,17 +154,89 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
                             fieldValueBufferOutput);
                     areAllNullFields = false;
                 }
-                if (fldIds[i] < 0) {
-                    recBuilder.addField(nameBuffers[i], fieldValueBuffer);
-                } else {
-                    recBuilder.addField(fldIds[i], fieldValueBuffer);
+                addField(i);
+            } catch (IOException e) {
+                throw HyracksDataException.create(e);
+            }
+        }
+    }
+
+    private void parseByteRecord() throws HyracksDataException {
+        recBuilder.reset(recordType);
+        recBuilder.init();
+        areAllNullFields = true;
+
+        for (int i = 0; i < valueParsers.length; ++i) {
+            try {
+                if (!byteCursor.nextField()) {
+                    break;
                 }
+                fieldValueBuffer.reset();
+                if (!writeNullIfEmpty(i, byteCursor.fStart == byteCursor.fEnd, byteCursor.recordCount,
+                        byteCursor.fieldCount)) {
+                    fieldValueBufferOutput.writeByte(fieldTypeTags[i]);
+                    if (byteCursor.isDoubleQuoteIncludedInThisField) {
+                        byteCursor.eliminateDoubleQuote(byteCursor.buffer, byteCursor.fStart,
+                                byteCursor.fEnd - byteCursor.fStart);
+                        byteCursor.fEnd -= byteCursor.doubleQuoteCount;
+                        byteCursor.isDoubleQuoteIncludedInThisField = false;
+                    }
+                    parseValue(i, byteCursor.buffer, byteCursor.fStart, byteCursor.fEnd - byteCursor.fStart);
+                    areAllNullFields = false;
+                }
+                addField(i);
             } catch (IOException e) {
                 throw HyracksDataException.create(e);
             }
         }
     }
 
+    /**
+     * Writes a null for an empty field that is not a string. Note that string type can also process empty field as
+     * an empty string.
+     *
+     * @return whether a null was written
+     */
+    private boolean writeNullIfEmpty(int i, boolean isEmpty, int recordCount, int fieldCount) throws IOException {
+        if (!isEmpty || recordType.getFieldTypes()[i].getTypeTag() == ATypeTag.STRING
+                || recordType.getFieldTypes()[i].getTypeTag() == ATypeTag.NULL) {
+            return false;
+        }
+        if (!NonTaggedFormatUtil.isOptional(recordType.getFieldTypes()[i])) {
+            throw new RuntimeDataException(ErrorCode.PARSER_DELIMITED_NONOPTIONAL_NULL, recordCount, fieldCount);
+        }
+        fieldValueBufferOutput.writeByte(ATypeTag.SERIALIZED_NULL_TYPE_TAG);
+        return true;
+    }
+
+    private void addField(int i) throws HyracksDataException {
+        if (fldIds[i] < 0) {
+            recBuilder.addField(nameBuffers[i], fieldValueBuffer);
+        } else {
+            recBuilder.addField(fldIds[i], fieldValueBuffer);
+        }
+    }
+
+    private void parseValue(int i, byte[] buffer, int start, int length) throws HyracksDataException {
+        if (isUTF8ValueParser[i]) {
+            valueParsers[i].parse(buffer, start, length, fieldValueBufferOutput);
+            return;
+        }
+        // the other values are expected to be ASCII, which is widened to characters as it is
+        if (fieldChars.length < length) {
+            fieldChars = new char[Math.max(length, fieldChars.length * 2)];
+        }
+        for (int j = 0; j < length; j++) {
+            byte b = buffer[start + j];
+            if (b < 0) {
+                valueParsers[i].parse(buffer, start, length, fieldValueBufferOutput);
+                return;
+            }
+            fieldChars[j] = (char) b;
+        }
+        valueParsers[i].parse(fieldChars, 0, length, fieldValueBufferOutput);
+    }
+
     @Override
     public void parse(IRawRecord<? extends char[]> record, DataOutput out) throws HyracksDataException {
         try {
@@ -180,6 +250,27 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
         }
     }
 
+    /**
+     * Parses a record given as UTF-8 bytes. The delimiter and the quote must be ASCII characters.
+     *
+     * @param record
+     *            the buffer holding the record, which ends with a line feed
+     * @param length
+     *            the length of the record
+     * @param out
+     *            the output of the parsed record
+     */
+    public void parse(byte[] record, int length, DataOutput out) throws HyracksDataException {
+        if (byteCursor == null) {
+            byteCursor = new ByteFieldCursorForDelimitedDataParser(fieldDelimiter, quote);
+        }
+        byteCursor.nextRecord(record, length);
+        parseByteRecord();
+        if (!areAllNullFields) {
+            recBuilder.write(out, true);
+        }
+    }
+
     @Override
     public void setInputStream(InputStream in) throws IOException {
         cursor = new FieldCursorForDelimitedDataParser(new InputStreamReader(in), fieldDelimiter, quote);
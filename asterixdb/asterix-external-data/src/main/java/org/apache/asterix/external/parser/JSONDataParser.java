@@ -94,14 +94,37 @@ public class JSONDataParser extends AbstractNestedDataParser<ADMToken>
         try {
             //TODO(wyk): find a way to reset byte[] instead of creating a new parser for each record.
             jsonParser = jsonFactory.createParser(record.get(), 0, record.size());
-            geometryCoParser.reset(jsonParser);
-            nextToken();
-            parseObject(rootType, out);
+            parseRecord(out);
         } catch (IOException e) {
             throw new RuntimeDataException(ErrorCode.RECORD_READER_MALFORMED_INPUT_STREAM, e);
         }
     }
 
+    /**
+     * Parses a record given as UTF-8 bytes, which Jackson decodes while parsing.
+     *
+     * @param record
+     *            the buffer holding the record
+     * @param length
+     *            the length of the record
+     * @param out
+     *            the output of the parsed record
+     */
+    public final void parse(byte[] record, int length, DataOutput out) throws HyracksDataException {
+        try {
+            jsonParser = jsonFactory.createParser(record, 0, length);
+            parseRecord(out);
+        } catch (IOException e) {
+            throw new RuntimeDataException(ErrorCode.RECORD_READER_MALFORMED_INPUT_STREAM, e);
+        }
+    }
+
+    private void parseRecord(DataOutput out) throws IOException {
+        geometryCoParser.reset(jsonParser);
+        nextToken();
+        parseObject(rootType, out);
+    }
+
     @Override
     public void setInputStream(InputStream in) throws IOException {
         setInput(jsonFactory.createParser(in));
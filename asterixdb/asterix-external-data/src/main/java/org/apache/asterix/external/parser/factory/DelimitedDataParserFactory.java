@@ -61,6 +61,25 @@ public class DelimitedDataParserFactory extends AbstractRecordStreamParserFactor
         return char[].class;
     }
 
+    /**
+     * Records can be parsed as UTF-8 bytes when the delimiter and the quote are ASCII characters.
+     */
+    @Override
+    public boolean supportsByteRecords() {
+        return isAscii(configuration.get(ExternalDataConstants.KEY_DELIMITER))
+                && isAscii(configuration.get(ExternalDataConstants.KEY_QUOTE));
+    }
+
+    private static boolean isAscii(String value) {
+        return value == null || (value.length() == 1 && value.charAt(0) <= 0x7F);
+    }
+
+    @Override
+    public IRecordDataParser<byte[]> createByteRecordParser(IHyracksTaskContext ctx) throws HyracksDataException {
+        DelimitedDataParser parser = createParser();
+        return (record, out) -> parser.parse(record.get(), record.size(), out);
+    }
+
     @Override
     public IStreamDataParser createInputStreamParser(IHyracksTaskContext ctx, int partition)
             throws HyracksDataException {
@@ -83,6 +83,17 @@ public class JSONDataParserFactory extends AbstractRecordStreamParserFactory<cha
         return char[].class;
     }
 
+    @Override
+    public boolean supportsByteRecords() {
+        return true;
+    }
+
+    @Override
+    public IRecordDataParser<byte[]> createByteRecordParser(IHyracksTaskContext ctx) throws HyracksDataException {
+        JSONDataParser parser = createParser();
+        return (record, out) -> parser.parse(record.get(), record.size(), out);
+    }
+
     private JSONDataParser createParser() throws HyracksDataException {
         return new JSONDataParser(recordType, jsonFactory);
     }
@@ -46,6 +46,7 @@ import org.apache.asterix.external.dataflow.FeedWithMetaDataFlowController;
 import org.apache.asterix.external.dataflow.IndexingDataFlowController;
 import org.apache.asterix.external.dataflow.RecordDataFlowController;
 import org.apache.asterix.external.dataflow.StreamDataFlowController;
+import org.apache.asterix.external.input.record.reader.stream.StreamRecordReaderFactory;
 import org.apache.asterix.external.util.ExternalDataUtils;
 import org.apache.asterix.external.util.FeedLogManager;
 import org.apache.asterix.om.types.ARecordType;
@@ -64,8 +65,14 @@ public class DataflowControllerProvider {
             switch (dataSourceFactory.getDataSourceType()) {
                 case RECORDS:
                     IRecordReaderFactory<?> recordReaderFactory = (IRecordReaderFactory<?>) dataSourceFactory;
-                    IRecordReader<?> recordReader = recordReaderFactory.createRecordReader(ctx, partition);
                     IRecordDataParserFactory<?> recordParserFactory = (IRecordDataParserFactory<?>) dataParserFactory;
+                    if (!indexingOp && !isFeed && supportsByteRecords(recordReaderFactory, recordParserFactory)) {
+                        // read and parse the records as UTF-8 bytes instead of decoding them into characters
+                        StreamRecordReaderFactory streamReaderFactory = (StreamRecordReaderFactory) recordReaderFactory;
+                        return new RecordDataFlowController<>(ctx, recordParserFactory.createByteRecordParser(ctx),
+                                streamReaderFactory.createByteRecordReader(ctx, partition), 1);
+                    }
+                    IRecordReader<?> recordReader = recordReaderFactory.createRecordReader(ctx, partition);
                     IRecordDataParser<?> dataParser = recordParserFactory.createRecordParser(ctx);
                     if (indexingOp) {
                         return new IndexingDataFlowController(ctx, dataParser, recordReader,
@@ -111,4 +118,11 @@ public class DataflowControllerProvider {
             throw HyracksDataException.create(e);
         }
     }
+
+    private static boolean supportsByteRecords(IRecordReaderFactory<?> recordReaderFactory,
+            IRecordDataParserFactory<?> recordParserFactory) {
+        return recordReaderFactory instanceof StreamRecordReaderFactory
+                && ((StreamRecordReaderFactory) recordReaderFactory).supportsByteRecords()
+                && recordParserFactory.supportsByteRecords();
+    }
 }
@@ -59,6 +59,8 @@ public class ExternalDataConstants {
     public static final String KEY_RECORD_START = "record-start";
     public static final String KEY_RECORD_END = "record-end";
     public static final String KEY_EXPRESSION = "expression";
+    // the size of the byte ranges that large local files are split into for reading them in parallel
+    public static final String KEY_SPLIT_SIZE = "split-size";
     public static final String KEY_LOCAL_SOCKET_PATH = "local-socket-path";
     public static final String KEY_FORMAT = "format";
     public static final String KEY_QUOTE = "quote";
@@ -54,6 +54,9 @@ public class FileSystemWatcher {
     private final boolean isFeed;
     private boolean done;
     private final LinkedList<Path> dirs;
+    // the file whose ranges are being handed out and the start of its next range
+    private File rangeFile;
+    private long rangeStart;
 
     public FileSystemWatcher(List<Path> inputResources, String expression, boolean isFeed) throws HyracksDataException {
         this.isFeed = isFeed;
@@ -220,6 +223,65 @@ public class FileSystemWatcher {
         return null;
     }
 
+    /**
+     * Hands out the files one byte range at a time, so that the readers sharing this watcher read the ranges of a
+     * file in parallel. All the ranges of a file are handed out before the next file. Not supported for feeds.
+     *
+     * @param splitSize
+     *            the size of the ranges. The last range of a file extends to the end of the file.
+     * @return the next range, or null if there are no more files
+     */
+    public synchronized FileRange pollRange(long splitSize) throws IOException {
+        if (isFeed) {
+            throw new IllegalStateException("Files of a feed are not split");
+        }
+        if (rangeFile == null) {
+            rangeFile = poll();
+            rangeStart = 0;
+            if (rangeFile == null) {
+                return null;
+            }
+        }
+        if (splitSize >= rangeFile.length() - rangeStart) {
+            FileRange range = new FileRange(rangeFile, rangeStart, Long.MAX_VALUE);
+            rangeFile = null;
+            return range;
+        }
+        FileRange range = new FileRange(rangeFile, rangeStart, rangeStart + splitSize);
+        rangeStart += splitSize;
+        return range;
+    }
+
+    /**
+     * A byte range of a file. The range is cut at an arbitrary offset; a reader aligns it to record boundaries.
+     */
+    public static class FileRange {
+        private final File file;
+        private final long start;
+        private final long end;
+
+        private FileRange(File file, long start, long end) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return the end of the range (exclusive), which is {@link Long#MAX_VALUE} for the last range of a file
+         */
+        public long getEnd() {
+            return end;
+        }
+    }
+
     // take is blocking
     public File take() throws IOException {
         File next = poll();
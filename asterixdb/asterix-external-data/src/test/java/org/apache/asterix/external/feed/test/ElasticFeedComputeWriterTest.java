@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.feed.test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.asterix.external.feed.dataflow.ElasticFeedComputeWriter;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.test.FrameWriterTestUtils;
+import org.apache.hyracks.api.test.TestFrameWriter;
+import org.apache.hyracks.api.util.HyracksConstants;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.utils.TaskUtil;
+import org.apache.hyracks.dataflow.std.base.AbstractUnaryInputUnaryOutputOperatorNodePushable;
+import org.apache.hyracks.test.support.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ElasticFeedComputeWriterTest {
+
+    private static final int FRAME_SIZE = 32768;
+    private static final int MAX_PARALLELISM = 3;
+    // the number of consecutive checks without backlog after which a worker is removed
+    private static final int IDLE_CHECKS_BEFORE_SCALE_DOWN = 10;
+    private static final RecordDescriptor RECORD_DESC =
+            new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+
+    private final IHyracksTaskContext ctx = TestUtils.create(FRAME_SIZE);
+    private final TestFrameWriter output = FrameWriterTestUtils.create();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicInteger computedFrames = new AtomicInteger();
+    private final List<TestComputeRuntime> workerRuntimes = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void scaleUpAndDown() throws Exception {
+        TestComputeRuntime primary = new TestComputeRuntime(null, false);
+        ElasticFeedComputeWriter writer = createWriter(primary, () -> new TestComputeRuntime(null, false));
+        writer.open();
+        int sent = 0;
+        // each frame checks the backlog and adds a worker, up to the maximum
+        backlog.set(100);
+        for (int i = 0; i < 2 * MAX_PARALLELISM; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            sent++;
+        }
+        Assert.assertEquals(MAX_PARALLELISM, writer.getParallelism());
+        Assert.assertEquals(MAX_PARALLELISM - 1, workerRuntimes.size());
+        // a backlog that the threads keep up with changes nothing
+        backlog.set(MAX_PARALLELISM);
+        for (int i = 0; i < 2 * IDLE_CHECKS_BEFORE_SCALE_DOWN; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            sent++;
+        }
+        Assert.assertEquals(MAX_PARALLELISM, writer.getParallelism());
+        // without backlog, the workers are removed one by one
+        backlog.set(0);
+        for (int i = 0; i < IDLE_CHECKS_BEFORE_SCALE_DOWN; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            sent++;
+        }
+        Assert.assertEquals(MAX_PARALLELISM - 1, writer.getParallelism());
+        for (int i = 0; i < IDLE_CHECKS_BEFORE_SCALE_DOWN * (MAX_PARALLELISM - 2); i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            sent++;
+        }
+        Assert.assertEquals(1, writer.getParallelism());
+        // the retired workers closed their runtimes without failing them
+        for (TestComputeRuntime runtime : workerRuntimes) {
+            Assert.assertTrue(runtime.closed.await(10, TimeUnit.SECONDS));
+            Assert.assertFalse(runtime.failed);
+        }
+        // and a new backlog adds a new worker
+        backlog.set(100);
+        writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+        sent++;
+        Assert.assertEquals(2, writer.getParallelism());
+        Assert.assertEquals(MAX_PARALLELISM, workerRuntimes.size());
+        writer.close();
+        Assert.assertEquals(sent, computedFrames.get());
+        Assert.assertEquals(sent, output.nextFrameCount());
+        Assert.assertEquals(1, output.openCount());
+        Assert.assertEquals(0, output.failCount());
+        Assert.assertEquals(1, output.closeCount());
+        Assert.assertTrue(primary.isClosed());
+    }
+
+    @Test
+    public void workersHaveTheirOwnTaskState() throws Exception {
+        TaskUtil.put(HyracksConstants.KEY_MESSAGE, new Object(), ctx);
+        List<IHyracksTaskContext> workerContexts = new CopyOnWriteArrayList<>();
+        ElasticFeedComputeWriter writer = createWriter(new TestComputeRuntime(null, false), workerCtx -> {
+            workerContexts.add(workerCtx);
+            return new TestComputeRuntime(null, false);
+        });
+        writer.open();
+        backlog.set(100);
+        writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+        writer.close();
+        Assert.assertEquals(1, workerContexts.size());
+        IHyracksTaskContext workerCtx = workerContexts.get(0);
+        Assert.assertNotSame(ctx, workerCtx);
+        Assert.assertNull(TaskUtil.get(HyracksConstants.KEY_MESSAGE, workerCtx));
+        Assert.assertNotNull(TaskUtil.get(HyracksConstants.KEY_MESSAGE, ctx));
+        Assert.assertEquals(ctx.getTaskAttemptId(), workerCtx.getTaskAttemptId());
+    }
+
+    @Test(timeout = 60000)
+    public void closeComputesTheQueuedFrames() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TestComputeRuntime primary = new TestComputeRuntime(null, false);
+        ElasticFeedComputeWriter writer = createWriter(primary, () -> new TestComputeRuntime(release, false));
+        writer.open();
+        backlog.set(100);
+        // the workers are blocked, so the frames back up in the queue and then are computed by the primary
+        int sent = 0;
+        for (int i = 0; i < 4 * MAX_PARALLELISM; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            sent++;
+        }
+        Assert.assertEquals(MAX_PARALLELISM, writer.getParallelism());
+        release.countDown();
+        writer.close();
+        Assert.assertEquals(sent, computedFrames.get());
+        Assert.assertEquals(sent, output.nextFrameCount());
+        Assert.assertEquals(0, output.failCount());
+        Assert.assertEquals(1, output.closeCount());
+        for (TestComputeRuntime runtime : workerRuntimes) {
+            Assert.assertTrue(runtime.isClosed());
+            Assert.assertFalse(runtime.failed);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void workerFailure() throws Exception {
+        TestComputeRuntime primary = new TestComputeRuntime(null, false);
+        ElasticFeedComputeWriter writer = createWriter(primary, () -> new TestComputeRuntime(null, true));
+        writer.open();
+        backlog.set(100);
+        HyracksDataException failure = null;
+        while (failure == null) {
+            try {
+                writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+            } catch (HyracksDataException e) {
+                failure = e;
+            }
+        }
+        Assert.assertEquals(TestComputeRuntime.FAILURE, failure.getCause().getMessage());
+        assertCloseFails(writer, primary);
+    }
+
+    @Test(timeout = 60000)
+    public void closeDoesNotWaitForFailedWorkers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TestComputeRuntime primary = new TestComputeRuntime(null, false);
+        ElasticFeedComputeWriter writer = createWriter(primary, () -> new TestComputeRuntime(release, true));
+        writer.open();
+        backlog.set(100);
+        // fill the work queue while the workers are blocked
+        for (int i = 0; i < 4 * MAX_PARALLELISM; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+        }
+        Assert.assertEquals(MAX_PARALLELISM, writer.getParallelism());
+        // then all the workers fail, leaving the queue full
+        release.countDown();
+        for (TestComputeRuntime runtime : workerRuntimes) {
+            Assert.assertTrue(runtime.closed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(runtime.failed);
+        }
+        assertCloseFails(writer, primary);
+    }
+
+    @Test(timeout = 60000)
+    public void failStopsTheWorkersBeforeTheOutput() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TestComputeRuntime primary = new TestComputeRuntime(null, false);
+        ElasticFeedComputeWriter writer = createWriter(primary, () -> new TestComputeRuntime(release, false));
+        writer.open();
+        backlog.set(100);
+        for (int i = 0; i < 4 * MAX_PARALLELISM; i++) {
+            writer.nextFrame(ByteBuffer.allocate(FRAME_SIZE));
+        }
+        Assert.assertEquals(MAX_PARALLELISM, writer.getParallelism());
+        // the input fails while the workers are still computing
+        CompletableFuture<Void> failed = CompletableFuture.runAsync(() -> {
+            try {
+                writer.fail();
+            } catch (HyracksDataException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertEquals(0, output.failCount());
+        release.countDown();
+        failed.get();
+        for (TestComputeRuntime runtime : workerRuntimes) {
+            Assert.assertTrue(runtime.isClosed());
+            Assert.assertTrue(runtime.failed);
+        }
+        Assert.assertTrue(primary.failed);
+        Assert.assertEquals(1, output.failCount());
+        // nothing reaches the output after it failed
+        final int frames = output.nextFrameCount();
+        writer.close();
+        Assert.assertEquals(frames, output.nextFrameCount());
+        Assert.assertTrue(primary.isClosed());
+        Assert.assertEquals(1, output.closeCount());
+    }
+
+    private void assertCloseFails(ElasticFeedComputeWriter writer, TestComputeRuntime primary) {
+        try {
+            writer.close();
+            Assert.fail("close did not report the failure of the worker");
+        } catch (HyracksDataException e) {
+            Assert.assertEquals(TestComputeRuntime.FAILURE, e.getCause().getMessage());
+        }
+        // the primary runtime fails the shared output before closing it
+        Assert.assertTrue(primary.failed);
+        Assert.assertTrue(primary.isClosed());
+        Assert.assertEquals(1, output.failCount());
+        Assert.assertEquals(1, output.closeCount());
+    }
+
+    private ElasticFeedComputeWriter createWriter(TestComputeRuntime primary, TestRuntimeSupplier workerRuntime) {
+        return createWriter(primary, workerCtx -> workerRuntime.get());
+    }
+
+    private ElasticFeedComputeWriter createWriter(TestComputeRuntime primary,
+            ElasticFeedComputeWriter.IComputeRuntimeFactory workerRuntimeFactory) {
+        ElasticFeedComputeWriter writer = new ElasticFeedComputeWriter(ctx, "test", output, RECORD_DESC, RECORD_DESC,
+                primary, workerCtx -> {
+                    AbstractUnaryInputUnaryOutputOperatorNodePushable runtime = workerRuntimeFactory.create(workerCtx);
+                    workerRuntimes.add((TestComputeRuntime) runtime);
+                    return runtime;
+                }, MAX_PARALLELISM);
+        writer.setBacklog(backlog::get);
+        // check the backlog on every frame
+        writer.setCheckInterval(0, TimeUnit.NANOSECONDS);
+        return writer;
+    }
+
+    @FunctionalInterface
+    private interface TestRuntimeSupplier {
+        TestComputeRuntime get();
+    }
+
+    /**
+     * Counts the frames it computes and passes them on. Optionally blocks until released and fails every frame.
+     */
+    private class TestComputeRuntime extends AbstractUnaryInputUnaryOutputOperatorNodePushable {
+
+        private static final String FAILURE = "compute failed";
+        private final CountDownLatch release;
+        private final boolean fail;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean failed = false;
+
+        TestComputeRuntime(CountDownLatch release, boolean fail) {
+            this.release = release;
+            this.fail = fail;
+        }
+
+        @Override
+        public void open() throws HyracksDataException {
+            writer.open();
+        }
+
+        @Override
+        public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw HyracksDataException.create(e);
+                }
+            }
+            if (fail) {
+                throw HyracksDataException.create(new IllegalStateException(FAILURE));
+            }
+            computedFrames.incrementAndGet();
+            writer.nextFrame(buffer);
+        }
+
+        @Override
+        public void fail() throws HyracksDataException {
+            failed = true;
+            writer.fail();
+        }
+
+        @Override
+        public void close() throws HyracksDataException {
+            try {
+                writer.close();
+            } finally {
+                closed.countDown();
+            }
+        }
+
+        private boolean isClosed() {
+            return closed.getCount() == 0;
+        }
+    }
+}
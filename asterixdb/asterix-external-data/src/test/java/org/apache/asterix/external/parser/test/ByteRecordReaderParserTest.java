@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.parser.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.asterix.external.input.record.reader.stream.ByteQuotedLineRecordReader;
+import org.apache.asterix.external.input.record.reader.stream.ByteSemiStructuredRecordReader;
+import org.apache.asterix.external.input.record.reader.stream.QuotedLineRecordReader;
+import org.apache.asterix.external.input.record.reader.stream.SemiStructuredRecordReader;
+import org.apache.asterix.external.input.stream.BasicInputStream;
+import org.apache.asterix.external.parser.DelimitedDataParser;
+import org.apache.asterix.external.parser.JSONDataParser;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.external.util.ExternalDataUtils;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Checks that reading and parsing records as UTF-8 bytes gives the same records as reading and parsing characters.
+ */
+public class ByteRecordReaderParserTest {
+
+    private static final String CSV = "1,plain,1.5\r\n" + "2,\"quoted, with a delimiter\",2.5\n"
+            + "3,\"with \"\"doubled\"\" quotes\",3.5\n" + "4,ünïcödé 的 \uD841\uDF0E,4.5\n" + "5,,5.5\n"
+            + "6,last,6.5";
+
+    private static final String JSON = "{\"id\": 1, \"name\": \"plain\"}\n"
+            + "{\"id\": 2, \"name\": \"ünïcödé 的 \uD841\uDF0E\", \"nested\": {\"a\": [1, 2, \"}\"]}}\n"
+            + "  {\"id\": 3, \"name\": \"escaped \\\" quote and \\u00e9\"}";
+
+    @Test
+    public void testDelimited() throws Exception {
+        ARecordType recordType = new ARecordType("csv", new String[] { "id", "name", "score" },
+                new IAType[] { BuiltinType.AINT64, BuiltinType.ASTRING, BuiltinType.ADOUBLE }, true);
+        Map<String, String> config = new HashMap<>();
+        config.put(ExternalDataConstants.KEY_QUOTE, "\"");
+
+        QuotedLineRecordReader charReader = new QuotedLineRecordReader();
+        charReader.configure(stream(CSV), config);
+        DelimitedDataParser charParser = new DelimitedDataParser(
+                ExternalDataUtils.getValueParserFactories(recordType), ',', '"', false, recordType, false);
+        List<byte[]> expected = new ArrayList<>();
+        while (charReader.hasNext()) {
+            expected.add(serialize(out -> charParser.parse(charReader.next(), out)));
+        }
+
+        ByteQuotedLineRecordReader byteReader = new ByteQuotedLineRecordReader();
+        byteReader.configure(stream(CSV), config);
+        DelimitedDataParser byteParser = new DelimitedDataParser(
+                ExternalDataUtils.getValueParserFactories(recordType), ',', '"', false, recordType, false);
+        List<byte[]> actual = new ArrayList<>();
+        while (byteReader.hasNext()) {
+            actual.add(serialize(out -> byteParser.parse(byteReader.next().get(), byteReader.next().size(), out)));
+        }
+        assertSameRecords(6, expected, actual);
+    }
+
+    @Test
+    public void testJSON() throws Exception {
+        ARecordType recordType = new ARecordType("json", new String[] { "id" },
+                new IAType[] { BuiltinType.AINT64 }, true);
+        Map<String, String> config = Collections.emptyMap();
+
+        SemiStructuredRecordReader charReader = new SemiStructuredRecordReader();
+        charReader.configure(stream(JSON), config);
+        JSONDataParser charParser = new JSONDataParser(recordType, new JsonFactory());
+        List<byte[]> expected = new ArrayList<>();
+        while (charReader.hasNext()) {
+            expected.add(serialize(out -> charParser.parse(charReader.next(), out)));
+        }
+
+        ByteSemiStructuredRecordReader byteReader = new ByteSemiStructuredRecordReader();
+        byteReader.configure(stream(JSON), config);
+        JSONDataParser byteParser = new JSONDataParser(recordType, new JsonFactory());
+        List<byte[]> actual = new ArrayList<>();
+        while (byteReader.hasNext()) {
+            actual.add(serialize(out -> byteParser.parse(byteReader.next().get(), byteReader.next().size(), out)));
+        }
+        assertSameRecords(3, expected, actual);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutput out) throws Exception;
+    }
+
+    private static byte[] serialize(RecordWriter writer) throws Exception {
+        ArrayBackedValueStorage storage = new ArrayBackedValueStorage();
+        writer.write(storage.getDataOutput());
+        return Arrays.copyOf(storage.getByteArray(), storage.getLength());
+    }
+
+    private static BasicInputStream stream(String data) {
+        return new BasicInputStream(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertSameRecords(int count, List<byte[]> expected, List<byte[]> actual) {
+        Assert.assertEquals(count, expected.size());
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals("record " + i, expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.metadata.dataset.column;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.utils.NonTaggedFormatUtil;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunction;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.PointableBinaryHashFunctionFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnRow;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredder;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnValueWriter;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+import org.apache.hyracks.util.string.UTF8StringWriter;
+
+/**
+ * Shreds serialized records as written by {@link org.apache.asterix.builders.RecordBuilder}. The closed part (the
+ * header up to the open part, the closed field offsets and the closed values) goes to the unnamed column and every
+ * open field goes to a column named after it. Assembling appends the open fields that were read to the closed part
+ * and rebuilds the open part's hash-sorted offset table.
+ */
+class ARecordColumnShredder implements IColumnShredder {
+    private static final String CLOSED_PART = "";
+    // record tag (1) + record length (4)
+    private static final int LENGTH_OFFSET = 1;
+    private static final int EXPANDED_OFFSET = 5;
+    private static final int OPEN_PART_OFFSET = 6;
+
+    private final boolean isOpen;
+    private final IBinaryHashFunction utf8HashFunction =
+            new PointableBinaryHashFunctionFactory(UTF8StringPointable.FACTORY).createBinaryHashFunction();
+    private final UTF8StringWriter utf8Writer = new UTF8StringWriter();
+    private final ArrayBackedValueStorage openPart = new ArrayBackedValueStorage();
+    private long[] openFieldOffsets = new long[16];
+
+    ARecordColumnShredder(boolean isOpen) {
+        this.isOpen = isOpen;
+    }
+
+    @Override
+    public void shred(byte[] data, int start, int length, IColumnValueWriter writer) throws HyracksDataException {
+        if (!isOpen || data[start + EXPANDED_OFFSET] == 0) {
+            writer.write(CLOSED_PART, data, start, length);
+            return;
+        }
+        int openPartStart = start + IntegerPointable.getInteger(data, start + OPEN_PART_OFFSET);
+        int numOpenFields = IntegerPointable.getInteger(data, openPartStart);
+        for (int i = 0; i < numOpenFields; i++) {
+            if (UTF8StringUtil.getUTFLength(data, getFieldNameOffset(data, start, openPartStart, i)) == 0) {
+                // the unnamed column is taken by the closed part, keep the whole record together
+                writer.write(CLOSED_PART, data, start, length);
+                return;
+            }
+        }
+        writer.write(CLOSED_PART, data, start, openPartStart - start);
+        for (int i = 0; i < numOpenFields; i++) {
+            int nameOffset = getFieldNameOffset(data, start, openPartStart, i);
+            int nameLength = UTF8StringUtil.getUTFLength(data, nameOffset);
+            int valueOffset = nameOffset + nameLength + UTF8StringUtil.getNumBytesToStoreLength(nameLength);
+            int valueLength = NonTaggedFormatUtil.getFieldValueLength(data, valueOffset, ATypeTag.ANY, true);
+            writer.write(UTF8StringUtil.toString(data, nameOffset), data, valueOffset, valueLength);
+        }
+    }
+
+    @Override
+    public void assemble(IColumnRow row, DataOutput out) throws HyracksDataException {
+        int closedColumn = -1;
+        int numOpenFields = 0;
+        openPart.reset();
+        for (int i = 0; i < row.getColumnCount(); i++) {
+            String name = row.getColumnName(i);
+            if (CLOSED_PART.equals(name)) {
+                closedColumn = i;
+                continue;
+            }
+            if (numOpenFields == openFieldOffsets.length) {
+                openFieldOffsets = Arrays.copyOf(openFieldOffsets, numOpenFields * 2);
+            }
+            int nameStart = openPart.getLength();
+            try {
+                UTF8StringUtil.writeUTF8(name, openPart.getDataOutput(), utf8Writer);
+                int hash = utf8HashFunction.hash(openPart.getByteArray(), nameStart, openPart.getLength() - nameStart);
+                openFieldOffsets[numOpenFields++] = ((long) hash << 32) + nameStart;
+                openPart.getDataOutput().write(row.getBytes(i), row.getStart(i), row.getLength(i));
+            } catch (IOException e) {
+                throw HyracksDataException.create(e);
+            }
+        }
+        if (closedColumn < 0) {
+            throw new IllegalStateException("The closed part of the record was not read");
+        }
+        byte[] closed = row.getBytes(closedColumn);
+        int closedStart = row.getStart(closedColumn);
+        int closedLength = row.getLength(closedColumn);
+        try {
+            if (closedLength == IntegerPointable.getInteger(closed, closedStart + LENGTH_OFFSET)) {
+                // the record was stored as a whole
+                out.write(closed, closedStart, closedLength);
+                return;
+            }
+            Arrays.sort(openFieldOffsets, 0, numOpenFields);
+            int openFieldsStart = closedLength + 4 + numOpenFields * 8;
+            out.write(closed, closedStart, LENGTH_OFFSET);
+            out.writeInt(openFieldsStart + openPart.getLength());
+            out.write(closed, closedStart + EXPANDED_OFFSET, closedLength - EXPANDED_OFFSET);
+            out.writeInt(numOpenFields);
+            for (int i = 0; i < numOpenFields; i++) {
+                out.writeInt((int) (openFieldOffsets[i] >> 32));
+                out.writeInt(openFieldsStart + (int) openFieldOffsets[i]);
+            }
+            out.write(openPart.getByteArray(), openPart.getStartOffset(), openPart.getLength());
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private static int getFieldNameOffset(byte[] data, int start, int openPartStart, int field) {
+        // each open field has a hash (4) and an offset (4) after the field count (4)
+        return start + IntegerPointable.getInteger(data, openPartStart + 4 + field * 8 + 4);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.metadata.dataset.column;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IJsonSerializable;
+import org.apache.hyracks.api.io.IPersistedResourceRegistry;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredder;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredderFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Splits the records of a primary index into one column per open field. The closed part of a record is kept in a
+ * single column that is always read, so a projection only decides which open fields are read back.
+ */
+public class ARecordColumnShredderFactory implements IColumnShredderFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int fieldIndex;
+    private final boolean isOpen;
+
+    /**
+     * @param fieldIndex
+     *            the index of the record field in the primary index tuples
+     * @param isOpen
+     *            whether the record type is open
+     */
+    public ARecordColumnShredderFactory(int fieldIndex, boolean isOpen) {
+        this.fieldIndex = fieldIndex;
+        this.isOpen = isOpen;
+    }
+
+    @Override
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    @Override
+    public IColumnShredder createShredder() {
+        return new ARecordColumnShredder(isOpen);
+    }
+
+    @Override
+    public JsonNode toJson(IPersistedResourceRegistry registry) throws HyracksDataException {
+        final ObjectNode json = registry.getClassIdentifier(getClass(), serialVersionUID);
+        json.put("fieldIndex", fieldIndex);
+        json.put("isOpen", isOpen);
+        return json;
+    }
+
+    public static IJsonSerializable fromJson(IPersistedResourceRegistry registry, JsonNode json) {
+        return new ARecordColumnShredderFactory(json.get("fieldIndex").asInt(), json.get("isOpen").asBoolean());
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.asterix.metadata.dataset.hints;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.asterix.common.dataflow.ICcApplicationContext;
@@ -60,6 +61,7 @@ public class DatasetHints {
         Set<IHint> hints = new HashSet<>();
         hints.add(new DatasetCardinalityHint());
         hints.add(new DatasetNodegroupCardinalityHint());
+        hints.add(new DatasetStorageFormatHint());
         return hints;
     }
 
@@ -129,4 +131,40 @@ public class DatasetHints {
 
     }
 
+    /**
+     * Hint representing the layout of the primary index disk components, either row (default) or column.
+     */
+    public static class DatasetStorageFormatHint implements IHint {
+        public static final String NAME = "STORAGE_FORMAT";
+
+        public static final String ROW = "row";
+        public static final String COLUMN = "column";
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public Pair<Boolean, String> validateValue(ICcApplicationContext appCtx, String value) {
+            String format = value.trim();
+            if (ROW.equalsIgnoreCase(format) || COLUMN.equalsIgnoreCase(format)) {
+                return new Pair<>(true, null);
+            }
+            return new Pair<>(false, "Value must be " + ROW + " or " + COLUMN);
+        }
+
+        /**
+         * @return true if the given dataset hints ask for the column layout
+         */
+        public static boolean isColumnFormat(Map<String, String> hints) {
+            for (Map.Entry<String, String> hint : hints.entrySet()) {
+                if (NAME.equalsIgnoreCase(hint.getKey().trim())) {
+                    return COLUMN.equalsIgnoreCase(hint.getValue().trim());
+                }
+            }
+            return false;
+        }
+    }
+
 }
@@ -29,6 +29,8 @@ import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.external.indexing.FilesIndexDescription;
 import org.apache.asterix.external.indexing.IndexingConstants;
 import org.apache.asterix.metadata.api.IResourceFactoryProvider;
+import org.apache.asterix.metadata.dataset.column.ARecordColumnShredderFactory;
+import org.apache.asterix.metadata.dataset.hints.DatasetHints.DatasetStorageFormatHint;
 import org.apache.asterix.metadata.entities.Dataset;
 import org.apache.asterix.metadata.entities.Index;
 import org.apache.asterix.metadata.utils.IndexUtil;
@@ -44,6 +46,7 @@ import org.apache.hyracks.api.dataflow.value.ITypeTraits;
 import org.apache.hyracks.storage.am.common.api.IMetadataPageManagerFactory;
 import org.apache.hyracks.storage.am.lsm.btree.dataflow.ExternalBTreeLocalResourceFactory;
 import org.apache.hyracks.storage.am.lsm.btree.dataflow.ExternalBTreeWithBuddyLocalResourceFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredderFactory;
 import org.apache.hyracks.storage.am.lsm.btree.dataflow.LSMBTreeLocalResourceFactory;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperationCallbackFactory;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperationSchedulerProvider;
@@ -103,12 +106,18 @@ public class BTreeResourceFactoryProvider implements IResourceFactoryProvider {
                 } else {
                     compDecompFactory = NoOpCompressorDecompressorFactory.INSTANCE;
                 }
+                IColumnShredderFactory columnShredderFactory = null;
+                if (index.isPrimaryIndex() && DatasetStorageFormatHint.isColumnFormat(dataset.getHints())) {
+                    // the record follows the primary keys in the primary index
+                    columnShredderFactory =
+                            new ARecordColumnShredderFactory(dataset.getPrimaryKeys().size(), recordType.isOpen());
+                }
 
                 return new LSMBTreeLocalResourceFactory(storageManager, typeTraits, cmpFactories, filterTypeTraits,
                         filterCmpFactories, filterFields, opTrackerFactory, ioOpCallbackFactory,
                         metadataPageManagerFactory, vbcProvider, ioSchedulerProvider, mergePolicyFactory,
                         mergePolicyProperties, true, bloomFilterFields, bloomFilterFalsePositiveRate,
-                        index.isPrimaryIndex(), btreeFields, compDecompFactory);
+                        index.isPrimaryIndex(), btreeFields, compDecompFactory, columnShredderFactory);
             default:
                 throw new CompilationException(ErrorCode.COMPILATION_UNKNOWN_DATASET_TYPE,
                         dataset.getDatasetType().toString());
@@ -44,11 +44,13 @@ import org.apache.hyracks.algebricks.core.algebra.properties.INodeDomain;
 import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenContext;
 import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
 import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.storage.am.btree.dataflow.BTreeSearchOperatorDescriptor;
 import org.apache.hyracks.storage.am.common.api.ITupleFilterFactory;
 
 public class DatasetDataSource extends DataSource {
 
     private final Dataset dataset;
+    private String[] accessedFields;
 
     public DatasetDataSource(DataSourceId id, Dataset dataset, IAType itemType, IAType metaItemType,
             byte datasourceType, IDatasetDetails datasetDetails, INodeDomain datasetDomain) throws AlgebricksException {
@@ -68,6 +70,21 @@ public class DatasetDataSource extends DataSource {
         return dataset;
     }
 
+    /**
+     * @return the names of the record fields that a scan of the dataset reads, or null if it needs whole records
+     */
+    public String[] getAccessedFields() {
+        return accessedFields;
+    }
+
+    /**
+     * Restricts the columns that a scan reads from columnar disk components of the primary index to the given
+     * record fields; null reads whole records.
+     */
+    public void setAccessedFields(String[] accessedFields) {
+        this.accessedFields = accessedFields;
+    }
+
     private void initInternalDataset(IAType itemType, IAType metaItemType, IDatasetDetails datasetDetails)
             throws AlgebricksException {
         InternalDatasetDetails internalDatasetDetails = (InternalDatasetDetails) datasetDetails;
@@ -123,10 +140,15 @@ public class DatasetDataSource extends DataSource {
 
                 int[] minFilterFieldIndexes = createFilterIndexes(minFilterVars, opSchema);
                 int[] maxFilterFieldIndexes = createFilterIndexes(maxFilterVars, opSchema);
-                return metadataProvider.buildBtreeRuntime(jobSpec, opSchema, typeEnv, context, true, false,
-                        ((DatasetDataSource) dataSource).getDataset(), primaryIndex.getIndexName(), null, null, true,
-                        true, false, minFilterFieldIndexes, maxFilterFieldIndexes, tupleFilterFactory, outputLimit,
-                        false);
+                Pair<IOperatorDescriptor, AlgebricksPartitionConstraint> btreeRuntime =
+                        metadataProvider.buildBtreeRuntime(jobSpec, opSchema, typeEnv, context, true, false,
+                                ((DatasetDataSource) dataSource).getDataset(), primaryIndex.getIndexName(), null,
+                                null, true, true, false, minFilterFieldIndexes, maxFilterFieldIndexes,
+                                tupleFilterFactory, outputLimit, false);
+                if (accessedFields != null) {
+                    ((BTreeSearchOperatorDescriptor) btreeRuntime.first).setColumnProjection(accessedFields);
+                }
+                return btreeRuntime;
             default:
                 throw new AlgebricksException("Unknown datasource type");
         }
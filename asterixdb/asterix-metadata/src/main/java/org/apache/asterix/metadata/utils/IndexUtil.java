@@ -34,11 +34,17 @@ import org.apache.asterix.metadata.entities.Dataset;
 import org.apache.asterix.metadata.entities.Index;
 import org.apache.asterix.metadata.entities.InternalDatasetDetails;
 import org.apache.asterix.runtime.job.listener.JobEventListenerFactory;
+import org.apache.asterix.runtime.utils.RuntimeUtils;
+import org.apache.hyracks.algebricks.common.constraints.AlgebricksPartitionConstraintHelper;
 import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.jobgen.impl.ConnectorPolicyAssignmentPolicy;
+import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
 import org.apache.hyracks.api.dataflow.value.ITypeTraits;
 import org.apache.hyracks.api.exceptions.SourceLocation;
 import org.apache.hyracks.api.job.IJobletEventListenerFactory;
 import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.dataflow.std.connectors.OneToOneConnectorDescriptor;
+import org.apache.hyracks.dataflow.std.misc.ReplicateOperatorDescriptor;
 
 public class IndexUtil {
 
@@ -142,6 +148,43 @@ public class IndexUtil {
         return secondaryIndexHelper.buildLoadingJobSpec();
     }
 
+    /**
+     * Checks whether the secondary indexes of a dataset can be loaded together from a single primary index scan, see
+     * {@link #buildSecondaryIndexesLoadingJobSpec(Dataset, List, MetadataProvider, SourceLocation)}.
+     */
+    public static boolean canShareLoadingScan(Dataset dataset) {
+        return dataset.getDatasetType() == DatasetConfig.DatasetType.INTERNAL && !dataset.isCorrelated();
+    }
+
+    /**
+     * Builds a job that loads several secondary indexes of an internal dataset. The primary index is scanned once and
+     * its tuples are replicated to the sort and bulk load pipeline of every index.
+     */
+    public static JobSpecification buildSecondaryIndexesLoadingJobSpec(Dataset dataset, List<Index> indexes,
+            MetadataProvider metadataProvider, SourceLocation sourceLoc) throws AlgebricksException {
+        if (indexes.size() == 1) {
+            return buildSecondaryIndexLoadingJobSpec(dataset, indexes.get(0), metadataProvider, sourceLoc);
+        }
+        JobSpecification spec = RuntimeUtils.createJobSpecification(metadataProvider.getApplicationContext());
+        bindJobEventListener(spec, metadataProvider);
+        // key provider -> primary idx -> replicate -> (index pipeline)+
+        IOperatorDescriptor keyProviderOp = DatasetUtil.createDummyKeyProviderOp(spec, dataset, metadataProvider);
+        IOperatorDescriptor primaryScanOp = DatasetUtil.createPrimaryIndexScanOp(spec, metadataProvider, dataset);
+        spec.connect(new OneToOneConnectorDescriptor(spec), keyProviderOp, 0, primaryScanOp, 0);
+        ReplicateOperatorDescriptor replicateOp = new ReplicateOperatorDescriptor(spec,
+                dataset.getPrimaryRecordDescriptor(metadataProvider), indexes.size());
+        AlgebricksPartitionConstraintHelper.setPartitionConstraintInJobSpec(spec, replicateOp,
+                metadataProvider.getSplitProviderAndConstraints(dataset).second);
+        spec.connect(new OneToOneConnectorDescriptor(spec), primaryScanOp, 0, replicateOp, 0);
+        for (int i = 0; i < indexes.size(); i++) {
+            SecondaryIndexOperationsHelper secondaryIndexHelper = SecondaryIndexOperationsHelper
+                    .createIndexOperationsHelper(dataset, indexes.get(i), metadataProvider, sourceLoc);
+            secondaryIndexHelper.connectLoadingPipeline(spec, replicateOp, i);
+        }
+        spec.setConnectorPolicyAssignmentPolicy(new ConnectorPolicyAssignmentPolicy());
+        return spec;
+    }
+
     public static JobSpecification buildSecondaryIndexCompactJobSpec(Dataset dataset, Index index,
             MetadataProvider metadataProvider, SourceLocation sourceLoc) throws AlgebricksException {
         SecondaryIndexOperationsHelper secondaryIndexHelper =
@@ -135,52 +135,63 @@ public class SecondaryBTreeOperationsHelper extends SecondaryTreeIndexOperations
             IOperatorDescriptor targetOp = DatasetUtil.createPrimaryIndexScanOp(spec, metadataProvider, dataset);
             spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
 
-            sourceOp = targetOp;
-            if (isOverridingKeyFieldTypes && !enforcedItemType.equals(itemType)) {
-                // primary index scan ----> cast assign
-                targetOp = createCastOp(spec, dataset.getDatasetType(), index.isEnforced());
-                spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
-                sourceOp = targetOp;
-            }
-            // primary index OR cast assign ----> assign op
-            targetOp = createAssignOp(spec, index.getKeyFieldNames().size(), secondaryRecDesc);
-            spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
+            connectLoadingPipeline(spec, targetOp, 0);
+            spec.setConnectorPolicyAssignmentPolicy(new ConnectorPolicyAssignmentPolicy());
+            return spec;
+        }
+    }
 
+    @Override
+    public void connectLoadingPipeline(JobSpecification spec, IOperatorDescriptor sourceOp, int sourceOutput)
+            throws AlgebricksException {
+        boolean isOverridingKeyFieldTypes = index.isOverridingKeyFieldTypes();
+        int[] fieldPermutation = createFieldPermutationForBulkLoadOp(index.getKeyFieldNames().size());
+        IIndexDataflowHelperFactory dataflowHelperFactory = new IndexDataflowHelperFactory(
+                metadataProvider.getStorageComponentProvider().getStorageManager(), secondaryFileSplitProvider);
+        IOperatorDescriptor targetOp;
+        if (isOverridingKeyFieldTypes && !enforcedItemType.equals(itemType)) {
+            // primary index scan ----> cast assign
+            targetOp = createCastOp(spec, dataset.getDatasetType(), index.isEnforced());
+            spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, sourceOutput, targetOp, 0);
             sourceOp = targetOp;
-            if (anySecondaryKeyIsNullable || isOverridingKeyFieldTypes) {
-                // if any of the secondary fields are nullable, then add a select op that filters nulls.
-                // assign op ----> select op
-                targetOp = createFilterNullsSelectOp(spec, index.getKeyFieldNames().size(), secondaryRecDesc);
-                spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
-                sourceOp = targetOp;
-            }
-
-            // no need to sort if the index is secondary primary index
-            if (!index.getKeyFieldNames().isEmpty()) {
-                // sort by secondary keys.
-                // assign op OR select op ----> sort op
-                targetOp = createSortOp(spec, secondaryComparatorFactories, secondaryRecDesc);
-                spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
-                sourceOp = targetOp;
-            }
+            sourceOutput = 0;
+        }
+        // primary index OR cast assign ----> assign op
+        targetOp = createAssignOp(spec, index.getKeyFieldNames().size(), secondaryRecDesc);
+        spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, sourceOutput, targetOp, 0);
 
-            // assign op OR select op OR sort op ----> bulk load op
-            targetOp = createTreeIndexBulkLoadOp(spec, fieldPermutation, dataflowHelperFactory,
-                    GlobalConfig.DEFAULT_TREE_FILL_FACTOR);
+        sourceOp = targetOp;
+        if (anySecondaryKeyIsNullable || isOverridingKeyFieldTypes) {
+            // if any of the secondary fields are nullable, then add a select op that filters nulls.
+            // assign op ----> select op
+            targetOp = createFilterNullsSelectOp(spec, index.getKeyFieldNames().size(), secondaryRecDesc);
             spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
-
-            // bulk load op ----> sink op
             sourceOp = targetOp;
-            SinkRuntimeFactory sinkRuntimeFactory = new SinkRuntimeFactory();
-            sinkRuntimeFactory.setSourceLocation(sourceLoc);
-            targetOp = new AlgebricksMetaOperatorDescriptor(spec, 1, 0,
-                    new IPushRuntimeFactory[] { sinkRuntimeFactory }, new RecordDescriptor[] { secondaryRecDesc });
-            spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
+        }
 
-            spec.addRoot(targetOp);
-            spec.setConnectorPolicyAssignmentPolicy(new ConnectorPolicyAssignmentPolicy());
-            return spec;
+        // no need to sort if the index is secondary primary index
+        if (!index.getKeyFieldNames().isEmpty()) {
+            // sort by secondary keys.
+            // assign op OR select op ----> sort op
+            targetOp = createSortOp(spec, secondaryComparatorFactories, secondaryRecDesc);
+            spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
+            sourceOp = targetOp;
         }
+
+        // assign op OR select op OR sort op ----> bulk load op
+        targetOp = createTreeIndexBulkLoadOp(spec, fieldPermutation, dataflowHelperFactory,
+                GlobalConfig.DEFAULT_TREE_FILL_FACTOR);
+        spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
+
+        // bulk load op ----> sink op
+        sourceOp = targetOp;
+        SinkRuntimeFactory sinkRuntimeFactory = new SinkRuntimeFactory();
+        sinkRuntimeFactory.setSourceLocation(sourceLoc);
+        targetOp = new AlgebricksMetaOperatorDescriptor(spec, 1, 0, new IPushRuntimeFactory[] { sinkRuntimeFactory },
+                new RecordDescriptor[] { secondaryRecDesc });
+        spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, targetOp, 0);
+
+        spec.addRoot(targetOp);
     }
 
     @Override
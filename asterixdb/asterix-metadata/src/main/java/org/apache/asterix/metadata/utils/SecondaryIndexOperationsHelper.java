@@ -63,6 +63,7 @@ import org.apache.hyracks.algebricks.runtime.evaluators.ColumnAccessEvalFactory;
 import org.apache.hyracks.algebricks.runtime.operators.meta.AlgebricksMetaOperatorDescriptor;
 import org.apache.hyracks.algebricks.runtime.operators.std.AssignRuntimeFactory;
 import org.apache.hyracks.algebricks.runtime.operators.std.StreamSelectRuntimeFactory;
+import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
 import org.apache.hyracks.api.dataflow.value.ITypeTraits;
@@ -184,6 +185,24 @@ public abstract class SecondaryIndexOperationsHelper {
 
     public abstract JobSpecification buildDropJobSpec(Set<DropOption> options) throws AlgebricksException;
 
+    /**
+     * Connects the operators that load this index from the records of its internal dataset (cast, assign, select,
+     * sort, bulk load and sink) to an output of an operator producing the primary index tuples, and adds the sink as
+     * a root of the job. This lets several indexes of a dataset be loaded from a single primary index scan.
+     *
+     * @param spec
+     *            the loading job
+     * @param sourceOp
+     *            the operator producing the primary index tuples
+     * @param sourceOutput
+     *            the output of {@code sourceOp} to read from
+     */
+    public void connectLoadingPipeline(JobSpecification spec, IOperatorDescriptor sourceOp, int sourceOutput)
+            throws AlgebricksException {
+        throw new UnsupportedOperationException(
+                "Index " + index.getIndexName() + " cannot be loaded from a shared primary index scan");
+    }
+
     protected abstract void setSecondaryRecDescAndComparators() throws AlgebricksException;
 
     protected abstract int getNumSecondaryKeys();
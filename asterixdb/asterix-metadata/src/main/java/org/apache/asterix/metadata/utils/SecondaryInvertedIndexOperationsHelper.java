@@ -215,12 +215,22 @@ public class SecondaryInvertedIndexOperationsHelper extends SecondaryTreeIndexOp
         // Create primary index scan op.
         IOperatorDescriptor primaryScanOp = DatasetUtil.createPrimaryIndexScanOp(spec, metadataProvider, dataset);
 
-        IOperatorDescriptor sourceOp = primaryScanOp;
+        spec.connect(new OneToOneConnectorDescriptor(spec), keyProviderOp, 0, primaryScanOp, 0);
+        connectLoadingPipeline(spec, primaryScanOp, 0);
+        spec.setConnectorPolicyAssignmentPolicy(new ConnectorPolicyAssignmentPolicy());
+        return spec;
+    }
+
+    @Override
+    public void connectLoadingPipeline(JobSpecification spec, IOperatorDescriptor sourceOp, int sourceOutput)
+            throws AlgebricksException {
         boolean isOverridingKeyFieldTypes = index.isOverridingKeyFieldTypes();
         int numSecondaryKeys = index.getKeyFieldNames().size();
         if (isOverridingKeyFieldTypes && !enforcedItemType.equals(itemType)) {
-            sourceOp = createCastOp(spec, dataset.getDatasetType(), index.isEnforced());
-            spec.connect(new OneToOneConnectorDescriptor(spec), primaryScanOp, 0, sourceOp, 0);
+            IOperatorDescriptor castOp = createCastOp(spec, dataset.getDatasetType(), index.isEnforced());
+            spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, sourceOutput, castOp, 0);
+            sourceOp = castOp;
+            sourceOutput = 0;
         }
         AlgebricksMetaOperatorDescriptor asterixAssignOp = createAssignOp(spec, numSecondaryKeys, secondaryRecDesc);
 
@@ -249,8 +259,7 @@ public class SecondaryInvertedIndexOperationsHelper extends SecondaryTreeIndexOp
                 new IPushRuntimeFactory[] { sinkRuntimeFactory }, new RecordDescriptor[] {});
         metaOp.setSourceLocation(sourceLoc);
         // Connect the operators.
-        spec.connect(new OneToOneConnectorDescriptor(spec), keyProviderOp, 0, primaryScanOp, 0);
-        spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, 0, asterixAssignOp, 0);
+        spec.connect(new OneToOneConnectorDescriptor(spec), sourceOp, sourceOutput, asterixAssignOp, 0);
         if (anySecondaryKeyIsNullable || isOverridingKeyFieldTypes) {
             spec.connect(new OneToOneConnectorDescriptor(spec), asterixAssignOp, 0, selectOp, 0);
             spec.connect(new OneToOneConnectorDescriptor(spec), selectOp, 0, tokenizerOp, 0);
@@ -261,8 +270,6 @@ public class SecondaryInvertedIndexOperationsHelper extends SecondaryTreeIndexOp
         spec.connect(new OneToOneConnectorDescriptor(spec), sortOp, 0, invIndexBulkLoadOp, 0);
         spec.connect(new OneToOneConnectorDescriptor(spec), invIndexBulkLoadOp, 0, metaOp, 0);
         spec.addRoot(metaOp);
-        spec.setConnectorPolicyAssignmentPolicy(new ConnectorPolicyAssignmentPolicy());
-        return spec;
     }
 
     private AbstractOperatorDescriptor createTokenizerOp(JobSpecification spec) {
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.dataflow.data.nontagged.keynormalizers;
+
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyProperties;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.utils.NormalizedKeyUtils;
+
+/**
+ * This class wraps the variable-length normalized key computer of a non-tagged value to obtain binary-comparable keys
+ * of tagged values of that type, which may also be MISSING or NULL. The key starts with a marker byte ordering
+ * MISSING before NULL before all other values. For the DESC order, all bytes of the key are inverted, which reverses
+ * the order since the keys are prefix-free.
+ */
+public class AVarLenNormalizedKeyComputerFactory implements IVarLenNormalizedKeyComputerFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte MISSING_MARKER = 1;
+    private static final byte NULL_MARKER = 2;
+    private static final byte VALUE_MARKER = 3;
+
+    // the integer keys are the first bytes of the variable-length keys
+    public static final INormalizedKeyProperties PROPERTIES = new INormalizedKeyProperties() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int getNormalizedKeyLength() {
+            return 1;
+        }
+
+        @Override
+        public boolean isDecisive() {
+            return false;
+        }
+    };
+
+    private final IVarLenNormalizedKeyComputerFactory nkcf;
+    private final boolean ascending;
+
+    public AVarLenNormalizedKeyComputerFactory(IVarLenNormalizedKeyComputerFactory nkcf, boolean ascending) {
+        this.nkcf = nkcf;
+        this.ascending = ascending;
+    }
+
+    @Override
+    public INormalizedKeyComputer createNormalizedKeyComputer() {
+        final IVarLenNormalizedKeyComputer nkc = createVarLenNormalizedKeyComputer();
+        return new INormalizedKeyComputer() {
+            private byte[] key = new byte[0];
+
+            @Override
+            public void normalize(byte[] bytes, int start, int length, int[] normalizedKeys, int keyStart) {
+                int maxLength = nkc.getMaxNormalizedKeyLength(length);
+                if (key.length < maxLength) {
+                    key = new byte[maxLength];
+                }
+                int keyLength = nkc.normalize(bytes, start, length, key, 0);
+                normalizedKeys[keyStart] = NormalizedKeyUtils.getVarLenNormalizedKeyPrefix(key, 0, keyLength);
+            }
+
+            @Override
+            public INormalizedKeyProperties getNormalizedKeyProperties() {
+                return PROPERTIES;
+            }
+        };
+    }
+
+    @Override
+    public INormalizedKeyProperties getNormalizedKeyProperties() {
+        return PROPERTIES;
+    }
+
+    @Override
+    public IVarLenNormalizedKeyComputer createVarLenNormalizedKeyComputer() {
+        final IVarLenNormalizedKeyComputer nkc = nkcf.createVarLenNormalizedKeyComputer();
+        return new IVarLenNormalizedKeyComputer() {
+
+            @Override
+            public int getMaxNormalizedKeyLength(int length) {
+                return 1 + nkc.getMaxNormalizedKeyLength(Math.max(length - 1, 0));
+            }
+
+            @Override
+            public int normalize(byte[] bytes, int start, int length, byte[] target, int targetStart) {
+                int keyLength;
+                byte tag = bytes[start];
+                if (tag == ATypeTag.SERIALIZED_MISSING_TYPE_TAG) {
+                    target[targetStart] = MISSING_MARKER;
+                    keyLength = 1;
+                } else if (tag == ATypeTag.SERIALIZED_NULL_TYPE_TAG) {
+                    target[targetStart] = NULL_MARKER;
+                    keyLength = 1;
+                } else {
+                    // start +1, length -1 is because in ASTERIX data format, there is always a type tag before the value
+                    target[targetStart] = VALUE_MARKER;
+                    keyLength = 1 + nkc.normalize(bytes, start + 1, length - 1, target, targetStart + 1);
+                }
+                if (!ascending) {
+                    for (int i = targetStart, end = targetStart + keyLength; i < end; i++) {
+                        target[i] = (byte) ~target[i];
+                    }
+                }
+                return keyLength;
+            }
+        };
+    }
+}
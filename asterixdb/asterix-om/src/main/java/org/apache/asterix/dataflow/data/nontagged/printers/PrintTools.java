@@ -376,6 +376,126 @@ public class PrintTools {
         os.write('\"');
     }
 
+    /**
+     * Writes UTF-8 encoded text escaped as the content of a JSON string in the same way as
+     * {@link org.apache.hyracks.util.JSONUtil#escape(String)} does. As all escaped characters are ASCII characters,
+     * the text is escaped byte by byte without decoding it.
+     */
+    public static void writeEscapedJSON(byte[] b, int s, int l, OutputStream os) throws IOException {
+        final int end = s + l;
+        int copied = s;
+        for (int i = s; i < end; ++i) {
+            final byte escaped = escapedJSONChar(b[i]);
+            if (escaped != 0) {
+                os.write(b, copied, i - copied);
+                os.write('\\');
+                os.write(escaped);
+                copied = i + 1;
+            }
+        }
+        os.write(b, copied, end - copied);
+    }
+
+    private static byte escapedJSONChar(byte c) {
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case '\b':
+                return 'b';
+            case '\n':
+                return 'n';
+            case '\f':
+                return 'f';
+            case '\r':
+                return 'r';
+            case '\t':
+                return 't';
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Writes a JSON value with one member or item per line, indenting each line with a tab per nesting level plus
+     * one. The layout is the same as Jackson's DefaultPrettyPrinter with such an indenter produces, but the value is
+     * re-indented byte by byte without parsing it. Whitespace outside of strings is replaced.
+     */
+    public static void writeIndentedJSON(byte[] b, int s, int l, OutputStream os) throws IOException {
+        final int end = s + l;
+        int level = 0;
+        boolean inString = false;
+        for (int i = s; i < end; ++i) {
+            final byte c = b[i];
+            if (inString) {
+                os.write(c);
+                if (c == '\\' && i + 1 < end) {
+                    os.write(b[++i]);
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    inString = true;
+                    os.write(c);
+                    break;
+                case '{':
+                case '[':
+                    final int next = skipWhitespace(b, i + 1, end);
+                    os.write(c);
+                    if (next < end && b[next] == (c == '{' ? '}' : ']')) {
+                        // empty object or array
+                        os.write(' ');
+                        os.write(b[next]);
+                        i = next;
+                    } else {
+                        writeIndentation(os, ++level);
+                    }
+                    break;
+                case '}':
+                case ']':
+                    writeIndentation(os, --level);
+                    os.write(c);
+                    break;
+                case ',':
+                    os.write(c);
+                    writeIndentation(os, level);
+                    break;
+                case ':':
+                    os.write(' ');
+                    os.write(c);
+                    os.write(' ');
+                    break;
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                    break;
+                default:
+                    os.write(c);
+                    break;
+            }
+        }
+    }
+
+    private static int skipWhitespace(byte[] b, int s, int end) {
+        int i = s;
+        while (i < end && (b[i] == ' ' || b[i] == '\t' || b[i] == '\n' || b[i] == '\r')) {
+            ++i;
+        }
+        return i;
+    }
+
+    private static void writeIndentation(OutputStream os, int level) throws IOException {
+        os.write('\n');
+        for (int i = 0; i <= level; ++i) {
+            os.write('\t');
+        }
+    }
+
     private static void writeUEscape(OutputStream os, char c) throws IOException {
         os.write('\\');
         os.write('u');
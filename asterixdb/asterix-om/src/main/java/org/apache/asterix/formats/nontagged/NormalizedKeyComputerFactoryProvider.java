@@ -19,17 +19,24 @@
 package org.apache.asterix.formats.nontagged;
 
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AUUIDNormalizedKeyComputerFactory;
+import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AVarLenNormalizedKeyComputerFactory;
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AWrappedAscNormalizedKeyComputerFactory;
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AWrappedDescNormalizedKeyComputerFactory;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.BuiltinType;
 import org.apache.asterix.om.types.IAType;
 import org.apache.hyracks.algebricks.data.INormalizedKeyComputerFactoryProvider;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.ByteArrayNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.DoubleNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.FixedLengthVarLenNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.FloatNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.Integer64NormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.IntegerNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringVarLenNormalizedKeyComputerFactory;
 
 public class NormalizedKeyComputerFactoryProvider implements INormalizedKeyComputerFactoryProvider {
 
@@ -91,4 +98,50 @@ public class NormalizedKeyComputerFactoryProvider implements INormalizedKeyCompu
             }
         }
     }
+
+    @Override
+    public IVarLenNormalizedKeyComputerFactory getVarLenNormalizedKeyComputerFactory(Object typeInfo,
+            boolean ascending) {
+        IAType type = (IAType) typeInfo;
+        if (type.getTypeTag() == ATypeTag.UNION) {
+            // MISSING and NULL values are encoded by the wrapper, any other union has no binary-comparable encoding
+            AUnionType unionType = (AUnionType) type;
+            type = unionType.getActualType();
+            for (IAType memberType : unionType.getUnionList()) {
+                if (memberType != type && !BuiltinType.AMISSING.equals(memberType)
+                        && !BuiltinType.ANULL.equals(memberType)) {
+                    return null;
+                }
+            }
+        }
+        IVarLenNormalizedKeyComputerFactory nkcf;
+        switch (type.getTypeTag()) {
+            case DATE:
+            case TIME:
+            case YEARMONTHDURATION:
+            case INTEGER:
+                nkcf = new FixedLengthVarLenNormalizedKeyComputerFactory(new IntegerNormalizedKeyComputerFactory());
+                break;
+            case DATETIME:
+            case DAYTIMEDURATION:
+            case BIGINT:
+                nkcf = new FixedLengthVarLenNormalizedKeyComputerFactory(new Integer64NormalizedKeyComputerFactory());
+                break;
+            case FLOAT:
+                nkcf = new FixedLengthVarLenNormalizedKeyComputerFactory(new FloatNormalizedKeyComputerFactory());
+                break;
+            case DOUBLE:
+                nkcf = new FixedLengthVarLenNormalizedKeyComputerFactory(new DoubleNormalizedKeyComputerFactory());
+                break;
+            case UUID:
+                nkcf = new FixedLengthVarLenNormalizedKeyComputerFactory(new AUUIDNormalizedKeyComputerFactory());
+                break;
+            case STRING:
+                nkcf = new UTF8StringVarLenNormalizedKeyComputerFactory();
+                break;
+            default:
+                return null;
+        }
+        return new AVarLenNormalizedKeyComputerFactory(nkcf, ascending);
+    }
 }
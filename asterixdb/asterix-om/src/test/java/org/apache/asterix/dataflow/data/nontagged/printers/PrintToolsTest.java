@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.dataflow.data.nontagged.printers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.hyracks.util.JSONUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrintToolsTest {
+
+    @Test
+    public void testIndentedJSON() throws IOException {
+        Assert.assertEquals("{\n\t\t\"a\" : 1,\n\t\t\"b\" : [\n\t\t\t\"x\",\n\t\t\t{ }\n\t\t],\n\t\t\"c\" : [ ]\n\t}",
+                indent("{ \"a\": 1, \"b\": [ \"x\", {  } ], \"c\": [ ] }"));
+        // strings are copied as they are
+        Assert.assertEquals("{\n\t\t\"{a, b}\" : \"[\\\"c\\\": d]\"\n\t}",
+                indent("{ \"{a, b}\": \"[\\\"c\\\": d]\" }"));
+        Assert.assertEquals("\"a, b\"", indent("\"a, b\""));
+        Assert.assertEquals("42", indent("42"));
+    }
+
+    @Test
+    public void testEscapedJSON() throws IOException {
+        final String[] values = { "", "plain", "{ \"a\": \"b/c\" }\r\n", "tab\there\\ \b\f é中" };
+        for (String value : values) {
+            final byte[] bytes = value.getBytes(UTF_8);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PrintTools.writeEscapedJSON(bytes, 0, bytes.length, out);
+            Assert.assertEquals(JSONUtil.escape(value), new String(out.toByteArray(), UTF_8));
+        }
+    }
+
+    private static String indent(String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintTools.writeIndentedJSON(bytes, 0, bytes.length, out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
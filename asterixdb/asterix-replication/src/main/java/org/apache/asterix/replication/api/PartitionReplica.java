@@ -52,13 +52,30 @@ public class PartitionReplica implements IPartitionReplica {
     private static final int INITIAL_BUFFER_SIZE = StorageUtil.getIntSizeInBytes(4, StorageUtil.StorageUnit.KILOBYTE);
     private final INcApplicationContext appCtx;
     private final ReplicaIdentifier id;
+    private final ReplicationStats stats;
     private ByteBuffer reusbaleBuf;
     private PartitionReplicaStatus status = DISCONNECTED;
     private ISocketChannel sc;
 
     public PartitionReplica(ReplicaIdentifier id, INcApplicationContext appCtx) {
+        this(id, appCtx, new ReplicationStats());
+    }
+
+    private PartitionReplica(ReplicaIdentifier id, INcApplicationContext appCtx, ReplicationStats stats) {
         this.id = id;
         this.appCtx = appCtx;
+        this.stats = stats;
+    }
+
+    /**
+     * Creates another connection to this replica, so that files can be sent to it over several connections in
+     * parallel. The files sent over the new connection are counted in the stats of this replica. The caller must
+     * {@link #close()} the new connection.
+     *
+     * @return a replica with its own connection
+     */
+    public PartitionReplica newConnection() {
+        return new PartitionReplica(id, appCtx, stats);
     }
 
     @Override
@@ -123,6 +140,10 @@ public class PartitionReplica implements IPartitionReplica {
         return reusbaleBuf;
     }
 
+    public ReplicationStats getStats() {
+        return stats;
+    }
+
     private JsonNode asJson() {
         ObjectNode json = OBJECT_MAPPER.createObjectNode();
         json.put("id", id.toString());
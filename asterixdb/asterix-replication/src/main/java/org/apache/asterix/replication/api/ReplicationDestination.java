@@ -71,6 +71,15 @@ public class ReplicationDestination implements IReplicationDestination {
         return new HashSet<>(replicas);
     }
 
+    /**
+     * @return the replication stats of all the partition replicas at this destination
+     */
+    public synchronized ReplicationStats getStats() {
+        final ReplicationStats stats = new ReplicationStats();
+        replicas.stream().map(PartitionReplica.class::cast).map(PartitionReplica::getStats).forEach(stats::add);
+        return stats;
+    }
+
     public synchronized Optional<IPartitionReplica> getPartitionReplica(int partition) {
         return replicas.stream().filter(replica -> replica.getIdentifier().getPartition() == partition
                 && replica.getStatus() == IPartitionReplica.PartitionReplicaStatus.IN_SYNC).findAny();
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.replication.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hyracks.util.annotations.ThreadSafe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The number of files and bytes replicated to a replica and the time spent sending them
+ */
+@ThreadSafe
+public class ReplicationStats {
+
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    public void fileReplicated(long size, long elapsedNanos) {
+        files.incrementAndGet();
+        bytes.addAndGet(size);
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    public void add(ReplicationStats other) {
+        files.addAndGet(other.getFiles());
+        bytes.addAndGet(other.getBytes());
+        nanos.addAndGet(other.nanos.get());
+    }
+
+    public long getFiles() {
+        return files.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return the bytes sent per second of sending time. Files sent in parallel add up their sending times, so this
+     *         is the throughput of a single connection
+     */
+    public long getThroughput() {
+        final long elapsedNanos = nanos.get();
+        return elapsedNanos == 0 ? 0 : (long) (bytes.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+    }
+
+    public ObjectNode asJson(ObjectMapper mapper) {
+        final ObjectNode json = mapper.createObjectNode();
+        json.put("files", getFiles());
+        json.put("bytes", getBytes());
+        json.put("throughput", getThroughput());
+        return json;
+    }
+}
@@ -21,7 +21,10 @@ package org.apache.asterix.replication.management;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.asterix.common.api.INcApplicationContext;
 import org.apache.asterix.common.exceptions.ReplicationException;
@@ -42,58 +45,74 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Replicates index files to the registered destinations. The jobs are processed by several processors in parallel.
+ * All the jobs of a partition go to the same processor, so they are replicated in the order they were accepted, over
+ * the connection of the partition's replica. Registering or unregistering a destination waits for the transfers in
+ * progress.
+ */
 public class IndexReplicationManager {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private final IReplicationManager replicationManager;
     private final Set<ReplicationDestination> destinations = new HashSet<>();
-    private final LinkedBlockingQueue<IReplicationJob> replicationJobsQ = new LinkedBlockingQueue<>();
+    private final ReplicationJobsProcessor[] processors;
     private final IReplicationStrategy replicationStrategy;
     private final PersistentLocalResourceRepository resourceRepository;
     private final INcApplicationContext appCtx;
-    private final Object transferLock = new Object();
-    private final Set<ReplicationDestination> failedDest = new HashSet<>();
+    // transfers hold the read lock, changes of the destinations the write lock
+    private final ReadWriteLock transferLock = new ReentrantReadWriteLock();
+    private final Set<ReplicationDestination> failedDest = ConcurrentHashMap.newKeySet();
 
     public IndexReplicationManager(INcApplicationContext appCtx, IReplicationManager replicationManager) {
         this.appCtx = appCtx;
         this.replicationManager = replicationManager;
         this.resourceRepository = (PersistentLocalResourceRepository) appCtx.getLocalResourceRepository();
         replicationStrategy = replicationManager.getReplicationStrategy();
-        appCtx.getThreadExecutor().execute(new ReplicationJobsProcessor());
+        processors = new ReplicationJobsProcessor[appCtx.getReplicationProperties().getReplicationConcurrency()];
+        for (int i = 0; i < processors.length; i++) {
+            processors[i] = new ReplicationJobsProcessor(i);
+            appCtx.getThreadExecutor().execute(processors[i]);
+        }
     }
 
     public void register(ReplicationDestination dest) {
-        synchronized (transferLock) {
+        transferLock.writeLock().lock();
+        try {
             LOGGER.info(() -> "register " + dest);
             destinations.add(dest);
             failedDest.remove(dest);
+        } finally {
+            transferLock.writeLock().unlock();
         }
     }
 
     public void unregister(IReplicationDestination dest) {
-        synchronized (transferLock) {
+        transferLock.writeLock().lock();
+        try {
             LOGGER.info(() -> "unregister " + dest);
             destinations.remove(dest);
             failedDest.remove(dest);
+        } finally {
+            transferLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Called by transfers, i.e. under the read lock, so {@code dest} is still registered
+     */
     private void handleFailure(ReplicationDestination dest, Exception e) {
-        synchronized (transferLock) {
-            if (failedDest.contains(dest)) {
-                return;
-            }
-            LOGGER.error("Replica failed", e);
-            if (destinations.contains(dest)) {
-                failedDest.add(dest);
-            }
-            replicationManager.notifyFailure(dest, e);
+        if (!failedDest.add(dest)) {
+            return;
         }
+        LOGGER.error("Replica failed", e);
+        // unregisters the destination asynchronously, once the transfers in progress release the read lock
+        replicationManager.notifyFailure(dest, e);
     }
 
     public void accept(IReplicationJob job) {
         if (job.getExecutionType() == IReplicationJob.ReplicationExecutionType.ASYNC) {
-            replicationJobsQ.add(job);
+            getProcessor(job).jobsQ.add(job);
             return;
         }
         process(job);
@@ -104,31 +123,45 @@ public class IndexReplicationManager {
             if (skip(job)) {
                 return;
             }
-            synchronized (transferLock) {
-                if (destinations.isEmpty()) {
-                    return;
-                }
-                final IndexSynchronizer synchronizer = new IndexSynchronizer(job, appCtx);
-                final int indexPartition = getJobPartition(job);
-                for (ReplicationDestination dest : destinations) {
-                    try {
-                        Optional<IPartitionReplica> partitionReplica = dest.getPartitionReplica(indexPartition);
-                        if (!partitionReplica.isPresent()) {
-                            continue;
-                        }
-                        PartitionReplica replica = (PartitionReplica) partitionReplica.get();
-                        synchronizer.sync(replica);
-                    } catch (Exception e) {
-                        handleFailure(dest, e);
-                    }
+            final ReplicationJobsProcessor processor = getProcessor(job);
+            synchronized (processor) {
+                transferLock.readLock().lock();
+                try {
+                    transfer(job, processor);
+                } finally {
+                    transferLock.readLock().unlock();
                 }
-                closeChannels();
             }
         } finally {
             afterReplication(job);
         }
     }
 
+    private void transfer(IReplicationJob job, ReplicationJobsProcessor processor) {
+        if (destinations.isEmpty()) {
+            return;
+        }
+        final IndexSynchronizer synchronizer = new IndexSynchronizer(job, appCtx);
+        final int indexPartition = getJobPartition(job);
+        for (ReplicationDestination dest : destinations) {
+            try {
+                Optional<IPartitionReplica> partitionReplica = dest.getPartitionReplica(indexPartition);
+                if (!partitionReplica.isPresent()) {
+                    continue;
+                }
+                PartitionReplica replica = (PartitionReplica) partitionReplica.get();
+                synchronizer.sync(replica);
+            } catch (Exception e) {
+                handleFailure(dest, e);
+            }
+        }
+        processor.closeChannels(destinations);
+    }
+
+    private ReplicationJobsProcessor getProcessor(IReplicationJob job) {
+        return processors[getJobPartition(job) % processors.length];
+    }
+
     private boolean skip(IReplicationJob job) {
         try {
             final DatasetResourceReference indexFileRef =
@@ -143,16 +176,6 @@ public class IndexReplicationManager {
         return ResourceReference.of(job.getAnyFile()).getPartitionNum();
     }
 
-    private void closeChannels() {
-        if (!replicationJobsQ.isEmpty()) {
-            return;
-        }
-        LOGGER.log(Level.INFO, "No pending replication jobs. Closing connections to replicas");
-        for (ReplicationDestination dest : destinations) {
-            dest.getReplicas().stream().map(PartitionReplica.class::cast).forEach(PartitionReplica::close);
-        }
-    }
-
     private static void afterReplication(IReplicationJob job) {
         try {
             if (job.getOperation() == IReplicationJob.ReplicationOperation.REPLICATE
@@ -166,12 +189,33 @@ public class IndexReplicationManager {
 
     private class ReplicationJobsProcessor implements Runnable {
 
+        private final int id;
+        private final LinkedBlockingQueue<IReplicationJob> jobsQ = new LinkedBlockingQueue<>();
+
+        ReplicationJobsProcessor(int id) {
+            this.id = id;
+        }
+
+        /**
+         * Closes the connections to the replicas of the partitions of this processor, if it has no pending jobs
+         */
+        private void closeChannels(Set<ReplicationDestination> jobDestinations) {
+            if (!jobsQ.isEmpty()) {
+                return;
+            }
+            LOGGER.log(Level.INFO, "No pending replication jobs on processor {}. Closing connections to replicas", id);
+            for (ReplicationDestination dest : jobDestinations) {
+                dest.getReplicas().stream().filter(replica -> replica.getIdentifier().getPartition()
+                        % processors.length == id).map(PartitionReplica.class::cast).forEach(PartitionReplica::close);
+            }
+        }
+
         @Override
         public void run() {
-            Thread.currentThread().setName(ReplicationJobsProcessor.class.getSimpleName());
+            Thread.currentThread().setName(ReplicationJobsProcessor.class.getSimpleName() + "-" + id);
             while (!Thread.currentThread().isInterrupted()) {
                 try {
-                    final IReplicationJob job = replicationJobsQ.take();
+                    final IReplicationJob job = jobsQ.take();
                     process(job);
                 } catch (InterruptedException e) {
                     LOGGER.warn(() -> ReplicationJobsProcessor.class.getSimpleName() + " interrupted.", e);
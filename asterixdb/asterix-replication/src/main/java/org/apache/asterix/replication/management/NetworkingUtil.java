@@ -19,7 +19,10 @@
 package org.apache.asterix.replication.management;
 
 import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
@@ -31,12 +34,16 @@ import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SocketChannel;
 import java.util.Enumeration;
+import java.util.zip.CRC32;
 
 import org.apache.hyracks.api.comm.NetworkAddress;
 import org.apache.hyracks.api.network.ISocketChannel;
+import org.apache.hyracks.util.StorageUtil;
 
 public class NetworkingUtil {
 
+    private static final int CHECKSUM_BUFFER_SIZE = StorageUtil.getIntSizeInBytes(64, StorageUtil.StorageUnit.KILOBYTE);
+
     private NetworkingUtil() {
         throw new AssertionError("This util class should not be initialized.");
     }
@@ -78,6 +85,76 @@ public class NetworkingUtil {
         }
     }
 
+    /**
+     * Sends the file in chunks of up to {@code chunkSize} bytes, each followed by its CRC32 checksum
+     */
+    public static void sendFileChunks(FileChannel fileChannel, ISocketChannel socketChannel, int chunkSize)
+            throws IOException {
+        final long fileSize = fileChannel.size();
+        final ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(chunkSize, fileSize) + Long.BYTES);
+        final CRC32 crc = new CRC32();
+        long pos = 0;
+        while (pos < fileSize) {
+            final int length = (int) Math.min(chunkSize, fileSize - pos);
+            chunk.clear();
+            chunk.limit(length);
+            while (chunk.hasRemaining()) {
+                if (fileChannel.read(chunk, pos + chunk.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            crc.reset();
+            crc.update(chunk.array(), 0, length);
+            chunk.limit(length + Long.BYTES);
+            chunk.putLong(crc.getValue());
+            chunk.flip();
+            transferBufferToChannel(socketChannel, chunk);
+            pos += length;
+        }
+        socketChannel.getSocketChannel().socket().getOutputStream().flush();
+    }
+
+    /**
+     * Receives a file of {@code fileSize} bytes sent by {@link #sendFileChunks(FileChannel, ISocketChannel, int)}
+     *
+     * @throws IOException
+     *             if the checksum of a chunk does not match its content
+     */
+    public static void downloadFileChunks(FileChannel fileChannel, ISocketChannel socketChannel, long fileSize,
+            int chunkSize) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(chunkSize, fileSize) + Long.BYTES);
+        final CRC32 crc = new CRC32();
+        long pos = 0;
+        while (pos < fileSize) {
+            final int length = (int) Math.min(chunkSize, fileSize - pos);
+            readBytes(socketChannel, chunk, length + Long.BYTES);
+            crc.reset();
+            crc.update(chunk.array(), 0, length);
+            if (crc.getValue() != chunk.getLong(length)) {
+                throw new IOException("Checksum mismatch in the chunk at offset " + pos);
+            }
+            chunk.limit(length);
+            while (chunk.hasRemaining()) {
+                pos += fileChannel.write(chunk, pos);
+            }
+        }
+    }
+
+    /**
+     * @return the CRC32 checksum of the file content
+     */
+    public static long checksum(File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
     public static String getHostAddress(String hostIPAddressFirstOctet) throws SocketException {
         String hostName = null;
         Enumeration<NetworkInterface> nInterfaces = NetworkInterface.getNetworkInterfaces();
@@ -38,10 +38,13 @@ import org.apache.hyracks.util.annotations.ThreadSafe;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @ThreadSafe
 public class ReplicationManager implements IReplicationManager {
 
     private static final Logger LOGGER = LogManager.getLogger();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final Map<InetSocketAddress, ReplicationDestination> dests = new HashMap<>();
     private final ReplicationProperties replicationProperties;
     private final IReplicationStrategy strategy;
@@ -124,8 +127,16 @@ public class ReplicationManager implements IReplicationManager {
     }
 
     @Override
-    public void dumpState(OutputStream os) {
-        // no op
+    public void dumpState(OutputStream os) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("\n>>dump_begin\t>>----- [Replication] -----\n");
+        synchronized (dests) {
+            for (ReplicationDestination dest : dests.values()) {
+                sb.append(dest).append(": ").append(dest.getStats().asJson(OBJECT_MAPPER)).append('\n');
+            }
+        }
+        sb.append(">>dump_end\t>>----- [Replication] -----\n");
+        os.write(sb.toString().getBytes());
     }
 
     @Override
@@ -22,8 +22,10 @@ import java.io.DataInput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.asterix.replication.api.IReplicationMessage;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
@@ -31,11 +33,19 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 public class PartitionResourcesListResponse implements IReplicationMessage {
 
     private final int partition;
-    private final List<String> resources;
+    private final Map<String, Long> sizes;
+    private final Map<String, Long> checksums;
 
-    public PartitionResourcesListResponse(int partition, List<String> resources) {
+    /**
+     * @param sizes
+     *            the size of each file of the partition
+     * @param checksums
+     *            the checksum of each file of the partition whose checksum was requested
+     */
+    public PartitionResourcesListResponse(int partition, Map<String, Long> sizes, Map<String, Long> checksums) {
         this.partition = partition;
-        this.resources = resources;
+        this.sizes = sizes;
+        this.checksums = checksums;
     }
 
     @Override
@@ -48,26 +58,49 @@ public class PartitionResourcesListResponse implements IReplicationMessage {
         try {
             DataOutputStream dos = new DataOutputStream(out);
             dos.writeInt(partition);
-            dos.writeInt(resources.size());
-            for (String file : resources) {
-                dos.writeUTF(file);
-            }
+            writeFiles(dos, sizes);
+            writeFiles(dos, checksums);
         } catch (IOException e) {
             throw HyracksDataException.create(e);
         }
     }
 
-    public List<String> getResources() {
-        return resources;
+    private static void writeFiles(DataOutputStream dos, Map<String, Long> files) throws IOException {
+        dos.writeInt(files.size());
+        for (Map.Entry<String, Long> file : files.entrySet()) {
+            dos.writeUTF(file.getKey());
+            dos.writeLong(file.getValue());
+        }
     }
 
-    public static PartitionResourcesListResponse create(DataInput input) throws IOException {
-        int partition = input.readInt();
+    private static Map<String, Long> readFiles(DataInput input) throws IOException {
         int size = input.readInt();
-        List<String> resources = new ArrayList<>();
+        Map<String, Long> files = size == 0 ? Collections.emptyMap() : new HashMap<>();
         for (int i = 0; i < size; i++) {
-            resources.add(input.readUTF());
+            files.put(input.readUTF(), input.readLong());
         }
-        return new PartitionResourcesListResponse(partition, resources);
+        return files;
+    }
+
+    public Set<String> getResources() {
+        return sizes.keySet();
+    }
+
+    public long getSize(String file) {
+        return sizes.get(file);
+    }
+
+    /**
+     * @return the checksum of the file, or null if it was not requested
+     */
+    public Long getChecksum(String file) {
+        return checksums.get(file);
+    }
+
+    public static PartitionResourcesListResponse create(DataInput input) throws IOException {
+        int partition = input.readInt();
+        Map<String, Long> sizes = readFiles(input);
+        Map<String, Long> checksums = readFiles(input);
+        return new PartitionResourcesListResponse(partition, sizes, checksums);
     }
-}
\ No newline at end of file
+}
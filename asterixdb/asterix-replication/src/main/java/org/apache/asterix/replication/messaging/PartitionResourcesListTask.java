@@ -20,28 +20,46 @@ package org.apache.asterix.replication.messaging;
 
 import java.io.DataInput;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.asterix.common.api.INcApplicationContext;
 import org.apache.asterix.common.replication.IReplicationStrategy;
 import org.apache.asterix.common.utils.StoragePathUtil;
 import org.apache.asterix.replication.api.IReplicaTask;
 import org.apache.asterix.replication.api.IReplicationWorker;
+import org.apache.asterix.replication.management.NetworkingUtil;
 import org.apache.asterix.transaction.management.resource.PersistentLocalResourceRepository;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
 /**
- * A task to get the list of the files in a partition on a replica
+ * A task to get the list of the files in a partition on a replica, with their sizes and the checksums of the files
+ * that have the same size on the master
  */
 public class PartitionResourcesListTask implements IReplicaTask {
 
     private final int partition;
+    private final Map<String, Long> masterSizes;
 
-    public PartitionResourcesListTask(int partition) {
+    /**
+     * @param masterSizes
+     *            the size on the master of each file whose checksum is requested, or an empty map for no checksums
+     */
+    public PartitionResourcesListTask(int partition, Map<String, Long> masterSizes) {
         this.partition = partition;
+        this.masterSizes = masterSizes;
     }
 
     @Override
@@ -51,13 +69,56 @@ public class PartitionResourcesListTask implements IReplicaTask {
         localResourceRepository.cleanup(partition);
         final IReplicationStrategy replicationStrategy = appCtx.getReplicationManager().getReplicationStrategy();
         final List<String> partitionResources =
-                localResourceRepository.getPartitionReplicatedFiles(partition, replicationStrategy).stream()
-                        .map(StoragePathUtil::getFileRelativePath).collect(Collectors.toList());
+                localResourceRepository.getPartitionReplicatedFiles(partition, replicationStrategy);
+        final Map<String, Long> sizes = new HashMap<>();
+        // a file whose size differs from the master's is sent again anyway, so it isn't worth reading it
+        final Queue<String> checksumFiles = new ConcurrentLinkedQueue<>();
+        for (String resource : partitionResources) {
+            final String file = StoragePathUtil.getFileRelativePath(resource);
+            final long size = new File(resource).length();
+            sizes.put(file, size);
+            final Long masterSize = masterSizes.get(file);
+            if (masterSize != null && masterSize == size) {
+                checksumFiles.add(resource);
+            }
+        }
+        final Map<String, Long> fileChecksums =
+                checksumFiles.isEmpty() ? Collections.emptyMap() : checksumInParallel(checksumFiles, appCtx);
         final PartitionResourcesListResponse response =
-                new PartitionResourcesListResponse(partition, partitionResources);
+                new PartitionResourcesListResponse(partition, sizes, fileChecksums);
         ReplicationProtocol.sendTo(worker.getChannel(), response, worker.getReusableBuffer());
     }
 
+    private static Map<String, Long> checksumInParallel(Queue<String> files, INcApplicationContext appCtx)
+            throws HyracksDataException {
+        final Map<String, Long> fileChecksums = new ConcurrentHashMap<>();
+        final int threads = Math.min(appCtx.getReplicationProperties().getReplicationConcurrency(), files.size());
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(CompletableFuture.runAsync(() -> checksum(files, fileChecksums), appCtx.getThreadExecutor()));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw HyracksDataException.create(e.getCause());
+        }
+        return fileChecksums;
+    }
+
+    private static void checksum(Queue<String> files, Map<String, Long> fileChecksums) {
+        String resource;
+        while ((resource = files.poll()) != null) {
+            try {
+                fileChecksums.put(StoragePathUtil.getFileRelativePath(resource),
+                        NetworkingUtil.checksum(new File(resource)));
+            } catch (IOException e) {
+                // stop the other threads
+                files.clear();
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     @Override
     public ReplicationProtocol.ReplicationRequestType getMessageType() {
         return ReplicationProtocol.ReplicationRequestType.PARTITION_RESOURCES_REQUEST;
@@ -68,6 +129,11 @@ public class PartitionResourcesListTask implements IReplicaTask {
         try {
             DataOutputStream dos = new DataOutputStream(out);
             dos.writeInt(partition);
+            dos.writeInt(masterSizes.size());
+            for (Map.Entry<String, Long> file : masterSizes.entrySet()) {
+                dos.writeUTF(file.getKey());
+                dos.writeLong(file.getValue());
+            }
         } catch (IOException e) {
             throw HyracksDataException.create(e);
         }
@@ -76,7 +142,12 @@ public class PartitionResourcesListTask implements IReplicaTask {
     public static PartitionResourcesListTask create(DataInput input) throws HyracksDataException {
         try {
             int partition = input.readInt();
-            return new PartitionResourcesListTask(partition);
+            int size = input.readInt();
+            Map<String, Long> masterSizes = size == 0 ? Collections.emptyMap() : new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                masterSizes.put(input.readUTF(), input.readLong());
+            }
+            return new PartitionResourcesListTask(partition, masterSizes);
         } catch (IOException e) {
             throw HyracksDataException.create(e);
         }
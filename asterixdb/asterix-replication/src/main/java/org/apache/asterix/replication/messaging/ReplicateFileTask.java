@@ -45,18 +45,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * A task to replicate a file from a master replica
+ * A task to replicate a file from a master replica. The file follows the task in chunks, each followed by its checksum
  */
 public class ReplicateFileTask implements IReplicaTask {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private final String file;
     private final long size;
+    private final int chunkSize;
     private final boolean indexMetadata;
 
-    public ReplicateFileTask(String file, long size, boolean indexMetadata) {
+    public ReplicateFileTask(String file, long size, int chunkSize, boolean indexMetadata) {
         this.file = file;
         this.size = size;
+        this.chunkSize = chunkSize;
         this.indexMetadata = indexMetadata;
     }
 
@@ -72,13 +74,14 @@ public class ReplicateFileTask implements IReplicaTask {
                     StorageConstants.MASK_FILE_PREFIX + localPath.getFile().getName());
             Files.createFile(maskPath);
 
-            // receive actual file
+            // receive actual file, replacing any copy whose content differs from the master's
             final Path filePath = Paths.get(resourceDir.toString(), localPath.getFile().getName());
+            Files.deleteIfExists(filePath);
             Files.createFile(filePath);
             try (RandomAccessFile fileOutputStream = new RandomAccessFile(filePath.toFile(), "rw");
                     FileChannel fileChannel = fileOutputStream.getChannel()) {
                 fileOutputStream.setLength(size);
-                NetworkingUtil.downloadFile(fileChannel, worker.getChannel());
+                NetworkingUtil.downloadFileChunks(fileChannel, worker.getChannel(), size, chunkSize);
                 fileChannel.force(true);
             }
             if (indexMetadata) {
@@ -115,6 +118,7 @@ public class ReplicateFileTask implements IReplicaTask {
             DataOutputStream dos = new DataOutputStream(out);
             dos.writeUTF(file);
             dos.writeLong(size);
+            dos.writeInt(chunkSize);
             dos.writeBoolean(indexMetadata);
         } catch (IOException e) {
             throw HyracksDataException.create(e);
@@ -124,7 +128,8 @@ public class ReplicateFileTask implements IReplicaTask {
     public static ReplicateFileTask create(DataInput input) throws IOException {
         final String s = input.readUTF();
         final long i = input.readLong();
+        final int chunkSize = input.readInt();
         final boolean isMetadata = input.readBoolean();
-        return new ReplicateFileTask(s, i, isMetadata);
+        return new ReplicateFileTask(s, i, chunkSize, isMetadata);
     }
 }
\ No newline at end of file
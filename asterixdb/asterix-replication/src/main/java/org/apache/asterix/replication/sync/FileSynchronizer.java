@@ -53,14 +53,18 @@ public class FileSynchronizer {
             final IIOManager ioManager = appCtx.getIoManager();
             final ISocketChannel channel = replica.getChannel();
             final FileReference filePath = ioManager.resolve(file);
-            ReplicateFileTask task = new ReplicateFileTask(file, filePath.getFile().length(), metadata);
-            ReplicationProtocol.sendTo(replica, task);
-            // send the file itself
+            final int chunkSize = appCtx.getReplicationProperties().getReplicationFileChunkSize();
+            final long startTime = System.nanoTime();
             try (RandomAccessFile fromFile = new RandomAccessFile(filePath.getFile(), "r");
                     FileChannel fileChannel = fromFile.getChannel()) {
-                NetworkingUtil.sendFile(fileChannel, channel);
+                final long size = fileChannel.size();
+                ReplicateFileTask task = new ReplicateFileTask(file, size, chunkSize, metadata);
+                ReplicationProtocol.sendTo(replica, task);
+                // send the file itself
+                NetworkingUtil.sendFileChunks(fileChannel, channel, chunkSize);
+                ReplicationProtocol.waitForAck(replica);
+                replica.getStats().fileReplicated(size, System.nanoTime() - startTime);
             }
-            ReplicationProtocol.waitForAck(replica);
         } catch (IOException e) {
             throw new ReplicationException(e);
         }
@@ -18,29 +18,43 @@
  */
 package org.apache.asterix.replication.sync;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.SocketChannel;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.exceptions.ReplicationException;
 import org.apache.asterix.common.replication.IReplicationStrategy;
+import org.apache.asterix.common.utils.StorageConstants;
 import org.apache.asterix.common.utils.StoragePathUtil;
 import org.apache.asterix.replication.api.PartitionReplica;
+import org.apache.asterix.replication.api.ReplicationStats;
+import org.apache.asterix.replication.management.NetworkingUtil;
 import org.apache.asterix.replication.messaging.PartitionResourcesListResponse;
 import org.apache.asterix.replication.messaging.PartitionResourcesListTask;
 import org.apache.asterix.replication.messaging.ReplicationProtocol;
 import org.apache.asterix.transaction.management.resource.PersistentLocalResourceRepository;
 import org.apache.hyracks.api.network.ISocketChannel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
- * Ensures that the files between master and a replica are synchronized
+ * Ensures that the files between master and a replica are synchronized. The files are sent over several connections
+ * in parallel, and the files that the replica already has are only sent again if their content differs.
  */
 public class ReplicaFilesSynchronizer {
 
+    private static final Logger LOGGER = LogManager.getLogger();
     private final PartitionReplica replica;
     private final INcApplicationContext appCtx;
 
@@ -49,44 +63,129 @@ public class ReplicaFilesSynchronizer {
         this.replica = replica;
     }
 
-    public void sync() throws IOException {
+    /**
+     * @param verifyChecksums
+     *            whether to compare the checksums, and not only the sizes, of the files that the replica already has
+     */
+    public void sync(boolean verifyChecksums) throws IOException {
+        final long startTime = System.nanoTime();
+        final ReplicationStats stats = replica.getStats();
+        final long startFiles = stats.getFiles();
+        final long startBytes = stats.getBytes();
         final int partition = replica.getIdentifier().getPartition();
-        final Set<String> replicaFiles = getReplicaFiles(partition);
         final PersistentLocalResourceRepository localResourceRepository =
                 (PersistentLocalResourceRepository) appCtx.getLocalResourceRepository();
         final IReplicationStrategy replicationStrategy = appCtx.getReplicationManager().getReplicationStrategy();
-        final Set<String> masterFiles =
-                localResourceRepository.getPartitionReplicatedFiles(partition, replicationStrategy).stream()
-                        .map(StoragePathUtil::getFileRelativePath).collect(Collectors.toSet());
-        // find files on master and not on replica
-        final List<String> replicaMissingFiles =
-                masterFiles.stream().filter(file -> !replicaFiles.contains(file)).collect(Collectors.toList());
-        replicateMissingFiles(replicaMissingFiles);
+        final Map<String, File> masterFiles = new HashMap<>();
+        for (String file : localResourceRepository.getPartitionReplicatedFiles(partition, replicationStrategy)) {
+            masterFiles.put(StoragePathUtil.getFileRelativePath(file), new File(file));
+        }
+        final Map<String, Long> masterSizes = new HashMap<>();
+        if (verifyChecksums) {
+            masterFiles.forEach((file, masterFile) -> masterSizes.put(file, masterFile.length()));
+        }
+        final PartitionResourcesListResponse replicaFiles = getReplicaFiles(partition, masterSizes);
+        // find files on master that are not on replica or that differ in size. Those with the same size are left to
+        // the replication streams to compare by checksum
+        final List<String> replicaMissingFiles = masterFiles.entrySet().stream()
+                .filter(file -> !replicaFiles.getResources().contains(file.getKey())
+                        || replicaFiles.getSize(file.getKey()) != file.getValue().length()
+                        || replicaFiles.getChecksum(file.getKey()) != null)
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        replicateMissingFiles(replicaMissingFiles, masterFiles, replicaFiles);
         // find files on replica and not on master
-        final List<String> replicaInvalidFiles =
-                replicaFiles.stream().filter(file -> !masterFiles.contains(file)).collect(Collectors.toList());
+        final List<String> replicaInvalidFiles = replicaFiles.getResources().stream()
+                .filter(file -> !masterFiles.containsKey(file)).collect(Collectors.toList());
         deleteInvalidFiles(replicaInvalidFiles);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        final long sentBytes = stats.getBytes() - startBytes;
+        LOGGER.info("Synced replica {}: sent {} files ({} bytes) and deleted {} files in {} ms ({} bytes/s)", replica,
+                stats.getFiles() - startFiles, sentBytes, replicaInvalidFiles.size(), elapsedMillis,
+                elapsedMillis == 0 ? 0 : sentBytes * 1000 / elapsedMillis);
     }
 
-    private Set<String> getReplicaFiles(int partition) throws IOException {
-        final PartitionResourcesListTask replicaFilesRequest = new PartitionResourcesListTask(partition);
+    private PartitionResourcesListResponse getReplicaFiles(int partition, Map<String, Long> masterSizes)
+            throws IOException {
+        final PartitionResourcesListTask replicaFilesRequest = new PartitionResourcesListTask(partition, masterSizes);
         final ISocketChannel channel = replica.getChannel();
-        final ByteBuffer reusableBuffer = replica.getReusableBuffer();
         ReplicationProtocol.sendTo(replica, replicaFilesRequest);
-        final PartitionResourcesListResponse response =
-                (PartitionResourcesListResponse) ReplicationProtocol.read(channel, reusableBuffer);
-        return new HashSet<>(response.getResources());
+        return (PartitionResourcesListResponse) ReplicationProtocol.read(channel, replica.getReusableBuffer());
     }
 
-    private void replicateMissingFiles(List<String> files) {
-        final FileSynchronizer sync = new FileSynchronizer(appCtx, replica);
-        // sort files to ensure index metadata files starting with "." are replicated first
-        files.sort(String::compareTo);
-        files.forEach(sync::replicate);
+    private void replicateMissingFiles(List<String> files, Map<String, File> masterFiles,
+            PartitionResourcesListResponse replicaFiles) {
+        // index metadata files must be replicated before the other files of their indexes
+        final List<String> metadataFiles = new ArrayList<>();
+        final List<String> componentFiles = new ArrayList<>();
+        for (String file : files) {
+            if (masterFiles.get(file).getName().equals(StorageConstants.METADATA_FILE_NAME)) {
+                metadataFiles.add(file);
+            } else {
+                componentFiles.add(file);
+            }
+        }
+        // start with the largest files so that no connection is left sending a large file after the others are done
+        componentFiles.sort(Comparator.comparingLong((String file) -> masterFiles.get(file).length()).reversed());
+        replicateInParallel(metadataFiles, masterFiles, replicaFiles);
+        replicateInParallel(componentFiles, masterFiles, replicaFiles);
+    }
+
+    private void replicateInParallel(List<String> files, Map<String, File> masterFiles,
+            PartitionResourcesListResponse replicaFiles) {
+        final int connections = Math.min(appCtx.getReplicationProperties().getReplicationConcurrency(), files.size());
+        final Queue<String> pendingFiles = new ConcurrentLinkedQueue<>(files);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            futures.add(CompletableFuture.runAsync(() -> replicate(pendingFiles, masterFiles, replicaFiles),
+                    appCtx.getThreadExecutor()));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ReplicationException) {
+                throw (ReplicationException) e.getCause();
+            }
+            throw new ReplicationException(e.getCause());
+        }
+    }
+
+    private void replicate(Queue<String> pendingFiles, Map<String, File> masterFiles,
+            PartitionResourcesListResponse replicaFiles) {
+        final PartitionReplica connection = replica.newConnection();
+        try {
+            final FileSynchronizer sync = new FileSynchronizer(appCtx, connection);
+            String file;
+            while ((file = pendingFiles.poll()) != null) {
+                if (!hasSameChecksum(file, masterFiles.get(file), replicaFiles)) {
+                    sync.replicate(file);
+                }
+            }
+        } catch (Exception e) {
+            // stop the other connections
+            pendingFiles.clear();
+            throw e;
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return true if the replica's copy of the file has the size and the checksum of the master's, so it is not sent
+     */
+    static boolean hasSameChecksum(String file, File masterFile, PartitionResourcesListResponse replicaFiles) {
+        final Long replicaChecksum = replicaFiles.getChecksum(file);
+        if (replicaChecksum == null || replicaFiles.getSize(file) != masterFile.length()) {
+            return false;
+        }
+        try {
+            return replicaChecksum.longValue() == NetworkingUtil.checksum(masterFile);
+        } catch (IOException e) {
+            throw new ReplicationException(e);
+        }
     }
 
     private void deleteInvalidFiles(List<String> files) {
         final FileSynchronizer sync = new FileSynchronizer(appCtx, replica);
         files.forEach(sync::delete);
     }
-}
\ No newline at end of file
+}
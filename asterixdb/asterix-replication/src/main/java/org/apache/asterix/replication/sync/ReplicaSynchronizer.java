@@ -53,12 +53,12 @@ public class ReplicaSynchronizer {
 
     private void syncFiles() throws IOException {
         final ReplicaFilesSynchronizer fileSync = new ReplicaFilesSynchronizer(appCtx, replica);
-        fileSync.sync();
+        fileSync.sync(true);
         // flush replicated dataset to generate disk component for any remaining in-memory components
         final IReplicationStrategy replStrategy = appCtx.getReplicationManager().getReplicationStrategy();
         appCtx.getDatasetLifecycleManager().flushDataset(replStrategy);
-        // sync any newly generated files
-        fileSync.sync();
+        // sync any newly generated files. The files synced above were verified and disk components are immutable
+        fileSync.sync(false);
     }
 
     private void checkpointReplicaIndexes() throws IOException {
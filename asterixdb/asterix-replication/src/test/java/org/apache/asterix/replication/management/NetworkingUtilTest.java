@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.replication.management;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import org.apache.hyracks.api.network.ISocketChannel;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NetworkingUtilTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    // not a multiple of the chunk size, so that the last chunk is a partial one
+    private static final int FILE_SIZE = 10 * CHUNK_SIZE + 123;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void chunkedTransfer() throws Exception {
+        final File source = createFile(FILE_SIZE);
+        final File target = transfer(source, false);
+        Assert.assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+        Assert.assertEquals(NetworkingUtil.checksum(source), NetworkingUtil.checksum(target));
+    }
+
+    @Test
+    public void chunkedTransferOfSmallFile() throws Exception {
+        final File source = createFile(CHUNK_SIZE / 2);
+        final File target = transfer(source, false);
+        Assert.assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void chunkChecksumMismatch() throws Exception {
+        final File source = createFile(FILE_SIZE);
+        try {
+            transfer(source, true);
+            Assert.fail("the corrupted chunk was accepted");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Checksum mismatch"));
+        }
+    }
+
+    @Test
+    public void fileChecksum() throws Exception {
+        final File file = createFile(FILE_SIZE);
+        final CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        Assert.assertEquals(crc.getValue(), NetworkingUtil.checksum(file));
+        Files.write(file.toPath(), new byte[] { 1 }, StandardOpenOption.APPEND);
+        Assert.assertNotEquals(crc.getValue(), NetworkingUtil.checksum(file));
+    }
+
+    private File createFile(int size) throws IOException {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        final File file = folder.newFile();
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
+    /**
+     * Sends {@code source} in chunks over a loopback connection and returns the received file
+     *
+     * @param corrupt
+     *            whether to flip a bit of the first chunk on its way to the receiver
+     */
+    private File transfer(File source, boolean corrupt) throws Exception {
+        final File target = folder.newFile();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            try (SocketChannel sender = SocketChannel.open(server.getLocalAddress());
+                    SocketChannel receiver = server.accept()) {
+                final CompletableFuture<Void> sent = CompletableFuture.runAsync(() -> {
+                    try (FileChannel fileChannel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+                        NetworkingUtil.sendFileChunks(fileChannel, new TestSocketChannel(sender, corrupt), CHUNK_SIZE);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                try (FileChannel fileChannel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+                    NetworkingUtil.downloadFileChunks(fileChannel, new TestSocketChannel(receiver, false),
+                            source.length(), CHUNK_SIZE);
+                }
+                sent.get();
+            }
+        }
+        return target;
+    }
+
+    private static class TestSocketChannel implements ISocketChannel {
+
+        private final SocketChannel socketChannel;
+        private boolean corrupt;
+
+        TestSocketChannel(SocketChannel socketChannel, boolean corrupt) {
+            this.socketChannel = socketChannel;
+            this.corrupt = corrupt;
+        }
+
+        @Override
+        public boolean requiresHandshake() {
+            return false;
+        }
+
+        @Override
+        public boolean handshake() {
+            return true;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return socketChannel.read(dst);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (corrupt) {
+                corrupt = false;
+                src.put(src.position(), (byte) (src.get(src.position()) ^ 1));
+            }
+            return socketChannel.write(src);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socketChannel.close();
+        }
+
+        @Override
+        public SocketChannel getSocketChannel() {
+            return socketChannel;
+        }
+
+        @Override
+        public boolean isPendingRead() {
+            return false;
+        }
+
+        @Override
+        public boolean isPendingWrite() {
+            return false;
+        }
+
+        @Override
+        public boolean completeWrite() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.replication.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.asterix.replication.management.NetworkingUtil;
+import org.apache.asterix.replication.messaging.PartitionResourcesListResponse;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReplicaFilesSynchronizerTest {
+
+    private static final String SAME = "same";
+    private static final String CHANGED = "changed";
+    private static final String RESIZED = "resized";
+    private static final String UNCHECKED = "unchecked";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void skipByChecksum() throws Exception {
+        final File sameFile = createFile("the same content");
+        final File changedFile = createFile("the old content");
+        final File resizedFile = createFile("a longer content");
+        final File uncheckedFile = createFile("not checked");
+        final Map<String, Long> sizes = new HashMap<>();
+        final Map<String, Long> checksums = new HashMap<>();
+        sizes.put(SAME, sameFile.length());
+        checksums.put(SAME, NetworkingUtil.checksum(sameFile));
+        sizes.put(CHANGED, changedFile.length());
+        checksums.put(CHANGED, NetworkingUtil.checksum(changedFile));
+        // the replica only checksums the files that have the size of the master's
+        sizes.put(RESIZED, resizedFile.length() - 1);
+        sizes.put(UNCHECKED, uncheckedFile.length());
+        final PartitionResourcesListResponse replicaFiles = serializeAndRead(sizes, checksums);
+        Assert.assertEquals(sizes.keySet(), replicaFiles.getResources());
+        Assert.assertNull(replicaFiles.getChecksum(RESIZED));
+
+        // the master changes the content of a file without changing its size
+        Files.write(changedFile.toPath(), "the new content".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(ReplicaFilesSynchronizer.hasSameChecksum(SAME, sameFile, replicaFiles));
+        Assert.assertFalse(ReplicaFilesSynchronizer.hasSameChecksum(CHANGED, changedFile, replicaFiles));
+        Assert.assertFalse(ReplicaFilesSynchronizer.hasSameChecksum(RESIZED, resizedFile, replicaFiles));
+        Assert.assertFalse(ReplicaFilesSynchronizer.hasSameChecksum(UNCHECKED, uncheckedFile, replicaFiles));
+    }
+
+    @Test
+    public void noChecksums() throws Exception {
+        final File file = createFile("content");
+        final PartitionResourcesListResponse replicaFiles =
+                serializeAndRead(Collections.singletonMap(SAME, file.length()), Collections.emptyMap());
+        Assert.assertEquals(file.length(), replicaFiles.getSize(SAME));
+        Assert.assertNull(replicaFiles.getChecksum(SAME));
+        Assert.assertFalse(ReplicaFilesSynchronizer.hasSameChecksum(SAME, file, replicaFiles));
+    }
+
+    private File createFile(String content) throws Exception {
+        final File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static PartitionResourcesListResponse serializeAndRead(Map<String, Long> sizes,
+            Map<String, Long> checksums) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PartitionResourcesListResponse(0, sizes, checksums).serialize(out);
+        return PartitionResourcesListResponse.create(new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+    }
+}
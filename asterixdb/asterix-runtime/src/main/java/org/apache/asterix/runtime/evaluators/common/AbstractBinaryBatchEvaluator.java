@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.evaluators.common;
+
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators;
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+
+/**
+ * Base class for evaluators of binary functions that can also evaluate a whole frame at a time.
+ * The batch path evaluates both arguments column-wise and then applies {@link #compute(IPointable, IPointable,
+ * IPointable)} row by row. Since the generated MISSING/NULL handling is only injected into
+ * {@link IScalarEvaluator#evaluate}, the batch path applies the same rules itself: MISSING if any argument is
+ * MISSING, otherwise NULL if any argument is NULL.
+ */
+public abstract class AbstractBinaryBatchEvaluator implements IScalarEvaluator, IBatchScalarEvaluator {
+
+    private static final byte[] MISSING_BYTES = new byte[] { ATypeTag.SERIALIZED_MISSING_TYPE_TAG };
+    private static final byte[] NULL_BYTES = new byte[] { ATypeTag.SERIALIZED_NULL_TYPE_TAG };
+
+    private final IScalarEvaluatorFactory evalLeftFactory;
+    private final IScalarEvaluatorFactory evalRightFactory;
+    private final IHyracksTaskContext ctx;
+    private final IPointable batchLeft = VoidPointable.FACTORY.createPointable();
+    private final IPointable batchRight = VoidPointable.FACTORY.createPointable();
+    private final IPointable batchResult = VoidPointable.FACTORY.createPointable();
+    private IBatchScalarEvaluator batchEvalLeft;
+    private IBatchScalarEvaluator batchEvalRight;
+    private ScalarColumn leftColumn;
+    private ScalarColumn rightColumn;
+
+    protected AbstractBinaryBatchEvaluator(IScalarEvaluatorFactory evalLeftFactory,
+            IScalarEvaluatorFactory evalRightFactory, IHyracksTaskContext ctx) {
+        this.evalLeftFactory = evalLeftFactory;
+        this.evalRightFactory = evalRightFactory;
+        this.ctx = ctx;
+    }
+
+    /**
+     * Computes the function for two evaluated, non-MISSING and non-NULL arguments.
+     */
+    protected abstract void compute(IPointable left, IPointable right, IPointable result) throws HyracksDataException;
+
+    @Override
+    public void evaluate(IFrameTupleAccessor accessor, int[] tupleIndexes, int numTuples, ScalarColumn result)
+            throws HyracksDataException {
+        if (batchEvalLeft == null) {
+            // the batch argument evaluators are only needed if this evaluator is used in batch mode
+            batchEvalLeft = BatchScalarEvaluators.create(evalLeftFactory, ctx);
+            batchEvalRight = BatchScalarEvaluators.create(evalRightFactory, ctx);
+            leftColumn = new ScalarColumn();
+            rightColumn = new ScalarColumn();
+        }
+        batchEvalLeft.evaluate(accessor, tupleIndexes, numTuples, leftColumn);
+        batchEvalRight.evaluate(accessor, tupleIndexes, numTuples, rightColumn);
+        result.reset();
+        for (int i = 0; i < numTuples; i++) {
+            leftColumn.getValue(i, batchLeft);
+            rightColumn.getValue(i, batchRight);
+            byte leftTag = batchLeft.getByteArray()[batchLeft.getStartOffset()];
+            byte rightTag = batchRight.getByteArray()[batchRight.getStartOffset()];
+            if (leftTag == ATypeTag.SERIALIZED_MISSING_TYPE_TAG || rightTag == ATypeTag.SERIALIZED_MISSING_TYPE_TAG) {
+                result.appendReference(MISSING_BYTES, 0, MISSING_BYTES.length);
+            } else if (leftTag == ATypeTag.SERIALIZED_NULL_TYPE_TAG || rightTag == ATypeTag.SERIALIZED_NULL_TYPE_TAG) {
+                result.appendReference(NULL_BYTES, 0, NULL_BYTES.length);
+            } else {
+                try {
+                    compute(batchLeft, batchRight, batchResult);
+                } catch (HyracksDataException e) {
+                    throw BatchScalarEvaluators.tupleFailure(e, tupleIndexes, i);
+                }
+                result.append(batchResult);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.io.DataOutput;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.EnumDeserializer;
 import org.apache.asterix.om.types.hierachy.ATypeHierarchy;
+import org.apache.asterix.runtime.evaluators.common.AbstractBinaryBatchEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
 import org.apache.hyracks.algebricks.runtime.evaluators.ConstantEvalFactory;
@@ -35,7 +36,7 @@ import org.apache.hyracks.data.std.primitive.VoidPointable;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.dataflow.common.data.accessors.IFrameTupleReference;
 
-public abstract class AbstractComparisonEvaluator implements IScalarEvaluator {
+public abstract class AbstractComparisonEvaluator extends AbstractBinaryBatchEvaluator {
 
     protected final ArrayBackedValueStorage resultStorage = new ArrayBackedValueStorage();
     protected final DataOutput out = resultStorage.getDataOutput();
@@ -53,6 +54,7 @@ public abstract class AbstractComparisonEvaluator implements IScalarEvaluator {
     public AbstractComparisonEvaluator(IScalarEvaluatorFactory evalLeftFactory,
             IScalarEvaluatorFactory evalRightFactory, IHyracksTaskContext ctx, SourceLocation sourceLoc)
             throws HyracksDataException {
+        super(evalLeftFactory, evalRightFactory, ctx);
         this.evalLeft = evalLeftFactory.createScalarEvaluator(ctx);
         this.evalRight = evalRightFactory.createScalarEvaluator(ctx);
         this.sourceLoc = sourceLoc;
@@ -79,6 +81,16 @@ public abstract class AbstractComparisonEvaluator implements IScalarEvaluator {
         evaluateImpl(result);
     }
 
+    @Override
+    protected void compute(IPointable left, IPointable right, IPointable result) throws HyracksDataException {
+        argLeft.set(left);
+        argRight.set(right);
+        argLeft.getValue(outLeft);
+        argRight.getValue(outRight);
+
+        evaluateImpl(result);
+    }
+
     protected abstract void evaluateImpl(IPointable result) throws HyracksDataException;
 
     // checks whether two types are comparable
@@ -24,6 +24,8 @@ import org.apache.asterix.om.functions.IFunctionDescriptor;
 import org.apache.asterix.om.functions.IFunctionDescriptorFactory;
 import org.apache.asterix.runtime.evaluators.base.AbstractScalarFunctionDynamicDescriptor;
 import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluatorFactory;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
@@ -45,7 +47,7 @@ public class LessThanDescriptor extends AbstractScalarFunctionDynamicDescriptor
 
     @Override
     public IScalarEvaluatorFactory createEvaluatorFactory(IScalarEvaluatorFactory[] args) {
-        return new IScalarEvaluatorFactory() {
+        return new IBatchScalarEvaluatorFactory() {
             private static final long serialVersionUID = 1L;
 
             @Override
@@ -63,6 +65,12 @@ public class LessThanDescriptor extends AbstractScalarFunctionDynamicDescriptor
                     }
                 };
             }
+
+            @Override
+            public IBatchScalarEvaluator createBatchScalarEvaluator(IHyracksTaskContext ctx)
+                    throws HyracksDataException {
+                return (IBatchScalarEvaluator) createScalarEvaluator(ctx);
+            }
         };
     }
 }
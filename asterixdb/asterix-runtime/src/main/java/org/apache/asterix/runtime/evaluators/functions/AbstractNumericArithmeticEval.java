@@ -49,11 +49,14 @@ import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.BuiltinType;
 import org.apache.asterix.om.types.EnumDeserializer;
 import org.apache.asterix.runtime.evaluators.base.AbstractScalarFunctionDynamicDescriptor;
+import org.apache.asterix.runtime.evaluators.common.AbstractBinaryBatchEvaluator;
 import org.apache.asterix.runtime.exceptions.IncompatibleTypeException;
 import org.apache.asterix.runtime.exceptions.OverflowException;
 import org.apache.asterix.runtime.exceptions.TypeMismatchException;
 import org.apache.asterix.runtime.exceptions.UnderflowException;
 import org.apache.asterix.runtime.exceptions.UnsupportedTypeException;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluatorFactory;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
@@ -114,13 +117,13 @@ public abstract class AbstractNumericArithmeticEval extends AbstractScalarFuncti
 
     @Override
     public IScalarEvaluatorFactory createEvaluatorFactory(final IScalarEvaluatorFactory[] args) {
-        return new IScalarEvaluatorFactory() {
+        return new IBatchScalarEvaluatorFactory() {
             private static final long serialVersionUID = 1L;
 
             @Override
             public IScalarEvaluator createScalarEvaluator(IHyracksTaskContext ctx) throws HyracksDataException {
 
-                return new IScalarEvaluator() {
+                return new AbstractBinaryBatchEvaluator(args[0], args[1], ctx) {
                     private final ArrayBackedValueStorage resultStorage = new ArrayBackedValueStorage();
                     private final DataOutput out = resultStorage.getDataOutput();
                     private final IPointable argPtr0 = new VoidPointable();
@@ -177,11 +180,22 @@ public abstract class AbstractNumericArithmeticEval extends AbstractScalarFuncti
                             SerializerDeserializerProvider.INSTANCE.getSerializerDeserializer(BuiltinType.ANULL);
 
                     @Override
-                    @SuppressWarnings("unchecked")
                     public void evaluate(IFrameTupleReference tuple, IPointable result) throws HyracksDataException {
                         evalLeft.evaluate(tuple, argPtr0);
                         evalRight.evaluate(tuple, argPtr1);
+                        evaluateArithmeticOperation(result);
+                    }
+
+                    @Override
+                    protected void compute(IPointable left, IPointable right, IPointable result)
+                            throws HyracksDataException {
+                        argPtr0.set(left);
+                        argPtr1.set(right);
+                        evaluateArithmeticOperation(result);
+                    }
 
+                    @SuppressWarnings("unchecked")
+                    private void evaluateArithmeticOperation(IPointable result) throws HyracksDataException {
                         resultStorage.reset();
 
                         ATypeTag argTypeMax = null;
@@ -542,6 +556,12 @@ public abstract class AbstractNumericArithmeticEval extends AbstractScalarFuncti
                     }
                 };
             }
+
+            @Override
+            public IBatchScalarEvaluator createBatchScalarEvaluator(IHyracksTaskContext ctx)
+                    throws HyracksDataException {
+                return (IBatchScalarEvaluator) createScalarEvaluator(ctx);
+            }
         };
     }
 
@@ -30,8 +30,13 @@ import org.apache.asterix.om.utils.NonTaggedFormatUtil;
 import org.apache.asterix.om.utils.RecordUtil;
 import org.apache.asterix.runtime.exceptions.TypeMismatchException;
 import org.apache.hyracks.algebricks.common.exceptions.NotImplementedException;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluatorFactory;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators;
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.SourceLocation;
@@ -41,9 +46,10 @@ import org.apache.hyracks.data.std.primitive.VoidPointable;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.dataflow.common.data.accessors.IFrameTupleReference;
 
-public class FieldAccessByIndexEvalFactory implements IScalarEvaluatorFactory {
+public class FieldAccessByIndexEvalFactory implements IBatchScalarEvaluatorFactory {
 
     private static final long serialVersionUID = 1L;
+    private static final byte[] MISSING_BYTES = new byte[] { ATypeTag.SERIALIZED_MISSING_TYPE_TAG };
 
     private IScalarEvaluatorFactory recordEvalFactory;
     private IScalarEvaluatorFactory fieldIndexEvalFactory;
@@ -143,4 +149,89 @@ public class FieldAccessByIndexEvalFactory implements IScalarEvaluatorFactory {
             }
         };
     }
+
+    @Override
+    public IBatchScalarEvaluator createBatchScalarEvaluator(final IHyracksTaskContext ctx) throws HyracksDataException {
+        return new IBatchScalarEvaluator() {
+            private final IBatchScalarEvaluator eval0 = BatchScalarEvaluators.create(recordEvalFactory, ctx);
+            private final IBatchScalarEvaluator eval1 = BatchScalarEvaluators.create(fieldIndexEvalFactory, ctx);
+            private final ScalarColumn recordColumn = new ScalarColumn();
+            private final ScalarColumn indexColumn = new ScalarColumn();
+            private final IPointable inputArg0 = new VoidPointable();
+            private final IPointable inputArg1 = new VoidPointable();
+
+            /*
+             * Same as the tuple-at-a-time evaluator, including its MISSING handling: a MISSING record or index
+             * yields MISSING, any other non-record or non-int32 argument is a type mismatch.
+             */
+            @Override
+            public void evaluate(IFrameTupleAccessor accessor, int[] tupleIndexes, int numTuples, ScalarColumn result)
+                    throws HyracksDataException {
+                eval0.evaluate(accessor, tupleIndexes, numTuples, recordColumn);
+                eval1.evaluate(accessor, tupleIndexes, numTuples, indexColumn);
+                result.reset();
+                for (int i = 0; i < numTuples; i++) {
+                    try {
+                        recordColumn.getValue(i, inputArg0);
+                        indexColumn.getValue(i, inputArg1);
+                        byte[] serRecord = inputArg0.getByteArray();
+                        int offset = inputArg0.getStartOffset();
+                        byte[] indexBytes = inputArg1.getByteArray();
+                        int indexOffset = inputArg1.getStartOffset();
+                        if (serRecord[offset] == ATypeTag.SERIALIZED_MISSING_TYPE_TAG) {
+                            result.appendReference(MISSING_BYTES, 0, MISSING_BYTES.length);
+                            continue;
+                        }
+                        if (serRecord[offset] != ATypeTag.SERIALIZED_RECORD_TYPE_TAG) {
+                            throw new TypeMismatchException(sourceLoc, serRecord[offset],
+                                    ATypeTag.SERIALIZED_RECORD_TYPE_TAG);
+                        }
+                        if (indexBytes[indexOffset] == ATypeTag.SERIALIZED_MISSING_TYPE_TAG) {
+                            result.appendReference(MISSING_BYTES, 0, MISSING_BYTES.length);
+                            continue;
+                        }
+                        if (indexBytes[indexOffset] != ATypeTag.SERIALIZED_INT32_TYPE_TAG) {
+                            throw new TypeMismatchException(sourceLoc, indexBytes[indexOffset],
+                                    ATypeTag.SERIALIZED_INT32_TYPE_TAG);
+                        }
+                        DataOutput out = result.beginValue();
+                        writeField(serRecord, offset, IntegerPointable.getInteger(indexBytes, indexOffset + 1), out);
+                        result.endValue();
+                    } catch (IOException e) {
+                        throw BatchScalarEvaluators.tupleFailure(e, tupleIndexes, i);
+                    }
+                }
+            }
+
+            private void writeField(byte[] serRecord, int offset, int fieldIndex, DataOutput out) throws IOException {
+                int fieldValueOffset = ARecordSerializerDeserializer.getFieldOffsetById(serRecord, offset, fieldIndex,
+                        nullBitmapSize, recordType.isOpen());
+                if (fieldValueOffset == 0) {
+                    // the field is null, we checked the null bit map
+                    out.writeByte(ATypeTag.SERIALIZED_NULL_TYPE_TAG);
+                    return;
+                }
+                if (fieldValueOffset < 0) {
+                    // the field is missing, we checked the missing bit map
+                    out.writeByte(ATypeTag.SERIALIZED_MISSING_TYPE_TAG);
+                    return;
+                }
+                IAType fieldValueType = recordType.getFieldTypes()[fieldIndex];
+                ATypeTag fieldValueTypeTag;
+                if (fieldValueType.getTypeTag().equals(ATypeTag.UNION)) {
+                    if (!((AUnionType) fieldValueType).isUnknownableType()) {
+                        // union .. the general case
+                        throw new NotImplementedException();
+                    }
+                    fieldValueTypeTag = ((AUnionType) fieldValueType).getActualType().getTypeTag();
+                } else {
+                    fieldValueTypeTag = fieldValueType.getTypeTag();
+                }
+                int fieldValueLength =
+                        NonTaggedFormatUtil.getFieldValueLength(serRecord, fieldValueOffset, fieldValueTypeTag, false);
+                out.writeByte(fieldValueTypeTag.serialize());
+                out.write(serRecord, fieldValueOffset, fieldValueLength);
+            }
+        };
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.job;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.asterix.common.api.IPreparedStatementCache;
+import org.apache.hyracks.api.job.DeployedJobSpecId;
+import org.apache.hyracks.util.annotations.ThreadSafe;
+
+/**
+ * Keeps a bounded number of deployed jobs. The least recently used job is dropped when the cache is full. Jobs are
+ * undeployed outside of the cache's lock.
+ */
+@ThreadSafe
+public class PreparedStatementCache implements IPreparedStatementCache {
+
+    private final int capacity;
+    private final Consumer<DeployedJobSpecId> undeployer;
+    private final LinkedHashMap<String, IPreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    // the number of requests that use each job
+    private final Map<IPreparedStatement, Integer> users = new HashMap<>();
+    // the jobs that were dropped while they were used
+    private final Set<IPreparedStatement> dropped = new HashSet<>();
+    private long version;
+    private int metadataChanges;
+
+    /**
+     * @param capacity
+     *            the maximum number of jobs that are kept, 0 to keep none
+     * @param undeployer
+     *            undeploys the jobs that are dropped
+     */
+    public PreparedStatementCache(int capacity, Consumer<DeployedJobSpecId> undeployer) {
+        this.capacity = capacity;
+        this.undeployer = undeployer;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    @Override
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized IPreparedStatement acquire(String key) {
+        IPreparedStatement statement = metadataChanges > 0 ? null : statements.get(key);
+        if (statement != null) {
+            users.merge(statement, 1, Integer::sum);
+        }
+        return statement;
+    }
+
+    @Override
+    public boolean put(String key, IPreparedStatement statement) {
+        List<DeployedJobSpecId> undeployed = new ArrayList<>();
+        boolean kept;
+        synchronized (this) {
+            users.merge(statement, 1, Integer::sum);
+            kept = capacity > 0 && isCurrent(statement);
+            if (kept) {
+                IPreparedStatement replaced = statements.put(key, statement);
+                if (replaced != null) {
+                    drop(replaced, undeployed);
+                }
+                Iterator<IPreparedStatement> lru = statements.values().iterator();
+                while (statements.size() > capacity) {
+                    drop(lru.next(), undeployed);
+                    lru.remove();
+                }
+            } else {
+                dropped.add(statement);
+            }
+        }
+        undeployed.forEach(undeployer);
+        return kept;
+    }
+
+    @Override
+    public synchronized boolean isCurrent(IPreparedStatement statement) {
+        return metadataChanges == 0 && statement.getVersion() == version;
+    }
+
+    @Override
+    public void release(IPreparedStatement statement) {
+        synchronized (this) {
+            if (users.merge(statement, -1, Integer::sum) > 0) {
+                return;
+            }
+            users.remove(statement);
+            if (!dropped.remove(statement)) {
+                return;
+            }
+        }
+        undeployer.accept(statement.getDeployedJobSpecId());
+    }
+
+    @Override
+    public void beginMetadataChange() {
+        List<DeployedJobSpecId> undeployed;
+        synchronized (this) {
+            metadataChanges++;
+            undeployed = clear();
+        }
+        undeployed.forEach(undeployer);
+    }
+
+    @Override
+    public void endMetadataChange() {
+        List<DeployedJobSpecId> undeployed;
+        synchronized (this) {
+            metadataChanges--;
+            undeployed = clear();
+        }
+        undeployed.forEach(undeployer);
+    }
+
+    private List<DeployedJobSpecId> clear() {
+        version++;
+        List<DeployedJobSpecId> undeployed = new ArrayList<>();
+        statements.values().forEach(statement -> drop(statement, undeployed));
+        statements.clear();
+        return undeployed;
+    }
+
+    private void drop(IPreparedStatement statement, List<DeployedJobSpecId> undeployed) {
+        if (users.containsKey(statement)) {
+            dropped.add(statement);
+        } else {
+            undeployed.add(statement.getDeployedJobSpecId());
+        }
+    }
+}
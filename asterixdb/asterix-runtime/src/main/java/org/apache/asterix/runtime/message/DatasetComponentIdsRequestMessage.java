@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.message;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.context.IndexInfo;
+import org.apache.asterix.common.messaging.CcIdentifiedMessage;
+import org.apache.asterix.common.messaging.api.INCMessageBroker;
+import org.apache.asterix.common.messaging.api.INcAddressedMessage;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMMemoryComponent;
+import org.apache.hyracks.storage.am.lsm.common.impls.LSMComponentId;
+
+/**
+ * Asks a node for the ids of the disk components of the local indexes of a set of datasets. The node answers with
+ * no ids if one of the datasets is not open on it or if one of its indexes has writes that were not flushed yet, since
+ * the disk components do not identify the content of such indexes.
+ */
+public class DatasetComponentIdsRequestMessage extends CcIdentifiedMessage implements INcAddressedMessage {
+
+    private static final long serialVersionUID = 1L;
+    private final long reqId;
+    private final Set<Integer> datasetIds;
+
+    public DatasetComponentIdsRequestMessage(long reqId, Set<Integer> datasetIds) {
+        this.reqId = reqId;
+        this.datasetIds = datasetIds;
+    }
+
+    @Override
+    public void handle(INcApplicationContext appCtx) throws HyracksDataException, InterruptedException {
+        Map<String, long[]> componentIds = null;
+        Exception failure = null;
+        try {
+            componentIds = getComponentIds(appCtx);
+        } catch (Exception e) {
+            failure = e;
+        }
+        INCMessageBroker broker = (INCMessageBroker) appCtx.getServiceContext().getMessageBroker();
+        try {
+            broker.sendMessageToCC(getCcId(), new DatasetComponentIdsResponseMessage(reqId, componentIds, failure));
+        } catch (Exception e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private Map<String, long[]> getComponentIds(INcApplicationContext appCtx) throws HyracksDataException {
+        Map<String, long[]> componentIds = new HashMap<>();
+        Set<Integer> openDatasets = new HashSet<>();
+        for (IndexInfo indexInfo : appCtx.getDatasetLifecycleManager().getOpenIndexesInfo()) {
+            if (!datasetIds.contains(indexInfo.getDatasetId())) {
+                continue;
+            }
+            openDatasets.add(indexInfo.getDatasetId());
+            ILSMIndex index = indexInfo.getIndex();
+            // syncronize over the opTracker
+            synchronized (index.getOperationTracker()) {
+                for (ILSMMemoryComponent c : index.getMemoryComponents()) {
+                    if (c.isModified()) {
+                        return null;
+                    }
+                }
+                List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+                long[] ids = new long[diskComponents.size() * 2];
+                for (int i = 0; i < diskComponents.size(); i++) {
+                    LSMComponentId id = (LSMComponentId) diskComponents.get(i).getId();
+                    ids[2 * i] = id.getMinId();
+                    ids[2 * i + 1] = id.getMaxId();
+                }
+                componentIds.put(indexInfo.getLocalResource().getPath(), ids);
+            }
+        }
+        return openDatasets.size() == datasetIds.size() ? componentIds : null;
+    }
+
+    @Override
+    public String toString() {
+        return DatasetComponentIdsRequestMessage.class.getSimpleName();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.context.IndexInfo;
+import org.apache.asterix.common.messaging.CcIdentifiedMessage;
+import org.apache.asterix.common.messaging.api.INCMessageBroker;
+import org.apache.asterix.common.messaging.api.INcAddressedMessage;
+import org.apache.asterix.common.storage.ResourceReference;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.common.api.ITreeIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics;
+
+/**
+ * Asks a node for the statistics of the disk components of the open indexes of a dataset, merged per index over the
+ * partitions of the node. Components without statistics and memory components are not included.
+ */
+public class DatasetStatisticsRequestMessage extends CcIdentifiedMessage implements INcAddressedMessage {
+
+    private static final long serialVersionUID = 1L;
+    private final long reqId;
+    private final int datasetId;
+
+    public DatasetStatisticsRequestMessage(long reqId, int datasetId) {
+        this.reqId = reqId;
+        this.datasetId = datasetId;
+    }
+
+    @Override
+    public void handle(INcApplicationContext appCtx) throws HyracksDataException, InterruptedException {
+        Map<String, byte[]> statistics = null;
+        Exception failure = null;
+        try {
+            statistics = getStatistics(appCtx);
+        } catch (Exception e) {
+            failure = e;
+        }
+        INCMessageBroker broker = (INCMessageBroker) appCtx.getServiceContext().getMessageBroker();
+        try {
+            broker.sendMessageToCC(getCcId(), new DatasetStatisticsResponseMessage(reqId, statistics, failure));
+        } catch (Exception e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private Map<String, byte[]> getStatistics(INcApplicationContext appCtx) throws IOException {
+        Map<String, ComponentStatistics> merged = new HashMap<>();
+        for (IndexInfo indexInfo : appCtx.getDatasetLifecycleManager().getOpenIndexesInfo()) {
+            ILSMIndex index = indexInfo.getIndex();
+            if (indexInfo.getDatasetId() != datasetId || !(index instanceof ITreeIndex)) {
+                continue;
+            }
+            int numFields = ((ITreeIndex) index).getComparatorFactories().length;
+            String indexName = ResourceReference.ofIndex(indexInfo.getLocalResource().getPath()).getIndex();
+            // syncronize over the opTracker
+            synchronized (index.getOperationTracker()) {
+                for (ILSMDiskComponent c : index.getDiskComponents()) {
+                    ComponentStatistics componentStatistics = ComponentStatistics.read(c.getMetadata());
+                    if (componentStatistics != null && componentStatistics.getNumFields() == numFields) {
+                        merged.computeIfAbsent(indexName, name -> new ComponentStatistics(numFields))
+                                .mergeCounts(componentStatistics);
+                    }
+                }
+            }
+        }
+        Map<String, byte[]> statistics = new HashMap<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Map.Entry<String, ComponentStatistics> entry : merged.entrySet()) {
+            bytes.reset();
+            entry.getValue().serialize(out);
+            out.flush();
+            statistics.put(entry.getKey(), bytes.toByteArray());
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return DatasetStatisticsRequestMessage.class.getSimpleName();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.asterix.common.dataflow.ICcApplicationContext;
+import org.apache.asterix.common.messaging.api.ICCMessageBroker;
+import org.apache.asterix.common.messaging.api.ICCMessageBroker.ResponseState;
+import org.apache.asterix.common.messaging.api.ICcAddressedMessage;
+import org.apache.asterix.common.messaging.api.INcResponse;
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics;
+
+/**
+ * The statistics of the indexes of a dataset on a node. The responses of all nodes are merged into the statistics of
+ * each index of the dataset in the cluster, a {@code Map<String, ComponentStatistics>} keyed by the index name.
+ */
+public class DatasetStatisticsResponseMessage implements ICcAddressedMessage, INcResponse {
+
+    private static final long serialVersionUID = 1L;
+    private final long reqId;
+    private final Map<String, byte[]> statistics;
+    private final Exception failure;
+
+    public DatasetStatisticsResponseMessage(long reqId, Map<String, byte[]> statistics, Exception failure) {
+        this.reqId = reqId;
+        this.statistics = statistics;
+        this.failure = failure;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setResult(MutablePair<ResponseState, Object> result) {
+        ResponseState responseState = result.getLeft();
+        if (failure != null) {
+            result.setLeft(ResponseState.FAILURE);
+            result.setRight(failure);
+            return;
+        }
+        switch (responseState) {
+            case UNINITIALIZED:
+                // First to arrive
+                result.setRight(new HashMap<String, ComponentStatistics>());
+                // No failure, change state to success
+                result.setLeft(ResponseState.SUCCESS);
+                // Fallthrough
+            case SUCCESS:
+                Map<String, ComponentStatistics> merged = (Map<String, ComponentStatistics>) result.getRight();
+                try {
+                    merge(merged);
+                } catch (IOException e) {
+                    result.setLeft(ResponseState.FAILURE);
+                    result.setRight(e);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void merge(Map<String, ComponentStatistics> merged) throws IOException {
+        for (Map.Entry<String, byte[]> entry : statistics.entrySet()) {
+            ComponentStatistics nodeStatistics =
+                    ComponentStatistics.deserialize(new DataInputStream(new ByteArrayInputStream(entry.getValue())));
+            if (nodeStatistics != null) {
+                merged.computeIfAbsent(entry.getKey(), name -> new ComponentStatistics(nodeStatistics.getNumFields()))
+                        .mergeCounts(nodeStatistics);
+            }
+        }
+    }
+
+    @Override
+    public void handle(ICcApplicationContext appCtx) throws HyracksDataException, InterruptedException {
+        ICCMessageBroker broker = (ICCMessageBroker) appCtx.getServiceContext().getMessageBroker();
+        broker.respond(reqId, this);
+    }
+
+    @Override
+    public String toString() {
+        return DatasetStatisticsResponseMessage.class.getSimpleName();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.result;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.asterix.common.api.IQueryResultCache;
+import org.apache.hyracks.util.annotations.ThreadSafe;
+
+/**
+ * Caches query results within a memory budget. The least recently used results are evicted when the budget is
+ * exceeded and results are dropped once they are older than the time to live, even if the components of the indexes
+ * they were computed from did not change.
+ */
+@ThreadSafe
+public class QueryResultCache implements IQueryResultCache {
+
+    // a single result may use a quarter of the budget so that it does not evict all other results
+    private static final int MAX_RESULT_SHARE = 4;
+    private final long budget;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    public QueryResultCache(long budget, long ttlSeconds) {
+        this(budget, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    QueryResultCache(long budget, long ttlNanos, LongSupplier clock) {
+        this.budget = budget;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    @Override
+    public long getMaxResultSize() {
+        return budget / MAX_RESULT_SHARE;
+    }
+
+    @Override
+    public synchronized List<byte[]> get(String key, Map<String, List<Long>> componentIds) {
+        CachedResult result = results.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (clock.getAsLong() - result.created > ttlNanos || !result.componentIds.equals(componentIds)) {
+            remove(key);
+            return null;
+        }
+        return result.frames;
+    }
+
+    @Override
+    public synchronized void put(String key, Map<String, List<Long>> componentIds, List<byte[]> frames) {
+        CachedResult result = new CachedResult(componentIds, frames, clock.getAsLong());
+        if (result.size > getMaxResultSize()) {
+            return;
+        }
+        remove(key);
+        results.put(key, result);
+        size += result.size;
+        Iterator<CachedResult> lru = results.values().iterator();
+        while (size > budget) {
+            size -= lru.next().size;
+            lru.remove();
+        }
+    }
+
+    private void remove(String key) {
+        CachedResult removed = results.remove(key);
+        if (removed != null) {
+            size -= removed.size;
+        }
+    }
+
+    private static class CachedResult {
+        private final Map<String, List<Long>> componentIds;
+        private final List<byte[]> frames;
+        private final long created;
+        private final long size;
+
+        private CachedResult(Map<String, List<Long>> componentIds, List<byte[]> frames, long created) {
+            this.componentIds = componentIds;
+            this.frames = frames;
+            this.created = created;
+            long framesSize = 0;
+            for (byte[] frame : frames) {
+                framesSize += frame.length;
+            }
+            this.size = framesSize;
+        }
+    }
+}
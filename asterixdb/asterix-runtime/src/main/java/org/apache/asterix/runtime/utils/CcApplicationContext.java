@@ -24,6 +24,8 @@ import java.util.function.Supplier;
 import org.apache.asterix.common.api.ICoordinationService;
 import org.apache.asterix.common.api.IMetadataLockManager;
 import org.apache.asterix.common.api.INodeJobTracker;
+import org.apache.asterix.common.api.IPreparedStatementCache;
+import org.apache.asterix.common.api.IQueryResultCache;
 import org.apache.asterix.common.cluster.IClusterStateManager;
 import org.apache.asterix.common.cluster.IGlobalRecoveryManager;
 import org.apache.asterix.common.config.ActiveProperties;
@@ -47,15 +49,21 @@ import org.apache.asterix.common.storage.ICompressionManager;
 import org.apache.asterix.common.transactions.IResourceIdManager;
 import org.apache.asterix.common.transactions.ITxnIdFactory;
 import org.apache.asterix.runtime.compression.CompressionManager;
+import org.apache.asterix.runtime.job.PreparedStatementCache;
 import org.apache.asterix.runtime.job.listener.NodeJobTracker;
+import org.apache.asterix.runtime.result.QueryResultCache;
 import org.apache.asterix.runtime.transaction.ResourceIdManager;
 import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
 import org.apache.hyracks.api.application.ICCServiceContext;
 import org.apache.hyracks.api.client.IHyracksClientConnection;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.job.DeployedJobSpecId;
 import org.apache.hyracks.api.job.IJobLifecycleListener;
 import org.apache.hyracks.ipc.impl.HyracksConnection;
 import org.apache.hyracks.storage.common.IStorageManager;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /*
  * Acts as an holder class for IndexRegistryProvider, AsterixStorageManager
@@ -64,6 +72,8 @@ import org.apache.hyracks.storage.common.IStorageManager;
  */
 public class CcApplicationContext implements ICcApplicationContext {
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
     private ICCServiceContext ccServiceCtx;
     private IStorageComponentProvider storageComponentProvider;
     private IGlobalRecoveryManager globalRecoveryManager;
@@ -90,6 +100,8 @@ public class CcApplicationContext implements ICcApplicationContext {
     private final INodeJobTracker nodeJobTracker;
     private final ITxnIdFactory txnIdFactory;
     private final ICompressionManager compressionManager;
+    private final IQueryResultCache queryResultCache;
+    private final IPreparedStatementCache preparedStatementCache;
 
     public CcApplicationContext(ICCServiceContext ccServiceCtx, IHyracksClientConnection hcc,
             ILibraryManager libraryManager, Supplier<IMetadataBootstrap> metadataBootstrapSupplier,
@@ -125,6 +137,10 @@ public class CcApplicationContext implements ICcApplicationContext {
         nodeJobTracker = new NodeJobTracker();
         txnIdFactory = new BulkTxnIdFactory();
         compressionManager = new CompressionManager(storageProperties);
+        queryResultCache = new QueryResultCache(externalProperties.getQueryResultCacheSize(),
+                externalProperties.getQueryResultCacheTtl());
+        preparedStatementCache = new PreparedStatementCache(externalProperties.getPreparedStatementCacheSize(),
+                this::undeployPreparedStatement);
 
     }
 
@@ -283,4 +299,22 @@ public class CcApplicationContext implements ICcApplicationContext {
     public ICompressionManager getCompressionManager() {
         return compressionManager;
     }
+
+    @Override
+    public IQueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    @Override
+    public IPreparedStatementCache getPreparedStatementCache() {
+        return preparedStatementCache;
+    }
+
+    private void undeployPreparedStatement(DeployedJobSpecId deployedJobSpecId) {
+        try {
+            getHcc().undeployJobSpec(deployedJobSpecId);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARN, "Failed to undeploy the job of a prepared query", e);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.job;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.asterix.common.api.IPreparedStatementCache.IPreparedStatement;
+import org.apache.hyracks.api.job.DeployedJobSpecId;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PreparedStatementCacheTest {
+
+    @Test
+    public void evictionTest() {
+        List<DeployedJobSpecId> undeployed = new ArrayList<>();
+        PreparedStatementCache cache = new PreparedStatementCache(2, undeployed::add);
+        IPreparedStatement q0 = statement(0, cache.getVersion());
+        IPreparedStatement q1 = statement(1, cache.getVersion());
+        IPreparedStatement q2 = statement(2, cache.getVersion());
+        Assert.assertTrue(cache.put("q0", q0));
+        Assert.assertTrue(cache.put("q1", q1));
+        cache.release(q0);
+        cache.release(q1);
+        // make q0 the most recently used, q1 is evicted next
+        Assert.assertSame(q0, cache.acquire("q0"));
+        cache.release(q0);
+        Assert.assertTrue(cache.put("q2", q2));
+        cache.release(q2);
+        Assert.assertNull(cache.acquire("q1"));
+        Assert.assertEquals(Collections.singletonList(q1.getDeployedJobSpecId()), undeployed);
+    }
+
+    @Test
+    public void metadataChangeTest() {
+        List<DeployedJobSpecId> undeployed = new ArrayList<>();
+        PreparedStatementCache cache = new PreparedStatementCache(8, undeployed::add);
+        IPreparedStatement q0 = statement(0, cache.getVersion());
+        Assert.assertTrue(cache.put("q0", q0));
+        // a job that is used is only undeployed once it is released
+        cache.beginMetadataChange();
+        Assert.assertFalse(cache.isCurrent(q0));
+        Assert.assertTrue(undeployed.isEmpty());
+        cache.release(q0);
+        Assert.assertEquals(Collections.singletonList(q0.getDeployedJobSpecId()), undeployed);
+
+        // a job that was compiled while the metadata changed is not kept
+        IPreparedStatement q1 = statement(1, cache.getVersion());
+        Assert.assertFalse(cache.put("q1", q1));
+        cache.endMetadataChange();
+        Assert.assertNull(cache.acquire("q1"));
+        cache.release(q1);
+        Assert.assertEquals(Arrays.asList(q0.getDeployedJobSpecId(), q1.getDeployedJobSpecId()), undeployed);
+
+        IPreparedStatement q2 = statement(2, cache.getVersion());
+        Assert.assertTrue(cache.put("q2", q2));
+        cache.release(q2);
+        Assert.assertSame(q2, cache.acquire("q2"));
+        cache.release(q2);
+    }
+
+    private static IPreparedStatement statement(long id, long version) {
+        DeployedJobSpecId deployedJobSpecId = new DeployedJobSpecId(id);
+        return new IPreparedStatement() {
+            @Override
+            public DeployedJobSpecId getDeployedJobSpecId() {
+                return deployedJobSpecId;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+}
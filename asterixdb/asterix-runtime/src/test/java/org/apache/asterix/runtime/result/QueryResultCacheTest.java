@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.runtime.result;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryResultCacheTest {
+
+    private static final Map<String, List<Long>> COMPONENTS =
+            Collections.singletonMap("ds/0/ds", Arrays.asList(1L, 1L));
+
+    @Test
+    public void componentChangeTest() {
+        QueryResultCache cache = new QueryResultCache(1024, 60, () -> 0);
+        List<byte[]> frames = Collections.singletonList(new byte[32]);
+        cache.put("q", COMPONENTS, frames);
+        Assert.assertSame(frames, cache.get("q", COMPONENTS));
+        Assert.assertNull(cache.get("other", COMPONENTS));
+        // a flush added a component
+        Map<String, List<Long>> flushed = Collections.singletonMap("ds/0/ds", Arrays.asList(1L, 1L, 2L, 2L));
+        Assert.assertNull(cache.get("q", flushed));
+        // the stale result is gone
+        Assert.assertNull(cache.get("q", COMPONENTS));
+    }
+
+    @Test
+    public void evictionTest() {
+        MutableLong now = new MutableLong(0);
+        QueryResultCache cache = new QueryResultCache(1024, 10, now::longValue);
+        // larger than a quarter of the budget
+        cache.put("large", COMPONENTS, Collections.singletonList(new byte[257]));
+        Assert.assertNull(cache.get("large", COMPONENTS));
+
+        for (int i = 0; i < 4; i++) {
+            cache.put("q" + i, COMPONENTS, Collections.singletonList(new byte[256]));
+        }
+        // make q0 the most recently used, q1 is evicted next
+        Assert.assertNotNull(cache.get("q0", COMPONENTS));
+        cache.put("q4", COMPONENTS, Collections.singletonList(new byte[256]));
+        Assert.assertNull(cache.get("q1", COMPONENTS));
+        Assert.assertNotNull(cache.get("q0", COMPONENTS));
+        Assert.assertNotNull(cache.get("q4", COMPONENTS));
+
+        now.setValue(11);
+        Assert.assertNull(cache.get("q0", COMPONENTS));
+    }
+}
@@ -22,6 +22,9 @@ package org.apache.asterix.transaction.management.service.locking;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.asterix.common.exceptions.ACIDException;
@@ -43,6 +46,9 @@ import it.unimi.dsi.fastutil.longs.LongList;
 
 /**
  * A concurrent implementation of the ILockManager interface.
+ * Uncontended entity locks in S or X mode are granted and released without taking the latch of their ResourceGroup
+ * using its fast lock. The fast lock is converted into a regular lock request as soon as another request needs the
+ * latch of the group.
  *
  * @see ResourceGroupTable
  * @see ResourceGroup
@@ -65,6 +71,8 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
     private final RequestArenaManager reqArenaMgr;
     private final JobArenaManager jobArenaMgr;
     private final Long2LongMap txnId2TxnSlotMap;
+    // the groups in which a job may hold fast locks, these are not in the queue of the job
+    private final ConcurrentMap<Long, Set<ResourceGroup>> jobSlot2FastLockedGroups = new ConcurrentHashMap<>();
     private final LockManagerStats stats = new LockManagerStats(10000);
 
     enum LockAction {
@@ -115,7 +123,11 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         final long txnId = txnContext.getTxnId().getId();
         final long jobSlot = findOrAllocJobSlot(txnId);
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
-        group.getLatch();
+        if (tryFastLock(group, datasetId.getId(), entityHashValue, lockMode, jobSlot, txnContext)) {
+            return;
+        }
+        stats.slowLock();
+        latch(group);
         try {
             validateJob(txnContext);
             final long resSlot = findOrAllocResourceSlot(group, datasetId.getId(), entityHashValue);
@@ -155,7 +167,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
             Thread.currentThread().interrupt();
             throw new ACIDException(e);
         } finally {
-            group.releaseLatch();
+            unlatch(group);
         }
 
         if (CHECK_CONSISTENCY) {
@@ -338,7 +350,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
 
         final long txnId = txnContext.getTxnId().getId();
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
-        if (group.firstResourceIndex.get() == NILL) {
+        if (isUnlocked(group, datasetId.getId(), entityHashValue)) {
             validateJob(txnContext);
             // if we do not have a resource in the group, we know that the
             // resource that we are looking for is not locked
@@ -348,7 +360,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         // we only allocate a request slot if we actually have to wait
         long reqSlot = NILL;
 
-        group.getLatch();
+        latch(group);
         try {
             validateJob(txnContext);
             final long resSlot = findResourceInGroup(group, datasetId.getId(), entityHashValue);
@@ -388,7 +400,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                 }
                 reqArenaMgr.deallocate(reqSlot);
             }
-            group.releaseLatch();
+            unlatch(group);
         }
     }
 
@@ -401,7 +413,11 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         final long txnId = txnContext.getTxnId().getId();
         final long jobSlot = findOrAllocJobSlot(txnId);
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
-        group.getLatch();
+        if (tryFastLock(group, datasetId.getId(), entityHashValue, lockMode, jobSlot, txnContext)) {
+            return true;
+        }
+        stats.slowLock();
+        latch(group);
 
         try {
             validateJob(txnContext);
@@ -424,7 +440,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                     throw new IllegalStateException();
             }
         } finally {
-            group.releaseLatch();
+            unlatch(group);
         }
     }
 
@@ -436,14 +452,14 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
 
         final long txnId = txnContext.getTxnId().getId();
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
-        if (group.firstResourceIndex.get() == NILL) {
+        if (isUnlocked(group, datasetId.getId(), entityHashValue)) {
             validateJob(txnContext);
             // if we do not have a resource in the group, we know that the
             // resource that we are looking for is not locked
             return true;
         }
 
-        group.getLatch();
+        latch(group);
         try {
             validateJob(txnContext);
 
@@ -468,7 +484,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                     throw new IllegalStateException();
             }
         } finally {
-            group.releaseLatch();
+            unlatch(group);
         }
     }
 
@@ -487,7 +503,13 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.unlock();
 
         ResourceGroup group = table.get(dsId, entityHashValue);
-        group.getLatch();
+        if (group.fastUnlock(toKey(dsId, entityHashValue), jobSlot, lockMode)) {
+            forgetFastLock(group, jobSlot);
+            stats.fastUnlock();
+            return;
+        }
+        stats.slowUnlock();
+        latch(group);
         try {
 
             long resource = findResourceInGroup(group, dsId, entityHashValue);
@@ -528,7 +550,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                 group.wakeUp();
             }
         } finally {
-            group.releaseLatch();
+            unlatch(group);
         }
     }
 
@@ -549,6 +571,22 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
             LOGGER.log(LVL, "resArenaMgr " + resArenaMgr.addTo(new RecordManagerStats()).toString());
             LOGGER.log(LVL, "reqArenaMgr " + reqArenaMgr.addTo(new RecordManagerStats()).toString());
         }
+        // fast locks are not in the queue of the job, but once converted they are
+        final Set<ResourceGroup> fastLockedGroups = jobSlot2FastLockedGroups.get(jobSlot);
+        if (fastLockedGroups != null) {
+            for (ResourceGroup group : fastLockedGroups) {
+                if (group.fastUnlock(jobSlot)) {
+                    stats.fastUnlock();
+                } else {
+                    // the fast lock may be being converted by another thread. Once we get the latch, the conversion
+                    // is done (or we did it) and the lock is in the queue of the job, which is released below
+                    latch(group);
+                    unlatch(group);
+                }
+            }
+            // the set is kept for the next job of the slot
+            fastLockedGroups.clear();
+        }
         long holder;
         synchronized (jobArenaMgr) {
             holder = jobArenaMgr.getLastHolder(jobSlot);
@@ -570,6 +608,76 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.logCounters(LOGGER, Level.DEBUG, true);
     }
 
+    LockManagerStats getStats() {
+        return stats;
+    }
+
+    private boolean tryFastLock(ResourceGroup group, int dsId, int entityHashValue, byte lockMode, long jobSlot,
+            ITransactionContext txnContext) throws ACIDException {
+        if (entityHashValue == -1 || (lockMode != LockMode.S && lockMode != LockMode.X)) {
+            return false;
+        }
+        validateJob(txnContext);
+        if (group.tryFastLock(toKey(dsId, entityHashValue), jobSlot, lockMode)) {
+            Set<ResourceGroup> fastLockedGroups = jobSlot2FastLockedGroups.get(jobSlot);
+            if (fastLockedGroups == null) {
+                // only the first job of a slot allocates its set, later jobs of the slot reuse it
+                fastLockedGroups =
+                        jobSlot2FastLockedGroups.computeIfAbsent(jobSlot, slot -> ConcurrentHashMap.newKeySet());
+            }
+            fastLockedGroups.add(group);
+            stats.fastLock();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the group from the groups in which the job may hold fast locks, after its fast lock was released or
+     * converted into a regular lock request.
+     */
+    private void forgetFastLock(ResourceGroup group, long jobSlot) {
+        final Set<ResourceGroup> fastLockedGroups = jobSlot2FastLockedGroups.get(jobSlot);
+        if (fastLockedGroups != null) {
+            fastLockedGroups.remove(group);
+        }
+    }
+
+    private static boolean isUnlocked(ResourceGroup group, int dsId, int entityHashValue) {
+        return !group.mayBeFastLocked(toKey(dsId, entityHashValue)) && group.firstResourceIndex.get() == NILL;
+    }
+
+    private static long toKey(int dsId, int entityHashValue) {
+        return ((long) dsId << Integer.SIZE) | (entityHashValue & 0xffffffffL);
+    }
+
+    /**
+     * Takes the latch of the group and converts its fast lock into a regular lock request, if it is held.
+     */
+    private void latch(ResourceGroup group) {
+        group.getLatch();
+        if (group.blockFastLock()) {
+            final long key = group.getFastKey();
+            final long jobSlot = group.getFastJobSlot();
+            final byte lockMode = group.getFastLockMode();
+            final long resSlot = findOrAllocResourceSlot(group, (int) (key >>> Integer.SIZE), (int) key);
+            resArenaMgr.setMaxMode(resSlot, lockMode);
+            addHolder(allocRequestSlot(resSlot, jobSlot, lockMode), resSlot, jobSlot);
+            forgetFastLock(group, jobSlot);
+            stats.convertFastLock();
+        }
+    }
+
+    /**
+     * Allows fast locks in the group again if it does not manage any resources and releases its latch.
+     */
+    private void unlatch(ResourceGroup group) {
+        if (group.firstResourceIndex.get() == NILL) {
+            group.unblockFastLock();
+        }
+        group.releaseLatch();
+    }
+
     private long findOrAllocJobSlot(long txnId) {
         long jobSlot = txnId2TxnSlotMap.get(txnId);
         if (jobSlot == 0) {
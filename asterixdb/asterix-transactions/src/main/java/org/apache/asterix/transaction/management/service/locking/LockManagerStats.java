@@ -33,6 +33,11 @@ final class LockManagerStats {
     private final AtomicLong itlCnt = new AtomicLong();
     private final AtomicLong ulCnt = new AtomicLong();
     private final AtomicLong rlCnt = new AtomicLong();
+    private final AtomicLong flCnt = new AtomicLong();
+    private final AtomicLong slCnt = new AtomicLong();
+    private final AtomicLong fulCnt = new AtomicLong();
+    private final AtomicLong sulCnt = new AtomicLong();
+    private final AtomicLong cflCnt = new AtomicLong();
 
     LockManagerStats(int loggingPeriod) {
         this.loggingPeriod = loggingPeriod;
@@ -62,6 +67,46 @@ final class LockManagerStats {
         rlCnt.incrementAndGet();
     }
 
+    final void fastLock() {
+        flCnt.incrementAndGet();
+    }
+
+    final void slowLock() {
+        slCnt.incrementAndGet();
+    }
+
+    final void fastUnlock() {
+        fulCnt.incrementAndGet();
+    }
+
+    final void slowUnlock() {
+        sulCnt.incrementAndGet();
+    }
+
+    final void convertFastLock() {
+        cflCnt.incrementAndGet();
+    }
+
+    final long getFastLockCount() {
+        return flCnt.get();
+    }
+
+    final long getSlowLockCount() {
+        return slCnt.get();
+    }
+
+    final long getFastUnlockCount() {
+        return fulCnt.get();
+    }
+
+    final long getSlowUnlockCount() {
+        return sulCnt.get();
+    }
+
+    final long getConvertedFastLockCount() {
+        return cflCnt.get();
+    }
+
     final int requestSum() {
         return lCnt.intValue() + ilCnt.intValue() + tlCnt.intValue() + itlCnt.intValue() + ulCnt.intValue()
                 + rlCnt.intValue();
@@ -70,7 +115,9 @@ final class LockManagerStats {
     final StringBuilder append(StringBuilder sb) {
         sb.append("{").append(" lock : ").append(lCnt).append(", instantLock : ").append(ilCnt).append(", tryLock : ")
                 .append(tlCnt).append(", instantTryLock : ").append(itlCnt).append(", unlock : ").append(ulCnt)
-                .append(", releaseLocks : ").append(rlCnt).append(" }");
+                .append(", releaseLocks : ").append(rlCnt).append(", fastLock : ").append(flCnt).append(", slowLock : ")
+                .append(slCnt).append(", fastUnlock : ").append(fulCnt).append(", slowUnlock : ").append(sulCnt)
+                .append(", convertedFastLock : ").append(cflCnt).append(" }");
         return sb;
     }
 
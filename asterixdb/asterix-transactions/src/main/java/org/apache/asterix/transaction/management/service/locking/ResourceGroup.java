@@ -19,6 +19,7 @@
 package org.apache.asterix.transaction.management.service.locking;
 
 import org.apache.asterix.common.transactions.ITransactionContext;
+import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -29,13 +30,30 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * A ResourceGroup represents a group of resources that are manged by a ConcurrentLockManager.
  * All resources in a group share a common latch. I.e. all modifications of lock requests for any resource in a group
  * are protected by the same latch.
+ * In addition, a group can grant a single lock without taking the latch (the fast lock) as long as it does not manage
+ * any resources. The fast lock is stored in a state word that is changed by compare-and-set only. As soon as a thread
+ * takes the latch, it blocks the fast lock and the ConcurrentLockManager converts a held fast lock into a regular
+ * lock request, so all resources of the group are managed under the latch until the group is empty again.
  *
  * @see ConcurrentLockManager
  */
 class ResourceGroup {
+    // the lowest 2 bits of the fast lock state are the tag, the others are a stamp that changes with every claim
+    private static final long TAG_MASK = 3L;
+    private static final long FREE = 0L;
+    private static final long BLOCKED = 1L;
+    private static final long CLAIMING = 2L;
+    private static final long HELD = 3L;
+    private static final long STAMP_UNIT = 4L;
+
     private ReentrantReadWriteLock latch;
     private Condition condition;
     AtomicLong firstResourceIndex;
+    private final AtomicLong fastLock = new AtomicLong(FREE);
+    // the fast lock, written while CLAIMING and published by the transition to HELD
+    private long fastKey;
+    private long fastJobSlot;
+    private byte fastLockMode;
 
     ResourceGroup() {
         latch = new ReentrantReadWriteLock();
@@ -82,6 +100,103 @@ class ResourceGroup {
         condition.signalAll();
     }
 
+    /**
+     * Tries to get the fast lock of this group.
+     *
+     * @return true if the lock was granted, false if the group is latched, manages resources or already grants
+     *         the fast lock
+     */
+    boolean tryFastLock(long key, long jobSlot, byte lockMode) {
+        final long state = fastLock.get();
+        if ((state & TAG_MASK) != FREE || !fastLock.compareAndSet(state, (state & ~TAG_MASK) + STAMP_UNIT | CLAIMING)) {
+            return false;
+        }
+        fastKey = key;
+        fastJobSlot = jobSlot;
+        fastLockMode = lockMode;
+        fastLock.set((state & ~TAG_MASK) + STAMP_UNIT | HELD);
+        return true;
+    }
+
+    /**
+     * Releases the fast lock if it is held by the given job on the given key.
+     *
+     * @param lockMode
+     *            the lock mode to release, LockMode.ANY releases any mode
+     * @return true if the fast lock was released, false if the lock needs to be looked up under the latch
+     */
+    boolean fastUnlock(long key, long jobSlot, byte lockMode) {
+        final long state = fastLock.get();
+        if ((state & TAG_MASK) != HELD || fastKey != key || fastJobSlot != jobSlot
+                || (lockMode != LockMode.ANY && fastLockMode != lockMode)) {
+            return false;
+        }
+        // the fields are stable as long as the state is, so the CAS fails if they were changed after reading them
+        return fastLock.compareAndSet(state, (state & ~TAG_MASK) | FREE);
+    }
+
+    /**
+     * Releases the fast lock if it is held by the given job on any key.
+     */
+    boolean fastUnlock(long jobSlot) {
+        final long state = fastLock.get();
+        return (state & TAG_MASK) == HELD && fastJobSlot == jobSlot
+                && fastLock.compareAndSet(state, (state & ~TAG_MASK) | FREE);
+    }
+
+    /**
+     * @return false if the given key is known not to be locked by the fast lock, true otherwise
+     */
+    boolean mayBeFastLocked(long key) {
+        final long state = fastLock.get();
+        final long tag = state & TAG_MASK;
+        return tag != FREE && (tag != HELD || fastKey == key);
+    }
+
+    /**
+     * Blocks the fast lock. Must be called with the latch held.
+     *
+     * @return true if the fast lock was held and has to be converted to a regular lock request by the caller, based on
+     *         {@link #getFastKey()}, {@link #getFastJobSlot()}, and {@link #getFastLockMode()}
+     */
+    boolean blockFastLock() {
+        while (true) {
+            final long state = fastLock.get();
+            final long tag = state & TAG_MASK;
+            if (tag == BLOCKED) {
+                return false;
+            } else if (tag == CLAIMING) {
+                // the claiming thread is about to publish the lock
+                Thread.yield();
+            } else if (fastLock.compareAndSet(state, (state & ~TAG_MASK) | BLOCKED)) {
+                return tag == HELD;
+            }
+        }
+    }
+
+    /**
+     * Allows the fast lock again. Must be called with the latch held and only if the group does not manage any
+     * resources.
+     */
+    void unblockFastLock() {
+        final long state = fastLock.get();
+        if ((state & TAG_MASK) == BLOCKED) {
+            fastLock.set((state & ~TAG_MASK) | FREE);
+        }
+    }
+
+    long getFastKey() {
+        return fastKey;
+    }
+
+    long getFastJobSlot() {
+        return fastJobSlot;
+    }
+
+    byte getFastLockMode() {
+        return fastLockMode;
+    }
+
     void log(String s) {
         if (ConcurrentLockManager.LOGGER.isEnabled(ConcurrentLockManager.LVL)) {
             ConcurrentLockManager.LOGGER.log(ConcurrentLockManager.LVL, s + " " + toString());
@@ -90,6 +205,6 @@ class ResourceGroup {
 
     public String toString() {
         return "{ id : " + hashCode() + ", first : " + TypeUtil.Global.toString(firstResourceIndex.get()) + ", "
-                + "waiters : " + (hasWaiters() ? "true" : "false") + " }";
+                + "waiters : " + (hasWaiters() ? "true" : "false") + ", fast : " + (fastLock.get() & TAG_MASK) + " }";
     }
 }
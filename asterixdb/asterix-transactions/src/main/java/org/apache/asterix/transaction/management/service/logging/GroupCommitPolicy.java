@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides how long a log flusher delays forcing a log page to collect more log records into the same force and keeps
+ * statistics about the size of the forced batches.
+ * The delay adapts to the load: it is doubled (up to the maximum delay) whenever more records arrived while the
+ * flusher waited or forced and it is halved whenever a wait was in vain, down to no delay at all for a lightly loaded
+ * log. A wait ends early when the pending bytes or commit records reach their thresholds.
+ */
+public class GroupCommitPolicy {
+
+    // bucket 0 counts forces of 0, bucket i > 0 counts forces of [2^(i-1), 2^i) commits or bytes
+    private static final int NUM_BUCKETS = Integer.SIZE + 1;
+    // the smallest non-zero delay relative to the max delay
+    private static final int MIN_DELAY_DIVISOR = 16;
+    private final long maxDelayNanos;
+    private final long minDelayNanos;
+    private final int groupBytes;
+    private final int groupCommits;
+    private volatile long delayNanos;
+
+    private final AtomicLong forces = new AtomicLong();
+    private final AtomicLong forcedCommits = new AtomicLong();
+    private final AtomicLong forcedBytes = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLongArray commitsHistogram = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLongArray bytesHistogram = new AtomicLongArray(NUM_BUCKETS);
+
+    /**
+     * @param maxDelayMicros
+     *            the maximum time a flusher waits for more log records before it forces, 0 disables waiting
+     * @param groupBytes
+     *            the number of pending log bytes that ends a wait
+     * @param groupCommits
+     *            the number of pending commit log records that ends a wait
+     */
+    public GroupCommitPolicy(long maxDelayMicros, int groupBytes, int groupCommits) {
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.minDelayNanos = Math.max(1, maxDelayNanos / MIN_DELAY_DIVISOR);
+        this.groupBytes = groupBytes;
+        this.groupCommits = groupCommits;
+    }
+
+    /**
+     * @return the time a flusher should wait for more log records before forcing the pending ones, 0 if it should
+     *         force them right away
+     */
+    public long getDelayNanos(int pendingBytes, int pendingCommits) {
+        return pendingBytes == 0 || isGroupComplete(pendingBytes, pendingCommits) ? 0 : delayNanos;
+    }
+
+    public boolean isGroupComplete(int pendingBytes, int pendingCommits) {
+        return pendingBytes >= groupBytes || pendingCommits >= groupCommits;
+    }
+
+    /**
+     * Called after a flusher waited for more log records.
+     *
+     * @param nanos
+     *            the time waited
+     * @param grew
+     *            whether more log records arrived during the wait
+     */
+    public void waited(long nanos, boolean grew) {
+        waits.incrementAndGet();
+        waitNanos.addAndGet(nanos);
+        final long delay = delayNanos;
+        if (grew) {
+            delayNanos = Math.min(maxDelayNanos, delay * 2);
+        } else {
+            delayNanos = delay / 2 < minDelayNanos ? 0 : delay / 2;
+        }
+    }
+
+    /**
+     * Called when a flusher finds log records that arrived while it was forcing the previous ones, which shows that
+     * there are concurrent committers that can share forces.
+     */
+    public void arrivedWhileForcing() {
+        if (delayNanos == 0 && maxDelayNanos > 0) {
+            delayNanos = minDelayNanos;
+        }
+    }
+
+    /**
+     * Called after a flusher forced a batch of log records.
+     */
+    public void forced(int commits, int bytes) {
+        forces.incrementAndGet();
+        forcedCommits.addAndGet(commits);
+        forcedBytes.addAndGet(bytes);
+        commitsHistogram.incrementAndGet(bucket(commits));
+        bytesHistogram.incrementAndGet(bucket(bytes));
+    }
+
+    private static int bucket(int value) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    public long getForces() {
+        return forces.get();
+    }
+
+    public long getForcedCommits() {
+        return forcedCommits.get();
+    }
+
+    public long getForcedBytes() {
+        return forcedBytes.get();
+    }
+
+    public long getWaits() {
+        return waits.get();
+    }
+
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * @return the number of forces per number of forced commit records. Entry 0 counts forces without commit records
+     *         and entry i > 0 counts forces of at least 2^(i-1) and less than 2^i commit records.
+     */
+    public long[] getCommitsHistogram() {
+        return toArray(commitsHistogram);
+    }
+
+    /**
+     * @return the number of forces per number of forced bytes, bucketed like {@link #getCommitsHistogram()}
+     */
+    public long[] getBytesHistogram() {
+        return toArray(bytesHistogram);
+    }
+
+    private static long[] toArray(AtomicLongArray histogram) {
+        final long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    private static void appendHistogram(StringBuilder sb, long[] counts) {
+        sb.append('{');
+        boolean first = true;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                if (!first) {
+                    sb.append(',');
+                }
+                // the lower bound of the bucket
+                sb.append('"').append(i == 0 ? 0 : 1L << (i - 1)).append("\":").append(counts[i]);
+                first = false;
+            }
+        }
+        sb.append('}');
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"forces\":").append(forces.get()).append(",\"commits\":").append(forcedCommits.get())
+                .append(",\"bytes\":").append(forcedBytes.get()).append(",\"waits\":").append(waits.get())
+                .append(",\"waitMicros\":").append(TimeUnit.NANOSECONDS.toMicros(waitNanos.get()))
+                .append(",\"delayMicros\":").append(TimeUnit.NANOSECONDS.toMicros(delayNanos))
+                .append(",\"commitsHistogram\":");
+        appendHistogram(sb, getCommitsHistogram());
+        sb.append(",\"bytesHistogram\":");
+        appendHistogram(sb, getBytesHistogram());
+        sb.append('}');
+        return sb.toString();
+    }
+}
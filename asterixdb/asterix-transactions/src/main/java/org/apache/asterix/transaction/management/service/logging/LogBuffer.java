@@ -21,6 +21,7 @@ package org.apache.asterix.transaction.management.service.logging;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.asterix.common.context.PrimaryIndexOperationTracker;
@@ -48,23 +49,33 @@ public class LogBuffer implements ILogBuffer {
     private final ITransactionSubsystem txnSubsystem;
     private final LogBufferTailReader logBufferTailReader;
     private final int logPageSize;
-    private final MutableLong flushLSN;
-    private final AtomicBoolean full;
+    protected final MutableLong flushLSN;
+    protected final AtomicBoolean full;
     protected int appendOffset;
     private int flushOffset;
     protected final ByteBuffer appendBuffer;
-    private final ByteBuffer flushBuffer;
+    protected final ByteBuffer flushBuffer;
     private final ByteBuffer unlockBuffer;
     protected final LinkedBlockingQueue<ILogRecord> syncCommitQ;
     protected final LinkedBlockingQueue<ILogRecord> flushQ;
     protected final LinkedBlockingQueue<ILogRecord> remoteJobsQ;
     private FileChannel fileChannel;
-    private boolean stop;
+    protected boolean stop;
     private final MutableTxnId reusableTxnId;
     private final DatasetId reusableDatasetId;
+    protected final GroupCommitPolicy groupCommitPolicy;
+    // the number of commit log records appended to and forced from this page
+    protected int appendedCommits;
+    protected int flushedCommits;
 
     public LogBuffer(ITransactionSubsystem txnSubsystem, int logPageSize, MutableLong flushLSN) {
+        this(txnSubsystem, logPageSize, flushLSN, null);
+    }
+
+    public LogBuffer(ITransactionSubsystem txnSubsystem, int logPageSize, MutableLong flushLSN,
+            GroupCommitPolicy groupCommitPolicy) {
         this.txnSubsystem = txnSubsystem;
+        this.groupCommitPolicy = groupCommitPolicy;
         this.logPageSize = logPageSize;
         this.flushLSN = flushLSN;
         appendBuffer = ByteBuffer.allocate(logPageSize);
@@ -95,6 +106,9 @@ public class LogBuffer implements ILogBuffer {
 
         synchronized (this) {
             appendOffset += logRecord.getLogSize();
+            if (isCommitLog(logRecord)) {
+                appendedCommits++;
+            }
             if (IS_DEBUG_MODE) {
                 LOGGER.info("append()| appendOffset: " + appendOffset);
             }
@@ -118,6 +132,11 @@ public class LogBuffer implements ILogBuffer {
                 || logRecord.getLogType() == LogType.WAIT || logRecord.getLogType() == LogType.WAIT_FOR_FLUSHES;
     }
 
+    private static boolean isCommitLog(ILogRecord logRecord) {
+        return logRecord.getLogType() == LogType.ENTITY_COMMIT || logRecord.getLogType() == LogType.JOB_COMMIT
+                || logRecord.getLogType() == LogType.ABORT;
+    }
+
     private boolean isLocalTransactionLog(ILogRecord logRecord) {
         return logRecord.getLogSource() == LogSource.LOCAL && logRecord.getLogType() != LogType.FLUSH
                 && logRecord.getLogType() != LogType.WAIT && logRecord.getLogType() != LogType.WAIT_FOR_FLUSHES;
@@ -150,6 +169,8 @@ public class LogBuffer implements ILogBuffer {
         full.set(false);
         appendOffset = 0;
         flushOffset = 0;
+        appendedCommits = 0;
+        flushedCommits = 0;
         stop = false;
     }
 
@@ -162,6 +183,7 @@ public class LogBuffer implements ILogBuffer {
         boolean interrupted = false;
         try {
             int endOffset;
+            int endCommits;
             while (!full.get()) {
                 try {
                     synchronized (this) {
@@ -174,15 +196,19 @@ public class LogBuffer implements ILogBuffer {
                                 return;
                             }
                             wait();
+                        } else if (groupCommitPolicy != null) {
+                            groupCommitPolicy.arrivedWhileForcing();
                         }
+                        awaitGroupCommit();
                         endOffset = appendOffset;
+                        endCommits = appendedCommits;
                     }
-                    internalFlush(flushOffset, endOffset);
+                    internalFlush(flushOffset, endOffset, endCommits);
                 } catch (InterruptedException e) {
                     interrupted = true;
                 }
             }
-            internalFlush(flushOffset, appendOffset);
+            internalFlush(flushOffset, appendOffset, appendedCommits);
         } finally {
             if (interrupted) {
                 Thread.currentThread().interrupt();
@@ -190,13 +216,45 @@ public class LogBuffer implements ILogBuffer {
         }
     }
 
-    private void internalFlush(int beginOffset, int endOffset) {
+    /**
+     * Waits, while holding the monitor of this page, for more log records to force together with the pending ones as
+     * long as the {@link GroupCommitPolicy} asks for it.
+     */
+    protected void awaitGroupCommit() throws InterruptedException {
+        if (groupCommitPolicy == null || full.get()) {
+            return;
+        }
+        final int pendingBytes = appendOffset - flushOffset;
+        final long delay = groupCommitPolicy.getDelayNanos(pendingBytes, appendedCommits - flushedCommits);
+        if (delay <= 0) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final long deadline = start + delay;
+        long remaining = delay;
+        while (remaining > 0 && !full.get() && !stop
+                && !groupCommitPolicy.isGroupComplete(appendOffset - flushOffset, appendedCommits - flushedCommits)) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        groupCommitPolicy.waited(System.nanoTime() - start, appendOffset - flushOffset > pendingBytes);
+    }
+
+    protected void forced(int commits, int bytes) {
+        if (groupCommitPolicy != null) {
+            groupCommitPolicy.forced(commits, bytes);
+        }
+    }
+
+    private void internalFlush(int beginOffset, int endOffset, int endCommits) {
         try {
             if (endOffset > beginOffset) {
                 flushBuffer.limit(endOffset);
                 fileChannel.write(flushBuffer);
                 fileChannel.force(false);
+                forced(endCommits - flushedCommits, endOffset - beginOffset);
                 flushOffset = endOffset;
+                flushedCommits = endCommits;
                 synchronized (flushLSN) {
                     flushLSN.set(flushLSN.get() + (endOffset - beginOffset));
                     flushLSN.notifyAll(); //notify to LogReaders if any
@@ -215,7 +273,7 @@ public class LogBuffer implements ILogBuffer {
         return new LogBufferTailReader(unlockBuffer);
     }
 
-    private void batchUnlock(int beginOffset, int endOffset) throws ACIDException {
+    protected void batchUnlock(int beginOffset, int endOffset) throws ACIDException {
         if (endOffset > beginOffset) {
             logBufferTailReader.initializeScan(beginOffset, endOffset);
             ITransactionContext txnCtx;
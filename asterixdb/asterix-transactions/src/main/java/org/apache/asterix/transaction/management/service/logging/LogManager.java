@@ -38,6 +38,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.asterix.common.config.TransactionProperties;
 import org.apache.asterix.common.exceptions.ACIDException;
 import org.apache.asterix.common.replication.IReplicationManager;
 import org.apache.asterix.common.transactions.ILogBuffer;
@@ -69,6 +70,8 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private final LogManagerProperties logManagerProperties;
     private final int numLogPages;
     private final String logDir;
+    private final String[] logDirs;
+    private final boolean striped;
     private final String logFilePrefix;
     private final MutableLong flushLSN;
     private final String nodeId;
@@ -82,8 +85,11 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private LinkedBlockingQueue<ILogBuffer> stashQ;
     private FileChannel appendChannel;
     private ILogBuffer appendPage;
-    private LogFlusher logFlusher;
-    private Future<? extends Object> futureLogFlusher;
+    private final List<LogFlusher> logFlushers = new ArrayList<>();
+    private final List<Future<? extends Object>> futureLogFlushers = new ArrayList<>();
+    private LogStripe[] stripes;
+    private final Object appendPageLock = new Object();
+    private final GroupCommitPolicy groupCommitPolicy;
     protected LinkedBlockingQueue<ILogRecord> flushLogsQ;
     private long currentLogFileId;
 
@@ -96,14 +102,30 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         logPageSize = logManagerProperties.getLogPageSize();
         numLogPages = logManagerProperties.getNumLogPages();
         logDir = logManagerProperties.getLogDir();
+        logDirs = logManagerProperties.getLogDirs();
+        striped = logManagerProperties.isStriped();
         logFilePrefix = logManagerProperties.getLogFilePrefix();
+        final TransactionProperties txnProperties = txnSubsystem.getTransactionProperties();
+        groupCommitPolicy = new GroupCommitPolicy(txnProperties.getLogGroupCommitMaxDelay(),
+                txnProperties.getLogGroupCommitBytes(), txnProperties.getLogGroupCommitCommits());
         flushLSN = new MutableLong();
         appendLSN = new AtomicLong();
         nodeId = txnSubsystem.getId();
         flushLogsQ = new LinkedBlockingQueue<>();
         txnSubsystem.getApplicationContext().getThreadExecutor().execute(new FlushLogsLogger());
         final long onDiskMaxLogFileId = getOnDiskMaxLogFileId();
-        initializeLogManager(onDiskMaxLogFileId);
+        final long otherLayoutMaxLogFileId = getOtherLayoutMaxLogFileId();
+        if (otherLayoutMaxLogFileId >= onDiskMaxLogFileId) {
+            // the log was (un)striped since the last start. continue the LSNs after the log files of the other layout,
+            // which are no longer read
+            LOGGER.warn("Found log files up to id({}) that are {}striped, starting a new {}striped log",
+                    otherLayoutMaxLogFileId, striped ? "not " : "", striped ? "" : "non-");
+            final long nextLogFileId = otherLayoutMaxLogFileId + 1;
+            createFileIfNotExists(getLogFilePath(nextLogFileId));
+            initializeLogManager(nextLogFileId);
+        } else {
+            initializeLogManager(onDiskMaxLogFileId);
+        }
     }
 
     private void initializeLogManager(long nextLogFileId) {
@@ -111,7 +133,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         flushQ = new LinkedBlockingQueue<>(numLogPages);
         stashQ = new LinkedBlockingQueue<>(numLogPages);
         for (int i = 0; i < numLogPages; i++) {
-            emptyQ.add(new LogBuffer(txnSubsystem, logPageSize, flushLSN));
+            emptyQ.add(createLogBuffer(logPageSize));
         }
         appendLSN.set(initializeLogAnchor(nextLogFileId));
         flushLSN.set(appendLSN.get());
@@ -124,9 +146,38 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
             throw new ACIDException(e);
         }
         initNewPage(INITIAL_LOG_SIZE);
-        logFlusher = new LogFlusher(this, emptyQ, flushQ, stashQ);
-        futureLogFlusher =
-                ((ExecutorService) txnSubsystem.getApplicationContext().getThreadExecutor()).submit(logFlusher);
+        logFlushers.clear();
+        futureLogFlushers.clear();
+        if (striped) {
+            // one flusher per stripe, so that consecutive pages are forced to the stripe devices in parallel
+            stripes = new LogStripe[logDirs.length];
+            for (int i = 0; i < logDirs.length; i++) {
+                stripes[i] = new LogStripe(logDirs[i], logFilePrefix, logFileSize);
+                logFlushers.add(new LogFlusher(this, emptyQ, flushQ, stashQ, stripes[i]));
+            }
+        } else {
+            logFlushers.add(new LogFlusher(this, emptyQ, flushQ, stashQ, null));
+        }
+        for (LogFlusher logFlusher : logFlushers) {
+            futureLogFlushers.add(
+                    ((ExecutorService) txnSubsystem.getApplicationContext().getThreadExecutor()).submit(logFlusher));
+        }
+    }
+
+    private ILogBuffer createLogBuffer(int pageSize) {
+        return striped ? new StripedLogBuffer(txnSubsystem, pageSize, flushLSN, this, groupCommitPolicy)
+                : new LogBuffer(txnSubsystem, pageSize, flushLSN, groupCommitPolicy);
+    }
+
+    /**
+     * Marks a page of a striped log as full so that no more records are appended to it.
+     * This only excludes concurrent appends to the page and not the whole {@link #syncAppendToLogTail(ILogRecord)},
+     * which may wait for the flushers.
+     */
+    void sealPage(ILogBuffer page) {
+        synchronized (appendPageLock) {
+            page.setFull();
+        }
     }
 
     @Override
@@ -190,7 +241,17 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (logRecord.getLogType() == LogType.FLUSH) {
             logRecord.setLSN(appendLSN.get());
         }
-        appendPage.append(logRecord, appendLSN.get());
+        if (striped) {
+            synchronized (appendPageLock) {
+                // the flusher of the page may have sealed it since ensureSpace
+                if (!appendPage.hasSpace(logSize)) {
+                    prepareNextPage(logSize);
+                }
+                appendPage.append(logRecord, appendLSN.get());
+            }
+        } else {
+            appendPage.append(logRecord, appendLSN.get());
+        }
         if (logRecord.isMarker()) {
             logRecord.logAppended(appendLSN.get());
         }
@@ -232,11 +293,15 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (largePage) {
             // for now, alloc a new buffer for each large page
             // TODO: pool large pages??
-            appendPage = new LogBuffer(txnSubsystem, logSize, flushLSN);
+            appendPage = createLogBuffer(logSize);
         } else {
             appendPage.reset();
         }
-        appendPage.setFileChannel(appendChannel);
+        if (striped) {
+            ((StripedLogBuffer) appendPage).setBeginLSN(appendLSN.get());
+        } else {
+            appendPage.setFileChannel(appendChannel);
+        }
         flushQ.add(appendPage);
     }
 
@@ -298,6 +363,10 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         return new LogReader(this, logFileSize, logPageSize, flushLSN, isRecoveryMode);
     }
 
+    public GroupCommitPolicy getGroupCommitPolicy() {
+        return groupCommitPolicy;
+    }
+
     public LogManagerProperties getLogManagerProperties() {
         return logManagerProperties;
     }
@@ -320,6 +389,8 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     public void stop(boolean dumpState, OutputStream os) {
         terminateLogFlusher();
         closeCurrentLogFile();
+        closeStripes();
+        LOGGER.info("Log forces: {}", groupCommitPolicy);
         if (dumpState) {
             dumpState(os);
         }
@@ -332,6 +403,24 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
 
         // #. dump LSNInfo
         dumpLSNInfo(os);
+
+        // #. dump group commit statistics
+        dumpGroupCommit(os);
+    }
+
+    private void dumpGroupCommit(OutputStream os) {
+        try {
+            StringBuilder sb = new StringBuilder();
+            sb.append("\n>>dump_begin\t>>----- [GroupCommit] -----\n");
+            sb.append(groupCommitPolicy.toString());
+            sb.append("\n>>dump_end\t>>----- [GroupCommit] -----\n");
+            os.write(sb.toString().getBytes());
+        } catch (Exception e) {
+            // ignore exception and continue dumping as much as possible.
+            if (IS_DEBUG_MODE) {
+                e.printStackTrace();
+            }
+        }
     }
 
     private void dumpConfVars(OutputStream os) {
@@ -368,8 +457,22 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private long initializeLogAnchor(long fileId) {
         final String logFilePath = getLogFilePath(fileId);
         createFileIfNotExists(logFilePath);
-        final File logFile = new File(logFilePath);
-        long offset = logFile.length();
+        final long offset;
+        if (striped) {
+            try {
+                final StripedTxnLogFile logFile = openStripedLogFile(fileId);
+                try {
+                    logFile.truncateTail();
+                    offset = logFile.size();
+                } finally {
+                    logFile.close();
+                }
+            } catch (IOException e) {
+                throw new ACIDException(e);
+            }
+        } else {
+            offset = new File(logFilePath).length();
+        }
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("initializing log anchor with log file Id: {} at offset: {}", fileId, offset);
         }
@@ -380,6 +483,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     public void renewLogFiles() {
         terminateLogFlusher();
         closeCurrentLogFile();
+        closeStripes();
         long nextLogFileId = getNextLogFileId();
         createFileIfNotExists(getLogFilePath(nextLogFileId));
         final long logFileFirstLsn = getLogFileFirstLsn(nextLogFileId);
@@ -409,10 +513,12 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
                     break;
                 }
                 //delete old log file
-                File file = new File(getLogFilePath(id));
-                file.delete();
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("Deleted log file " + file.getAbsolutePath());
+                for (String dir : logDirs) {
+                    File file = new File(LogStripe.getLogFilePath(dir, logFilePrefix, id));
+                    file.delete();
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Deleted log file " + file.getAbsolutePath());
+                    }
                 }
             }
         }
@@ -422,14 +528,18 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Terminating LogFlusher thread ...");
         }
-        logFlusher.terminate();
-        try {
-            futureLogFlusher.get();
-        } catch (ExecutionException | InterruptedException e) {
-            if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("---------- warning(begin): LogFlusher thread is terminated abnormally --------");
-                e.printStackTrace();
-                LOGGER.info("---------- warning(end)  : LogFlusher thread is terminated abnormally --------");
+        for (LogFlusher logFlusher : logFlushers) {
+            logFlusher.terminate();
+        }
+        for (Future<? extends Object> futureLogFlusher : futureLogFlushers) {
+            try {
+                futureLogFlusher.get();
+            } catch (ExecutionException | InterruptedException e) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("---------- warning(begin): LogFlusher thread is terminated abnormally --------");
+                    e.printStackTrace();
+                    LOGGER.info("---------- warning(end)  : LogFlusher thread is terminated abnormally --------");
+                }
             }
         }
         if (LOGGER.isInfoEnabled()) {
@@ -474,7 +584,36 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     }
 
     private String getLogFilePath(long fileId) {
-        return logDir + File.separator + logFilePrefix + "_" + fileId;
+        return LogStripe.getLogFilePath(logDir, logFilePrefix, fileId);
+    }
+
+    /**
+     * @return the largest id of the log files in the log directory that belong to the other (striped or not striped)
+     *         layout, or -1 if there are none
+     */
+    private long getOtherLayoutMaxLogFileId() {
+        final String otherPrefix =
+                striped ? LogManagerProperties.DEFAULT_LOG_FILE_PREFIX : LogManagerProperties.STRIPED_LOG_FILE_PREFIX;
+        final String[] logFileNames = new File(logDir).list((dir, name) -> name.startsWith(otherPrefix + "_"));
+        long maxId = -1;
+        if (logFileNames != null) {
+            for (String fileName : logFileNames) {
+                try {
+                    maxId = Math.max(maxId, Long.parseLong(fileName.substring(otherPrefix.length() + 1)));
+                } catch (NumberFormatException e) {
+                    // not a log file
+                }
+            }
+        }
+        return maxId;
+    }
+
+    private StripedTxnLogFile openStripedLogFile(long fileId) throws IOException {
+        final String[] paths = new String[logDirs.length];
+        for (int i = 0; i < logDirs.length; i++) {
+            paths[i] = LogStripe.getLogFilePath(logDirs[i], logFilePrefix, fileId);
+        }
+        return new StripedTxnLogFile(this, paths, fileId, getLogFileFirstLsn(fileId), logFileSize);
     }
 
     private long getLogFileOffset(long lsn) {
@@ -515,6 +654,11 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
 
     private void setLogPosition(long lsn) throws IOException {
         final long fileId = getLogFileId(lsn);
+        if (striped) {
+            // the stripes position themselves on the first write to a file
+            currentLogFileId = fileId;
+            return;
+        }
         final Path targetFilePath = Paths.get(getLogFilePath(fileId));
         final long targetPosition = getLogFileOffset(lsn);
         final RandomAccessFile raf = new RandomAccessFile(targetFilePath.toFile(), "rw"); // NOSONAR closed when full
@@ -535,6 +679,14 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         }
     }
 
+    private void closeStripes() {
+        if (stripes != null) {
+            for (LogStripe stripe : stripes) {
+                stripe.close();
+            }
+        }
+    }
+
     @Override
     public long getReadableSmallestLSN() {
         List<Long> logFileIds = getOrderedLogFileIds();
@@ -573,6 +725,9 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (!file.exists()) {
             throw new IOException("Log file with id(" + fileId + ") was not found. Requested LSN: " + LSN);
         }
+        if (striped) {
+            return openStripedLogFile(fileId);
+        }
         RandomAccessFile raf = new RandomAccessFile(new File(logFilePath), "r");
         FileChannel newFileChannel = raf.getChannel();
         TxnLogFile logFile = new TxnLogFile(this, newFileChannel, fileId, fileId * logFileSize);
@@ -632,16 +787,18 @@ class LogFlusher implements Callable<Boolean> {
     private final LinkedBlockingQueue<ILogBuffer> emptyQ;
     private final LinkedBlockingQueue<ILogBuffer> flushQ;
     private final LinkedBlockingQueue<ILogBuffer> stashQ;
+    private final LogStripe stripe;
     private volatile ILogBuffer flushPage;
     private volatile boolean stopping;
     private final Semaphore started;
 
     LogFlusher(LogManager logMgr, LinkedBlockingQueue<ILogBuffer> emptyQ, LinkedBlockingQueue<ILogBuffer> flushQ,
-            LinkedBlockingQueue<ILogBuffer> stashQ) {
+            LinkedBlockingQueue<ILogBuffer> stashQ, LogStripe stripe) {
         this.logMgr = logMgr;
         this.emptyQ = emptyQ;
         this.flushQ = flushQ;
         this.stashQ = stashQ;
+        this.stripe = stripe;
         this.started = new Semaphore(0);
     }
 
@@ -670,6 +827,9 @@ class LogFlusher implements Callable<Boolean> {
                 if (flushPage == POISON_PILL) {
                     return true;
                 }
+                if (stripe != null) {
+                    ((StripedLogBuffer) flushPage).setStripe(stripe);
+                }
                 flushPage.flush(stopping);
 
                 // TODO(mblow): recycle large pages
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * One stripe of a striped transaction log. Each log file of a striped log has a part in every stripe directory and
+ * every log page is written as one chunk to the part of the stripe of the flusher that flushed it:
+ * [begin LSN (8 bytes)][data length (4 bytes)][data]
+ * Chunks of a stripe are not contiguous in LSN order, {@link StripedTxnLogFile} restores the order from the chunk
+ * headers of all stripes.
+ */
+public class LogStripe {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final int CHUNK_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private final String dir;
+    private final String logFilePrefix;
+    private final long logFileSize;
+    private final ByteBuffer header;
+    private final ByteBuffer[] buffers;
+    private FileChannel channel;
+    private long fileId = -1;
+
+    public LogStripe(String dir, String logFilePrefix, long logFileSize) {
+        this.dir = dir;
+        this.logFilePrefix = logFilePrefix;
+        this.logFileSize = logFileSize;
+        header = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+        buffers = new ByteBuffer[2];
+        buffers[0] = header;
+    }
+
+    /**
+     * Writes the remaining bytes of the data buffer as one chunk and forces it to the device.
+     *
+     * @param beginLSN
+     *            the LSN of the first byte of data. All of the data must belong to the same log file.
+     */
+    public void write(long beginLSN, ByteBuffer data) throws IOException {
+        ensureFile(beginLSN / logFileSize);
+        header.clear();
+        header.putLong(beginLSN);
+        header.putInt(data.remaining());
+        header.flip();
+        buffers[1] = data;
+        while (data.hasRemaining()) {
+            channel.write(buffers);
+        }
+        buffers[1] = null;
+        channel.force(false);
+    }
+
+    private void ensureFile(long logFileId) throws IOException {
+        if (channel != null && fileId == logFileId) {
+            return;
+        }
+        close();
+        File file = new File(getLogFilePath(dir, logFilePrefix, logFileId));
+        File parentFile = file.getParentFile();
+        if (parentFile != null) {
+            parentFile.mkdirs();
+        }
+        channel = new RandomAccessFile(file, "rw").getChannel(); // NOSONAR closed when the file changes
+        channel.position(channel.size());
+        fileId = logFileId;
+    }
+
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("failed to close log stripe file with id({}) in {}", fileId, dir, e);
+            }
+            channel = null;
+        }
+    }
+
+    public static String getLogFilePath(String dir, String logFilePrefix, long fileId) {
+        return dir + File.separator + logFilePrefix + "_" + fileId;
+    }
+}
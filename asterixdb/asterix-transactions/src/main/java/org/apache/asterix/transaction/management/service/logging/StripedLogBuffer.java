@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import org.apache.asterix.common.transactions.ITransactionSubsystem;
+import org.apache.asterix.common.transactions.MutableLong;
+import org.apache.hyracks.api.util.InvokeUtil;
+
+/**
+ * A log page of a striped transaction log. Unlike {@link LogBuffer}, which is flushed incrementally while it is
+ * appended to, a striped page is sealed by its flusher as soon as it has some content and is then written once as a
+ * whole to the stripe of the flusher. This lets several flushers force consecutive pages to different devices at the
+ * same time while new records are appended to the next page.
+ * Pages may finish writing out of order, so the flushLSN is only advanced, and the waiters of the page are only
+ * notified, once all preceding pages are on disk.
+ */
+public class StripedLogBuffer extends LogBuffer {
+
+    private final LogManager logMgr;
+    private long beginLSN;
+    private LogStripe stripe;
+
+    public StripedLogBuffer(ITransactionSubsystem txnSubsystem, int logPageSize, MutableLong flushLSN,
+            LogManager logMgr, GroupCommitPolicy groupCommitPolicy) {
+        super(txnSubsystem, logPageSize, flushLSN, groupCommitPolicy);
+        this.logMgr = logMgr;
+    }
+
+    /**
+     * Sets the LSN of the first record that will be appended to this page.
+     */
+    public void setBeginLSN(long beginLSN) {
+        this.beginLSN = beginLSN;
+    }
+
+    /**
+     * Sets the stripe the next {@link #flush(boolean)} writes to.
+     */
+    public void setStripe(LogStripe stripe) {
+        this.stripe = stripe;
+    }
+
+    @Override
+    public void flush(boolean stopping) {
+        boolean interrupted = false;
+        try {
+            synchronized (this) {
+                if (appendOffset > 0 && !full.get() && groupCommitPolicy != null) {
+                    // the records were appended while this flusher was writing its previous page
+                    groupCommitPolicy.arrivedWhileForcing();
+                }
+                while (appendOffset == 0 && !full.get()) {
+                    if (stopping || stop) {
+                        return;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                try {
+                    awaitGroupCommit();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (!full.get()) {
+                logMgr.sealPage(this);
+            }
+            final int endOffset = appendOffset;
+            if (endOffset > 0) {
+                write(endOffset);
+                publish(endOffset);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void write(int endOffset) {
+        try {
+            flushBuffer.position(0);
+            flushBuffer.limit(endOffset);
+            stripe.write(beginLSN, flushBuffer);
+            forced(appendedCommits, endOffset);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void publish(int endOffset) {
+        InvokeUtil.doUninterruptibly(() -> {
+            synchronized (flushLSN) {
+                while (flushLSN.get() != beginLSN) {
+                    flushLSN.wait();
+                }
+            }
+        });
+        // the records of this page are unlocked before the flushLSN moves on to keep the unlocking in LSN order
+        batchUnlock(0, endOffset);
+        synchronized (flushLSN) {
+            flushLSN.set(beginLSN + endOffset);
+            flushLSN.notifyAll(); //notify to LogReaders and the flushers of the following pages, if any
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.asterix.common.transactions.ILogManager;
+import org.apache.asterix.common.transactions.TxnLogFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A log file of a striped transaction log that reads the chunks written by {@link LogStripe}s in LSN order, so that
+ * readers see the same contiguous byte sequence as in a log file that is not striped.
+ * The file ends at the first byte that is not covered by a chunk. Chunks beyond such a hole were written by a flusher
+ * that got ahead of the flusher of a preceding page before a crash and are not part of the log.
+ */
+public class StripedTxnLogFile extends TxnLogFile {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final String[] paths;
+    private final long logFileSize;
+    private final FileChannel[] channels;
+    private final long[] scannedLengths;
+    // in-file offset of the first byte of a chunk -> chunk
+    private final TreeMap<Long, Chunk> chunks = new TreeMap<>();
+    private final ByteBuffer header = ByteBuffer.allocate(LogStripe.CHUNK_HEADER_SIZE);
+    private long size;
+    private long position;
+    private boolean open = true;
+
+    public StripedTxnLogFile(ILogManager logManager, String[] paths, long logFileId, long fileBeginLSN,
+            long logFileSize) throws IOException {
+        super(logManager, null, logFileId, fileBeginLSN);
+        this.paths = paths;
+        this.logFileSize = logFileSize;
+        channels = new FileChannel[paths.length];
+        scannedLengths = new long[paths.length];
+        refresh();
+    }
+
+    /**
+     * Picks up the chunks that were written to the stripes since the last call.
+     */
+    private void refresh() throws IOException {
+        for (int i = 0; i < paths.length; i++) {
+            if (channels[i] == null) {
+                File file = new File(paths[i]);
+                if (!file.exists()) {
+                    continue;
+                }
+                channels[i] = new RandomAccessFile(file, "r").getChannel(); // NOSONAR closed on close()
+            }
+            scan(i);
+        }
+        Map.Entry<Long, Chunk> next = chunks.ceilingEntry(size);
+        while (next != null && next.getKey() == size) {
+            size += next.getValue().length;
+            next = chunks.ceilingEntry(size);
+        }
+    }
+
+    private void scan(int stripe) throws IOException {
+        final FileChannel channel = channels[stripe];
+        final long length = channel.size();
+        long offset = scannedLengths[stripe];
+        while (offset + LogStripe.CHUNK_HEADER_SIZE <= length) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, offset + header.position()) < 0) {
+                    return;
+                }
+            }
+            header.flip();
+            final long beginLSN = header.getLong();
+            final int chunkLength = header.getInt();
+            final long dataOffset = offset + LogStripe.CHUNK_HEADER_SIZE;
+            final long inFileOffset = beginLSN - getFileBeginLSN();
+            if (inFileOffset < 0 || inFileOffset >= logFileSize || chunkLength <= 0) {
+                LOGGER.warn("Ignoring invalid chunk header at offset {} of {}", offset, paths[stripe]);
+                return;
+            }
+            if (dataOffset + chunkLength > length) {
+                // torn or still being written
+                return;
+            }
+            chunks.putIfAbsent(inFileOffset, new Chunk(stripe, dataOffset, chunkLength));
+            offset = dataOffset + chunkLength;
+            scannedLengths[stripe] = offset;
+        }
+    }
+
+    /**
+     * Truncates the chunks that are not part of the log from all stripes, so that the log can be continued at
+     * {@link #size()}.
+     */
+    public void truncateTail() throws IOException {
+        final long[] validLengths = new long[paths.length];
+        for (Map.Entry<Long, Chunk> entry : chunks.headMap(size).entrySet()) {
+            Chunk chunk = entry.getValue();
+            validLengths[chunk.stripe] = Math.max(validLengths[chunk.stripe], chunk.dataOffset + chunk.length);
+        }
+        for (int i = 0; i < paths.length; i++) {
+            if (channels[i] == null || channels[i].size() == validLengths[i]) {
+                continue;
+            }
+            LOGGER.warn("Truncating {} from {} to {} bytes", paths[i], channels[i].size(), validLengths[i]);
+            try (RandomAccessFile raf = new RandomAccessFile(paths[i], "rw")) {
+                raf.getChannel().truncate(validLengths[i]);
+                raf.getChannel().force(true);
+            }
+            scannedLengths[i] = validLengths[i];
+        }
+        chunks.tailMap(size).clear();
+    }
+
+    @Override
+    public void position(long newPosition) throws IOException {
+        position = newPosition;
+    }
+
+    @Override
+    public long size() throws IOException {
+        refresh();
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer readBuffer) throws IOException {
+        if (position >= size) {
+            refresh();
+            if (position >= size) {
+                return -1;
+            }
+        }
+        int read = 0;
+        while (readBuffer.hasRemaining() && position < size) {
+            final Map.Entry<Long, Chunk> entry = chunks.floorEntry(position);
+            final Chunk chunk = entry.getValue();
+            final long inChunkOffset = position - entry.getKey();
+            final int length = (int) Math.min(readBuffer.remaining(), chunk.length - inChunkOffset);
+            final int limit = readBuffer.limit();
+            readBuffer.limit(readBuffer.position() + length);
+            final int chunkRead;
+            try {
+                chunkRead = channels[chunk.stripe].read(readBuffer, chunk.dataOffset + inChunkOffset);
+            } finally {
+                readBuffer.limit(limit);
+            }
+            if (chunkRead <= 0) {
+                break;
+            }
+            position += chunkRead;
+            read += chunkRead;
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (open) {
+            open = false;
+            for (FileChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private static class Chunk {
+        private final int stripe;
+        private final long dataOffset;
+        private final int length;
+
+        private Chunk(int stripe, long dataOffset, int length) {
+            this.stripe = stripe;
+            this.dataOffset = dataOffset;
+            this.length = length;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import org.apache.asterix.common.transactions.TxnId;
 import org.apache.asterix.transaction.management.service.locking.Request.Kind;
 import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -143,6 +144,60 @@ public class LockManagerUnitTest {
         expectError(execute(reqs), j(1), IllegalStateException.class);
     }
 
+    @Test
+    public void testFastLock() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(2), LockMode.S));
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reportErrors(execute(reqs));
+        LockManagerStats stats = ((ConcurrentLockManager) lockMgr).getStats();
+        Assert.assertEquals(2, stats.getFastLockCount());
+        Assert.assertEquals(0, stats.getSlowLockCount());
+        Assert.assertEquals(2, stats.getFastUnlockCount());
+        Assert.assertEquals(0, stats.getSlowUnlockCount());
+    }
+
+    @Test
+    public void testFastLockConversion() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.TRY_LOCK, j(2), d(1), e(1), LockMode.S));
+        reqs.add(req(Kind.INSTANT_TRY_LOCK, j(3), d(1), e(1), LockMode.S));
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(1), LockMode.S));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reportErrors(execute(reqs));
+        LockManagerStats stats = ((ConcurrentLockManager) lockMgr).getStats();
+        Assert.assertEquals(1, stats.getConvertedFastLockCount());
+        Assert.assertEquals(1, stats.getSlowLockCount());
+        Assert.assertEquals(1, stats.getSlowUnlockCount());
+        // the converted lock is gone, so the group grants fast locks again
+        Assert.assertEquals(2, stats.getFastLockCount());
+        Assert.assertEquals(1, stats.getFastUnlockCount());
+    }
+
+    @Test
+    public void testReleaseFastLocks() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(3), LockMode.X));
+        reqs.add(req(Kind.RELEASE, j(1)));
+        // the fast lock of the other job is kept
+        reqs.add(req(Kind.INSTANT_TRY_LOCK, j(3), d(1), e(3), LockMode.S));
+        reqs.add(req(Kind.LOCK, j(3), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reqs.add(req(Kind.RELEASE, j(3)));
+        reportErrors(execute(reqs));
+        LockManagerStats stats = ((ConcurrentLockManager) lockMgr).getStats();
+        Assert.assertEquals(4, stats.getFastLockCount());
+        Assert.assertEquals(3, stats.getFastUnlockCount());
+        Assert.assertEquals(1, stats.getConvertedFastLockCount());
+        Assert.assertEquals(1, stats.getSlowUnlockCount());
+    }
+
     //--------------------------------------------------------------------
     // Helper methods
     //--------------------------------------------------------------------
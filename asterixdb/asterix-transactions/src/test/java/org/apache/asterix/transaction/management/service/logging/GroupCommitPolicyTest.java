@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GroupCommitPolicyTest {
+
+    private static final long MAX_DELAY_MICROS = 1600;
+
+    @Test
+    public void disabledTest() {
+        GroupCommitPolicy policy = new GroupCommitPolicy(0, 1024, 8);
+        policy.arrivedWhileForcing();
+        Assert.assertEquals(0, policy.getDelayNanos(10, 1));
+    }
+
+    @Test
+    public void adaptationTest() {
+        GroupCommitPolicy policy = new GroupCommitPolicy(MAX_DELAY_MICROS, 1024, 8);
+        final long maxDelay = TimeUnit.MICROSECONDS.toNanos(MAX_DELAY_MICROS);
+        final long minDelay = maxDelay / 16;
+        // no concurrent committers, no waiting
+        Assert.assertEquals(0, policy.getDelayNanos(10, 1));
+        // concurrent committers start the waiting
+        policy.arrivedWhileForcing();
+        Assert.assertEquals(minDelay, policy.getDelayNanos(10, 1));
+        // the delay grows up to the max while waits collect more records
+        for (int i = 0; i < 10; i++) {
+            policy.waited(policy.getDelayNanos(), true);
+        }
+        Assert.assertEquals(maxDelay, policy.getDelayNanos(10, 1));
+        // no waiting when there is nothing to force or the group is complete already
+        Assert.assertEquals(0, policy.getDelayNanos(0, 0));
+        Assert.assertEquals(0, policy.getDelayNanos(1024, 1));
+        Assert.assertEquals(0, policy.getDelayNanos(10, 8));
+        // the delay shrinks to nothing while waits are in vain
+        for (int i = 0; i < 5; i++) {
+            policy.waited(policy.getDelayNanos(), false);
+        }
+        Assert.assertEquals(0, policy.getDelayNanos(10, 1));
+    }
+
+    @Test
+    public void histogramTest() {
+        GroupCommitPolicy policy = new GroupCommitPolicy(MAX_DELAY_MICROS, 1024, 8);
+        policy.forced(0, 100);
+        policy.forced(1, 200);
+        policy.forced(3, 300);
+        policy.forced(5, 4096);
+        Assert.assertEquals(4, policy.getForces());
+        Assert.assertEquals(9, policy.getForcedCommits());
+        Assert.assertEquals(4696, policy.getForcedBytes());
+        final long[] commits = policy.getCommitsHistogram();
+        Assert.assertEquals(1, commits[0]);
+        Assert.assertEquals(1, commits[1]);
+        Assert.assertEquals(1, commits[2]);
+        Assert.assertEquals(1, commits[3]);
+        final long[] bytes = policy.getBytesHistogram();
+        Assert.assertEquals(1, bytes[7]);
+        Assert.assertEquals(1, bytes[8]);
+        Assert.assertEquals(1, bytes[9]);
+        Assert.assertEquals(1, bytes[13]);
+        Assert.assertTrue(policy.toString().contains("\"commitsHistogram\":{\"0\":1,\"1\":1,\"2\":1,\"4\":1}"));
+    }
+}
@@ -29,4 +29,10 @@ public interface OperatorAnnotations {
     // Integer
     public static final String MAX_NUMBER_FRAMES = "MAX_NUMBER_FRAMES"; // -->
     // Integer
+    public static final String ESTIMATED_CARDINALITY = "ESTIMATED_CARDINALITY"; // -->
+    // Long
+    public static final String ACTUAL_CARDINALITY = "ACTUAL_CARDINALITY"; // -->
+    // Long
+    public static final String OPERATOR_DESCRIPTOR_ID = "OPERATOR_DESCRIPTOR_ID"; // -->
+    // OperatorDescriptorId
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.algebricks.core.algebra.metadata;
+
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
+
+/**
+ * Estimates the sizes of the inputs of a join from the statistics of the data sources, which lets the optimizer pick
+ * an order of the joins that keeps the intermediate results small.
+ */
+public interface ICardinalityEstimator {
+
+    double UNKNOWN = -1;
+
+    /**
+     * @return the estimated number of tuples produced by the scan, {@link #UNKNOWN} if there are no statistics
+     */
+    double getCardinality(DataSourceScanOperator scan, IOptimizationContext context) throws AlgebricksException;
+
+    /**
+     * @param expr
+     *            an expression over the variables produced by the scan
+     * @return the estimated number of distinct values of the expression in the tuples produced by the scan,
+     *         {@link #UNKNOWN} if there are no statistics
+     */
+    double getDistinctValues(DataSourceScanOperator scan, ILogicalExpression expr, IOptimizationContext context)
+            throws AlgebricksException;
+}
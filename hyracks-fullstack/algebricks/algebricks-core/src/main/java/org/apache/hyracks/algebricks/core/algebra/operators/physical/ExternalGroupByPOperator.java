@@ -68,6 +68,10 @@ import org.apache.hyracks.dataflow.std.group.external.ExternalGroupOperatorDescr
 
 public class ExternalGroupByPOperator extends AbstractPhysicalOperator {
 
+    // a local group-by that folds less than this ratio of its input into existing groups leaves the rest of its
+    // input to the global group-by
+    private static final double LOCAL_MIN_REDUCTION_RATIO = 0.1;
+
     private final long inputSize;
     private final int frameLimit;
     private List<LogicalVariable> columnSet = new ArrayList<LogicalVariable>();
@@ -271,6 +275,9 @@ public class ExternalGroupByPOperator extends AbstractPhysicalOperator {
                 keyAndDecFields, frameLimit, comparatorFactories, normalizedKeyFactory, aggregatorFactory, mergeFactory,
                 recordDescriptor, recordDescriptor, new HashSpillableTableFactory(hashFunctionFactories));
         gbyOpDesc.setSourceLocation(gby.getSourceLocation());
+        if (!gby.isGlobal()) {
+            gbyOpDesc.setLocalPassThroughThreshold(LOCAL_MIN_REDUCTION_RATIO);
+        }
         contributeOpDesc(builder, gby, gbyOpDesc);
         ILogicalOperator src = op.getInputs().get(0).getValue();
         builder.contributeGraphEdge(src, 0, op, 0);
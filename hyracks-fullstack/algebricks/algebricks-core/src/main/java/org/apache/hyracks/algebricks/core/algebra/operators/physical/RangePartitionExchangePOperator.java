@@ -58,24 +58,36 @@ public class RangePartitionExchangePOperator extends AbstractExchangePOperator {
     private RangeMap rangeMap;
     private final boolean rangeMapIsComputedAtRunTime;
     private final String rangeMapKeyInContext;
+    private final boolean splitEqualKeys;
 
     private RangePartitionExchangePOperator(List<OrderColumn> partitioningFields, INodeDomain domain, RangeMap rangeMap,
-            boolean rangeMapIsComputedAtRunTime, String rangeMapKeyInContext) {
+            boolean rangeMapIsComputedAtRunTime, String rangeMapKeyInContext, boolean splitEqualKeys) {
         this.partitioningFields = partitioningFields;
         this.domain = domain;
         this.rangeMap = rangeMap;
         this.rangeMapIsComputedAtRunTime = rangeMapIsComputedAtRunTime;
         this.rangeMapKeyInContext = rangeMapKeyInContext;
+        this.splitEqualKeys = splitEqualKeys;
     }
 
     public RangePartitionExchangePOperator(List<OrderColumn> partitioningFields, String rangeMapKeyInContext,
             INodeDomain domain) {
-        this(partitioningFields, domain, null, true, rangeMapKeyInContext);
+        this(partitioningFields, rangeMapKeyInContext, domain, false);
+    }
+
+    /**
+     * @param splitEqualKeys
+     *            whether tuples with a key that is repeated in the range map may be spread over the partitions
+     *            bounded by its split values, see {@link FieldRangePartitionComputerFactory}
+     */
+    public RangePartitionExchangePOperator(List<OrderColumn> partitioningFields, String rangeMapKeyInContext,
+            INodeDomain domain, boolean splitEqualKeys) {
+        this(partitioningFields, domain, null, true, rangeMapKeyInContext, splitEqualKeys);
     }
 
     public RangePartitionExchangePOperator(List<OrderColumn> partitioningFields, INodeDomain domain,
             RangeMap rangeMap) {
-        this(partitioningFields, domain, rangeMap, false, "");
+        this(partitioningFields, domain, rangeMap, false, "", false);
     }
 
     @Override
@@ -93,7 +105,8 @@ public class RangePartitionExchangePOperator extends AbstractExchangePOperator {
 
     @Override
     public void computeDeliveredProperties(ILogicalOperator op, IOptimizationContext context) {
-        IPartitioningProperty p = new OrderedPartitionedProperty(new ArrayList<>(partitioningFields), domain);
+        IPartitioningProperty p =
+                new OrderedPartitionedProperty(new ArrayList<>(partitioningFields), domain, splitEqualKeys);
         this.deliveredProperties = new StructuralPropertiesVector(p, new LinkedList<ILocalStructuralProperty>());
     }
 
@@ -122,7 +135,7 @@ public class RangePartitionExchangePOperator extends AbstractExchangePOperator {
         FieldRangePartitionComputerFactory partitionerFactory;
         if (rangeMapIsComputedAtRunTime) {
             partitionerFactory = new DynamicFieldRangePartitionComputerFactory(sortFields, comps, rangeMapKeyInContext,
-                    op.getSourceLocation());
+                    op.getSourceLocation(), splitEqualKeys);
         } else {
             partitionerFactory = new StaticFieldRangePartitionComputerFactory(sortFields, comps, rangeMap);
         }
@@ -134,6 +147,7 @@ public class RangePartitionExchangePOperator extends AbstractExchangePOperator {
     @Override
     public String toString() {
         final String splitCount = rangeMap == null ? "" : " SPLIT COUNT:" + Integer.toString(rangeMap.getSplitCount());
-        return getOperatorTag().toString() + " " + partitioningFields + splitCount;
+        return getOperatorTag().toString() + " " + partitioningFields + splitCount
+                + (splitEqualKeys ? " SPLIT EQUAL KEYS" : "");
     }
 }
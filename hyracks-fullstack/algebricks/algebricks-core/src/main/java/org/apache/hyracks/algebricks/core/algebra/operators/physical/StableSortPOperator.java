@@ -49,15 +49,26 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
 
     private int maxNumberOfFrames;
     private int topK;
+    private boolean binaryKeys;
 
     public StableSortPOperator(int maxNumberOfFrames) {
         this(maxNumberOfFrames, -1);
     }
 
     public StableSortPOperator(int maxNumberOfFrames, int topK) {
+        this(maxNumberOfFrames, topK, false);
+    }
+
+    /**
+     * @param binaryKeys
+     *            whether to sort on variable-length binary-comparable normalized keys of all sort columns, when every
+     *            sort column has such an encoding
+     */
+    public StableSortPOperator(int maxNumberOfFrames, int topK, boolean binaryKeys) {
         super();
         this.maxNumberOfFrames = maxNumberOfFrames;
         this.topK = topK;
+        this.binaryKeys = binaryKeys;
     }
 
     @Override
@@ -83,6 +94,8 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
 
         INormalizedKeyComputerFactoryProvider nkcfProvider = context.getNormalizedKeyComputerFactoryProvider();
         INormalizedKeyComputerFactory nkcf = null;
+        INormalizedKeyComputerFactory[] varLenNkcfs =
+                binaryKeys && nkcfProvider != null ? new INormalizedKeyComputerFactory[n] : null;
 
         IVariableTypeEnvironment env = context.getTypeEnvironment(op);
         int i = 0;
@@ -94,20 +107,34 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
             if (i == 0 && nkcfProvider != null && type != null) {
                 nkcf = nkcfProvider.getNormalizedKeyComputerFactory(type, order == OrderKind.ASC);
             }
+            if (varLenNkcfs != null) {
+                varLenNkcfs[i] = type != null
+                        ? nkcfProvider.getVarLenNormalizedKeyComputerFactory(type, order == OrderKind.ASC) : null;
+                if (varLenNkcfs[i] == null) {
+                    varLenNkcfs = null;
+                }
+            }
             IBinaryComparatorFactoryProvider bcfp = context.getBinaryComparatorFactoryProvider();
             comps[i] = bcfp.getBinaryComparatorFactory(type, oc.getOrder() == OrderKind.ASC);
             i++;
         }
 
+        INormalizedKeyComputerFactory[] nkcfs;
+        if (varLenNkcfs != null) {
+            nkcfs = varLenNkcfs;
+        } else {
+            nkcfs = nkcf != null ? new INormalizedKeyComputerFactory[] { nkcf } : null;
+        }
+
         AbstractSorterOperatorDescriptor sortOpDesc;
         // topK == -1 means that a topK value is not provided.
         if (topK == -1) {
-            sortOpDesc =
-                    new ExternalSortOperatorDescriptor(spec, maxNumberOfFrames, sortFields, nkcf, comps, recDescriptor);
+            sortOpDesc = new ExternalSortOperatorDescriptor(spec, maxNumberOfFrames, sortFields, nkcfs, comps,
+                    recDescriptor);
         } else {
             // Since topK value is provided, topK optimization is possible.
             // We call topKSorter instead of calling ExternalSortOperator.
-            sortOpDesc = new TopKSorterOperatorDescriptor(spec, maxNumberOfFrames, topK, sortFields, nkcf, comps,
+            sortOpDesc = new TopKSorterOperatorDescriptor(spec, maxNumberOfFrames, topK, sortFields, nkcfs, comps,
                     recDescriptor);
         }
         sortOpDesc.setSourceLocation(op.getSourceLocation());
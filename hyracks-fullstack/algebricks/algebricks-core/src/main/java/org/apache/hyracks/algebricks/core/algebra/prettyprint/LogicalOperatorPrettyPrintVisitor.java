@@ -29,6 +29,7 @@ import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.base.ILogicalPlan;
 import org.apache.hyracks.algebricks.core.algebra.base.IPhysicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.base.OperatorAnnotations;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractLogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractOperatorWithNestedPlans;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractUnnestMapOperator;
@@ -94,6 +95,7 @@ public class LogicalOperatorPrettyPrintVisitor extends AbstractLogicalOperatorPr
     public void printOperator(AbstractLogicalOperator op, int indent) throws AlgebricksException {
         final AlgebricksAppendable out = this.get();
         op.accept(this, indent);
+        printCardinality(op);
         IPhysicalOperator pOp = op.getPhysicalOperator();
 
         if (pOp != null) {
@@ -109,6 +111,19 @@ public class LogicalOperatorPrettyPrintVisitor extends AbstractLogicalOperatorPr
         }
     }
 
+    private void printCardinality(AbstractLogicalOperator op) throws AlgebricksException {
+        Object estimated = op.getAnnotations().get(OperatorAnnotations.ESTIMATED_CARDINALITY);
+        if (estimated == null) {
+            return;
+        }
+        buffer.append(" [cardinality: estimated ").append(String.valueOf(estimated));
+        Object actual = op.getAnnotations().get(OperatorAnnotations.ACTUAL_CARDINALITY);
+        if (actual != null) {
+            buffer.append(", actual ").append(String.valueOf(actual));
+        }
+        buffer.append("]");
+    }
+
     @Override
     public Void visitAggregateOperator(AggregateOperator op, Integer indent) throws AlgebricksException {
         addIndent(indent).append("aggregate ").append(str(op.getVariables())).append(" <- ");
@@ -33,6 +33,7 @@ import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.base.ILogicalPlan;
 import org.apache.hyracks.algebricks.core.algebra.base.IPhysicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.base.OperatorAnnotations;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractLogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractOperatorWithNestedPlans;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractUnnestMapOperator;
@@ -138,6 +139,18 @@ public class LogicalOperatorPrettyPrintVisitorJson extends AbstractLogicalOperat
         appendln(out, ",");
         pad(out, currentIndent);
         append(out, "\"execution-mode\": \"" + op.getExecutionMode() + '"');
+        Object estimated = op.getAnnotations().get(OperatorAnnotations.ESTIMATED_CARDINALITY);
+        if (estimated != null) {
+            appendln(out, ",");
+            pad(out, currentIndent);
+            append(out, "\"estimated-cardinality\": " + estimated);
+            Object actual = op.getAnnotations().get(OperatorAnnotations.ACTUAL_CARDINALITY);
+            if (actual != null) {
+                appendln(out, ",");
+                pad(out, currentIndent);
+                append(out, "\"actual-cardinality\": " + actual);
+            }
+        }
         if (!op.getInputs().isEmpty()) {
             appendln(out, ",");
             pad(out, currentIndent);
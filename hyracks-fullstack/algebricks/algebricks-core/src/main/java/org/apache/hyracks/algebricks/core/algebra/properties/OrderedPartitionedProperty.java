@@ -30,16 +30,31 @@ public class OrderedPartitionedProperty implements IPartitioningProperty {
 
     private final List<OrderColumn> orderColumns;
     private INodeDomain domain;
+    private final boolean equalKeysSplit;
 
     public OrderedPartitionedProperty(List<OrderColumn> orderColumns, INodeDomain domain) {
+        this(orderColumns, domain, false);
+    }
+
+    /**
+     * @param equalKeysSplit
+     *            true if tuples with equal values of the order columns may be in different partitions. The partitions
+     *            are still ordered, but they are not partitioned by the order columns anymore.
+     */
+    public OrderedPartitionedProperty(List<OrderColumn> orderColumns, INodeDomain domain, boolean equalKeysSplit) {
         this.domain = domain;
         this.orderColumns = orderColumns;
+        this.equalKeysSplit = equalKeysSplit;
     }
 
     public List<OrderColumn> getOrderColumns() {
         return orderColumns;
     }
 
+    public boolean isEqualKeysSplit() {
+        return equalKeysSplit;
+    }
+
     public List<LogicalVariable> getColumns() {
         ArrayList<LogicalVariable> cols = new ArrayList<>(orderColumns.size());
         for (OrderColumn oc : orderColumns) {
@@ -63,7 +78,7 @@ public class OrderedPartitionedProperty implements IPartitioningProperty {
             List<FunctionalDependency> fds) {
         List<OrderColumn> columns = PropertiesUtil.replaceOrderColumnsByEqClasses(orderColumns, equivalenceClasses);
         columns = PropertiesUtil.applyFDsToOrderColumns(columns, fds);
-        return new OrderedPartitionedProperty(columns, domain);
+        return new OrderedPartitionedProperty(columns, domain, equalKeysSplit);
     }
 
     @Override
@@ -94,7 +109,7 @@ public class OrderedPartitionedProperty implements IPartitioningProperty {
 
     @Override
     public IPartitioningProperty clonePartitioningProperty() {
-        return new OrderedPartitionedProperty(new ArrayList<>(orderColumns), domain);
+        return new OrderedPartitionedProperty(new ArrayList<>(orderColumns), domain, equalKeysSplit);
     }
 
 }
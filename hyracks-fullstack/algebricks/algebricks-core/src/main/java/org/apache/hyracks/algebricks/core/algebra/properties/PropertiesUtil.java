@@ -145,6 +145,9 @@ public class PropertiesUtil {
                     case ORDERED_PARTITIONED: {
                         UnorderedPartitionedProperty ur = (UnorderedPartitionedProperty) reqd;
                         OrderedPartitionedProperty od = (OrderedPartitionedProperty) dlvd;
+                        if (od.isEqualKeysSplit()) {
+                            return false;
+                        }
                         if (mayExpandProperties) {
                             List<LogicalVariable> dlvdSortColumns = orderColumnsToVariables(od.getOrderColumns());
                             return isPrefixOf(dlvdSortColumns.iterator(), ur.getColumnSet().iterator());
@@ -27,4 +27,7 @@ public class AlgebricksConfig {
     public static final Logger ALGEBRICKS_LOGGER = LogManager.getLogger(ALGEBRICKS_LOGGER_NAME);
     public static final int SORT_SAMPLES = 100;
     public static final boolean SORT_PARALLEL = true;
+    public static final boolean SORT_BINARY_KEYS = false;
+    public static final boolean SORT_SPLIT_KEYS = false;
+    public static final boolean CBO = false;
 }
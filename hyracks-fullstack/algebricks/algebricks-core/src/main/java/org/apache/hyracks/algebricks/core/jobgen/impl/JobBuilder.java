@@ -33,6 +33,7 @@ import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
 import org.apache.hyracks.algebricks.common.utils.Pair;
 import org.apache.hyracks.algebricks.core.algebra.base.IHyracksJobBuilder;
 import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
+import org.apache.hyracks.algebricks.core.algebra.base.OperatorAnnotations;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractLogicalOperator;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractLogicalOperator.ExecutionMode;
 import org.apache.hyracks.algebricks.core.algebra.util.OperatorManipulationUtil;
@@ -143,6 +144,10 @@ public class JobBuilder implements IHyracksJobBuilder {
     @Override
     public void contributeHyracksOperator(ILogicalOperator op, IOperatorDescriptor opDesc) {
         hyracksOps.put(op, opDesc);
+        if (op.getAnnotations().containsKey(OperatorAnnotations.ESTIMATED_CARDINALITY)) {
+            // lets the actual cardinality of the operator be looked up in the profile of the job
+            op.getAnnotations().put(OperatorAnnotations.OPERATOR_DESCRIPTOR_ID, opDesc.getOperatorId());
+        }
     }
 
     @Override
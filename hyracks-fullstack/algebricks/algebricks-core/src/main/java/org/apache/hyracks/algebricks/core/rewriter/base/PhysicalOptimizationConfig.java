@@ -38,6 +38,9 @@ public class PhysicalOptimizationConfig {
     private static final String DEFAULT_IN_MEM_HASH_JOIN_TABLE_SIZE = "DEFAULT_IN_MEM_HASH_JOIN_TABLE_SIZE";
     private static final String SORT_PARALLEL = "SORT_PARALLEL";
     private static final String SORT_SAMPLES = "SORT_SAMPLES";
+    private static final String SORT_BINARY_KEYS = "SORT_BINARY_KEYS";
+    private static final String SORT_SPLIT_KEYS = "SORT_SPLIT_KEYS";
+    private static final String CBO = "CBO";
 
     private Properties properties = new Properties();
 
@@ -154,6 +157,22 @@ public class PhysicalOptimizationConfig {
         setBoolean(SORT_PARALLEL, sortParallel);
     }
 
+    public boolean getSortBinaryKeys() {
+        return getBoolean(SORT_BINARY_KEYS, AlgebricksConfig.SORT_BINARY_KEYS);
+    }
+
+    public void setSortBinaryKeys(boolean sortBinaryKeys) {
+        setBoolean(SORT_BINARY_KEYS, sortBinaryKeys);
+    }
+
+    public boolean getSortSplitKeys() {
+        return getBoolean(SORT_SPLIT_KEYS, AlgebricksConfig.SORT_SPLIT_KEYS);
+    }
+
+    public void setSortSplitKeys(boolean sortSplitKeys) {
+        setBoolean(SORT_SPLIT_KEYS, sortSplitKeys);
+    }
+
     public int getSortSamples() {
         return getInt(SORT_SAMPLES, AlgebricksConfig.SORT_SAMPLES);
     }
@@ -162,6 +181,14 @@ public class PhysicalOptimizationConfig {
         setInt(SORT_SAMPLES, sortSamples);
     }
 
+    public boolean getCBOMode() {
+        return getBoolean(CBO, AlgebricksConfig.CBO);
+    }
+
+    public void setCBOMode(boolean cbo) {
+        setBoolean(CBO, cbo);
+    }
+
     private void setInt(String property, int value) {
         properties.setProperty(property, Integer.toString(value));
     }
@@ -19,7 +19,16 @@
 package org.apache.hyracks.algebricks.data;
 
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
 
 public interface INormalizedKeyComputerFactoryProvider {
     public INormalizedKeyComputerFactory getNormalizedKeyComputerFactory(Object type, boolean ascending);
+
+    /**
+     * @return a factory producing variable-length binary-comparable normalized keys for the given type, or null if
+     *         the type has no such encoding
+     */
+    default IVarLenNormalizedKeyComputerFactory getVarLenNormalizedKeyComputerFactory(Object type, boolean ascending) {
+        return null;
+    }
 }
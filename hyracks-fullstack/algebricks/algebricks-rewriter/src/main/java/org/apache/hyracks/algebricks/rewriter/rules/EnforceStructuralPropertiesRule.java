@@ -561,7 +561,8 @@ public class EnforceStructuralPropertiesRule implements IAlgebraicRewriteRule {
         if (isMicroOp) {
             oo.setPhysicalOperator(new InMemoryStableSortPOperator());
         } else {
-            oo.setPhysicalOperator(new StableSortPOperator(physicalOptimizationConfig.getMaxFramesExternalSort()));
+            oo.setPhysicalOperator(new StableSortPOperator(physicalOptimizationConfig.getMaxFramesExternalSort(), -1,
+                    physicalOptimizationConfig.getSortBinaryKeys()));
         }
         oo.getInputs().add(topOp);
         context.computeAndSetTypeEnvironmentForOperator(oo);
@@ -758,7 +759,8 @@ public class EnforceStructuralPropertiesRule implements IAlgebraicRewriteRule {
         parentOp.recomputeSchema();
         ctx.computeAndSetTypeEnvironmentForOperator(parentOp);
 
-        return new RangePartitionExchangePOperator(partitioningColumns, rangeMapKey, targetDomain);
+        return new RangePartitionExchangePOperator(partitioningColumns, rangeMapKey, targetDomain,
+                ctx.getPhysicalOptimizationConfig().getSortSplitKeys());
     }
 
     private static ReplicateOperator createReplicateOperator(Mutable<ILogicalOperator> inputOperator,
@@ -0,0 +1,517 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.algebricks.rewriter.rules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
+import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalOperatorTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.base.OperatorAnnotations;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ConstantExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ScalarFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions.ComparisonKind;
+import org.apache.hyracks.algebricks.core.algebra.metadata.ICardinalityEstimator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractBinaryJoinOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AssignOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.InnerJoinOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.SelectOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.visitors.VariableUtilities;
+import org.apache.hyracks.algebricks.core.rewriter.base.IAlgebraicRewriteRule;
+import org.apache.hyracks.api.exceptions.SourceLocation;
+
+/**
+ * Reorders a tree of inner joins by their estimated cost when cost-based optimization is enabled.
+ * The inputs of the tree that are not inner joins themselves are its leaves. Their cardinalities and the numbers of
+ * distinct values of the join keys are estimated by the {@link ICardinalityEstimator} of the data sources; the
+ * selectivity of an equi-join predicate is {@code 1 / max(ndv(left key), ndv(right key))} and other predicates get
+ * default selectivities. Trees with up to {@link #MAX_EXHAUSTIVE_LEAVES} leaves are enumerated exhaustively by dynamic
+ * programming over the connected subsets of leaves (including bushy trees), larger trees are built greedily by always
+ * joining the pair of subtrees with the smallest result. The smaller input of every join becomes its build (right)
+ * input.
+ * The tree is left as it is if a leaf cannot be estimated, if a predicate carries a hint or if the enumerated tree is
+ * not cheaper than the original one. The joins of the resulting tree are annotated with their estimated cardinality.
+ */
+public class EnumerateJoinsRule implements IAlgebraicRewriteRule {
+
+    public static final int MAX_EXHAUSTIVE_LEAVES = 10;
+    // leaves are kept in the bits of a long
+    private static final int MAX_LEAVES = Long.SIZE - 1;
+    private static final double EQ_SELECTIVITY = 0.1;
+    private static final double DEFAULT_SELECTIVITY = 1.0 / 3;
+    private final ICardinalityEstimator estimator;
+
+    public EnumerateJoinsRule(ICardinalityEstimator estimator) {
+        this.estimator = estimator;
+    }
+
+    @Override
+    public boolean rewritePre(Mutable<ILogicalOperator> opRef, IOptimizationContext context)
+            throws AlgebricksException {
+        ILogicalOperator op = opRef.getValue();
+        if (!context.getPhysicalOptimizationConfig().getCBOMode() || op.getOperatorTag() != LogicalOperatorTag.INNERJOIN
+                || context.checkIfInDontApplySet(this, op)) {
+            return false;
+        }
+        List<Leaf> leaves = new ArrayList<>();
+        List<Mutable<ILogicalExpression>> conjuncts = new ArrayList<>();
+        List<ILogicalOperator> joins = new ArrayList<>();
+        collect(op, leaves, conjuncts, joins);
+        for (ILogicalOperator join : joins) {
+            context.addToDontApplySet(this, join);
+        }
+        if (leaves.size() > MAX_LEAVES) {
+            return false;
+        }
+        for (Leaf leaf : leaves) {
+            if (!estimate(leaf, context)) {
+                return false;
+            }
+        }
+        List<Predicate> predicates = new ArrayList<>();
+        for (Mutable<ILogicalExpression> conjunct : conjuncts) {
+            Predicate predicate = createPredicate(conjunct.getValue(), leaves, context);
+            if (predicate == null) {
+                return false;
+            }
+            predicates.add(predicate);
+        }
+        JoinGraph graph = new JoinGraph(leaves, predicates);
+        Plan original = graph.toPlan(op);
+        Plan best = leaves.size() <= MAX_EXHAUSTIVE_LEAVES ? graph.enumerate() : graph.greedy();
+        if (best.cost >= original.cost) {
+            annotate(op, original);
+            return false;
+        }
+        SourceLocation sourceLoc = op.getSourceLocation();
+        opRef.setValue(build(best, graph, sourceLoc, context));
+        return true;
+    }
+
+    private static void collect(ILogicalOperator op, List<Leaf> leaves, List<Mutable<ILogicalExpression>> conjuncts,
+            List<ILogicalOperator> joins) {
+        if (op.getOperatorTag() != LogicalOperatorTag.INNERJOIN) {
+            leaves.add(new Leaf(op));
+            return;
+        }
+        joins.add(op);
+        ILogicalExpression condition = ((AbstractBinaryJoinOperator) op).getCondition().getValue();
+        if (!condition.equals(ConstantExpression.TRUE)) {
+            if (condition.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL
+                    || !((AbstractFunctionCallExpression) condition).splitIntoConjuncts(conjuncts)) {
+                conjuncts.add(new MutableObject<>(condition));
+            }
+        }
+        for (Mutable<ILogicalOperator> input : op.getInputs()) {
+            collect(input.getValue(), leaves, conjuncts, joins);
+        }
+    }
+
+    /**
+     * Estimates the cardinality of a leaf that scans a data source and filters, projects or extends its tuples.
+     *
+     * @return false if the leaf has another shape or the data source has no statistics
+     */
+    private boolean estimate(Leaf leaf, IOptimizationContext context) throws AlgebricksException {
+        double selectivity = 1;
+        ILogicalOperator op = leaf.op;
+        while (op.getOperatorTag() != LogicalOperatorTag.DATASOURCESCAN) {
+            switch (op.getOperatorTag()) {
+                case SELECT:
+                    List<Mutable<ILogicalExpression>> conjuncts = new ArrayList<>();
+                    ILogicalExpression condition = ((SelectOperator) op).getCondition().getValue();
+                    if (condition.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL
+                            || !((AbstractFunctionCallExpression) condition).splitIntoConjuncts(conjuncts)) {
+                        conjuncts.add(new MutableObject<>(condition));
+                    }
+                    for (Mutable<ILogicalExpression> conjunct : conjuncts) {
+                        selectivity *= getDefaultSelectivity(conjunct.getValue());
+                    }
+                    break;
+                case ASSIGN:
+                    AssignOperator assign = (AssignOperator) op;
+                    for (int i = 0; i < assign.getVariables().size(); i++) {
+                        leaf.definitions.put(assign.getVariables().get(i), assign.getExpressions().get(i).getValue());
+                    }
+                    break;
+                case PROJECT:
+                case EXCHANGE:
+                case ORDER:
+                    break;
+                default:
+                    return false;
+            }
+            op = op.getInputs().get(0).getValue();
+        }
+        leaf.scan = (DataSourceScanOperator) op;
+        double cardinality = estimator.getCardinality(leaf.scan, context);
+        if (cardinality < 0) {
+            return false;
+        }
+        leaf.cardinality = Math.max(1, cardinality * selectivity);
+        VariableUtilities.getLiveVariables(leaf.op, leaf.variables);
+        return true;
+    }
+
+    private static double getDefaultSelectivity(ILogicalExpression expr) {
+        if (expr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+            return DEFAULT_SELECTIVITY;
+        }
+        ComparisonKind kind = AlgebricksBuiltinFunctions
+                .getComparisonType(((AbstractFunctionCallExpression) expr).getFunctionIdentifier());
+        return kind == ComparisonKind.EQ ? EQ_SELECTIVITY : DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * @return the predicate, null if it does not join at least two leaves or carries a hint
+     */
+    private Predicate createPredicate(ILogicalExpression expr, List<Leaf> leaves, IOptimizationContext context)
+            throws AlgebricksException {
+        if (hasAnnotations(expr)) {
+            return null;
+        }
+        Set<LogicalVariable> usedVariables = new HashSet<>();
+        expr.getUsedVariables(usedVariables);
+        long mask = 0;
+        for (LogicalVariable variable : usedVariables) {
+            int leaf = findLeaf(variable, leaves);
+            if (leaf < 0) {
+                return null;
+            }
+            mask |= 1L << leaf;
+        }
+        if (Long.bitCount(mask) < 2) {
+            return null;
+        }
+        double selectivity = getDefaultSelectivity(expr);
+        if (Long.bitCount(mask) == 2 && selectivity == EQ_SELECTIVITY) {
+            AbstractFunctionCallExpression eq = (AbstractFunctionCallExpression) expr;
+            double left = getDistinctValues(eq.getArguments().get(0).getValue(), leaves, context);
+            double right = getDistinctValues(eq.getArguments().get(1).getValue(), leaves, context);
+            if (left > 0 && right > 0) {
+                selectivity = 1 / Math.max(left, right);
+            }
+        }
+        return new Predicate(expr, mask, selectivity);
+    }
+
+    private static boolean hasAnnotations(ILogicalExpression expr) {
+        if (expr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+            return false;
+        }
+        AbstractFunctionCallExpression f = (AbstractFunctionCallExpression) expr;
+        if (!f.getAnnotations().isEmpty()) {
+            return true;
+        }
+        for (Mutable<ILogicalExpression> arg : f.getArguments()) {
+            if (hasAnnotations(arg.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int findLeaf(LogicalVariable variable, List<Leaf> leaves) {
+        for (int i = 0; i < leaves.size(); i++) {
+            if (leaves.get(i).variables.contains(variable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the estimated number of distinct values of a join key that is computed from the variables of a single
+     *         leaf, capped by the cardinality of the leaf, or a negative value if it is unknown
+     */
+    private double getDistinctValues(ILogicalExpression expr, List<Leaf> leaves, IOptimizationContext context)
+            throws AlgebricksException {
+        Set<LogicalVariable> usedVariables = new HashSet<>();
+        expr.getUsedVariables(usedVariables);
+        if (usedVariables.isEmpty()) {
+            return ICardinalityEstimator.UNKNOWN;
+        }
+        Leaf leaf = leaves.get(findLeaf(usedVariables.iterator().next(), leaves));
+        for (LogicalVariable variable : usedVariables) {
+            if (!leaf.variables.contains(variable)) {
+                return ICardinalityEstimator.UNKNOWN;
+            }
+        }
+        if (expr.getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+            ILogicalExpression definition =
+                    leaf.definitions.get(((VariableReferenceExpression) expr).getVariableReference());
+            if (definition != null) {
+                expr = definition;
+            }
+        }
+        double distinctValues = estimator.getDistinctValues(leaf.scan, expr, context);
+        return distinctValues < 0 ? distinctValues : Math.min(distinctValues, leaf.cardinality);
+    }
+
+    private static void annotate(ILogicalOperator op, Plan plan) {
+        if (plan.isLeaf()) {
+            return;
+        }
+        op.getAnnotations().put(OperatorAnnotations.ESTIMATED_CARDINALITY, Math.round(plan.cardinality));
+        annotate(op.getInputs().get(0).getValue(), plan.left);
+        annotate(op.getInputs().get(1).getValue(), plan.right);
+    }
+
+    private ILogicalOperator build(Plan plan, JoinGraph graph, SourceLocation sourceLoc, IOptimizationContext context)
+            throws AlgebricksException {
+        if (plan.isLeaf()) {
+            return graph.leaves.get(Long.numberOfTrailingZeros(plan.leaves)).op;
+        }
+        ILogicalOperator left = build(plan.left, graph, sourceLoc, context);
+        ILogicalOperator right = build(plan.right, graph, sourceLoc, context);
+        List<Mutable<ILogicalExpression>> conjuncts = new ArrayList<>();
+        for (Predicate predicate : graph.predicates) {
+            if (covers(plan.leaves, predicate.leaves) && !covers(plan.left.leaves, predicate.leaves)
+                    && !covers(plan.right.leaves, predicate.leaves)) {
+                conjuncts.add(new MutableObject<>(predicate.expr));
+            }
+        }
+        ILogicalExpression condition;
+        if (conjuncts.isEmpty()) {
+            condition = ConstantExpression.TRUE;
+        } else if (conjuncts.size() == 1) {
+            condition = conjuncts.get(0).getValue();
+        } else {
+            condition = new ScalarFunctionCallExpression(
+                    context.getMetadataProvider().lookupFunction(AlgebricksBuiltinFunctions.AND), conjuncts);
+            ((ScalarFunctionCallExpression) condition).setSourceLocation(sourceLoc);
+        }
+        InnerJoinOperator join = new InnerJoinOperator(new MutableObject<>(condition), new MutableObject<>(left),
+                new MutableObject<>(right));
+        join.setSourceLocation(sourceLoc);
+        join.getAnnotations().put(OperatorAnnotations.ESTIMATED_CARDINALITY, Math.round(plan.cardinality));
+        context.computeAndSetTypeEnvironmentForOperator(join);
+        context.addToDontApplySet(this, join);
+        return join;
+    }
+
+    private static boolean covers(long leaves, long other) {
+        return (leaves & other) == other;
+    }
+
+    private static class Leaf {
+        private final ILogicalOperator op;
+        private final Set<LogicalVariable> variables = new HashSet<>();
+        private final Map<LogicalVariable, ILogicalExpression> definitions = new HashMap<>();
+        private DataSourceScanOperator scan;
+        private double cardinality;
+
+        private Leaf(ILogicalOperator op) {
+            this.op = op;
+        }
+    }
+
+    private static class Predicate {
+        private final ILogicalExpression expr;
+        private final long leaves;
+        private final double selectivity;
+
+        private Predicate(ILogicalExpression expr, long leaves, double selectivity) {
+            this.expr = expr;
+            this.leaves = leaves;
+            this.selectivity = selectivity;
+        }
+    }
+
+    /**
+     * A join tree over a set of leaves. The left input of a join is its probe input and the right one its build input.
+     */
+    private static class Plan {
+        private final long leaves;
+        private final double cardinality;
+        private final double cost;
+        private final Plan left;
+        private final Plan right;
+
+        private Plan(long leaves, double cardinality) {
+            this(leaves, cardinality, 0, null, null);
+        }
+
+        private Plan(long leaves, double cardinality, double cost, Plan left, Plan right) {
+            this.leaves = leaves;
+            this.cardinality = cardinality;
+            this.cost = cost;
+            this.left = left;
+            this.right = right;
+        }
+
+        private boolean isLeaf() {
+            return left == null;
+        }
+    }
+
+    private static class JoinGraph {
+        private final List<Leaf> leaves;
+        private final List<Predicate> predicates;
+        private final long all;
+
+        private JoinGraph(List<Leaf> leaves, List<Predicate> predicates) {
+            this.leaves = leaves;
+            this.predicates = predicates;
+            this.all = (1L << leaves.size()) - 1;
+        }
+
+        private double getCardinality(long subset) {
+            double cardinality = 1;
+            for (int i = 0; i < leaves.size(); i++) {
+                if ((subset & (1L << i)) != 0) {
+                    cardinality *= leaves.get(i).cardinality;
+                }
+            }
+            for (Predicate predicate : predicates) {
+                if (covers(subset, predicate.leaves)) {
+                    cardinality *= predicate.selectivity;
+                }
+            }
+            return Math.max(1, cardinality);
+        }
+
+        private boolean isConnected(long a, long b) {
+            for (Predicate predicate : predicates) {
+                if ((predicate.leaves & a) != 0 && (predicate.leaves & b) != 0 && covers(a | b, predicate.leaves)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Plan join(Plan a, Plan b, double cardinality) {
+            Plan probe = a.cardinality >= b.cardinality ? a : b;
+            Plan build = probe == a ? b : a;
+            double cost = a.cost + b.cost + probe.cardinality + 2 * build.cardinality + cardinality;
+            return new Plan(a.leaves | b.leaves, cardinality, cost, probe, build);
+        }
+
+        private Plan leaf(int i) {
+            return new Plan(1L << i, leaves.get(i).cardinality);
+        }
+
+        /**
+         * @return the plan of the joins as they are
+         */
+        private Plan toPlan(ILogicalOperator op) {
+            if (op.getOperatorTag() != LogicalOperatorTag.INNERJOIN) {
+                for (int i = 0; i < leaves.size(); i++) {
+                    if (leaves.get(i).op == op) {
+                        return leaf(i);
+                    }
+                }
+            }
+            Plan left = toPlan(op.getInputs().get(0).getValue());
+            Plan right = toPlan(op.getInputs().get(1).getValue());
+            long subset = left.leaves | right.leaves;
+            double cardinality = getCardinality(subset);
+            double cost = left.cost + right.cost + left.cardinality + 2 * right.cardinality + cardinality;
+            return new Plan(subset, cardinality, cost, left, right);
+        }
+
+        /**
+         * @return the cheapest tree, found by dynamic programming over all subsets of leaves. Subsets are only split
+         *         into subsets that are joined by a predicate unless there is no such split.
+         */
+        private Plan enumerate() {
+            Plan[] best = new Plan[(int) all + 1];
+            for (int i = 0; i < leaves.size(); i++) {
+                best[1 << i] = leaf(i);
+            }
+            for (int subset = 1; subset <= all; subset++) {
+                if (Integer.bitCount(subset) < 2) {
+                    continue;
+                }
+                double cardinality = getCardinality(subset);
+                Plan connected = null;
+                Plan product = null;
+                // each split is visited once, with its lowest leaf on the left
+                int lowest = Integer.lowestOneBit(subset);
+                for (int left = (subset - 1) & subset; left > 0; left = (left - 1) & subset) {
+                    if ((left & lowest) == 0) {
+                        continue;
+                    }
+                    int right = subset & ~left;
+                    Plan plan = join(best[left], best[right], cardinality);
+                    if (isConnected(left, right)) {
+                        connected = cheaper(connected, plan);
+                    } else {
+                        product = cheaper(product, plan);
+                    }
+                }
+                best[subset] = connected != null ? connected : product;
+            }
+            return best[(int) all];
+        }
+
+        private static Plan cheaper(Plan a, Plan b) {
+            return a == null || b.cost < a.cost ? b : a;
+        }
+
+        /**
+         * @return a tree built by repeatedly joining the two subtrees with the smallest result, preferring subtrees
+         *         that are joined by a predicate
+         */
+        private Plan greedy() {
+            List<Plan> plans = new ArrayList<>();
+            for (int i = 0; i < leaves.size(); i++) {
+                plans.add(leaf(i));
+            }
+            while (plans.size() > 1) {
+                int bestA = -1;
+                int bestB = -1;
+                boolean bestConnected = false;
+                double bestCardinality = Double.MAX_VALUE;
+                for (int a = 0; a < plans.size(); a++) {
+                    for (int b = a + 1; b < plans.size(); b++) {
+                        boolean connected = isConnected(plans.get(a).leaves, plans.get(b).leaves);
+                        double cardinality = getCardinality(plans.get(a).leaves | plans.get(b).leaves);
+                        if ((connected && !bestConnected)
+                                || (connected == bestConnected && cardinality < bestCardinality)) {
+                            bestA = a;
+                            bestB = b;
+                            bestConnected = connected;
+                            bestCardinality = cardinality;
+                        }
+                    }
+                }
+                Plan joined = join(plans.get(bestA), plans.get(bestB), bestCardinality);
+                plans.remove(bestB);
+                plans.set(bestA, joined);
+            }
+            return plans.get(0);
+        }
+    }
+}
@@ -226,8 +226,9 @@ public class SetAlgebricksPhysicalOperatorsRule implements IAlgebraicRewriteRule
                         }
                     }
                     if (topLevelOp) {
-                        op.setPhysicalOperator(new StableSortPOperator(
-                                physicalOptimizationConfig.getMaxFramesExternalSort(), oo.getTopK()));
+                        op.setPhysicalOperator(
+                                new StableSortPOperator(physicalOptimizationConfig.getMaxFramesExternalSort(),
+                                        oo.getTopK(), physicalOptimizationConfig.getSortBinaryKeys()));
                     } else {
                         op.setPhysicalOperator(new InMemoryStableSortPOperator());
                     }
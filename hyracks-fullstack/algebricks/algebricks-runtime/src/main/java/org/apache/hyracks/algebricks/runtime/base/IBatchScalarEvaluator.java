@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.algebricks.runtime.base;
+
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * A scalar evaluator that evaluates an expression for many tuples of a frame in one call, instead of one
+ * {@link IScalarEvaluator#evaluate} call per tuple.
+ */
+public interface IBatchScalarEvaluator {
+
+    /**
+     * Evaluates the expression for the selected tuples of a frame.
+     *
+     * @param accessor
+     *            the accessor positioned on the input frame
+     * @param tupleIndexes
+     *            the selection vector, i.e. the indexes of the tuples to evaluate, or {@code null} to evaluate
+     *            tuples {@code 0 .. numTuples - 1}
+     * @param numTuples
+     *            the number of tuples to evaluate
+     * @param result
+     *            the column that receives one value per evaluated tuple, in selection order. It is reset by the
+     *            evaluator before the first value is added.
+     * @throws HyracksDataException
+     *             if the evaluation of a tuple fails, with error code {@code ERROR_PROCESSING_TUPLE} and the index of
+     *             the tuple in the frame (see
+     *             {@link org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators#tupleFailure})
+     */
+    void evaluate(IFrameTupleAccessor accessor, int[] tupleIndexes, int numTuples, ScalarColumn result)
+            throws HyracksDataException;
+}
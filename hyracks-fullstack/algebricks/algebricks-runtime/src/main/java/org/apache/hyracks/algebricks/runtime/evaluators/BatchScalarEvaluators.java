@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.algebricks.runtime.evaluators;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.ErrorCode;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.exceptions.SourceLocation;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+import org.apache.hyracks.dataflow.common.data.accessors.FrameTupleReference;
+
+public class BatchScalarEvaluators {
+
+    private BatchScalarEvaluators() {
+    }
+
+    public static boolean isBatchable(IScalarEvaluatorFactory factory) {
+        return factory instanceof IBatchScalarEvaluatorFactory;
+    }
+
+    /**
+     * Creates a batch evaluator for the given factory. If the factory cannot evaluate a frame at a time, the
+     * returned evaluator falls back to calling the scalar evaluator of the factory once per tuple.
+     */
+    public static IBatchScalarEvaluator create(IScalarEvaluatorFactory factory, IHyracksTaskContext ctx)
+            throws HyracksDataException {
+        if (isBatchable(factory)) {
+            return ((IBatchScalarEvaluatorFactory) factory).createBatchScalarEvaluator(ctx);
+        }
+        return new TupleAtATimeEvaluator(factory.createScalarEvaluator(ctx));
+    }
+
+    /**
+     * Tags the failure of the evaluation of the {@code i}th selected tuple with the index of the tuple in its frame,
+     * unless an inner evaluator already did. The operator then reports the failing tuple without evaluating the frame
+     * again.
+     */
+    public static HyracksDataException tupleFailure(IOException e, int[] tupleIndexes, int i) {
+        if (e instanceof HyracksDataException
+                && ((HyracksDataException) e).matches(ErrorCode.HYRACKS, ErrorCode.ERROR_PROCESSING_TUPLE)) {
+            return (HyracksDataException) e;
+        }
+        return HyracksDataException.create(ErrorCode.ERROR_PROCESSING_TUPLE, e,
+                tupleIndexes == null ? i : tupleIndexes[i]);
+    }
+
+    /**
+     * @return the failure of a batch evaluation as a failure of the tuple it is tagged with, reported at the source
+     *         location of the operator
+     */
+    public static HyracksDataException operatorFailure(HyracksDataException e, SourceLocation sourceLoc) {
+        if (e.matches(ErrorCode.HYRACKS, ErrorCode.ERROR_PROCESSING_TUPLE)) {
+            return HyracksDataException.create(ErrorCode.ERROR_PROCESSING_TUPLE, e.getCause(), sourceLoc,
+                    (Serializable) e.getParams()[0]);
+        }
+        return e;
+    }
+
+    private static class TupleAtATimeEvaluator implements IBatchScalarEvaluator {
+        private final IScalarEvaluator eval;
+        private final FrameTupleReference tRef = new FrameTupleReference();
+        private final IPointable value = VoidPointable.FACTORY.createPointable();
+
+        TupleAtATimeEvaluator(IScalarEvaluator eval) {
+            this.eval = eval;
+        }
+
+        @Override
+        public void evaluate(IFrameTupleAccessor accessor, int[] tupleIndexes, int numTuples, ScalarColumn result)
+                throws HyracksDataException {
+            result.reset();
+            for (int i = 0; i < numTuples; i++) {
+                tRef.reset(accessor, tupleIndexes == null ? i : tupleIndexes[i]);
+                try {
+                    eval.evaluate(tRef, value);
+                } catch (HyracksDataException e) {
+                    throw tupleFailure(e, tupleIndexes, i);
+                }
+                // the scalar evaluator may reuse its result storage for the next tuple
+                result.append(value);
+            }
+        }
+    }
+}
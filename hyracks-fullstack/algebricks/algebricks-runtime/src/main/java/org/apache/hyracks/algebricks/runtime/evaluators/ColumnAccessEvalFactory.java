@@ -18,14 +18,16 @@
  */
 package org.apache.hyracks.algebricks.runtime.evaluators;
 
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluatorFactory;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
-import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IPointable;
 import org.apache.hyracks.dataflow.common.data.accessors.IFrameTupleReference;
 
-public class ColumnAccessEvalFactory implements IScalarEvaluatorFactory {
+public class ColumnAccessEvalFactory implements IBatchScalarEvaluatorFactory {
 
     private static final long serialVersionUID = 1L;
 
@@ -54,4 +56,20 @@ public class ColumnAccessEvalFactory implements IScalarEvaluatorFactory {
         };
     }
 
+    @Override
+    public IBatchScalarEvaluator createBatchScalarEvaluator(final IHyracksTaskContext ctx) {
+        return new IBatchScalarEvaluator() {
+
+            @Override
+            public void evaluate(IFrameTupleAccessor accessor, int[] tupleIndexes, int numTuples, ScalarColumn result) {
+                result.reset();
+                byte[] buffer = accessor.getBuffer().array();
+                for (int i = 0; i < numTuples; i++) {
+                    int tIndex = tupleIndexes == null ? i : tupleIndexes[i];
+                    int start = accessor.getAbsoluteFieldStartOffset(tIndex, fieldIndex);
+                    result.appendReference(buffer, start, accessor.getFieldLength(tIndex, fieldIndex));
+                }
+            }
+        };
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.algebricks.runtime.evaluators;
+
+import java.io.DataOutput;
+import java.util.Arrays;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+
+/**
+ * The result of a batch evaluation: one value per evaluated tuple. A value is either a reference to bytes owned
+ * by someone else (e.g., a field of the input frame) or a copy held in the column's own storage.
+ */
+public class ScalarColumn {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ArrayBackedValueStorage storage = new ArrayBackedValueStorage();
+    // a null entry means that the value lives in storage
+    private byte[][] arrays = new byte[INITIAL_CAPACITY][];
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+    private int valueStart = -1;
+
+    public void reset() {
+        storage.reset();
+        size = 0;
+        valueStart = -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a value without copying it. The referenced bytes must stay unchanged while the column is in use.
+     */
+    public void appendReference(byte[] bytes, int start, int length) {
+        ensureCapacity();
+        arrays[size] = bytes;
+        starts[size] = start;
+        lengths[size] = length;
+        size++;
+    }
+
+    /**
+     * Adds a copy of the given value.
+     */
+    public void append(IValueReference value) throws HyracksDataException {
+        ensureCapacity();
+        int start = storage.getLength();
+        storage.append(value);
+        arrays[size] = null;
+        starts[size] = start;
+        lengths[size] = value.getLength();
+        size++;
+    }
+
+    /**
+     * Starts a value that is written directly into the column's storage. The value is added by {@link #endValue()}.
+     */
+    public DataOutput beginValue() {
+        valueStart = storage.getLength();
+        return storage.getDataOutput();
+    }
+
+    public void endValue() {
+        if (valueStart < 0) {
+            throw new IllegalStateException("endValue() called without beginValue()");
+        }
+        ensureCapacity();
+        arrays[size] = null;
+        starts[size] = valueStart;
+        lengths[size] = storage.getLength() - valueStart;
+        size++;
+        valueStart = -1;
+    }
+
+    public void getValue(int index, IPointable value) {
+        byte[] bytes = arrays[index];
+        value.set(bytes == null ? storage.getByteArray() : bytes, starts[index], lengths[index]);
+    }
+
+    private void ensureCapacity() {
+        if (size == arrays.length) {
+            int newCapacity = arrays.length << 1;
+            arrays = Arrays.copyOf(arrays, newCapacity);
+            starts = Arrays.copyOf(starts, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+    }
+}
@@ -21,8 +21,11 @@ package org.apache.hyracks.algebricks.runtime.operators.std;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators;
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
 import org.apache.hyracks.algebricks.runtime.operators.base.AbstractOneInputOneOutputOneFramePushRuntime;
 import org.apache.hyracks.algebricks.runtime.operators.base.AbstractOneInputOneOutputRuntimeFactory;
 import org.apache.hyracks.api.comm.IFrameTupleAccessor;
@@ -93,7 +96,11 @@ public class AssignRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactor
 
         return new AbstractOneInputOneOutputOneFramePushRuntime() {
             private IPointable result = VoidPointable.FACTORY.createPointable();
+            // each expression has either a tuple-at-a-time evaluator or a batch evaluator and its result column
             private IScalarEvaluator[] eval = new IScalarEvaluator[evalFactories.length];
+            private IBatchScalarEvaluator[] batchEval = new IBatchScalarEvaluator[evalFactories.length];
+            private ScalarColumn[] columns = new ScalarColumn[evalFactories.length];
+            private boolean hasBatchEval = false;
             private ArrayTupleBuilder tupleBuilder = new ArrayTupleBuilder(projectionList.length);
             private boolean first = true;
             private int tupleIndex = 0;
@@ -105,7 +112,13 @@ public class AssignRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactor
                     first = false;
                     int n = evalFactories.length;
                     for (int i = 0; i < n; i++) {
-                        eval[i] = evalFactories[i].createScalarEvaluator(ctx);
+                        if (BatchScalarEvaluators.isBatchable(evalFactories[i])) {
+                            batchEval[i] = BatchScalarEvaluators.create(evalFactories[i], ctx);
+                            columns[i] = new ScalarColumn();
+                            hasBatchEval = true;
+                        } else {
+                            eval[i] = evalFactories[i].createScalarEvaluator(ctx);
+                        }
                     }
                 }
                 super.open();
@@ -122,6 +135,9 @@ public class AssignRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactor
                     }
                     appender.flush(writer);
                 } else {
+                    if (hasBatchEval) {
+                        evaluateBatch(nTuple);
+                    }
                     if (nTuple > 1) {
                         for (; tupleIndex < nTuple - 1; tupleIndex++) {
                             tRef.reset(tAccess, tupleIndex);
@@ -149,6 +165,22 @@ public class AssignRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactor
                 tupleIndex = 0;
             }
 
+            /**
+             * Evaluates the batchable expressions for all tuples of the frame. A failure is reported for the tuple
+             * that the batch evaluator failed on.
+             */
+            private void evaluateBatch(int nTuple) throws HyracksDataException {
+                try {
+                    for (int i = 0; i < batchEval.length; i++) {
+                        if (batchEval[i] != null) {
+                            batchEval[i].evaluate(tAccess, null, nTuple, columns[i]);
+                        }
+                    }
+                } catch (HyracksDataException e) {
+                    throw BatchScalarEvaluators.operatorFailure(e, sourceLoc);
+                }
+            }
+
             private void produceTuple(ArrayTupleBuilder tb, IFrameTupleAccessor accessor, int tIndex,
                     FrameTupleReference tupleRef) throws HyracksDataException {
                 try {
@@ -156,7 +188,11 @@ public class AssignRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactor
                     for (int f = 0; f < projectionList.length; f++) {
                         int k = projectionToOutColumns[f];
                         if (k >= 0) {
-                            eval[k].evaluate(tupleRef, result);
+                            if (columns[k] != null) {
+                                columns[k].getValue(tIndex, result);
+                            } else {
+                                eval[k].evaluate(tupleRef, result);
+                            }
                             tb.addField(result.getByteArray(), result.getStartOffset(), result.getLength());
                         } else {
                             tb.addField(accessor, tIndex, projectionList[f]);
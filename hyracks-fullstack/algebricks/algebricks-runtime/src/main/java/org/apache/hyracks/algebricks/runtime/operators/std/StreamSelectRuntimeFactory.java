@@ -23,8 +23,11 @@ import java.nio.ByteBuffer;
 
 import org.apache.hyracks.algebricks.data.IBinaryBooleanInspector;
 import org.apache.hyracks.algebricks.data.IBinaryBooleanInspectorFactory;
+import org.apache.hyracks.algebricks.runtime.base.IBatchScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
 import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.BatchScalarEvaluators;
+import org.apache.hyracks.algebricks.runtime.evaluators.ScalarColumn;
 import org.apache.hyracks.algebricks.runtime.operators.base.AbstractOneInputOneOutputOneFieldFramePushRuntime;
 import org.apache.hyracks.algebricks.runtime.operators.base.AbstractOneInputOneOutputOneFramePushRuntime;
 import org.apache.hyracks.algebricks.runtime.operators.base.AbstractOneInputOneOutputRuntimeFactory;
@@ -83,14 +86,21 @@ public class StreamSelectRuntimeFactory extends AbstractOneInputOneOutputRuntime
         return new AbstractOneInputOneOutputOneFieldFramePushRuntime() {
             private IPointable p = VoidPointable.FACTORY.createPointable();
             private IScalarEvaluator eval;
+            private IBatchScalarEvaluator batchEval;
+            private ScalarColumn conditionColumn;
             private IMissingWriter missingWriter = null;
             private ArrayTupleBuilder missingTupleBuilder = null;
 
             @Override
             public void open() throws HyracksDataException {
-                if (eval == null) {
+                if (eval == null && batchEval == null) {
                     initAccessAppendFieldRef(ctx);
-                    eval = cond.createScalarEvaluator(ctx);
+                    if (BatchScalarEvaluators.isBatchable(cond)) {
+                        batchEval = BatchScalarEvaluators.create(cond, ctx);
+                        conditionColumn = new ScalarColumn();
+                    } else {
+                        eval = cond.createScalarEvaluator(ctx);
+                    }
                 }
                 super.open();
                 //prepare nullTupleBuilder
@@ -107,9 +117,16 @@ public class StreamSelectRuntimeFactory extends AbstractOneInputOneOutputRuntime
             public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
                 tAccess.reset(buffer);
                 int nTuple = tAccess.getTupleCount();
+                if (batchEval != null) {
+                    evaluateBatch(nTuple);
+                }
                 for (int t = 0; t < nTuple; t++) {
-                    tRef.reset(tAccess, t);
-                    eval.evaluate(tRef, p);
+                    if (batchEval != null) {
+                        conditionColumn.getValue(t, p);
+                    } else {
+                        tRef.reset(tAccess, t);
+                        eval.evaluate(tRef, p);
+                    }
                     if (bbi.getBooleanValue(p.getByteArray(), p.getStartOffset(), p.getLength())) {
                         if (projectionList != null) {
                             appendProjectionToFrame(t, projectionList);
@@ -118,7 +135,7 @@ public class StreamSelectRuntimeFactory extends AbstractOneInputOneOutputRuntime
                         }
                     } else {
                         if (retainMissing) {
-                            for (int i = 0; i < tRef.getFieldCount(); i++) {
+                            for (int i = 0; i < tAccess.getFieldCount(); i++) {
                                 if (i == missingPlaceholderVariableIndex) {
                                     appendField(missingTupleBuilder.getByteArray(), 0, missingTupleBuilder.getSize());
                                 } else {
@@ -130,6 +147,18 @@ public class StreamSelectRuntimeFactory extends AbstractOneInputOneOutputRuntime
                 }
             }
 
+            /**
+             * Evaluates the condition for all tuples of the frame. A failure is reported for the tuple that the batch
+             * evaluator failed on.
+             */
+            private void evaluateBatch(int nTuple) throws HyracksDataException {
+                try {
+                    batchEval.evaluate(tAccess, null, nTuple, conditionColumn);
+                } catch (HyracksDataException e) {
+                    throw BatchScalarEvaluators.operatorFailure(e, sourceLoc);
+                }
+            }
+
             @Override
             public void flush() throws HyracksDataException {
                 appender.flush(writer);
@@ -59,6 +59,20 @@ public interface IChannelReadInterface {
      */
     public void setBufferFactory(IBufferFactory bufferFactory, int limit, int frameSize);
 
+    /**
+     * Makes this {@link IChannelReadInterface} pass one buffer per block received from the remote side to the full
+     * buffer acceptor instead of passing completely filled buffers. A block starts with a header whose first int is
+     * the length of the block payload that follows the header. The buffers must be large enough to hold the largest
+     * block and the remote side must charge the capacity of one buffer for every block it sends.
+     * Must be set before any data is received on the channel. Implementations that do not support block mode keep
+     * passing completely filled buffers, in which case the remote side must not be asked to send blocks.
+     *
+     * @param blockHeaderSize
+     *            - the size of the block header, 0 to pass completely filled buffers
+     * @return true if the buffers are passed as requested, false if block mode is not supported
+     */
+    public boolean setBlockMode(int blockHeaderSize);
+
     /**
      * Try to read as much as {@code size} bytes from {@code sc}
      *
@@ -54,6 +54,16 @@ public interface IChannelWriteInterface {
      */
     public void setBufferFactory(IBufferFactory bufferFactory, int limit, int frameSize);
 
+    /**
+     * Makes this {@link IChannelWriteInterface} send every full buffer as one block and charge
+     * {@code blockCredits} credits per block rather than one credit per byte, which matches a remote
+     * {@link IChannelReadInterface} in block mode that receives every block into a buffer of that capacity.
+     *
+     * @param blockCredits
+     *            - the credits charged per block, 0 to charge one credit per byte
+     */
+    public void setBlockCredits(int blockCredits);
+
     /**
      * Performs a pending write operation based on the current state of
      * this {@link IChannelWriteInterface}
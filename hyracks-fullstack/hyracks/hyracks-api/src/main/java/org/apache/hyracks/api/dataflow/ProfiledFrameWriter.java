@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.api.dataflow;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.FrameHelper;
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.job.profiling.counters.ICounter;
+import org.apache.hyracks.util.IntSerDeUtils;
+
+/**
+ * Counts the tuples that an operator writes to its first output. It is put between the operators of a task when the
+ * job is run with {@link org.apache.hyracks.api.job.JobFlag#PROFILE_RUNTIME}, and the counts are reported as task
+ * counters named by {@link #getOutputTupleCounterName(OperatorDescriptorId)}.
+ */
+public class ProfiledFrameWriter implements IFrameWriter {
+
+    private static final String OUTPUT_TUPLES = ".output-tuples";
+    private final IFrameWriter writer;
+    private final ICounter tupleCounter;
+
+    private ProfiledFrameWriter(IFrameWriter writer, ICounter tupleCounter) {
+        this.writer = writer;
+        this.tupleCounter = tupleCounter;
+    }
+
+    @Override
+    public void open() throws HyracksDataException {
+        writer.open();
+    }
+
+    @Override
+    public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+        tupleCounter.update(IntSerDeUtils.getInt(buffer.array(), FrameHelper.getTupleCountOffset(buffer.capacity())));
+        writer.nextFrame(buffer);
+    }
+
+    @Override
+    public void flush() throws HyracksDataException {
+        writer.flush();
+    }
+
+    @Override
+    public void fail() throws HyracksDataException {
+        writer.fail();
+    }
+
+    @Override
+    public void close() throws HyracksDataException {
+        writer.close();
+    }
+
+    public static IFrameWriter profile(IFrameWriter writer, ICounter tupleCounter) {
+        return new ProfiledFrameWriter(writer, tupleCounter);
+    }
+
+    public static String getOutputTupleCounterName(OperatorDescriptorId odId) {
+        return odId + OUTPUT_TUPLES;
+    }
+}
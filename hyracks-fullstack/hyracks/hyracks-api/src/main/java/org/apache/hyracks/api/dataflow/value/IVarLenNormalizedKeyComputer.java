@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.api.dataflow.value;
+
+/**
+ * Encodes a field value into a variable-length, binary-comparable key: the order of two encoded keys under an
+ * unsigned lexicographic byte comparison is the order of the original values under the corresponding
+ * {@link IBinaryComparator}, and equal keys imply equal values.
+ * Encoded keys are prefix-free, so the keys of several fields can be concatenated into a single composite key.
+ */
+public interface IVarLenNormalizedKeyComputer {
+
+    /**
+     * @param length
+     *            the length of the field value
+     * @return an upper bound of the number of bytes {@link #normalize} may write for a value of the given length
+     */
+    int getMaxNormalizedKeyLength(int length);
+
+    /**
+     * Writes the normalized key of the field value into target, starting at targetStart. The caller must make sure
+     * that target can hold {@link #getMaxNormalizedKeyLength(int)} bytes.
+     *
+     * @return the number of bytes written
+     */
+    int normalize(byte[] bytes, int start, int length, byte[] target, int targetStart);
+}
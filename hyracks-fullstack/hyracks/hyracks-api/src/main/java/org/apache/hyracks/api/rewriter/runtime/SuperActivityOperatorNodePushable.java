@@ -41,6 +41,7 @@ import org.apache.hyracks.api.dataflow.EnforceFrameWriter;
 import org.apache.hyracks.api.dataflow.IActivity;
 import org.apache.hyracks.api.dataflow.IConnectorDescriptor;
 import org.apache.hyracks.api.dataflow.IOperatorNodePushable;
+import org.apache.hyracks.api.dataflow.ProfiledFrameWriter;
 import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
@@ -97,6 +98,7 @@ public class SuperActivityOperatorNodePushable implements IOperatorNodePushable
         Queue<Pair<Pair<IActivity, Integer>, Pair<IActivity, Integer>>> childQueue = new LinkedList<>();
         List<IConnectorDescriptor> outputConnectors;
         final boolean enforce = ctx.getJobFlags().contains(JobFlag.ENFORCE_CONTRACT);
+        final boolean profile = ctx.getJobFlags().contains(JobFlag.PROFILE_RUNTIME);
         /*
          * Set up the source operators
          */
@@ -139,6 +141,7 @@ public class SuperActivityOperatorNodePushable implements IOperatorNodePushable
              */
             IFrameWriter writer = destOp.getInputFrameWriter(inputChannel);
             writer = enforce ? EnforceFrameWriter.enforce(writer) : writer;
+            writer = profile ? profile(sourceId, outputChannel, writer) : writer;
             sourceOp.setOutputFrameWriter(outputChannel, writer,
                     recordDescProvider.getInputRecordDescriptor(destId, inputChannel));
 
@@ -171,7 +174,22 @@ public class SuperActivityOperatorNodePushable implements IOperatorNodePushable
          */
         Pair<ActivityId, Integer> activityIdOutputIndex = parent.getActivityIdOutputIndex(clusterOutputIndex);
         IOperatorNodePushable opPushable = operatorNodePushables.get(activityIdOutputIndex.getLeft());
-        opPushable.setOutputFrameWriter(activityIdOutputIndex.getRight(), writer, recordDesc);
+        IFrameWriter outputWriter = writer;
+        if (ctx.getJobFlags().contains(JobFlag.PROFILE_RUNTIME)) {
+            outputWriter = profile(activityIdOutputIndex.getLeft(), activityIdOutputIndex.getRight(), writer);
+        }
+        opPushable.setOutputFrameWriter(activityIdOutputIndex.getRight(), outputWriter, recordDesc);
+    }
+
+    /**
+     * Counts the tuples of the first output of an activity as the output tuples of its operator.
+     */
+    private IFrameWriter profile(ActivityId activityId, int outputIndex, IFrameWriter writer) {
+        if (outputIndex != 0) {
+            return writer;
+        }
+        String counterName = ProfiledFrameWriter.getOutputTupleCounterName(activityId.getOperatorDescriptorId());
+        return ProfiledFrameWriter.profile(writer, ctx.getCounterContext().getCounter(counterName, true));
     }
 
     @Override
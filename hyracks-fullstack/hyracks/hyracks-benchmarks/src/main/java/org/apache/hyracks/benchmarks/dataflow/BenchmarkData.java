@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.dataflow;
+
+import java.util.Random;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+
+/**
+ * Deterministic input generators shared by the dataflow benchmarks.
+ */
+public class BenchmarkData {
+
+    public static final long SEED = 50;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates tuples of the form (int key, string payload) with uniformly distributed keys.
+     */
+    public static ArrayTupleBuilder[] createIntStringTuples(Random rnd, int numTuples, int payloadLength)
+            throws HyracksDataException {
+        UTF8StringSerializerDeserializer stringSerde = new UTF8StringSerializerDeserializer();
+        ArrayTupleBuilder[] tuples = new ArrayTupleBuilder[numTuples];
+        for (int i = 0; i < numTuples; i++) {
+            ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, rnd.nextInt());
+            tb.addField(stringSerde, randomString(rnd, payloadLength));
+            tuples[i] = tb;
+        }
+        return tuples;
+    }
+
+    public static String randomString(Random rnd, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + rnd.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
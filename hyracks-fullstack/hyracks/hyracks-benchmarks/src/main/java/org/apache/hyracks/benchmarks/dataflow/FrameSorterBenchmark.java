@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.dataflow;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hyracks.api.comm.IFrame;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.normalizers.IntegerNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.std.buffermanager.EnumFreeSlotPolicy;
+import org.apache.hyracks.dataflow.std.buffermanager.FrameFreeSlotPolicyFactory;
+import org.apache.hyracks.dataflow.std.buffermanager.IFrameBufferManager;
+import org.apache.hyracks.dataflow.std.buffermanager.VariableFrameMemoryManager;
+import org.apache.hyracks.dataflow.std.buffermanager.VariableFramePool;
+import org.apache.hyracks.dataflow.std.sort.Algorithm;
+import org.apache.hyracks.dataflow.std.sort.FrameSorterMergeSort;
+import org.apache.hyracks.dataflow.std.sort.FrameSorterQuickSort;
+import org.apache.hyracks.dataflow.std.sort.IFrameSorter;
+import org.apache.hyracks.test.support.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures in-memory run generation through {@link FrameSorterQuickSort} and {@link FrameSorterMergeSort}, i.e. the
+ * normalized key extraction, the pointer sort and the full comparator fallback on normalized key ties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameSorterBenchmark {
+
+    private static final int FRAME_SIZE = 32768;
+    private static final int SORT_FRAMES = 128;
+
+    @Param({ "QUICK_SORT", "MERGE_SORT" })
+    public Algorithm algorithm;
+
+    /**
+     * INT sorts on the integer key only, STRING on the string payload only and INT_STRING on both fields with a
+     * low-cardinality integer prefix so that the normalized keys tie and the comparators are exercised.
+     */
+    @Param({ "INT", "STRING", "INT_STRING" })
+    public String sortKey;
+
+    @Param({ "true", "false" })
+    public boolean useNormalizedKeys;
+
+    private IHyracksTaskContext ctx;
+    private IIOManager ioManager;
+    private IFrameSorter sorter;
+    private List<IFrame> inputFrames;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("rawtypes")
+    public void setUp() throws HyracksDataException {
+        ctx = TestUtils.create(FRAME_SIZE);
+        ioManager = ctx.getIoManager();
+        RecordDescriptor recordDesc = new RecordDescriptor(new ISerializerDeserializer[] {
+                IntegerSerializerDeserializer.INSTANCE, new UTF8StringSerializerDeserializer() });
+        int[] sortFields;
+        IBinaryComparatorFactory[] comparatorFactories;
+        INormalizedKeyComputerFactory[] normalizerFactories;
+        switch (sortKey) {
+            case "INT":
+                sortFields = new int[] { 0 };
+                comparatorFactories = new IBinaryComparatorFactory[] {
+                        PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY) };
+                normalizerFactories = new INormalizedKeyComputerFactory[] { new IntegerNormalizedKeyComputerFactory() };
+                break;
+            case "STRING":
+                sortFields = new int[] { 1 };
+                comparatorFactories = new IBinaryComparatorFactory[] {
+                        PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY) };
+                normalizerFactories =
+                        new INormalizedKeyComputerFactory[] { new UTF8StringNormalizedKeyComputerFactory() };
+                break;
+            default:
+                sortFields = new int[] { 0, 1 };
+                comparatorFactories =
+                        new IBinaryComparatorFactory[] { PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY),
+                                PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY) };
+                normalizerFactories = new INormalizedKeyComputerFactory[] { new IntegerNormalizedKeyComputerFactory(),
+                        new UTF8StringNormalizedKeyComputerFactory() };
+                break;
+        }
+        IFrameBufferManager bufferManager =
+                new VariableFrameMemoryManager(new VariableFramePool(ctx, SORT_FRAMES * FRAME_SIZE),
+                        FrameFreeSlotPolicyFactory.createFreeSlotPolicy(EnumFreeSlotPolicy.LAST_FIT, SORT_FRAMES));
+        INormalizedKeyComputerFactory[] nkcfs = useNormalizedKeys ? normalizerFactories : null;
+        if (algorithm == Algorithm.MERGE_SORT) {
+            sorter = new FrameSorterMergeSort(ctx, bufferManager, SORT_FRAMES, sortFields, nkcfs, comparatorFactories,
+                    recordDesc);
+        } else {
+            sorter = new FrameSorterQuickSort(ctx, bufferManager, SORT_FRAMES, sortFields, nkcfs, comparatorFactories,
+                    recordDesc);
+        }
+        // leave room for the tuple pointers which are accounted against the same memory budget
+        inputFrames = createInputFrames(SORT_FRAMES / 2, "INT_STRING".equals(sortKey));
+    }
+
+    private List<IFrame> createInputFrames(int numFrames, boolean lowCardinalityKey) throws HyracksDataException {
+        Random rnd = new Random(BenchmarkData.SEED);
+        UTF8StringSerializerDeserializer stringSerde = new UTF8StringSerializerDeserializer();
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+        List<IFrame> frames = new ArrayList<>(numFrames);
+        IFrame frame = new VSizeFrame(ctx);
+        FrameTupleAppender appender = new FrameTupleAppender(frame, true);
+        while (frames.size() < numFrames) {
+            tb.reset();
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, lowCardinalityKey ? rnd.nextInt(16) : rnd.nextInt());
+            // shared prefix so that string normalized keys are frequently indecisive
+            tb.addField(stringSerde, "customer#" + BenchmarkData.randomString(rnd, 16));
+            if (!appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize())) {
+                frames.add(frame);
+                frame = new VSizeFrame(ctx);
+                appender.reset(frame, true);
+                appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize());
+            }
+        }
+        return frames;
+    }
+
+    @Setup(Level.Invocation)
+    public void loadFrames() throws HyracksDataException {
+        sorter.reset();
+        for (IFrame frame : inputFrames) {
+            if (!sorter.insertFrame(frame.getBuffer())) {
+                throw new HyracksDataException("Sort memory too small for the benchmark input");
+            }
+        }
+    }
+
+    @Benchmark
+    public int sort() throws HyracksDataException {
+        sorter.sort();
+        return sorter.getFrameCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        sorter.close();
+        ioManager.close();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.dataflow;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.control.nc.resources.memory.FrameManager;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of filling a frame through {@link FrameTupleAppender} and of walking it back through
+ * {@link FrameTupleAccessor}, which together sit on every operator-to-operator hop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameTupleBenchmark {
+
+    private static final int NUM_TUPLES = 1024;
+
+    @Param({ "32768", "131072" })
+    public int frameSize;
+
+    @Param({ "16", "128" })
+    public int payloadLength;
+
+    private VSizeFrame frame;
+    private VSizeFrame filledFrame;
+    private FrameTupleAppender appender;
+    private FrameTupleAccessor accessor;
+    private ArrayTupleBuilder[] tuples;
+
+    @Setup
+    @SuppressWarnings("rawtypes")
+    public void setUp() throws HyracksDataException {
+        RecordDescriptor recordDesc = new RecordDescriptor(new ISerializerDeserializer[] {
+                IntegerSerializerDeserializer.INSTANCE, new UTF8StringSerializerDeserializer() });
+        FrameManager frameManager = new FrameManager(frameSize);
+        frame = new VSizeFrame(frameManager);
+        filledFrame = new VSizeFrame(frameManager);
+        appender = new FrameTupleAppender(frame, true);
+        accessor = new FrameTupleAccessor(recordDesc);
+        tuples = BenchmarkData.createIntStringTuples(new Random(BenchmarkData.SEED), NUM_TUPLES, payloadLength);
+
+        FrameTupleAppender filler = new FrameTupleAppender(filledFrame, true);
+        for (ArrayTupleBuilder tb : tuples) {
+            if (!filler.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize())) {
+                break;
+            }
+        }
+        accessor.reset(filledFrame.getBuffer());
+    }
+
+    @Benchmark
+    public int appendTuples() throws HyracksDataException {
+        appender.reset(frame, true);
+        int appended = 0;
+        for (ArrayTupleBuilder tb : tuples) {
+            if (!appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize())) {
+                appender.reset(frame, true);
+                appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize());
+            }
+            appended++;
+        }
+        return appended;
+    }
+
+    @Benchmark
+    public void accessFields(Blackhole bh) {
+        int tupleCount = accessor.getTupleCount();
+        for (int i = 0; i < tupleCount; i++) {
+            bh.consume(accessor.getAbsoluteFieldStartOffset(i, 0));
+            bh.consume(accessor.getFieldLength(i, 1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.dataflow;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hyracks.api.context.IHyracksFrameMgrContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.control.nc.resources.memory.FrameManager;
+import org.apache.hyracks.dataflow.std.buffermanager.DeallocatableFramePool;
+import org.apache.hyracks.dataflow.std.buffermanager.FramePoolBackedFrameBufferManager;
+import org.apache.hyracks.dataflow.std.structures.SerializableHashTable;
+import org.apache.hyracks.dataflow.std.structures.TuplePointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures build (insert) and probe (lookup) throughput of {@link SerializableHashTable}, the table used by the
+ * hash join and the hash group-by.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializableHashTableBenchmark {
+
+    private static final int FRAME_SIZE = 32768;
+    private static final int TABLE_MEMORY_FRAMES = 4096;
+
+    @Param({ "100000", "1000000" })
+    public int numEntries;
+
+    /**
+     * Number of inserted entries per hash table slot, on average.
+     */
+    @Param({ "1", "4" })
+    public int loadFactor;
+
+    private IHyracksFrameMgrContext ctx;
+    private DeallocatableFramePool framePool;
+    private SerializableHashTable table;
+    private int[] entries;
+    private final TuplePointer pointer = new TuplePointer();
+
+    @Setup(Level.Trial)
+    public void setUp() throws HyracksDataException {
+        ctx = new FrameManager(FRAME_SIZE);
+        framePool = new DeallocatableFramePool(ctx, FRAME_SIZE * TABLE_MEMORY_FRAMES);
+        int tableSize = numEntries / loadFactor;
+        table = new SerializableHashTable(tableSize, ctx, new FramePoolBackedFrameBufferManager(framePool));
+        Random rnd = new Random(BenchmarkData.SEED);
+        entries = new int[numEntries];
+        for (int i = 0; i < numEntries; i++) {
+            entries[i] = rnd.nextInt(tableSize);
+        }
+        insertAll();
+    }
+
+    private void insertAll() throws HyracksDataException {
+        for (int i = 0; i < entries.length; i++) {
+            pointer.reset(i / 128, i % 128);
+            table.insert(entries[i], pointer);
+        }
+    }
+
+    @Benchmark
+    public int insert() throws HyracksDataException {
+        table.reset();
+        insertAll();
+        return table.getTupleCount();
+    }
+
+    @Benchmark
+    public void probe(Blackhole bh) {
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            int count = table.getTupleCount(entry);
+            for (int j = 0; j < count; j++) {
+                table.getTuplePointer(entry, j, pointer);
+                bh.consume(pointer.getTupleIndex());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        table.close();
+    }
+}
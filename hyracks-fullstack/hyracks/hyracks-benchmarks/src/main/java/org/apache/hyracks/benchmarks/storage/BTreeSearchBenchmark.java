@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.storage;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.frames.BTreeLeafFrameType;
+import org.apache.hyracks.storage.am.btree.impls.BTree;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.btree.util.BTreeUtils;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexAccessor;
+import org.apache.hyracks.storage.am.common.frames.LIFOMetaDataFrameFactory;
+import org.apache.hyracks.storage.am.common.freepage.LinkedMetaDataPageManager;
+import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
+import org.apache.hyracks.storage.common.IIndexBulkLoader;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.test.support.TestStorageManagerComponentHolder;
+import org.apache.hyracks.test.support.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures point and range searches on a bulk-loaded {@link BTree} going through the {@link IBufferCache}. A buffer
+ * cache smaller than the tree forces page misses and therefore reads from the local file system.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BTreeSearchBenchmark {
+
+    private static final int PAGE_SIZE = 32768;
+    private static final int MAX_OPEN_FILES = 10;
+    private static final int HYRACKS_FRAME_SIZE = 32768;
+    private static final int RANGE_SIZE = 1000;
+
+    @Param({ "1000000" })
+    public int numTuples;
+
+    /**
+     * Number of buffer cache pages. The default tree occupies roughly 250 pages.
+     */
+    @Param({ "64", "4096" })
+    public int cachePages;
+
+    private IIOManager ioManager;
+    private IBufferCache bufferCache;
+    private FileReference file;
+    private BTree btree;
+    private ITreeIndexAccessor accessor;
+    private IIndexCursor cursor;
+    private ArrayTupleBuilder lowKeyBuilder;
+    private ArrayTupleBuilder highKeyBuilder;
+    private ArrayTupleReference lowKey;
+    private ArrayTupleReference highKey;
+    private RangePredicate pointPred;
+    private RangePredicate rangePred;
+    private Random rnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws HyracksDataException {
+        IHyracksTaskContext ctx = TestUtils.create(HYRACKS_FRAME_SIZE);
+        ioManager = ctx.getIoManager();
+        TestStorageManagerComponentHolder.init(PAGE_SIZE, cachePages, MAX_OPEN_FILES);
+        bufferCache = TestStorageManagerComponentHolder.getBufferCache(ctx.getJobletContext().getServiceContext());
+        file = ioManager.getFileReference(0, "btree-search-benchmark-" + System.nanoTime());
+
+        ITypeTraits[] typeTraits = { IntegerPointable.TYPE_TRAITS, IntegerPointable.TYPE_TRAITS };
+        IBinaryComparatorFactory[] cmpFactories = { PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY) };
+        LinkedMetaDataPageManager freePageManager =
+                new LinkedMetaDataPageManager(bufferCache, new LIFOMetaDataFrameFactory());
+        btree = BTreeUtils.createBTree(bufferCache, typeTraits, cmpFactories, BTreeLeafFrameType.REGULAR_NSM, file,
+                freePageManager, false);
+        btree.create();
+        btree.activate();
+
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+        ArrayTupleReference tuple = new ArrayTupleReference();
+        IIndexBulkLoader bulkLoader = btree.createBulkLoader(1.0f, false, numTuples, true);
+        for (int i = 0; i < numTuples; i++) {
+            TupleUtils.createIntegerTuple(tb, tuple, i, i);
+            bulkLoader.add(tuple);
+        }
+        bulkLoader.end();
+
+        accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        cursor = accessor.createSearchCursor(false);
+        lowKeyBuilder = new ArrayTupleBuilder(1);
+        highKeyBuilder = new ArrayTupleBuilder(1);
+        lowKey = new ArrayTupleReference();
+        highKey = new ArrayTupleReference();
+        MultiComparator searchCmp = MultiComparator.create(cmpFactories);
+        pointPred = new RangePredicate(lowKey, lowKey, true, true, searchCmp, searchCmp);
+        rangePred = new RangePredicate(lowKey, highKey, true, false, searchCmp, searchCmp);
+        rnd = new Random(System.nanoTime());
+    }
+
+    private int scan(RangePredicate pred) throws HyracksDataException {
+        int count = 0;
+        accessor.search(cursor, pred);
+        try {
+            while (cursor.hasNext()) {
+                cursor.next();
+                ITupleReference t = cursor.getTuple();
+                count += t.getFieldLength(1);
+            }
+        } finally {
+            cursor.close();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int pointSearch() throws HyracksDataException {
+        TupleUtils.createIntegerTuple(lowKeyBuilder, lowKey, rnd.nextInt(numTuples));
+        return scan(pointPred);
+    }
+
+    @Benchmark
+    public int rangeSearch() throws HyracksDataException {
+        int low = rnd.nextInt(numTuples - RANGE_SIZE);
+        TupleUtils.createIntegerTuple(lowKeyBuilder, lowKey, low);
+        TupleUtils.createIntegerTuple(highKeyBuilder, highKey, low + RANGE_SIZE);
+        return scan(rangePred);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cursor.destroy();
+        btree.deactivate();
+        btree.destroy();
+        bufferCache.close();
+        ioManager.close();
+    }
+}
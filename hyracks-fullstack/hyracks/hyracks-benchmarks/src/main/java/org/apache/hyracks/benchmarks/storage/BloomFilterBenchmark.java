@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.benchmarks.storage;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.bloomfilter.impls.BloomCalculations;
+import org.apache.hyracks.storage.am.bloomfilter.impls.BloomFilter;
+import org.apache.hyracks.storage.am.bloomfilter.impls.BloomFilterSpecification;
+import org.apache.hyracks.storage.am.bloomfilter.impls.MurmurHash128Bit;
+import org.apache.hyracks.storage.common.IIndexBulkLoader;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.test.support.TestStorageManagerComponentHolder;
+import org.apache.hyracks.test.support.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MurmurHash128Bit} on integer key tuples and {@link BloomFilter#contains} for present and absent
+ * keys on a pinned bloom filter, as done by LSM point lookups on disk components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+    private static final int PAGE_SIZE = 32768;
+    private static final int NUM_PAGES = 1024;
+    private static final int MAX_OPEN_FILES = 10;
+    private static final int HYRACKS_FRAME_SIZE = 32768;
+    private static final int[] KEY_FIELDS = { 0 };
+    private static final long SEED = 0L;
+
+    @Param({ "1000000" })
+    public int numElements;
+
+    @Param({ "0.01" })
+    public double falsePositiveRate;
+
+    private IIOManager ioManager;
+    private IBufferCache bufferCache;
+    private FileReference file;
+    private BloomFilter bloomFilter;
+    private ArrayTupleBuilder tb;
+    private ArrayTupleReference tuple;
+    private long[] hashes;
+    private Random rnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws HyracksDataException {
+        IHyracksTaskContext ctx = TestUtils.create(HYRACKS_FRAME_SIZE);
+        ioManager = ctx.getIoManager();
+        TestStorageManagerComponentHolder.init(PAGE_SIZE, NUM_PAGES, MAX_OPEN_FILES);
+        bufferCache = TestStorageManagerComponentHolder.getBufferCache(ctx.getJobletContext().getServiceContext());
+        file = ioManager.getFileReference(0, "bloomfilter-benchmark-" + System.nanoTime());
+        bloomFilter = new BloomFilter(bufferCache, file, KEY_FIELDS);
+        BloomFilterSpecification spec = BloomCalculations
+                .computeBloomSpec(BloomCalculations.maxBucketsPerElement(numElements), falsePositiveRate);
+        bloomFilter.create();
+        bloomFilter.activate();
+        tb = new ArrayTupleBuilder(1);
+        tuple = new ArrayTupleReference();
+        IIndexBulkLoader builder =
+                bloomFilter.createBuilder(numElements, spec.getNumHashes(), spec.getNumBucketsPerElements());
+        // even keys are inserted, odd keys are used for negative lookups
+        for (int i = 0; i < numElements; i++) {
+            TupleUtils.createIntegerTuple(tb, tuple, i * 2);
+            builder.add(tuple);
+        }
+        builder.end();
+        bloomFilter.pinAllPages();
+        hashes = BloomFilter.createHashArray();
+        rnd = new Random(System.nanoTime());
+    }
+
+    @Benchmark
+    public long murmurHash() throws HyracksDataException {
+        TupleUtils.createIntegerTuple(tb, tuple, rnd.nextInt());
+        MurmurHash128Bit.hash3_x64_128(tuple, KEY_FIELDS, SEED, hashes);
+        return hashes[0] ^ hashes[1];
+    }
+
+    @Benchmark
+    public boolean containsPresent() throws HyracksDataException {
+        TupleUtils.createIntegerTuple(tb, tuple, rnd.nextInt(numElements) * 2);
+        return bloomFilter.contains(tuple, hashes);
+    }
+
+    @Benchmark
+    public boolean containsAbsent() throws HyracksDataException {
+        TupleUtils.createIntegerTuple(tb, tuple, rnd.nextInt(numElements) * 2 + 1);
+        return bloomFilter.contains(tuple, hashes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        bloomFilter.unpinAllPages();
+        bloomFilter.deactivate();
+        bloomFilter.destroy();
+        bufferCache.close();
+        ioManager.close();
+    }
+}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.NetException;
 import org.apache.hyracks.api.network.ISocketChannelFactory;
 import org.apache.hyracks.comm.channels.IChannelConnectionFactory;
@@ -36,7 +37,20 @@ public class ClientNetworkManager implements IChannelConnectionFactory {
 
     private final MuxDemux md;
 
+    private final ICompressorDecompressor compressorDecompressor;
+
     public ClientNetworkManager(int nThreads, ISocketChannelFactory socketChannelFactory) {
+        this(nThreads, socketChannelFactory, null);
+    }
+
+    /**
+     * @param compressorDecompressor
+     *            the decompressor for the frames received over the connected channels, null to receive them
+     *            uncompressed
+     */
+    public ClientNetworkManager(int nThreads, ISocketChannelFactory socketChannelFactory,
+            ICompressorDecompressor compressorDecompressor) {
+        this.compressorDecompressor = compressorDecompressor;
         /* This is a connect only socket and does not listen to any incoming connections, so pass null to
          * localAddress and listener.
          */
@@ -57,6 +71,11 @@ public class ClientNetworkManager implements IChannelConnectionFactory {
         return mConn.openChannel();
     }
 
+    @Override
+    public ICompressorDecompressor getCompressorDecompressor() {
+        return compressorDecompressor;
+    }
+
     public MuxDemuxPerformanceCounters getPerformanceCounters() {
         return md.getPerformanceCounters();
     }
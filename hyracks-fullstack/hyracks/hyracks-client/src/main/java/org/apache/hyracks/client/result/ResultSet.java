@@ -20,6 +20,7 @@ package org.apache.hyracks.client.result;
 
 import org.apache.hyracks.api.client.IHyracksClientConnection;
 import org.apache.hyracks.api.comm.NetworkAddress;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.context.IHyracksCommonContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.IIOManager;
@@ -41,10 +42,19 @@ public class ResultSet implements IResultSet {
 
     public ResultSet(IHyracksClientConnection hcc, ISocketChannelFactory socketChannelFactory, int frameSize,
             int nReaders) throws Exception {
+        this(hcc, socketChannelFactory, frameSize, nReaders, null);
+    }
+
+    /**
+     * @param decompressor
+     *            the decompressor for the result frames, null to receive them uncompressed
+     */
+    public ResultSet(IHyracksClientConnection hcc, ISocketChannelFactory socketChannelFactory, int frameSize,
+            int nReaders, ICompressorDecompressor decompressor) throws Exception {
         NetworkAddress ddsAddress = hcc.getResultDirectoryAddress();
         resultDirectory = new ResultDirectory(ddsAddress.getAddress(), ddsAddress.getPort(), socketChannelFactory);
 
-        netManager = new ClientNetworkManager(nReaders, socketChannelFactory);
+        netManager = new ClientNetworkManager(nReaders, socketChannelFactory, decompressor);
         netManager.start();
 
         resultClientCtx = new ResultClientContext(frameSize);
@@ -21,8 +21,15 @@ package org.apache.hyracks.comm.channels;
 import java.net.SocketAddress;
 
 import org.apache.hyracks.api.comm.IChannelControlBlock;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.NetException;
 
 public interface IChannelConnectionFactory {
     public IChannelControlBlock connect(SocketAddress remoteAddress) throws InterruptedException, NetException;
+
+    /**
+     * @return the compressor/decompressor for the frames sent over the connected channels or null if this side does
+     *         not compress frames
+     */
+    public ICompressorDecompressor getCompressorDecompressor();
 }
@@ -21,6 +21,7 @@ package org.apache.hyracks.comm.channels;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Queue;
 
 import org.apache.hyracks.api.channels.IInputChannel;
@@ -28,16 +29,23 @@ import org.apache.hyracks.api.channels.IInputChannelMonitor;
 import org.apache.hyracks.api.comm.IBufferAcceptor;
 import org.apache.hyracks.api.comm.IChannelControlBlock;
 import org.apache.hyracks.api.comm.ICloseableBufferAcceptor;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.context.IHyracksCommonContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.partitions.PartitionId;
+import org.apache.hyracks.net.protocols.muxdemux.FrameBlockCodec;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class NetworkInputChannel implements IInputChannel {
     private static final Logger LOGGER = LogManager.getLogger();
 
-    static final int INITIAL_MESSAGE_SIZE = 20;
+    /**
+     * The size of the partition request. The last int is the frame size of a receiver that can decompress frames. It
+     * was added without a version check, so nodes that send or expect the older 20 byte request cannot exchange
+     * partitions with this one and all the nodes of a cluster must run the same version.
+     */
+    static final int INITIAL_MESSAGE_SIZE = 24;
 
     private final IChannelConnectionFactory netManager;
 
@@ -51,6 +59,12 @@ public class NetworkInputChannel implements IInputChannel {
 
     private IChannelControlBlock ccb;
 
+    private ICompressorDecompressor decompressor;
+
+    private final Deque<ByteBuffer> frameStack = new ArrayDeque<>();
+
+    private int frameSize;
+
     private IInputChannelMonitor monitor;
 
     private Object attachment;
@@ -80,14 +94,44 @@ public class NetworkInputChannel implements IInputChannel {
     }
 
     @Override
-    public synchronized ByteBuffer getNextBuffer() {
-        return fullQueue.poll();
+    public ByteBuffer getNextBuffer() {
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = fullQueue.poll();
+        }
+        return decompressor == null || buffer == null ? buffer : decode(buffer);
+    }
+
+    private ByteBuffer decode(ByteBuffer block) {
+        ByteBuffer frame;
+        // frames are recycled by the consumer, possibly on another thread
+        synchronized (this) {
+            frame = frameStack.poll();
+        }
+        if (frame == null) {
+            frame = ByteBuffer.allocate(frameSize);
+        }
+        try {
+            FrameBlockCodec.decode(decompressor, block, frame);
+        } catch (HyracksDataException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            block.clear();
+            ccb.getReadInterface().getEmptyBufferAcceptor().accept(block);
+        }
+        return frame;
     }
 
     @Override
     public void recycleBuffer(ByteBuffer buffer) {
         buffer.clear();
-        ccb.getReadInterface().getEmptyBufferAcceptor().accept(buffer);
+        if (decompressor != null) {
+            synchronized (this) {
+                frameStack.push(buffer);
+            }
+        } else {
+            ccb.getReadInterface().getEmptyBufferAcceptor().accept(buffer);
+        }
     }
 
     @Override
@@ -99,13 +143,25 @@ public class NetworkInputChannel implements IInputChannel {
         }
         ccb.getReadInterface().setFullBufferAcceptor(new ReadFullBufferAcceptor());
         ccb.getWriteInterface().setEmptyBufferAcceptor(new WriteEmptyBufferAcceptor());
-        ccb.getReadInterface().setBufferFactory(new ReadBufferFactory(nBuffers, ctx), nBuffers,
-                ctx.getInitialFrameSize());
+        // receive blocks of compressed frames if this side can decompress them
+        decompressor = netManager.getCompressorDecompressor();
+        frameSize = ctx.getInitialFrameSize();
+        int readBufferSize = frameSize;
+        if (decompressor != null && !ccb.getReadInterface().setBlockMode(FrameBlockCodec.HEADER_SIZE)) {
+            // the remote side sends blocks only if it is asked to
+            decompressor = null;
+        }
+        if (decompressor != null) {
+            readBufferSize += FrameBlockCodec.HEADER_SIZE;
+        }
+        ccb.getReadInterface().setBufferFactory(new ReadBufferFactory(nBuffers, readBufferSize), nBuffers,
+                readBufferSize);
         ByteBuffer writeBuffer = ByteBuffer.allocate(INITIAL_MESSAGE_SIZE);
         writeBuffer.putLong(partitionId.getJobId().getId());
         writeBuffer.putInt(partitionId.getConnectorDescriptorId().getId());
         writeBuffer.putInt(partitionId.getSenderIndex());
         writeBuffer.putInt(partitionId.getReceiverIndex());
+        writeBuffer.putInt(decompressor != null ? frameSize : 0);
         writeBuffer.flip();
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("Sending partition request: " + partitionId + " on channel: " + ccb);
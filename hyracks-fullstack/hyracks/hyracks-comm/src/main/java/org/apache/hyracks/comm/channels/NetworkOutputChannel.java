@@ -26,9 +26,12 @@ import java.util.Objects;
 
 import org.apache.hyracks.api.comm.IBufferAcceptor;
 import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.net.protocols.muxdemux.AbstractChannelWriteInterface;
 import org.apache.hyracks.net.protocols.muxdemux.ChannelControlBlock;
+import org.apache.hyracks.net.protocols.muxdemux.FrameBlockCodec;
+import org.apache.hyracks.net.protocols.muxdemux.MuxDemuxPerformanceCounters;
 
 public class NetworkOutputChannel implements IFrameWriter {
     private final ChannelControlBlock ccb;
@@ -43,6 +46,8 @@ public class NetworkOutputChannel implements IFrameWriter {
 
     private int allocateCounter = 0;
 
+    private FrameBlockCodec blockCodec;
+
     public NetworkOutputChannel(ChannelControlBlock ccb, int nBuffers) {
         this.ccb = ccb;
         this.nBuffers = nBuffers;
@@ -54,6 +59,23 @@ public class NetworkOutputChannel implements IFrameWriter {
         this.frameSize = frameSize;
     }
 
+    /**
+     * Sends every frame, or every part of a frame if it is larger than the frame size of the receiver, as one block
+     * that is compressed if compression pays off. Must be called before the first frame is sent.
+     *
+     * @param receiverFrameSize
+     *            the size of the frames the receiver decodes the blocks into
+     * @param compressor
+     *            the compressor for the frames, null to send uncompressed blocks
+     * @param counters
+     *            the counters to report the sent frames to
+     */
+    public void setBlockMode(int receiverFrameSize, ICompressorDecompressor compressor,
+            MuxDemuxPerformanceCounters counters) {
+        blockCodec = new FrameBlockCodec(compressor, receiverFrameSize, counters);
+        ccb.getWriteInterface().setBlockCredits(FrameBlockCodec.HEADER_SIZE + receiverFrameSize);
+    }
+
     @Override
     public void open() {
         // no op
@@ -70,7 +92,8 @@ public class NetworkOutputChannel implements IFrameWriter {
                     }
                     destBuffer = emptyStack.poll();
                     if (destBuffer == null && allocateCounter < nBuffers) {
-                        destBuffer = ByteBuffer.allocateDirect(frameSize);
+                        destBuffer = blockCodec == null ? ByteBuffer.allocateDirect(frameSize)
+                                : ByteBuffer.allocate(blockCodec.getBlockCapacity());
                         allocateCounter++;
                     }
                     if (destBuffer != null) {
@@ -92,14 +115,18 @@ public class NetworkOutputChannel implements IFrameWriter {
                     }
                 }
             }
-            destBuffer.clear();
-            if (destBuffer.capacity() < buffer.remaining()) {
-                destBuffer.put(buffer.array(), buffer.position(), destBuffer.capacity());
-                buffer.position(buffer.position() + destBuffer.capacity());
+            if (blockCodec != null) {
+                blockCodec.encode(buffer, destBuffer);
             } else {
-                destBuffer.put(buffer);
+                destBuffer.clear();
+                if (destBuffer.capacity() < buffer.remaining()) {
+                    destBuffer.put(buffer.array(), buffer.position(), destBuffer.capacity());
+                    buffer.position(buffer.position() + destBuffer.capacity());
+                } else {
+                    destBuffer.put(buffer);
+                }
+                destBuffer.flip();
             }
-            destBuffer.flip();
             ccb.getWriteInterface().getFullBufferAcceptor().accept(destBuffer);
         }
     }
@@ -21,6 +21,7 @@ package org.apache.hyracks.comm.channels;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Queue;
 
 import org.apache.hyracks.api.channels.IInputChannel;
@@ -28,17 +29,24 @@ import org.apache.hyracks.api.channels.IInputChannelMonitor;
 import org.apache.hyracks.api.comm.IBufferAcceptor;
 import org.apache.hyracks.api.comm.IChannelControlBlock;
 import org.apache.hyracks.api.comm.ICloseableBufferAcceptor;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.context.IHyracksCommonContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.job.JobId;
 import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.net.protocols.muxdemux.FrameBlockCodec;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class ResultNetworkInputChannel implements IInputChannel {
     private static final Logger LOGGER = LogManager.getLogger();
 
-    static final int INITIAL_MESSAGE_SIZE = 20;
+    /**
+     * The size of the partition request. The last int is the frame size of a receiver that can decompress frames. It
+     * was added without a version check, so nodes that send or expect the older 20 byte request cannot exchange
+     * results with this one and all the nodes of a cluster must run the same version.
+     */
+    static final int INITIAL_MESSAGE_SIZE = 24;
 
     private final IChannelConnectionFactory netManager;
 
@@ -56,6 +64,12 @@ public class ResultNetworkInputChannel implements IInputChannel {
 
     private IChannelControlBlock ccb;
 
+    private ICompressorDecompressor decompressor;
+
+    private final Deque<ByteBuffer> frameStack = new ArrayDeque<>();
+
+    private int frameSize;
+
     private IInputChannelMonitor monitor;
 
     private Object attachment;
@@ -87,14 +101,44 @@ public class ResultNetworkInputChannel implements IInputChannel {
     }
 
     @Override
-    public synchronized ByteBuffer getNextBuffer() {
-        return fullQueue.poll();
+    public ByteBuffer getNextBuffer() {
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = fullQueue.poll();
+        }
+        return decompressor == null || buffer == null ? buffer : decode(buffer);
+    }
+
+    private ByteBuffer decode(ByteBuffer block) {
+        ByteBuffer frame;
+        // frames are recycled by the consumer, possibly on another thread
+        synchronized (this) {
+            frame = frameStack.poll();
+        }
+        if (frame == null) {
+            frame = ByteBuffer.allocate(frameSize);
+        }
+        try {
+            FrameBlockCodec.decode(decompressor, block, frame);
+        } catch (HyracksDataException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            block.clear();
+            ccb.getReadInterface().getEmptyBufferAcceptor().accept(block);
+        }
+        return frame;
     }
 
     @Override
     public void recycleBuffer(ByteBuffer buffer) {
         buffer.clear();
-        ccb.getReadInterface().getEmptyBufferAcceptor().accept(buffer);
+        if (decompressor != null) {
+            synchronized (this) {
+                frameStack.push(buffer);
+            }
+        } else {
+            ccb.getReadInterface().getEmptyBufferAcceptor().accept(buffer);
+        }
     }
 
     @Override
@@ -106,13 +150,21 @@ public class ResultNetworkInputChannel implements IInputChannel {
         }
         ccb.getReadInterface().setFullBufferAcceptor(new ReadFullBufferAcceptor());
         ccb.getWriteInterface().setEmptyBufferAcceptor(new WriteEmptyBufferAcceptor());
+        decompressor = netManager.getCompressorDecompressor();
+        frameSize = ctx.getInitialFrameSize();
+        if (decompressor != null && !ccb.getReadInterface().setBlockMode(FrameBlockCodec.HEADER_SIZE)) {
+            // the remote side sends blocks only if it is asked to
+            decompressor = null;
+        }
         for (int i = 0; i < nBuffers; ++i) {
-            ccb.getReadInterface().getEmptyBufferAcceptor().accept(ctx.allocateFrame());
+            ccb.getReadInterface().getEmptyBufferAcceptor().accept(decompressor != null
+                    ? ByteBuffer.allocate(FrameBlockCodec.HEADER_SIZE + frameSize) : ctx.allocateFrame());
         }
         ByteBuffer writeBuffer = ByteBuffer.allocate(INITIAL_MESSAGE_SIZE);
         writeBuffer.putLong(jobId.getId());
         writeBuffer.putLong(resultSetId.getId());
         writeBuffer.putInt(partition);
+        writeBuffer.putInt(decompressor != null ? frameSize : 0);
         writeBuffer.flip();
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("Sending partition request for JobId: " + jobId + " partition: " + partition + " on channel: "
@@ -67,6 +67,37 @@ public class OptionTypes {
         }
     };
 
+    public static final IOptionType<Integer> POSITIVE_INTEGER_BYTE_UNIT = new IOptionType<Integer>() {
+        @Override
+        public Integer parse(String s) {
+            final Integer value = INTEGER_BYTE_UNIT.parse(s);
+            if (value != null && value <= 0) {
+                throw new IllegalArgumentException("Value must be greater than zero");
+            }
+            return value;
+        }
+
+        @Override
+        public Integer parse(JsonNode node) {
+            return node.isNull() ? null : parse(node.asText());
+        }
+
+        @Override
+        public Class<Integer> targetType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String serializeToHumanReadable(Object value) {
+            return INTEGER_BYTE_UNIT.serializeToHumanReadable(value);
+        }
+
+        @Override
+        public void serializeJSONField(String fieldName, Object value, ObjectNode node) {
+            node.put(fieldName, (int) value);
+        }
+    };
+
     public static final IOptionType<Long> LONG_BYTE_UNIT = new IOptionType<Long>() {
         @Override
         public Long parse(String s) {
@@ -49,7 +49,12 @@ public class ControllerConfig implements Serializable {
                 (Function<IApplicationConfig, String>) appConfig -> FileUtil
                         .joinPath(appConfig.getString(ControllerConfig.Option.DEFAULT_DIR), "logs"),
                 "The directory where logs for this node are written"),
-        SSL_ENABLED(BOOLEAN, false, "A flag indicating if cluster communications should use secured connections");
+        SSL_ENABLED(BOOLEAN, false, "A flag indicating if cluster communications should use secured connections"),
+        NET_COMPRESSION(
+                OptionTypes.STRING,
+                "none",
+                "The compression scheme (none or snappy) for the frames that are exchanged between the nodes and "
+                        + "delivered as results. Frames are only compressed if both sides of a connection enable it");
 
         private final IOptionType type;
         private final String description;
@@ -129,4 +134,8 @@ public class ControllerConfig implements Serializable {
     public boolean isSslEnabled() {
         return getAppConfig().getBoolean(Option.SSL_ENABLED);
     }
+
+    public String getNetCompression() {
+        return getAppConfig().getString(Option.NET_COMPRESSION);
+    }
 }
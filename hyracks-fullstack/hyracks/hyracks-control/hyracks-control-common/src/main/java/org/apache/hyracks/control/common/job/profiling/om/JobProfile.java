@@ -24,8 +24,11 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
+import org.apache.hyracks.api.dataflow.ConnectorDescriptorId;
 import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.partitions.PartitionId;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -73,10 +76,48 @@ public class JobProfile extends AbstractProfile {
             jobletsArray.add(p.toJSON());
         }
         json.set("joblets", jobletsArray);
+        json.set("connectors", connectorsToJSON(om));
 
         return json;
     }
 
+    /**
+     * Sums the tuples sent to every receiver of a connector over all senders, so that a skewed partitioning shows as
+     * an imbalance (the largest receiver over the mean receiver) well above 1.
+     */
+    private ArrayNode connectorsToJSON(ObjectMapper om) {
+        Map<ConnectorDescriptorId, Map<Integer, Long>> receiverTuples = new HashMap<>();
+        for (JobletProfile jp : jobletProfiles.values()) {
+            for (TaskProfile tp : jp.getTaskProfiles().values()) {
+                if (tp.getPartitionSendProfile() == null) {
+                    continue;
+                }
+                for (PartitionProfile pp : tp.getPartitionSendProfile().values()) {
+                    PartitionId pid = pp.getPartitionId();
+                    receiverTuples.computeIfAbsent(pid.getConnectorDescriptorId(), k -> new TreeMap<>())
+                            .merge(pid.getReceiverIndex(), pp.getTupleCount(), Long::sum);
+                }
+            }
+        }
+        ArrayNode connectorsArray = om.createArrayNode();
+        for (Entry<ConnectorDescriptorId, Map<Integer, Long>> entry : receiverTuples.entrySet()) {
+            ObjectNode connector = om.createObjectNode();
+            connector.put("connector-id", entry.getKey().toString());
+            ArrayNode tuplesArray = om.createArrayNode();
+            long total = 0;
+            long max = 0;
+            for (long tuples : entry.getValue().values()) {
+                tuplesArray.add(tuples);
+                total += tuples;
+                max = Math.max(max, tuples);
+            }
+            connector.set("receiver-tuples", tuplesArray);
+            connector.put("imbalance", total == 0 ? 1.0 : (double) max * entry.getValue().size() / total);
+            connectorsArray.add(connector);
+        }
+        return connectorsArray;
+    }
+
     public void merge(JobProfile other) {
         super.merge(this);
         for (JobletProfile jp : other.jobletProfiles.values()) {
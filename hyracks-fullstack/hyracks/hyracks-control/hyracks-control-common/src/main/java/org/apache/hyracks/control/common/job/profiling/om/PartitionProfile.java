@@ -38,6 +38,8 @@ public class PartitionProfile implements IWritable, Serializable {
 
     private MultiResolutionEventProfiler mrep;
 
+    private long tupleCount;
+
     public static PartitionProfile create(DataInput dis) throws IOException {
         PartitionProfile partitionProfile = new PartitionProfile();
         partitionProfile.readFields(dis);
@@ -48,11 +50,13 @@ public class PartitionProfile implements IWritable, Serializable {
 
     }
 
-    public PartitionProfile(PartitionId pid, long openTime, long closeTime, MultiResolutionEventProfiler mrep) {
+    public PartitionProfile(PartitionId pid, long openTime, long closeTime, MultiResolutionEventProfiler mrep,
+            long tupleCount) {
         this.pid = pid;
         this.openTime = openTime;
         this.closeTime = closeTime;
         this.mrep = mrep;
+        this.tupleCount = tupleCount;
     }
 
     public PartitionId getPartitionId() {
@@ -71,12 +75,17 @@ public class PartitionProfile implements IWritable, Serializable {
         return mrep;
     }
 
+    public long getTupleCount() {
+        return tupleCount;
+    }
+
     @Override
     public void writeFields(DataOutput output) throws IOException {
         output.writeLong(closeTime);
         output.writeLong(openTime);
         mrep.writeFields(output);
         pid.writeFields(output);
+        output.writeLong(tupleCount);
     }
 
     @Override
@@ -85,5 +94,6 @@ public class PartitionProfile implements IWritable, Serializable {
         openTime = input.readLong();
         mrep = MultiResolutionEventProfiler.create(input);
         pid = PartitionId.create(input);
+        tupleCount = input.readLong();
     }
 }
@@ -91,6 +91,7 @@ public class TaskProfile extends AbstractProfile {
                 ppObj.set("partition-id", pidObj);
                 ppObj.put("open-time", pp.getOpenTime());
                 ppObj.put("close-time", pp.getCloseTime());
+                ppObj.put("tuples", pp.getTupleCount());
                 MultiResolutionEventProfiler samples = pp.getSamples();
                 ppObj.put("offset", samples.getOffset());
                 int resolution = samples.getResolution();
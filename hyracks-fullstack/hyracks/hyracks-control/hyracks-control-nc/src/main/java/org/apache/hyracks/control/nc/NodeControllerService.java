@@ -93,6 +93,7 @@ import org.apache.hyracks.ipc.impl.IPCSystem;
 import org.apache.hyracks.ipc.security.NetworkSecurityConfig;
 import org.apache.hyracks.ipc.security.NetworkSecurityManager;
 import org.apache.hyracks.net.protocols.muxdemux.FullFrameChannelInterfaceFactory;
+import org.apache.hyracks.net.protocols.muxdemux.NetworkCompression;
 import org.apache.hyracks.util.ExitUtil;
 import org.apache.hyracks.util.MaintainedThreadNameExecutorService;
 import org.apache.hyracks.util.trace.ITracer;
@@ -273,7 +274,8 @@ public class NodeControllerService implements IControllerService {
         resultNetworkManager = new ResultNetworkManager(ncConfig.getResultListenAddress(),
                 ncConfig.getResultListenPort(), resultPartitionManager, ncConfig.getNetThreadCount(),
                 ncConfig.getNetBufferCount(), ncConfig.getResultPublicAddress(), ncConfig.getResultPublicPort(),
-                FullFrameChannelInterfaceFactory.INSTANCE, networkSecurityManager.getSocketChannelFactory());
+                FullFrameChannelInterfaceFactory.INSTANCE, networkSecurityManager.getSocketChannelFactory(),
+                NetworkCompression.getCompressorDecompressor(ncConfig.getNetCompression()));
         if (ncConfig.getMessagingListenAddress() != null && serviceCtx.getMessagingChannelInterfaceFactory() != null) {
             messagingNetManager = new MessagingNetworkManager(this, ncConfig.getMessagingListenAddress(),
                     ncConfig.getMessagingListenPort(), ncConfig.getNetThreadCount(),
@@ -293,7 +295,8 @@ public class NodeControllerService implements IControllerService {
         netManager = new NetworkManager(ncConfig.getDataListenAddress(), ncConfig.getDataListenPort(), partitionManager,
                 ncConfig.getNetThreadCount(), ncConfig.getNetBufferCount(), ncConfig.getDataPublicAddress(),
                 ncConfig.getDataPublicPort(), FullFrameChannelInterfaceFactory.INSTANCE,
-                networkSecurityManager.getSocketChannelFactory());
+                networkSecurityManager.getSocketChannelFactory(),
+                NetworkCompression.getCompressorDecompressor(ncConfig.getNetCompression()));
         netManager.start();
         startApplication();
         init();
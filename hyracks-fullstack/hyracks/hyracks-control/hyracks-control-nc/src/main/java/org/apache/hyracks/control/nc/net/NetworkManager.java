@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import org.apache.hyracks.api.comm.IChannelInterfaceFactory;
 import org.apache.hyracks.api.comm.ICloseableBufferAcceptor;
 import org.apache.hyracks.api.comm.NetworkAddress;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.dataflow.ConnectorDescriptorId;
 import org.apache.hyracks.api.exceptions.NetException;
 import org.apache.hyracks.api.job.JobId;
@@ -47,12 +48,19 @@ public class NetworkManager implements IChannelConnectionFactory {
 
     private static final int MAX_CONNECTION_ATTEMPTS = 5;
 
-    static final int INITIAL_MESSAGE_SIZE = 20;
+    /**
+     * The size of the partition request. The last int is the frame size of a receiver that can decompress frames. It
+     * was added without a version check, so nodes that send or expect the older 20 byte request cannot exchange
+     * partitions with this one and all the nodes of a cluster must run the same version.
+     */
+    static final int INITIAL_MESSAGE_SIZE = 24;
 
     private final PartitionManager partitionManager;
 
     private final int nBuffers;
 
+    private final ICompressorDecompressor compressorDecompressor;
+
     private final MuxDemux md;
 
     private NetworkAddress localNetworkAddress;
@@ -61,9 +69,11 @@ public class NetworkManager implements IChannelConnectionFactory {
 
     public NetworkManager(String inetAddress, int inetPort, PartitionManager partitionManager, int nThreads,
             int nBuffers, String publicInetAddress, int publicInetPort,
-            IChannelInterfaceFactory channelInterfaceFactory, ISocketChannelFactory socketChannelFactory) {
+            IChannelInterfaceFactory channelInterfaceFactory, ISocketChannelFactory socketChannelFactory,
+            ICompressorDecompressor compressorDecompressor) {
         this.partitionManager = partitionManager;
         this.nBuffers = nBuffers;
+        this.compressorDecompressor = compressorDecompressor;
         md = new MuxDemux(new InetSocketAddress(inetAddress, inetPort), new ChannelOpenListener(), nThreads,
                 MAX_CONNECTION_ATTEMPTS, channelInterfaceFactory, socketChannelFactory);
         // Just save these values for the moment; may be reset in start()
@@ -105,6 +115,11 @@ public class NetworkManager implements IChannelConnectionFactory {
         return mConn.openChannel();
     }
 
+    @Override
+    public ICompressorDecompressor getCompressorDecompressor() {
+        return compressorDecompressor;
+    }
+
     public MuxDemux getMuxDemux() {
         return md;
     }
@@ -129,10 +144,15 @@ public class NetworkManager implements IChannelConnectionFactory {
         @Override
         public void accept(ByteBuffer buffer) {
             PartitionId pid = readInitialMessage(buffer);
+            // a receiver that can decompress frames asks for blocks of frames of its frame size
+            int receiverFrameSize = buffer.getInt();
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Received initial partition request: " + pid + " on channel: " + ccb);
             }
             noc = new NetworkOutputChannel(ccb, nBuffers);
+            if (receiverFrameSize > 0) {
+                noc.setBlockMode(receiverFrameSize, compressorDecompressor, md.getPerformanceCounters());
+            }
             partitionManager.registerPartitionRequest(pid, noc);
         }
 
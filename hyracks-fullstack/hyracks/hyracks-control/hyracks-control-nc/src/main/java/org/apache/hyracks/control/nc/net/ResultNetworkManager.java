@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import org.apache.hyracks.api.comm.IChannelInterfaceFactory;
 import org.apache.hyracks.api.comm.ICloseableBufferAcceptor;
 import org.apache.hyracks.api.comm.NetworkAddress;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.HyracksException;
 import org.apache.hyracks.api.exceptions.NetException;
 import org.apache.hyracks.api.job.JobId;
@@ -48,7 +49,12 @@ public class ResultNetworkManager implements IChannelConnectionFactory {
 
     private static final int MAX_CONNECTION_ATTEMPTS = 5;
 
-    static final int INITIAL_MESSAGE_SIZE = 20;
+    /**
+     * The size of the partition request. The last int is the frame size of a receiver that can decompress frames. It
+     * was added without a version check, so nodes that send or expect the older 20 byte request cannot exchange
+     * results with this one and all the nodes of a cluster must run the same version.
+     */
+    static final int INITIAL_MESSAGE_SIZE = 24;
 
     private final IResultPartitionManager partitionManager;
 
@@ -56,6 +62,8 @@ public class ResultNetworkManager implements IChannelConnectionFactory {
 
     private final int nBuffers;
 
+    private final ICompressorDecompressor compressorDecompressor;
+
     private NetworkAddress localNetworkAddress;
 
     private NetworkAddress publicNetworkAddress;
@@ -71,12 +79,17 @@ public class ResultNetworkManager implements IChannelConnectionFactory {
      * @param publicInetPort
      *            - Port to report to consumers; useful when
      *            behind NAT. Ignored if publicInetAddress is null. 0 = same as inetPort
+     * @param compressorDecompressor
+     *            - Compressor for the result frames sent to consumers that can decompress them;
+     *            null = send uncompressed frames
      */
     public ResultNetworkManager(String inetAddress, int inetPort, IResultPartitionManager partitionManager,
             int nThreads, int nBuffers, String publicInetAddress, int publicInetPort,
-            IChannelInterfaceFactory channelInterfaceFactory, ISocketChannelFactory socketChannelFactory) {
+            IChannelInterfaceFactory channelInterfaceFactory, ISocketChannelFactory socketChannelFactory,
+            ICompressorDecompressor compressorDecompressor) {
         this.partitionManager = partitionManager;
         this.nBuffers = nBuffers;
+        this.compressorDecompressor = compressorDecompressor;
         md = new MuxDemux(new InetSocketAddress(inetAddress, inetPort), new ChannelOpenListener(), nThreads,
                 MAX_CONNECTION_ATTEMPTS, channelInterfaceFactory, socketChannelFactory);
         // Just save these values for the moment; may be reset in start()
@@ -117,6 +130,11 @@ public class ResultNetworkManager implements IChannelConnectionFactory {
         return mConn.openChannel();
     }
 
+    @Override
+    public ICompressorDecompressor getCompressorDecompressor() {
+        return compressorDecompressor;
+    }
+
     private class ChannelOpenListener implements IChannelOpenListener {
         @Override
         public void channelOpened(ChannelControlBlock channel) {
@@ -139,11 +157,15 @@ public class ResultNetworkManager implements IChannelConnectionFactory {
             JobId jobId = new JobId(buffer.getLong());
             ResultSetId rsId = new ResultSetId(buffer.getLong());
             int partition = buffer.getInt();
+            int receiverFrameSize = buffer.getInt();
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Received initial result partition read request for JobId: " + jobId + " partition: "
                         + partition + " on channel: " + ccb);
             }
             noc = new NetworkOutputChannel(ccb, nBuffers);
+            if (receiverFrameSize > 0) {
+                noc.setBlockMode(receiverFrameSize, compressorDecompressor, md.getPerformanceCounters());
+            }
             try {
                 partitionManager.initializeResultPartitionReader(jobId, rsId, partition, noc);
             } catch (HyracksException e) {
@@ -20,6 +20,7 @@ package org.apache.hyracks.control.nc.profiling;
 
 import java.nio.ByteBuffer;
 
+import org.apache.hyracks.api.comm.FrameHelper;
 import org.apache.hyracks.api.comm.IFrameWriter;
 import org.apache.hyracks.api.comm.IPartitionWriterFactory;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
@@ -29,6 +30,7 @@ import org.apache.hyracks.api.partitions.PartitionId;
 import org.apache.hyracks.control.common.job.profiling.counters.MultiResolutionEventProfiler;
 import org.apache.hyracks.control.common.job.profiling.om.PartitionProfile;
 import org.apache.hyracks.control.nc.Task;
+import org.apache.hyracks.util.IntSerDeUtils;
 
 public class ProfilingPartitionWriterFactory implements IPartitionWriterFactory {
     private static final int N_SAMPLES = 64;
@@ -58,6 +60,8 @@ public class ProfilingPartitionWriterFactory implements IPartitionWriterFactory
 
             private long closeTime;
 
+            private long tupleCount;
+
             MultiResolutionEventProfiler mrep = new MultiResolutionEventProfiler(N_SAMPLES);
 
             @Override
@@ -69,6 +73,7 @@ public class ProfilingPartitionWriterFactory implements IPartitionWriterFactory
             @Override
             public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
                 mrep.reportEvent();
+                tupleCount += IntSerDeUtils.getInt(buffer.array(), FrameHelper.getTupleCountOffset(buffer.capacity()));
                 writer.nextFrame(buffer);
             }
 
@@ -83,7 +88,7 @@ public class ProfilingPartitionWriterFactory implements IPartitionWriterFactory
                 try {
                     ((Task) ctx).setPartitionSendProfile(
                             new PartitionProfile(new PartitionId(ctx.getJobletContext().getJobId(), cd.getConnectorId(),
-                                    senderIndex, receiverIndex), openTime, closeTime, mrep));
+                                    senderIndex, receiverIndex), openTime, closeTime, mrep, tupleCount));
                 } finally {
                     writer.close();
                 }
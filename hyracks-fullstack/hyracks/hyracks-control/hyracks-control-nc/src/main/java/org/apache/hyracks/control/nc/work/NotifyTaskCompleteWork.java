@@ -18,6 +18,7 @@
  */
 package org.apache.hyracks.control.nc.work;
 
+import org.apache.hyracks.api.job.JobFlag;
 import org.apache.hyracks.control.common.job.profiling.om.TaskProfile;
 import org.apache.hyracks.control.common.work.AbstractWork;
 import org.apache.hyracks.control.nc.NodeControllerService;
@@ -40,6 +41,9 @@ public class NotifyTaskCompleteWork extends AbstractWork {
     public void run() {
         TaskProfile taskProfile =
                 new TaskProfile(task.getTaskAttemptId(), task.getPartitionSendProfile(), task.getStatsCollector());
+        if (task.getJobFlags().contains(JobFlag.PROFILE_RUNTIME)) {
+            task.dumpProfile(taskProfile);
+        }
         try {
             ncs.getClusterController(task.getJobletContext().getJobId().getCcId()).notifyTaskComplete(
                     task.getJobletContext().getJobId(), task.getTaskAttemptId(), ncs.getId(), taskProfile);
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.common.data.normalizers;
+
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyProperties;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
+
+/**
+ * Produces variable-length normalized keys out of a decisive fixed-length normalized key computer, by writing the
+ * normalized integers in big-endian order. The fixed-length computer is used as is for the integer keys.
+ */
+public class FixedLengthVarLenNormalizedKeyComputerFactory implements IVarLenNormalizedKeyComputerFactory {
+
+    private static final long serialVersionUID = 1L;
+    private final INormalizedKeyComputerFactory nkcf;
+
+    public FixedLengthVarLenNormalizedKeyComputerFactory(INormalizedKeyComputerFactory nkcf) {
+        if (!nkcf.getNormalizedKeyProperties().isDecisive()) {
+            throw new IllegalArgumentException("Normalized key computer " + nkcf + " is not decisive");
+        }
+        this.nkcf = nkcf;
+    }
+
+    @Override
+    public INormalizedKeyComputer createNormalizedKeyComputer() {
+        return nkcf.createNormalizedKeyComputer();
+    }
+
+    @Override
+    public INormalizedKeyProperties getNormalizedKeyProperties() {
+        return nkcf.getNormalizedKeyProperties();
+    }
+
+    @Override
+    public IVarLenNormalizedKeyComputer createVarLenNormalizedKeyComputer() {
+        final INormalizedKeyComputer nkc = nkcf.createNormalizedKeyComputer();
+        final int[] normalizedKeys = new int[nkcf.getNormalizedKeyProperties().getNormalizedKeyLength()];
+        return new IVarLenNormalizedKeyComputer() {
+
+            @Override
+            public int getMaxNormalizedKeyLength(int length) {
+                return normalizedKeys.length * Integer.BYTES;
+            }
+
+            @Override
+            public int normalize(byte[] bytes, int start, int length, byte[] target, int targetStart) {
+                nkc.normalize(bytes, start, length, normalizedKeys, 0);
+                int pos = targetStart;
+                for (int key : normalizedKeys) {
+                    target[pos++] = (byte) (key >>> 24);
+                    target[pos++] = (byte) (key >>> 16);
+                    target[pos++] = (byte) (key >>> 8);
+                    target[pos++] = (byte) key;
+                }
+                return pos - targetStart;
+            }
+        };
+    }
+}
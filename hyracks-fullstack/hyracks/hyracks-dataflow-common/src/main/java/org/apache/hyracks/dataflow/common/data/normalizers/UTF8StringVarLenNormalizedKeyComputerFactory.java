@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.common.data.normalizers;
+
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyProperties;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+
+/**
+ * Variable-length normalized keys for (modified) UTF-8 strings. The string bytes are copied as is, since their byte
+ * order already matches the char order, except for the zero char which is re-encoded as 0x00 0xFF. The key is
+ * terminated by 0x00 0x00 so that a string sorts before all strings it is a proper prefix of.
+ */
+public class UTF8StringVarLenNormalizedKeyComputerFactory implements IVarLenNormalizedKeyComputerFactory {
+
+    private static final long serialVersionUID = 1L;
+    private final UTF8StringNormalizedKeyComputerFactory nkcf = new UTF8StringNormalizedKeyComputerFactory();
+
+    @Override
+    public INormalizedKeyComputer createNormalizedKeyComputer() {
+        return nkcf.createNormalizedKeyComputer();
+    }
+
+    @Override
+    public INormalizedKeyProperties getNormalizedKeyProperties() {
+        return nkcf.getNormalizedKeyProperties();
+    }
+
+    @Override
+    public IVarLenNormalizedKeyComputer createVarLenNormalizedKeyComputer() {
+        return new IVarLenNormalizedKeyComputer() {
+
+            @Override
+            public int getMaxNormalizedKeyLength(int length) {
+                return 2 * length + 2;
+            }
+
+            @Override
+            public int normalize(byte[] bytes, int start, int length, byte[] target, int targetStart) {
+                int utfLength = UTF8StringUtil.getUTFLength(bytes, start);
+                int pos = start + UTF8StringUtil.getNumBytesToStoreLength(utfLength);
+                int end = pos + utfLength;
+                int targetPos = targetStart;
+                while (pos < end) {
+                    byte b = bytes[pos++];
+                    if (b == (byte) 0xC0 && pos < end && bytes[pos] == (byte) 0x80) {
+                        // the zero char in its modified UTF-8 form
+                        pos++;
+                        b = 0;
+                    }
+                    if (b == 0) {
+                        target[targetPos++] = 0;
+                        target[targetPos++] = (byte) 0xFF;
+                    } else {
+                        target[targetPos++] = b;
+                    }
+                }
+                target[targetPos++] = 0;
+                target[targetPos++] = 0;
+                return targetPos - targetStart;
+            }
+        };
+    }
+}
@@ -19,9 +19,18 @@
 package org.apache.hyracks.dataflow.common.data.parsers;
 
 import java.io.DataOutput;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
 public interface IValueParser {
     void parse(char[] buffer, int start, int length, DataOutput out) throws HyracksDataException;
+
+    /**
+     * Parses a value given as UTF-8 bytes. By default, the bytes are decoded and the value is parsed as characters.
+     */
+    default void parse(byte[] buffer, int start, int length, DataOutput out) throws HyracksDataException {
+        char[] chars = new String(buffer, start, length, StandardCharsets.UTF_8).toCharArray();
+        parse(chars, 0, chars.length, out);
+    }
 }
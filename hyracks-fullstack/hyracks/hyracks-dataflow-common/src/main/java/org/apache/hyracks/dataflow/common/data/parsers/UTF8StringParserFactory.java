@@ -22,6 +22,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.util.string.UTF8StringUtil;
 import org.apache.hyracks.util.string.UTF8StringWriter;
 
 public class UTF8StringParserFactory implements IValueParserFactory {
@@ -45,6 +46,15 @@ public class UTF8StringParserFactory implements IValueParserFactory {
                     throw HyracksDataException.create(e);
                 }
             }
+
+            @Override
+            public void parse(byte[] buffer, int start, int length, DataOutput out) throws HyracksDataException {
+                try {
+                    UTF8StringUtil.writeUTF8(buffer, start, length, out, writer);
+                } catch (IOException e) {
+                    throw HyracksDataException.create(e);
+                }
+            }
         };
     }
 }
@@ -32,7 +32,12 @@ public class DynamicFieldRangePartitionComputerFactory extends FieldRangePartiti
 
     public DynamicFieldRangePartitionComputerFactory(int[] rangeFields, IBinaryComparatorFactory[] comparatorFactories,
             String rangeMapKeyInContext, SourceLocation sourceLocation) {
-        super(rangeFields, comparatorFactories);
+        this(rangeFields, comparatorFactories, rangeMapKeyInContext, sourceLocation, false);
+    }
+
+    public DynamicFieldRangePartitionComputerFactory(int[] rangeFields, IBinaryComparatorFactory[] comparatorFactories,
+            String rangeMapKeyInContext, SourceLocation sourceLocation, boolean splitEqualKeys) {
+        super(rangeFields, comparatorFactories, splitEqualKeys);
         this.rangeMapKeyInContext = rangeMapKeyInContext;
         this.sourceLocation = sourceLocation;
     }
@@ -30,10 +30,24 @@ public abstract class FieldRangePartitionComputerFactory implements ITuplePartit
     private static final long serialVersionUID = 1L;
     private final int[] rangeFields;
     private IBinaryComparatorFactory[] comparatorFactories;
+    private final boolean splitEqualKeys;
 
     protected FieldRangePartitionComputerFactory(int[] rangeFields, IBinaryComparatorFactory[] comparatorFactories) {
+        this(rangeFields, comparatorFactories, false);
+    }
+
+    /**
+     * @param splitEqualKeys
+     *            whether the tuples whose key is equal to split values may be spread over the ranges that the equal
+     *            split values bound. A key that has many samples is repeated in the range map, and its tuples would
+     *            otherwise all go to the range after its last split value. The ranges stay ordered, but tuples with
+     *            equal keys are no longer in the same range.
+     */
+    protected FieldRangePartitionComputerFactory(int[] rangeFields, IBinaryComparatorFactory[] comparatorFactories,
+            boolean splitEqualKeys) {
         this.rangeFields = rangeFields;
         this.comparatorFactories = comparatorFactories;
+        this.splitEqualKeys = splitEqualKeys;
     }
 
     protected abstract RangeMap getRangeMap(IHyracksTaskContext hyracksTaskContext) throws HyracksDataException;
@@ -47,6 +61,8 @@ public abstract class FieldRangePartitionComputerFactory implements ITuplePartit
 
         return new ITuplePartitionComputer() {
             private RangeMap rangeMap;
+            // the number of tuples with a key equal to split values, to spread them round-robin
+            private long equalKeyCount;
 
             @Override
             public void initialize() throws HyracksDataException {
@@ -69,13 +85,22 @@ public abstract class FieldRangePartitionComputerFactory implements ITuplePartit
 
             private int getRangePartition(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
                 int slotIndex = 0;
+                int firstEqualSlot = -1;
                 for (int slotNumber = 0; slotNumber < rangeMap.getSplitCount(); ++slotNumber) {
                     int c = compareSlotAndFields(accessor, tIndex, slotNumber);
                     if (c < 0) {
-                        return slotIndex;
+                        break;
+                    }
+                    if (c == 0 && firstEqualSlot < 0) {
+                        firstEqualSlot = slotNumber;
                     }
                     slotIndex++;
                 }
+                if (splitEqualKeys && firstEqualSlot >= 0) {
+                    // every range from the one ending at the first equal split value to the one starting at the last
+                    // equal split value can hold the key without breaking the order of the ranges
+                    return firstEqualSlot + (int) (equalKeyCount++ % (slotIndex - firstEqualSlot + 1));
+                }
                 return slotIndex;
             }
 
@@ -20,6 +20,8 @@ package org.apache.hyracks.dataflow.common.utils;
 
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputerFactory;
 
 public class NormalizedKeyUtils {
 
@@ -37,6 +39,54 @@ public class NormalizedKeyUtils {
         return 0;
     }
 
+    public static int compareVarLenNormalizedKeys(byte[] keys1, int start1, int length1, byte[] keys2, int start2,
+            int length2) {
+        int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            int key1 = keys1[start1 + i] & 0xff;
+            int key2 = keys2[start2 + i] & 0xff;
+            if (key1 != key2) {
+                return key1 < key2 ? -1 : 1;
+            }
+        }
+        return Integer.compare(length1, length2);
+    }
+
+    /**
+     * @return the first four bytes of a variable-length normalized key as an integer, padded with zeros, so that
+     *         comparing the prefixes as unsigned integers is consistent with comparing the whole keys
+     */
+    public static int getVarLenNormalizedKeyPrefix(byte[] key, int start, int length) {
+        int prefix = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            prefix <<= 8;
+            if (i < length) {
+                prefix |= key[start + i] & 0xff;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * @return the variable-length normalized key computers for all sort fields, or null if some of the sort fields
+     *         do not have a variable-length normalized key computer factory
+     */
+    public static IVarLenNormalizedKeyComputer[] createVarLenNormalizedKeyComputers(
+            INormalizedKeyComputerFactory[] keyNormalizerFactories, int numSortFields) {
+        if (keyNormalizerFactories == null || keyNormalizerFactories.length != numSortFields) {
+            return null; //NOSONAR
+        }
+        IVarLenNormalizedKeyComputer[] computers = new IVarLenNormalizedKeyComputer[numSortFields];
+        for (int i = 0; i < numSortFields; i++) {
+            if (!(keyNormalizerFactories[i] instanceof IVarLenNormalizedKeyComputerFactory)) {
+                return null; //NOSONAR
+            }
+            computers[i] = ((IVarLenNormalizedKeyComputerFactory) keyNormalizerFactories[i])
+                    .createVarLenNormalizedKeyComputer();
+        }
+        return computers;
+    }
+
     public static int getDecisivePrefixLength(INormalizedKeyComputerFactory[] keyNormalizerFactories) {
         if (keyNormalizerFactories == null) {
             return 0;
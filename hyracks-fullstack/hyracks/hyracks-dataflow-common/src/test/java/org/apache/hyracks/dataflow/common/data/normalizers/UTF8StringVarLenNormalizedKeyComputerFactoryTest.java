@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.common.data.normalizers;
+
+import java.util.Random;
+
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.dataflow.common.utils.NormalizedKeyUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UTF8StringVarLenNormalizedKeyComputerFactoryTest {
+
+    private static final char[] CHARS =
+            { '\0', '\u0001', 'a', 'b', '\u007f', '\u0080', '\u07ff', '\u0800', '\uffff', '\ud83d', '\ude00' };
+
+    private final Random random = new Random(0);
+    private final IVarLenNormalizedKeyComputer computer =
+            new UTF8StringVarLenNormalizedKeyComputerFactory().createVarLenNormalizedKeyComputer();
+
+    @Test
+    public void testCornerCases() {
+        assertNormalizeValue("", "");
+        assertNormalizeValue("", "\0");
+        assertNormalizeValue("a", "a\0");
+        assertNormalizeValue("a\0", "a\u0001");
+        assertNormalizeValue("a\0b", "a\0");
+        assertNormalizeValue("\u007f", "\u0080");
+        assertNormalizeValue("\ud83d\ude00", "\uffff");
+    }
+
+    @Test
+    public void testRandomNormalizedKey() {
+        for (int i = 0; i < 10000; ++i) {
+            assertNormalizeValue(randomString(), randomString());
+        }
+    }
+
+    private String randomString() {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            sb.append(CHARS[random.nextInt(CHARS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private void assertNormalizeValue(String s1, String s2) {
+        UTF8StringPointable p1 = UTF8StringPointable.generateUTF8Pointable(s1);
+        UTF8StringPointable p2 = UTF8StringPointable.generateUTF8Pointable(s2);
+        byte[] key1 = new byte[computer.getMaxNormalizedKeyLength(p1.getLength())];
+        byte[] key2 = new byte[computer.getMaxNormalizedKeyLength(p2.getLength())];
+        int l1 = computer.normalize(p1.getByteArray(), p1.getStartOffset(), p1.getLength(), key1, 0);
+        int l2 = computer.normalize(p2.getByteArray(), p2.getStartOffset(), p2.getLength(), key2, 0);
+        int expected = Integer.signum(p1.compareTo(p2));
+        Assert.assertEquals(s1 + " vs " + s2, expected,
+                Integer.signum(NormalizedKeyUtils.compareVarLenNormalizedKeys(key1, 0, l1, key2, 0, l2)));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.file;
+
+import java.io.IOException;
+
+/**
+ * The byte counterpart of {@link FieldCursorForDelimitedDataParser} for records that are given as UTF-8 bytes. The
+ * delimiter and the quote must be ASCII characters, which never occur inside the encoding of another character.
+ * Only whole records are supported, so the end of the record ends the last field.
+ */
+public class ByteFieldCursorForDelimitedDataParser {
+
+    private enum State {
+        IN_RECORD, //cursor is inside record
+        EOR, //cursor is at end of record
+    }
+
+    public byte[] buffer; //the current record
+    public int fStart; //start position for field
+    public int fEnd; //end position for field
+    public int recordCount; //count of records
+    public int fieldCount; //count of fields in current record
+    public int doubleQuoteCount; //count of double quotes
+    public boolean isDoubleQuoteIncludedInThisField; //does current field include double quotes
+
+    private int start; //start of the rest of the record
+    private int end; //end of the record
+    private State state; //state (see states above)
+
+    private int lastQuotePosition; //position of last quote
+    private int lastDoubleQuotePosition; //position of last double quote
+    private int lastDelimiterPosition; //position of last delimiter
+    private int quoteCount; //count of single quotes
+    private boolean startedQuote; //whether a quote has been started
+
+    private final byte quote; //the quote character
+    private final byte fieldDelimiter; //the delimiter
+
+    public ByteFieldCursorForDelimitedDataParser(char fieldDelimiter, char quote) {
+        if (fieldDelimiter > 0x7F || quote > 0x7F) {
+            throw new IllegalArgumentException("The delimiter and the quote must be ASCII characters");
+        }
+        this.fieldDelimiter = (byte) fieldDelimiter;
+        this.quote = (byte) quote;
+        state = State.EOR;
+        recordCount = 0;
+        fieldCount = 0;
+    }
+
+    public void nextRecord(byte[] buffer, int recordLength) {
+        recordCount++;
+        fieldCount = 0;
+        start = 0;
+        end = recordLength;
+        state = State.IN_RECORD;
+        lastDelimiterPosition = -99;
+        this.buffer = buffer;
+    }
+
+    public boolean nextField() throws IOException {
+        fieldCount++;
+        if (state != State.IN_RECORD) {
+            return false;
+        }
+        // reset quote related values
+        startedQuote = false;
+        isDoubleQuoteIncludedInThisField = false;
+        lastQuotePosition = -99;
+        lastDoubleQuotePosition = -99;
+        quoteCount = 0;
+        doubleQuoteCount = 0;
+
+        int p = start;
+        while (true) {
+            if (p >= end) {
+                state = State.EOR;
+                setField(p, startedQuote && isClosingQuote(p));
+                return true;
+            }
+            byte ch = buffer[p];
+            if (ch == quote) {
+                // If this is first quote in the field, then it needs to be placed in the beginning.
+                if (!startedQuote) {
+                    if (lastDelimiterPosition == p - 1 || lastDelimiterPosition == -99) {
+                        startedQuote = true;
+                    } else {
+                        throw new IOException("At record: " + recordCount + ", field#: " + fieldCount
+                                + " - a quote enclosing a field needs to be placed in the beginning of that field.");
+                    }
+                }
+                // Check double quotes - "", but not an empty quoted field (e.g. field1,"",field3)
+                if (lastQuotePosition == p - 1 && lastDelimiterPosition != p - 2 && lastDoubleQuotePosition != p - 1) {
+                    isDoubleQuoteIncludedInThisField = true;
+                    doubleQuoteCount++;
+                    lastDoubleQuotePosition = p;
+                }
+                lastQuotePosition = p;
+                quoteCount++;
+            } else if (ch == fieldDelimiter) {
+                if (!startedQuote) {
+                    setField(p, false);
+                    return true;
+                } else if (lastQuotePosition == p - 1 && lastDoubleQuotePosition != p - 1) {
+                    // There is a quote right before the delimiter (e.g. ",) and it is not two quotes
+                    setField(p, true);
+                    return true;
+                } else if (lastQuotePosition < p - 1 && lastQuotePosition != lastDoubleQuotePosition
+                        && quoteCount == doubleQuoteCount * 2 + 2) {
+                    throw new IOException("At record: " + recordCount + ", field#: " + fieldCount
+                            + " -  A quote enclosing a field needs to be followed by the delimiter.");
+                }
+                // the delimiter is inside a quoted field, just continue reading
+            } else if (ch == '\n' || ch == '\r') {
+                if (!startedQuote || isClosingQuote(p)) {
+                    state = State.EOR;
+                    setField(p, startedQuote);
+                    return true;
+                }
+            }
+            ++p;
+        }
+    }
+
+    private boolean isClosingQuote(int p) {
+        return lastQuotePosition == p - 1 && lastDoubleQuotePosition != p - 1
+                && quoteCount == doubleQuoteCount * 2 + 2;
+    }
+
+    private void setField(int p, boolean quoted) {
+        if (quoted) {
+            // remove the enclosing quotes
+            fStart = start + 1;
+            fEnd = p - 1;
+        } else {
+            fStart = start;
+            fEnd = p;
+        }
+        start = p + 1;
+        lastDelimiterPosition = p;
+        startedQuote = false;
+    }
+
+    // Eliminate escaped double quotes("") in a field
+    public void eliminateDoubleQuote(byte[] buffer, int start, int length) {
+        int lastDoubleQuotePosition = -99;
+        int writepos = start;
+        int readpos = start;
+        for (int i = 0; i < length; i++) {
+            if (buffer[readpos] == quote && lastDoubleQuotePosition != readpos - 1) {
+                lastDoubleQuotePosition = readpos;
+                readpos++;
+            } else {
+                if (writepos != readpos) {
+                    buffer[writepos] = buffer[readpos];
+                }
+                writepos++;
+                readpos++;
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.hyracks.api.dataflow.value.ITuplePartitionComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
 import org.apache.hyracks.dataflow.std.buffermanager.DeallocatableFramePool;
@@ -143,6 +144,14 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
 
             private final FrameTupleAppender outputAppender = new FrameTupleAppender(new VSizeFrame(ctx));
 
+            // pass-through tuples are aggregated alone in a frame of their own, outside of the frame pool
+            private VSizeFrame passThroughStateFrame;
+            private FrameTupleAppender passThroughStateAppender;
+            private FrameTupleAccessor passThroughStateAccessor;
+            private FrameTupleAppender passThroughAppender;
+
+            private long numGroups;
+
             @Override
             public void close() throws HyracksDataException {
                 hashTableForTuplePointer.close();
@@ -220,6 +229,7 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
                     return false;
                 }
 
+                numGroups++;
                 return true;
             }
 
@@ -264,13 +274,8 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
                                 break;
                         }
 
-                        if (hasOutput && !outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
-                                outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
-                            outputAppender.write(writer, true);
-                            if (!outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
-                                    outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
-                                throw new HyracksDataException("The output item is too large to be fit into a frame.");
-                            }
+                        if (hasOutput) {
+                            appendOutput(outputAppender, writer);
                         }
                     }
                 }
@@ -279,6 +284,66 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
                 return count;
             }
 
+            private void appendOutput(FrameTupleAppender appender, IFrameWriter writer) throws HyracksDataException {
+                if (!appender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
+                        outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
+                    appender.write(writer, true);
+                    if (!appender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
+                            outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
+                        throw new HyracksDataException("The output item is too large to be fit into a frame.");
+                    }
+                }
+            }
+
+            @Override
+            public void passThrough(IFrameTupleAccessor accessor, int tIndex, IFrameWriter writer, AggregateType type)
+                    throws HyracksDataException {
+                if (passThroughAppender == null) {
+                    passThroughStateFrame = new VSizeFrame(ctx);
+                    passThroughStateAppender = new FrameTupleAppender();
+                    passThroughStateAccessor = new FrameTupleAccessor(outRecordDescriptor);
+                    passThroughAppender = new FrameTupleAppender(new VSizeFrame(ctx));
+                }
+                initStateTupleBuilder(accessor, tIndex);
+                passThroughStateAppender.reset(passThroughStateFrame, true);
+                if (!passThroughStateAppender.append(stateTupleBuilder.getFieldEndOffsets(),
+                        stateTupleBuilder.getByteArray(), 0, stateTupleBuilder.getSize())) {
+                    throw new HyracksDataException("The aggregate state is too large to be fit into a frame.");
+                }
+                passThroughStateAccessor.reset(passThroughStateFrame.getBuffer());
+
+                outputTupleBuilder.reset();
+                for (int k = 0; k < keyFields.length; k++) {
+                    outputTupleBuilder.addField(accessor, tIndex, keyFields[k]);
+                }
+                boolean hasOutput = false;
+                switch (type) {
+                    case PARTIAL:
+                        hasOutput = aggregator.outputPartialResult(outputTupleBuilder, passThroughStateAccessor, 0,
+                                aggregateState);
+                        break;
+                    case FINAL:
+                        hasOutput = aggregator.outputFinalResult(outputTupleBuilder, passThroughStateAccessor, 0,
+                                aggregateState);
+                        break;
+                }
+                if (hasOutput) {
+                    appendOutput(passThroughAppender, writer);
+                }
+            }
+
+            @Override
+            public void flushPassThrough(IFrameWriter writer) throws HyracksDataException {
+                if (passThroughAppender != null) {
+                    passThroughAppender.write(writer, true);
+                }
+            }
+
+            @Override
+            public long getNumGroups() {
+                return numGroups;
+            }
+
             @Override
             public int getNumPartitions() {
                 return bufferManager.getNumPartitions();
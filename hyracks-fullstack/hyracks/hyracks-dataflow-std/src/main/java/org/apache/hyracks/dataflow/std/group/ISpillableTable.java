@@ -56,6 +56,32 @@ public interface ISpillableTable {
      */
     int flushFrames(int partition, IFrameWriter writer, AggregateType type) throws HyracksDataException;
 
+    /**
+     * Output the aggregate result of the specific tuple as a group of its own, without inserting it into the table.
+     * The results are buffered and written to the writer when the buffer is full or
+     * {@link #flushPassThrough(IFrameWriter)} is called.
+     * @param accessor
+     * @param tIndex
+     * @param writer
+     * @param type
+     * @throws HyracksDataException
+     */
+    void passThrough(IFrameTupleAccessor accessor, int tIndex, IFrameWriter writer, AggregateType type)
+            throws HyracksDataException;
+
+    /**
+     * Write the buffered pass-through results to the writer.
+     * @param writer
+     * @throws HyracksDataException
+     */
+    void flushPassThrough(IFrameWriter writer) throws HyracksDataException;
+
+    /**
+     * Get the number of groups that have been created in the table. A group that is flushed and created again is
+     * counted again.
+     */
+    long getNumGroups();
+
     /**
      * Get number of partitions
      */
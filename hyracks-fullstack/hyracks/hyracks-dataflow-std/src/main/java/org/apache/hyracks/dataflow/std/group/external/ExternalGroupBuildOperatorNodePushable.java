@@ -21,6 +21,8 @@ package org.apache.hyracks.dataflow.std.group.external;
 import java.nio.ByteBuffer;
 
 import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.OperatorDescriptorId;
+import org.apache.hyracks.api.dataflow.TaskId;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
@@ -52,6 +54,7 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
     private final RecordDescriptor outRecordDescriptor;
     private final int tableSize;
     private final long fileSize;
+    private final double minReductionRatio;
 
     private ExternalHashGroupBy externalGroupBy;
     private ExternalGroupState state;
@@ -62,6 +65,15 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
             INormalizedKeyComputerFactory firstNormalizerFactory, IAggregatorDescriptorFactory aggregatorFactory,
             RecordDescriptor inRecordDescriptor, RecordDescriptor outRecordDescriptor,
             ISpillableTableFactory spillableTableFactory) {
+        this(ctx, stateId, tableSize, fileSize, keyFields, framesLimit, comparatorFactories, firstNormalizerFactory,
+                aggregatorFactory, inRecordDescriptor, outRecordDescriptor, spillableTableFactory, 0);
+    }
+
+    public ExternalGroupBuildOperatorNodePushable(IHyracksTaskContext ctx, Object stateId, int tableSize, long fileSize,
+            int[] keyFields, int framesLimit, IBinaryComparatorFactory[] comparatorFactories,
+            INormalizedKeyComputerFactory firstNormalizerFactory, IAggregatorDescriptorFactory aggregatorFactory,
+            RecordDescriptor inRecordDescriptor, RecordDescriptor outRecordDescriptor,
+            ISpillableTableFactory spillableTableFactory, double minReductionRatio) {
         this.ctx = ctx;
         this.stateId = stateId;
         this.framesLimit = framesLimit;
@@ -78,6 +90,7 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
         this.outRecordDescriptor = outRecordDescriptor;
         this.tableSize = tableSize;
         this.fileSize = fileSize;
+        this.minReductionRatio = minReductionRatio;
     }
 
     @Override
@@ -87,7 +100,8 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
                 comparators, firstNormalizerComputer, aggregatorFactory, inRecordDescriptor, outRecordDescriptor,
                 framesLimit, 0);
         RunFileWriter[] runFileWriters = new RunFileWriter[table.getNumPartitions()];
-        this.externalGroupBy = new ExternalHashGroupBy(this, table, runFileWriters, inRecordDescriptor);
+        this.externalGroupBy =
+                new ExternalHashGroupBy(this, table, runFileWriters, inRecordDescriptor, minReductionRatio);
 
         state.setSpillableTable(table);
         state.setRuns(runFileWriters);
@@ -112,9 +126,14 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
                     run.erase();
                 }
             }
+            if (externalGroupBy.getPassThroughRun() != null) {
+                externalGroupBy.getPassThroughRun().erase();
+            }
         } else {
             externalGroupBy.flushSpilledPartitions();
+            state.setPassThroughRun(externalGroupBy.getPassThroughRun());
             ctx.setStateObject(state);
+            reportTupleCounts();
             if (LOGGER.isDebugEnabled()) {
                 int numOfPartition = state.getSpillableTable().getNumPartitions();
                 int numOfSpilledPart = 0;
@@ -124,13 +143,27 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
                     }
                 }
                 LOGGER.debug("level 0:" + "build with " + numOfPartition + " partitions" + ", spilled "
-                        + numOfSpilledPart + " partitions");
+                        + numOfSpilledPart + " partitions" + ", tuples " + externalGroupBy);
             }
         }
         state = null;
         externalGroupBy = null;
     }
 
+    /**
+     * Reports the aggregated and passed through tuples as task counters, which end up in the job profile.
+     */
+    private void reportTupleCounts() {
+        if (!(stateId instanceof TaskId)) {
+            return;
+        }
+        OperatorDescriptorId odId = ((TaskId) stateId).getActivityId().getOperatorDescriptorId();
+        ctx.getCounterContext().getCounter(ExternalGroupOperatorDescriptor.getAggregatedTupleCounterName(odId), true)
+                .update(externalGroupBy.getNumInsertedTuples());
+        ctx.getCounterContext().getCounter(ExternalGroupOperatorDescriptor.getPassThroughTupleCounterName(odId), true)
+                .update(externalGroupBy.getNumPassThroughTuples());
+    }
+
     @Override
     public RunFileWriter getRunFileWriter() throws HyracksDataException {
         FileReference file = ctx.getJobletContext()
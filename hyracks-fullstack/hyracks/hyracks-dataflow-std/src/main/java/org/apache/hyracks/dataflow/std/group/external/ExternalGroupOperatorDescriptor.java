@@ -22,6 +22,7 @@ import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.ActivityId;
 import org.apache.hyracks.api.dataflow.IActivityGraphBuilder;
 import org.apache.hyracks.api.dataflow.IOperatorNodePushable;
+import org.apache.hyracks.api.dataflow.OperatorDescriptorId;
 import org.apache.hyracks.api.dataflow.TaskId;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
@@ -44,6 +45,10 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
 
     private static final int MERGE_ACTIVITY_ID = 1;
 
+    private static final String AGGREGATED_TUPLES = ".aggregated-tuples";
+
+    private static final String PASS_THROUGH_TUPLES = ".pass-through-tuples";
+
     private static final long serialVersionUID = 1L;
     private final int[] keyFields;
     private final IBinaryComparatorFactory[] comparatorFactories;
@@ -58,6 +63,7 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
     private final RecordDescriptor outRecDesc;
     private final int tableSize;
     private final long fileSize;
+    private double minReductionRatio;
 
     public ExternalGroupOperatorDescriptor(IOperatorDescriptorRegistry spec, int inputSizeInTuple, long inputFileSize,
             int[] keyFields, int framesLimit, IBinaryComparatorFactory[] comparatorFactories,
@@ -93,6 +99,35 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
         this.fileSize = inputFileSize;
     }
 
+    /**
+     * Lets the operator give up aggregating when it turns out to reduce its input too little. Once the table fills
+     * up and less than {@code minReductionRatio} of the tuples consumed so far were folded into existing groups, the
+     * remaining tuples are no longer hashed or spilled but output as groups of their own. This is only correct for
+     * a local (pre-aggregating) operator whose output is aggregated again downstream.
+     *
+     * @param minReductionRatio
+     *            the minimum ratio in (0, 1] of input tuples that must be folded into existing groups, a
+     *            non-positive value (the default) always aggregates the whole input
+     */
+    public void setLocalPassThroughThreshold(double minReductionRatio) {
+        this.minReductionRatio = minReductionRatio;
+    }
+
+    /**
+     * @return the name of the task counter of the input tuples that were inserted into the hash table of the operator
+     */
+    public static String getAggregatedTupleCounterName(OperatorDescriptorId odId) {
+        return odId + AGGREGATED_TUPLES;
+    }
+
+    /**
+     * @return the name of the task counter of the input tuples that the operator passed through without aggregating
+     *         them, see {@link #setLocalPassThroughThreshold(double)}
+     */
+    public static String getPassThroughTupleCounterName(OperatorDescriptorId odId) {
+        return odId + PASS_THROUGH_TUPLES;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -128,7 +163,7 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
             return new ExternalGroupBuildOperatorNodePushable(ctx, new TaskId(getActivityId(), partition), tableSize,
                     fileSize, keyFields, framesLimit, comparatorFactories, firstNormalizerFactory,
                     partialAggregatorFactory, recordDescProvider.getInputRecordDescriptor(getActivityId(), 0),
-                    outRecDescs[0], spillableTableFactory);
+                    outRecDescs[0], spillableTableFactory, minReductionRatio);
         }
     }
 
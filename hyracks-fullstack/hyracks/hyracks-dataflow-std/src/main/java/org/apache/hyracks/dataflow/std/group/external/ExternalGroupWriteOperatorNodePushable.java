@@ -91,14 +91,21 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
         ISpillableTable table = aggState.getSpillableTable();
         RunFileWriter[] partitionRuns = aggState.getRuns();
         int[] numberOfTuples = aggState.getSpilledNumTuples();
+        RunFileWriter passThroughRun = aggState.getPassThroughRun();
         try {
             writer.open();
             doPass(table, partitionRuns, numberOfTuples, writer, 1); // level 0 use used at build stage.
+            if (passThroughRun != null) {
+                writePassThroughRun(passThroughRun.createDeleteOnCloseReader(), writer);
+            }
         } catch (Exception e) {
             try {
                 for (RunFileWriter run : generatedRuns) {
                     run.erase();
                 }
+                if (passThroughRun != null) {
+                    passThroughRun.erase();
+                }
             } finally {
                 writer.fail();
             }
@@ -153,6 +160,21 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
         }
     }
 
+    /**
+     * The pass-through run already holds aggregate results, which are left to the downstream aggregation.
+     */
+    private void writePassThroughRun(RunFileReader reader, IFrameWriter writer) throws HyracksDataException {
+        reader.open();
+        try {
+            VSizeFrame frame = new VSizeFrame(ctx);
+            while (reader.nextFrame(frame)) {
+                writer.nextFrame(frame.getBuffer());
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
     private int[] buildGroup(RunFileReader reader, ISpillableTable table, RunFileWriter[] runFileWriters)
             throws HyracksDataException {
         ExternalHashGroupBy groupBy = new ExternalHashGroupBy(this, table, runFileWriters, partialAggRecordDesc);
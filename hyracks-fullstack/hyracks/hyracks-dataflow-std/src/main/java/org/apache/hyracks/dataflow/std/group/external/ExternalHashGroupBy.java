@@ -31,26 +31,48 @@ import org.apache.hyracks.dataflow.std.group.ISpillableTable;
 public class ExternalHashGroupBy {
 
     private final IRunFileWriterGenerator runFileWriterGenerator;
+    // see ExternalGroupOperatorDescriptor#setLocalPassThroughThreshold, a non-positive value never passes through
+    private final double minReductionRatio;
 
     private FrameTupleAccessor accessor;
     private ISpillableTable table;
     private RunFileWriter[] runWriters;
     private int[] spilledNumTuples;
 
+    private RunFileWriter passThroughWriter;
+    private long numInsertedTuples;
+    private long numPassThroughTuples;
+
     public ExternalHashGroupBy(IRunFileWriterGenerator runFileWriterGenerator, ISpillableTable table,
             RunFileWriter[] runWriters, RecordDescriptor inRecordDescriptor) {
+        this(runFileWriterGenerator, table, runWriters, inRecordDescriptor, 0);
+    }
+
+    public ExternalHashGroupBy(IRunFileWriterGenerator runFileWriterGenerator, ISpillableTable table,
+            RunFileWriter[] runWriters, RecordDescriptor inRecordDescriptor, double minReductionRatio) {
         this.runFileWriterGenerator = runFileWriterGenerator;
         this.table = table;
         this.runWriters = runWriters;
         this.accessor = new FrameTupleAccessor(inRecordDescriptor);
         this.spilledNumTuples = new int[runWriters.length];
+        this.minReductionRatio = minReductionRatio;
     }
 
     public void insert(ByteBuffer buffer) throws HyracksDataException {
         accessor.reset(buffer);
         int tupleCount = accessor.getTupleCount();
         for (int i = 0; i < tupleCount; i++) {
+            if (passThroughWriter != null) {
+                passThrough(i);
+                continue;
+            }
             if (!table.insert(accessor, i)) {
+                if (isReductionTooLow()) {
+                    passThroughWriter = runFileWriterGenerator.getRunFileWriter();
+                    passThroughWriter.open();
+                    passThrough(i);
+                    continue;
+                }
                 do {
                     int partition = table.findVictimPartition(accessor, i);
                     if (partition < 0) {
@@ -60,9 +82,32 @@ public class ExternalHashGroupBy {
                     flushPartitionToRun(partition, writer);
                 } while (!table.insert(accessor, i));
             }
+            numInsertedTuples++;
         }
     }
 
+    /**
+     * Decides, whenever the table is full, whether it is worth to keep aggregating the input. The ratio of the
+     * consumed tuples that were folded into existing groups is the reduction that the table achieved so far.
+     */
+    private boolean isReductionTooLow() {
+        if (minReductionRatio <= 0 || numInsertedTuples == 0) {
+            return false;
+        }
+        double reductionRatio = 1 - (double) table.getNumGroups() / numInsertedTuples;
+        return reductionRatio < minReductionRatio;
+    }
+
+    private void passThrough(int tIndex) throws HyracksDataException {
+        try {
+            table.passThrough(accessor, tIndex, passThroughWriter, AggregateType.FINAL);
+        } catch (Exception ex) {
+            passThroughWriter.fail();
+            throw HyracksDataException.create(ex);
+        }
+        numPassThroughTuples++;
+    }
+
     private void flushPartitionToRun(int partition, RunFileWriter writer) throws HyracksDataException {
         try {
             spilledNumTuples[partition] += table.flushFrames(partition, writer, AggregateType.PARTIAL);
@@ -80,12 +125,18 @@ public class ExternalHashGroupBy {
                     flushPartitionToRun(i, runWriters[i]);
                 }
             }
+            if (passThroughWriter != null) {
+                table.flushPassThrough(passThroughWriter);
+            }
         } finally {
             for (int i = 0; i < runWriters.length; ++i) {
                 if (runWriters[i] != null) {
                     runWriters[i].close();
                 }
             }
+            if (passThroughWriter != null) {
+                passThroughWriter.close();
+            }
         }
     }
 
@@ -100,4 +151,26 @@ public class ExternalHashGroupBy {
     public int[] getSpilledNumTuples() {
         return spilledNumTuples;
     }
+
+    /**
+     * @return the run holding the aggregate results of the tuples that were passed through, or null if the input
+     *         was aggregated entirely
+     */
+    public RunFileWriter getPassThroughRun() {
+        return passThroughWriter;
+    }
+
+    public long getNumInsertedTuples() {
+        return numInsertedTuples;
+    }
+
+    public long getNumPassThroughTuples() {
+        return numPassThroughTuples;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"inserted\":" + numInsertedTuples + ",\"groups\":" + table.getNumGroups() + ",\"passThrough\":"
+                + numPassThroughTuples + "}";
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+
+/**
+ * Finds the join keys that make up a large share of the tuples of a partition (heavy hitters) with the Misra-Gries
+ * frequent items algorithm. Hashing a partition again does not split the tuples of one key, so the hybrid hash join
+ * takes the tuples of heavy hitters out of a skewed partition and joins them separately.
+ * Keys are copied from the tuples and compared field by field with the comparators of the join keys.
+ */
+public class JoinHeavyHitters {
+    private final IBinaryComparator[] comparators;
+    private final double minShare;
+    private final ArrayTupleBuilder[] candidates;
+    private final long[] counts;
+    private final List<ArrayTupleBuilder> heavyHitters = new ArrayList<>();
+    private long numCounted;
+
+    /**
+     * @param comparators
+     *            the comparators of the join keys
+     * @param numCounters
+     *            the number of keys that are counted at a time. Every key that has more than
+     *            1 / (numCounters + 1) of the counted tuples is still counted at the end.
+     * @param minShare
+     *            the share of the counted tuples a key needs to be a heavy hitter
+     */
+    public JoinHeavyHitters(IBinaryComparator[] comparators, int numCounters, double minShare) {
+        this.comparators = comparators;
+        this.minShare = minShare;
+        candidates = new ArrayTupleBuilder[numCounters];
+        for (int i = 0; i < numCounters; i++) {
+            candidates[i] = new ArrayTupleBuilder(comparators.length);
+        }
+        counts = new long[numCounters];
+    }
+
+    public void count(IFrameTupleAccessor accessor, int tIndex, int[] keys) throws HyracksDataException {
+        numCounted++;
+        int free = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (matches(accessor, tIndex, keys, candidates[i])) {
+                counts[i]++;
+                return;
+            }
+        }
+        if (free >= 0) {
+            candidates[free].reset();
+            for (int key : keys) {
+                candidates[free].addField(accessor, tIndex, key);
+            }
+            counts[free] = 1;
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i]--;
+        }
+    }
+
+    /**
+     * Adds the counted keys that have at least the minimum share of the tuples counted since the last call to the
+     * heavy hitters and resets the counters. The count of a key never exceeds its number of tuples, so a key is
+     * never taken for a heavy hitter by mistake.
+     */
+    public void collect() throws HyracksDataException {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && counts[i] >= minShare * numCounted) {
+                ArrayTupleBuilder heavyHitter = new ArrayTupleBuilder(comparators.length);
+                int[] fieldEnds = candidates[i].getFieldEndOffsets();
+                for (int f = 0; f < comparators.length; f++) {
+                    int start = f == 0 ? 0 : fieldEnds[f - 1];
+                    heavyHitter.addField(candidates[i].getByteArray(), start, fieldEnds[f] - start);
+                }
+                heavyHitters.add(heavyHitter);
+            }
+            counts[i] = 0;
+        }
+        numCounted = 0;
+    }
+
+    public boolean isEmpty() {
+        return heavyHitters.isEmpty();
+    }
+
+    public int size() {
+        return heavyHitters.size();
+    }
+
+    public boolean isHeavyHitter(IFrameTupleAccessor accessor, int tIndex, int[] keys) throws HyracksDataException {
+        for (ArrayTupleBuilder heavyHitter : heavyHitters) {
+            if (matches(accessor, tIndex, keys, heavyHitter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(IFrameTupleAccessor accessor, int tIndex, int[] keys, ArrayTupleBuilder key)
+            throws HyracksDataException {
+        byte[] data = accessor.getBuffer().array();
+        int[] fieldEnds = key.getFieldEndOffsets();
+        for (int f = 0; f < keys.length; f++) {
+            int start = f == 0 ? 0 : fieldEnds[f - 1];
+            if (comparators[f].compare(data, accessor.getAbsoluteFieldStartOffset(tIndex, keys[f]),
+                    accessor.getFieldLength(tIndex, keys[f]), key.getByteArray(), start, fieldEnds[f] - start) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
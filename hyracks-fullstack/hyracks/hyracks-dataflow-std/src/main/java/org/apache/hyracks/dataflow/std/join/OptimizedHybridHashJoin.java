@@ -109,6 +109,9 @@ public class OptimizedHybridHashJoin {
                                                        // we mainly use it to match the corresponding function signature.
     private int[] probePSizeInTups;
 
+    // summarizes the keys of spilled build tuples to drop probe tuples of spilled partitions without a match
+    private RuntimeJoinFilter runtimeFilter;
+
     public OptimizedHybridHashJoin(IHyracksTaskContext ctx, int memSizeInFrames, int numOfPartitions,
             String probeRelName, String buildRelName, int[] probeKeys, int[] buildKeys, IBinaryComparator[] comparators,
             RecordDescriptor probeRd, RecordDescriptor buildRd, ITuplePartitionComputer probeHpc,
@@ -147,6 +150,18 @@ public class OptimizedHybridHashJoin {
         }
     }
 
+    /**
+     * Sets a filter that is fed with the keys of the spilled build tuples and applied to the probe tuples of spilled
+     * partitions. It must only be set for inner joins, since dropped probe tuples produce no output.
+     */
+    public void setRuntimeFilter(RuntimeJoinFilter runtimeFilter) {
+        this.runtimeFilter = runtimeFilter;
+    }
+
+    public RuntimeJoinFilter getRuntimeFilter() {
+        return runtimeFilter;
+    }
+
     public void initBuild() throws HyracksDataException {
         framePool = new DeallocatableFramePool(ctx, memSizeInFrames * ctx.getInitialFrameSize());
         bufferManagerForHashTable = new FramePoolBackedFrameBufferManager(framePool);
@@ -187,11 +202,40 @@ public class OptimizedHybridHashJoin {
 
     private void spillPartition(int pid) throws HyracksDataException {
         RunFileWriter writer = getSpillWriterOrCreateNewOneIfNotExist(pid, SIDE.BUILD);
-        bufferManager.flushPartition(pid, writer);
+        flushBuildPartition(pid, writer);
         bufferManager.clearPartition(pid);
         spilledStatus.set(pid);
     }
 
+    private void flushBuildPartition(int pid, RunFileWriter writer) throws HyracksDataException {
+        if (runtimeFilter == null) {
+            bufferManager.flushPartition(pid, writer);
+            return;
+        }
+        bufferManager.flushPartition(pid, new IFrameWriter() {
+            @Override
+            public void open() throws HyracksDataException {
+                writer.open();
+            }
+
+            @Override
+            public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+                runtimeFilter.insert(buffer);
+                writer.nextFrame(buffer);
+            }
+
+            @Override
+            public void fail() throws HyracksDataException {
+                writer.fail();
+            }
+
+            @Override
+            public void close() throws HyracksDataException {
+                writer.close();
+            }
+        });
+    }
+
     private void closeBuildPartition(int pid) throws HyracksDataException {
         if (buildRFWriters[pid] == null) {
             throw new HyracksDataException("Tried to close the non-existing file writer.");
@@ -234,6 +278,10 @@ public class OptimizedHybridHashJoin {
         createInMemoryJoiner(inMemTupCount);
 
         loadDataInMemJoin();
+
+        if (runtimeFilter != null && isBuildRelAllInMemory()) {
+            runtimeFilter = null;
+        }
     }
 
     /**
@@ -261,7 +309,12 @@ public class OptimizedHybridHashJoin {
             for (int pid = spilledStatus.nextSetBit(0); pid >= 0 && pid < numOfPartitions; pid =
                     spilledStatus.nextSetBit(pid + 1)) {
                 if (bufferManager.getNumTuples(pid) > 0) {
-                    bufferManager.flushPartition(pid, getSpillWriterOrCreateNewOneIfNotExist(pid, whichSide));
+                    RunFileWriter writer = getSpillWriterOrCreateNewOneIfNotExist(pid, whichSide);
+                    if (whichSide == SIDE.BUILD) {
+                        flushBuildPartition(pid, writer);
+                    } else {
+                        bufferManager.flushPartition(pid, writer);
+                    }
                     bufferManager.clearPartition(pid);
                 }
             }
@@ -506,6 +559,9 @@ public class OptimizedHybridHashJoin {
 
             if (buildPSizeInTups[pid] > 0 || isLeftOuter) { //Tuple has potential match from previous phase
                 if (spilledStatus.get(pid)) { //pid is Spilled
+                    if (runtimeFilter != null && !runtimeFilter.mightMatch(accessorProbe, i)) {
+                        continue;
+                    }
                     while (!bufferManager.insertTuple(pid, accessorProbe, i, tempPtr)) {
                         int victim = pid;
                         if (bufferManager.getNumTuples(pid) == 0) { // current pid is empty, choose the biggest one
@@ -605,6 +661,22 @@ public class OptimizedHybridHashJoin {
         return max;
     }
 
+    /**
+     * A partition is skewed if its build or probe side has more than skewFactor times the average number of tuples
+     * of a partition. This happens when a few join keys are much more frequent than the others.
+     */
+    public boolean isSkewedPartition(int pid, int skewFactor) {
+        return isSkewed(buildPSizeInTups, pid, skewFactor) || isSkewed(probePSizeInTups, pid, skewFactor);
+    }
+
+    private static boolean isSkewed(int[] partitionSizes, int pid, int skewFactor) {
+        long total = 0;
+        for (int size : partitionSizes) {
+            total += size;
+        }
+        return (long) partitionSizes[pid] * partitionSizes.length > skewFactor * total;
+    }
+
     public BitSet getPartitionStatus() {
         return spilledStatus;
     }
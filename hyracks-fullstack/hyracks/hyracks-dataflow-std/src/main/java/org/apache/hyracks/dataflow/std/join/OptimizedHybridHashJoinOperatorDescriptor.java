@@ -52,6 +52,7 @@ import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.comm.util.FrameUtils;
 import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
 import org.apache.hyracks.dataflow.common.io.RunFileReader;
+import org.apache.hyracks.dataflow.common.io.RunFileWriter;
 import org.apache.hyracks.dataflow.std.base.AbstractActivityNode;
 import org.apache.hyracks.dataflow.std.base.AbstractOperatorDescriptor;
 import org.apache.hyracks.dataflow.std.base.AbstractStateObject;
@@ -104,6 +105,9 @@ import org.apache.logging.log4j.Logger;
  *         if after applying HHJ recursively, we do not gain enough size reduction (max size of the
  *         resulting partitions were more than 80% of the initial Ri,Si size) then we switch to
  *         nested loop join for joining.
+ *         if a spilled partition is much larger than the average partition, or hashing it again did not make it
+ *         smaller, we look for heavy hitters (keys with a large share of its tuples). Their tuples are joined with a
+ *         nested loop join that caches the smaller side, and the other tuples are joined as above.
  *         (At each step of partition-pair joining, we consider role reversal, which means if size of Si were
  *         greater than Ri, then we make sure that we switch the roles of build/probe between them)
  */
@@ -114,6 +118,15 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
 
     private static final long serialVersionUID = 1L;
     private static final double NLJ_SWITCH_THRESHOLD = 0.8;
+    // a partition with this many times the average number of tuples is checked for heavy hitters
+    private static final int SKEWED_PARTITION_FACTOR = 4;
+    private static final int HEAVY_HITTER_COUNTERS = 16;
+    // a heavy hitter has a share of a partition that recursive hashing can not bring under the NLJ switch threshold
+    private static final double HEAVY_HITTER_MIN_SHARE = 1 - NLJ_SWITCH_THRESHOLD;
+    // the memory of the bloom filter of the runtime join filter, enough for ~26K keys with 32KB frames
+    private static final int RUNTIME_FILTER_FRAMES = 1;
+    // the runtime filter is only used when the join is left with at least this many frames
+    private static final int MIN_FRAMES_WITH_RUNTIME_FILTER = 4;
 
     private static final String PROBE_REL = "RelR";
     private static final String BUILD_REL = "RelS";
@@ -288,12 +301,24 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                         throw new HyracksDataException("Not enough memory is assigend for Hybrid Hash Join.");
                     }
                     state.memForJoin = memSizeInFrames - 2;
+                    // probe tuples without a match can only be dropped when they don't produce any output. The
+                    // filter's memory is taken from the join's, as long as the join is left with a few frames
+                    boolean useRuntimeFilter =
+                            !isLeftOuter && state.memForJoin >= RUNTIME_FILTER_FRAMES + MIN_FRAMES_WITH_RUNTIME_FILTER;
+                    if (useRuntimeFilter) {
+                        state.memForJoin -= RUNTIME_FILTER_FRAMES;
+                    }
                     state.numOfPartitions =
                             getNumberOfPartitions(state.memForJoin, inputsize0, fudgeFactor, nPartitions);
                     state.hybridHJ = new OptimizedHybridHashJoin(ctx, state.memForJoin, state.numOfPartitions,
                             PROBE_REL, BUILD_REL, probeKeys, buildKeys, comparators, probeRd, buildRd, probeHpc,
                             buildHpc, predEvaluator, isLeftOuter, nonMatchWriterFactories);
 
+                    if (useRuntimeFilter) {
+                        state.hybridHJ.setRuntimeFilter(new RuntimeJoinFilter(hashFunctionGeneratorFactories, buildKeys,
+                                probeKeys, comparatorFactories[0].createBinaryComparator(), buildRd, probeRd,
+                                RUNTIME_FILTER_FRAMES * ctx.getInitialFrameSize()));
+                    }
                     state.hybridHJ.initBuild();
                     if (LOGGER.isTraceEnabled()) {
                         LOGGER.trace("OptimizedHybridHashJoin is starting the build phase with " + state.numOfPartitions
@@ -446,7 +471,8 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                             }
                             int bSize = state.hybridHJ.getBuildPartitionSizeInTup(pid);
                             int pSize = state.hybridHJ.getProbePartitionSizeInTup(pid);
-                            joinPartitionPair(bReader, pReader, bSize, pSize, 1);
+                            joinPartitionPair(bReader, pReader, bSize, pSize, 1,
+                                    state.hybridHJ.isSkewedPartition(pid, SKEWED_PARTITION_FACTOR));
                         }
                     } catch (Exception e) {
                         // Since writer.nextFrame() is called in the above "try" body, we have to call writer.fail()
@@ -468,13 +494,16 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
 
                 private void logProbeComplete() {
                     if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("OptimizedHybridHashJoin closed its probe phase");
+                        RuntimeJoinFilter runtimeFilter = state.hybridHJ.getRuntimeFilter();
+                        LOGGER.debug("OptimizedHybridHashJoin closed its probe phase"
+                                + (runtimeFilter == null ? "" : " with runtime filter " + runtimeFilter));
                     }
                 }
 
                 //The buildSideReader should be always the original buildSideReader, so should the probeSideReader
                 private void joinPartitionPair(RunFileReader buildSideReader, RunFileReader probeSideReader,
-                        int buildSizeInTuple, int probeSizeInTuple, int level) throws HyracksDataException {
+                        int buildSizeInTuple, int probeSizeInTuple, int level, boolean isSkewed)
+                        throws HyracksDataException {
                     ITuplePartitionComputer probeHpc =
                             new FieldHashPartitionComputerFamily(probeKeys, hashFunctionGeneratorFactories)
                                     .createPartitioner(level);
@@ -537,6 +566,9 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                     }
                     //Apply (Recursive) HHJ
                     else {
+                        if (isSkewed && joinHeavyHitters(buildSideReader, probeSideReader, level)) {
+                            return;
+                        }
                         if (LOGGER.isDebugEnabled()) {
                             LOGGER.debug("\t>>>Case 2. ApplyRecursiveHHJ - [Level " + level + "]");
                         }
@@ -640,10 +672,13 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                                     continue;
                                 }
 
+                                boolean isSkewed = rHHj.isSkewedPartition(rPid, SKEWED_PARTITION_FACTOR);
                                 if (isReversed) {
-                                    joinPartitionPair(rprfw, rbrfw, rpSizeInTuple, rbSizeInTuple, level + 1);
+                                    joinPartitionPair(rprfw, rbrfw, rpSizeInTuple, rbSizeInTuple, level + 1,
+                                            isSkewed);
                                 } else {
-                                    joinPartitionPair(rbrfw, rprfw, rbSizeInTuple, rpSizeInTuple, level + 1);
+                                    joinPartitionPair(rbrfw, rprfw, rbSizeInTuple, rpSizeInTuple, level + 1,
+                                            isSkewed);
                                 }
                             }
 
@@ -664,6 +699,11 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                                     continue;
                                 }
 
+                                // Hashing did not split the partition, a few keys may make up most of it.
+                                if (isReversed ? joinHeavyHitters(rprfw, rbrfw, level + 1)
+                                        : joinHeavyHitters(rbrfw, rprfw, level + 1)) {
+                                    continue;
+                                }
                                 int buildSideInTups = rHHj.getBuildPartitionSizeInTup(rPid);
                                 int probeSideInTups = rHHj.getProbePartitionSizeInTup(rPid);
                                 // NLJ order is outer + inner, the order is reversed from the other joins
@@ -685,6 +725,142 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                     }
                 }
 
+                /**
+                 * Takes the tuples of the heavy hitters out of a partition pair and joins them with a nested loop join
+                 * that keeps the smaller side in memory and streams the larger one through it. The remaining tuples
+                 * are joined by joinPartitionPair at the given level. Both sides are split by the same keys, so every
+                 * match, and for the outer join every non-match, is found in exactly one of the two pairs.
+                 *
+                 * @return false if the partition pair has no heavy hitter, the readers can then still be read
+                 */
+                private boolean joinHeavyHitters(RunFileReader buildSideReader, RunFileReader probeSideReader,
+                        int level) throws HyracksDataException {
+                    JoinHeavyHitters heavyHitters =
+                            new JoinHeavyHitters(comparators, HEAVY_HITTER_COUNTERS, HEAVY_HITTER_MIN_SHARE);
+                    int buildSizeInTuple = countKeys(buildSideReader, buildRd, buildKeys, heavyHitters);
+                    int probeSizeInTuple = countKeys(probeSideReader, probeRd, probeKeys, heavyHitters);
+                    if (heavyHitters.isEmpty()) {
+                        return false;
+                    }
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("\t>>>Joining " + heavyHitters.size() + " heavy hitter(s) with NLJ - [Level "
+                                + level + "]");
+                    }
+                    RunFileWriter heavyBuildWriter = createRunFileWriter(BUILD_REL);
+                    RunFileWriter lightBuildWriter = createRunFileWriter(BUILD_REL);
+                    RunFileWriter heavyProbeWriter = createRunFileWriter(PROBE_REL);
+                    RunFileWriter lightProbeWriter = createRunFileWriter(PROBE_REL);
+                    try {
+                        int heavyBuildSize = splitHeavyHitters(buildSideReader, buildRd, buildKeys, heavyHitters,
+                                heavyBuildWriter, lightBuildWriter);
+                        int heavyProbeSize = splitHeavyHitters(probeSideReader, probeRd, probeKeys, heavyHitters,
+                                heavyProbeWriter, lightProbeWriter);
+                        joinSplitPair(heavyBuildWriter, heavyProbeWriter, heavyBuildSize, heavyProbeSize, true,
+                                level);
+                        joinSplitPair(lightBuildWriter, lightProbeWriter, buildSizeInTuple - heavyBuildSize,
+                                probeSizeInTuple - heavyProbeSize, false, level);
+                    } catch (Exception e) {
+                        for (RunFileWriter runFileWriter : new RunFileWriter[] { heavyBuildWriter, lightBuildWriter,
+                                heavyProbeWriter, lightProbeWriter }) {
+                            // erased writers have no file anymore
+                            if (runFileWriter.getFileReference() != null) {
+                                runFileWriter.erase();
+                            }
+                        }
+                        throw e;
+                    }
+                    return true;
+                }
+
+                private int countKeys(RunFileReader reader, RecordDescriptor rd, int[] keys,
+                        JoinHeavyHitters heavyHitters) throws HyracksDataException {
+                    FrameTupleAccessor accessor = new FrameTupleAccessor(rd);
+                    int tupleCount = 0;
+                    // the partition is read again to split it
+                    reader.setDeleteAfterClose(false);
+                    try {
+                        reader.open();
+                        rPartbuff.reset();
+                        while (reader.nextFrame(rPartbuff)) {
+                            accessor.reset(rPartbuff.getBuffer());
+                            for (int tid = 0; tid < accessor.getTupleCount(); tid++) {
+                                heavyHitters.count(accessor, tid, keys);
+                            }
+                            tupleCount += accessor.getTupleCount();
+                        }
+                    } finally {
+                        reader.close();
+                        reader.setDeleteAfterClose(true);
+                    }
+                    heavyHitters.collect();
+                    return tupleCount;
+                }
+
+                private int splitHeavyHitters(RunFileReader reader, RecordDescriptor rd, int[] keys,
+                        JoinHeavyHitters heavyHitters, RunFileWriter heavyWriter, RunFileWriter lightWriter)
+                        throws HyracksDataException {
+                    FrameTupleAccessor accessor = new FrameTupleAccessor(rd);
+                    FrameTupleAppender heavyAppender = new FrameTupleAppender(new VSizeFrame(ctx));
+                    FrameTupleAppender lightAppender = new FrameTupleAppender(new VSizeFrame(ctx));
+                    int heavyTupleCount = 0;
+                    try {
+                        reader.open();
+                        rPartbuff.reset();
+                        while (reader.nextFrame(rPartbuff)) {
+                            accessor.reset(rPartbuff.getBuffer());
+                            for (int tid = 0; tid < accessor.getTupleCount(); tid++) {
+                                if (heavyHitters.isHeavyHitter(accessor, tid, keys)) {
+                                    FrameUtils.appendToWriter(heavyWriter, heavyAppender, accessor, tid);
+                                    heavyTupleCount++;
+                                } else {
+                                    FrameUtils.appendToWriter(lightWriter, lightAppender, accessor, tid);
+                                }
+                            }
+                        }
+                        heavyAppender.write(heavyWriter, true);
+                        lightAppender.write(lightWriter, true);
+                    } finally {
+                        try {
+                            reader.close();
+                        } finally {
+                            heavyWriter.close();
+                            lightWriter.close();
+                        }
+                    }
+                    return heavyTupleCount;
+                }
+
+                private void joinSplitPair(RunFileWriter buildWriter, RunFileWriter probeWriter, int buildSizeInTuple,
+                        int probeSizeInTuple, boolean isHeavy, int level) throws HyracksDataException {
+                    if (buildSizeInTuple == 0 || probeSizeInTuple == 0) {
+                        buildWriter.erase();
+                        if (isLeftOuter && probeSizeInTuple > 0) {
+                            appendNullToProbeTuples(probeWriter.createDeleteOnCloseReader());
+                        } else {
+                            probeWriter.erase();
+                        }
+                        return;
+                    }
+                    RunFileReader buildReader = buildWriter.createDeleteOnCloseReader();
+                    RunFileReader probeReader = probeWriter.createDeleteOnCloseReader();
+                    if (!isHeavy) {
+                        joinPartitionPair(buildReader, probeReader, buildSizeInTuple, probeSizeInTuple, level, false);
+                    } else if (isLeftOuter || probeSizeInTuple < buildSizeInTuple) {
+                        // NLJ order is outer + inner, the smaller side is the outer one that is read into memory
+                        // block by block
+                        applyNestedLoopJoin(probeRd, buildRd, memSizeInFrames, probeReader, buildReader);
+                    } else {
+                        applyNestedLoopJoin(buildRd, probeRd, memSizeInFrames, buildReader, probeReader);
+                    }
+                }
+
+                private RunFileWriter createRunFileWriter(String refName) throws HyracksDataException {
+                    RunFileWriter runFileWriter = new RunFileWriter(
+                            ctx.getJobletContext().createManagedWorkspaceFile(refName), ctx.getIoManager());
+                    runFileWriter.open();
+                    return runFileWriter;
+                }
+
                 private void appendNullToProbeTuples(RunFileReader probReader) throws HyracksDataException {
                     if (nullResultAppender == null) {
                         nullResultAppender = new FrameTupleAppender(new VSizeFrame(ctx));
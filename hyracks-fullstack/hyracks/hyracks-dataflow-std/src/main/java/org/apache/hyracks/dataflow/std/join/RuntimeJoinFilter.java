@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.ITuplePartitionComputer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
+
+/**
+ * A summary of the join keys of build tuples: a bloom filter over the hash of all join keys and the min/max range of
+ * the first join key. A probe tuple for which {@link #mightMatch(IFrameTupleAccessor, int)} returns false has no
+ * matching build tuple among the inserted ones.
+ * The hashes are computed with the hash function families of the join and the range is maintained with the join key
+ * comparator, so that keys that are equal for the join are never filtered out. The range is only kept when the first
+ * join key has the same type on both sides, as the comparator is not meant to order values of different types.
+ * The bloom filter has a fixed size that the join takes from its memory budget. It is not used when more keys are
+ * inserted than it can hold with its target false positive rate.
+ * The filter is only applied inside the join to the probe tuples of spilled partitions, so it saves the writing and
+ * re-reading of probe run files but neither the probe-side scan nor the exchange in front of the join.
+ */
+public class RuntimeJoinFilter {
+    // ~1% false positives with 4 probes
+    private static final int BITS_PER_KEY = 10;
+    private static final int NUM_PROBES = 4;
+    // the partitioners are used as hash functions by asking for as many partitions as possible
+    private static final int HASH_RANGE = Integer.MAX_VALUE;
+
+    private final ITuplePartitionComputer buildHasher;
+    private final ITuplePartitionComputer probeHasher;
+    private final IBinaryComparator firstKeyComparator;
+    private final boolean rangeEnabled;
+    private final int buildFirstKey;
+    private final int probeFirstKey;
+    private final FrameTupleAccessor buildAccessor;
+
+    private final long[] bits;
+    private final int bitMask;
+    private final long maxNumKeys;
+    private long numKeys;
+    private boolean bloomFilterDisabled;
+
+    private byte[] min;
+    private int minLength;
+    private byte[] max;
+    private int maxLength;
+
+    private long numProbed;
+    private long numFiltered;
+
+    /**
+     * @param sizeInBytes
+     *            the memory of the bloom filter, at least 8 bytes
+     */
+    public RuntimeJoinFilter(IBinaryHashFunctionFamily[] hashFunctionFamilies, int[] buildKeys, int[] probeKeys,
+            IBinaryComparator firstKeyComparator, RecordDescriptor buildRd, RecordDescriptor probeRd,
+            int sizeInBytes) {
+        this.buildHasher = new FieldHashPartitionComputerFamily(buildKeys, hashFunctionFamilies).createPartitioner(0);
+        this.probeHasher = new FieldHashPartitionComputerFamily(probeKeys, hashFunctionFamilies).createPartitioner(0);
+        this.firstKeyComparator = firstKeyComparator;
+        this.buildFirstKey = buildKeys[0];
+        this.probeFirstKey = probeKeys[0];
+        this.rangeEnabled = hasSameType(buildRd, buildFirstKey, probeRd, probeFirstKey);
+        this.buildAccessor = new FrameTupleAccessor(buildRd);
+        long numBits = Long.highestOneBit((long) sizeInBytes * Byte.SIZE);
+        this.bits = new long[(int) (numBits >>> 6)];
+        this.bitMask = (int) (numBits - 1);
+        this.maxNumKeys = numBits / BITS_PER_KEY;
+    }
+
+    private static boolean hasSameType(RecordDescriptor buildRd, int buildField, RecordDescriptor probeRd,
+            int probeField) {
+        ISerializerDeserializer<?> buildSerde = buildRd.getFields()[buildField];
+        ISerializerDeserializer<?> probeSerde = probeRd.getFields()[probeField];
+        return buildSerde != null && probeSerde != null && buildSerde.getClass() == probeSerde.getClass();
+    }
+
+    /**
+     * Adds the keys of all tuples in the given build frame.
+     */
+    public void insert(ByteBuffer buildFrame) throws HyracksDataException {
+        buildAccessor.reset(buildFrame, buildFrame.position(), buildFrame.remaining());
+        int tupleCount = buildAccessor.getTupleCount();
+        for (int i = 0; i < tupleCount; i++) {
+            insert(buildAccessor, i);
+        }
+    }
+
+    public void insert(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+        numKeys++;
+        if (!bloomFilterDisabled) {
+            if (numKeys > maxNumKeys) {
+                // too many false positives to be worth the probing
+                bloomFilterDisabled = true;
+            } else {
+                int h1 = mix(buildHasher.partition(accessor, tIndex, HASH_RANGE));
+                int h2 = Integer.rotateLeft(h1, 16) | 1;
+                for (int j = 0; j < NUM_PROBES; j++) {
+                    int bit = (h1 + j * h2) & bitMask;
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        if (rangeEnabled) {
+            updateRange(accessor, tIndex);
+        }
+    }
+
+    private void updateRange(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+        byte[] data = accessor.getBuffer().array();
+        int start = accessor.getAbsoluteFieldStartOffset(tIndex, buildFirstKey);
+        int length = accessor.getFieldLength(tIndex, buildFirstKey);
+        if (min == null || firstKeyComparator.compare(data, start, length, min, 0, minLength) < 0) {
+            min = copy(data, start, length, min);
+            minLength = length;
+        }
+        if (max == null || firstKeyComparator.compare(data, start, length, max, 0, maxLength) > 0) {
+            max = copy(data, start, length, max);
+            maxLength = length;
+        }
+    }
+
+    private static byte[] copy(byte[] data, int start, int length, byte[] target) {
+        byte[] copy = target == null || target.length < length ? new byte[length] : target;
+        System.arraycopy(data, start, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * @return false if the probe tuple cannot match any inserted build tuple
+     */
+    public boolean mightMatch(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+        numProbed++;
+        if (numKeys == 0) {
+            numFiltered++;
+            return false;
+        }
+        if (rangeEnabled) {
+            byte[] data = accessor.getBuffer().array();
+            int start = accessor.getAbsoluteFieldStartOffset(tIndex, probeFirstKey);
+            int length = accessor.getFieldLength(tIndex, probeFirstKey);
+            if (firstKeyComparator.compare(data, start, length, min, 0, minLength) < 0
+                    || firstKeyComparator.compare(data, start, length, max, 0, maxLength) > 0) {
+                numFiltered++;
+                return false;
+            }
+        }
+        if (bloomFilterDisabled) {
+            return true;
+        }
+        int h1 = mix(probeHasher.partition(accessor, tIndex, HASH_RANGE));
+        int h2 = Integer.rotateLeft(h1, 16) | 1;
+        for (int j = 0; j < NUM_PROBES; j++) {
+            int bit = (h1 + j * h2) & bitMask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                numFiltered++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the murmur3 finalizer, spreads the join hash that also decides the partition of the tuple
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public long getNumProbed() {
+        return numProbed;
+    }
+
+    public long getNumFiltered() {
+        return numFiltered;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"keys\":" + numKeys + ",\"bloom\":" + !bloomFilterDisabled + ",\"range\":" + rangeEnabled
+                + ",\"probed\":" + numProbed + ",\"filtered\":" + numFiltered + "}";
+    }
+}
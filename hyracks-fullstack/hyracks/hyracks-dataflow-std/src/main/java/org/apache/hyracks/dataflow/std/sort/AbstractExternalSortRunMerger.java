@@ -29,6 +29,7 @@ import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.util.FrameUtils;
@@ -49,6 +50,7 @@ public abstract class AbstractExternalSortRunMerger {
     private final BitSet currentGenerationRunAvailable;
     private final IBinaryComparator[] comparators;
     private final INormalizedKeyComputer nmkComputer;
+    private final IVarLenNormalizedKeyComputer[] varLenNkcs;
     private final RecordDescriptor recordDesc;
     private final int framesLimit;
     private final int topK;
@@ -67,12 +69,20 @@ public abstract class AbstractExternalSortRunMerger {
     public AbstractExternalSortRunMerger(IHyracksTaskContext ctx, ISorter sorter, List<GeneratedRunFileReader> runs,
             IBinaryComparator[] comparators, INormalizedKeyComputer nmkComputer, RecordDescriptor recordDesc,
             int framesLimit, int topK, IFrameWriter writer) {
+        this(ctx, sorter, runs, comparators, nmkComputer, null, recordDesc, framesLimit, topK, writer);
+    }
+
+    public AbstractExternalSortRunMerger(IHyracksTaskContext ctx, ISorter sorter, List<GeneratedRunFileReader> runs,
+            IBinaryComparator[] comparators, INormalizedKeyComputer nmkComputer,
+            IVarLenNormalizedKeyComputer[] varLenNkcs, RecordDescriptor recordDesc, int framesLimit, int topK,
+            IFrameWriter writer) {
         this.ctx = ctx;
         this.sorter = sorter;
         this.runs = new LinkedList<>(runs);
         this.currentGenerationRunAvailable = new BitSet(runs.size());
         this.comparators = comparators;
         this.nmkComputer = nmkComputer;
+        this.varLenNkcs = varLenNkcs;
         this.recordDesc = recordDesc;
         this.framesLimit = framesLimit;
         this.writer = writer;
@@ -251,7 +261,7 @@ public abstract class AbstractExternalSortRunMerger {
 
     private void merge(IFrameWriter writer, List<GeneratedRunFileReader> partialRuns) throws HyracksDataException {
         RunMergingFrameReader merger = new RunMergingFrameReader(ctx, partialRuns, inFrames, getSortFields(),
-                comparators, nmkComputer, recordDesc, topK);
+                comparators, nmkComputer, varLenNkcs, recordDesc, topK);
         int io = 0;
         merger.open();
         try {
@@ -30,6 +30,7 @@ import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
@@ -50,6 +51,11 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     protected static final int ID_TUPLE_START = 1;
     protected static final int ID_TUPLE_END = 2;
     protected static final int ID_NORMALIZED_KEY = 3;
+    // with variable-length normalized keys, the pointer holds the first four key bytes followed by the key offsets
+    protected static final int ID_VAR_LEN_KEY_START = 4;
+    protected static final int ID_VAR_LEN_KEY_END = 5;
+    private static final int VAR_LEN_KEY_PTR_SIZE = 6;
+    private static final int INITIAL_KEY_AREA_SIZE = 32 * 1024;
 
     // the length of each normalized key (in terms of integers)
     protected final int[] normalizedKeyLength;
@@ -63,6 +69,8 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     protected final int[] sortFields;
     protected final IBinaryComparator[] comparators;
     protected final INormalizedKeyComputer[] nkcs;
+    // when every sort field has a variable-length normalized key, the keys are decisive and compared byte-wise only
+    protected final IVarLenNormalizedKeyComputer[] varLenNkcs;
     protected final IFrameBufferManager bufferManager;
     protected final FrameTupleAccessor inputTupleAccessor;
     protected final IFrameTupleAppender outputAppender;
@@ -74,6 +82,12 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     protected int[] tPointers;
     protected final int[] tmpPointer;
     protected int tupleCount;
+    // the variable-length normalized keys of the inserted tuples, and the end offset of each tuple's key
+    private byte[] keyArea;
+    private int keyAreaLength;
+    private int[] keyEnds;
+    // the keys of the first frame of the run did not fit in memory next to it, so the run is sorted with comparators
+    private boolean varLenKeysDisabled;
 
     private final FrameTupleAccessor fta2;
     private final BufferInfo info = new BufferInfo(null, -1, -1);
@@ -100,7 +114,13 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
 
         int runningNormalizedKeyTotalLength = 0;
 
-        if (normalizedKeyComputerFactories != null) {
+        this.varLenNkcs = NormalizedKeyUtils.createVarLenNormalizedKeyComputers(normalizedKeyComputerFactories,
+                comparatorFactories.length);
+        if (varLenNkcs != null) {
+            this.nkcs = null;
+            this.normalizedKeyLength = null;
+            this.normalizedKeysDecisive = true;
+        } else if (normalizedKeyComputerFactories != null) {
             int decisivePrefixLength = NormalizedKeyUtils.getDecisivePrefixLength(normalizedKeyComputerFactories);
 
             // we only take a prefix of the decisive normalized keys, plus at most indecisive normalized keys
@@ -124,7 +144,7 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
             this.normalizedKeysDecisive = false;
         }
         this.normalizedKeyTotalLength = runningNormalizedKeyTotalLength;
-        this.ptrSize = ID_NORMALIZED_KEY + normalizedKeyTotalLength;
+        this.ptrSize = varLenNkcs != null ? VAR_LEN_KEY_PTR_SIZE : ID_NORMALIZED_KEY + normalizedKeyTotalLength;
         this.comparators = new IBinaryComparator[comparatorFactories.length];
         for (int i = 0; i < comparatorFactories.length; ++i) {
             comparators[i] = comparatorFactories[i].createBinaryComparator();
@@ -141,6 +161,8 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     public void reset() throws HyracksDataException {
         this.tupleCount = 0;
         this.totalMemoryUsed = 0;
+        this.keyAreaLength = 0;
+        this.varLenKeysDisabled = false;
         this.bufferManager.reset();
     }
 
@@ -148,12 +170,26 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     public boolean insertFrame(ByteBuffer inputBuffer) throws HyracksDataException {
         inputTupleAccessor.reset(inputBuffer);
         long requiredMemory = getRequiredMemory(inputTupleAccessor);
+        int keyAreaStart = keyAreaLength;
+        if (hasVarLenKeys()) {
+            long keyMemory =
+                    normalizeVarLenKeys(inputTupleAccessor) + (long) inputTupleAccessor.getTupleCount() * Integer.BYTES;
+            if (getFrameCount() == 0 && totalMemoryUsed + requiredMemory + keyMemory > maxSortMemory) {
+                // a frame that fits alone is always admitted, so its run does without the keys
+                varLenKeysDisabled = true;
+                keyAreaLength = keyAreaStart;
+            } else {
+                requiredMemory += keyMemory;
+            }
+        }
         if (totalMemoryUsed + requiredMemory <= maxSortMemory && bufferManager.insertFrame(inputBuffer) >= 0) {
             // we have enough memory
             totalMemoryUsed += requiredMemory;
             tupleCount += inputTupleAccessor.getTupleCount();
             return true;
         }
+        // drop the keys of the rejected frame
+        keyAreaLength = keyAreaStart;
         if (getFrameCount() == 0) {
             throw new HyracksDataException(
                     "The input frame is too big for the sorting buffer, please allocate bigger buffer size");
@@ -161,6 +197,49 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
         return false;
     }
 
+    private boolean hasVarLenKeys() {
+        return varLenNkcs != null && !varLenKeysDisabled;
+    }
+
+    /**
+     * Appends the variable-length normalized keys of all tuples in the frame to the key area
+     *
+     * @return the number of key bytes appended
+     */
+    private int normalizeVarLenKeys(FrameTupleAccessor frameAccessor) {
+        int tCount = frameAccessor.getTupleCount();
+        if (keyEnds == null || keyEnds.length < tupleCount + tCount) {
+            int[] newKeyEnds = new int[Math.max(tupleCount + tCount, keyEnds == null ? 0 : keyEnds.length * 2)];
+            if (keyEnds != null) {
+                System.arraycopy(keyEnds, 0, newKeyEnds, 0, tupleCount);
+            }
+            keyEnds = newKeyEnds;
+        }
+        int keyAreaStart = keyAreaLength;
+        byte[] array = frameAccessor.getBuffer().array();
+        for (int j = 0; j < tCount; ++j) {
+            for (int k = 0; k < varLenNkcs.length; k++) {
+                int fieldStart = frameAccessor.getAbsoluteFieldStartOffset(j, sortFields[k]);
+                int fieldLength = frameAccessor.getFieldLength(j, sortFields[k]);
+                ensureKeyAreaCapacity(keyAreaLength + varLenNkcs[k].getMaxNormalizedKeyLength(fieldLength));
+                keyAreaLength += varLenNkcs[k].normalize(array, fieldStart, fieldLength, keyArea, keyAreaLength);
+            }
+            keyEnds[tupleCount + j] = keyAreaLength;
+        }
+        return keyAreaLength - keyAreaStart;
+    }
+
+    private void ensureKeyAreaCapacity(int capacity) {
+        if (keyArea == null || keyArea.length < capacity) {
+            byte[] newKeyArea = new byte[Math.max(capacity,
+                    keyArea == null ? INITIAL_KEY_AREA_SIZE : (int) Math.min(keyArea.length * 2L, Integer.MAX_VALUE))];
+            if (keyArea != null) {
+                System.arraycopy(keyArea, 0, newKeyArea, 0, keyAreaLength);
+            }
+            keyArea = newKeyArea;
+        }
+    }
+
     protected long getRequiredMemory(FrameTupleAccessor frameAccessor) {
         return (long) frameAccessor.getBuffer().capacity() + ptrSize * frameAccessor.getTupleCount() * Integer.BYTES;
     }
@@ -183,6 +262,15 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
                 tPointers[ptr * ptrSize + ID_FRAME_ID] = i;
                 tPointers[ptr * ptrSize + ID_TUPLE_START] = tStart;
                 tPointers[ptr * ptrSize + ID_TUPLE_END] = tEnd;
+                if (hasVarLenKeys()) {
+                    int keyStart = ptr == 0 ? 0 : keyEnds[ptr - 1];
+                    int keyEnd = keyEnds[ptr];
+                    tPointers[ptr * ptrSize + ID_NORMALIZED_KEY] =
+                            NormalizedKeyUtils.getVarLenNormalizedKeyPrefix(keyArea, keyStart, keyEnd - keyStart);
+                    tPointers[ptr * ptrSize + ID_VAR_LEN_KEY_START] = keyStart;
+                    tPointers[ptr * ptrSize + ID_VAR_LEN_KEY_END] = keyEnd;
+                    continue;
+                }
                 if (nkcs == null) {
                     continue;
                 }
@@ -247,6 +335,9 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
     }
 
     protected final int compare(int[] tPointers1, int tp1, int[] tPointers2, int tp2) throws HyracksDataException {
+        if (hasVarLenKeys()) {
+            return compareVarLenKeys(tPointers1, tp1 * ptrSize, tPointers2, tp2 * ptrSize);
+        }
         if (nkcs != null) {
             int cmpNormalizedKey =
                     NormalizedKeyUtils.compareNormalizeKeys(tPointers1, tp1 * ptrSize + ID_NORMALIZED_KEY, tPointers2,
@@ -286,6 +377,18 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
         return 0;
     }
 
+    private int compareVarLenKeys(int[] tPointers1, int ptr1, int[] tPointers2, int ptr2) {
+        int cmpPrefix = NormalizedKeyUtils.compareNormalizeKeys(tPointers1, ptr1 + ID_NORMALIZED_KEY, tPointers2,
+                ptr2 + ID_NORMALIZED_KEY, 1);
+        if (cmpPrefix != 0) {
+            return cmpPrefix;
+        }
+        int s1 = tPointers1[ptr1 + ID_VAR_LEN_KEY_START];
+        int s2 = tPointers2[ptr2 + ID_VAR_LEN_KEY_START];
+        return NormalizedKeyUtils.compareVarLenNormalizedKeys(keyArea, s1, tPointers1[ptr1 + ID_VAR_LEN_KEY_END] - s1,
+                keyArea, s2, tPointers2[ptr2 + ID_VAR_LEN_KEY_END] - s2);
+    }
+
     protected void swap(int pointers1[], int pos1, int pointers2[], int pos2) {
         System.arraycopy(pointers1, pos1 * ptrSize, tmpPointer, 0, ptrSize);
         System.arraycopy(pointers2, pos2 * ptrSize, pointers1, pos1 * ptrSize, ptrSize);
@@ -305,5 +408,8 @@ public abstract class AbstractFrameSorter implements IFrameSorter {
         tupleCount = 0;
         bufferManager.close();
         tPointers = null;
+        keyArea = null;
+        keyAreaLength = 0;
+        keyEnds = null;
     }
 }
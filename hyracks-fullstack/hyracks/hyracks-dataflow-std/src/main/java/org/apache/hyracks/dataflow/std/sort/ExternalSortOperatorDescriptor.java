@@ -28,10 +28,12 @@ import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
 import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.job.IOperatorDescriptorRegistry;
 import org.apache.hyracks.dataflow.common.io.GeneratedRunFileReader;
+import org.apache.hyracks.dataflow.common.utils.NormalizedKeyUtils;
 import org.apache.hyracks.dataflow.std.buffermanager.EnumFreeSlotPolicy;
 
 public class ExternalSortOperatorDescriptor extends AbstractSorterOperatorDescriptor {
@@ -95,7 +97,9 @@ public class ExternalSortOperatorDescriptor extends AbstractSorterOperatorDescri
                     IRecordDescriptorProvider recordDescProvider, IFrameWriter writer, ISorter sorter,
                     List<GeneratedRunFileReader> runs, IBinaryComparator[] comparators,
                     INormalizedKeyComputer nmkComputer, int necessaryFrames) {
-                return new ExternalSortRunMerger(ctx, sorter, runs, sortFields, comparators, nmkComputer,
+                IVarLenNormalizedKeyComputer[] varLenNkcs = NormalizedKeyUtils
+                        .createVarLenNormalizedKeyComputers(keyNormalizerFactories, comparators.length);
+                return new ExternalSortRunMerger(ctx, sorter, runs, sortFields, comparators, nmkComputer, varLenNkcs,
                         outRecDescs[0], necessaryFrames, outputLimit, writer);
             }
         };
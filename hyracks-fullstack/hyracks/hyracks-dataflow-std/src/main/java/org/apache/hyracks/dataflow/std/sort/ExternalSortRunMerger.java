@@ -24,6 +24,7 @@ import org.apache.hyracks.api.comm.IFrameWriter;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
@@ -37,7 +38,14 @@ public class ExternalSortRunMerger extends AbstractExternalSortRunMerger {
     public ExternalSortRunMerger(IHyracksTaskContext ctx, ISorter sorter, List<GeneratedRunFileReader> runs,
             int[] sortFields, IBinaryComparator[] comparators, INormalizedKeyComputer nmkComputer,
             RecordDescriptor recordDesc, int framesLimit, int topK, IFrameWriter writer) {
-        super(ctx, sorter, runs, comparators, nmkComputer, recordDesc, framesLimit, topK, writer);
+        this(ctx, sorter, runs, sortFields, comparators, nmkComputer, null, recordDesc, framesLimit, topK, writer);
+    }
+
+    public ExternalSortRunMerger(IHyracksTaskContext ctx, ISorter sorter, List<GeneratedRunFileReader> runs,
+            int[] sortFields, IBinaryComparator[] comparators, INormalizedKeyComputer nmkComputer,
+            IVarLenNormalizedKeyComputer[] varLenNkcs, RecordDescriptor recordDesc, int framesLimit, int topK,
+            IFrameWriter writer) {
+        super(ctx, sorter, runs, comparators, nmkComputer, varLenNkcs, recordDesc, framesLimit, topK, writer);
         this.sortFields = sortFields;
     }
 
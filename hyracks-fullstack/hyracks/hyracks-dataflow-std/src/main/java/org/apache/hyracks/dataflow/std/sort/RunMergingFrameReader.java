@@ -27,6 +27,7 @@ import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
@@ -44,6 +45,7 @@ public class RunMergingFrameReader implements IFrameReader {
     private final INormalizedKeyComputer nmkComputer;
     private final int normalizedKeyLength;
     private final boolean normalizedKeyDecisive;
+    private final IVarLenNormalizedKeyComputer[] varLenNkcs;
     private final RecordDescriptor recordDesc;
     private final int topK;
     private int tupleCount;
@@ -61,6 +63,18 @@ public class RunMergingFrameReader implements IFrameReader {
     public RunMergingFrameReader(IHyracksTaskContext ctx, List<? extends IFrameReader> runs,
             List<? extends IFrame> inFrames, int[] sortFields, IBinaryComparator[] comparators,
             INormalizedKeyComputer nmkComputer, RecordDescriptor recordDesc, int topK) {
+        this(ctx, runs, inFrames, sortFields, comparators, nmkComputer, null, recordDesc, topK);
+    }
+
+    /**
+     * @param varLenNkcs
+     *            the variable-length normalized key computers of all sort fields. If not null, the entries are
+     *            ordered by their variable-length normalized keys only.
+     */
+    public RunMergingFrameReader(IHyracksTaskContext ctx, List<? extends IFrameReader> runs,
+            List<? extends IFrame> inFrames, int[] sortFields, IBinaryComparator[] comparators,
+            INormalizedKeyComputer nmkComputer, IVarLenNormalizedKeyComputer[] varLenNkcs, RecordDescriptor recordDesc,
+            int topK) {
         this.ctx = ctx;
         this.runCursors = runs;
         this.inFrames = inFrames;
@@ -74,6 +88,7 @@ public class RunMergingFrameReader implements IFrameReader {
         // but still, we can apply a special optimization if there is only 1 sort field
         this.normalizedKeyDecisive = nmkComputer != null
                 ? nmkComputer.getNormalizedKeyProperties().isDecisive() && comparators.length == 1 : false;
+        this.varLenNkcs = varLenNkcs;
         this.recordDesc = recordDesc;
         this.topK = topK;
     }
@@ -84,7 +99,7 @@ public class RunMergingFrameReader implements IFrameReader {
         tupleAccessors = new IFrameTupleAccessor[runCursors.size()];
         outFrameAppender = new FrameTupleAppender();
         Comparator<ReferenceEntry> comparator = createEntryComparator(comparators);
-        topTuples = new ReferencedPriorityQueue(runCursors.size(), comparator, sortFields, nmkComputer);
+        topTuples = new ReferencedPriorityQueue(runCursors.size(), comparator, sortFields, nmkComputer, varLenNkcs);
         tupleIndexes = new int[runCursors.size()];
         for (int i = 0; i < runCursors.size(); i++) {
             tupleIndexes[i] = 0;
@@ -175,6 +190,11 @@ public class RunMergingFrameReader implements IFrameReader {
         return new Comparator<ReferenceEntry>() {
             @Override
             public int compare(ReferenceEntry tp1, ReferenceEntry tp2) {
+                if (varLenNkcs != null) {
+                    int cmp = NormalizedKeyUtils.compareVarLenNormalizedKeys(tp1.getVarLenKey(), 0,
+                            tp1.getVarLenKeyLength(), tp2.getVarLenKey(), 0, tp2.getVarLenKeyLength());
+                    return cmp != 0 ? cmp : compareRun(tp1, tp2);
+                }
                 int[] tPointers1 = tp1.getTPointers();
                 int[] tPointers2 = tp2.getTPointers();
                 int cmp = NormalizedKeyUtils.compareNormalizeKeys(tPointers1, 0, tPointers2, 0, normalizedKeyLength);
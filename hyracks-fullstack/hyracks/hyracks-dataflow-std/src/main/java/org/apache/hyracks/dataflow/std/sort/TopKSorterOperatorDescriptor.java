@@ -29,9 +29,11 @@ import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
 import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.job.IOperatorDescriptorRegistry;
 import org.apache.hyracks.dataflow.common.io.GeneratedRunFileReader;
+import org.apache.hyracks.dataflow.common.utils.NormalizedKeyUtils;
 
 public class TopKSorterOperatorDescriptor extends AbstractSorterOperatorDescriptor {
 
@@ -79,7 +81,9 @@ public class TopKSorterOperatorDescriptor extends AbstractSorterOperatorDescript
                     IRecordDescriptorProvider recordDescProvider, IFrameWriter writer, ISorter sorter,
                     List<GeneratedRunFileReader> runs, IBinaryComparator[] comparators,
                     INormalizedKeyComputer nmkComputer, int necessaryFrames) {
-                return new ExternalSortRunMerger(ctx, sorter, runs, sortFields, comparators, nmkComputer,
+                IVarLenNormalizedKeyComputer[] varLenNkcs = NormalizedKeyUtils
+                        .createVarLenNormalizedKeyComputers(keyNormalizerFactories, comparators.length);
+                return new ExternalSortRunMerger(ctx, sorter, runs, sortFields, comparators, nmkComputer, varLenNkcs,
                         outRecDescs[0], necessaryFrames, topK, writer);
             }
         };
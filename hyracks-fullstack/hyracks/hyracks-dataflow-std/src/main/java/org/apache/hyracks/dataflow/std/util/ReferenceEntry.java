@@ -20,6 +20,7 @@ package org.apache.hyracks.dataflow.std.util;
 
 import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
 
 public class ReferenceEntry {
@@ -28,9 +29,16 @@ public class ReferenceEntry {
     private int tupleIndex;
     private final int[] tPointers;
     private final int normalizedKeyLength;
+    private byte[] varLenKey;
+    private int varLenKeyLength;
 
     public ReferenceEntry(int runid, FrameTupleAccessor fta, int tupleIndex, int[] keyFields,
             INormalizedKeyComputer nmkComputer) {
+        this(runid, fta, tupleIndex, keyFields, nmkComputer, null);
+    }
+
+    public ReferenceEntry(int runid, FrameTupleAccessor fta, int tupleIndex, int[] keyFields,
+            INormalizedKeyComputer nmkComputer, IVarLenNormalizedKeyComputer[] varLenNkcs) {
         super();
         this.runid = runid;
         this.acccessor = fta;
@@ -38,7 +46,7 @@ public class ReferenceEntry {
                 nmkComputer != null ? nmkComputer.getNormalizedKeyProperties().getNormalizedKeyLength() : 0;
         this.tPointers = new int[normalizedKeyLength + 2 * keyFields.length];
         if (fta != null) {
-            initTPointer(fta, tupleIndex, keyFields, nmkComputer);
+            initTPointer(fta, tupleIndex, keyFields, nmkComputer, varLenNkcs);
         }
     }
 
@@ -62,12 +70,25 @@ public class ReferenceEntry {
         return tupleIndex;
     }
 
+    public byte[] getVarLenKey() {
+        return varLenKey;
+    }
+
+    public int getVarLenKeyLength() {
+        return varLenKeyLength;
+    }
+
     public void setTupleIndex(int tupleIndex, int[] keyFields, INormalizedKeyComputer nmkComputer) {
-        initTPointer(acccessor, tupleIndex, keyFields, nmkComputer);
+        setTupleIndex(tupleIndex, keyFields, nmkComputer, null);
+    }
+
+    public void setTupleIndex(int tupleIndex, int[] keyFields, INormalizedKeyComputer nmkComputer,
+            IVarLenNormalizedKeyComputer[] varLenNkcs) {
+        initTPointer(acccessor, tupleIndex, keyFields, nmkComputer, varLenNkcs);
     }
 
     private void initTPointer(IFrameTupleAccessor fta, int tupleIndex, int[] keyFields,
-            INormalizedKeyComputer nmkComputer) {
+            INormalizedKeyComputer nmkComputer, IVarLenNormalizedKeyComputer[] varLenNkcs) {
         this.tupleIndex = tupleIndex;
         byte[] b1 = fta.getBuffer().array();
         for (int f = 0; f < keyFields.length; ++f) {
@@ -79,5 +100,23 @@ public class ReferenceEntry {
                         0);
             }
         }
+        if (varLenNkcs != null) {
+            initVarLenKey(b1, keyFields, varLenNkcs);
+        }
+    }
+
+    private void initVarLenKey(byte[] b1, int[] keyFields, IVarLenNormalizedKeyComputer[] varLenNkcs) {
+        int maxLength = 0;
+        for (int f = 0; f < keyFields.length; ++f) {
+            maxLength += varLenNkcs[f].getMaxNormalizedKeyLength(tPointers[2 * f + normalizedKeyLength + 1]);
+        }
+        if (varLenKey == null || varLenKey.length < maxLength) {
+            varLenKey = new byte[maxLength];
+        }
+        varLenKeyLength = 0;
+        for (int f = 0; f < keyFields.length; ++f) {
+            varLenKeyLength += varLenNkcs[f].normalize(b1, tPointers[2 * f + normalizedKeyLength],
+                    tPointers[2 * f + normalizedKeyLength + 1], varLenKey, varLenKeyLength);
+        }
     }
 }
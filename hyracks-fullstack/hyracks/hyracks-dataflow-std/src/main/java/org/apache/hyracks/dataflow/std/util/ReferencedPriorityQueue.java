@@ -24,6 +24,7 @@ import java.util.Comparator;
 
 import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 
 public class ReferencedPriorityQueue {
     private final ReferenceEntry entries[];
@@ -33,14 +34,21 @@ public class ReferencedPriorityQueue {
 
     private final Comparator<ReferenceEntry> comparator;
     private final INormalizedKeyComputer nmkComputer;
+    private final IVarLenNormalizedKeyComputer[] varLenNkcs;
     private final int[] keyFields;
 
     public ReferencedPriorityQueue(int initSize, Comparator<ReferenceEntry> comparator, int[] keyFields,
             INormalizedKeyComputer nmkComputer) {
+        this(initSize, comparator, keyFields, nmkComputer, null);
+    }
+
+    public ReferencedPriorityQueue(int initSize, Comparator<ReferenceEntry> comparator, int[] keyFields,
+            INormalizedKeyComputer nmkComputer, IVarLenNormalizedKeyComputer[] varLenNkcs) {
         if (initSize < 1)
             throw new IllegalArgumentException();
         this.comparator = comparator;
         this.nmkComputer = nmkComputer;
+        this.varLenNkcs = varLenNkcs;
         this.keyFields = keyFields;
         nItems = initSize;
         size = (initSize + 1) & 0xfffffffe;
@@ -48,7 +56,7 @@ public class ReferencedPriorityQueue {
         runAvail = new BitSet(size);
         runAvail.set(0, initSize, true);
         for (int i = 0; i < size; i++) {
-            entries[i] = new ReferenceEntry(i, null, -1, keyFields, nmkComputer);
+            entries[i] = new ReferenceEntry(i, null, -1, keyFields, nmkComputer, varLenNkcs);
         }
     }
 
@@ -72,7 +80,7 @@ public class ReferencedPriorityQueue {
     public int popAndReplace(IFrameTupleAccessor fta, int tIndex) {
         ReferenceEntry entry = entries[0];
         entry.setAccessor(fta);
-        entry.setTupleIndex(tIndex, keyFields, nmkComputer);
+        entry.setTupleIndex(tIndex, keyFields, nmkComputer, varLenNkcs);
 
         add(entry);
         return entry.getRunid();
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.FixedSizeFrame;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.junit.Test;
+
+public class JoinHeavyHittersTest {
+    private static final int FRAME_SIZE = 128 * 1024;
+    private static final RecordDescriptor RD = new RecordDescriptor(new ISerializerDeserializer[] {
+            IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE });
+    private static final int[] KEYS = { 1 };
+
+    private static JoinHeavyHitters createHeavyHitters() {
+        return new JoinHeavyHitters(new IBinaryComparator[] {
+                PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY).createBinaryComparator() }, 16, 0.2);
+    }
+
+    /**
+     * Creates tuples with their key in the second field. A tuple has the first of the frequent keys that divides its
+     * position, the other tuples have unique keys.
+     */
+    private static FrameTupleAccessor createFrame(int numTuples, int... frequentKeys) throws HyracksDataException {
+        FixedSizeFrame frame = new FixedSizeFrame(ByteBuffer.allocate(FRAME_SIZE));
+        FrameTupleAppender appender = new FrameTupleAppender(frame, true);
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+        for (int i = 0; i < numTuples; i++) {
+            int key = 1000 + i;
+            for (int frequentKey : frequentKeys) {
+                if (i % frequentKey == 0) {
+                    key = frequentKey;
+                    break;
+                }
+            }
+            tb.reset();
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, i);
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, key);
+            assertTrue(appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize()));
+        }
+        FrameTupleAccessor accessor = new FrameTupleAccessor(RD);
+        accessor.reset(frame.getBuffer());
+        return accessor;
+    }
+
+    private static void countAll(JoinHeavyHitters heavyHitters, FrameTupleAccessor accessor)
+            throws HyracksDataException {
+        for (int i = 0; i < accessor.getTupleCount(); i++) {
+            heavyHitters.count(accessor, i, KEYS);
+        }
+        heavyHitters.collect();
+    }
+
+    private static int countHeavyTuples(JoinHeavyHitters heavyHitters, FrameTupleAccessor accessor)
+            throws HyracksDataException {
+        int heavyTuples = 0;
+        for (int i = 0; i < accessor.getTupleCount(); i++) {
+            if (heavyHitters.isHeavyHitter(accessor, i, KEYS)) {
+                heavyTuples++;
+            }
+        }
+        return heavyTuples;
+    }
+
+    @Test
+    public void testFindFrequentKeys() throws HyracksDataException {
+        JoinHeavyHitters heavyHitters = createHeavyHitters();
+        // key 2 has half of the tuples and key 3 a sixth, which is below the minimum share
+        FrameTupleAccessor accessor = createFrame(3000, 2, 3);
+        countAll(heavyHitters, accessor);
+        assertEquals(1, heavyHitters.size());
+        assertEquals(1500, countHeavyTuples(heavyHitters, accessor));
+    }
+
+    @Test
+    public void testUnionOfBothSides() throws HyracksDataException {
+        JoinHeavyHitters heavyHitters = createHeavyHitters();
+        countAll(heavyHitters, createFrame(3000, 2));
+        countAll(heavyHitters, createFrame(3000, 4, 3));
+        assertEquals(3, heavyHitters.size());
+        // the keys 2 and 3 take every tuple at a position that is divisible by 2 or 3
+        assertEquals(2000, countHeavyTuples(heavyHitters, createFrame(3000, 2, 3)));
+    }
+
+    @Test
+    public void testUniformKeys() throws HyracksDataException {
+        JoinHeavyHitters heavyHitters = createHeavyHitters();
+        FrameTupleAccessor accessor = createFrame(3000);
+        countAll(heavyHitters, accessor);
+        assertTrue(heavyHitters.isEmpty());
+        assertFalse(heavyHitters.isHeavyHitter(accessor, 0, KEYS));
+    }
+}
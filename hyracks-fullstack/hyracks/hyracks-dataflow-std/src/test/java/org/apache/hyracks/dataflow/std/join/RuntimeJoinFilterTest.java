@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.FixedSizeFrame;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHashFunctionFamily;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.data.marshalling.FloatSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.junit.Test;
+
+public class RuntimeJoinFilterTest {
+    private static final int FRAME_SIZE = 128 * 1024;
+    private static final RecordDescriptor BUILD_RD = new RecordDescriptor(new ISerializerDeserializer[] {
+            IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE });
+    // the probe side has its join key in its second field
+    private static final RecordDescriptor PROBE_RD = BUILD_RD;
+
+    private static final int FILTER_SIZE = 32 * 1024;
+
+    private static RuntimeJoinFilter createFilter() {
+        return createFilter(PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY).createBinaryComparator(),
+                PROBE_RD, FILTER_SIZE);
+    }
+
+    private static RuntimeJoinFilter createFilter(IBinaryComparator comparator, RecordDescriptor probeRd,
+            int sizeInBytes) {
+        return new RuntimeJoinFilter(new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE },
+                new int[] { 0 }, new int[] { 1 }, comparator, BUILD_RD, probeRd, sizeInBytes);
+    }
+
+    private static ByteBuffer createFrame(int from, int to, int step, boolean keyFirst) throws HyracksDataException {
+        FixedSizeFrame frame = new FixedSizeFrame(ByteBuffer.allocate(FRAME_SIZE));
+        FrameTupleAppender appender = new FrameTupleAppender(frame, true);
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+        for (int key = from; key < to; key += step) {
+            tb.reset();
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, keyFirst ? key : -1);
+            tb.addField(IntegerSerializerDeserializer.INSTANCE, keyFirst ? -1 : key);
+            assertTrue(appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize()));
+        }
+        return frame.getBuffer();
+    }
+
+    private static int countMatches(RuntimeJoinFilter filter, ByteBuffer probeFrame) throws HyracksDataException {
+        FrameTupleAccessor accessor = new FrameTupleAccessor(PROBE_RD);
+        accessor.reset(probeFrame);
+        int matches = 0;
+        for (int i = 0; i < accessor.getTupleCount(); i++) {
+            if (filter.mightMatch(accessor, i)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    public void testNoFalseNegatives() throws HyracksDataException {
+        RuntimeJoinFilter filter = createFilter();
+        filter.insert(createFrame(0, 4000, 2, true));
+        assertEquals(2000, countMatches(filter, createFrame(0, 4000, 2, false)));
+    }
+
+    @Test
+    public void testFilterAbsentKeys() throws HyracksDataException {
+        RuntimeJoinFilter filter = createFilter();
+        filter.insert(createFrame(0, 4000, 2, true));
+        // odd keys are within the range of the build keys, so only the bloom filter can reject them
+        int falsePositives = countMatches(filter, createFrame(1, 4000, 2, false));
+        assertTrue("too many false positives: " + falsePositives, falsePositives < 100);
+        // keys outside of the range of the build keys are always rejected
+        assertEquals(0, countMatches(filter, createFrame(4000, 6000, 1, false)));
+        assertEquals(4000 - falsePositives, filter.getNumFiltered());
+    }
+
+    @Test
+    public void testEmptyBuild() throws HyracksDataException {
+        RuntimeJoinFilter filter = createFilter();
+        assertFalse(filter.mightMatch(accessorOf(createFrame(0, 1, 1, false)), 0));
+    }
+
+    @Test
+    public void testBloomFilterOverflow() throws HyracksDataException {
+        // 1024 bits hold ~100 keys
+        RuntimeJoinFilter filter = createFilter(
+                PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY).createBinaryComparator(), PROBE_RD, 128);
+        filter.insert(createFrame(0, 4000, 2, true));
+        assertEquals(2000, countMatches(filter, createFrame(0, 4000, 2, false)));
+        // only the range is left to filter the probe keys
+        assertEquals(1999, countMatches(filter, createFrame(1, 4000, 2, false)));
+        assertEquals(0, countMatches(filter, createFrame(4000, 6000, 1, false)));
+    }
+
+    @Test
+    public void testNoRangeForDifferentKeyTypes() throws HyracksDataException {
+        // the probe key has a different type than the build key, so their values are never compared
+        RecordDescriptor probeRd = new RecordDescriptor(new ISerializerDeserializer[] {
+                IntegerSerializerDeserializer.INSTANCE, FloatSerializerDeserializer.INSTANCE });
+        RuntimeJoinFilter filter = createFilter((b1, s1, l1, b2, s2, l2) -> {
+            throw new IllegalStateException("compared keys of different types");
+        }, probeRd, FILTER_SIZE);
+        filter.insert(createFrame(0, 4000, 2, true));
+        assertEquals(2000, countMatches(filter, createFrame(0, 4000, 2, false)));
+        int falsePositives = countMatches(filter, createFrame(4000, 6000, 1, false));
+        assertTrue("too many false positives: " + falsePositives, falsePositives < 100);
+    }
+
+    private static FrameTupleAccessor accessorOf(ByteBuffer frame) {
+        FrameTupleAccessor accessor = new FrameTupleAccessor(PROBE_RD);
+        accessor.reset(frame);
+        return accessor;
+    }
+}
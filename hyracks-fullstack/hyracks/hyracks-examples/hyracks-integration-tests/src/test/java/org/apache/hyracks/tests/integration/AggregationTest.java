@@ -20,6 +20,8 @@ package org.apache.hyracks.tests.integration;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.hyracks.api.constraints.PartitionConstraintHelper;
 import org.apache.hyracks.api.dataflow.IConnectorDescriptor;
@@ -30,8 +32,11 @@ import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.io.FileSplit;
 import org.apache.hyracks.api.io.ManagedFileSplit;
+import org.apache.hyracks.api.job.JobId;
 import org.apache.hyracks.api.job.JobSpecification;
 import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.control.common.job.profiling.om.JobletProfile;
+import org.apache.hyracks.control.common.job.profiling.om.TaskProfile;
 import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
 import org.apache.hyracks.data.std.accessors.PointableBinaryHashFunctionFactory;
 import org.apache.hyracks.data.std.accessors.UTF8StringBinaryHashFunctionFamily;
@@ -66,6 +71,7 @@ import org.apache.hyracks.dataflow.std.group.external.ExternalGroupOperatorDescr
 import org.apache.hyracks.dataflow.std.group.preclustered.PreclusteredGroupOperatorDescriptor;
 import org.apache.hyracks.dataflow.std.result.ResultWriterOperatorDescriptor;
 import org.apache.hyracks.tests.util.ResultSerializerFactoryProvider;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -659,4 +665,109 @@ public class AggregationTest extends AbstractIntegrationTest {
         runTest(spec);
     }
 
+    @Test
+    public void singleKeyCountLocalPassThroughExtGroupTest() throws Exception {
+        // the comments of lineitem are almost distinct, so the local group-by hardly folds any tuple
+        List<String> passThroughResults = runCommentCountExtGroup(true);
+        List<String> globalResults = runCommentCountExtGroup(false);
+        Assert.assertFalse(globalResults.isEmpty());
+        Collections.sort(passThroughResults);
+        Collections.sort(globalResults);
+        Assert.assertEquals(globalResults, passThroughResults);
+    }
+
+    private List<String> runCommentCountExtGroup(boolean withLocalGroup) throws Exception {
+        JobSpecification spec = new JobSpecification();
+
+        FileScanOperatorDescriptor csvScanner =
+                new FileScanOperatorDescriptor(spec, splitProvider, tupleParserFactory, desc);
+
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, csvScanner, NC2_ID);
+
+        RecordDescriptor outputRec =
+                new RecordDescriptor(new ISerializerDeserializer[] { new UTF8StringSerializerDeserializer(),
+                        IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE });
+
+        int[] keyFields = new int[] { 15 };
+        int[] resultKeyFields = new int[] { 0 };
+        int frameLimits = 5;
+        int tableSize = 8;
+        long fileSize = frameLimits * spec.getFrameSize();
+
+        IFieldAggregateDescriptorFactory[] countAndSum = new IFieldAggregateDescriptorFactory[] {
+                new CountFieldAggregatorFactory(false), new IntSumFieldAggregatorFactory(1, false) };
+        IFieldAggregateDescriptorFactory[] sumOfCountAndSum = new IFieldAggregateDescriptorFactory[] {
+                new IntSumFieldAggregatorFactory(1, false), new IntSumFieldAggregatorFactory(2, false) };
+
+        ExternalGroupOperatorDescriptor localGrouper = null;
+        if (withLocalGroup) {
+            localGrouper =
+                    new ExternalGroupOperatorDescriptor(spec, tableSize, fileSize, keyFields, frameLimits,
+                            new IBinaryComparatorFactory[] {
+                                    PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY) },
+                            new UTF8StringNormalizedKeyComputerFactory(), new MultiFieldsAggregatorFactory(countAndSum),
+                            new MultiFieldsAggregatorFactory(sumOfCountAndSum), outputRec, outputRec,
+                            new HashSpillableTableFactory(
+                                    new IBinaryHashFunctionFamily[] { UTF8StringBinaryHashFunctionFamily.INSTANCE }));
+            localGrouper.setLocalPassThroughThreshold(0.1);
+
+            PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, localGrouper, NC2_ID);
+
+            IConnectorDescriptor conn1 = new OneToOneConnectorDescriptor(spec);
+            spec.connect(conn1, csvScanner, 0, localGrouper, 0);
+        }
+
+        ExternalGroupOperatorDescriptor globalGrouper = new ExternalGroupOperatorDescriptor(spec, tableSize, fileSize,
+                withLocalGroup ? resultKeyFields : keyFields, frameLimits,
+                new IBinaryComparatorFactory[] { PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY) },
+                new UTF8StringNormalizedKeyComputerFactory(),
+                new MultiFieldsAggregatorFactory(withLocalGroup ? sumOfCountAndSum : countAndSum),
+                new MultiFieldsAggregatorFactory(sumOfCountAndSum), outputRec, outputRec, new HashSpillableTableFactory(
+                        new IBinaryHashFunctionFamily[] { UTF8StringBinaryHashFunctionFamily.INSTANCE }));
+
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, globalGrouper, NC2_ID, NC1_ID);
+
+        IConnectorDescriptor conn2 = new MToNPartitioningConnectorDescriptor(spec,
+                new FieldHashPartitionComputerFactory(withLocalGroup ? resultKeyFields : keyFields,
+                        new IBinaryHashFunctionFactory[] {
+                                PointableBinaryHashFunctionFactory.of(UTF8StringPointable.FACTORY) }));
+        if (withLocalGroup) {
+            spec.connect(conn2, localGrouper, 0, globalGrouper, 0);
+        } else {
+            spec.connect(conn2, csvScanner, 0, globalGrouper, 0);
+        }
+
+        AbstractSingleActivityOperatorDescriptor printer =
+                getPrinter(spec, "singleKeyCountLocalPassThroughExtGroupTest");
+
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, printer, NC2_ID, NC1_ID);
+
+        IConnectorDescriptor conn3 = new OneToOneConnectorDescriptor(spec);
+        spec.connect(conn3, globalGrouper, 0, printer, 0);
+
+        spec.addRoot(printer);
+        JobId jobId = executeTest(spec);
+        List<String> results = readResults(spec, jobId, spec.getResultSetIds().get(0));
+        hcc.waitForCompletion(jobId);
+        if (withLocalGroup) {
+            long passThroughTuples = getCounter(jobId,
+                    ExternalGroupOperatorDescriptor.getPassThroughTupleCounterName(localGrouper.getOperatorId()));
+            long aggregatedTuples = getCounter(jobId,
+                    ExternalGroupOperatorDescriptor.getAggregatedTupleCounterName(localGrouper.getOperatorId()));
+            Assert.assertTrue("the local group-by did not pass any tuple through", passThroughTuples > 0);
+            Assert.assertTrue("the local group-by did not aggregate any tuple", aggregatedTuples > 0);
+        }
+        return results;
+    }
+
+    private static long getCounter(JobId jobId, String counterName) {
+        long value = 0;
+        for (JobletProfile jobletProfile : cc.getJobManager().get(jobId).getJobProfile().getJobletProfiles()
+                .values()) {
+            for (TaskProfile taskProfile : jobletProfile.getTaskProfiles().values()) {
+                value += taskProfile.getCounters().getOrDefault(counterName, 0L);
+            }
+        }
+        return value;
+    }
 }
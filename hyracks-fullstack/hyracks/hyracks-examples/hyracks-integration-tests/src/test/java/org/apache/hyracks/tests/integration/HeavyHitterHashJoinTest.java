@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.tests.integration;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hyracks.api.constraints.PartitionConstraintHelper;
+import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.dataflow.value.IMissingWriterFactory;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.io.FileSplit;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHashFunctionFamily;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.parsers.IValueParserFactory;
+import org.apache.hyracks.dataflow.common.data.parsers.UTF8StringParserFactory;
+import org.apache.hyracks.dataflow.std.connectors.OneToOneConnectorDescriptor;
+import org.apache.hyracks.dataflow.std.file.ConstantFileSplitProvider;
+import org.apache.hyracks.dataflow.std.file.DelimitedDataTupleParserFactory;
+import org.apache.hyracks.dataflow.std.file.FileScanOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.join.JoinComparatorFactory;
+import org.apache.hyracks.dataflow.std.join.OptimizedHybridHashJoinOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.result.ResultWriterOperatorDescriptor;
+import org.apache.hyracks.tests.util.NoopMissingWriterFactory;
+import org.apache.hyracks.tests.util.ResultSerializerFactoryProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Joins inputs in which one key makes up most of the build side. With little memory, the partition of that key does
+ * not shrink when it is partitioned again, so the hybrid hash join takes the tuples of the key out of it and joins
+ * them with a nested loop join. The results must be the ones of a hybrid hash join that has enough memory to join
+ * everything in memory.
+ */
+public class HeavyHitterHashJoinTest extends AbstractIntegrationTest {
+
+    private static final int FRAME_SIZE = 512;
+    private static final int SPILLING_MEMORY = 10;
+    private static final int IN_MEMORY_MEMORY = 1000;
+    private static final int BUILD_INPUT_SIZE = 250;
+    private static final String HEAVY_KEY = "heavy";
+    private static final String PAYLOAD = "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+    private static final RecordDescriptor inputDesc = new RecordDescriptor(new ISerializerDeserializer[] {
+            new UTF8StringSerializerDeserializer(), new UTF8StringSerializerDeserializer() });
+
+    private static final RecordDescriptor joinDesc = new RecordDescriptor(new ISerializerDeserializer[] {
+            new UTF8StringSerializerDeserializer(), new UTF8StringSerializerDeserializer(),
+            new UTF8StringSerializerDeserializer(), new UTF8StringSerializerDeserializer() });
+
+    @Test
+    public void heavyHitterInnerJoin() throws Exception {
+        compareWithInMemoryJoin(false);
+    }
+
+    @Test
+    public void heavyHitterLeftOuterJoin() throws Exception {
+        compareWithInMemoryJoin(true);
+    }
+
+    private void compareWithInMemoryJoin(boolean isLeftOuter) throws Exception {
+        // the build side: 1200 tuples of the heavy key and 800 unique keys
+        FileSplit buildSplit = createFile(nc1);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(buildSplit.getFile(nc1.getIoManager())))) {
+            for (int i = 0; i < 2000; i++) {
+                writeTuple(writer, i < 1200 ? HEAVY_KEY : "k" + (i - 1200), "b" + i);
+            }
+        }
+        // the probe side: 20 tuples of the heavy key and 980 unique keys, 180 of them without a match
+        FileSplit probeSplit = createFile(nc1);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(probeSplit.getFile(nc1.getIoManager())))) {
+            for (int i = 0; i < 1000; i++) {
+                writeTuple(writer, i < 20 ? HEAVY_KEY : "k" + (i - 20), "p" + i);
+            }
+        }
+
+        List<String> spilledResults = runJoin(buildSplit, probeSplit, SPILLING_MEMORY, isLeftOuter);
+        List<String> inMemoryResults = runJoin(buildSplit, probeSplit, IN_MEMORY_MEMORY, isLeftOuter);
+        Assert.assertEquals(1200 * 20 + 800 + (isLeftOuter ? 180 : 0), inMemoryResults.size());
+        Collections.sort(spilledResults);
+        Collections.sort(inMemoryResults);
+        Assert.assertEquals(inMemoryResults, spilledResults);
+    }
+
+    private static void writeTuple(BufferedWriter writer, String key, String value) throws IOException {
+        writer.write(key);
+        writer.write('|');
+        writer.write(value);
+        writer.write(PAYLOAD);
+        writer.newLine();
+    }
+
+    private List<String> runJoin(FileSplit buildSplit, FileSplit probeSplit, int memSizeInFrames,
+            boolean isLeftOuter) throws Exception {
+        JobSpecification spec = new JobSpecification();
+        spec.setFrameSize(FRAME_SIZE);
+
+        IValueParserFactory[] valueParserFactories =
+                new IValueParserFactory[] { UTF8StringParserFactory.INSTANCE, UTF8StringParserFactory.INSTANCE };
+        FileScanOperatorDescriptor probeScanner =
+                new FileScanOperatorDescriptor(spec, new ConstantFileSplitProvider(new FileSplit[] { probeSplit }),
+                        new DelimitedDataTupleParserFactory(valueParserFactories, '|'), inputDesc);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, probeScanner, NC1_ID);
+
+        FileScanOperatorDescriptor buildScanner =
+                new FileScanOperatorDescriptor(spec, new ConstantFileSplitProvider(new FileSplit[] { buildSplit }),
+                        new DelimitedDataTupleParserFactory(valueParserFactories, '|'), inputDesc);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, buildScanner, NC1_ID);
+
+        IMissingWriterFactory[] nonMatchWriterFactories = null;
+        if (isLeftOuter) {
+            nonMatchWriterFactories = new IMissingWriterFactory[inputDesc.getFieldCount()];
+            for (int j = 0; j < nonMatchWriterFactories.length; j++) {
+                nonMatchWriterFactories[j] = NoopMissingWriterFactory.INSTANCE;
+            }
+        }
+
+        IOperatorDescriptor join = new OptimizedHybridHashJoinOperatorDescriptor(spec, memSizeInFrames,
+                BUILD_INPUT_SIZE, 1.2, new int[] { 0 }, new int[] { 0 },
+                new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE },
+                new IBinaryComparatorFactory[] { PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY) },
+                joinDesc,
+                new JoinComparatorFactory(PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY), 0, 0),
+                new JoinComparatorFactory(PointableBinaryComparatorFactory.of(UTF8StringPointable.FACTORY), 0, 0), null,
+                isLeftOuter, nonMatchWriterFactories);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, join, NC1_ID);
+
+        ResultSetId rsId = new ResultSetId(1);
+        spec.addResultSetId(rsId);
+
+        IOperatorDescriptor printer = new ResultWriterOperatorDescriptor(spec, rsId, false, false,
+                ResultSerializerFactoryProvider.INSTANCE.getResultSerializerFactoryProvider(), 1);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, printer, NC1_ID);
+
+        spec.connect(new OneToOneConnectorDescriptor(spec), probeScanner, 0, join, 0);
+        spec.connect(new OneToOneConnectorDescriptor(spec), buildScanner, 0, join, 1);
+        spec.connect(new OneToOneConnectorDescriptor(spec), join, 0, printer, 0);
+
+        spec.addRoot(printer);
+        JobId jobId = executeTest(spec);
+        List<String> results = readResults(spec, jobId, rsId);
+        hcc.waitForCompletion(jobId);
+        return results;
+    }
+}
@@ -22,8 +22,10 @@ package org.apache.hyracks.tests.unit;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.data.normalizers.FixedLengthVarLenNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.IntegerNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringVarLenNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.std.buffermanager.EnumFreeSlotPolicy;
 import org.apache.hyracks.dataflow.std.sort.AbstractSortRunGenerator;
 import org.apache.hyracks.dataflow.std.sort.Algorithm;
@@ -44,8 +46,16 @@ public class ExternalSortRunGeneratorTest extends AbstractRunGeneratorTest {
                         new UTF8StringNormalizedKeyComputerFactory() },
                 ComparatorFactories, RecordDesc, Algorithm.MERGE_SORT, EnumFreeSlotPolicy.LAST_FIT, frameLimit,
                 Integer.MAX_VALUE);
+        ExternalSortRunGenerator runGeneratorWithVarLenNormalizeKeys =
+                new ExternalSortRunGenerator(ctx, SortFields,
+                        new INormalizedKeyComputerFactory[] {
+                                new FixedLengthVarLenNormalizedKeyComputerFactory(
+                                        new IntegerNormalizedKeyComputerFactory()),
+                                new UTF8StringVarLenNormalizedKeyComputerFactory() },
+                        ComparatorFactories, RecordDesc, Algorithm.MERGE_SORT, EnumFreeSlotPolicy.LAST_FIT, frameLimit,
+                        Integer.MAX_VALUE);
 
         return new AbstractSortRunGenerator[] { runGenerator, runGeneratorWithOneNormalizeKey,
-                runGeneratorWithNormalizeKeys };
+                runGeneratorWithNormalizeKeys, runGeneratorWithVarLenNormalizeKeys };
     }
 }
@@ -37,6 +37,7 @@ import org.apache.hyracks.api.comm.IFrameReader;
 import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IVarLenNormalizedKeyComputer;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
@@ -44,6 +45,9 @@ import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.comm.util.ByteBufferInputStream;
 import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
 import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.normalizers.FixedLengthVarLenNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.IntegerNormalizedKeyComputerFactory;
+import org.apache.hyracks.dataflow.common.data.normalizers.UTF8StringVarLenNormalizedKeyComputerFactory;
 import org.apache.hyracks.dataflow.common.io.GeneratedRunFileReader;
 import org.apache.hyracks.dataflow.std.sort.Algorithm;
 import org.apache.hyracks.dataflow.std.sort.ExternalSortRunGenerator;
@@ -204,6 +208,31 @@ public class RunMergingFrameReaderTest {
         testMergeSucceed(ctx, reader, keyValueMapList);
     }
 
+    @Test
+    public void testNormalRunMergeWithVarLenNormalizedKeys() throws HyracksDataException {
+
+        int pageSize = 128;
+        int numRuns = 4;
+        int numFramesPerRun = 2;
+        int minRecordSize = pageSize / 10;
+        int maxRecordSize = pageSize / 8;
+
+        IHyracksTaskContext ctx = testUtils.create(pageSize);
+        List<Map<Integer, String>> keyValueMapList = new ArrayList<>(numRuns);
+        List<TestFrameReader> readerList = new ArrayList<>(numRuns);
+        List<IFrame> frameList = new ArrayList<>(numRuns);
+        prepareRandomInputRunList(ctx, pageSize, numRuns, numFramesPerRun, minRecordSize, maxRecordSize, readerList,
+                frameList, keyValueMapList);
+
+        IVarLenNormalizedKeyComputer[] varLenNkcs = new IVarLenNormalizedKeyComputer[] {
+                new FixedLengthVarLenNormalizedKeyComputerFactory(new IntegerNormalizedKeyComputerFactory())
+                        .createVarLenNormalizedKeyComputer(),
+                new UTF8StringVarLenNormalizedKeyComputerFactory().createVarLenNormalizedKeyComputer() };
+        RunMergingFrameReader reader = new RunMergingFrameReader(ctx, readerList, frameList, SortFields, Comparators,
+                null, varLenNkcs, RecordDesc, Integer.MAX_VALUE);
+        testMergeSucceed(ctx, reader, keyValueMapList);
+    }
+
     @Test
     public void testNormalRunMergeWithTopK() throws HyracksDataException {
 
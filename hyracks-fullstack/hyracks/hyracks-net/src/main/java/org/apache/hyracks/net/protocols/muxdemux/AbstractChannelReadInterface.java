@@ -67,6 +67,12 @@ public abstract class AbstractChannelReadInterface implements IChannelReadInterf
         this.credits = credits;
     }
 
+    @Override
+    public boolean setBlockMode(int blockHeaderSize) {
+        // block mode is not supported by default, completely filled buffers are passed
+        return blockHeaderSize == 0;
+    }
+
     @Override
     public IBufferFactory getBufferFactory() {
         return bufferFactory;
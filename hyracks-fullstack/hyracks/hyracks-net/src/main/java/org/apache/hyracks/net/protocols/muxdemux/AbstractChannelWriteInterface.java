@@ -43,6 +43,8 @@ public abstract class AbstractChannelWriteInterface implements IChannelWriteInte
     protected final int channelId;
     protected IBufferAcceptor eba;
     protected int credits;
+    protected int blockCredits;
+    protected boolean blockCharged;
     protected boolean eos;
     protected boolean eosSent;
     protected boolean ecodeSent;
@@ -66,6 +68,7 @@ public abstract class AbstractChannelWriteInterface implements IChannelWriteInte
             currentWriteBuffer.clear();
             eba.accept(currentWriteBuffer);
             currentWriteBuffer = null;
+            blockCharged = false;
             adjustChannelWritability();
         }
     }
@@ -73,7 +76,7 @@ public abstract class AbstractChannelWriteInterface implements IChannelWriteInte
     private boolean computeWritability() {
         boolean writableDataPresent = currentWriteBuffer != null || !wiFullQueue.isEmpty();
         if (writableDataPresent) {
-            return credits > 0;
+            return blockCredits > 0 ? blockCharged || credits >= blockCredits : credits > 0;
         }
         if (isPendingCloseWrite()) {
             return true;
@@ -101,6 +104,28 @@ public abstract class AbstractChannelWriteInterface implements IChannelWriteInte
         credits += credit;
     }
 
+    @Override
+    public void setBlockCredits(int blockCredits) {
+        this.blockCredits = blockCredits;
+    }
+
+    /**
+     * @return the number of bytes of the current write buffer that may be sent with the available credits and charges
+     *         the credits for them
+     */
+    protected int chargeCredits() {
+        if (blockCredits <= 0) {
+            int size = Math.min(currentWriteBuffer.remaining(), credits);
+            credits -= size;
+            return size;
+        }
+        if (!blockCharged && credits >= blockCredits) {
+            credits -= blockCredits;
+            blockCharged = true;
+        }
+        return blockCharged ? currentWriteBuffer.remaining() : 0;
+    }
+
     @Override
     public void setEmptyBufferAcceptor(IBufferAcceptor emptyBufferAcceptor) {
         eba = emptyBufferAcceptor;
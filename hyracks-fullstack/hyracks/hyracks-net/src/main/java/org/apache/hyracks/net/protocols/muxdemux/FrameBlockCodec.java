@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.net.protocols.muxdemux;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * Encodes frames into the blocks that are sent over a channel in block mode and decodes them again:
+ * [payload length (4 bytes)][frame length (4 bytes)][payload]
+ * The payload is the compressed frame if it is shorter than the frame and the frame itself otherwise.
+ * A frame that hardly compresses is sent as it is. After such a frame the encoder does not try to compress the next
+ * frames. The number of frames it skips doubles with every further incompressible frame, so that channels that carry
+ * incompressible data spend little time on compression, and it starts over once a frame compresses again.
+ */
+public class FrameBlockCodec {
+
+    public static final int HEADER_SIZE = 2 * Integer.BYTES;
+    // compression has to save at least 1/MIN_SAVING_DIVISOR of the frame to be worth decompressing it
+    private static final int MIN_SAVING_DIVISOR = 8;
+    private static final int MAX_BYPASSED_FRAMES = 64;
+    private final ICompressorDecompressor compressor;
+    private final int maxFrameSize;
+    private final MuxDemuxPerformanceCounters counters;
+    private int bypassInterval;
+    private int framesToBypass;
+
+    /**
+     * @param compressor
+     *            the compressor for the frames, null to send all frames uncompressed
+     * @param maxFrameSize
+     *            the largest number of frame bytes per block
+     * @param counters
+     *            the counters to report the encoded frames to
+     */
+    public FrameBlockCodec(ICompressorDecompressor compressor, int maxFrameSize, MuxDemuxPerformanceCounters counters) {
+        this.compressor = compressor;
+        this.maxFrameSize = maxFrameSize;
+        this.counters = counters;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    /**
+     * @return the buffer capacity that is needed to encode any frame
+     */
+    public int getBlockCapacity() {
+        int payloadCapacity = compressor == null ? maxFrameSize
+                : Math.max(maxFrameSize, compressor.computeCompressedBufferSize(maxFrameSize));
+        return HEADER_SIZE + payloadCapacity;
+    }
+
+    /**
+     * Encodes the remaining bytes of an array backed frame, but not more than the max frame size, as one block and
+     * advances the position of the frame past the encoded bytes.
+     *
+     * @param frame
+     *            the frame to encode
+     * @param block
+     *            an array backed buffer of at least {@link #getBlockCapacity()} bytes that receives the block
+     */
+    public void encode(ByteBuffer frame, ByteBuffer block) throws HyracksDataException {
+        final int frameLength = Math.min(frame.remaining(), maxFrameSize);
+        int payloadLength = frameLength;
+        if (compressor != null) {
+            if (framesToBypass > 0) {
+                framesToBypass--;
+                counters.addBypassedFrame();
+            } else {
+                payloadLength = compress(frame, frameLength, block);
+            }
+        }
+        if (payloadLength == frameLength) {
+            block.clear();
+            block.position(HEADER_SIZE);
+            block.put(frame.array(), frame.position(), frameLength);
+        }
+        frame.position(frame.position() + frameLength);
+        block.putInt(0, payloadLength);
+        block.putInt(Integer.BYTES, frameLength);
+        block.limit(HEADER_SIZE + payloadLength);
+        block.position(0);
+    }
+
+    private int compress(ByteBuffer frame, int frameLength, ByteBuffer block) throws HyracksDataException {
+        final ByteBuffer input = frame.duplicate();
+        input.limit(input.position() + frameLength);
+        block.clear();
+        block.position(HEADER_SIZE);
+        compressor.compress(input, block);
+        final int compressedLength = block.remaining();
+        if (compressedLength < frameLength - frameLength / MIN_SAVING_DIVISOR) {
+            bypassInterval = 0;
+            counters.addCompressedFrame(frameLength, compressedLength);
+            return compressedLength;
+        }
+        bypassInterval = bypassInterval == 0 ? 1 : Math.min(MAX_BYPASSED_FRAMES, bypassInterval * 2);
+        framesToBypass = bypassInterval;
+        counters.addIncompressibleFrame(frameLength);
+        return frameLength;
+    }
+
+    /**
+     * Decodes a block into an array backed frame buffer.
+     *
+     * @param decompressor
+     *            the decompressor for compressed payloads
+     * @param block
+     *            the block, starting at position 0
+     * @param frame
+     *            the buffer that receives the frame. Its position is 0 and its limit the frame length on return.
+     */
+    public static void decode(ICompressorDecompressor decompressor, ByteBuffer block, ByteBuffer frame)
+            throws HyracksDataException {
+        final int payloadLength = block.getInt(0);
+        final int frameLength = block.getInt(Integer.BYTES);
+        if (frameLength > frame.capacity() || payloadLength > frameLength) {
+            throw new HyracksDataException("Invalid block of " + payloadLength + " bytes for a frame of " + frameLength
+                    + " bytes and a buffer of " + frame.capacity() + " bytes");
+        }
+        block.position(HEADER_SIZE);
+        block.limit(HEADER_SIZE + payloadLength);
+        frame.clear();
+        if (payloadLength < frameLength) {
+            decompressor.uncompress(block, frame);
+            if (frame.limit() != frameLength) {
+                throw new HyracksDataException(
+                        "Decompressed " + frame.limit() + " bytes of a frame of " + frameLength + " bytes");
+            }
+        } else {
+            frame.put(block);
+            frame.flip();
+        }
+    }
+}
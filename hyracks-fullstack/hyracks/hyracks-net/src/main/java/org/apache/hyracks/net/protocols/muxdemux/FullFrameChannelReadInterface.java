@@ -35,6 +35,7 @@ public class FullFrameChannelReadInterface extends AbstractChannelReadInterface
     private static final Logger LOGGER = LogManager.getLogger();
     private final BlockingDeque<ByteBuffer> riEmptyStack;
     private final IChannelControlBlock ccb;
+    private int blockHeaderSize;
 
     public FullFrameChannelReadInterface(IChannelControlBlock ccb) {
         this.ccb = ccb;
@@ -71,7 +72,7 @@ public class FullFrameChannelReadInterface extends AbstractChannelReadInterface
                 }
                 throw new IllegalStateException(ccb + " read buffers exceeded");
             }
-            int rSize = Math.min(size, currentReadBuffer.remaining());
+            int rSize = Math.min(size, readLimit() - currentReadBuffer.position());
             if (rSize > 0) {
                 currentReadBuffer.limit(currentReadBuffer.position() + rSize);
                 int len;
@@ -90,12 +91,36 @@ public class FullFrameChannelReadInterface extends AbstractChannelReadInterface
             } else {
                 return size;
             }
-            if (currentReadBuffer.remaining() <= 0) {
+            if (currentReadBuffer.position() >= readLimit()) {
                 flush();
             }
         }
     }
 
+    /**
+     * @return the position up to which the current read buffer is filled before it is passed on
+     */
+    private int readLimit() throws NetException {
+        if (blockHeaderSize <= 0) {
+            return currentReadBuffer.capacity();
+        }
+        if (currentReadBuffer.position() < blockHeaderSize) {
+            return blockHeaderSize;
+        }
+        int blockSize = blockHeaderSize + currentReadBuffer.getInt(0);
+        if (blockSize < blockHeaderSize || blockSize > currentReadBuffer.capacity()) {
+            throw new NetException(ccb + " received a block of " + blockSize + " bytes that exceeds the read buffer of "
+                    + currentReadBuffer.capacity() + " bytes");
+        }
+        return blockSize;
+    }
+
+    @Override
+    public boolean setBlockMode(int blockHeaderSize) {
+        this.blockHeaderSize = blockHeaderSize;
+        return true;
+    }
+
     @Override
     public void setBufferFactory(IBufferFactory bufferFactory, int limit, int frameSize) {
         super.setBufferFactory(bufferFactory, limit, frameSize);
@@ -40,9 +40,8 @@ public class FullFrameChannelWriteInterface extends AbstractChannelWriteInterfac
             currentWriteBuffer = wiFullQueue.poll();
         }
         if (currentWriteBuffer != null) {
-            int size = Math.min(currentWriteBuffer.remaining(), credits);
+            int size = chargeCredits();
             if (size > 0) {
-                credits -= size;
                 writerState.getCommand().setChannelId(channelId);
                 writerState.getCommand().setCommandType(MuxDemuxCommand.CommandType.DATA);
                 writerState.getCommand().setData(size);
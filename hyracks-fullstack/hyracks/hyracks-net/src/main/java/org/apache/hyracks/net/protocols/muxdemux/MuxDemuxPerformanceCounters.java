@@ -29,11 +29,26 @@ public class MuxDemuxPerformanceCounters {
 
     private final AtomicLong signalingBytesWritten;
 
+    private final AtomicLong compressedFrames;
+
+    private final AtomicLong incompressibleFrames;
+
+    private final AtomicLong bypassedFrames;
+
+    private final AtomicLong compressionInputBytes;
+
+    private final AtomicLong compressionOutputBytes;
+
     public MuxDemuxPerformanceCounters() {
         payloadBytesRead = new AtomicLong();
         payloadBytesWritten = new AtomicLong();
         signalingBytesRead = new AtomicLong();
         signalingBytesWritten = new AtomicLong();
+        compressedFrames = new AtomicLong();
+        incompressibleFrames = new AtomicLong();
+        bypassedFrames = new AtomicLong();
+        compressionInputBytes = new AtomicLong();
+        compressionOutputBytes = new AtomicLong();
     }
 
     public void addPayloadBytesRead(long delta) {
@@ -67,4 +82,55 @@ public class MuxDemuxPerformanceCounters {
     public long getSignalingBytesWritten() {
         return signalingBytesWritten.get();
     }
+
+    /**
+     * Counts a frame that was compressed before it was sent.
+     */
+    public void addCompressedFrame(int inputBytes, int outputBytes) {
+        compressedFrames.incrementAndGet();
+        compressionInputBytes.addAndGet(inputBytes);
+        compressionOutputBytes.addAndGet(outputBytes);
+    }
+
+    /**
+     * Counts a frame that was sent uncompressed because compressing it did not pay off.
+     */
+    public void addIncompressibleFrame(int inputBytes) {
+        incompressibleFrames.incrementAndGet();
+        compressionInputBytes.addAndGet(inputBytes);
+        compressionOutputBytes.addAndGet(inputBytes);
+    }
+
+    /**
+     * Counts a frame that was sent uncompressed without trying to compress it.
+     */
+    public void addBypassedFrame() {
+        bypassedFrames.incrementAndGet();
+    }
+
+    public long getCompressedFrames() {
+        return compressedFrames.get();
+    }
+
+    public long getIncompressibleFrames() {
+        return incompressibleFrames.get();
+    }
+
+    public long getBypassedFrames() {
+        return bypassedFrames.get();
+    }
+
+    /**
+     * @return the number of bytes of the compressed and incompressible frames before compression
+     */
+    public long getCompressionInputBytes() {
+        return compressionInputBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of the compressed and incompressible frames that were sent
+     */
+    public long getCompressionOutputBytes() {
+        return compressionOutputBytes.get();
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.net.tests;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hyracks.api.comm.ICloseableBufferAcceptor;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.network.ISocketChannel;
+import org.apache.hyracks.net.protocols.muxdemux.ChannelControlBlock;
+import org.apache.hyracks.net.protocols.muxdemux.FrameBlockCodec;
+import org.apache.hyracks.net.protocols.muxdemux.FullFrameChannelReadInterface;
+import org.apache.hyracks.net.protocols.muxdemux.MuxDemuxPerformanceCounters;
+import org.apache.hyracks.net.protocols.muxdemux.NetworkCompression;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class FrameBlockCodecTest {
+
+    private static final int FRAME_SIZE = 32768;
+    private final ICompressorDecompressor snappy =
+            NetworkCompression.getCompressorDecompressor(NetworkCompression.SNAPPY);
+
+    @Test
+    public void compressedFrame() throws Exception {
+        MuxDemuxPerformanceCounters counters = new MuxDemuxPerformanceCounters();
+        FrameBlockCodec codec = new FrameBlockCodec(snappy, FRAME_SIZE, counters);
+        ByteBuffer frame = compressibleFrame();
+        ByteBuffer block = ByteBuffer.allocate(codec.getBlockCapacity());
+        codec.encode(frame, block);
+        Assert.assertFalse(frame.hasRemaining());
+        Assert.assertTrue(block.remaining() < FRAME_SIZE / 2);
+        Assert.assertEquals(1, counters.getCompressedFrames());
+        Assert.assertEquals(FRAME_SIZE, counters.getCompressionInputBytes());
+        Assert.assertEquals(block.remaining() - FrameBlockCodec.HEADER_SIZE, counters.getCompressionOutputBytes());
+        assertDecodes(compressibleFrame(), block);
+    }
+
+    @Test
+    public void incompressibleFramesAreBypassed() throws Exception {
+        MuxDemuxPerformanceCounters counters = new MuxDemuxPerformanceCounters();
+        FrameBlockCodec codec = new FrameBlockCodec(snappy, FRAME_SIZE, counters);
+        ByteBuffer block = ByteBuffer.allocate(codec.getBlockCapacity());
+        for (int i = 0; i < 16; i++) {
+            ByteBuffer frame = randomFrame(i);
+            codec.encode(frame, block);
+            Assert.assertEquals(FrameBlockCodec.HEADER_SIZE + FRAME_SIZE, block.remaining());
+            assertDecodes(randomFrame(i), block);
+        }
+        // tried frames 0, 2, 5 and 10, then skipped 1, 2, 4 and 8 frames
+        Assert.assertEquals(4, counters.getIncompressibleFrames());
+        Assert.assertEquals(12, counters.getBypassedFrames());
+        Assert.assertEquals(0, counters.getCompressedFrames());
+        // the remaining 3 frames of the last bypass are skipped, then every frame is tried again
+        for (int i = 0; i < 3; i++) {
+            codec.encode(compressibleFrame(), block);
+        }
+        Assert.assertEquals(15, counters.getBypassedFrames());
+        Assert.assertEquals(0, counters.getCompressedFrames());
+        codec.encode(compressibleFrame(), block);
+        codec.encode(compressibleFrame(), block);
+        Assert.assertEquals(2, counters.getCompressedFrames());
+        Assert.assertEquals(15, counters.getBypassedFrames());
+    }
+
+    @Test
+    public void uncompressedBlocks() throws Exception {
+        MuxDemuxPerformanceCounters counters = new MuxDemuxPerformanceCounters();
+        FrameBlockCodec codec = new FrameBlockCodec(null, FRAME_SIZE, counters);
+        ByteBuffer block = ByteBuffer.allocate(codec.getBlockCapacity());
+        codec.encode(compressibleFrame(), block);
+        Assert.assertEquals(FrameBlockCodec.HEADER_SIZE + FRAME_SIZE, block.remaining());
+        Assert.assertEquals(0, counters.getCompressedFrames() + counters.getBypassedFrames());
+        assertDecodes(compressibleFrame(), block);
+    }
+
+    @Test
+    public void blockModeReadInterface() throws Exception {
+        FrameBlockCodec codec = new FrameBlockCodec(snappy, FRAME_SIZE, new MuxDemuxPerformanceCounters());
+        // a frame of two minimum frames is sent as two blocks
+        ByteBuffer frame = ByteBuffer.allocate(2 * FRAME_SIZE);
+        frame.put(compressibleFrame());
+        frame.put(randomFrame(0));
+        frame.flip();
+        ByteBuffer wire = ByteBuffer.allocate(2 * codec.getBlockCapacity());
+        ByteBuffer block = ByteBuffer.allocate(codec.getBlockCapacity());
+        while (frame.hasRemaining()) {
+            codec.encode(frame, block);
+            wire.put(block);
+        }
+        wire.flip();
+
+        ChannelControlBlock ccb = Mockito.mock(ChannelControlBlock.class);
+        FullFrameChannelReadInterface readInterface = new FullFrameChannelReadInterface(ccb);
+        List<ByteBuffer> blocks = new ArrayList<>();
+        readInterface.setFullBufferAcceptor(new ICloseableBufferAcceptor() {
+            @Override
+            public void accept(ByteBuffer buffer) {
+                blocks.add(buffer);
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void error(int ecode) {
+            }
+        });
+        readInterface.setBlockMode(FrameBlockCodec.HEADER_SIZE);
+        for (int i = 0; i < 2; i++) {
+            readInterface.getEmptyBufferAcceptor()
+                    .accept(ByteBuffer.allocate(FrameBlockCodec.HEADER_SIZE + FRAME_SIZE));
+        }
+        // the socket delivers the blocks in pieces that do not match the block boundaries
+        ISocketChannel sc = Mockito.mock(ISocketChannel.class);
+        Mockito.when(sc.read(Mockito.any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgumentAt(0, ByteBuffer.class);
+            int length = Math.min(1000, buffer.remaining());
+            ByteBuffer piece = wire.duplicate();
+            piece.limit(piece.position() + length);
+            buffer.put(piece);
+            wire.position(wire.position() + length);
+            return length;
+        });
+        int remaining = wire.remaining();
+        while (remaining > 0) {
+            remaining = readInterface.read(sc, remaining);
+        }
+        Assert.assertEquals(2, blocks.size());
+        assertDecodes(compressibleFrame(), blocks.get(0));
+        assertDecodes(randomFrame(0), blocks.get(1));
+    }
+
+    private void assertDecodes(ByteBuffer expected, ByteBuffer block) throws Exception {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        FrameBlockCodec.decode(snappy, block, frame);
+        Assert.assertEquals(expected, frame);
+    }
+
+    private static ByteBuffer compressibleFrame() {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        for (int i = 0; frame.hasRemaining(); i++) {
+            frame.put((byte) ('a' + i % 7));
+        }
+        frame.flip();
+        return frame;
+    }
+
+    private static ByteBuffer randomFrame(int seed) {
+        byte[] bytes = new byte[FRAME_SIZE];
+        new Random(seed).nextBytes(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+}
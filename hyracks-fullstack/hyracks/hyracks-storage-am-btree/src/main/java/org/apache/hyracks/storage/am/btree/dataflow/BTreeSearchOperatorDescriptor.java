@@ -51,6 +51,7 @@ public class BTreeSearchOperatorDescriptor extends AbstractSingleActivityOperato
     protected byte[] searchCallbackProceedResultTrueValue;
     protected final ITupleFilterFactory tupleFilterFactory;
     protected final long outputLimit;
+    protected String[] columnProjection;
 
     public BTreeSearchOperatorDescriptor(IOperatorDescriptorRegistry spec, RecordDescriptor outRecDesc,
             int[] lowKeyFields, int[] highKeyFields, boolean lowKeyInclusive, boolean highKeyInclusive,
@@ -93,12 +94,21 @@ public class BTreeSearchOperatorDescriptor extends AbstractSingleActivityOperato
     @Override
     public BTreeSearchOperatorNodePushable createPushRuntime(final IHyracksTaskContext ctx,
             IRecordDescriptorProvider recordDescProvider, int partition, int nPartitions) throws HyracksDataException {
-        return new BTreeSearchOperatorNodePushable(ctx, partition,
+        BTreeSearchOperatorNodePushable nodePushable = new BTreeSearchOperatorNodePushable(ctx, partition,
                 recordDescProvider.getInputRecordDescriptor(getActivityId(), 0), lowKeyFields, highKeyFields,
                 lowKeyInclusive, highKeyInclusive, minFilterFieldIndexes, maxFilterFieldIndexes, indexHelperFactory,
                 retainInput, retainMissing, missingWriterFactory, searchCallbackFactory, appendIndexFilter,
                 tupleFilterFactory, outputLimit, appendOpCallbackProceedResult, searchCallbackProceedResultFalseValue,
                 searchCallbackProceedResultTrueValue);
+        nodePushable.setColumnProjection(columnProjection);
+        return nodePushable;
+    }
+
+    /**
+     * Restricts the columns read from columnar disk components to the given names; null reads all of them.
+     */
+    public void setColumnProjection(String[] columnProjection) {
+        this.columnProjection = columnProjection;
     }
 
 }
@@ -18,10 +18,13 @@
  */
 package org.apache.hyracks.storage.am.btree.dataflow;
 
+import java.util.Arrays;
+
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.value.IMissingWriterFactory;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
 import org.apache.hyracks.storage.am.btree.util.BTreeUtils;
 import org.apache.hyracks.storage.am.common.api.ISearchOperationCallbackFactory;
@@ -42,6 +45,7 @@ public class BTreeSearchOperatorNodePushable extends IndexSearchOperatorNodePush
     protected PermutingFrameTupleReference highKey;
     protected MultiComparator lowKeySearchCmp;
     protected MultiComparator highKeySearchCmp;
+    protected String[] columnProjection;
 
     public BTreeSearchOperatorNodePushable(IHyracksTaskContext ctx, int partition, RecordDescriptor inputRecDesc,
             int[] lowKeyFields, int[] highKeyFields, boolean lowKeyInclusive, boolean highKeyInclusive,
@@ -110,7 +114,13 @@ public class BTreeSearchOperatorNodePushable extends IndexSearchOperatorNodePush
 
     @Override
     protected void addAdditionalIndexAccessorParams(IIndexAccessParameters iap) throws HyracksDataException {
-        // No additional parameters are required for the B+Tree search case
+        if (columnProjection != null) {
+            iap.getParameters().put(HyracksConstants.COLUMN_PROJECTION, Arrays.asList(columnProjection));
+        }
+    }
+
+    public void setColumnProjection(String[] columnProjection) {
+        this.columnProjection = columnProjection;
     }
 
 }
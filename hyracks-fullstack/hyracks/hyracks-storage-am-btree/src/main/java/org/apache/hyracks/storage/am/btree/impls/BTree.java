@@ -1043,6 +1043,7 @@ public class BTree extends AbstractTreeIndex {
 
                         ((IBTreeLeafFrame) leafFrame).setNextLeaf(leafFrontier.pageId);
 
+                        finishLeafPage();
                         putInQueue(leafFrontier.page);
                         for (ICachedPage c : pagesToWrite) {
                             putInQueue(c);
@@ -1095,6 +1096,14 @@ public class BTree extends AbstractTreeIndex {
             }
         }
 
+        /**
+         * Called while {@code leafFrame} still points to a full leaf page, right before the page is queued for
+         * writing. Subclasses may use it to write pages that belong to the leaf or to complete its header.
+         */
+        protected void finishLeafPage() throws HyracksDataException {
+            // no additional pages by default
+        }
+
         protected void propagateBulk(int level, List<ICachedPage> pagesToWrite) throws HyracksDataException {
             if (splitKey.getBuffer() == null) {
                 return;
@@ -1152,6 +1161,7 @@ public class BTree extends AbstractTreeIndex {
                 ICachedPage lastLeaf = nodeFrontiers.get(level).page;
                 int lastLeafPage = nodeFrontiers.get(level).pageId;
                 lastLeaf.setDiskPageId(BufferedFileHandle.getDiskPageId(getFileId(), nodeFrontiers.get(level).pageId));
+                finishLeafPage();
                 putInQueue(lastLeaf);
                 nodeFrontiers.get(level).page = null;
                 persistFrontiers(level + 1, lastLeafPage);
@@ -41,6 +41,9 @@ import org.apache.hyracks.storage.common.file.BufferedFileHandle;
 
 public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITreeIndexCursor {
 
+    // number of leaf pages the buffer cache is asked to read ahead when a scan moves to a contiguous leaf
+    protected static final int READ_AHEAD_HINT_PAGES = 64;
+
     protected final IBTreeLeafFrame frame;
     protected final ITreeIndexTupleReference frameTuple;
     protected final boolean exclusiveLatchNodes;
@@ -72,6 +75,8 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
     protected MultiComparator highKeyCmp;
     protected ITupleReference lowKey;
     protected ITupleReference highKey;
+    // scans without a high key read the remaining leaves in order, which is hinted once to the buffer cache
+    protected boolean readAheadPending;
 
     public BTreeRangeSearchCursor(IBTreeLeafFrame frame, boolean exclusiveLatchNodes) {
         this.frame = frame;
@@ -100,6 +105,10 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
     }
 
     protected void fetchNextLeafPage(int nextLeafPage) throws HyracksDataException {
+        if (readAheadPending && nextLeafPage == pageId + 1) {
+            readAheadPending = false;
+            bufferCache.readAhead(BufferedFileHandle.getDiskPageId(fileId, nextLeafPage), READ_AHEAD_HINT_PAGES);
+        }
         do {
             ICachedPage nextLeaf = acquirePage(nextLeafPage);
             releasePage();
@@ -230,6 +239,7 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
         highKeyCmp = pred.getHighKeyComparator();
         lowKey = pred.getLowKey();
         highKey = pred.getHighKey();
+        readAheadPending = highKey == null;
 
         reusablePredicate.setLowKeyComparator(originalKeyCmp);
         reusablePredicate.setHighKeyComparator(pred.getHighKeyComparator());
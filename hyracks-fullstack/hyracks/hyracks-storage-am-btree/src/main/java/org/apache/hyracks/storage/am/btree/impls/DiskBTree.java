@@ -227,14 +227,12 @@ public class DiskBTree extends BTree {
 
         @Override
         public DiskBTreeRangeSearchCursor createSearchCursor(boolean exclusive) {
-            IBTreeLeafFrame leafFrame = (IBTreeLeafFrame) btree.getLeafFrameFactory().createFrame();
-            return new DiskBTreeRangeSearchCursor(leafFrame, exclusive);
+            return new DiskBTreeRangeSearchCursor(createLeafFrame(), exclusive);
         }
 
         @Override
         public BTreeRangeSearchCursor createPointCursor(boolean exclusive) {
-            IBTreeLeafFrame leafFrame = (IBTreeLeafFrame) btree.getLeafFrameFactory().createFrame();
-            return new DiskBTreePointSearchCursor(leafFrame, exclusive);
+            return new DiskBTreePointSearchCursor(createLeafFrame(), exclusive);
         }
 
         @Override
@@ -245,8 +243,14 @@ public class DiskBTree extends BTree {
 
         @Override
         public ITreeIndexCursor createDiskOrderScanCursor() {
-            IBTreeLeafFrame leafFrame = (IBTreeLeafFrame) btree.getLeafFrameFactory().createFrame();
-            return new DiskBTreeDiskScanCursor(leafFrame);
+            return new DiskBTreeDiskScanCursor(createLeafFrame());
+        }
+
+        /**
+         * Creates the leaf frame of a cursor of this accessor.
+         */
+        protected IBTreeLeafFrame createLeafFrame() {
+            return (IBTreeLeafFrame) btree.getLeafFrameFactory().createFrame();
         }
 
         @Override
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+
+/**
+ * The values of one column for the tuples of one leaf page. A value of length 0 means that the tuple has no value
+ * in the column.
+ * The serialized form (a chunk) holds the end offset of every value followed by the values.
+ */
+final class Column {
+    private static final int INITIAL_SIZE = 64;
+
+    private final int fieldIndex;
+    private final String name;
+    private byte[] data = new byte[INITIAL_SIZE];
+    private int[] ends = new int[INITIAL_SIZE];
+    // the values start after the end offsets in a chunk read from disk
+    private int valuesStart;
+    private int length;
+    private int rowCount;
+
+    Column(int fieldIndex, String name) {
+        this.fieldIndex = fieldIndex;
+        this.name = name;
+    }
+
+    int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    int getStart(int row) {
+        return valuesStart + (row == 0 ? 0 : ends[row - 1]);
+    }
+
+    int getLength(int row) {
+        return row < rowCount ? ends[row] - (row == 0 ? 0 : ends[row - 1]) : 0;
+    }
+
+    int getDataLength() {
+        return length;
+    }
+
+    void append(int row, byte[] bytes, int start, int valueLength) throws HyracksDataException {
+        if (rowCount > row) {
+            throw new HyracksDataException("Column \"" + name + "\" of field " + fieldIndex
+                    + " received more than one value for the same tuple");
+        }
+        pad(row);
+        ensureRows(row + 1);
+        if (length + valueLength > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + valueLength));
+        }
+        System.arraycopy(bytes, start, data, length, valueLength);
+        length += valueLength;
+        ends[rowCount++] = length;
+    }
+
+    /**
+     * Marks the tuples up to {@code rows} that did not receive a value as absent.
+     */
+    void pad(int rows) {
+        ensureRows(rows);
+        while (rowCount < rows) {
+            ends[rowCount++] = length;
+        }
+    }
+
+    private void ensureRows(int rows) {
+        if (rows > ends.length) {
+            ends = Arrays.copyOf(ends, Math.max(ends.length * 2, rows));
+        }
+    }
+
+    int getChunkLength() {
+        return rowCount * Integer.BYTES + length;
+    }
+
+    void writeChunk(DataOutput out) throws HyracksDataException {
+        try {
+            for (int i = 0; i < rowCount; i++) {
+                out.writeInt(ends[i]);
+            }
+            out.write(data, 0, length);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    /**
+     * Prepares the column to receive a chunk of {@code chunkLength} bytes for {@code rows} tuples in the array
+     * returned by {@link #getData()}.
+     */
+    void prepareChunk(int rows, int chunkLength) {
+        if (data.length < chunkLength) {
+            data = new byte[chunkLength];
+        }
+        if (ends.length < rows) {
+            ends = new int[rows];
+        }
+        rowCount = rows;
+        valuesStart = rows * Integer.BYTES;
+        length = chunkLength - valuesStart;
+    }
+
+    /**
+     * Decodes the end offsets of a chunk copied by the caller after {@link #prepareChunk(int, int)}.
+     */
+    void readChunk() {
+        for (int i = 0; i < rowCount; i++) {
+            ends[i] = IntegerPointable.getInteger(data, i * Integer.BYTES);
+        }
+    }
+
+    void clear() {
+        valuesStart = 0;
+        length = 0;
+        rowCount = 0;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+
+/**
+ * Reads the projected columns of a column block written by {@link ColumnBlockWriter}. Only the pages that hold the
+ * directory and the projected chunks are pinned.
+ */
+final class ColumnBlockReader {
+    private final List<Column> columns = new ArrayList<>();
+    private byte[] directory = new byte[256];
+
+    /**
+     * @param projection
+     *            the names of the shredded columns to read or {@code null} to read all columns. Columns with an empty
+     *            name are always read.
+     */
+    void read(IBufferCache bufferCache, int fileId, int startPage, int rows, Collection<String> projection)
+            throws HyracksDataException {
+        columns.clear();
+        int payloadSize = ColumnPages.getPayloadSize(bufferCache.getPageSize());
+        copy(bufferCache, fileId, startPage, payloadSize, 0, directory, Integer.BYTES);
+        int directoryLength = IntegerPointable.getInteger(directory, 0);
+        if (directory.length < directoryLength) {
+            directory = new byte[directoryLength];
+        }
+        copy(bufferCache, fileId, startPage, payloadSize, 0, directory, directoryLength);
+        int columnCount = IntegerPointable.getInteger(directory, Integer.BYTES);
+        int position = 2 * Integer.BYTES;
+        for (int i = 0; i < columnCount; i++) {
+            int fieldIndex = IntegerPointable.getInteger(directory, position);
+            int nameLength = IntegerPointable.getInteger(directory, position + Integer.BYTES);
+            position += 2 * Integer.BYTES;
+            String name = new String(directory, position, nameLength, StandardCharsets.UTF_8);
+            position += nameLength;
+            int chunkOffset = IntegerPointable.getInteger(directory, position);
+            int chunkLength = IntegerPointable.getInteger(directory, position + Integer.BYTES);
+            position += 2 * Integer.BYTES;
+            if (name.isEmpty() || projection == null || projection.contains(name)) {
+                Column column = new Column(fieldIndex, name);
+                column.prepareChunk(rows, chunkLength);
+                copy(bufferCache, fileId, startPage, payloadSize, chunkOffset, column.getData(), chunkLength);
+                column.readChunk();
+                columns.add(column);
+            }
+        }
+    }
+
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    void clear() {
+        columns.clear();
+    }
+
+    private static void copy(IBufferCache bufferCache, int fileId, int startPage, int payloadSize, int blockOffset,
+            byte[] target, int length) throws HyracksDataException {
+        int copied = 0;
+        while (copied < length) {
+            int offset = blockOffset + copied;
+            int pageOffset = offset % payloadSize;
+            int toCopy = Math.min(length - copied, payloadSize - pageOffset);
+            ICachedPage page =
+                    bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, startPage + offset / payloadSize), false);
+            try {
+                System.arraycopy(page.getBuffer().array(), ColumnPages.HEADER_SIZE + pageOffset, target, copied,
+                        toCopy);
+            } finally {
+                bufferCache.unpin(page);
+            }
+            copied += toCopy;
+        }
+    }
+}
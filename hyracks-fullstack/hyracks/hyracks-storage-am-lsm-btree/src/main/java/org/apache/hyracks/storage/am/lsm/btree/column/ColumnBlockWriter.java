@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+
+/**
+ * Collects the non-key fields of the tuples bulk loaded into a leaf page and serializes them as a column block:
+ *
+ * <pre>
+ * directory length (int), column count (int),
+ * for every column: field index (int), name length (int), UTF-8 name, chunk offset (int), chunk length (int),
+ * the chunks of all columns
+ * </pre>
+ *
+ * Chunk offsets are relative to the start of the block.
+ */
+final class ColumnBlockWriter {
+    private final int numKeyFields;
+    private final int fieldCount;
+    private final IColumnShredder shredder;
+    private final int shreddedFieldIndex;
+    private final Column[] fieldColumns;
+    private final Map<String, Column> shreddedColumns = new HashMap<>();
+    private final List<Column> columns = new ArrayList<>();
+    private final IColumnValueWriter shreddedValueWriter = this::writeShreddedValue;
+    private int rowCount;
+
+    ColumnBlockWriter(int numKeyFields, int fieldCount, IColumnShredder shredder, int shreddedFieldIndex) {
+        this.numKeyFields = numKeyFields;
+        this.fieldCount = fieldCount;
+        this.shredder = shredder;
+        this.shreddedFieldIndex = shreddedFieldIndex;
+        fieldColumns = new Column[fieldCount];
+        for (int i = numKeyFields; i < fieldCount; i++) {
+            if (i != shreddedFieldIndex) {
+                fieldColumns[i] = new Column(i, "");
+                columns.add(fieldColumns[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds the non-key fields of the next tuple of the leaf. Antimatter tuples have no value in any column.
+     */
+    void add(ITupleReference tuple, boolean antimatter) throws HyracksDataException {
+        if (!antimatter) {
+            for (int i = numKeyFields; i < fieldCount; i++) {
+                if (i == shreddedFieldIndex) {
+                    shredder.shred(tuple.getFieldData(i), tuple.getFieldStart(i), tuple.getFieldLength(i),
+                            shreddedValueWriter);
+                } else {
+                    fieldColumns[i].append(rowCount, tuple.getFieldData(i), tuple.getFieldStart(i),
+                            tuple.getFieldLength(i));
+                }
+            }
+        }
+        rowCount++;
+    }
+
+    private void writeShreddedValue(String columnName, byte[] data, int start, int length)
+            throws HyracksDataException {
+        Column column = shreddedColumns.get(columnName);
+        if (column == null) {
+            column = new Column(shreddedFieldIndex, columnName);
+            shreddedColumns.put(columnName, column);
+            columns.add(column);
+        }
+        column.append(rowCount, data, start, length);
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the columns of the tuples added so far
+     */
+    List<Column> getColumns() {
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).pad(rowCount);
+        }
+        return columns;
+    }
+
+    void write(ArrayBackedValueStorage block) throws HyracksDataException {
+        List<Column> nonEmptyColumns = new ArrayList<>(columns.size());
+        int directoryLength = 2 * Integer.BYTES;
+        for (Column column : getColumns()) {
+            if (column.getDataLength() > 0) {
+                nonEmptyColumns.add(column);
+                directoryLength += 4 * Integer.BYTES + column.getName().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        DataOutput out = block.getDataOutput();
+        try {
+            out.writeInt(directoryLength);
+            out.writeInt(nonEmptyColumns.size());
+            int chunkOffset = directoryLength;
+            for (Column column : nonEmptyColumns) {
+                byte[] name = column.getName().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(column.getFieldIndex());
+                out.writeInt(name.length);
+                out.write(name);
+                out.writeInt(chunkOffset);
+                out.writeInt(column.getChunkLength());
+                chunkOffset += column.getChunkLength();
+            }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+        for (Column column : nonEmptyColumns) {
+            column.writeChunk(out);
+        }
+    }
+
+    void reset() {
+        rowCount = 0;
+        for (Column column : columns) {
+            column.clear();
+        }
+        // the open-ended set of shredded columns is collected again for every leaf
+        columns.removeAll(shreddedColumns.values());
+        shreddedColumns.clear();
+    }
+}
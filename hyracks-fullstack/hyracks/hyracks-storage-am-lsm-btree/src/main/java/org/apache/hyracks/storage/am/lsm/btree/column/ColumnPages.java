@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.storage.am.common.api.ITreeIndexFrame.Constants;
+
+/**
+ * Layout of the pages that hold a column block. A column page keeps the reserved header of tree index pages with no
+ * tuples and a negative level, so scans that walk the file in page order skip it.
+ */
+final class ColumnPages {
+    static final int HEADER_SIZE = Constants.RESERVED_HEADER_SIZE;
+    private static final byte COLUMN_PAGE_LEVEL = -1;
+
+    private ColumnPages() {
+    }
+
+    static int getPayloadSize(int pageSize) {
+        return pageSize - HEADER_SIZE;
+    }
+
+    static void write(ByteBuffer page, byte[] block, int blockOffset, int length) {
+        page.putInt(Constants.TUPLE_COUNT_OFFSET, 0);
+        page.putInt(Constants.FREE_SPACE_OFFSET, HEADER_SIZE + length);
+        page.put(Constants.LEVEL_OFFSET, COLUMN_PAGE_LEVEL);
+        System.arraycopy(block, blockOffset, page.array(), HEADER_SIZE, length);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The non-empty values one tuple has in the columns of a field.
+ */
+final class ColumnRow implements IColumnRow {
+    private final List<Column> columns = new ArrayList<>();
+    private int row;
+
+    void reset(List<Column> leafColumns, int fieldIndex, int row) {
+        this.row = row;
+        columns.clear();
+        for (int i = 0; i < leafColumns.size(); i++) {
+            Column column = leafColumns.get(i);
+            if (column.getFieldIndex() == fieldIndex && column.getLength(row) > 0) {
+                columns.add(column);
+            }
+        }
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    public byte[] getBytes(int column) {
+        return columns.get(column).getData();
+    }
+
+    @Override
+    public int getStart(int column) {
+        return columns.get(column).getStart(row);
+    }
+
+    @Override
+    public int getLength(int column) {
+        return columns.get(column).getLength(row);
+    }
+}
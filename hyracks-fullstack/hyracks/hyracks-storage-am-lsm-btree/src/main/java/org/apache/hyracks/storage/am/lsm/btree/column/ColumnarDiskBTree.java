@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.util.HyracksConstants;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.storage.am.btree.api.IBTreeLeafFrame;
+import org.apache.hyracks.storage.am.btree.impls.BTree;
+import org.apache.hyracks.storage.am.btree.impls.DiskBTree;
+import org.apache.hyracks.storage.am.common.api.IPageManager;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexFrameFactory;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
+import org.apache.hyracks.storage.common.IIndexBulkLoader;
+import org.apache.hyracks.storage.common.IModificationOperationCallback;
+import org.apache.hyracks.storage.common.ISearchOperationCallback;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+
+/**
+ * A disk B-tree with {@link ColumnarLeafFrame} leaves. The bulk loader writes the column block of every leaf right
+ * before the leaf itself, and the cursors of an accessor read only the columns named by the
+ * {@link HyracksConstants#COLUMN_PROJECTION} access parameter.
+ */
+public class ColumnarDiskBTree extends DiskBTree {
+
+    public ColumnarDiskBTree(IBufferCache bufferCache, IPageManager freePageManager,
+            ITreeIndexFrameFactory interiorFrameFactory, ColumnarLeafFrameFactory leafFrameFactory,
+            IBinaryComparatorFactory[] cmpFactories, int fieldCount, FileReference file) {
+        super(bufferCache, freePageManager, interiorFrameFactory, leafFrameFactory, cmpFactories, fieldCount, file);
+    }
+
+    @Override
+    public IIndexBulkLoader createBulkLoader(float fillFactor, boolean verifyInput, long numElementsHint,
+            boolean checkIfEmptyIndex) throws HyracksDataException {
+        return new ColumnarBTreeBulkLoader(fillFactor, verifyInput);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public BTreeAccessor createAccessor(IIndexAccessParameters iap) {
+        return new ColumnarDiskBTreeAccessor(this, iap.getModificationCallback(), iap.getSearchOperationCallback(),
+                (Collection<String>) iap.getParameters().get(HyracksConstants.COLUMN_PROJECTION));
+    }
+
+    public class ColumnarDiskBTreeAccessor extends DiskBTreeAccessor {
+        private final Collection<String> projection;
+        private final List<ColumnarLeafFrame> cursorFrames = new ArrayList<>();
+
+        public ColumnarDiskBTreeAccessor(ColumnarDiskBTree btree, IModificationOperationCallback modificationCalback,
+                ISearchOperationCallback searchCallback, Collection<String> projection) {
+            super(btree, modificationCalback, searchCallback);
+            this.projection = projection;
+        }
+
+        @Override
+        public void reset(BTree btree, IModificationOperationCallback modificationCallback,
+                ISearchOperationCallback searchCallback) {
+            super.reset(btree, modificationCallback, searchCallback);
+            // cursors created by this accessor now read the column blocks of the new btree
+            for (ColumnarLeafFrame frame : cursorFrames) {
+                frame.setColumnSource(btree.getBufferCache(), btree.getFileId(), projection);
+            }
+        }
+
+        @Override
+        protected IBTreeLeafFrame createLeafFrame() {
+            ColumnarLeafFrame frame = (ColumnarLeafFrame) btree.getLeafFrameFactory().createFrame();
+            frame.setColumnSource(btree.getBufferCache(), btree.getFileId(), projection);
+            cursorFrames.add(frame);
+            return frame;
+        }
+    }
+
+    public class ColumnarBTreeBulkLoader extends BTreeBulkLoader {
+        private final ArrayBackedValueStorage block = new ArrayBackedValueStorage();
+
+        public ColumnarBTreeBulkLoader(float fillFactor, boolean verifyInput) throws HyracksDataException {
+            super(fillFactor, verifyInput);
+        }
+
+        @Override
+        protected void finishLeafPage() throws HyracksDataException {
+            ColumnarLeafFrame frame = (ColumnarLeafFrame) leafFrame;
+            ColumnBlockWriter blockWriter = frame.getBlockWriter();
+            if (frame.getTupleCount() > 0) {
+                block.reset();
+                blockWriter.write(block);
+                int payloadSize = ColumnPages.getPayloadSize(bufferCache.getPageSize());
+                int numPages = (block.getLength() + payloadSize - 1) / payloadSize;
+                int startPage = freePageManager.takeBlock(metaFrame, numPages);
+                for (int i = 0; i < numPages; i++) {
+                    ICachedPage page =
+                            bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(getFileId(), startPage + i));
+                    int offset = i * payloadSize;
+                    ColumnPages.write(page.getBuffer(), block.getByteArray(), offset,
+                            Math.min(payloadSize, block.getLength() - offset));
+                    putInQueue(page);
+                }
+                frame.setColumnBlock(startPage, numPages);
+            }
+            blockWriter.reset();
+        }
+    }
+}
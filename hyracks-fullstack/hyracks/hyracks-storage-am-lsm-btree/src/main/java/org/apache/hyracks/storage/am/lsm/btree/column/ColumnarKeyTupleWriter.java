@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import static org.apache.hyracks.storage.am.btree.tuples.BTreeTypeAwareTupleReference.UPDATE_BIT_OFFSET;
+import static org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleReference.ANTIMATTER_BIT_OFFSET;
+
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.api.IBTreeIndexTupleReference;
+import org.apache.hyracks.storage.am.common.util.BitOperationUtils;
+import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleWriter;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleReference;
+
+/**
+ * Writes only the key fields of a tuple into a columnar leaf page. The antimatter and update bits are taken from the
+ * written tuple when it carries them, so flushed and merged tuples keep their flags.
+ */
+public class ColumnarKeyTupleWriter extends LSMBTreeTupleWriter {
+
+    public ColumnarKeyTupleWriter(ITypeTraits[] keyTypeTraits, boolean updateAware) {
+        super(keyTypeTraits, keyTypeTraits.length, false, updateAware);
+    }
+
+    @Override
+    public int bytesRequired(ITupleReference tuple) {
+        return super.bytesRequired(tuple, 0, numKeyFields);
+    }
+
+    @Override
+    public int getCopySpaceRequired(ITupleReference tuple) {
+        return bytesRequired(tuple);
+    }
+
+    @Override
+    public int writeTuple(ITupleReference tuple, byte[] targetBuf, int targetOff) {
+        int bytesWritten = super.writeTupleFields(tuple, 0, numKeyFields, targetBuf, targetOff);
+        if (isAntimatter
+                || (tuple instanceof ILSMTreeTupleReference && ((ILSMTreeTupleReference) tuple).isAntimatter())) {
+            BitOperationUtils.setBit(targetBuf, targetOff, ANTIMATTER_BIT_OFFSET);
+        }
+        if (updateAware && (isUpdated
+                || (tuple instanceof IBTreeIndexTupleReference && ((IBTreeIndexTupleReference) tuple).isUpdated()))) {
+            BitOperationUtils.setBit(targetBuf, targetOff, UPDATE_BIT_OFFSET);
+        }
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.btree.frames.BTreeNSMLeafFrame;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexTupleReference;
+import org.apache.hyracks.storage.am.common.ophelpers.FindTupleMode;
+import org.apache.hyracks.storage.am.common.ophelpers.FindTupleNoExactMatchPolicy;
+import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleReference;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleReference;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+
+/**
+ * Leaf frame of a columnar disk component (PAX-style). The page holds the keys of its tuples; the non-key fields
+ * are stored as columns in a block of pages that the page header points to. The columns are read once per page and
+ * only for the projected names.
+ */
+public class ColumnarLeafFrame extends BTreeNSMLeafFrame {
+    private static final int COLUMN_BLOCK_PAGE_OFFSET = NEXT_LEAF_OFFSET + 4;
+    private static final int COLUMN_BLOCK_PAGE_COUNT_OFFSET = COLUMN_BLOCK_PAGE_OFFSET + 4;
+
+    private final ITypeTraits[] typeTraits;
+    private final int numKeyFields;
+    private final boolean updateAware;
+    private final IColumnShredder shredder;
+    private final int shreddedFieldIndex;
+    private final ColumnBlockReader blockReader = new ColumnBlockReader();
+    private ColumnBlockWriter blockWriter;
+    private IBufferCache bufferCache;
+    private int fileId = -1;
+    private Collection<String> projection;
+    private boolean columnsRead;
+
+    public ColumnarLeafFrame(ColumnarKeyTupleWriter keyTupleWriter, ITypeTraits[] typeTraits, boolean updateAware,
+            IColumnShredderFactory shredderFactory) {
+        super(keyTupleWriter);
+        this.typeTraits = typeTraits;
+        this.numKeyFields = keyTupleWriter.getTypeTraits().length;
+        this.updateAware = updateAware;
+        shredder = shredderFactory.createShredder();
+        shreddedFieldIndex = shredderFactory.getFieldIndex();
+    }
+
+    /**
+     * Sets the file the column blocks are read from and the names of the shredded columns to read.
+     *
+     * @param projection
+     *            the names of the columns to read or {@code null} to read all columns
+     */
+    public void setColumnSource(IBufferCache bufferCache, int fileId, Collection<String> projection) {
+        this.bufferCache = bufferCache;
+        this.fileId = fileId;
+        this.projection = projection;
+        columnsRead = false;
+    }
+
+    @Override
+    public int getPageHeaderSize() {
+        return COLUMN_BLOCK_PAGE_COUNT_OFFSET + 4;
+    }
+
+    @Override
+    public void initBuffer(byte level) {
+        super.initBuffer(level);
+        buf.putInt(COLUMN_BLOCK_PAGE_OFFSET, -1);
+        buf.putInt(COLUMN_BLOCK_PAGE_COUNT_OFFSET, 0);
+    }
+
+    @Override
+    public void setPage(ICachedPage page) {
+        super.setPage(page);
+        columnsRead = false;
+    }
+
+    public int getColumnBlockPage() {
+        return buf.getInt(COLUMN_BLOCK_PAGE_OFFSET);
+    }
+
+    public int getColumnBlockPageCount() {
+        return buf.getInt(COLUMN_BLOCK_PAGE_COUNT_OFFSET);
+    }
+
+    void setColumnBlock(int startPage, int pageCount) {
+        buf.putInt(COLUMN_BLOCK_PAGE_OFFSET, startPage);
+        buf.putInt(COLUMN_BLOCK_PAGE_COUNT_OFFSET, pageCount);
+    }
+
+    @Override
+    public void insertSorted(ITupleReference tuple) {
+        super.insertSorted(tuple);
+        frameTuple.resetByTupleIndex(this, getTupleCount() - 1);
+        try {
+            getBlockWriter().add(tuple, ((ILSMTreeTupleReference) frameTuple).isAntimatter());
+        } catch (HyracksDataException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    ColumnBlockWriter getBlockWriter() {
+        if (blockWriter == null) {
+            blockWriter = new ColumnBlockWriter(numKeyFields, typeTraits.length, shredder, shreddedFieldIndex);
+        }
+        return blockWriter;
+    }
+
+    /**
+     * @return the columns of the current page, or the columns collected so far while the page is bulk loaded
+     */
+    List<Column> getColumns() throws HyracksDataException {
+        int blockPage = getColumnBlockPage();
+        if (blockPage < 0) {
+            return blockWriter == null ? Collections.emptyList() : blockWriter.getColumns();
+        }
+        if (!columnsRead) {
+            if (bufferCache == null) {
+                throw new IllegalStateException("The column source of the leaf frame was not set");
+            }
+            blockReader.read(bufferCache, fileId, blockPage, getTupleCount(), projection);
+            columnsRead = true;
+        }
+        return blockReader.getColumns();
+    }
+
+    IColumnShredder getShredder() {
+        return shredder;
+    }
+
+    int getShreddedFieldIndex() {
+        return shreddedFieldIndex;
+    }
+
+    @Override
+    public ColumnarTupleReference createTupleReference() {
+        return new ColumnarTupleReference(typeTraits, numKeyFields, updateAware,
+                (LSMBTreeTupleReference) tupleWriter.createTupleReference());
+    }
+
+    @Override
+    public int findTupleIndex(ITupleReference searchKey, ITreeIndexTupleReference pageTuple, MultiComparator cmp,
+            FindTupleMode ftm, FindTupleNoExactMatchPolicy ftp) throws HyracksDataException {
+        // binary search on the keys only and assemble the row of the found tuple for the caller
+        int tupleIndex = super.findTupleIndex(searchKey, frameTuple, cmp, ftm, ftp);
+        if (tupleIndex >= 0 && tupleIndex < getTupleCount() && pageTuple != frameTuple) {
+            pageTuple.resetByTupleIndex(this, tupleIndex);
+        }
+        return tupleIndex;
+    }
+
+    @Override
+    public String printHeader() {
+        StringBuilder strBuilder = new StringBuilder(super.printHeader());
+        strBuilder.append("columnBlockPageOff:      " + COLUMN_BLOCK_PAGE_OFFSET + "\n");
+        strBuilder.append("columnBlockPageCountOff: " + COLUMN_BLOCK_PAGE_COUNT_OFFSET + "\n");
+        return strBuilder.toString();
+    }
+}
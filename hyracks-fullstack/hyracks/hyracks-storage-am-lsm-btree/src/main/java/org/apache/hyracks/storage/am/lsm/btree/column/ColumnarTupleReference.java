@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexFrame;
+import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleReference;
+import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleWriter;
+
+/**
+ * A tuple of a columnar leaf page. Resetting it by index assembles the row from the keys stored in the page and the
+ * projected columns of the leaf, so callers see a regular {@link LSMBTreeTupleReference}. Resetting it by offset
+ * reads a row that is already assembled.
+ */
+public class ColumnarTupleReference extends LSMBTreeTupleReference {
+    private final int numKeyFields;
+    private final LSMBTreeTupleReference keyTuple;
+    private final LSMBTreeTupleWriter rowWriter;
+    private final ArrayTupleBuilder rowBuilder;
+    private final ArrayTupleReference row = new ArrayTupleReference();
+    private final ColumnRow columnRow = new ColumnRow();
+    private byte[] rowBuffer = new byte[0];
+
+    public ColumnarTupleReference(ITypeTraits[] typeTraits, int numKeyFields, boolean updateAware,
+            LSMBTreeTupleReference keyTuple) {
+        super(typeTraits, numKeyFields, updateAware);
+        this.numKeyFields = numKeyFields;
+        this.keyTuple = keyTuple;
+        rowWriter = new LSMBTreeTupleWriter(typeTraits, numKeyFields, false, updateAware);
+        rowBuilder = new ArrayTupleBuilder(typeTraits.length);
+    }
+
+    @Override
+    public void resetByTupleIndex(ITreeIndexFrame frame, int tupleIndex) {
+        ColumnarLeafFrame leafFrame = (ColumnarLeafFrame) frame;
+        keyTuple.resetByTupleIndex(frame, tupleIndex);
+        boolean antimatter = keyTuple.isAntimatter();
+        ITupleReference source = keyTuple;
+        if (!antimatter) {
+            try {
+                assemble(leafFrame, tupleIndex);
+            } catch (HyracksDataException e) {
+                throw new IllegalStateException(e);
+            }
+            source = row;
+        }
+        rowWriter.setAntimatter(antimatter);
+        rowWriter.setUpdated(keyTuple.isUpdated());
+        int rowLength = rowWriter.bytesRequired(source);
+        if (rowBuffer.length < rowLength) {
+            rowBuffer = new byte[Math.max(rowLength, rowBuffer.length * 2)];
+        }
+        rowWriter.writeTuple(source, rowBuffer, 0);
+        resetByTupleOffset(rowBuffer, 0);
+    }
+
+    private void assemble(ColumnarLeafFrame leafFrame, int tupleIndex) throws HyracksDataException {
+        List<Column> columns = leafFrame.getColumns();
+        int shreddedFieldIndex = leafFrame.getShreddedFieldIndex();
+        rowBuilder.reset();
+        for (int i = 0; i < numKeyFields; i++) {
+            rowBuilder.addField(keyTuple.getFieldData(i), keyTuple.getFieldStart(i), keyTuple.getFieldLength(i));
+        }
+        for (int i = numKeyFields; i < typeTraits.length; i++) {
+            columnRow.reset(columns, i, tupleIndex);
+            if (i == shreddedFieldIndex) {
+                leafFrame.getShredder().assemble(columnRow, rowBuilder.getDataOutput());
+                rowBuilder.addFieldEndOffset();
+            } else if (columnRow.getColumnCount() > 0) {
+                rowBuilder.addField(columnRow.getBytes(0), columnRow.getStart(0), columnRow.getLength(0));
+            } else {
+                rowBuilder.addFieldEndOffset();
+            }
+        }
+        row.reset(rowBuilder.getFieldEndOffsets(), rowBuilder.getByteArray());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * Receives the column values an {@link IColumnShredder} extracts from one field value.
+ */
+@FunctionalInterface
+public interface IColumnValueWriter {
+    /**
+     * Appends a value to a column of the current tuple.
+     *
+     * @param columnName
+     *            the name of the column. The empty name is reserved for a column that must always be read.
+     * @param data
+     *            the value bytes
+     * @param start
+     *            the offset of the value
+     * @param length
+     *            the length of the value
+     */
+    void write(String columnName, byte[] data, int start, int length) throws HyracksDataException;
+}
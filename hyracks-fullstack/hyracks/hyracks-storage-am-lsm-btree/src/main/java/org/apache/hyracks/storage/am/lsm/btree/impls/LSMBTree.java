@@ -27,6 +27,7 @@ import org.apache.hyracks.api.exceptions.ErrorCode;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.data.std.primitive.IntegerPointable;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
@@ -37,6 +38,7 @@ import org.apache.hyracks.storage.am.common.api.IIndexOperationContext;
 import org.apache.hyracks.storage.am.common.api.IPageManager;
 import org.apache.hyracks.storage.am.common.api.ITreeIndex;
 import org.apache.hyracks.storage.am.common.api.ITreeIndexFrameFactory;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
 import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
 import org.apache.hyracks.storage.am.common.impls.NoOpOperationCallback;
 import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleReference;
@@ -397,10 +399,19 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
     public LSMBTreeOpContext createOpContext(IIndexAccessParameters iap) {
         int numBloomFilterKeyFields = hasBloomFilter
                 ? ((LSMBTreeWithBloomFilterDiskComponentFactory) componentFactory).getBloomFilterKeyFields().length : 0;
-        return new LSMBTreeOpContext(this, memoryComponents, insertLeafFrameFactory, deleteLeafFrameFactory,
-                (IExtendedModificationOperationCallback) iap.getModificationCallback(),
+        LSMBTreeOpContext opCtx = new LSMBTreeOpContext(this, memoryComponents, insertLeafFrameFactory,
+                deleteLeafFrameFactory, (IExtendedModificationOperationCallback) iap.getModificationCallback(),
                 iap.getSearchOperationCallback(), numBloomFilterKeyFields, getTreeFields(), getFilterFields(),
                 getHarness(), getFilterCmpFactories(), tracer);
+        Object projection = iap.getParameters().get(HyracksConstants.COLUMN_PROJECTION);
+        if (projection != null) {
+            // columnar disk components read only the projected columns
+            IndexAccessParameters componentIap =
+                    new IndexAccessParameters(NoOpOperationCallback.INSTANCE, NoOpOperationCallback.INSTANCE);
+            componentIap.getParameters().put(HyracksConstants.COLUMN_PROJECTION, projection);
+            opCtx.getSearchInitialState().setComponentAccessParameters(componentIap);
+        }
+        return opCtx;
     }
 
     @Override
@@ -473,7 +484,13 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         if (mergingComponents.get(mergingComponents.size() - 1) != diskComponents.get(diskComponents.size() - 1)) {
             returnDeletedTuples = true;
         }
-        LSMBTreeRangeSearchCursor cursor = new LSMBTreeRangeSearchCursor(opCtx, returnDeletedTuples);
+        IIndexCursor cursor;
+        if (ioScheduler.getMaxMergeRanges() > 1 && ioScheduler.getMergeRangeExecutor() != null) {
+            cursor = new LSMBTreeKeyRangeMergeCursor(this, opCtx, returnDeletedTuples, ioScheduler.getMaxMergeRanges(),
+                    ioScheduler.getMergeRangeExecutor());
+        } else {
+            cursor = new LSMBTreeRangeSearchCursor(opCtx, returnDeletedTuples);
+        }
         return new LSMBTreeMergeOperation(accessor, cursor, mergeFileRefs.getInsertIndexFileReference(),
                 mergeFileRefs.getBloomFilterFileReference(), callback, getIndexIdentifier());
     }
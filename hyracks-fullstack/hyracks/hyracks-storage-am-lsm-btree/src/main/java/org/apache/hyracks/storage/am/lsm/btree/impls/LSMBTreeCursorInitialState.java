@@ -22,9 +22,11 @@ package org.apache.hyracks.storage.am.lsm.btree.impls;
 import java.util.List;
 
 import org.apache.hyracks.storage.am.common.api.ITreeIndexFrameFactory;
+import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMHarness;
 import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
 import org.apache.hyracks.storage.common.ISearchOperationCallback;
 import org.apache.hyracks.storage.common.ISearchPredicate;
 import org.apache.hyracks.storage.common.MultiComparator;
@@ -40,6 +42,7 @@ public class LSMBTreeCursorInitialState implements ICursorInitialState {
     private ISearchOperationCallback searchCallback;
     private List<ILSMComponent> operationalComponents;
     private boolean isDiskComponentScan;
+    private IIndexAccessParameters componentAccessParameters = NoOpIndexAccessParameters.INSTANCE;
 
     public LSMBTreeCursorInitialState(ITreeIndexFrameFactory leafFrameFactory, MultiComparator cmp,
             MultiComparator bloomFilterCmp, ILSMHarness lsmHarness, ISearchPredicate predicate,
@@ -116,4 +119,15 @@ public class LSMBTreeCursorInitialState implements ICursorInitialState {
     public boolean isDiskComponentScan() {
         return isDiskComponentScan;
     }
+
+    /**
+     * @return the parameters of the accessors created for the btrees of the operational components
+     */
+    public IIndexAccessParameters getComponentAccessParameters() {
+        return componentAccessParameters;
+    }
+
+    public void setComponentAccessParameters(IIndexAccessParameters componentAccessParameters) {
+        this.componentAccessParameters = componentAccessParameters;
+    }
 }
@@ -21,6 +21,7 @@ package org.apache.hyracks.storage.am.lsm.btree.impls;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.btree.impls.DiskBTree;
@@ -28,6 +29,8 @@ import org.apache.hyracks.storage.am.common.api.IMetadataPageManager;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentFilter;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMDiskComponent;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.impls.IChainedComponentBulkLoader;
+import org.apache.hyracks.storage.am.lsm.common.impls.StatisticsBulkLoader;
 import org.apache.hyracks.storage.common.compression.file.CompressedFileReference;
 
 public class LSMBTreeDiskComponent extends AbstractLSMDiskComponent {
@@ -53,6 +56,11 @@ public class LSMBTreeDiskComponent extends AbstractLSMDiskComponent {
         return getComponentSize(btree);
     }
 
+    @Override
+    protected IChainedComponentBulkLoader createStatisticsBulkLoader() throws HyracksDataException {
+        return StatisticsBulkLoader.create(getMetadata(), btree);
+    }
+
     @Override
     public int getFileReferenceCount() {
         return getFileReferenceCount(btree);
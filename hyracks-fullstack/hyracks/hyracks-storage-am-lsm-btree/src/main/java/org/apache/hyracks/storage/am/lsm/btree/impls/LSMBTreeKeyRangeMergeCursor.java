@@ -0,0 +1,446 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.impls;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.util.CleanupUtils;
+import org.apache.hyracks.api.util.ExceptionUtils;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.impls.BTree;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexFrame;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexTupleReference;
+import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
+import org.apache.hyracks.storage.am.lsm.btree.tuples.LSMBTreeTupleReference;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent.LSMComponentType;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexOperationContext;
+import org.apache.hyracks.storage.common.EnforcedIndexCursor;
+import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+
+/**
+ * A merge cursor that splits the key space of the merging disk components into disjoint key ranges using the
+ * separator keys found in the root page of the largest merging component. Each range is merged by its own
+ * {@link LSMBTreeRangeSearchCursor} on the merge range executor into a small pool of tuple buffers, and the ranges are
+ * consumed in key order, so the tuples returned by this cursor are exactly the ones a single merge cursor returns.
+ * When the key space cannot be split, the cursor falls back to a single {@link LSMBTreeRangeSearchCursor}. A range
+ * that the executor rejects is merged by the thread consuming this cursor once it reaches that range.
+ */
+public class LSMBTreeKeyRangeMergeCursor extends EnforcedIndexCursor {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int BUFFERS_PER_RANGE = 4;
+
+    private final LSMBTree lsmBTree;
+    private final boolean returnDeletedTuples;
+    private final int maxRanges;
+    private final Executor executor;
+    private final LSMBTreeRangeSearchCursor serialCursor;
+    private final MultiComparator cmp;
+    private RangeMerger[] rangeMergers;
+    private LSMBTreeTupleReference outputTuple;
+    private int currentRange;
+    private TupleBuffer currentBuffer;
+    private TupleBuffer exhaustedBuffer;
+    private int exhaustedRange;
+    private int nextTupleIndex;
+    private boolean parallel;
+    private LSMBTreeOpContext inlineOpCtx;
+    private LSMBTreeRangeSearchCursor inlineCursor;
+
+    public LSMBTreeKeyRangeMergeCursor(LSMBTree lsmBTree, ILSMIndexOperationContext opCtx, boolean returnDeletedTuples,
+            int maxRanges, Executor executor) {
+        this.lsmBTree = lsmBTree;
+        this.returnDeletedTuples = returnDeletedTuples;
+        this.maxRanges = maxRanges;
+        this.executor = executor;
+        this.serialCursor = new LSMBTreeRangeSearchCursor(opCtx, returnDeletedTuples);
+        this.cmp = MultiComparator.create(lsmBTree.getComparatorFactories());
+    }
+
+    @Override
+    protected void doOpen(ICursorInitialState initialState, ISearchPredicate searchPred) throws HyracksDataException {
+        LSMBTreeCursorInitialState lsmInitialState = (LSMBTreeCursorInitialState) initialState;
+        List<ILSMComponent> components = new ArrayList<>(lsmInitialState.getOperationalComponents());
+        List<ITupleReference> splitKeys = computeSplitKeys(components);
+        parallel = !splitKeys.isEmpty();
+        if (!parallel) {
+            serialCursor.open(initialState, searchPred);
+            return;
+        }
+        int numRanges = splitKeys.size() + 1;
+        rangeMergers = new RangeMerger[numRanges];
+        for (int i = 0; i < numRanges; i++) {
+            ITupleReference lowKey = i == 0 ? null : splitKeys.get(i - 1);
+            ITupleReference highKey = i == numRanges - 1 ? null : splitKeys.get(i);
+            rangeMergers[i] = new RangeMerger(components, new RangePredicate(lowKey, highKey, true, false, cmp, cmp));
+        }
+        currentRange = 0;
+        currentBuffer = null;
+        exhaustedBuffer = null;
+        nextTupleIndex = 0;
+        startRangeMergers(0);
+    }
+
+    /**
+     * Starts the range mergers in key order until the executor rejects one
+     */
+    private void startRangeMergers(int from) {
+        for (int i = from; i < rangeMergers.length; i++) {
+            if (!rangeMergers[i].started && !rangeMergers[i].start()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Picks up to maxRanges - 1 evenly spaced separator keys from the root of the largest merging component.
+     * Disk components are immutable, so the root page is read without latching, same as {@link BTree} disk searches.
+     */
+    private List<ITupleReference> computeSplitKeys(List<ILSMComponent> components) throws HyracksDataException {
+        ILSMDiskComponent largest = null;
+        for (ILSMComponent component : components) {
+            if (component.getType() != LSMComponentType.DISK) {
+                return Collections.emptyList();
+            }
+            ILSMDiskComponent diskComponent = (ILSMDiskComponent) component;
+            if (largest == null || diskComponent.getComponentSize() > largest.getComponentSize()) {
+                largest = diskComponent;
+            }
+        }
+        if (maxRanges < 2 || largest == null) {
+            return Collections.emptyList();
+        }
+        BTree btree = (BTree) largest.getIndex();
+        IBufferCache bufferCache = btree.getBufferCache();
+        ITreeIndexFrame interiorFrame = btree.getInteriorFrameFactory().createFrame();
+        interiorFrame.setMultiComparator(MultiComparator.create(btree.getComparatorFactories()));
+        ICachedPage root =
+                bufferCache.pin(BufferedFileHandle.getDiskPageId(btree.getFileId(), btree.getRootPageId()), false);
+        try {
+            interiorFrame.setPage(root);
+            if (interiorFrame.isLeaf()) {
+                return Collections.emptyList();
+            }
+            int numSeparators = interiorFrame.getTupleCount();
+            int numRanges = Math.min(maxRanges, numSeparators + 1);
+            List<ITupleReference> splitKeys = new ArrayList<>(numRanges - 1);
+            ITreeIndexTupleReference separator = interiorFrame.createTupleReference();
+            for (int i = 1; i < numRanges; i++) {
+                separator.resetByTupleIndex(interiorFrame, i * numSeparators / numRanges);
+                splitKeys.add(TupleUtils.copyTuple(separator));
+            }
+            // merged tuples are exposed the way the disk leaf frames expose them to the merge bulk loader
+            outputTuple = (LSMBTreeTupleReference) btree.getLeafFrameFactory().createFrame().createTupleReference();
+            return splitKeys;
+        } finally {
+            bufferCache.unpin(root);
+        }
+    }
+
+    @Override
+    protected boolean doHasNext() throws HyracksDataException {
+        if (!parallel) {
+            return serialCursor.hasNext();
+        }
+        while (currentBuffer == null || nextTupleIndex >= currentBuffer.size) {
+            if (inlineCursor != null) {
+                if (inlineCursor.hasNext()) {
+                    return true;
+                }
+                closeInlineRange();
+                currentRange++;
+                continue;
+            }
+            if (currentBuffer != null) {
+                // the last returned tuple may still point to it, it is released on the next call to next()
+                exhaustedBuffer = currentBuffer;
+                exhaustedRange = currentRange;
+                currentBuffer = null;
+            }
+            if (currentRange >= rangeMergers.length) {
+                return false;
+            }
+            RangeMerger merger = rangeMergers[currentRange];
+            if (!merger.started) {
+                startRangeMergers(currentRange);
+                if (!merger.started) {
+                    openInlineRange(merger);
+                    continue;
+                }
+            }
+            currentBuffer = merger.take();
+            nextTupleIndex = 0;
+            if (currentBuffer == null) {
+                currentRange++;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doNext() throws HyracksDataException {
+        if (!parallel) {
+            serialCursor.next();
+            return;
+        }
+        releaseExhaustedBuffer();
+        if (inlineCursor != null) {
+            inlineCursor.next();
+            return;
+        }
+        outputTuple.resetByTupleOffset(currentBuffer.data, currentBuffer.offsets[nextTupleIndex++]);
+    }
+
+    @Override
+    protected ITupleReference doGetTuple() {
+        if (!parallel) {
+            return serialCursor.getTuple();
+        }
+        return inlineCursor != null ? inlineCursor.getTuple() : outputTuple;
+    }
+
+    @Override
+    protected void doClose() throws HyracksDataException {
+        if (!parallel) {
+            serialCursor.close();
+            return;
+        }
+        releaseExhaustedBuffer();
+        if (currentBuffer != null && currentRange < rangeMergers.length) {
+            rangeMergers[currentRange].release(currentBuffer);
+        }
+        currentBuffer = null;
+        Throwable failure = null;
+        if (inlineCursor != null) {
+            try {
+                closeInlineRange();
+            } catch (Throwable th) { // NOSONAR the failure is rethrown once all the range mergers are done
+                failure = th;
+            }
+        }
+        for (RangeMerger merger : rangeMergers) {
+            failure = merger.cancel(failure);
+        }
+        rangeMergers = null;
+        if (failure != null) {
+            throw HyracksDataException.create(failure);
+        }
+    }
+
+    @Override
+    protected void doDestroy() throws HyracksDataException {
+        serialCursor.destroy();
+    }
+
+    private void openInlineRange(RangeMerger merger) throws HyracksDataException {
+        inlineOpCtx = lsmBTree.createOpContext(NoOpIndexAccessParameters.INSTANCE);
+        inlineOpCtx.getComponentHolder().addAll(merger.components);
+        inlineCursor = new LSMBTreeRangeSearchCursor(inlineOpCtx, returnDeletedTuples);
+        lsmBTree.search(inlineOpCtx, inlineCursor, merger.predicate);
+    }
+
+    private void closeInlineRange() throws HyracksDataException {
+        Throwable failure = null;
+        try {
+            inlineCursor.close();
+        } catch (Throwable th) { // NOSONAR the failure is rethrown after destroying the cursor
+            failure = th;
+        }
+        failure = CleanupUtils.destroy(failure, inlineCursor, inlineOpCtx);
+        inlineCursor = null;
+        inlineOpCtx = null;
+        if (failure != null) {
+            throw HyracksDataException.create(failure);
+        }
+    }
+
+    private void releaseExhaustedBuffer() {
+        if (exhaustedBuffer != null) {
+            rangeMergers[exhaustedRange].release(exhaustedBuffer);
+            exhaustedBuffer = null;
+        }
+    }
+
+    private static class TupleBuffer {
+        private byte[] data = new byte[BUFFER_SIZE];
+        private int[] offsets = new int[64];
+        private int size;
+        private int length;
+
+        private boolean append(LSMBTreeTupleReference tuple) {
+            int start = tuple.getTupleStart();
+            int lastField = tuple.getFieldCount() - 1;
+            int tupleLength = tuple.getFieldStart(lastField) + tuple.getFieldLength(lastField) - start;
+            if (length + tupleLength > data.length) {
+                if (size > 0) {
+                    return false;
+                }
+                data = new byte[tupleLength];
+            }
+            if (size == offsets.length) {
+                int[] newOffsets = new int[offsets.length * 2];
+                System.arraycopy(offsets, 0, newOffsets, 0, size);
+                offsets = newOffsets;
+            }
+            System.arraycopy(tuple.getFieldData(0), start, data, length, tupleLength);
+            offsets[size++] = length;
+            length += tupleLength;
+            return true;
+        }
+
+        private void reset() {
+            size = 0;
+            length = 0;
+        }
+    }
+
+    /**
+     * Merges a single key range of the merging components and hands over filled buffers in key order.
+     */
+    private class RangeMerger implements Runnable {
+        // marks the end of the range in the full queue
+        private final TupleBuffer endOfRange = new TupleBuffer();
+        private final BlockingQueue<TupleBuffer> free = new ArrayBlockingQueue<>(BUFFERS_PER_RANGE);
+        private final BlockingQueue<TupleBuffer> full = new ArrayBlockingQueue<>(BUFFERS_PER_RANGE + 1);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final List<ILSMComponent> components;
+        private final RangePredicate predicate;
+        private volatile boolean cancelled;
+        // only accessed by the consuming thread
+        private boolean started;
+        private volatile Throwable failure;
+
+        private RangeMerger(List<ILSMComponent> components, RangePredicate predicate) {
+            this.components = components;
+            this.predicate = predicate;
+            for (int i = 0; i < BUFFERS_PER_RANGE; i++) {
+                free.add(new TupleBuffer());
+            }
+        }
+
+        @Override
+        public void run() {
+            LSMBTreeOpContext opCtx = null;
+            LSMBTreeRangeSearchCursor cursor = null;
+            try {
+                opCtx = lsmBTree.createOpContext(NoOpIndexAccessParameters.INSTANCE);
+                opCtx.getComponentHolder().addAll(components);
+                cursor = new LSMBTreeRangeSearchCursor(opCtx, returnDeletedTuples);
+                lsmBTree.search(opCtx, cursor, predicate);
+                try {
+                    TupleBuffer buffer = free.take();
+                    while (!cancelled && cursor.hasNext()) {
+                        cursor.next();
+                        LSMBTreeTupleReference tuple = (LSMBTreeTupleReference) cursor.getTuple();
+                        if (!buffer.append(tuple)) {
+                            full.add(buffer);
+                            buffer = free.take();
+                            buffer.append(tuple);
+                        }
+                    }
+                    if (buffer.size > 0) {
+                        full.add(buffer);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (Throwable th) { // NOSONAR the failure is rethrown by the merging thread
+                failure = th;
+            } finally {
+                failure = CleanupUtils.destroy(failure, cursor, opCtx);
+                full.add(endOfRange);
+                done.countDown();
+            }
+        }
+
+        private boolean start() {
+            try {
+                executor.execute(this);
+                started = true;
+            } catch (RejectedExecutionException e) { // NOSONAR the consuming thread merges the range instead
+                started = false;
+            }
+            return started;
+        }
+
+        /**
+         * @return the next buffer of this range, or null if the range is exhausted
+         */
+        private TupleBuffer take() throws HyracksDataException {
+            TupleBuffer buffer;
+            try {
+                buffer = full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw HyracksDataException.create(e);
+            }
+            if (buffer == endOfRange) {
+                if (failure != null) {
+                    throw HyracksDataException.create(failure);
+                }
+                return null;
+            }
+            return buffer;
+        }
+
+        private void release(TupleBuffer buffer) {
+            buffer.reset();
+            free.add(buffer);
+        }
+
+        private Throwable cancel(Throwable root) {
+            cancelled = true;
+            if (!started) {
+                return root;
+            }
+            // hand back any filled buffer so that a merger waiting for a free buffer observes the cancellation
+            for (TupleBuffer buffer = full.poll(); buffer != null; buffer = full.poll()) {
+                if (buffer != endOfRange) {
+                    release(buffer);
+                }
+            }
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ExceptionUtils.suppress(root, e);
+            }
+            return root;
+        }
+    }
+}
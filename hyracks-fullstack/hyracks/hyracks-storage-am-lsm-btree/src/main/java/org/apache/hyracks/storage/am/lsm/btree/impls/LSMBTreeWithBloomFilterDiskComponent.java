@@ -20,11 +20,14 @@ package org.apache.hyracks.storage.am.lsm.btree.impls;
 
 import java.util.Set;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.storage.am.bloomfilter.impls.BloomFilter;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentFilter;
 import org.apache.hyracks.storage.am.lsm.common.api.AbstractLSMWithBloomFilterDiskComponent;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.impls.IChainedComponentBulkLoader;
+import org.apache.hyracks.storage.am.lsm.common.impls.StatisticsBulkLoader;
 import org.apache.hyracks.storage.common.buffercache.IBufferCache;
 
 public class LSMBTreeWithBloomFilterDiskComponent extends AbstractLSMWithBloomFilterDiskComponent {
@@ -65,6 +68,11 @@ public class LSMBTreeWithBloomFilterDiskComponent extends AbstractLSMWithBloomFi
         files.add(bloomFilter.getFileReference().getFile().getAbsolutePath());
     }
 
+    @Override
+    protected IChainedComponentBulkLoader createStatisticsBulkLoader() throws HyracksDataException {
+        return StatisticsBulkLoader.create(getMetadata(), btree);
+    }
+
     @Override
     public int getFileReferenceCount() {
         return LSMBTreeDiskComponent.getFileReferenceCount(btree);
@@ -30,8 +30,8 @@ import org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleWriter;
 
 public class LSMBTreeTupleWriter extends BTreeTypeAwareTupleWriter implements ILSMTreeTupleWriter {
 
-    private boolean isAntimatter;
-    private final int numKeyFields;
+    protected boolean isAntimatter;
+    protected final int numKeyFields;
 
     public LSMBTreeTupleWriter(ITypeTraits[] typeTraits, int numKeyFields, boolean isAntimatter, boolean updateAware) {
         super(typeTraits, updateAware);
@@ -36,6 +36,9 @@ import org.apache.hyracks.storage.am.btree.tuples.BTreeTypeAwareTupleWriterFacto
 import org.apache.hyracks.storage.am.common.api.IMetadataPageManagerFactory;
 import org.apache.hyracks.storage.am.common.api.ITreeIndexFrameFactory;
 import org.apache.hyracks.storage.am.common.tuples.TypeAwareTupleWriterFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.ColumnarDiskBTreeFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.ColumnarLeafFrameFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredderFactory;
 import org.apache.hyracks.storage.am.lsm.btree.impls.ExternalBTree;
 import org.apache.hyracks.storage.am.lsm.btree.impls.ExternalBTreeWithBuddy;
 import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTree;
@@ -75,6 +78,25 @@ public class LSMBTreeUtil {
             IBinaryComparatorFactory[] filterCmpFactories, int[] btreeFields, int[] filterFields, boolean durable,
             IMetadataPageManagerFactory freePageManagerFactory, boolean updateAware, ITracer tracer,
             ICompressorDecompressorFactory compressorDecompressorFactory) throws HyracksDataException {
+        return createLSMTree(ioManager, virtualBufferCaches, file, diskBufferCache, typeTraits, cmpFactories,
+                bloomFilterKeyFields, bloomFilterFalsePositiveRate, mergePolicy, opTracker, ioScheduler,
+                ioOpCallbackFactory, needKeyDupCheck, filterTypeTraits, filterCmpFactories, btreeFields, filterFields,
+                durable, freePageManagerFactory, updateAware, tracer, compressorDecompressorFactory, null);
+    }
+
+    /**
+     * Creates an LSM B-tree whose disk components use the columnar leaf layout when
+     * {@code columnShredderFactory} is not null. Memory components are row-based either way.
+     */
+    public static LSMBTree createLSMTree(IIOManager ioManager, List<IVirtualBufferCache> virtualBufferCaches,
+            FileReference file, IBufferCache diskBufferCache, ITypeTraits[] typeTraits,
+            IBinaryComparatorFactory[] cmpFactories, int[] bloomFilterKeyFields, double bloomFilterFalsePositiveRate,
+            ILSMMergePolicy mergePolicy, ILSMOperationTracker opTracker, ILSMIOOperationScheduler ioScheduler,
+            ILSMIOOperationCallbackFactory ioOpCallbackFactory, boolean needKeyDupCheck, ITypeTraits[] filterTypeTraits,
+            IBinaryComparatorFactory[] filterCmpFactories, int[] btreeFields, int[] filterFields, boolean durable,
+            IMetadataPageManagerFactory freePageManagerFactory, boolean updateAware, ITracer tracer,
+            ICompressorDecompressorFactory compressorDecompressorFactory, IColumnShredderFactory columnShredderFactory)
+            throws HyracksDataException {
         LSMBTreeTupleWriterFactory insertTupleWriterFactory =
                 new LSMBTreeTupleWriterFactory(typeTraits, cmpFactories.length, false, updateAware);
         LSMBTreeTupleWriterFactory deleteTupleWriterFactory =
@@ -90,12 +112,21 @@ public class LSMBTreeUtil {
         ITreeIndexFrameFactory interiorFrameFactory = new BTreeNSMInteriorFrameFactory(insertTupleWriterFactory);
         ITreeIndexFrameFactory bulkLoadLeafFrameFactory = new BTreeNSMLeafFrameFactory(bulkLoadTupleWriterFactory);
 
-        TreeIndexFactory<DiskBTree> diskBTreeFactory =
-                new DiskBTreeFactory(ioManager, diskBufferCache, freePageManagerFactory, interiorFrameFactory,
-                        copyTupleLeafFrameFactory, cmpFactories, typeTraits.length);
-        TreeIndexFactory<DiskBTree> bulkLoadBTreeFactory =
-                new DiskBTreeFactory(ioManager, diskBufferCache, freePageManagerFactory, interiorFrameFactory,
-                        bulkLoadLeafFrameFactory, cmpFactories, typeTraits.length);
+        TreeIndexFactory<DiskBTree> diskBTreeFactory;
+        TreeIndexFactory<DiskBTree> bulkLoadBTreeFactory;
+        if (columnShredderFactory != null) {
+            // the columnar leaves write the key fields themselves, so flush, merge and load share one factory
+            ColumnarLeafFrameFactory columnarLeafFrameFactory = new ColumnarLeafFrameFactory(typeTraits,
+                    cmpFactories.length, updateAware, columnShredderFactory);
+            diskBTreeFactory = new ColumnarDiskBTreeFactory(ioManager, diskBufferCache, freePageManagerFactory,
+                    interiorFrameFactory, columnarLeafFrameFactory, cmpFactories, typeTraits.length);
+            bulkLoadBTreeFactory = diskBTreeFactory;
+        } else {
+            diskBTreeFactory = new DiskBTreeFactory(ioManager, diskBufferCache, freePageManagerFactory,
+                    interiorFrameFactory, copyTupleLeafFrameFactory, cmpFactories, typeTraits.length);
+            bulkLoadBTreeFactory = new DiskBTreeFactory(ioManager, diskBufferCache, freePageManagerFactory,
+                    interiorFrameFactory, bulkLoadLeafFrameFactory, cmpFactories, typeTraits.length);
+        }
 
         ComponentFilterHelper filterHelper = null;
         LSMComponentFilterFrameFactory filterFrameFactory = null;
@@ -18,6 +18,8 @@
  */
 package org.apache.hyracks.storage.am.lsm.common.api;
 
+import java.util.concurrent.Executor;
+
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
 /**
@@ -26,4 +28,20 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 @FunctionalInterface
 public interface ILSMIOOperationScheduler {
     void scheduleOperation(ILSMIOOperation operation) throws HyracksDataException;
+
+    /**
+     * @return the maximum number of disjoint key ranges a single merge operation may be split into
+     */
+    default int getMaxMergeRanges() {
+        return 1;
+    }
+
+    /**
+     * @return the executor used to run the key ranges of a merge operation concurrently, or null if merges must run
+     *         on the thread executing the merge operation. The executor may reject a range with a
+     *         {@link java.util.concurrent.RejectedExecutionException}, the range is then merged by the merge operation
+     */
+    default Executor getMergeRangeExecutor() {
+        return null;
+    }
 }
@@ -219,6 +219,15 @@ public abstract class AbstractLSMDiskComponent extends AbstractLSMComponent impl
                 getIndex().createBulkLoader(fillFactor, verifyInput, numElementsHint, checkIfEmptyIndex));
     }
 
+    /**
+     * Allows sub-class to collect statistics while the component is written
+     *
+     * @return the bulkloader that collects the statistics, null if the component has no statistics
+     */
+    protected IChainedComponentBulkLoader createStatisticsBulkLoader() throws HyracksDataException {
+        return null;
+    }
+
     /**
      * Allows sub-class extend this method to use specialized bulkloader for merge
      */
@@ -236,6 +245,10 @@ public abstract class AbstractLSMDiskComponent extends AbstractLSMComponent impl
         if (withFilter && getLsmIndex().getFilterFields() != null) {
             chainedBulkLoader.addBulkLoader(createFilterBulkLoader());
         }
+        IChainedComponentBulkLoader statisticsBulkLoader = createStatisticsBulkLoader();
+        if (statisticsBulkLoader != null) {
+            chainedBulkLoader.addBulkLoader(statisticsBulkLoader);
+        }
         IChainedComponentBulkLoader indexBulkloader = operation.getIOOpertionType() == LSMIOOperationType.MERGE
                 ? createMergeIndexBulkLoader(fillFactor, verifyInput, numElementsHint, checkIfEmptyIndex)
                 : createIndexBulkLoader(fillFactor, verifyInput, numElementsHint, checkIfEmptyIndex);
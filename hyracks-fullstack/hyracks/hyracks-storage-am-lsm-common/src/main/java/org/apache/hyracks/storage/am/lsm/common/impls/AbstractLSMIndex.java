@@ -88,6 +88,7 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
     // On-disk components.
     protected final IBufferCache diskBufferCache;
     protected final ILSMIndexFileManager fileManager;
+    protected final ILSMIOOperationScheduler ioScheduler;
     // components with lower indexes are newer than components with higher index
     protected final List<ILSMDiskComponent> diskComponents;
     protected final List<ILSMDiskComponent> inactiveDiskComponents;
@@ -120,6 +121,7 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
         this.virtualBufferCaches = virtualBufferCaches;
         this.diskBufferCache = diskBufferCache;
         this.fileManager = fileManager;
+        this.ioScheduler = ioScheduler;
         this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
         this.ioOpCallback = ioOpCallbackFactory.createIoOpCallback(this);
         this.componentFactory = componentFactory;
@@ -153,6 +155,7 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
         this.ioManager = ioManager;
         this.diskBufferCache = diskBufferCache;
         this.fileManager = fileManager;
+        this.ioScheduler = ioScheduler;
         this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
         this.ioOpCallback = ioOpCallbackFactory.createIoOpCallback(this);
         this.componentFactory = componentFactory;
@@ -24,8 +24,12 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.hyracks.storage.am.lsm.common.api.IIoOperationFailedCallback;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
@@ -40,10 +44,30 @@ public class AsynchronousScheduler implements ILSMIOOperationScheduler, Closeabl
     private final Map<String, ILSMIOOperation> runningFlushOperations = new HashMap<>();
     private final Map<String, Deque<ILSMIOOperation>> waitingFlushOperations = new HashMap<>();
     private final Map<String, Throwable> failedGroups = new HashMap<>();
+    private final int maxMergeRanges;
+    private final ExecutorService mergeRangeExecutor;
 
     public AsynchronousScheduler(ThreadFactory threadFactory, final IIoOperationFailedCallback callback) {
+        this(threadFactory, callback, 1);
+    }
+
+    public AsynchronousScheduler(ThreadFactory threadFactory, final IIoOperationFailedCallback callback,
+            int maxMergeRanges) {
         executor = new IoOperationExecutor(threadFactory, this, callback, runningFlushOperations,
                 waitingFlushOperations, failedGroups);
+        this.maxMergeRanges = Math.max(1, maxMergeRanges);
+        mergeRangeExecutor = this.maxMergeRanges > 1 ? createMergeRangeExecutor(threadFactory) : null;
+    }
+
+    /**
+     * Range mergers block on the merge operation consuming their output, so they are never queued behind each other:
+     * once all the threads are busy, the executor rejects the range and the merge operation merges it itself.
+     */
+    private ExecutorService createMergeRangeExecutor(ThreadFactory threadFactory) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxMergeRanges, maxMergeRanges, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
     }
 
     @Override
@@ -90,8 +114,21 @@ public class AsynchronousScheduler implements ILSMIOOperationScheduler, Closeabl
         }
     }
 
+    @Override
+    public int getMaxMergeRanges() {
+        return maxMergeRanges;
+    }
+
+    @Override
+    public Executor getMergeRangeExecutor() {
+        return mergeRangeExecutor;
+    }
+
     @Override
     public void close() throws IOException {
         executor.shutdown();
+        if (mergeRangeExecutor != null) {
+            mergeRangeExecutor.shutdown();
+        }
     }
 }
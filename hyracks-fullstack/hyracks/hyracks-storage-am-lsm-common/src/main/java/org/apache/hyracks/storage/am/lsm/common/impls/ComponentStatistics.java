@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.storage.am.common.freepage.MutableArrayValueReference;
+import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
+
+/**
+ * Statistics of the key fields of the tuples of a disk component: the number of tuples and antimatter tuples, the
+ * minimum, maximum and a distinct value sketch per key field and an equi-depth histogram of the first key field.
+ * They are collected by a {@link StatisticsBulkLoader} while the component is written and are kept in the component's
+ * metadata. Statistics of several components can be merged into the statistics of their union. Tuple counts of a
+ * union still include the tuples that are deleted or replaced by tuples of newer components.
+ * Parts that are unknown, because a value was too large to keep or the statistics did not fit into the metadata page,
+ * are null.
+ */
+public class ComponentStatistics {
+
+    public static final MutableArrayValueReference STATISTICS_KEY =
+            new MutableArrayValueReference("Statistics".getBytes());
+    public static final int MAX_BUCKETS = 32;
+    // values that are larger than this are not kept as bounds
+    public static final int MAX_VALUE_LENGTH = 128;
+    // sketches are folded down to this precision before they are left out
+    public static final int MIN_SKETCH_PRECISION = 8;
+    private static final byte VERSION = 1;
+    private long tupleCount;
+    private long antimatterCount;
+    private final byte[][] mins;
+    private final byte[][] maxs;
+    private final HyperLogLog[] sketches;
+    private List<Bucket> histogram;
+
+    public ComponentStatistics(int numFields) {
+        mins = new byte[numFields][];
+        maxs = new byte[numFields][];
+        sketches = new HyperLogLog[numFields];
+    }
+
+    void set(long tupleCount, long antimatterCount, List<Bucket> histogram) {
+        this.tupleCount = tupleCount;
+        this.antimatterCount = antimatterCount;
+        this.histogram = histogram;
+    }
+
+    void setField(int field, byte[] min, byte[] max, HyperLogLog sketch) {
+        mins[field] = min;
+        maxs[field] = max;
+        sketches[field] = sketch;
+    }
+
+    public long getTupleCount() {
+        return tupleCount;
+    }
+
+    public long getAntimatterCount() {
+        return antimatterCount;
+    }
+
+    public int getNumFields() {
+        return mins.length;
+    }
+
+    public byte[] getMin(int field) {
+        return mins[field];
+    }
+
+    public byte[] getMax(int field) {
+        return maxs[field];
+    }
+
+    /**
+     * @return the estimated number of distinct values of the field, -1 if unknown
+     */
+    public long getDistinctCount(int field) {
+        return sketches[field] == null ? -1 : sketches[field].estimate();
+    }
+
+    public boolean hasHistogram() {
+        return histogram != null;
+    }
+
+    public int getNumBuckets() {
+        return histogram == null ? 0 : histogram.size();
+    }
+
+    /**
+     * @return the largest value of the first key field in the bucket
+     */
+    public byte[] getBucketUpperBound(int bucket) {
+        return histogram.get(bucket).upperBound;
+    }
+
+    public long getBucketCount(int bucket) {
+        return histogram.get(bucket).count;
+    }
+
+    private boolean isEmpty() {
+        return tupleCount == 0 && antimatterCount == 0;
+    }
+
+    /**
+     * Merges the statistics of another component into these statistics.
+     *
+     * @param other
+     *            statistics with the same key fields
+     * @param comparators
+     *            the comparators of the key fields
+     */
+    public void merge(ComponentStatistics other, IBinaryComparator[] comparators) throws HyracksDataException {
+        if (other.isEmpty()) {
+            return;
+        }
+        final boolean empty = isEmpty();
+        tupleCount += other.tupleCount;
+        antimatterCount += other.antimatterCount;
+        for (int i = 0; i < mins.length; i++) {
+            if (empty) {
+                mins[i] = other.mins[i];
+                maxs[i] = other.maxs[i];
+                sketches[i] = other.sketches[i] == null ? null : other.sketches[i].copy();
+                continue;
+            }
+            mins[i] = mins[i] == null || other.mins[i] == null ? null
+                    : compare(comparators[i], other.mins[i], mins[i]) < 0 ? other.mins[i] : mins[i];
+            maxs[i] = maxs[i] == null || other.maxs[i] == null ? null
+                    : compare(comparators[i], other.maxs[i], maxs[i]) > 0 ? other.maxs[i] : maxs[i];
+            mergeSketch(i, other);
+        }
+        if (empty) {
+            histogram = other.histogram == null ? null : new ArrayList<>(other.histogram);
+        } else if (histogram != null && other.histogram != null) {
+            histogram = rebucket(mergeSorted(histogram, other.histogram, comparators[0]));
+        } else {
+            histogram = null;
+        }
+    }
+
+    /**
+     * Merges the tuple counts and the distinct value sketches of another component into these statistics. The bounds
+     * and the histogram cannot be merged without the comparators of the key fields and are dropped.
+     *
+     * @param other
+     *            statistics with the same key fields
+     */
+    public void mergeCounts(ComponentStatistics other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        final boolean empty = isEmpty();
+        tupleCount += other.tupleCount;
+        antimatterCount += other.antimatterCount;
+        for (int i = 0; i < mins.length; i++) {
+            mins[i] = null;
+            maxs[i] = null;
+            if (empty) {
+                sketches[i] = other.sketches[i] == null ? null : other.sketches[i].copy();
+            } else {
+                mergeSketch(i, other);
+            }
+        }
+        histogram = null;
+    }
+
+    private void mergeSketch(int field, ComponentStatistics other) {
+        if (sketches[field] != null && other.sketches[field] != null) {
+            final int precision = Math.min(sketches[field].getPrecision(), other.sketches[field].getPrecision());
+            if (sketches[field].getPrecision() > precision) {
+                sketches[field] = sketches[field].fold(precision);
+            }
+            sketches[field].merge(other.sketches[field].getPrecision() > precision
+                    ? other.sketches[field].fold(precision) : other.sketches[field]);
+        } else {
+            sketches[field] = null;
+        }
+    }
+
+    private static int compare(IBinaryComparator comparator, byte[] a, byte[] b) throws HyracksDataException {
+        return comparator.compare(a, 0, a.length, b, 0, b.length);
+    }
+
+    private static List<Bucket> mergeSorted(List<Bucket> a, List<Bucket> b, IBinaryComparator comparator)
+            throws HyracksDataException {
+        final List<Bucket> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() || j < b.size()) {
+            if (j == b.size() || (i < a.size() && compare(comparator, a.get(i).upperBound, b.get(j).upperBound) <= 0)) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Combines adjacent buckets of a histogram into at most {@link #MAX_BUCKETS} buckets of about equal depth.
+     */
+    static List<Bucket> rebucket(List<Bucket> buckets) {
+        if (buckets.size() <= MAX_BUCKETS) {
+            return buckets;
+        }
+        long total = 0;
+        for (Bucket bucket : buckets) {
+            total += bucket.count;
+        }
+        final long depth = (total + MAX_BUCKETS - 1) / MAX_BUCKETS;
+        final List<Bucket> result = new ArrayList<>(MAX_BUCKETS);
+        long count = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            count += buckets.get(i).count;
+            if (count >= depth || i == buckets.size() - 1) {
+                result.add(new Bucket(buckets.get(i).upperBound, count));
+                count = 0;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Puts the statistics into the metadata of a component. If they are larger than the passed length, the sketches
+     * are reduced to {@link #MIN_SKETCH_PRECISION} and then the histogram, the sketches and the bounds are left out
+     * until they fit.
+     *
+     * @return true if the statistics were put, false if even the counts are larger than maxLength
+     */
+    public boolean write(IComponentMetadata metadata, int maxLength) throws HyracksDataException {
+        final ArrayBackedValueStorage value = new ArrayBackedValueStorage();
+        serialize(value);
+        if (value.getLength() > maxLength) {
+            for (int i = 0; i < sketches.length; i++) {
+                if (sketches[i] != null && sketches[i].getPrecision() > MIN_SKETCH_PRECISION) {
+                    sketches[i] = sketches[i].fold(MIN_SKETCH_PRECISION);
+                }
+            }
+            serialize(value);
+        }
+        if (value.getLength() > maxLength && histogram != null) {
+            histogram = null;
+            serialize(value);
+        }
+        if (value.getLength() > maxLength) {
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = null;
+            }
+            serialize(value);
+        }
+        if (value.getLength() > maxLength) {
+            for (int i = 0; i < mins.length; i++) {
+                mins[i] = null;
+                maxs[i] = null;
+            }
+            serialize(value);
+        }
+        if (value.getLength() > maxLength) {
+            return false;
+        }
+        metadata.put(STATISTICS_KEY, value);
+        return true;
+    }
+
+    /**
+     * @return the statistics in the metadata of a component, null if the component has no statistics
+     */
+    public static ComponentStatistics read(IComponentMetadata metadata) throws HyracksDataException {
+        final ArrayBackedValueStorage value = new ArrayBackedValueStorage();
+        metadata.get(STATISTICS_KEY, value);
+        if (value.getLength() == 0) {
+            return null;
+        }
+        try {
+            return deserialize(new DataInputStream(
+                    new ByteArrayInputStream(value.getByteArray(), value.getStartOffset(), value.getLength())));
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private void serialize(ArrayBackedValueStorage value) throws HyracksDataException {
+        value.reset();
+        try {
+            serialize(value.getDataOutput());
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    public void serialize(DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeLong(tupleCount);
+        out.writeLong(antimatterCount);
+        out.writeInt(mins.length);
+        for (int i = 0; i < mins.length; i++) {
+            writeBytes(out, mins[i]);
+            writeBytes(out, maxs[i]);
+            writeBytes(out, sketches[i] == null ? null : sketches[i].getRegisters());
+        }
+        out.writeInt(histogram == null ? -1 : histogram.size());
+        if (histogram != null) {
+            for (Bucket bucket : histogram) {
+                writeBytes(out, bucket.upperBound);
+                out.writeLong(bucket.count);
+            }
+        }
+    }
+
+    /**
+     * @return the deserialized statistics, null if they were written by an unknown version
+     */
+    public static ComponentStatistics deserialize(DataInput in) throws IOException {
+        if (in.readByte() != VERSION) {
+            return null;
+        }
+        final long tupleCount = in.readLong();
+        final long antimatterCount = in.readLong();
+        final ComponentStatistics statistics = new ComponentStatistics(in.readInt());
+        for (int i = 0; i < statistics.getNumFields(); i++) {
+            final byte[] min = readBytes(in);
+            final byte[] max = readBytes(in);
+            final byte[] registers = readBytes(in);
+            statistics.setField(i, min, max, registers == null ? null : HyperLogLog.wrap(registers));
+        }
+        final int numBuckets = in.readInt();
+        List<Bucket> histogram = null;
+        if (numBuckets >= 0) {
+            histogram = new ArrayList<>(numBuckets);
+            for (int i = 0; i < numBuckets; i++) {
+                final byte[] upperBound = readBytes(in);
+                histogram.add(new Bucket(upperBound, in.readLong()));
+            }
+        }
+        statistics.set(tupleCount, antimatterCount, histogram);
+        return statistics;
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static class Bucket {
+        final byte[] upperBound;
+        final long count;
+
+        Bucket(byte[] upperBound, long count) {
+            this.upperBound = upperBound;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct 64-bit hashes added to it. Sketches with the same
+ * precision can be merged, which makes the estimate of a union of components or partitions as accurate as the
+ * estimate of each of them (about 1.04 / sqrt(2^precision) relative standard error).
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 10;
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        this(precision, new byte[1 << precision]);
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static HyperLogLog wrap(byte[] registers) {
+        return new HyperLogLog(Integer.numberOfTrailingZeros(registers.length), registers);
+    }
+
+    public void add(long hash) {
+        final int index = (int) (hash >>> (Long.SIZE - precision));
+        // the marker bit bounds the rank when the remaining bits are all zero
+        final long rest = (hash << precision) | (1L << (precision - 1));
+        final byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return a sketch of a lower precision that estimates the same hashes as this sketch
+     */
+    public HyperLogLog fold(int newPrecision) {
+        final int shift = precision - newPrecision;
+        final HyperLogLog folded = new HyperLogLog(newPrecision);
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            // the index bits that are dropped become the leading bits of the rest of the hash
+            final int droppedBits = i & ((1 << shift) - 1);
+            final byte rank = droppedBits == 0 ? (byte) (registers[i] + shift)
+                    : (byte) (Integer.numberOfLeadingZeros(droppedBits) - (Integer.SIZE - shift) + 1);
+            final int index = i >>> shift;
+            if (folded.registers[index] < rank) {
+                folded.registers[index] = rank;
+            }
+        }
+        return folded;
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "Cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        final int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        final double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.bloomfilter.impls.MurmurHash128Bit;
+import org.apache.hyracks.storage.am.common.api.ITreeIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleReference;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics.Bucket;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+
+/**
+ * Collects the {@link ComponentStatistics} of the key fields of the tuples that are bulk loaded into a disk component
+ * and puts them into the component's metadata when the bulk load ends.
+ * The tuples must arrive sorted on the key fields, as they do when a B-tree component is flushed, merged or bulk
+ * loaded, which lets the equi-depth histogram of the first key field be built in a single pass: a bucket is closed
+ * every step tuples and when there are twice as many buckets as needed, pairs of buckets are combined and the step is
+ * doubled.
+ */
+public class StatisticsBulkLoader implements IChainedComponentBulkLoader {
+
+    // the statistics may take up to this fraction of the metadata page
+    private static final int METADATA_PAGE_SHARE = 4;
+    // statistics are not collected for indexes with smaller pages
+    public static final int MIN_PAGE_SIZE = 4096;
+    private static final long HASH_SEED = 0L;
+    private final IComponentMetadata metadata;
+    private final int maxLength;
+    private final IBinaryComparator[] comparators;
+    private final int[][] hashFields;
+    private final long[] hashes = new long[2];
+    private final ArrayBackedValueStorage[] mins;
+    private final ArrayBackedValueStorage[] maxs;
+    private final boolean[] boundsKnown;
+    private final HyperLogLog[] sketches;
+    private List<Bucket> histogram = new ArrayList<>();
+    private final ArrayBackedValueStorage lastKey = new ArrayBackedValueStorage();
+    private long step = 1;
+    private long bucketCount;
+    private long tupleCount;
+    private long antimatterCount;
+
+    public StatisticsBulkLoader(IComponentMetadata metadata, int pageSize, IBinaryComparatorFactory[] cmpFactories)
+            throws HyracksDataException {
+        this.metadata = metadata;
+        this.maxLength = pageSize / METADATA_PAGE_SHARE;
+        final int numFields = cmpFactories.length;
+        comparators = new IBinaryComparator[numFields];
+        hashFields = new int[numFields][];
+        mins = new ArrayBackedValueStorage[numFields];
+        maxs = new ArrayBackedValueStorage[numFields];
+        boundsKnown = new boolean[numFields];
+        sketches = new HyperLogLog[numFields];
+        for (int i = 0; i < numFields; i++) {
+            comparators[i] = cmpFactories[i].createBinaryComparator();
+            hashFields[i] = new int[] { i };
+            mins[i] = new ArrayBackedValueStorage();
+            maxs[i] = new ArrayBackedValueStorage();
+            boundsKnown[i] = true;
+            sketches[i] = new HyperLogLog();
+        }
+    }
+
+    /**
+     * @return a loader that collects the statistics of the key fields of the tree index of a disk component, null if
+     *         the pages of the index are too small to hold them
+     */
+    public static StatisticsBulkLoader create(IComponentMetadata metadata, ITreeIndex treeIndex)
+            throws HyracksDataException {
+        final int pageSize = treeIndex.getBufferCache().getPageSize();
+        return pageSize < MIN_PAGE_SIZE ? null
+                : new StatisticsBulkLoader(metadata, pageSize, treeIndex.getComparatorFactories());
+    }
+
+    @Override
+    public ITupleReference add(ITupleReference tuple) throws HyracksDataException {
+        if (tuple instanceof ILSMTreeTupleReference && ((ILSMTreeTupleReference) tuple).isAntimatter()) {
+            antimatterCount++;
+        } else {
+            tupleCount++;
+        }
+        update(tuple);
+        return tuple;
+    }
+
+    @Override
+    public ITupleReference delete(ITupleReference tuple) throws HyracksDataException {
+        antimatterCount++;
+        update(tuple);
+        return tuple;
+    }
+
+    private void update(ITupleReference tuple) throws HyracksDataException {
+        final boolean first = tupleCount + antimatterCount == 1;
+        for (int i = 0; i < comparators.length; i++) {
+            MurmurHash128Bit.hash3_x64_128(tuple, hashFields[i], HASH_SEED, hashes);
+            sketches[i].add(hashes[0]);
+            if (!boundsKnown[i]) {
+                continue;
+            }
+            final byte[] data = tuple.getFieldData(i);
+            final int start = tuple.getFieldStart(i);
+            final int length = tuple.getFieldLength(i);
+            if (length > ComponentStatistics.MAX_VALUE_LENGTH) {
+                boundsKnown[i] = false;
+            } else if (first) {
+                mins[i].set(data, start, length);
+                maxs[i].set(data, start, length);
+            } else if (comparators[i].compare(data, start, length, mins[i].getByteArray(), mins[i].getStartOffset(),
+                    mins[i].getLength()) < 0) {
+                mins[i].set(data, start, length);
+            } else if (comparators[i].compare(data, start, length, maxs[i].getByteArray(), maxs[i].getStartOffset(),
+                    maxs[i].getLength()) > 0) {
+                maxs[i].set(data, start, length);
+            }
+        }
+        if (histogram != null) {
+            updateHistogram(tuple);
+        }
+    }
+
+    private void updateHistogram(ITupleReference tuple) {
+        final int length = tuple.getFieldLength(0);
+        if (length > ComponentStatistics.MAX_VALUE_LENGTH) {
+            histogram = null;
+            return;
+        }
+        lastKey.set(tuple.getFieldData(0), tuple.getFieldStart(0), length);
+        if (++bucketCount == step) {
+            closeBucket();
+            if (histogram.size() == 2 * ComponentStatistics.MAX_BUCKETS) {
+                final List<Bucket> combined = new ArrayList<>(ComponentStatistics.MAX_BUCKETS);
+                for (int i = 0; i < histogram.size(); i += 2) {
+                    combined.add(new Bucket(histogram.get(i + 1).upperBound, step * 2));
+                }
+                histogram = combined;
+                step *= 2;
+            }
+        }
+    }
+
+    private void closeBucket() {
+        histogram.add(new Bucket(lastKey.toByteArray(), bucketCount));
+        bucketCount = 0;
+    }
+
+    @Override
+    public void end() throws HyracksDataException {
+        if (histogram != null && bucketCount > 0) {
+            closeBucket();
+        }
+        final ComponentStatistics statistics = new ComponentStatistics(comparators.length);
+        final boolean empty = tupleCount + antimatterCount == 0;
+        statistics.set(tupleCount, antimatterCount,
+                histogram == null || empty ? null : ComponentStatistics.rebucket(histogram));
+        for (int i = 0; i < comparators.length; i++) {
+            final boolean known = boundsKnown[i] && !empty;
+            statistics.setField(i, known ? mins[i].toByteArray() : null, known ? maxs[i].toByteArray() : null,
+                    sketches[i]);
+        }
+        statistics.write(metadata, maxLength);
+    }
+
+    @Override
+    public void abort() throws HyracksDataException {
+        //Noop
+    }
+
+    @Override
+    public void cleanupArtifacts() throws HyracksDataException {
+        //Noop
+    }
+
+    @Override
+    public void writeFailed(ICachedPage page, Throwable failure) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasFailed() {
+        return false;
+    }
+
+    @Override
+    public Throwable getFailure() {
+        return null;
+    }
+}
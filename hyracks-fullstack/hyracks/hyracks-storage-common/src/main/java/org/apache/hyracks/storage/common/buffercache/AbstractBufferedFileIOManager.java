@@ -70,6 +70,24 @@ public abstract class AbstractBufferedFileIOManager {
      */
     public abstract void read(CachedPage cPage) throws HyracksDataException;
 
+    /**
+     * Read up to {@code numPages} contiguous pages, including their headers, starting at {@code pageId} into
+     * {@code buf} using a single IO
+     *
+     * @param pageId
+     *            the first page to read
+     * @param numPages
+     *            the maximum number of pages to read
+     * @param buf
+     *            the destination buffer, large enough to hold {@code numPages} pages with their headers
+     * @return
+     *         the number of complete pages read, 0 if the file doesn't support read-ahead
+     * @throws HyracksDataException
+     */
+    public int readAhead(int pageId, int numPages, ByteBuffer buf) throws HyracksDataException {
+        return 0;
+    }
+
     /**
      * Write the CachedPage into disk
      *
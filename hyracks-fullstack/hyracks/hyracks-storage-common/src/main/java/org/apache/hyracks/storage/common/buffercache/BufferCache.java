@@ -22,6 +22,7 @@ import static org.apache.hyracks.control.nc.io.IOManager.IO_REQUEST_QUEUE_SIZE;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -64,6 +65,9 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
     private static final int MAX_PIN_ATTEMPT_CYCLES = 1000;
     private static final int MAX_PAGE_READ_ATTEMPTS = 5;
     private static final long PERIOD_BETWEEN_READ_ATTEMPTS = 100;
+    // read-ahead never takes more than this fraction of the cache budget per request
+    private static final int READ_AHEAD_BUDGET_FRACTION = 16;
+    private static final int MAX_POOLED_READ_AHEAD_BUFFERS = 8;
     public static final boolean DEBUG = false;
 
     private final int pageSize;
@@ -78,8 +82,11 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
     private final AsyncFIFOPageQueueManager fifoWriter;
     private final BlockingQueue<BufferCacheHeaderHelper> headerPageCache =
             new ArrayBlockingQueue<>(IO_REQUEST_QUEUE_SIZE);
+    private final int readAheadPages;
+    private final BlockingQueue<ByteBuffer> readAheadBuffers = new ArrayBlockingQueue<>(MAX_POOLED_READ_AHEAD_BUFFERS);
+    private final ReadAheadCounters readAheadCounters = new ReadAheadCounters();
 
-    private IIOReplicationManager ioReplicationManager;
+    private final IIOReplicationManager ioReplicationManager;
     private final List<ICachedPageInternal> cachedPages = new ArrayList<>();
     private final AtomicLong masterPinCount = new AtomicLong();
 
@@ -95,6 +102,27 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
     public BufferCache(IIOManager ioManager, IPageReplacementStrategy pageReplacementStrategy,
             IPageCleanerPolicy pageCleanerPolicy, IFileMapManager fileMapManager, int maxOpenFiles,
             ThreadFactory threadFactory) {
+        this(ioManager, pageReplacementStrategy, pageCleanerPolicy, fileMapManager, maxOpenFiles, threadFactory, null,
+                0);
+    }
+
+    //this constructor is used when replication is enabled to pass the IIOReplicationManager
+    public BufferCache(IIOManager ioManager, IPageReplacementStrategy pageReplacementStrategy,
+            IPageCleanerPolicy pageCleanerPolicy, IFileMapManager fileMapManager, int maxOpenFiles,
+            ThreadFactory threadFactory, IIOReplicationManager ioReplicationManager) {
+        this(ioManager, pageReplacementStrategy, pageCleanerPolicy, fileMapManager, maxOpenFiles, threadFactory,
+                ioReplicationManager, 0);
+    }
+
+    /**
+     * @param ioReplicationManager
+     *            the io replication manager or null if replication is disabled
+     * @param readAheadPages
+     *            the maximum number of pages loaded by a single read-ahead, 0 disables read-ahead
+     */
+    public BufferCache(IIOManager ioManager, IPageReplacementStrategy pageReplacementStrategy,
+            IPageCleanerPolicy pageCleanerPolicy, IFileMapManager fileMapManager, int maxOpenFiles,
+            ThreadFactory threadFactory, IIOReplicationManager ioReplicationManager, int readAheadPages) {
         this.ioManager = ioManager;
         this.pageSize = pageReplacementStrategy.getPageSize();
         this.maxOpenFiles = maxOpenFiles;
@@ -106,6 +134,9 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
         this.pageReplacementStrategy = pageReplacementStrategy;
         this.pageCleanerPolicy = pageCleanerPolicy;
         this.fileMapManager = fileMapManager;
+        this.ioReplicationManager = ioReplicationManager;
+        this.readAheadPages =
+                Math.min(readAheadPages, pageReplacementStrategy.getMaxAllowedNumPages() / READ_AHEAD_BUDGET_FRACTION);
 
         Executor executor = Executors.newCachedThreadPool(threadFactory);
         fileInfoMap = new HashMap<>();
@@ -122,15 +153,6 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
         }
     }
 
-    //this constructor is used when replication is enabled to pass the IIOReplicationManager
-    public BufferCache(IIOManager ioManager, IPageReplacementStrategy pageReplacementStrategy,
-            IPageCleanerPolicy pageCleanerPolicy, IFileMapManager fileMapManager, int maxOpenFiles,
-            ThreadFactory threadFactory, IIOReplicationManager ioReplicationManager) {
-
-        this(ioManager, pageReplacementStrategy, pageCleanerPolicy, fileMapManager, maxOpenFiles, threadFactory);
-        this.ioReplicationManager = ioReplicationManager;
-    }
-
     @Override
     public int getPageSize() {
         return pageSize;
@@ -187,11 +209,16 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
             }
             // Resolve race of multiple threads trying to read the page from
             // disk.
+            BufferedFileHandle readAheadFile = null;
             synchronized (cPage) {
                 if (!cPage.valid) {
                     try {
-                        tryRead(cPage);
+                        BufferedFileHandle fInfo = tryRead(cPage);
                         cPage.valid = true;
+                        if (readAheadPages > 0 && fInfo != null && !cPage.isLargePage()
+                                && fInfo.recordRead(BufferedFileHandle.getPageId(dpid))) {
+                            readAheadFile = fInfo;
+                        }
                     } catch (Exception e) {
                         LOGGER.log(ExceptionUtils.causedByInterrupt(e) ? Level.DEBUG : Level.WARN,
                                 "Failure while trying to read a page from disk", e);
@@ -203,6 +230,15 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
                     }
                 }
             }
+            if (readAheadFile != null) {
+                readAhead(readAheadFile, BufferedFileHandle.getPageId(dpid) + 1, readAheadPages);
+            } else if (cPage.prefetched.get() && cPage.prefetched.compareAndSet(true, false)) {
+                readAheadCounters.addPrefetchHit();
+                if (cPage.readAheadMarker) {
+                    cPage.readAheadMarker = false;
+                    readAhead(getFileHandle(cPage), BufferedFileHandle.getPageId(dpid) + 1, readAheadPages);
+                }
+            }
         } else {
             cPage.valid = true;
         }
@@ -310,7 +346,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
                 if (cPage != null) {
                     return cPage;
                 }
-                victim.reset(dpid);
+                resetVictim(victim, dpid);
                 victim.next = bucket.cachedPage;
                 bucket.cachedPage = victim;
             } finally {
@@ -352,7 +388,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
                 if (cPage != null) {
                     return cPage;
                 }
-                victim.reset(dpid);
+                resetVictim(victim, dpid);
             } finally {
                 bucket.bucketLock.unlock();
             }
@@ -401,7 +437,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
                     }
                     victimPrev.next = victim.next;
                 }
-                victim.reset(dpid);
+                resetVictim(victim, dpid);
                 victim.next = bucket.cachedPage;
                 bucket.cachedPage = victim;
             } finally {
@@ -415,6 +451,13 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
         }
     }
 
+    private void resetVictim(CachedPage victim, long dpid) {
+        if (victim.prefetched.get()) {
+            readAheadCounters.addPrefetchWaste();
+        }
+        victim.reset(dpid);
+    }
+
     private CachedPage findTargetInBucket(long dpid, CachedPage cPage, CachedPage victim) {
         while (cPage != null) {
             if (cPage.dpid == dpid) {
@@ -517,11 +560,10 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
         return false;
     }
 
-    private void tryRead(CachedPage cPage) throws HyracksDataException {
+    private BufferedFileHandle tryRead(CachedPage cPage) throws HyracksDataException {
         for (int i = 1; i <= MAX_PAGE_READ_ATTEMPTS; i++) {
             try {
-                read(cPage);
-                return;
+                return read(cPage);
             } catch (HyracksDataException readException) {
                 if (readException.getErrorCode() == ErrorCode.CANNOT_READ_CLOSED_FILE && i <= MAX_PAGE_READ_ATTEMPTS) {
                     /**
@@ -542,12 +584,100 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent {
                 }
             }
         }
+        return null;
     }
 
-    private void read(CachedPage cPage) throws HyracksDataException {
+    private BufferedFileHandle read(CachedPage cPage) throws HyracksDataException {
         BufferedFileHandle fInfo = getFileHandle(cPage);
         cPage.buffer.clear();
         fInfo.read(cPage);
+        return fInfo;
+    }
+
+    @Override
+    public void readAhead(long dpid, int numPages) throws HyracksDataException {
+        if (readAheadPages > 0) {
+            readAhead(getFileHandle(BufferedFileHandle.getFileId(dpid)), BufferedFileHandle.getPageId(dpid),
+                    Math.min(numPages, readAheadPages));
+        }
+    }
+
+    /**
+     * Load up to {@code numPages} pages starting at {@code pageId} using a single read. Loading stops at the first
+     * page that is already cached, at the first large page and whenever no victim is available without waiting, so
+     * read-ahead never blocks on or evicts pinned pages. The last page loaded is marked such that pinning it
+     * continues the read-ahead.
+     */
+    private void readAhead(BufferedFileHandle fInfo, int pageId, int numPages) {
+        final int fileId = fInfo.getFileId();
+        int numUncached = 0;
+        while (numUncached < numPages
+                && !canFindValidCachedPage(BufferedFileHandle.getDiskPageId(fileId, pageId + numUncached))) {
+            numUncached++;
+        }
+        if (numUncached == 0) {
+            return;
+        }
+        final int pageSizeWithHeader = getPageSizeWithHeader();
+        ByteBuffer block = readAheadBuffers.poll();
+        if (block == null) {
+            block = ByteBuffer.allocate(readAheadPages * pageSizeWithHeader);
+        }
+        try {
+            final int numRead = fInfo.readAhead(pageId, numUncached, block);
+            int numLoaded = 0;
+            for (int i = 0; i < numRead; i++) {
+                final int headerOffset = i * pageSizeWithHeader;
+                block.clear();
+                if (BufferCacheHeaderHelper.getFrameSizeMultiplier(block, headerOffset) != 1) {
+                    // large pages are not laid out at fixed offsets
+                    break;
+                }
+                CachedPage cPage = (CachedPage) findPageInner(BufferedFileHandle.getDiskPageId(fileId, pageId + i));
+                if (cPage == null) {
+                    break;
+                }
+                try {
+                    synchronized (cPage) {
+                        if (!cPage.valid) {
+                            block.limit(headerOffset + pageSizeWithHeader);
+                            block.position(headerOffset + RESERVED_HEADER_BYTES);
+                            cPage.buffer.clear();
+                            cPage.buffer.put(block);
+                            cPage.setFrameSizeMultiplier(1);
+                            cPage.setExtraBlockPageId(BufferCacheHeaderHelper.getExtraBlockPageId(block, headerOffset));
+                            cPage.readAheadMarker = i == numRead - 1;
+                            cPage.prefetched.set(true);
+                            cPage.valid = true;
+                            numLoaded++;
+                        }
+                    }
+                } finally {
+                    unpin(cPage);
+                }
+            }
+            readAheadCounters.addReadAheadRequest(numLoaded);
+        } catch (HyracksDataException e) {
+            // read-ahead is best effort, a failing page will be reported when it is pinned
+            LOGGER.log(ExceptionUtils.causedByInterrupt(e) ? Level.DEBUG : Level.WARN,
+                    "Failure while reading ahead from file " + fileId, e);
+        } finally {
+            readAheadBuffers.offer(block); //NOSONAR
+        }
+    }
+
+    /**
+     * @return the counters of the read-ahead facility
+     */
+    public ReadAheadCounters getReadAheadCounters() {
+        return readAheadCounters;
+    }
+
+    /**
+     * @return the maximum number of pages loaded by a single read-ahead, 0 if read-ahead is disabled
+     */
+    public int getReadAheadPages() {
+        return readAheadPages;
     }
 
     @Override
@@ -67,6 +67,14 @@ public class BufferCacheHeaderHelper {
         return buf;
     }
 
+    public static int getFrameSizeMultiplier(ByteBuffer buf, int headerOffset) {
+        return buf.getInt(headerOffset + FRAME_MULTIPLIER_OFF);
+    }
+
+    public static int getExtraBlockPageId(ByteBuffer buf, int headerOffset) {
+        return buf.getInt(headerOffset + EXTRA_BLOCK_PAGE_ID_OFF);
+    }
+
     private void setPageInfo(CachedPage cPage) {
         buf.putInt(FRAME_MULTIPLIER_OFF, cPage.getFrameSizeMultiplier());
         buf.putInt(EXTRA_BLOCK_PAGE_ID_OFF, cPage.getExtraBlockPageId());
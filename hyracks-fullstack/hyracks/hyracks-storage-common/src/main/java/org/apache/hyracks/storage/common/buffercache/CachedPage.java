@@ -42,6 +42,10 @@ public class CachedPage implements ICachedPageInternal {
     CachedPage next;
     volatile boolean valid;
     final AtomicBoolean confiscated;
+    // set when the page was loaded by read-ahead and has not been pinned since
+    final AtomicBoolean prefetched;
+    // set on the last page of a read-ahead window; pinning it continues the read-ahead
+    boolean readAheadMarker;
     private IQueueInfo queueInfo;
     private int multiplier;
     private int extraBlockPageId;
@@ -59,6 +63,7 @@ public class CachedPage implements ICachedPageInternal {
         this.pageReplacementStrategy = null;
         this.dirty = new AtomicBoolean(false);
         this.confiscated = new AtomicBoolean(true);
+        this.prefetched = new AtomicBoolean(false);
         pinCount = null;
         queueInfo = null;
         replacementStrategyObject = null;
@@ -81,6 +86,7 @@ public class CachedPage implements ICachedPageInternal {
         dpid = -1;
         valid = false;
         confiscated = new AtomicBoolean(false);
+        prefetched = new AtomicBoolean(false);
         queueInfo = null;
         ctorStack = DEBUG ? new Throwable().getStackTrace() : null;
     }
@@ -90,6 +96,8 @@ public class CachedPage implements ICachedPageInternal {
         dirty.set(false);
         valid = false;
         confiscated.set(false);
+        prefetched.set(false);
+        readAheadMarker = false;
         pageReplacementStrategy.notifyCachePageReset(this);
         queueInfo = null;
         failureCallback = null;
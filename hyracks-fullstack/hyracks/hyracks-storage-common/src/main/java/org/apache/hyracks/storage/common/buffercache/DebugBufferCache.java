@@ -83,6 +83,11 @@ public class DebugBufferCache implements IBufferCache {
         return page;
     }
 
+    @Override
+    public void readAhead(long dpid, int numPages) throws HyracksDataException {
+        bufferCache.readAhead(dpid, numPages);
+    }
+
     @Override
     public void unpin(ICachedPage page) throws HyracksDataException {
         bufferCache.unpin(page);
@@ -104,6 +104,20 @@ public interface IBufferCache {
      */
     ICachedPage pin(long dpid, boolean newPage) throws HyracksDataException;
 
+    /**
+     * Hint that the pages following the passed page are about to be read in page id order, so they may be loaded
+     * ahead of time using large sequential reads. The hint is ignored by caches that don't support read-ahead.
+     *
+     * @param dpid
+     *            the first page expected to be read
+     * @param numPages
+     *            the number of pages expected to be read
+     * @throws HyracksDataException
+     */
+    default void readAhead(long dpid, int numPages) throws HyracksDataException {
+        // no read-ahead by default
+    }
+
     /**
      * Unpin a pinned page so its buffer can be recycled
      *
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.buffercache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the {@link BufferCache} read-ahead facility. A prefetched page is either a hit, when it is pinned
+ * before being evicted, or wasted, when it is evicted without ever being pinned.
+ */
+public class ReadAheadCounters {
+    private final AtomicLong readAheadRequests;
+
+    private final AtomicLong pagesPrefetched;
+
+    private final AtomicLong prefetchHits;
+
+    private final AtomicLong prefetchWaste;
+
+    public ReadAheadCounters() {
+        readAheadRequests = new AtomicLong();
+        pagesPrefetched = new AtomicLong();
+        prefetchHits = new AtomicLong();
+        prefetchWaste = new AtomicLong();
+    }
+
+    public void addReadAheadRequest(long pages) {
+        readAheadRequests.incrementAndGet();
+        pagesPrefetched.addAndGet(pages);
+    }
+
+    public long getReadAheadRequests() {
+        return readAheadRequests.get();
+    }
+
+    public long getPagesPrefetched() {
+        return pagesPrefetched.get();
+    }
+
+    public void addPrefetchHit() {
+        prefetchHits.incrementAndGet();
+    }
+
+    public long getPrefetchHits() {
+        return prefetchHits.get();
+    }
+
+    public void addPrefetchWaste() {
+        prefetchWaste.incrementAndGet();
+    }
+
+    public long getPrefetchWaste() {
+        return prefetchWaste.get();
+    }
+
+    @Override
+    public String toString() {
+        return "{ \"readAheadRequests\": " + getReadAheadRequests() + ", \"pagesPrefetched\": " + getPagesPrefetched()
+                + ", \"prefetchHits\": " + getPrefetchHits() + ", \"prefetchWaste\": " + getPrefetchWaste() + " }";
+    }
+}
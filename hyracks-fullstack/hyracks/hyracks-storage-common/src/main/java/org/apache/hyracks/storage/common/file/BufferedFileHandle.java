@@ -37,8 +37,13 @@ import org.apache.hyracks.storage.common.compression.file.ICompressedPageWriter;
 import org.apache.hyracks.storage.common.compression.file.NoOpLAFWriter;
 
 public class BufferedFileHandle extends AbstractBufferedFileIOManager {
+    private static final int SEQUENTIAL_READ_THRESHOLD = 2;
+    private static final int SEQUENTIAL_READ_MAX_GAP = 2;
     private final int fileId;
     private final AtomicInteger refCount;
+    // read-ahead detection is a heuristic, races between readers of the same file are tolerated
+    private int lastReadPageId = -1;
+    private int sequentialReads;
 
     protected BufferedFileHandle(int fileId, BufferCache bufferCache, IIOManager ioManager,
             BlockingQueue<BufferCacheHeaderHelper> headerPageCache, IPageReplacementStrategy pageReplacementStrategy) {
@@ -87,6 +92,33 @@ public class BufferedFileHandle extends AbstractBufferedFileIOManager {
         readExtraPages(cPage);
     }
 
+    @Override
+    public int readAhead(int pageId, int numPages, ByteBuffer buf) throws HyracksDataException {
+        final int pageSizeWithHeader = bufferCache.getPageSizeWithHeader();
+        buf.clear();
+        buf.limit(numPages * pageSizeWithHeader);
+        final long bytesRead = readToBuffer(buf, getPageOffset(pageId));
+        return bytesRead <= 0 ? 0 : (int) (bytesRead / pageSizeWithHeader);
+    }
+
+    /**
+     * Record a page read from disk
+     *
+     * @param pageId
+     *            the page that was read
+     * @return
+     *         true if the recent reads of this file follow a sequential access pattern
+     */
+    public boolean recordRead(int pageId) {
+        final int last = lastReadPageId;
+        lastReadPageId = pageId;
+        if (pageId > last && pageId - last <= SEQUENTIAL_READ_MAX_GAP) {
+            return ++sequentialReads >= SEQUENTIAL_READ_THRESHOLD;
+        }
+        sequentialReads = 0;
+        return false;
+    }
+
     private void readExtraPages(CachedPage cPage) throws HyracksDataException {
         final int totalPages = cPage.getFrameSizeMultiplier();
         if (totalPages > 1) {
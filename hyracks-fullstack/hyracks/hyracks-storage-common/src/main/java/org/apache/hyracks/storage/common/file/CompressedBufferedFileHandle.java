@@ -73,6 +73,12 @@ public class CompressedBufferedFileHandle extends BufferedFileHandle {
         }
     }
 
+    @Override
+    public int readAhead(int pageId, int numPages, ByteBuffer buf) {
+        // compressed pages are not laid out at fixed offsets
+        return 0;
+    }
+
     private void readExtraPages(CachedPage cPage, ByteBuffer cBuffer) throws HyracksDataException {
         final ByteBuffer uBuffer = cPage.getBuffer();
 
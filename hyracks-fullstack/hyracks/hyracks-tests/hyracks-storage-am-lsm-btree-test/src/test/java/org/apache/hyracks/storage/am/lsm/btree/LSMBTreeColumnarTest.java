@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IPersistedResourceRegistry;
+import org.apache.hyracks.api.util.HyracksConstants;
+import org.apache.hyracks.data.std.accessors.PointableBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
+import org.apache.hyracks.storage.am.common.impls.NoOpOperationCallback;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnRow;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredder;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnShredderFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.IColumnValueWriter;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTree;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestHarness;
+import org.apache.hyracks.storage.am.lsm.btree.utils.LSMBTreeUtil;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexAccessor;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.compression.NoOpCompressorDecompressorFactory;
+import org.apache.hyracks.util.trace.ITracer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class LSMBTreeColumnarTest {
+    private static final int NUM_TUPLES = 1000;
+    private static final int SHREDDED_FIELD = 2;
+    private final LSMBTreeTestHarness harness = new LSMBTreeTestHarness();
+    private LSMBTree lsmBTree;
+
+    @Before
+    public void setUp() throws Exception {
+        harness.setUp();
+        ITypeTraits[] typeTraits =
+                { IntegerPointable.TYPE_TRAITS, IntegerPointable.TYPE_TRAITS, IntegerPointable.TYPE_TRAITS };
+        IBinaryComparatorFactory[] cmpFactories = { PointableBinaryComparatorFactory.of(IntegerPointable.FACTORY) };
+        lsmBTree = LSMBTreeUtil.createLSMTree(harness.getIOManager(), harness.getVirtualBufferCaches(),
+                harness.getFileReference(), harness.getDiskBufferCache(), typeTraits, cmpFactories, new int[] { 0 },
+                harness.getBoomFilterFalsePositiveRate(), harness.getMergePolicy(), harness.getOperationTracker(),
+                harness.getIOScheduler(), harness.getIOOperationCallbackFactory(), true, null, null, null, null, true,
+                harness.getMetadataPageManagerFactory(), false, ITracer.NONE,
+                NoOpCompressorDecompressorFactory.INSTANCE, new HalfWordShredderFactory());
+        lsmBTree.create();
+        lsmBTree.activate();
+    }
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        lsmBTree.deactivate();
+        lsmBTree.destroy();
+        harness.tearDown();
+    }
+
+    @Test
+    public void testFlushDeleteAndMerge() throws Exception {
+        ILSMIndexAccessor accessor = createAccessor(null);
+        for (int i = 0; i < NUM_TUPLES; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, -i, value(i)));
+        }
+        flush(accessor);
+        assertScan(null, 1, 0xFFFFFFFF);
+        // only the high half word is read, the low one is assembled as zero
+        assertScan("high", 1, 0xFFFF0000);
+        assertScan("low", 1, 0x0000FFFF);
+
+        // delete every odd key and merge the antimatter component away
+        for (int i = 1; i < NUM_TUPLES; i += 2) {
+            accessor.delete(TupleUtils.createIntegerTuple(i, -i, value(i)));
+        }
+        flush(accessor);
+        assertScan(null, 2, 0xFFFFFFFF);
+        accessor.scheduleMerge(lsmBTree.getDiskComponents());
+        Assert.assertEquals(1, lsmBTree.getDiskComponents().size());
+        assertScan(null, 2, 0xFFFFFFFF);
+        assertScan("high", 2, 0xFFFF0000);
+    }
+
+    private void assertScan(String column, int step, int mask) throws HyracksDataException {
+        ILSMIndexAccessor accessor = createAccessor(column == null ? null : Collections.singletonList(column));
+        IIndexCursor cursor = accessor.createSearchCursor(false);
+        try {
+            accessor.search(cursor, new RangePredicate(null, null, true, true, null, null));
+            int expected = 0;
+            while (cursor.hasNext()) {
+                cursor.next();
+                ITupleReference tuple = cursor.getTuple();
+                Assert.assertEquals(expected, getInteger(tuple, 0));
+                Assert.assertEquals(-expected, getInteger(tuple, 1));
+                Assert.assertEquals(value(expected) & mask, getInteger(tuple, SHREDDED_FIELD));
+                expected += step;
+            }
+            Assert.assertEquals(NUM_TUPLES, expected);
+        } finally {
+            cursor.destroy();
+        }
+    }
+
+    private ILSMIndexAccessor createAccessor(Object projection) {
+        IndexAccessParameters iap =
+                new IndexAccessParameters(NoOpOperationCallback.INSTANCE, NoOpOperationCallback.INSTANCE);
+        if (projection != null) {
+            iap.getParameters().put(HyracksConstants.COLUMN_PROJECTION, projection);
+        }
+        return lsmBTree.createAccessor(iap);
+    }
+
+    private static int value(int i) {
+        return (i << 16) | (i * 7 & 0xFFFF);
+    }
+
+    private static int getInteger(ITupleReference tuple, int field) {
+        return IntegerPointable.getInteger(tuple.getFieldData(field), tuple.getFieldStart(field));
+    }
+
+    private static void flush(ILSMIndexAccessor accessor) throws HyracksDataException, InterruptedException {
+        ILSMIOOperation flush = accessor.scheduleFlush();
+        flush.sync();
+        if (flush.getStatus() == LSMIOOperationStatus.FAILURE) {
+            throw HyracksDataException.create(flush.getFailure());
+        }
+    }
+
+    /**
+     * Splits an integer field into a "high" and a "low" column of two bytes each.
+     */
+    private static class HalfWordShredderFactory implements IColumnShredderFactory {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int getFieldIndex() {
+            return SHREDDED_FIELD;
+        }
+
+        @Override
+        public IColumnShredder createShredder() {
+            return new IColumnShredder() {
+                @Override
+                public void shred(byte[] data, int start, int length, IColumnValueWriter writer)
+                        throws HyracksDataException {
+                    writer.write("high", data, start, 2);
+                    writer.write("low", data, start + 2, 2);
+                }
+
+                @Override
+                public void assemble(IColumnRow row, DataOutput out) throws HyracksDataException {
+                    byte[] value = new byte[4];
+                    for (int i = 0; i < row.getColumnCount(); i++) {
+                        int offset = "high".equals(row.getColumnName(i)) ? 0 : 2;
+                        System.arraycopy(row.getBytes(i), row.getStart(i), value, offset, 2);
+                    }
+                    try {
+                        out.write(value);
+                    } catch (IOException e) {
+                        throw HyracksDataException.create(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public JsonNode toJson(IPersistedResourceRegistry registry) throws HyracksDataException {
+            return registry.getClassIdentifier(getClass(), serialVersionUID);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.btree.OrderedIndexTestContext;
+import org.apache.hyracks.storage.am.btree.frames.BTreeLeafFrameType;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestContext;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestHarness;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperationScheduler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+
+/**
+ * Runs the merge tests with merges split into key ranges that are merged concurrently.
+ */
+@SuppressWarnings("rawtypes")
+public class LSMBTreeKeyRangeMergeTest extends LSMBTreeMergeTestDriver {
+    private static final int MERGE_RANGES = 4;
+
+    private final LSMBTreeTestHarness harness = new LSMBTreeTestHarness();
+    private final AtomicInteger rangeMerges = new AtomicInteger();
+    private ExecutorService executor;
+    private ILSMIOOperationScheduler ioScheduler;
+
+    public LSMBTreeKeyRangeMergeTest() {
+        super(LSMBTreeTestHarness.LEAF_FRAMES_TO_TEST);
+    }
+
+    @Before
+    public void setUp() throws HyracksDataException {
+        harness.setUp();
+        executor = createRangeExecutor();
+        ILSMIOOperationScheduler scheduler = harness.getIOScheduler();
+        ioScheduler = new ILSMIOOperationScheduler() {
+            @Override
+            public void scheduleOperation(ILSMIOOperation operation) throws HyracksDataException {
+                scheduler.scheduleOperation(operation);
+            }
+
+            @Override
+            public int getMaxMergeRanges() {
+                return MERGE_RANGES;
+            }
+
+            @Override
+            public Executor getMergeRangeExecutor() {
+                return command -> {
+                    executor.execute(command);
+                    rangeMerges.incrementAndGet();
+                };
+            }
+        };
+    }
+
+    protected ExecutorService createRangeExecutor() {
+        return Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        executor.shutdownNow();
+        harness.tearDown();
+        Assert.assertTrue("no merge was split into key ranges", rangeMerges.get() > 0);
+    }
+
+    @Override
+    protected OrderedIndexTestContext createTestContext(ISerializerDeserializer[] fieldSerdes, int numKeys,
+            BTreeLeafFrameType leafType, boolean filtered) throws Exception {
+        return LSMBTreeTestContext.create(harness.getIOManager(), harness.getVirtualBufferCaches(),
+                harness.getFileReference(), harness.getDiskBufferCache(), fieldSerdes, numKeys,
+                harness.getBoomFilterFalsePositiveRate(), harness.getMergePolicy(), harness.getOperationTracker(),
+                ioScheduler, harness.getIOOperationCallbackFactory(), harness.getMetadataPageManagerFactory(), filtered,
+                true, false);
+    }
+
+    @Override
+    protected Random getRandom() {
+        return harness.getRandom();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree;
+
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.OrderedIndexTestContext;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestContext;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestHarness;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexAccessor;
+import org.apache.hyracks.storage.am.lsm.common.impls.ComponentStatistics;
+import org.apache.hyracks.storage.am.lsm.common.impls.StatisticsBulkLoader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LSMBTreeStatisticsTest {
+    private final ISerializerDeserializer[] fieldSerdes =
+            { IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE };
+    private final int numKeys = 1;
+    private static final int NUM_TUPLES = 300;
+    private LSMBTreeTestHarness harness;
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        harness.tearDown();
+    }
+
+    private OrderedIndexTestContext createTestContext(int diskPageSize) throws Exception {
+        harness = new LSMBTreeTestHarness(diskPageSize);
+        harness.setUp();
+        OrderedIndexTestContext ctx = LSMBTreeTestContext.create(harness.getIOManager(),
+                harness.getVirtualBufferCaches(), harness.getFileReference(), harness.getDiskBufferCache(), fieldSerdes,
+                numKeys, harness.getBoomFilterFalsePositiveRate(), harness.getMergePolicy(),
+                harness.getOperationTracker(), harness.getIOScheduler(), harness.getIOOperationCallbackFactory(),
+                harness.getMetadataPageManagerFactory(), false, true, false);
+        ctx.getIndex().create();
+        ctx.getIndex().activate();
+        return ctx;
+    }
+
+    @Test
+    public void testFlushAndMergeStatistics() throws Exception {
+        OrderedIndexTestContext ctx = createTestContext(StatisticsBulkLoader.MIN_PAGE_SIZE);
+        ILSMIndex index = (ILSMIndex) ctx.getIndex();
+        ILSMIndexAccessor accessor = (ILSMIndexAccessor) ctx.getIndexAccessor();
+        for (int i = 0; i < NUM_TUPLES; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i % 10));
+        }
+        flush(accessor);
+        ComponentStatistics first = ComponentStatistics.read(index.getDiskComponents().get(0).getMetadata());
+        assertStatistics(first, NUM_TUPLES, 0, 0, NUM_TUPLES - 1, NUM_TUPLES);
+
+        // delete the first 100 keys and add 100 new ones
+        for (int i = 0; i < 100; i++) {
+            accessor.delete(TupleUtils.createIntegerTuple(i, i % 10));
+            accessor.insert(TupleUtils.createIntegerTuple(NUM_TUPLES + i, i % 10));
+        }
+        flush(accessor);
+        List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+        ComponentStatistics second = ComponentStatistics.read(diskComponents.get(0).getMetadata());
+        assertStatistics(second, 100, 100, 0, NUM_TUPLES + 99, 200);
+
+        // the union of both components counts the deleted tuples and their antimatter tuples
+        IBinaryComparator[] comparators = { ctx.getComparatorFactories()[0].createBinaryComparator() };
+        ComponentStatistics union = new ComponentStatistics(numKeys);
+        union.merge(first, comparators);
+        union.merge(second, comparators);
+        assertStatistics(union, NUM_TUPLES + 100, 100, 0, NUM_TUPLES + 99, NUM_TUPLES + 100);
+
+        // merging without comparators keeps the counts and the distinct values but drops the bounds
+        ComponentStatistics counts = new ComponentStatistics(numKeys);
+        counts.mergeCounts(first);
+        counts.mergeCounts(second);
+        Assert.assertEquals(union.getTupleCount(), counts.getTupleCount());
+        Assert.assertEquals(union.getAntimatterCount(), counts.getAntimatterCount());
+        Assert.assertEquals(union.getDistinctCount(0), counts.getDistinctCount(0));
+        Assert.assertNull(counts.getMin(0));
+        Assert.assertFalse(counts.hasHistogram());
+
+        // merging all components drops the deleted tuples
+        accessor.scheduleMerge(diskComponents);
+        Assert.assertEquals(1, index.getDiskComponents().size());
+        ComponentStatistics merged = ComponentStatistics.read(index.getDiskComponents().get(0).getMetadata());
+        assertStatistics(merged, NUM_TUPLES, 0, 100, NUM_TUPLES + 99, NUM_TUPLES);
+        ctx.getIndex().deactivate();
+        ctx.getIndex().destroy();
+    }
+
+    @Test
+    public void testNoStatisticsForSmallPages() throws Exception {
+        OrderedIndexTestContext ctx = createTestContext(StatisticsBulkLoader.MIN_PAGE_SIZE / 2);
+        ILSMIndex index = (ILSMIndex) ctx.getIndex();
+        ILSMIndexAccessor accessor = (ILSMIndexAccessor) ctx.getIndexAccessor();
+        for (int i = 0; i < NUM_TUPLES; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i % 10));
+        }
+        flush(accessor);
+        Assert.assertNull(ComponentStatistics.read(index.getDiskComponents().get(0).getMetadata()));
+        ctx.getIndex().deactivate();
+        ctx.getIndex().destroy();
+    }
+
+    private static void assertStatistics(ComponentStatistics statistics, long tuples, long antimatterTuples, int min,
+            int max, long distinct) {
+        Assert.assertNotNull(statistics);
+        Assert.assertEquals(1, statistics.getNumFields());
+        Assert.assertEquals(tuples, statistics.getTupleCount());
+        Assert.assertEquals(antimatterTuples, statistics.getAntimatterCount());
+        Assert.assertEquals(min, IntegerPointable.getInteger(statistics.getMin(0), 0));
+        Assert.assertEquals(max, IntegerPointable.getInteger(statistics.getMax(0), 0));
+        long distinctCount = statistics.getDistinctCount(0);
+        Assert.assertTrue("estimated " + distinctCount + " distinct values instead of " + distinct,
+                Math.abs(distinctCount - distinct) <= distinct / 10);
+        Assert.assertTrue(statistics.hasHistogram());
+        Assert.assertTrue(statistics.getNumBuckets() <= ComponentStatistics.MAX_BUCKETS);
+        long histogramTuples = 0;
+        int previousBound = Integer.MIN_VALUE;
+        for (int i = 0; i < statistics.getNumBuckets(); i++) {
+            int bound = IntegerPointable.getInteger(statistics.getBucketUpperBound(i), 0);
+            Assert.assertTrue(bound >= previousBound);
+            previousBound = bound;
+            histogramTuples += statistics.getBucketCount(i);
+        }
+        Assert.assertEquals(tuples + antimatterTuples, histogramTuples);
+        Assert.assertEquals(max, previousBound);
+    }
+
+    private static void flush(ILSMIndexAccessor accessor) throws HyracksDataException, InterruptedException {
+        ILSMIOOperation flush = accessor.scheduleFlush();
+        flush.sync();
+        if (flush.getStatus() == LSMIOOperationStatus.FAILURE) {
+            throw HyracksDataException.create(flush.getFailure());
+        }
+    }
+}
@@ -88,7 +88,11 @@ public class LSMBTreeTestHarness {
     protected FileReference file;
 
     public LSMBTreeTestHarness() {
-        this.diskPageSize = AccessMethodTestsConfig.LSM_BTREE_DISK_PAGE_SIZE;
+        this(AccessMethodTestsConfig.LSM_BTREE_DISK_PAGE_SIZE);
+    }
+
+    public LSMBTreeTestHarness(int diskPageSize) {
+        this.diskPageSize = diskPageSize;
         this.diskNumPages = AccessMethodTestsConfig.LSM_BTREE_DISK_NUM_PAGES;
         this.diskMaxOpenFiles = AccessMethodTestsConfig.LSM_BTREE_DISK_MAX_OPEN_FILES;
         this.memPageSize = AccessMethodTestsConfig.LSM_BTREE_MEM_PAGE_SIZE;
@@ -39,11 +39,17 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.HyracksException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.storage.common.buffercache.BufferCache;
 import org.apache.hyracks.storage.common.buffercache.CachedPage;
+import org.apache.hyracks.storage.common.buffercache.ClockPageReplacementStrategy;
+import org.apache.hyracks.storage.common.buffercache.DelayPageCleanerPolicy;
 import org.apache.hyracks.storage.common.buffercache.HaltOnFailureCallback;
+import org.apache.hyracks.storage.common.buffercache.HeapBufferAllocator;
 import org.apache.hyracks.storage.common.buffercache.IBufferCache;
 import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.buffercache.ReadAheadCounters;
 import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+import org.apache.hyracks.storage.common.file.FileMapManager;
 import org.apache.hyracks.test.support.TestStorageManagerComponentHolder;
 import org.apache.hyracks.test.support.TestUtils;
 import org.apache.logging.log4j.Level;
@@ -443,6 +449,75 @@ public class BufferCacheTest {
         bufferCache.closeFile(fileId);
     }
 
+    @Test
+    public void sequentialReadAheadTest() throws Exception {
+        final int numPages = 64;
+        final String fileName = createFileWithPages(numPages);
+        final BufferCache readAheadCache = createReadAheadBufferCache(8);
+        final int fileId = readAheadCache.openFile(TestStorageManagerComponentHolder.getIOManager().resolve(fileName));
+        for (int i = 0; i < numPages; i++) {
+            ICachedPage page = readAheadCache.pin(BufferedFileHandle.getDiskPageId(fileId, i), false);
+            Assert.assertEquals(i, page.getBuffer().getInt(0));
+            readAheadCache.unpin(page);
+        }
+        ReadAheadCounters counters = readAheadCache.getReadAheadCounters();
+        // the first two misses detect the sequential access, all of the following pages are read ahead
+        Assert.assertEquals(numPages - 2, counters.getPagesPrefetched());
+        Assert.assertEquals(numPages - 2, counters.getPrefetchHits());
+        Assert.assertEquals(0, counters.getPrefetchWaste());
+        readAheadCache.closeFile(fileId);
+        readAheadCache.close();
+    }
+
+    @Test
+    public void readAheadHintTest() throws Exception {
+        final int numPages = 32;
+        final String fileName = createFileWithPages(numPages);
+        final BufferCache readAheadCache = createReadAheadBufferCache(8);
+        final int fileId = readAheadCache.openFile(TestStorageManagerComponentHolder.getIOManager().resolve(fileName));
+        readAheadCache.readAhead(BufferedFileHandle.getDiskPageId(fileId, 4), numPages);
+        ReadAheadCounters counters = readAheadCache.getReadAheadCounters();
+        // the hint is bounded by the read-ahead depth
+        Assert.assertEquals(1, counters.getReadAheadRequests());
+        Assert.assertEquals(8, counters.getPagesPrefetched());
+        ICachedPage page = readAheadCache.pin(BufferedFileHandle.getDiskPageId(fileId, 7), false);
+        Assert.assertEquals(7, page.getBuffer().getInt(0));
+        readAheadCache.unpin(page);
+        Assert.assertEquals(1, counters.getPrefetchHits());
+        // pages already in the cache are not read again
+        readAheadCache.readAhead(BufferedFileHandle.getDiskPageId(fileId, 4), numPages);
+        Assert.assertEquals(1, counters.getReadAheadRequests());
+        readAheadCache.closeFile(fileId);
+        readAheadCache.close();
+    }
+
+    private String createFileWithPages(int numPages) throws HyracksException {
+        TestStorageManagerComponentHolder.init(PAGE_SIZE, NUM_PAGES, MAX_OPEN_FILES);
+        IBufferCache bufferCache =
+                TestStorageManagerComponentHolder.getBufferCache(ctx.getJobletContext().getServiceContext());
+        IIOManager ioManager = TestStorageManagerComponentHolder.getIOManager();
+        String fileName = getFileName();
+        int fileId = bufferCache.createFile(ioManager.resolve(fileName));
+        bufferCache.openFile(fileId);
+        for (int i = 0; i < numPages; i++) {
+            ICachedPage page = bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(fileId, i));
+            page.getBuffer().putInt(0, i);
+            bufferCache.createFIFOQueue().put(page, HaltOnFailureCallback.INSTANCE);
+        }
+        bufferCache.finishQueue();
+        bufferCache.closeFile(fileId);
+        bufferCache.close();
+        return fileName;
+    }
+
+    private BufferCache createReadAheadBufferCache(int readAheadPages) throws HyracksException {
+        // a separate cache guarantees that none of the pages are cached
+        return new BufferCache(TestStorageManagerComponentHolder.getIOManager(),
+                new ClockPageReplacementStrategy(new HeapBufferAllocator(), PAGE_SIZE, 256),
+                new DelayPageCleanerPolicy(1000), new FileMapManager(), MAX_OPEN_FILES, Thread::new, null,
+                readAheadPages);
+    }
+
     @AfterClass
     public static void cleanup() throws Exception {
         for (String s : openedFiles) {
@@ -25,6 +25,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.hyracks.util.encoding.VarLenIntEncoderDecoder;
 
@@ -635,6 +636,66 @@ public class UTF8StringUtil {
         out.write(tempBytes, 0, count);
     }
 
+    /**
+     * Writes a string given as standard UTF-8 bytes. When the bytes are also valid modified UTF-8 (no NUL and no
+     * supplementary characters), they are copied as is. Otherwise, they are decoded and encoded again.
+     *
+     * @param utf8
+     *            the buffer holding the UTF-8 bytes of the string
+     * @param start
+     *            the offset of the first byte
+     * @param length
+     *            the number of bytes
+     * @param out
+     *            the output
+     * @param writer
+     *            the writer whose temporary buffer is reused, or null
+     */
+    public static void writeUTF8(byte[] utf8, int start, int length, DataOutput out, UTF8StringWriter writer)
+            throws IOException {
+        if (!isModifiedUTF8(utf8, start, length)) {
+            writeUTF8(new String(utf8, start, length, StandardCharsets.UTF_8), out, writer);
+            return;
+        }
+        byte[] tempBytes = getTempBytes(writer, 0);
+        out.write(tempBytes, 0, VarLenIntEncoderDecoder.encode(length, tempBytes, 0));
+        out.write(utf8, start, length);
+    }
+
+    private static boolean isModifiedUTF8(byte[] utf8, int start, int length) {
+        int end = start + length;
+        int i = start;
+        while (i < end) {
+            int b = utf8[i] & 0xFF;
+            if (b >= 0x01 && b <= 0x7F) {
+                i++;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                if (i + 1 >= end || !isContinuation(utf8[i + 1])) {
+                    return false;
+                }
+                i += 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                if (i + 2 >= end || !isContinuation(utf8[i + 1]) || !isContinuation(utf8[i + 2])) {
+                    return false;
+                }
+                int b1 = utf8[i + 1] & 0xFF;
+                // reject overlong encodings and surrogates
+                if ((b == 0xE0 && b1 < 0xA0) || (b == 0xED && b1 >= 0xA0)) {
+                    return false;
+                }
+                i += 3;
+            } else {
+                // NUL, 4-byte sequences and malformed input
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
     private static int writeToBytes(byte[] tempBytes, int count, char c) {
         int orig = count;
         if ((c >= 0x0001) && (c <= 0x007F)) {
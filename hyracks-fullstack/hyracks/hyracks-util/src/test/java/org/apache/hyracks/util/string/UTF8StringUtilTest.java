@@ -42,7 +42,10 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -155,4 +158,16 @@ public class UTF8StringUtilTest {
         assertTrue(familyOne != familyTwo);
     }
 
+    @Test
+    public void testWriteUTF8Bytes() throws IOException {
+        // ascii, 1-3 bytes, supplementary characters, NUL, and a string whose length takes two bytes to store
+        String[] strings = { "", STRING_LEN_127, STRING_LEN_128, STRING_UTF8_3, STRING_UTF8_MIX, "a\u0000b" };
+        for (String str : strings) {
+            byte[] utf8 = ("|" + str + "|").getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            UTF8StringUtil.writeUTF8(utf8, 1, utf8.length - 2, new DataOutputStream(bytes), new UTF8StringWriter());
+            assertArrayEquals(writeStringToBytes(str), bytes.toByteArray());
+        }
+    }
+
 }